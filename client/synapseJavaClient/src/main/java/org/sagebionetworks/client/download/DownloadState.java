@@ -0,0 +1,99 @@
+package org.sagebionetworks.client.download;
+
+import java.util.Objects;
+
+/**
+ * The persisted progress of a multi-threaded download. Only the number of
+ * leading chunks that have been written and flushed is tracked, so a resumed
+ * download can continue the MD5 from the start of the file.
+ *
+ */
+public class DownloadState {
+
+	private static final String DELIMITER = ",";
+
+	private final String fileHandleId;
+	private final long contentSize;
+	private final long chunkSize;
+	private final long completedChunks;
+
+	public DownloadState(String fileHandleId, long contentSize, long chunkSize, long completedChunks) {
+		this.fileHandleId = fileHandleId;
+		this.contentSize = contentSize;
+		this.chunkSize = chunkSize;
+		this.completedChunks = completedChunks;
+	}
+
+	/**
+	 * Parse the value written by {@link #toString()}.
+	 *
+	 * @param value
+	 * @return
+	 * @throws IllegalArgumentException If the value is not a valid state.
+	 */
+	public static DownloadState parse(String value) {
+		String[] parts = value.trim().split(DELIMITER);
+		if (parts.length != 4) {
+			throw new IllegalArgumentException("Invalid download state: " + value);
+		}
+		return new DownloadState(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+				Long.parseLong(parts[3]));
+	}
+
+	/**
+	 * Can a download with this state continue from the provided previous state?
+	 *
+	 * @param previous
+	 * @return
+	 */
+	public boolean isResumableFrom(DownloadState previous) {
+		return previous != null && Objects.equals(fileHandleId, previous.fileHandleId)
+				&& contentSize == previous.contentSize && chunkSize == previous.chunkSize
+				&& previous.completedChunks >= 0;
+	}
+
+	public DownloadState withCompletedChunks(long completedChunks) {
+		return new DownloadState(fileHandleId, contentSize, chunkSize, completedChunks);
+	}
+
+	public String getFileHandleId() {
+		return fileHandleId;
+	}
+
+	public long getContentSize() {
+		return contentSize;
+	}
+
+	public long getChunkSize() {
+		return chunkSize;
+	}
+
+	public long getCompletedChunks() {
+		return completedChunks;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(chunkSize, completedChunks, contentSize, fileHandleId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DownloadState other = (DownloadState) obj;
+		return chunkSize == other.chunkSize && completedChunks == other.completedChunks
+				&& contentSize == other.contentSize && Objects.equals(fileHandleId, other.fileHandleId);
+	}
+
+	@Override
+	public String toString() {
+		return String.join(DELIMITER, fileHandleId, Long.toString(contentSize), Long.toString(chunkSize),
+				Long.toString(completedChunks));
+	}
+
+}
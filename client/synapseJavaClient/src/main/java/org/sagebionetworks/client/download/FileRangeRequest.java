@@ -0,0 +1,102 @@
+package org.sagebionetworks.client.download;
+
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+
+/**
+ * Everything needed to download a single byte range of a file into its
+ * position within the local destination.
+ *
+ */
+public class FileRangeRequest {
+
+	private PresignedUrlProvider urlProvider;
+	private FileChannel destination;
+	private Long chunkNumber;
+	private Long rangeOffset;
+	private Long rangeLength;
+	private CloseableHttpClient httpClient;
+
+	public PresignedUrlProvider getUrlProvider() {
+		return urlProvider;
+	}
+
+	public FileRangeRequest setUrlProvider(PresignedUrlProvider urlProvider) {
+		this.urlProvider = urlProvider;
+		return this;
+	}
+
+	public FileChannel getDestination() {
+		return destination;
+	}
+
+	public FileRangeRequest setDestination(FileChannel destination) {
+		this.destination = destination;
+		return this;
+	}
+
+	public Long getChunkNumber() {
+		return chunkNumber;
+	}
+
+	public FileRangeRequest setChunkNumber(Long chunkNumber) {
+		this.chunkNumber = chunkNumber;
+		return this;
+	}
+
+	public Long getRangeOffset() {
+		return rangeOffset;
+	}
+
+	public FileRangeRequest setRangeOffset(Long rangeOffset) {
+		this.rangeOffset = rangeOffset;
+		return this;
+	}
+
+	public Long getRangeLength() {
+		return rangeLength;
+	}
+
+	public FileRangeRequest setRangeLength(Long rangeLength) {
+		this.rangeLength = rangeLength;
+		return this;
+	}
+
+	public CloseableHttpClient getHttpClient() {
+		return httpClient;
+	}
+
+	public FileRangeRequest setHttpClient(CloseableHttpClient httpClient) {
+		this.httpClient = httpClient;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(chunkNumber, destination, httpClient, rangeLength, rangeOffset, urlProvider);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FileRangeRequest other = (FileRangeRequest) obj;
+		return Objects.equals(chunkNumber, other.chunkNumber) && Objects.equals(destination, other.destination)
+				&& Objects.equals(httpClient, other.httpClient) && Objects.equals(rangeLength, other.rangeLength)
+				&& Objects.equals(rangeOffset, other.rangeOffset) && Objects.equals(urlProvider, other.urlProvider);
+	}
+
+	@Override
+	public String toString() {
+		return "FileRangeRequest [urlProvider=" + urlProvider + ", destination=" + destination + ", chunkNumber="
+				+ chunkNumber + ", rangeOffset=" + rangeOffset + ", rangeLength=" + rangeLength + ", httpClient="
+				+ httpClient + "]";
+	}
+
+}
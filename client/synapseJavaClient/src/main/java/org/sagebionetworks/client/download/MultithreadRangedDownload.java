@@ -0,0 +1,204 @@
+package org.sagebionetworks.client.download;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.sagebionetworks.client.SynapseClient;
+import org.sagebionetworks.client.exceptions.SynapseClientException;
+import org.sagebionetworks.client.exceptions.SynapseException;
+import org.sagebionetworks.client.upload.ThreadLocalMD5Digest;
+import org.sagebionetworks.repo.model.file.FileHandle;
+import org.sagebionetworks.repo.model.file.FileHandleAssociation;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * Download a single file using multiple threads. The file is split into fixed
+ * size chunks and each chunk is fetched with an HTTP Range request against the
+ * file's pre-signed URL and written to its position in the destination.
+ * <p>
+ * The data is first written to a '.partial' file next to the destination. A
+ * small '.partial.state' file records how many leading chunks have been
+ * written and flushed, so a download that fails can be resumed by calling
+ * {@link #doDownload(ExecutorService, SynapseClient, FileHandleAssociation, File)}
+ * again. The MD5 of the content is computed incrementally as each chunk
+ * completes, in chunk order, while later chunks are still downloading.
+ *
+ */
+public class MultithreadRangedDownload {
+
+	public static final long DEFAULT_CHUNK_SIZE = 1024 * 1024 * 8; // 8 MB
+	public static final int MAX_CONNECTIONS = 100;
+	public static final String PARTIAL_SUFFIX = ".partial";
+	public static final String STATE_SUFFIX = ".partial.state";
+
+	private static final CloseableHttpClient httpClient;
+	static {
+		// The default connection manager only allows two connections per route.
+		httpClient = HttpClients.custom().setDefaultCookieStore(new BasicCookieStore())
+				.setMaxConnPerRoute(MAX_CONNECTIONS).setMaxConnTotal(MAX_CONNECTIONS).build();
+	}
+
+	/**
+	 * Attempt to download the provided file using multiple threads. If a
+	 * previous call for the same file handle and destination failed, only the
+	 * chunks that were not written will be downloaded.
+	 *
+	 * @param threadPool  The thread pool to be used for the range requests
+	 *                    (required).
+	 * @param client      The Synapse Client to be used (required).
+	 * @param association Identifies the file to download (required).
+	 * @param destination The local file to write to (required). Any existing
+	 *                    file will be replaced once the download is complete.
+	 * @return The downloaded file's handle.
+	 * @throws SynapseException
+	 * @throws IOException
+	 */
+	public static FileHandle doDownload(ExecutorService threadPool, SynapseClient client,
+			FileHandleAssociation association, File destination) throws SynapseException, IOException {
+		return doDownload((r) -> {
+			return new RangeDownloadCallable(r);
+		}, httpClient, threadPool, new PresignedUrlProvider(client, association), destination,
+				DEFAULT_CHUNK_SIZE);
+	}
+
+	static FileHandle doDownload(RangeCallableFactory callableFactory, CloseableHttpClient httpClient,
+			ExecutorService threadPool, PresignedUrlProvider urlProvider, File destination, long chunkSize)
+			throws SynapseException, IOException {
+		ValidateArgument.required(callableFactory, "callableFactory");
+		ValidateArgument.required(httpClient, "httpClient");
+		ValidateArgument.required(threadPool, "threadPool");
+		ValidateArgument.required(urlProvider, "urlProvider");
+		ValidateArgument.required(destination, "destination");
+		ValidateArgument.requirement(chunkSize > 0, "chunkSize must be greater than zero");
+
+		FileHandle fileHandle = urlProvider.getFileHandle();
+		ValidateArgument.required(fileHandle.getContentSize(), "fileHandle.contentSize");
+		long contentSize = fileHandle.getContentSize();
+		long numberOfChunks = (contentSize + chunkSize - 1) / chunkSize;
+
+		File partial = new File(destination.getPath() + PARTIAL_SUFFIX);
+		File stateFile = new File(destination.getPath() + STATE_SUFFIX);
+		DownloadState state = new DownloadState(fileHandle.getId(), contentSize, chunkSize, 0L);
+		DownloadState previous = readState(stateFile);
+		if (partial.exists() && state.isResumableFrom(previous)) {
+			state = previous;
+		} else {
+			Files.deleteIfExists(partial.toPath());
+			Files.deleteIfExists(stateFile.toPath());
+		}
+
+		try (FileChannel channel = FileChannel.open(partial.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			List<Future<Long>> futures = new ArrayList<>((int) (numberOfChunks - state.getCompletedChunks()));
+			for (long chunk = state.getCompletedChunks(); chunk < numberOfChunks; chunk++) {
+				long offset = chunk * chunkSize;
+				long length = Math.min(chunkSize, contentSize - offset);
+				futures.add(threadPool.submit(callableFactory.createCallable(new FileRangeRequest()
+						.setUrlProvider(urlProvider).setHttpClient(httpClient).setDestination(channel)
+						.setChunkNumber(chunk).setRangeOffset(offset).setRangeLength(length))));
+			}
+
+			// chunks that were written by a previous attempt are digested from disk.
+			MessageDigest digest = ThreadLocalMD5Digest.getThreadDigest();
+			digestRange(channel, digest, 0L, Math.min(contentSize, state.getCompletedChunks() * chunkSize));
+			for (Future<Long> future : futures) {
+				long chunk = state.getCompletedChunks();
+				try {
+					future.get();
+				} catch (InterruptedException | ExecutionException e) {
+					futures.forEach(f -> f.cancel(true));
+					throw new SynapseClientException(String.format(
+							"Failed to download chunk: %d of: %s. The download can be resumed.", chunk, destination),
+							e.getCause() != null ? e.getCause() : e);
+				}
+				long offset = chunk * chunkSize;
+				digestRange(channel, digest, offset, Math.min(chunkSize, contentSize - offset));
+				// the data must be on disk before the progress is recorded.
+				channel.force(false);
+				state = state.withCompletedChunks(chunk + 1);
+				writeState(stateFile, state);
+			}
+
+			String md5Hex = new String(Hex.encodeHex(digest.digest()));
+			if (fileHandle.getContentMd5() != null && !fileHandle.getContentMd5().equals(md5Hex)) {
+				channel.close();
+				Files.deleteIfExists(partial.toPath());
+				Files.deleteIfExists(stateFile.toPath());
+				throw new SynapseClientException(
+						"md5 of downloaded file does not match the one in Synapse " + destination);
+			}
+		}
+		Files.move(partial.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		Files.deleteIfExists(stateFile.toPath());
+		return fileHandle;
+	}
+
+	/**
+	 * Add the given range of the channel to the digest.
+	 *
+	 * @param channel
+	 * @param digest
+	 * @param position
+	 * @param length
+	 * @throws IOException
+	 */
+	static void digestRange(FileChannel channel, MessageDigest digest, long position, long length)
+			throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(RangeDownloadCallable.BUFFER_SIZE);
+		long read = 0;
+		while (read < length) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), length - read));
+			int count = channel.read(buffer, position + read);
+			if (count < 0) {
+				throw new IOException(String.format("Expected %d bytes at offset %d but found %d", length, position,
+						read));
+			}
+			buffer.flip();
+			digest.update(buffer);
+			read += count;
+		}
+	}
+
+	/**
+	 * Read the state of a previous download attempt.
+	 *
+	 * @param stateFile
+	 * @return null if there is no readable state.
+	 */
+	static DownloadState readState(File stateFile) {
+		if (!stateFile.exists()) {
+			return null;
+		}
+		try {
+			return DownloadState.parse(new String(Files.readAllBytes(stateFile.toPath()), StandardCharsets.UTF_8));
+		} catch (IOException | IllegalArgumentException e) {
+			// A corrupt state cannot be trusted so the download starts over.
+			return null;
+		}
+	}
+
+	static void writeState(File stateFile, DownloadState state) throws IOException {
+		File temp = new File(stateFile.getPath() + ".tmp");
+		Files.write(temp.toPath(), state.toString().getBytes(StandardCharsets.UTF_8));
+		Files.move(temp.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+}
@@ -0,0 +1,98 @@
+package org.sagebionetworks.client.download;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.sagebionetworks.client.SynapseClient;
+import org.sagebionetworks.client.exceptions.SynapseClientException;
+import org.sagebionetworks.client.exceptions.SynapseException;
+import org.sagebionetworks.repo.model.file.BatchFileRequest;
+import org.sagebionetworks.repo.model.file.BatchFileResult;
+import org.sagebionetworks.repo.model.file.FileHandle;
+import org.sagebionetworks.repo.model.file.FileHandleAssociation;
+import org.sagebionetworks.repo.model.file.FileResult;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * Shares a single pre-signed URL between all of the range requests of a
+ * download. When a range request finds that the URL has expired it can ask for
+ * a new one with {@link #refreshUrl(String)}. Only the first caller that
+ * reports a given URL will trigger a call to Synapse, all other callers will
+ * receive the refreshed URL.
+ *
+ */
+public class PresignedUrlProvider {
+
+	private final SynapseClient client;
+	private final FileHandleAssociation association;
+	private FileHandle fileHandle;
+	private String currentUrl;
+
+	public PresignedUrlProvider(SynapseClient client, FileHandleAssociation association) {
+		ValidateArgument.required(client, "client");
+		ValidateArgument.required(association, "association");
+		this.client = client;
+		this.association = association;
+	}
+
+	/**
+	 * The FileHandle of the file being downloaded.
+	 *
+	 * @return
+	 * @throws SynapseException
+	 */
+	public synchronized FileHandle getFileHandle() throws SynapseException {
+		if (fileHandle == null) {
+			fetch();
+		}
+		return fileHandle;
+	}
+
+	/**
+	 * The current pre-signed URL of the file being downloaded.
+	 *
+	 * @return
+	 * @throws SynapseException
+	 */
+	public synchronized String getUrl() throws SynapseException {
+		if (currentUrl == null) {
+			fetch();
+		}
+		return currentUrl;
+	}
+
+	/**
+	 * Called when the provided URL is found to be expired. A new URL is only
+	 * requested if the provided URL is still the current URL.
+	 *
+	 * @param expiredUrl
+	 * @return The refreshed URL.
+	 * @throws SynapseException
+	 */
+	public synchronized String refreshUrl(String expiredUrl) throws SynapseException {
+		ValidateArgument.required(expiredUrl, "expiredUrl");
+		if (expiredUrl.equals(currentUrl)) {
+			fetch();
+		}
+		return currentUrl;
+	}
+
+	void fetch() throws SynapseException {
+		BatchFileResult batch = client.getFileHandleAndUrlBatch(
+				new BatchFileRequest().setRequestedFiles(Collections.singletonList(association))
+						.setIncludeFileHandles(true).setIncludePreSignedURLs(true)
+						.setIncludePreviewPreSignedURLs(false));
+		List<FileResult> results = batch.getRequestedFiles();
+		if (results == null || results.size() != 1) {
+			throw new SynapseClientException("Expected exactly one result for: " + association);
+		}
+		FileResult result = results.get(0);
+		if (result.getFailureCode() != null) {
+			throw new SynapseClientException(String.format("Unable to download file handle: '%s' reason: '%s'",
+					association.getFileHandleId(), result.getFailureCode().name()));
+		}
+		this.fileHandle = result.getFileHandle();
+		this.currentUrl = result.getPreSignedURL();
+	}
+
+}
@@ -0,0 +1,15 @@
+package org.sagebionetworks.client.download;
+
+import java.util.concurrent.Callable;
+
+@FunctionalInterface
+public interface RangeCallableFactory {
+
+	/**
+	 * Abstraction for creating a new Callable for each range request.
+	 *
+	 * @param request
+	 * @return
+	 */
+	public Callable<Long> createCallable(FileRangeRequest request);
+}
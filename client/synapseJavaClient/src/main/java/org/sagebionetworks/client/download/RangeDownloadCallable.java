@@ -0,0 +1,140 @@
+package org.sagebionetworks.client.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Callable;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.sagebionetworks.client.exceptions.SynapseClientException;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * A Callable used to download a single byte range of a multi-threaded
+ * download. The bytes are written directly to their position in the
+ * destination file so ranges can complete in any order.
+ *
+ */
+public class RangeDownloadCallable implements Callable<Long> {
+
+	public static final String RANGE_HEADER = "Range";
+	public static final int BUFFER_SIZE = 64 * 1024;
+	/**
+	 * The maximum number of times a single range will request a new pre-signed
+	 * URL before giving up.
+	 */
+	public static final int MAX_URL_REFRESHES = 3;
+
+	private final FileRangeRequest request;
+
+	public RangeDownloadCallable(FileRangeRequest request) {
+		ValidateArgument.required(request, "request");
+		ValidateArgument.required(request.getUrlProvider(), "request.urlProvider");
+		ValidateArgument.required(request.getDestination(), "request.destination");
+		ValidateArgument.required(request.getChunkNumber(), "request.chunkNumber");
+		ValidateArgument.required(request.getRangeOffset(), "request.rangeOffset");
+		ValidateArgument.required(request.getRangeLength(), "request.rangeLength");
+		ValidateArgument.required(request.getHttpClient(), "request.httpClient");
+		this.request = request;
+	}
+
+	@Override
+	public Long call() throws Exception {
+		String url = request.getUrlProvider().getUrl();
+		for (int refreshes = 0;; refreshes++) {
+			try {
+				return getRange(url);
+			} catch (ExpiredUrlException e) {
+				if (refreshes >= MAX_URL_REFRESHES) {
+					throw new SynapseClientException(
+							String.format("Pre-signed URL expired %d times for chunk: %d", refreshes + 1,
+									request.getChunkNumber()));
+				}
+				url = request.getUrlProvider().refreshUrl(url);
+			}
+		}
+	}
+
+	/**
+	 * GET the range from the provided URL and write it to the destination.
+	 *
+	 * @param url
+	 * @return The number of bytes written.
+	 * @throws ExpiredUrlException If the URL is no longer valid.
+	 */
+	long getRange(String url) throws Exception {
+		HttpGet httpGet = new HttpGet(new URL(url).toURI());
+		httpGet.setHeader(RANGE_HEADER, createRangeHeaderValue(request.getRangeOffset(), request.getRangeLength()));
+		try (CloseableHttpResponse response = request.getHttpClient().execute(httpGet)) {
+			int statusCode = response.getStatusLine().getStatusCode();
+			if (statusCode == HttpStatus.SC_FORBIDDEN) {
+				throw new ExpiredUrlException();
+			}
+			// A server that ignores the range will start from the first byte, which is only
+			// acceptable for the first range.
+			boolean isFullContent = statusCode == HttpStatus.SC_OK && request.getRangeOffset() == 0L;
+			if (statusCode != HttpStatus.SC_PARTIAL_CONTENT && !isFullContent) {
+				throw new SynapseClientException(String.format("GET failed code: %d reason: '%s'", statusCode,
+						response.getStatusLine().getReasonPhrase()));
+			}
+			try (InputStream in = response.getEntity().getContent()) {
+				return writeRange(in, request.getDestination(), request.getRangeOffset(), request.getRangeLength());
+			}
+		}
+	}
+
+	/**
+	 * Copy exactly length bytes from the provided stream to the channel starting
+	 * at the given position.
+	 *
+	 * @param in
+	 * @param channel
+	 * @param position
+	 * @param length
+	 * @return
+	 * @throws IOException If the stream ends before length bytes are read.
+	 */
+	public static long writeRange(InputStream in, FileChannel channel, long position, long length)
+			throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long written = 0;
+		while (written < length) {
+			int read = in.read(buffer, 0, (int) Math.min(buffer.length, length - written));
+			if (read < 0) {
+				throw new IOException(String.format("Expected %d bytes at offset %d but the stream ended after %d",
+						length, position, written));
+			}
+			ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, read);
+			while (byteBuffer.hasRemaining()) {
+				written += channel.write(byteBuffer, position + written);
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * Create the value of the Range header for the given offset and length. Note:
+	 * The end of an HTTP byte range is inclusive.
+	 *
+	 * @param offset
+	 * @param length
+	 * @return
+	 */
+	public static String createRangeHeaderValue(long offset, long length) {
+		return String.format("bytes=%d-%d", offset, offset + length - 1);
+	}
+
+	/**
+	 * Thrown when a pre-signed URL is rejected.
+	 */
+	static class ExpiredUrlException extends Exception {
+
+		private static final long serialVersionUID = 1L;
+
+	}
+
+}
@@ -0,0 +1,263 @@
+package org.sagebionetworks.client.download;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.client.exceptions.SynapseClientException;
+import org.sagebionetworks.repo.model.file.FileHandle;
+import org.sagebionetworks.repo.model.file.S3FileHandle;
+
+@ExtendWith(MockitoExtension.class)
+public class MultithreadRangedDownloadTest {
+
+	@Mock
+	private RangeCallableFactory mockRangeCallableFactory;
+
+	@Mock
+	private PresignedUrlProvider mockUrlProvider;
+
+	@Mock
+	private CloseableHttpClient mockHttpClient;
+
+	@Captor
+	private ArgumentCaptor<FileRangeRequest> requestCaptor;
+
+	@TempDir
+	File tempDir;
+
+	private ExecutorService threadPool;
+	private File destination;
+	private byte[] content;
+	private long chunkSize;
+	private S3FileHandle fileHandle;
+
+	@BeforeEach
+	public void before() {
+		threadPool = Executors.newFixedThreadPool(2);
+		destination = new File(tempDir, "download.txt");
+		chunkSize = 10L;
+		// three full chunks and one partial chunk.
+		content = new byte[35];
+		new Random(123L).nextBytes(content);
+		fileHandle = new S3FileHandle();
+		fileHandle.setId("999");
+		fileHandle.setContentSize((long) content.length);
+		fileHandle.setContentMd5(DigestUtils.md5Hex(content));
+	}
+
+	@AfterEach
+	public void after() {
+		threadPool.shutdownNow();
+	}
+
+	/**
+	 * Setup the factory to create callables that write the requested range of
+	 * the content.
+	 */
+	void setupCallableFactory() {
+		when(mockRangeCallableFactory.createCallable(any())).thenAnswer((invocation) -> {
+			FileRangeRequest request = invocation.getArgument(0);
+			return (Callable<Long>) () -> RangeDownloadCallable.writeRange(
+					new ByteArrayInputStream(content, request.getRangeOffset().intValue(),
+							request.getRangeLength().intValue()),
+					request.getDestination(), request.getRangeOffset(), request.getRangeLength());
+		});
+	}
+
+	@Test
+	public void testDoDownload() throws Exception {
+		when(mockUrlProvider.getFileHandle()).thenReturn(fileHandle);
+		setupCallableFactory();
+
+		// call under test
+		FileHandle result = MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient,
+				threadPool, mockUrlProvider, destination, chunkSize);
+
+		assertEquals(fileHandle, result);
+		assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+		assertFalse(new File(destination.getPath() + MultithreadRangedDownload.PARTIAL_SUFFIX).exists());
+		assertFalse(new File(destination.getPath() + MultithreadRangedDownload.STATE_SUFFIX).exists());
+
+		verify(mockRangeCallableFactory, times(4)).createCallable(requestCaptor.capture());
+		assertEquals(Arrays.asList(0L, 1L, 2L, 3L),
+				requestCaptor.getAllValues().stream().map(FileRangeRequest::getChunkNumber)
+						.collect(Collectors.toList()));
+		FileRangeRequest last = requestCaptor.getAllValues().get(3);
+		assertEquals(30L, last.getRangeOffset());
+		assertEquals(5L, last.getRangeLength());
+		assertEquals(mockHttpClient, last.getHttpClient());
+		assertEquals(mockUrlProvider, last.getUrlProvider());
+	}
+
+	@Test
+	public void testDoDownloadWithEmptyFile() throws Exception {
+		content = new byte[0];
+		fileHandle.setContentSize(0L);
+		fileHandle.setContentMd5(DigestUtils.md5Hex(content));
+		when(mockUrlProvider.getFileHandle()).thenReturn(fileHandle);
+
+		// call under test
+		MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool, mockUrlProvider,
+				destination, chunkSize);
+
+		assertTrue(destination.exists());
+		assertEquals(0L, destination.length());
+		verify(mockRangeCallableFactory, times(0)).createCallable(any());
+	}
+
+	@Test
+	public void testDoDownloadWithResume() throws Exception {
+		when(mockUrlProvider.getFileHandle()).thenReturn(fileHandle);
+		setupCallableFactory();
+		// a previous attempt wrote the first two chunks.
+		File partial = new File(destination.getPath() + MultithreadRangedDownload.PARTIAL_SUFFIX);
+		Files.write(partial.toPath(), Arrays.copyOf(content, 20));
+		MultithreadRangedDownload.writeState(new File(destination.getPath() + MultithreadRangedDownload.STATE_SUFFIX),
+				new DownloadState("999", content.length, chunkSize, 2L));
+
+		// call under test
+		MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool, mockUrlProvider,
+				destination, chunkSize);
+
+		assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+		verify(mockRangeCallableFactory, times(2)).createCallable(requestCaptor.capture());
+		assertEquals(2L, requestCaptor.getAllValues().get(0).getChunkNumber());
+		assertEquals(3L, requestCaptor.getAllValues().get(1).getChunkNumber());
+	}
+
+	@Test
+	public void testDoDownloadWithStateForDifferentFile() throws Exception {
+		when(mockUrlProvider.getFileHandle()).thenReturn(fileHandle);
+		setupCallableFactory();
+		File partial = new File(destination.getPath() + MultithreadRangedDownload.PARTIAL_SUFFIX);
+		Files.write(partial.toPath(), new byte[20]);
+		MultithreadRangedDownload.writeState(new File(destination.getPath() + MultithreadRangedDownload.STATE_SUFFIX),
+				new DownloadState("111", content.length, chunkSize, 2L));
+
+		// call under test
+		MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool, mockUrlProvider,
+				destination, chunkSize);
+
+		assertArrayEquals(content, Files.readAllBytes(destination.toPath()));
+		verify(mockRangeCallableFactory, times(4)).createCallable(any());
+	}
+
+	@Test
+	public void testDoDownloadWithMD5Mismatch() throws Exception {
+		fileHandle.setContentMd5("wrong");
+		when(mockUrlProvider.getFileHandle()).thenReturn(fileHandle);
+		setupCallableFactory();
+
+		String message = assertThrows(SynapseClientException.class, () -> {
+			// call under test
+			MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool,
+					mockUrlProvider, destination, chunkSize);
+		}).getMessage();
+
+		assertTrue(message.startsWith("md5 of downloaded file does not match"));
+		assertFalse(destination.exists());
+		assertFalse(new File(destination.getPath() + MultithreadRangedDownload.PARTIAL_SUFFIX).exists());
+		assertFalse(new File(destination.getPath() + MultithreadRangedDownload.STATE_SUFFIX).exists());
+	}
+
+	@Test
+	public void testDoDownloadWithChunkFailure() throws Exception {
+		when(mockUrlProvider.getFileHandle()).thenReturn(fileHandle);
+		IOException error = new IOException("nope");
+		when(mockRangeCallableFactory.createCallable(any())).thenAnswer((invocation) -> {
+			FileRangeRequest request = invocation.getArgument(0);
+			return (Callable<Long>) () -> {
+				if (request.getChunkNumber() == 2L) {
+					throw error;
+				}
+				return RangeDownloadCallable.writeRange(
+						new ByteArrayInputStream(content, request.getRangeOffset().intValue(),
+								request.getRangeLength().intValue()),
+						request.getDestination(), request.getRangeOffset(), request.getRangeLength());
+			};
+		});
+
+		SynapseClientException result = assertThrows(SynapseClientException.class, () -> {
+			// call under test
+			MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool,
+					mockUrlProvider, destination, chunkSize);
+		});
+
+		assertEquals(error, result.getCause());
+		assertFalse(destination.exists());
+		// the first two chunks are kept so the download can be resumed.
+		assertEquals(new DownloadState("999", content.length, chunkSize, 2L), MultithreadRangedDownload
+				.readState(new File(destination.getPath() + MultithreadRangedDownload.STATE_SUFFIX)));
+	}
+
+	@Test
+	public void testDoDownloadWithNullDestination() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool,
+					mockUrlProvider, null, chunkSize);
+		});
+	}
+
+	@Test
+	public void testDoDownloadWithZeroChunkSize() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			MultithreadRangedDownload.doDownload(mockRangeCallableFactory, mockHttpClient, threadPool,
+					mockUrlProvider, destination, 0L);
+		});
+	}
+
+	@Test
+	public void testReadStateWithNoFile() {
+		// call under test
+		assertNull(MultithreadRangedDownload.readState(new File(tempDir, "missing")));
+	}
+
+	@Test
+	public void testReadStateWithCorruptFile() throws IOException {
+		File stateFile = new File(tempDir, "corrupt");
+		Files.write(stateFile.toPath(), "not,a,state".getBytes());
+		// call under test
+		assertNull(MultithreadRangedDownload.readState(stateFile));
+	}
+
+	@Test
+	public void testWriteAndReadState() throws IOException {
+		File stateFile = new File(tempDir, "state");
+		DownloadState state = new DownloadState("123", 1000L, 10L, 7L);
+		MultithreadRangedDownload.writeState(stateFile, state);
+		// call under test
+		assertEquals(state, MultithreadRangedDownload.readState(stateFile));
+	}
+}
@@ -0,0 +1,204 @@
+package org.sagebionetworks.client.download;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.client.exceptions.SynapseClientException;
+
+@ExtendWith(MockitoExtension.class)
+public class RangeDownloadCallableTest {
+
+	@Mock
+	private PresignedUrlProvider mockUrlProvider;
+
+	@Mock
+	private CloseableHttpClient mockHttpClient;
+
+	@Mock
+	private CloseableHttpResponse mockHttpResponse;
+
+	@Mock
+	private StatusLine mockStatusLine;
+
+	@Mock
+	private HttpEntity mockEntity;
+
+	@Captor
+	private ArgumentCaptor<HttpGet> httpGetCaptor;
+
+	@TempDir
+	File tempDir;
+
+	private FileChannel channel;
+	private File destination;
+	private byte[] rangeBytes;
+	private FileRangeRequest request;
+
+	@BeforeEach
+	public void before() throws IOException {
+		destination = new File(tempDir, "destination");
+		channel = FileChannel.open(destination.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		rangeBytes = new byte[] { 1, 2, 3, 4, 5 };
+		request = new FileRangeRequest().setUrlProvider(mockUrlProvider).setHttpClient(mockHttpClient)
+				.setDestination(channel).setChunkNumber(1L).setRangeOffset(5L).setRangeLength(5L);
+	}
+
+	@AfterEach
+	public void after() throws IOException {
+		channel.close();
+	}
+
+	void setupResponse() throws IOException {
+		when(mockHttpClient.execute(any())).thenReturn(mockHttpResponse);
+		when(mockHttpResponse.getStatusLine()).thenReturn(mockStatusLine);
+	}
+
+	@Test
+	public void testCall() throws Exception {
+		when(mockUrlProvider.getUrl()).thenReturn("https://synapse.org/one");
+		setupResponse();
+		when(mockStatusLine.getStatusCode()).thenReturn(206);
+		when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+		when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(rangeBytes));
+
+		// call under test
+		Long written = new RangeDownloadCallable(request).call();
+
+		assertEquals(5L, written);
+		byte[] expected = new byte[10];
+		System.arraycopy(rangeBytes, 0, expected, 5, 5);
+		assertArrayEquals(expected, Files.readAllBytes(destination.toPath()));
+		verify(mockHttpClient).execute(httpGetCaptor.capture());
+		HttpGet get = httpGetCaptor.getValue();
+		assertEquals("https://synapse.org/one", get.getURI().toString());
+		assertEquals("bytes=5-9", get.getFirstHeader(RangeDownloadCallable.RANGE_HEADER).getValue());
+		verify(mockHttpResponse).close();
+	}
+
+	@Test
+	public void testCallWithExpiredUrl() throws Exception {
+		when(mockUrlProvider.getUrl()).thenReturn("https://synapse.org/one");
+		when(mockUrlProvider.refreshUrl(any())).thenReturn("https://synapse.org/two");
+		setupResponse();
+		when(mockStatusLine.getStatusCode()).thenReturn(403, 206);
+		when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+		when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(rangeBytes));
+
+		// call under test
+		Long written = new RangeDownloadCallable(request).call();
+
+		assertEquals(5L, written);
+		verify(mockUrlProvider).refreshUrl("https://synapse.org/one");
+		verify(mockHttpClient, times(2)).execute(httpGetCaptor.capture());
+		assertEquals("https://synapse.org/two", httpGetCaptor.getAllValues().get(1).getURI().toString());
+	}
+
+	@Test
+	public void testCallWithTooManyExpiredUrls() throws Exception {
+		when(mockUrlProvider.getUrl()).thenReturn("https://synapse.org/one");
+		when(mockUrlProvider.refreshUrl(any())).thenReturn("https://synapse.org/one");
+		setupResponse();
+		when(mockStatusLine.getStatusCode()).thenReturn(403);
+
+		String message = assertThrows(SynapseClientException.class, () -> {
+			// call under test
+			new RangeDownloadCallable(request).call();
+		}).getMessage();
+
+		assertEquals("Pre-signed URL expired 4 times for chunk: 1", message);
+		verify(mockUrlProvider, times(RangeDownloadCallable.MAX_URL_REFRESHES)).refreshUrl(any());
+	}
+
+	@Test
+	public void testCallWithFullContentAtZeroOffset() throws Exception {
+		request.setRangeOffset(0L);
+		when(mockUrlProvider.getUrl()).thenReturn("https://synapse.org/one");
+		setupResponse();
+		when(mockStatusLine.getStatusCode()).thenReturn(200);
+		when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+		// the server ignored the range and returned more than was requested.
+		when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7 }));
+
+		// call under test
+		Long written = new RangeDownloadCallable(request).call();
+
+		assertEquals(5L, written);
+		assertArrayEquals(rangeBytes, Files.readAllBytes(destination.toPath()));
+	}
+
+	@Test
+	public void testCallWithFullContentAtNonZeroOffset() throws Exception {
+		when(mockUrlProvider.getUrl()).thenReturn("https://synapse.org/one");
+		setupResponse();
+		when(mockStatusLine.getStatusCode()).thenReturn(200);
+		when(mockStatusLine.getReasonPhrase()).thenReturn("OK");
+
+		String message = assertThrows(SynapseClientException.class, () -> {
+			// call under test
+			new RangeDownloadCallable(request).call();
+		}).getMessage();
+
+		assertEquals("GET failed code: 200 reason: 'OK'", message);
+	}
+
+	@Test
+	public void testCallWithShortStream() throws Exception {
+		when(mockUrlProvider.getUrl()).thenReturn("https://synapse.org/one");
+		setupResponse();
+		when(mockStatusLine.getStatusCode()).thenReturn(206);
+		when(mockHttpResponse.getEntity()).thenReturn(mockEntity);
+		when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream(Arrays.copyOf(rangeBytes, 3)));
+
+		String message = assertThrows(IOException.class, () -> {
+			// call under test
+			new RangeDownloadCallable(request).call();
+		}).getMessage();
+
+		assertEquals("Expected 5 bytes at offset 5 but the stream ended after 3", message);
+	}
+
+	@Test
+	public void testConstructorWithNullChannel() {
+		request.setDestination(null);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			new RangeDownloadCallable(request);
+		});
+	}
+
+	@Test
+	public void testCreateRangeHeaderValue() {
+		// call under test
+		assertEquals("bytes=0-9", RangeDownloadCallable.createRangeHeaderValue(0L, 10L));
+		assertEquals("bytes=10-10", RangeDownloadCallable.createRangeHeaderValue(10L, 1L));
+	}
+
+}
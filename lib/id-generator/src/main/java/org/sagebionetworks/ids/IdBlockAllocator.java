@@ -0,0 +1,180 @@
+package org.sagebionetworks.ids;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * A per-JVM allocator that hands out IDs from blocks reserved with
+ * {@link IdGenerator#generateNewIdBlock(IdType, int)}, so that most IDs are
+ * issued without a round trip to the ID generator database. When the remaining
+ * IDs of the current block of a type drop to the refill threshold, the next
+ * block is reserved in the background.
+ * <p>
+ * IDs issued by an allocator are unique across all the JVMs of a stack but they
+ * are not ordered across JVMs, nor contiguous. Only use the allocator for types
+ * where the order of the IDs does not matter. The unused IDs of a block are
+ * lost when the JVM stops.
+ *
+ */
+public class IdBlockAllocator {
+
+	private final IdGenerator idGenerator;
+	private final int blockSize;
+	private final int refillThreshold;
+	private final ExecutorService refillExecutor;
+	private final Map<IdType, Allocation> allocations;
+
+	/**
+	 *
+	 * @param idGenerator
+	 * @param blockSize       The number of IDs reserved per block.
+	 * @param refillThreshold The number of IDs left in the current block when
+	 *                        the next block is reserved in the background.
+	 * @param refillExecutor  Executor used to reserve the next blocks.
+	 */
+	public IdBlockAllocator(IdGenerator idGenerator, int blockSize, int refillThreshold, ExecutorService refillExecutor) {
+		if (idGenerator == null) {
+			throw new IllegalArgumentException("IdGenerator cannot be null");
+		}
+		if (blockSize < 1 || blockSize > IdGeneratorImpl.MAX_BLOCK_SIZE) {
+			throw new IllegalArgumentException("Block size must be between 1 and " + IdGeneratorImpl.MAX_BLOCK_SIZE);
+		}
+		if (refillThreshold < 0 || refillThreshold >= blockSize) {
+			throw new IllegalArgumentException("Refill threshold must be between 0 and the block size (exclusive)");
+		}
+		if (refillExecutor == null) {
+			throw new IllegalArgumentException("Executor cannot be null");
+		}
+		this.idGenerator = idGenerator;
+		this.blockSize = blockSize;
+		this.refillThreshold = refillThreshold;
+		this.refillExecutor = refillExecutor;
+		this.allocations = new EnumMap<>(IdType.class);
+		for (IdType type : IdType.values()) {
+			allocations.put(type, new Allocation());
+		}
+	}
+
+	/**
+	 * Issue a new ID of the given type.
+	 *
+	 * @param type
+	 * @return
+	 */
+	public long nextId(IdType type) {
+		Allocation allocation = getAllocation(type);
+		synchronized (allocation) {
+			return next(type, allocation);
+		}
+	}
+
+	/**
+	 * Issue the given number of new IDs of the given type.
+	 *
+	 * @param type
+	 * @param count
+	 * @return
+	 */
+	public List<Long> nextIds(IdType type, int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count cannot be negative");
+		}
+		Allocation allocation = getAllocation(type);
+		List<Long> ids = new ArrayList<>(count);
+		synchronized (allocation) {
+			for (int i = 0; i < count; i++) {
+				ids.add(next(type, allocation));
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Same as {@link IdGenerator#reserveId(Long, IdType)}. Since the reserved ID
+	 * could fall within a block held by this allocator, the blocks of the type
+	 * are discarded so that the ID is never issued again by this JVM.
+	 *
+	 * @param idToLock
+	 * @param type
+	 */
+	public void reserveId(Long idToLock, IdType type) {
+		Allocation allocation = getAllocation(type);
+		synchronized (allocation) {
+			idGenerator.reserveId(idToLock, type);
+			if (allocation.refill != null || (allocation.index < allocation.ids.size() && idToLock >= allocation.ids.get(allocation.index))) {
+				discard(allocation);
+			}
+		}
+	}
+
+	/**
+	 * Discard the blocks held for all the types. The unused IDs are lost.
+	 */
+	public void clear() {
+		for (Allocation allocation : allocations.values()) {
+			synchronized (allocation) {
+				discard(allocation);
+			}
+		}
+	}
+
+	private Allocation getAllocation(IdType type) {
+		if (type == null) {
+			throw new IllegalArgumentException("Type cannot be null");
+		}
+		return allocations.get(type);
+	}
+
+	private long next(IdType type, Allocation allocation) {
+		if (allocation.index >= allocation.ids.size()) {
+			allocation.ids = allocation.refill == null ? idGenerator.generateNewIdBlock(type, blockSize) : awaitRefill(type, allocation);
+			allocation.refill = null;
+			allocation.index = 0;
+		}
+		long id = allocation.ids.get(allocation.index++);
+		if (allocation.refill == null && allocation.ids.size() - allocation.index <= refillThreshold) {
+			allocation.refill = refillExecutor.submit(() -> idGenerator.generateNewIdBlock(type, blockSize));
+		}
+		return id;
+	}
+
+	private List<Long> awaitRefill(IdType type, Allocation allocation) {
+		try {
+			return allocation.refill.get();
+		} catch (ExecutionException e) {
+			// The background reservation failed, try again with the calling thread.
+			return idGenerator.generateNewIdBlock(type, blockSize);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void discard(Allocation allocation) {
+		allocation.ids = Collections.emptyList();
+		allocation.index = 0;
+		if (allocation.refill != null) {
+			allocation.refill.cancel(false);
+			allocation.refill = null;
+		}
+	}
+
+	/**
+	 * The state of the allocation of a single type, guarded by its own monitor.
+	 */
+	private static class Allocation {
+		// The IDs of the current block, in ascending order
+		List<Long> ids = Collections.emptyList();
+		// The index of the next ID to issue
+		int index;
+		// The IDs of the next block, when a reservation is in progress
+		Future<List<Long>> refill;
+	}
+
+}
@@ -1,5 +1,7 @@
 package org.sagebionetworks.ids;
 
+import java.util.List;
+
 /**
  * 
  * @author jmhill
@@ -13,6 +15,16 @@ public interface IdGenerator {
 	 */
 	public Long generateNewId(IdType type);
 	
+	/**
+	 * Reserve a block of new IDs with a single call. The IDs of the block are not
+	 * guaranteed to be contiguous.
+	 * 
+	 * @param type
+	 * @param blockSize The number of IDs to reserve, at most {@link IdGeneratorImpl#MAX_BLOCK_SIZE}.
+	 * @return The IDs of the block in ascending order.
+	 */
+	public List<Long> generateNewIdBlock(IdType type, int blockSize);
+	
 	/**
 	 * Ensure that the given ID is reserved.  If the ID is not already reserved then, 
 	 * this method will reserve it and all values below it.
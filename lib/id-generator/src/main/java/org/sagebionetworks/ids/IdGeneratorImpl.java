@@ -3,6 +3,7 @@ package org.sagebionetworks.ids;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
+import java.util.List;
 
 import javax.sql.DataSource;
 
@@ -38,6 +39,12 @@ public class IdGeneratorImpl implements IdGenerator, InitializingBean{
 	// Get the current max.
 	public static final String MAX_ID = "SELECT MAX(ID) FROM %1$S";
 	
+	/**
+	 * The maximum number of IDs that can be reserved with a single call to
+	 * {@link #generateNewIdBlock(IdType, int)}.
+	 */
+	public static final int MAX_BLOCK_SIZE = 10_000;
+	
 	@Autowired
 	JdbcTemplate idGeneratorJdbcTemplate;
 
@@ -53,6 +60,25 @@ public class IdGeneratorImpl implements IdGenerator, InitializingBean{
 		return idGeneratorJdbcTemplate.queryForObject("CALL generateNewId(?)", Long.class, type.name());
 	}
 	
+	/**
+	 * Note: This is a call to a separate database and does not participate in the
+	 * caller's transaction. Do not add transaction annotations to this method.
+	 */
+	@Override
+	public List<Long> generateNewIdBlock(IdType type, int blockSize) {
+		if (type == null) {
+			throw new IllegalArgumentException("Type cannot be null");
+		}
+		if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE) {
+			throw new IllegalArgumentException("Block size must be between 1 and " + MAX_BLOCK_SIZE);
+		}
+		List<Long> ids = idGeneratorJdbcTemplate.queryForList("CALL generateNewIdBlock(?,?)", Long.class, type.name(), blockSize);
+		if (ids.size() != blockSize) {
+			throw new IllegalStateException("Expected " + blockSize + " IDs of type " + type.name() + " but got " + ids.size());
+		}
+		return ids;
+	}
+	
 	/**
 	 * Note: This is a call to a separate database and does not participate in the
 	 * caller's transaction. Do not add transaction annotations to this method.
@@ -94,6 +120,7 @@ public class IdGeneratorImpl implements IdGenerator, InitializingBean{
 		
 		createStoredProcedure("generateNewId.ddl.sql");
 		createStoredProcedure("reserveId.ddl.sql");
+		createStoredProcedure("generateNewIdBlock.ddl.sql");
 		
 		// Make sure we have a table for each type
 		for(IdType type: IdType.values()){
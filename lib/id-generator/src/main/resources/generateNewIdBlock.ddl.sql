@@ -0,0 +1,30 @@
+CREATE PROCEDURE generateNewIdBlock(IN typeName VARCHAR(256), IN blockSize INT)
+    MODIFIES SQL DATA
+    SQL SECURITY INVOKER
+BEGIN
+	/*
+	Reserves a block of IDs with a single multi-row insert. The IDs of the block are
+	NOT guaranteed to be contiguous: with innodb_autoinc_lock_mode=2 (interleaved) the
+	rows of concurrent inserts can be interleaved, and auto_increment_increment can be
+	greater than one. Therefore, the IDs of the block are read back from the table. The
+	snapshot is taken before the insert so rows inserted by other connections after it
+	are not visible, while the rows of this insert are. LAST_INSERT_ID() returns the 
+	value of the first (smallest) row of the insert. As in generateNewId, a stored 
+	procedure guarantees that all of the calls use the same connection.
+	*/
+	SET TRANSACTION ISOLATION LEVEL REPEATABLE READ;
+	START TRANSACTION WITH CONSISTENT SNAPSHOT;
+	
+	SET @sql_text:=CONCAT('INSERT INTO ',typeName,' (CREATED_ON) VALUES (NOW())', REPEAT(',(NOW())', blockSize - 1));
+	PREPARE stmt from @sql_text;
+	EXECUTE stmt; 
+    DEALLOCATE PREPARE stmt;
+	
+	SET @sql_text:=CONCAT('SELECT ID AS NEW_ID FROM ',typeName,' WHERE ID >= ', LAST_INSERT_ID(), ' ORDER BY ID LIMIT ', blockSize);
+	PREPARE stmt from @sql_text;
+	EXECUTE stmt; 
+    DEALLOCATE PREPARE stmt;
+	
+	COMMIT;
+	
+END
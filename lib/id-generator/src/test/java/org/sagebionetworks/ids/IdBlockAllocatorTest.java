@@ -0,0 +1,135 @@
+package org.sagebionetworks.ids;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = { "classpath:id-generator.spb.xml" })
+public class IdBlockAllocatorTest {
+
+	private static final IdType TYPE = IdType.ACCESS_APPROVAL_ID;
+
+	@Autowired
+	IdGenerator idGenerator;
+
+	private ExecutorService executor;
+	private IdBlockAllocator allocator;
+
+	@BeforeEach
+	public void before() {
+		executor = Executors.newSingleThreadExecutor();
+		allocator = new IdBlockAllocator(idGenerator, 10, 3, executor);
+	}
+
+	@AfterEach
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testNextId() {
+		long start = idGenerator.generateNewId(TYPE);
+		// Call under test
+		List<Long> ids = allocator.nextIds(TYPE, 25);
+		assertEquals(25, ids.size());
+		assertEquals(25, new HashSet<>(ids).size());
+		// The first block follows the current max
+		assertTrue(ids.get(0) > start);
+		// Later blocks are always above the previous ones
+		for (int i = 1; i < ids.size(); i++) {
+			assertTrue(ids.get(i) > ids.get(i - 1));
+		}
+		// The IDs are reserved in the database
+		assertTrue(idGenerator.getMaxValueForType(TYPE) >= ids.get(ids.size() - 1));
+		assertTrue(idGenerator.generateNewId(TYPE) > ids.get(ids.size() - 1));
+	}
+
+	@Test
+	public void testNextIdConcurrent() throws Exception {
+		int numberOfThreads = 4;
+		int numberIds = 100;
+		Set<Long> sharedIdSet = Collections.synchronizedSet(new HashSet<Long>());
+		ExecutorService threads = Executors.newFixedThreadPool(numberOfThreads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < numberOfThreads; i++) {
+				futures.add(threads.submit(() -> {
+					for (int j = 0; j < numberIds; j++) {
+						// Call under test
+						assertTrue(sharedIdSet.add(allocator.nextId(TYPE)), "Duplicate ID found!");
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+		assertEquals(numberOfThreads * numberIds, sharedIdSet.size());
+	}
+
+	@Test
+	public void testReserveId() {
+		long first = allocator.nextId(TYPE);
+		Long reserved = first + 5;
+		// Call under test
+		allocator.reserveId(reserved, TYPE);
+		// The rest of the block is discarded
+		assertTrue(allocator.nextId(TYPE) > reserved);
+	}
+
+	@Test
+	public void testReserveIdBelowBlock() {
+		long first = allocator.nextId(TYPE);
+		// Call under test
+		allocator.reserveId(first - 1, TYPE);
+		long max = idGenerator.getMaxValueForType(TYPE);
+		// The block is kept
+		long next = allocator.nextId(TYPE);
+		assertTrue(next > first);
+		assertTrue(next <= max);
+	}
+
+	@Test
+	public void testClear() {
+		long first = allocator.nextId(TYPE);
+		long max = idGenerator.getMaxValueForType(TYPE);
+		// Call under test
+		allocator.clear();
+		long next = allocator.nextId(TYPE);
+		assertTrue(next > max);
+		assertTrue(next > first + 1);
+	}
+
+	@Test
+	public void testInvalidArguments() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			new IdBlockAllocator(idGenerator, 0, 0, executor);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			new IdBlockAllocator(idGenerator, 10, 10, executor);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			allocator.nextId(null);
+		});
+	}
+}
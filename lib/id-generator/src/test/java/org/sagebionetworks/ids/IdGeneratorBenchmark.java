@@ -0,0 +1,80 @@
+package org.sagebionetworks.ids;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Compares the throughput of issuing IDs one at a time with
+ * {@link IdGenerator#generateNewId(IdType)} against issuing them from blocks
+ * with the {@link IdBlockAllocator}, from concurrent threads. Requires the ID
+ * generator database of the stack configuration.
+ *
+ * <pre>
+ * mvn -pl lib/id-generator test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.sagebionetworks.ids.IdGeneratorBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGeneratorBenchmark {
+
+	private static final IdType TYPE = IdType.ACCESS_APPROVAL_ID;
+
+	private ClassPathXmlApplicationContext context;
+	private IdGenerator idGenerator;
+	private IdBlockAllocator idBlockAllocator;
+
+	@Setup
+	public void setup() {
+		context = new ClassPathXmlApplicationContext("id-generator.spb.xml");
+		idGenerator = context.getBean(IdGenerator.class);
+		idBlockAllocator = context.getBean(IdBlockAllocator.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Long generateNewId() {
+		return idGenerator.generateNewId(TYPE);
+	}
+
+	@Benchmark
+	public long idBlockAllocator() {
+		return idBlockAllocator.nextId(TYPE);
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(IdGeneratorBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
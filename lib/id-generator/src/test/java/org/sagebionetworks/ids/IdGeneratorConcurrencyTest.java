@@ -5,9 +5,15 @@ package org.sagebionetworks.ids;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
@@ -78,4 +84,47 @@ public class IdGeneratorConcurrencyTest {
 		assertEquals(numberOfThreads*numberIds, count.get(), "Did not get the expceted count of insertions");
 		assertEquals(numberOfThreads*numberIds, sharedIdSet.size(), "Did not get the expceted count of unique IDs");
 	}
+	
+	/**
+	 * Blocks and single IDs issued concurrently must not overlap, and the IDs
+	 * issued to each thread must increase.
+	 */
+	@Test
+	public void testConcurrentBlocksAndSingleIds() throws Exception {
+		IdType type = IdType.ACCESS_APPROVAL_ID;
+		int threadCount = 4;
+		int callsPerThread = 50;
+		int blockSize = 20;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<List<Long>>> futures = new ArrayList<>();
+			for (int i = 0; i < threadCount; i++) {
+				futures.add(executor.submit(() -> {
+					List<Long> ids = new ArrayList<>();
+					for (int j = 0; j < callsPerThread; j++) {
+						if (j % 2 == 0) {
+							ids.addAll(idGenerator.generateNewIdBlock(type, blockSize));
+						} else {
+							ids.add(idGenerator.generateNewId(type));
+						}
+					}
+					return ids;
+				}));
+			}
+			Set<Long> allIds = new HashSet<>();
+			int expectedCount = 0;
+			for (Future<List<Long>> future : futures) {
+				List<Long> ids = future.get(TIME_OUT, TimeUnit.MILLISECONDS);
+				for (int i = 1; i < ids.size(); i++) {
+					assertTrue(ids.get(i - 1) < ids.get(i), "IDs issued to a thread must increase");
+				}
+				allIds.addAll(ids);
+				expectedCount += ids.size();
+			}
+			assertEquals(expectedCount, allIds.size(), "Duplicate IDs found!");
+			assertTrue(idGenerator.getMaxValueForType(type) >= Collections.max(allIds));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
 }
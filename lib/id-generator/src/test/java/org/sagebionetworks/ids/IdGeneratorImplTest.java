@@ -2,9 +2,11 @@ package org.sagebionetworks.ids;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -130,4 +132,49 @@ public class IdGeneratorImplTest {
 		// cleanup should not break the sequence
 		assertEquals(new Long(lastId+1L), idGenerator.generateNewId(type));
 	}
+	
+	@Test
+	public void testGenerateNewIdBlock() {
+		IdType type = IdType.ACCESS_APPROVAL_ID;
+		Long id = idGenerator.generateNewId(type);
+		int blockSize = 100;
+		// Call under test
+		List<Long> ids = idGenerator.generateNewIdBlock(type, blockSize);
+		assertEquals(blockSize, ids.size());
+		assertTrue(ids.get(0) > id);
+		for (int i = 1; i < ids.size(); i++) {
+			assertTrue(ids.get(i - 1) < ids.get(i));
+		}
+		long last = ids.get(blockSize - 1);
+		// The last ID of the block is the max so the restore script includes the entire block
+		assertEquals(last, idGenerator.getMaxValueForType(type));
+		// The next ID is after the block
+		assertTrue(idGenerator.generateNewId(type) > last);
+	}
+	
+	@Test
+	public void testGenerateNewIdBlockWithReserveId() {
+		IdType type = IdType.ACCESS_APPROVAL_ID;
+		List<Long> ids = idGenerator.generateNewIdBlock(type, 10);
+		// Reserving an ID within the block is a wash
+		idGenerator.reserveId(ids.get(5), type);
+		Long reserved = ids.get(9) + 100;
+		idGenerator.reserveId(reserved, type);
+		// Call under test
+		List<Long> next = idGenerator.generateNewIdBlock(type, 10);
+		assertEquals(10, next.size());
+		assertTrue(next.get(0) > reserved);
+	}
+	
+	@Test
+	public void testGenerateNewIdBlockWithInvalidSize() {
+		assertThrows(IllegalArgumentException.class, ()->{
+			// Call under test
+			idGenerator.generateNewIdBlock(IdType.ACCESS_APPROVAL_ID, 0);
+		});
+		assertThrows(IllegalArgumentException.class, ()->{
+			// Call under test
+			idGenerator.generateNewIdBlock(IdType.ACCESS_APPROVAL_ID, IdGeneratorImpl.MAX_BLOCK_SIZE + 1);
+		});
+	}
 }
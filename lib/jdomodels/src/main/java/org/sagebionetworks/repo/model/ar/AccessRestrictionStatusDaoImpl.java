@@ -62,6 +62,7 @@ public class AccessRestrictionStatusDaoImpl implements AccessRestrictionStatusDa
 		params.addValue("userId", userId);
 		params.addValue("depth", NodeConstants.MAX_PATH_DEPTH_PLUS_ONE);
 		params.addValue("usersGroups", userGroups);
+		// The closure is only used for the entities without a pending change on their hierarchy.
 		namedJdbcTemplate.query(GET_ENTITY_ACCESS_RESTRICTIONS_SQL, params, (ResultSet rs) -> {
 			Long entityId = rs.getLong(ENTITY_ID);
 			EntityType entityType = EntityType.valueOf(rs.getString(NODE_TYPE));
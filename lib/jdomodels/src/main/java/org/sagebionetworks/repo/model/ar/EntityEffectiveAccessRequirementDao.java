@@ -0,0 +1,138 @@
+package org.sagebionetworks.repo.model.ar;
+
+import java.util.List;
+import java.util.Set;
+
+import org.sagebionetworks.repo.model.dbo.persistence.DBOEntityEffectiveAccessRequirementChange;
+
+/**
+ * Maintains the ENTITY_EFFECTIVE_AR closure that maps each entity to every
+ * access requirement that applies to it, including the requirements inherited
+ * from its ancestors.
+ * <p>
+ * Any change that can alter the closure of a sub-tree (a node move, a change
+ * to the entities bound to an access requirement, migration) marks the root of
+ * the sub-tree as changed in the same transaction. The closure of an entity is
+ * only trusted while there is no pending change on the entity or any of its
+ * ancestors.
+ *
+ */
+public interface EntityEffectiveAccessRequirementDao {
+
+	/**
+	 * Mark the sub-tree rooted at the given entity as needing a rebuild.
+	 * 
+	 * @param rootId
+	 */
+	void markSubtreeChanged(Long rootId);
+
+	/**
+	 * Mark each of the sub-trees rooted at the given entities as needing a
+	 * rebuild.
+	 * 
+	 * @param rootIds
+	 */
+	void markSubtreesChanged(List<Long> rootIds);
+
+	/**
+	 * Mark each entity that is bound to the given access requirement as needing
+	 * a rebuild of its sub-tree.
+	 * 
+	 * @param requirementId
+	 */
+	void markRequirementSubjectsChanged(Long requirementId);
+
+	/**
+	 * Mark each entity that is bound to an access requirement with an ID in the
+	 * given range as needing a rebuild of its sub-tree. Must be called before the
+	 * bindings are deleted.
+	 * 
+	 * @param minimumRequirementId Inclusive
+	 * @param maximumRequirementId Inclusive
+	 */
+	void markRequirementRangeSubjectsChanged(long minimumRequirementId, long maximumRequirementId);
+
+	/**
+	 * Give a newly created entity the effective access requirements of its
+	 * parent.
+	 * 
+	 * @param entityId
+	 * @param parentId
+	 */
+	void addInheritedRequirements(Long entityId, Long parentId);
+
+	/**
+	 * @return True if there are no pending changes, so the closure matches the
+	 *         hierarchy and the access requirement bindings.
+	 */
+	boolean isClosureCurrent();
+
+	/**
+	 * Get the oldest pending changes.
+	 * 
+	 * @param limit
+	 * @return
+	 */
+	List<DBOEntityEffectiveAccessRequirementChange> getPendingChanges(long limit);
+
+	/**
+	 * Delete the given changes once they have been processed.
+	 * 
+	 * @param changeIds
+	 */
+	void completeChanges(List<Long> changeIds);
+
+	/**
+	 * Rebuild the effective access requirements of every entity in the sub-tree
+	 * rooted at the given entity.
+	 * 
+	 * @param rootId
+	 */
+	void rebuildSubtree(Long rootId);
+
+	/**
+	 * Rebuild the effective access requirements of the given entities only.
+	 * 
+	 * @param entityIds
+	 */
+	void rebuildEntities(List<Long> entityIds);
+
+	/**
+	 * Get the IDs of the direct children of the given entity.
+	 * 
+	 * @param parentId
+	 * @return
+	 */
+	List<Long> getChildIds(Long parentId);
+
+	/**
+	 * Get a page of entity IDs in ID order, starting after the given ID.
+	 * 
+	 * @param afterId
+	 * @param limit
+	 * @return
+	 */
+	List<Long> getEntityIdsAfter(Long afterId, long limit);
+
+	/**
+	 * Compare the closure of each of the given entities against the access
+	 * requirements found by walking the hierarchy.
+	 * 
+	 * @param entityIds
+	 * @return The subset of the given entities with a closure that does not
+	 *         match.
+	 */
+	Set<Long> getInconsistentEntityIds(List<Long> entityIds);
+
+	/**
+	 * Called when the stack starts. Marks the whole hierarchy as changed if the
+	 * closure was never built for existing access requirement bindings.
+	 */
+	void bootstrap();
+
+	/**
+	 * Clear the closure and all pending changes.
+	 */
+	void truncateAll();
+
+}
@@ -0,0 +1,240 @@
+package org.sagebionetworks.repo.model.ar;
+
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_CHANGE_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_ENTITY_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ENTITY_EFFECTIVE_AR;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ENTITY_EFFECTIVE_AR_CHANGE;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.sagebionetworks.repo.model.NodeConstants;
+import org.sagebionetworks.repo.model.dbo.DDLUtilsImpl;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOEntityEffectiveAccessRequirementChange;
+import org.sagebionetworks.repo.transactions.WriteTransaction;
+import org.sagebionetworks.util.ValidateArgument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class EntityEffectiveAccessRequirementDaoImpl implements EntityEffectiveAccessRequirementDao {
+
+	public static final String REBUILD_SUBTREE_SQL = DDLUtilsImpl
+			.loadSQLFromClasspath("sql/RebuildEntityEffectiveAccessRequirements.sql");
+	public static final String DELETE_SUBTREE_SQL = DDLUtilsImpl
+			.loadSQLFromClasspath("sql/DeleteEntityEffectiveAccessRequirementsForSubtree.sql");
+	public static final String GET_EFFECTIVE_REQUIREMENTS_SQL = DDLUtilsImpl
+			.loadSQLFromClasspath("sql/GetEntityEffectiveAccessRequirements.sql");
+
+	private static final String SQL_INSERT_CHANGE = "INSERT INTO " + TABLE_ENTITY_EFFECTIVE_AR_CHANGE + " ("
+			+ COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID + ", " + COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON
+			+ ") VALUES (?, NOW(3))";
+
+	private static final String SQL_INSERT_REQUIREMENT_SUBJECT_CHANGES = "INSERT INTO "
+			+ TABLE_ENTITY_EFFECTIVE_AR_CHANGE + " (" + COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID + ", "
+			+ COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON + ")"
+			+ " SELECT DISTINCT SUBJECT_ID, NOW(3) FROM NODE_ACCESS_REQUIREMENT WHERE REQUIREMENT_ID = ? AND SUBJECT_TYPE = 'ENTITY'";
+
+	private static final String SQL_INSERT_REQUIREMENT_RANGE_SUBJECT_CHANGES = "INSERT INTO "
+			+ TABLE_ENTITY_EFFECTIVE_AR_CHANGE + " (" + COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID + ", "
+			+ COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON + ")"
+			+ " SELECT DISTINCT SUBJECT_ID, NOW(3) FROM NODE_ACCESS_REQUIREMENT WHERE REQUIREMENT_ID BETWEEN ? AND ? AND SUBJECT_TYPE = 'ENTITY'";
+
+	private static final String SQL_INSERT_INHERITED = "INSERT IGNORE INTO " + TABLE_ENTITY_EFFECTIVE_AR + " ("
+			+ COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + ", " + COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID + ") SELECT ?, "
+			+ COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID + " FROM " + TABLE_ENTITY_EFFECTIVE_AR + " WHERE "
+			+ COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + " = ?";
+
+	private static final String SQL_IS_CLOSURE_CURRENT = "SELECT NOT EXISTS (SELECT * FROM "
+			+ TABLE_ENTITY_EFFECTIVE_AR_CHANGE + ")";
+
+	private static final String SQL_GET_PENDING_CHANGES = "SELECT * FROM " + TABLE_ENTITY_EFFECTIVE_AR_CHANGE
+			+ " ORDER BY " + COL_ENTITY_EFFECTIVE_AR_CHANGE_ID + " LIMIT ?";
+
+	private static final String SQL_DELETE_CHANGES = "DELETE FROM " + TABLE_ENTITY_EFFECTIVE_AR_CHANGE + " WHERE "
+			+ COL_ENTITY_EFFECTIVE_AR_CHANGE_ID + " IN (:ids)";
+
+	private static final String SQL_DELETE_ENTITIES = "DELETE FROM " + TABLE_ENTITY_EFFECTIVE_AR + " WHERE "
+			+ COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + " IN (:entityIds)";
+
+	private static final String SQL_INSERT_ENTITIES = "INSERT IGNORE INTO " + TABLE_ENTITY_EFFECTIVE_AR + " ("
+			+ COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + ", " + COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID + ") "
+			+ GET_EFFECTIVE_REQUIREMENTS_SQL;
+
+	private static final String SQL_SELECT_ENTITIES = "SELECT " + COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + ", "
+			+ COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID + " FROM " + TABLE_ENTITY_EFFECTIVE_AR + " WHERE "
+			+ COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + " IN (:entityIds)";
+
+	private static final String SQL_SELECT_CHILD_IDS = "SELECT ID FROM NODE WHERE PARENT_ID = ? ORDER BY ID";
+
+	private static final String SQL_SELECT_ENTITY_IDS_AFTER = "SELECT ID FROM NODE WHERE ID > ? ORDER BY ID LIMIT ?";
+
+	private static final String SQL_NEEDS_BOOTSTRAP = "SELECT NOT EXISTS (SELECT * FROM " + TABLE_ENTITY_EFFECTIVE_AR
+			+ ") AND NOT EXISTS (SELECT * FROM " + TABLE_ENTITY_EFFECTIVE_AR_CHANGE + ")"
+			+ " AND EXISTS (SELECT * FROM NODE_ACCESS_REQUIREMENT WHERE SUBJECT_TYPE = 'ENTITY')";
+
+	private static final RowMapper<DBOEntityEffectiveAccessRequirementChange> CHANGE_MAPPER = new DBOEntityEffectiveAccessRequirementChange()
+			.getTableMapping();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	@WriteTransaction
+	@Override
+	public void markSubtreeChanged(Long rootId) {
+		ValidateArgument.required(rootId, "rootId");
+		jdbcTemplate.update(SQL_INSERT_CHANGE, rootId);
+	}
+
+	@WriteTransaction
+	@Override
+	public void markSubtreesChanged(List<Long> rootIds) {
+		ValidateArgument.required(rootIds, "rootIds");
+		if (rootIds.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate(SQL_INSERT_CHANGE, rootIds, rootIds.size(), (ps, rootId) -> {
+			ps.setLong(1, rootId);
+		});
+	}
+
+	@WriteTransaction
+	@Override
+	public void markRequirementSubjectsChanged(Long requirementId) {
+		ValidateArgument.required(requirementId, "requirementId");
+		jdbcTemplate.update(SQL_INSERT_REQUIREMENT_SUBJECT_CHANGES, requirementId);
+	}
+
+	@WriteTransaction
+	@Override
+	public void markRequirementRangeSubjectsChanged(long minimumRequirementId, long maximumRequirementId) {
+		jdbcTemplate.update(SQL_INSERT_REQUIREMENT_RANGE_SUBJECT_CHANGES, minimumRequirementId, maximumRequirementId);
+	}
+
+	@WriteTransaction
+	@Override
+	public void addInheritedRequirements(Long entityId, Long parentId) {
+		ValidateArgument.required(entityId, "entityId");
+		ValidateArgument.required(parentId, "parentId");
+		jdbcTemplate.update(SQL_INSERT_INHERITED, entityId, parentId);
+	}
+
+	@Override
+	public boolean isClosureCurrent() {
+		return jdbcTemplate.queryForObject(SQL_IS_CLOSURE_CURRENT, Boolean.class);
+	}
+
+	@Override
+	public List<DBOEntityEffectiveAccessRequirementChange> getPendingChanges(long limit) {
+		return jdbcTemplate.query(SQL_GET_PENDING_CHANGES, CHANGE_MAPPER, limit);
+	}
+
+	@WriteTransaction
+	@Override
+	public void completeChanges(List<Long> changeIds) {
+		ValidateArgument.required(changeIds, "changeIds");
+		if (changeIds.isEmpty()) {
+			return;
+		}
+		namedJdbcTemplate.update(SQL_DELETE_CHANGES, new MapSqlParameterSource("ids", changeIds));
+	}
+
+	@WriteTransaction
+	@Override
+	public void rebuildSubtree(Long rootId) {
+		ValidateArgument.required(rootId, "rootId");
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		params.addValue("rootId", rootId);
+		params.addValue("depth", NodeConstants.MAX_PATH_DEPTH_PLUS_ONE);
+		namedJdbcTemplate.update(DELETE_SUBTREE_SQL, params);
+		namedJdbcTemplate.update(REBUILD_SUBTREE_SQL, params);
+	}
+
+	@WriteTransaction
+	@Override
+	public void rebuildEntities(List<Long> entityIds) {
+		ValidateArgument.required(entityIds, "entityIds");
+		if (entityIds.isEmpty()) {
+			return;
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		params.addValue("entityIds", entityIds);
+		params.addValue("depth", NodeConstants.MAX_PATH_DEPTH_PLUS_ONE);
+		namedJdbcTemplate.update(SQL_DELETE_ENTITIES, params);
+		namedJdbcTemplate.update(SQL_INSERT_ENTITIES, params);
+	}
+
+	@Override
+	public List<Long> getChildIds(Long parentId) {
+		ValidateArgument.required(parentId, "parentId");
+		return jdbcTemplate.queryForList(SQL_SELECT_CHILD_IDS, Long.class, parentId);
+	}
+
+	@Override
+	public List<Long> getEntityIdsAfter(Long afterId, long limit) {
+		ValidateArgument.required(afterId, "afterId");
+		return jdbcTemplate.queryForList(SQL_SELECT_ENTITY_IDS_AFTER, Long.class, afterId, limit);
+	}
+
+	@Override
+	public Set<Long> getInconsistentEntityIds(List<Long> entityIds) {
+		ValidateArgument.required(entityIds, "entityIds");
+		if (entityIds.isEmpty()) {
+			return Collections.emptySet();
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		params.addValue("entityIds", entityIds);
+		params.addValue("depth", NodeConstants.MAX_PATH_DEPTH_PLUS_ONE);
+		Map<Long, Set<Long>> expected = getRequirementsByEntity(GET_EFFECTIVE_REQUIREMENTS_SQL, params);
+		Map<Long, Set<Long>> actual = getRequirementsByEntity(SQL_SELECT_ENTITIES, params);
+		Set<Long> inconsistent = new HashSet<>();
+		for (Long entityId : entityIds) {
+			Set<Long> expectedRequirements = expected.getOrDefault(entityId, Collections.emptySet());
+			Set<Long> actualRequirements = actual.getOrDefault(entityId, Collections.emptySet());
+			if (!expectedRequirements.equals(actualRequirements)) {
+				inconsistent.add(entityId);
+			}
+		}
+		return inconsistent;
+	}
+
+	private Map<Long, Set<Long>> getRequirementsByEntity(String sql, MapSqlParameterSource params) {
+		Map<Long, Set<Long>> map = new HashMap<>();
+		namedJdbcTemplate.query(sql, params, (ResultSet rs) -> {
+			map.computeIfAbsent(rs.getLong(COL_ENTITY_EFFECTIVE_AR_ENTITY_ID), k -> new HashSet<>())
+					.add(rs.getLong(COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID));
+		});
+		return map;
+	}
+
+	@WriteTransaction
+	@Override
+	public void bootstrap() {
+		if (jdbcTemplate.queryForObject(SQL_NEEDS_BOOTSTRAP, Boolean.class)) {
+			markSubtreeChanged(NodeConstants.BOOTSTRAP_NODES.ROOT.getId());
+		}
+	}
+
+	@WriteTransaction
+	@Override
+	public void truncateAll() {
+		jdbcTemplate.update("DELETE FROM " + TABLE_ENTITY_EFFECTIVE_AR_CHANGE);
+		jdbcTemplate.update("DELETE FROM " + TABLE_ENTITY_EFFECTIVE_AR);
+	}
+
+}
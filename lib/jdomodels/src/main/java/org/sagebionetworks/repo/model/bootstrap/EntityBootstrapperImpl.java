@@ -15,6 +15,7 @@ import org.sagebionetworks.repo.model.ACCESS_TYPE;
 import org.sagebionetworks.repo.model.AccessControlList;
 import org.sagebionetworks.repo.model.AccessControlListDAO;
 import org.sagebionetworks.repo.model.AccessRequirementDAO;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
 import org.sagebionetworks.repo.model.auth.AuthenticationDAO;
 import org.sagebionetworks.repo.model.AuthorizationConstants.ACL_SCHEME;
 import org.sagebionetworks.repo.model.AuthorizationConstants.BOOTSTRAP_PRINCIPAL;
@@ -66,6 +67,9 @@ public class EntityBootstrapperImpl implements EntityBootstrapper {
 	@Autowired
 	private AccessRequirementDAO accessRequirementDao;
 
+	@Autowired
+	private EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
+
 	private List<EntityBootstrapData> bootstrapEntities;
 	/**
 	 * Map EntityBootstrapData using its path.
@@ -111,6 +115,7 @@ public class EntityBootstrapperImpl implements EntityBootstrapper {
 		groupMembersDAO.bootstrapGroups();
 		authDAO.bootstrapCredentials();
 		accessRequirementDao.bootstrap();
+		entityEffectiveAccessRequirementDao.bootstrap();
 		
 		pathMap = Collections.synchronizedMap(new HashMap<String, EntityBootstrapData>());
 		// Map the default users to their ids
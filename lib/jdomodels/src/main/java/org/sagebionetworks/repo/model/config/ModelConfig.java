@@ -1,5 +1,6 @@
 package org.sagebionetworks.repo.model.config;
 
+import java.io.File;
 import java.sql.Connection;
 
 import javax.sql.DataSource;
@@ -8,6 +9,7 @@ import org.apache.commons.dbcp2.BasicDataSource;
 import org.sagebionetworks.StackConfiguration;
 import org.sagebionetworks.database.semaphore.CountingSemaphore;
 import org.sagebionetworks.database.semaphore.CountingSemaphoreImpl;
+import org.sagebionetworks.repo.model.dbo.wikiV2.WikiMarkdownCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -117,4 +119,11 @@ public class ModelConfig {
 	public CountingSemaphore countingSemaphore(DataSource dataSourcePool) {
 		return new CountingSemaphoreImpl(dataSourcePool);
 	}
+
+	@Bean
+	public WikiMarkdownCache wikiMarkdownCache(StackConfiguration stackConfiguration) {
+		String directory = stackConfiguration.getWikiMarkdownCacheDirectory();
+		return new WikiMarkdownCache(stackConfiguration.getWikiMarkdownCacheMaxMemoryBytes(),
+				directory == null ? null : new File(directory), stackConfiguration.getWikiMarkdownCacheMaxDiskBytes());
+	}
 }
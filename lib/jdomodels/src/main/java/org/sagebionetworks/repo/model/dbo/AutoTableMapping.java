@@ -8,7 +8,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.sagebionetworks.repo.model.dbo.DBOBuilder.ParamTypeMapper;
-import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 
 /**
  * Implementation of a table mapping that uses @{@link Table} and @{@link Field} annotations to generate all the boiler
@@ -23,6 +22,7 @@ public class AutoTableMapping<T> implements TableMapping<T> {
 	private final FieldColumn[] fields;
 	private final DBOBuilder.RowMapper[] mappers;
 	private final Map<String, DBOBuilder.ParamTypeMapper> paramTypeMappers;
+	private final PropertyAccessors accessors;
 
 	/**
 	 * Create a table mapping for this class (assumed to be annotated with @{@link Table} and @{@link Field}
@@ -42,6 +42,7 @@ public class AutoTableMapping<T> implements TableMapping<T> {
 		this.tableName = DBOBuilder.getTableName(clazz);
 		this.mappers = DBOBuilder.getFieldMappers(clazz, customColumns);
 		this.paramTypeMappers = DBOBuilder.getParamTypeMappers(clazz, customColumns);
+		this.accessors = PropertyAccessors.forClass(clazz);
 	}
 
 	@Override
@@ -65,22 +66,21 @@ public class AutoTableMapping<T> implements TableMapping<T> {
 		return clazz;
 	}
 
+	@SuppressWarnings("unchecked")
 	@Override
 	public T mapRow(ResultSet rs, int rowNum) throws SQLException {
 		try {
-			T result = clazz.newInstance();
+			T result = (T) accessors.newInstance();
 			for (DBOBuilder.RowMapper mapper : mappers) {
 				mapper.map(result, rs);
 			}
 			return result;
-		} catch (IllegalArgumentException e) {
+		} catch (IllegalArgumentException | IllegalStateException e) {
 			throw new SQLException("Error creating " + clazz.getName() + " object: " + e.getMessage(), e);
 		} catch (InvocationTargetException e) {
 			throw new SQLException("Error creating " + clazz.getName() + " object: " + e.getMessage(), e);
 		} catch (IllegalAccessException e) {
 			throw new SQLException("Error creating " + clazz.getName() + " object: " + e.getMessage(), e);
-		} catch (InstantiationException e) {
-			throw new SQLException("Error creating " + clazz.getName() + " object: " + e.getMessage(), e);
 		}
 	}
 
@@ -88,8 +88,8 @@ public class AutoTableMapping<T> implements TableMapping<T> {
 		return DBOBuilder.buildDLL(clazz, tableName);
 	}
 
-	public BeanPropertySqlParameterSource getSqlParameterSource(Object bean) {
-		BeanPropertySqlParameterSource parameterSource = new BeanPropertySqlParameterSource(bean) {
+	public PropertyAccessorSqlParameterSource getSqlParameterSource(Object bean) {
+		PropertyAccessorSqlParameterSource parameterSource = new PropertyAccessorSqlParameterSource(bean) {
 			@Override
 			public Object getValue(String paramName) {
 				Object result = super.getValue(paramName);
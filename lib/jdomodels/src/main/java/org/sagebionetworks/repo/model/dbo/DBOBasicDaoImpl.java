@@ -14,7 +14,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
@@ -197,7 +196,7 @@ public class DBOBasicDaoImpl implements DBOBasicDao, InitializingBean {
 	
 	@SuppressWarnings("unchecked")
 	private <T> List<T> batchUpdate(List<T> batch, String sql, boolean enforceUpdate) {
-		SqlParameterSource[] namedParameters = new BeanPropertySqlParameterSource[batch.size()];
+		SqlParameterSource[] namedParameters = new SqlParameterSource[batch.size()];
 		TableMapping<T> mapping = null;
 		for(int i=0; i<batch.size(); i++){
 			if (mapping == null) {
@@ -329,7 +328,7 @@ public class DBOBasicDaoImpl implements DBOBasicDao, InitializingBean {
 		if (mapping instanceof AutoTableMapping) {
 			return ((AutoTableMapping) mapping).getSqlParameterSource(toCreate);
 		}
-		return new BeanPropertySqlParameterSource(toCreate);
+		return new PropertyAccessorSqlParameterSource(toCreate);
 	}
 
 	/**
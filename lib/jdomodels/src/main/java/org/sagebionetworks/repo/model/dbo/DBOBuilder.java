@@ -2,8 +2,8 @@ package org.sagebionetworks.repo.model.dbo;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.Blob;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -12,6 +12,7 @@ import java.sql.Types;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import org.apache.commons.lang3.StringUtils;
 import org.sagebionetworks.repo.model.UnmodifiableXStream;
@@ -39,11 +40,11 @@ public class DBOBuilder<T> {
 	}
 
 	private static abstract class BaseRowMapper implements RowMapper {
-		private final Method fieldSetter;
+		private final BiConsumer<Object, Object> fieldSetter;
 		private final String columnName;
 		private final boolean isNullable;
 
-		public BaseRowMapper(Method fieldSetter, String columnName, boolean isNullable) {
+		public BaseRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean isNullable) {
 			this.fieldSetter = fieldSetter;
 			this.columnName = columnName;
 			this.isNullable = isNullable;
@@ -54,23 +55,27 @@ public class DBOBuilder<T> {
 			if (isNullable && rs.wasNull()) {
 				value = null;
 			}
-			fieldSetter.invoke(result, value);
+			fieldSetter.accept(result, value);
 		}
 
 		public abstract Object getValue(ResultSet rs, String columnName) throws SQLException, IllegalAccessException,
 				InvocationTargetException;
 	}
 
+	private interface ColumnReader {
+		Object read(ResultSet rs, String columnName) throws SQLException;
+	}
+
 	private static class AssignmentRowMapper extends BaseRowMapper {
-		final Method mapperMethod;
+		final ColumnReader columnReader;
 
-		public AssignmentRowMapper(Method fieldSetter, String columnName, boolean nullable, Method mapperMethod) {
+		public AssignmentRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean nullable, ColumnReader columnReader) {
 			super(fieldSetter, columnName, nullable);
-			this.mapperMethod = mapperMethod;
+			this.columnReader = columnReader;
 		}
 
-		public Object getValue(ResultSet rs, String columnName) throws SQLException, IllegalAccessException, InvocationTargetException {
-			return mapperMethod.invoke(rs, columnName);
+		public Object getValue(ResultSet rs, String columnName) throws SQLException {
+			return columnReader.read(rs, columnName);
 		}
 	}
 
@@ -78,7 +83,7 @@ public class DBOBuilder<T> {
 	private static class EnumRowMapper extends BaseRowMapper {
 		final private Class<? extends Enum> enumType;
 
-		public EnumRowMapper(Method fieldSetter, String columnName, boolean nullable, Class<? extends Enum> enumType) {
+		public EnumRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean nullable, Class<? extends Enum> enumType) {
 			super(fieldSetter, columnName, nullable);
 			this.enumType = enumType;
 		}
@@ -97,7 +102,7 @@ public class DBOBuilder<T> {
 
 	private static class BlobRowMapper extends BaseRowMapper {
 
-		public BlobRowMapper(Method fieldSetter, String columnName, boolean nullable) {
+		public BlobRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean nullable) {
 			super(fieldSetter, columnName, nullable);
 		}
 
@@ -113,7 +118,7 @@ public class DBOBuilder<T> {
 
 	private static class DateRowMapper extends BaseRowMapper {
 
-		public DateRowMapper(Method fieldSetter, String columnName, boolean nullable) {
+		public DateRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean nullable) {
 			super(fieldSetter, columnName, nullable);
 		}
 
@@ -128,7 +133,7 @@ public class DBOBuilder<T> {
 	}
 	
 	private static class TimestampRowMapper extends BaseRowMapper {
-		public TimestampRowMapper(Method fieldSetter, String columnName, boolean nullable) {
+		public TimestampRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean nullable) {
 			super(fieldSetter, columnName, nullable);
 		}
 
@@ -139,7 +144,7 @@ public class DBOBuilder<T> {
 	
 	private static class BooleanRowMapper extends BaseRowMapper{
 
-		public BooleanRowMapper(Method fieldSetter, String columnName,
+		public BooleanRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName,
 				boolean isNullable) {
 			super(fieldSetter, columnName, isNullable);
 		}
@@ -159,7 +164,7 @@ public class DBOBuilder<T> {
 
 		private final Class<?> clazz;
 
-		public SerializedTypeRowMapper(Method fieldSetter, String columnName, boolean nullable, Class<?> clazz) {
+		public SerializedTypeRowMapper(BiConsumer<Object, Object> fieldSetter, String columnName, boolean nullable, Class<?> clazz) {
 			super(fieldSetter, columnName, nullable);
 			this.clazz = clazz;
 		}
@@ -198,39 +203,29 @@ public class DBOBuilder<T> {
 		return result.toArray(new FieldColumn[result.size()]);
 	}
 
-	private static final Object[][] TYPE_MAP = { { Long.class, "getLong" }, { long.class, "getLong" }, { String.class, "getString" } };
-
-	private static String getMethodFromTypeMap(Class<?> type) {
-		for (Object[] entry : TYPE_MAP) {
-			if (type == entry[0]) {
-				return (String) entry[1];
-			}
-		}
-		return null;
-	}
+	private static final Map<Class<?>, ColumnReader> TYPE_MAP = ImmutableMap.<Class<?>, ColumnReader>of(
+			Long.class, ResultSet::getLong,
+			long.class, ResultSet::getLong,
+			String.class, ResultSet::getString);
 
 	public static <T> RowMapper[] getFieldMappers(final Class<? extends T> clazz, final String[] customColumns) {
 		List<Entry<Field>> fields = getAnnotatedFieldsWithoutCustomColums(clazz, Field.class, customColumns);
 		List<RowMapper> mappers = Lists.transform(fields, new Function<Entry<Field>, RowMapper>() {
 			@Override
 			public RowMapper apply(Entry<Field> fieldEntry) {
-				Method setterMethod;
+				BiConsumer<Object, Object> setterMethod;
 				String setterMethodName = "set" + StringUtils.capitalize(fieldEntry.field.getName());
 				try {
-					setterMethod = clazz.getMethod(setterMethodName, new Class[] { fieldEntry.field.getType() });
+					setterMethod = PropertyAccessors.createSetter(MethodHandles.lookup(),
+							clazz.getMethod(setterMethodName, new Class[] { fieldEntry.field.getType() }));
 				} catch (NoSuchMethodException e) {
 					throw new IllegalArgumentException("Could not find method '" + setterMethodName + "' on " + clazz.getName());
 				}
 
-				String getMethod = getMethodFromTypeMap(fieldEntry.field.getType());
-				if (getMethod != null) {
-					try {
-						Method mapperMethod = ResultSet.class.getMethod((String) getMethod, new Class[] { String.class });
-						return new AssignmentRowMapper(setterMethod, fieldEntry.annotation.name(), fieldEntry.annotation.nullable(),
-								mapperMethod);
-					} catch (NoSuchMethodException e) {
-						throw new IllegalArgumentException("Could not find method '" + getMethod + "' on ResultSet");
-					}
+				ColumnReader columnReader = TYPE_MAP.get(fieldEntry.field.getType());
+				if (columnReader != null) {
+					return new AssignmentRowMapper(setterMethod, fieldEntry.annotation.name(), fieldEntry.annotation.nullable(),
+							columnReader);
 				}
 
 				// enum?
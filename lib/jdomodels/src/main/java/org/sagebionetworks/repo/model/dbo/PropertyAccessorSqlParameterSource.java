@@ -0,0 +1,42 @@
+package org.sagebionetworks.repo.model.dbo;
+
+import org.springframework.jdbc.core.namedparam.AbstractSqlParameterSource;
+
+/**
+ * A drop in replacement for
+ * {@link org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource}
+ * that reads the parameters of a bean with {@link PropertyAccessors} that are
+ * resolved once per class. This avoids building a BeanWrapper and invoking
+ * each getter reflectively for every row of a batch.
+ *
+ */
+public class PropertyAccessorSqlParameterSource extends AbstractSqlParameterSource {
+
+	private final Object bean;
+	private final PropertyAccessors accessors;
+
+	public PropertyAccessorSqlParameterSource(Object bean) {
+		this.bean = bean;
+		this.accessors = PropertyAccessors.forClass(bean.getClass());
+	}
+
+	@Override
+	public boolean hasValue(String paramName) {
+		return accessors.isReadable(paramName);
+	}
+
+	@Override
+	public Object getValue(String paramName) throws IllegalArgumentException {
+		return accessors.getValue(bean, paramName);
+	}
+
+	@Override
+	public int getSqlType(String paramName) {
+		int sqlType = super.getSqlType(paramName);
+		if (sqlType != TYPE_UNKNOWN) {
+			return sqlType;
+		}
+		return accessors.getSqlType(paramName);
+	}
+
+}
@@ -0,0 +1,272 @@
+package org.sagebionetworks.repo.model.dbo;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+/**
+ * The properties of a class, resolved once per class. Each getter is bound to a
+ * {@link Function}, each setter to a {@link BiConsumer} and the default
+ * constructor to a {@link Supplier} generated with the
+ * {@link LambdaMetafactory}, so reading or writing a property is a plain method
+ * call rather than the reflective {@link Method#invoke(Object, Object...)} used
+ * by a {@link org.springframework.beans.BeanWrapper} for every row.
+ *
+ */
+public class PropertyAccessors {
+
+	private static final Map<Class<?>, PropertyAccessors> CACHE = new ConcurrentHashMap<>();
+
+	private final Class<?> clazz;
+	private final Map<String, Function<Object, Object>> getters;
+	private final Map<String, BiConsumer<Object, Object>> setters;
+	private final Map<String, Integer> sqlTypes;
+	private final Supplier<Object> constructor;
+
+	private PropertyAccessors(Class<?> clazz, Map<String, Function<Object, Object>> getters, Map<String, BiConsumer<Object, Object>> setters,
+			Map<String, Integer> sqlTypes, Supplier<Object> constructor) {
+		this.clazz = clazz;
+		this.getters = getters;
+		this.setters = setters;
+		this.sqlTypes = sqlTypes;
+		this.constructor = constructor;
+	}
+
+	/**
+	 * Get the accessors for the given class.
+	 *
+	 * @param clazz
+	 * @return
+	 */
+	public static PropertyAccessors forClass(Class<?> clazz) {
+		return CACHE.computeIfAbsent(clazz, PropertyAccessors::create);
+	}
+
+	/**
+	 * Does the class have a readable property with the given name?
+	 *
+	 * @param propertyName
+	 * @return
+	 */
+	public boolean isReadable(String propertyName) {
+		return getters.containsKey(propertyName);
+	}
+
+	/**
+	 * Read the value of the given property from the passed bean.
+	 *
+	 * @param bean
+	 * @param propertyName
+	 * @return
+	 * @throws IllegalArgumentException If the property is not readable.
+	 */
+	public Object getValue(Object bean, String propertyName) {
+		Function<Object, Object> getter = getters.get(propertyName);
+		if (getter == null) {
+			throw new IllegalArgumentException("No readable property named: " + propertyName + " for: " + bean.getClass().getName());
+		}
+		return getter.apply(bean);
+	}
+
+	/**
+	 * Does the class have a writable property with the given name?
+	 *
+	 * @param propertyName
+	 * @return
+	 */
+	public boolean isWritable(String propertyName) {
+		return setters.containsKey(propertyName);
+	}
+
+	/**
+	 * Write the value of the given property of the passed bean.
+	 *
+	 * @param bean
+	 * @param propertyName
+	 * @param value
+	 * @throws IllegalArgumentException If the property is not writable.
+	 */
+	public void setValue(Object bean, String propertyName, Object value) {
+		BiConsumer<Object, Object> setter = setters.get(propertyName);
+		if (setter == null) {
+			throw new IllegalArgumentException("No writable property named: " + propertyName + " for: " + bean.getClass().getName());
+		}
+		setter.accept(bean, value);
+	}
+
+	/**
+	 * Create a new instance of the class with its public no-argument constructor.
+	 *
+	 * @return
+	 * @throws IllegalStateException If the class does not have a public
+	 *                               no-argument constructor.
+	 */
+	public Object newInstance() {
+		if (constructor == null) {
+			throw new IllegalStateException("No public no-argument constructor for: " + clazz.getName());
+		}
+		return constructor.get();
+	}
+
+	/**
+	 * The SQL type derived from the Java type of the given property, matching
+	 * {@link org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource#getSqlType(String)}.
+	 *
+	 * @param propertyName
+	 * @return
+	 */
+	public int getSqlType(String propertyName) {
+		Integer sqlType = sqlTypes.get(propertyName);
+		return sqlType != null ? sqlType : SqlTypeValue.TYPE_UNKNOWN;
+	}
+
+	static PropertyAccessors create(Class<?> clazz) {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		Map<String, Function<Object, Object>> getters = new HashMap<>();
+		Map<String, BiConsumer<Object, Object>> setters = new HashMap<>();
+		Map<String, Integer> sqlTypes = new HashMap<>();
+		// The same descriptors as a BeanWrapper, including setters that return the bean
+		for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(clazz)) {
+			if (descriptor.getPropertyType() == null) {
+				continue;
+			}
+			Method readMethod = descriptor.getReadMethod();
+			if (readMethod != null) {
+				getters.put(descriptor.getName(), createGetter(lookup, readMethod));
+				sqlTypes.put(descriptor.getName(), StatementCreatorUtils.javaTypeToSqlParameterType(descriptor.getPropertyType()));
+			}
+			Method writeMethod = descriptor.getWriteMethod();
+			if (writeMethod != null) {
+				setters.put(descriptor.getName(), createSetter(lookup, writeMethod));
+			}
+		}
+		return new PropertyAccessors(clazz, Collections.unmodifiableMap(getters), Collections.unmodifiableMap(setters),
+				Collections.unmodifiableMap(sqlTypes), createConstructor(lookup, clazz));
+	}
+
+	/**
+	 * Bind the given getter to a Function.
+	 *
+	 * @param lookup
+	 * @param readMethod
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> createGetter(MethodHandles.Lookup lookup, Method readMethod) {
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflect(readMethod);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot access: " + readMethod, e);
+		}
+		try {
+			MethodType instantiatedType = MethodType.methodType(handle.type().wrap().returnType(),
+					readMethod.getDeclaringClass());
+			CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), handle, instantiatedType);
+			return (Function<Object, Object>) site.getTarget().invokeExact();
+		} catch (Throwable e) {
+			// Getters that cannot be bound directly (for example, methods of a class that is not
+			// visible from this package) still avoid reflection by using the method handle.
+			MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+			return (Object bean) -> {
+				try {
+					return generic.invokeExact(bean);
+				} catch (RuntimeException | Error e1) {
+					throw e1;
+				} catch (Throwable e1) {
+					throw new IllegalStateException(e1);
+				}
+			};
+		}
+	}
+
+	/**
+	 * Bind the given setter to a BiConsumer. The value returned by a setter that
+	 * is not void is discarded.
+	 *
+	 * @param lookup
+	 * @param writeMethod
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> createSetter(MethodHandles.Lookup lookup, Method writeMethod) {
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflect(writeMethod);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot access: " + writeMethod, e);
+		}
+		try {
+			MethodType instantiatedType = MethodType.methodType(void.class, writeMethod.getDeclaringClass(),
+					handle.type().wrap().parameterType(1));
+			CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class), handle, instantiatedType);
+			return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+		} catch (Throwable e) {
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			return (Object bean, Object value) -> {
+				try {
+					generic.invokeExact(bean, value);
+				} catch (RuntimeException | Error e1) {
+					throw e1;
+				} catch (Throwable e1) {
+					throw new IllegalStateException(e1);
+				}
+			};
+		}
+	}
+
+	/**
+	 * Bind the public no-argument constructor of the given class to a Supplier.
+	 *
+	 * @param lookup
+	 * @param clazz
+	 * @return Null if the class cannot be instantiated with a public no-argument
+	 *         constructor
+	 */
+	@SuppressWarnings("unchecked")
+	static Supplier<Object> createConstructor(MethodHandles.Lookup lookup, Class<?> clazz) {
+		if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+			return null;
+		}
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflectConstructor(clazz.getConstructor());
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+		try {
+			CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+					MethodType.methodType(Object.class), handle, MethodType.methodType(clazz));
+			return (Supplier<Object>) site.getTarget().invokeExact();
+		} catch (Throwable e) {
+			MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+			return () -> {
+				try {
+					return generic.invokeExact();
+				} catch (RuntimeException | Error e1) {
+					throw e1;
+				} catch (Throwable e1) {
+					throw new IllegalStateException(e1);
+				}
+			};
+		}
+	}
+}
@@ -16,7 +16,10 @@ import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ASYNCH_J
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ASYNCH_JOB_STARTED_ON;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ASYNCH_JOB_STATE;
 
+import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +34,7 @@ import org.sagebionetworks.repo.model.asynch.AsynchJobState;
 import org.sagebionetworks.repo.model.asynch.AsynchronousJobStatus;
 import org.sagebionetworks.repo.model.asynch.AsynchronousRequestBody;
 import org.sagebionetworks.repo.model.asynch.AsynchronousResponseBody;
+import org.sagebionetworks.repo.model.dao.asynch.AsynchJobProgress;
 import org.sagebionetworks.repo.model.dao.asynch.AsynchronousJobStatusDAO;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
 import org.sagebionetworks.repo.model.dbo.SinglePrimaryKeySqlParameterSource;
@@ -147,6 +151,26 @@ public class AsynchJobStatusDAOImpl implements AsynchronousJobStatusDAO {
 		jdbcTemplate.update(SQL_UPDATE_PROGRESS, progressCurrent, progressTotal, progressMessage, new Timestamp(now), jobId);
 	}
 
+	@NewWriteTransaction
+	@Override
+	public void updateJobProgress(List<AsynchJobProgress> progress) {
+		ValidateArgument.required(progress, "progress");
+		if (progress.isEmpty()) {
+			return;
+		}
+		// Update the rows in a consistent order to avoid deadlocks between concurrent batches.
+		List<AsynchJobProgress> sorted = new ArrayList<>(progress);
+		sorted.sort(Comparator.comparing((AsynchJobProgress p) -> Long.parseLong(p.getJobId())));
+		jdbcTemplate.batchUpdate(SQL_UPDATE_PROGRESS, sorted, sorted.size(), (PreparedStatement ps, AsynchJobProgress p) -> {
+			int index = 0;
+			ps.setObject(++index, p.getProgressCurrent());
+			ps.setObject(++index, p.getProgressTotal());
+			ps.setString(++index, AsynchJobStatusUtils.truncateMessageStringIfNeeded(p.getProgressMessage()));
+			ps.setTimestamp(++index, new Timestamp(p.getChangedOn()));
+			ps.setString(++index, p.getJobId());
+		});
+	}
+
 	@WriteTransaction
 	@Override
 	public String setJobFailed(String jobId, Throwable error) {
@@ -7,6 +7,7 @@ import static org.sagebionetworks.repo.model.jdo.AuthorizationSqlUtil.PRINCIPAL_
 import static org.sagebionetworks.repo.model.jdo.AuthorizationSqlUtil.RESOURCE_ID_BIND_VAR;
 import static org.sagebionetworks.repo.model.jdo.AuthorizationSqlUtil.RESOURCE_TYPE_BIND_VAR;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_ETAG;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_OWNER_ID;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_OWNER_TYPE;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_NODE_ID;
@@ -213,6 +214,11 @@ public class DBOAccessControlListDaoImpl implements AccessControlListDAO {
 			+ COL_ACL_OWNER_TYPE + " = :" + COL_ACL_OWNER_TYPE + " ORDER BY "
 			+ COL_ACL_OWNER_ID;
 
+	private static final String SQL_SELECT_ACL_CHECKSUM = "SELECT CONCAT(COALESCE(SUM(CRC32(CONCAT(" + COL_ACL_OWNER_ID + ", '@', "
+			+ COL_ACL_ETAG + "))), 0), '%', BIT_XOR(CRC32(CONCAT(" + COL_ACL_OWNER_ID + ", '@', " + COL_ACL_ETAG + ")))) FROM "
+			+ TABLE_ACCESS_CONTROL_LIST + " WHERE " + COL_ACL_OWNER_ID + " IN (:" + IDS_PARAM_NAME + ") AND "
+			+ COL_ACL_OWNER_TYPE + " = :" + COL_ACL_OWNER_TYPE;
+
 	private static final String SQL_DELETE_ACLS_BY_IDS = "DELETE FROM "
 			+ TABLE_ACCESS_CONTROL_LIST + " WHERE " + COL_ACL_OWNER_ID
 			+ " IN (:" + IDS_PARAM_NAME + ")" + " AND " + COL_ACL_OWNER_TYPE
@@ -573,6 +579,19 @@ public class DBOAccessControlListDaoImpl implements AccessControlListDAO {
 		return new HashSet<Long>(result);
 	}
 
+	@Override
+	public String getAclChecksum(Set<Long> ownerIds, ObjectType ownerType) {
+		ValidateArgument.required(ownerIds, "ownerIds");
+		ValidateArgument.required(ownerType, "ownerType");
+		if (ownerIds.isEmpty()) {
+			return "0%0";
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		params.addValue(IDS_PARAM_NAME, ownerIds);
+		params.addValue(COL_ACL_OWNER_TYPE, ownerType.name());
+		return namedParameterJdbcTemplate.queryForObject(SQL_SELECT_ACL_CHECKSUM, params, String.class);
+	}
+
 	@Override
 	public Set<String> getPrincipalIds(String objectId, ObjectType objectType,
 			ACCESS_TYPE accessType) {
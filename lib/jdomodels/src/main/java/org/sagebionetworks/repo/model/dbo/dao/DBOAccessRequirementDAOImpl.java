@@ -67,6 +67,7 @@ import org.sagebionetworks.repo.model.RestrictableObjectDescriptor;
 import org.sagebionetworks.repo.model.RestrictableObjectType;
 import org.sagebionetworks.repo.model.SelfSignAccessRequirement;
 import org.sagebionetworks.repo.model.TermsOfUseAccessRequirement;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
 import org.sagebionetworks.repo.model.dataaccess.AccessRequirementSearchSort;
 import org.sagebionetworks.repo.model.dataaccess.BindingType;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
@@ -100,15 +101,18 @@ public class DBOAccessRequirementDAOImpl implements AccessRequirementDAO {
 	private IdGenerator idGenerator;
 	private NamedParameterJdbcTemplate namedJdbcTemplate;
 	private JdbcTemplate jdbcTemplate;
+	private EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
 
 	@Autowired
 	public DBOAccessRequirementDAOImpl(DBOBasicDao basicDao, IdGenerator idGenerator,
-			NamedParameterJdbcTemplate namedJdbcTemplate, JdbcTemplate jdbcTemplate) {
+			NamedParameterJdbcTemplate namedJdbcTemplate, JdbcTemplate jdbcTemplate,
+			EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao) {
 		super();
 		this.basicDao = basicDao;
 		this.idGenerator = idGenerator;
 		this.namedJdbcTemplate = namedJdbcTemplate;
 		this.jdbcTemplate = jdbcTemplate;
+		this.entityEffectiveAccessRequirementDao = entityEffectiveAccessRequirementDao;
 	}
 
 	private static final String UPDATE_ACCESS_REQUIREMENT_SQL = "UPDATE " + TABLE_ACCESS_REQUIREMENT + " SET "
@@ -233,6 +237,7 @@ public class DBOAccessRequirementDAOImpl implements AccessRequirementDAO {
 		}
 		basicDao.createNew(dboRevision);
 		populateSubjectAccessRequirement(dbo.getId(), dto.getSubjectIds());
+		entityEffectiveAccessRequirementDao.markRequirementSubjectsChanged(dbo.getId());
 		return (T) get(dbo.getId().toString());
 	}
 
@@ -373,8 +378,11 @@ public class DBOAccessRequirementDAOImpl implements AccessRequirementDAO {
 		// Create the new revision.
 		basicDao.createNew(revision);
 
+		// Both the old and the new entity subjects need their effective requirements rebuilt.
+		entityEffectiveAccessRequirementDao.markRequirementSubjectsChanged(dto.getId());
 		clearSubjectAccessRequirement(dto.getId());
 		populateSubjectAccessRequirement(dto.getId(), dto.getSubjectIds());
+		entityEffectiveAccessRequirementDao.markRequirementSubjectsChanged(dto.getId());
 
 		return (T) get(dto.getId().toString());
 	}
@@ -660,6 +668,7 @@ public class DBOAccessRequirementDAOImpl implements AccessRequirementDAO {
 
 			// needed to ensure that this change migrates.
 			updateAccessRequirmentEtags(arIds);
+			markEntitySubjectChanged(subject, subjectId);
 		} catch (DuplicateKeyException e) {
 			throw new IllegalArgumentException(
 					"One or more access requirement is already dynamically bound to this subject.", e);
@@ -703,6 +712,13 @@ public class DBOAccessRequirementDAOImpl implements AccessRequirementDAO {
 				});
 		// needed to ensure that this change migrates.
 		updateAccessRequirmentEtags(arIds);
+		markEntitySubjectChanged(subject, subjectId);
+	}
+
+	private void markEntitySubjectChanged(RestrictableObjectDescriptor subject, Long subjectId) {
+		if (RestrictableObjectType.ENTITY.equals(subject.getType())) {
+			entityEffectiveAccessRequirementDao.markSubtreeChanged(subjectId);
+		}
 	}
 
 	private void updateAccessRequirmentEtags(List<Long> arIds) {
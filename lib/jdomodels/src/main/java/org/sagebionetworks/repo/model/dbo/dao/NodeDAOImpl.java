@@ -66,6 +66,7 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -98,6 +99,7 @@ import org.sagebionetworks.repo.model.Reference;
 import org.sagebionetworks.repo.model.VersionInfo;
 import org.sagebionetworks.repo.model.annotation.v2.Annotations;
 import org.sagebionetworks.repo.model.annotation.v2.AnnotationsV2Utils;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
 import org.sagebionetworks.repo.model.dao.FileHandleMetadataType;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
 import org.sagebionetworks.repo.model.dbo.DDLUtilsImpl;
@@ -175,6 +177,8 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 	
 	public static final String SQL_GET_ALL_CONTAINER_IDS = DDLUtilsImpl
 			.loadSQLFromClasspath("sql/GetAllContainerIds.sql");
+	public static final String SQL_GET_CONTAINER_IDS_PAGE = DDLUtilsImpl
+			.loadSQLFromClasspath("sql/GetContainerIdsPage.sql");
 	
 	private static final String SQL_CREATE_SNAPSHOT_VERSION = "UPDATE " + TABLE_REVISION + " SET "
 			+ COL_REVISION_COMMENT + " = ?, " + COL_REVISION_LABEL + " = ?, " + COL_REVISION_ACTIVITY_ID + " = ?, "
@@ -209,6 +213,7 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 	private static final String BIND_NODE_TYPES = "bNodeTypes";
 	private static final String BIND_LIMIT = "bLimit";
 	private static final String BIND_OFFSET = "bOffset";
+	private static final String BIND_AFTER_ID = "bAfterId";
 	
 
 	private static final String SQL_SELECT_CHILD = "SELECT "+COL_NODE_ID
@@ -331,6 +336,9 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 			+ " N, " + TABLE_REVISION + " R WHERE N." + COL_NODE_ID + "= R." + COL_REVISION_OWNER_NODE + " AND N."
 			+ COL_NODE_CURRENT_REV + " = R." + COL_REVISION_NUMBER + " AND N." + COL_NODE_ID + "= ?";
 	
+	private static final String SQL_SELECT_CURRENT_NODES = SQL_SELECT_WITHOUT_ANNOTATIONS + " FROM " + JOIN_NODE_REVISION
+			+ " WHERE N." + COL_NODE_ID + " IN (:" + BIND_NODE_IDS + ")";
+	
 	private static final String SQL_SELECT_NODE_VERSION = SQL_SELECT_WITHOUT_ANNOTATIONS + " FROM " + TABLE_NODE
 			+ " N, " + TABLE_REVISION + " R WHERE N." + COL_NODE_ID + "= R." + COL_REVISION_OWNER_NODE + " AND R."
 			+ COL_REVISION_NUMBER + " = ? AND N." + COL_NODE_ID + "= ?";
@@ -362,12 +370,14 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 
 	private static final String SELECT_ANNOTATIONS_ONLY_FROM_AND_WHERE_CLAUSE_PREFIX = " FROM  "+TABLE_NODE+" N, "+TABLE_REVISION+" R WHERE N."+COL_NODE_ID+" = :"+COL_NODE_ID +" AND R."+COL_REVISION_OWNER_NODE+" = N."+COL_NODE_ID+" AND R."+COL_REVISION_NUMBER + "=";
 	private static final String SELECT_USER_ANNOTATIONS_ONLY_PREFIX = "SELECT N."+COL_NODE_ID+", N."+COL_NODE_ETAG+", R."+COL_REVISION_USER_ANNOS_JSON+" FROM  "+TABLE_NODE+" N, "+TABLE_REVISION+" R WHERE N."+COL_NODE_ID+" = ? AND R."+COL_REVISION_OWNER_NODE+" = N."+COL_NODE_ID+" AND R."+COL_REVISION_NUMBER + " = ";
+	private static final String SQL_SELECT_CURRENT_USER_ANNOTATIONS = "SELECT N."+COL_NODE_ID+", N."+COL_NODE_ETAG+", R."+COL_REVISION_USER_ANNOS_JSON+" FROM "+JOIN_NODE_REVISION+" WHERE N."+COL_NODE_ID+" IN (:"+BIND_NODE_IDS+")";
 	private static final String CANNOT_FIND_A_NODE_WITH_ID = "Cannot find a node with id: ";
 	private static final String CANNOT_FIND_A_NODE_WITH_ID_AND_VERSION = "Cannot find a node with id %s and version %d";
 	private static final String GET_CURRENT_REV_NUMBER_SQL = "SELECT "+COL_NODE_CURRENT_REV+" FROM "+TABLE_NODE+" WHERE "+COL_NODE_ID+" = ?";
 	private static final String GET_NODE_TYPE_SQL = "SELECT "+COL_NODE_TYPE+" FROM "+TABLE_NODE+" WHERE "+COL_NODE_ID+" = ?";
 	private static final String GET_REV_ACTIVITY_ID_SQL = "SELECT "+COL_REVISION_ACTIVITY_ID+" FROM "+TABLE_REVISION+" WHERE "+COL_REVISION_OWNER_NODE+" = ? AND "+ COL_REVISION_NUMBER +" = ?";
 	private static final String GET_NODE_CREATED_BY_SQL = "SELECT "+COL_NODE_CREATED_BY+" FROM "+TABLE_NODE+" WHERE "+COL_NODE_ID+" = ?";
+	private static final String GET_NODE_PARENT_ID_SQL = "SELECT "+COL_NODE_PARENT_ID+" FROM "+TABLE_NODE+" WHERE "+COL_NODE_ID+" = ?";
 	private static final String SQL_SELECT_PARENT_TYPE_NAME = "SELECT "+COL_NODE_ID+", "+COL_NODE_PARENT_ID+", "+COL_NODE_TYPE+", "+COL_NODE_NAME+" FROM "+TABLE_NODE+" WHERE "+COL_NODE_ID+" = ?";
 	private static final String SQL_GET_ALL_CHILDREN_IDS = "SELECT "+COL_NODE_ID+" FROM "+TABLE_NODE+" WHERE "+COL_NODE_PARENT_ID+" = ? ORDER BY "+COL_NODE_ID;
 	private static final String NODE_IDS_LIST_PARAM_NAME = "NODE_IDS";
@@ -510,6 +520,9 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 
 	@Autowired
 	private DBOBasicDao dboBasicDao;
+
+	@Autowired
+	private EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
 	
 	private final Long ROOT_NODE_ID = Long.parseLong(StackConfigurationSingleton.singleton().getRootFolderEntityId());
 	
@@ -517,6 +530,17 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 	private static final String SQL_ETAG_WITHOUT_LOCK = "SELECT "+COL_NODE_ETAG+" FROM "+TABLE_NODE+" WHERE ID = ?";
 	private static final String SQL_ETAG_FOR_UPDATE = SQL_ETAG_WITHOUT_LOCK+" FOR UPDATE";
 	
+	private static final String SQL_SELECT_PARENT_ID_FOR_UPDATE = "SELECT " + COL_NODE_PARENT_ID + " FROM " + TABLE_NODE + " WHERE " + COL_NODE_ID + " = ? FOR UPDATE";
+	
+	private static final String SQL_SUB_TREE_NODES = "WITH RECURSIVE NODES (ID, DISTANCE) AS ("
+			+ " SELECT " + COL_NODE_ID + ", 1 FROM " + TABLE_NODE
+			+ " WHERE " + COL_NODE_PARENT_ID + " = ?"
+			+ " UNION"
+			+ " SELECT N." + COL_NODE_ID + ", C.DISTANCE + 1"
+			+ " FROM NODES AS C JOIN " + TABLE_NODE + " AS N ON C." + COL_NODE_ID + " = N." + COL_NODE_PARENT_ID
+			+ " AND C.DISTANCE < " + NodeConstants.MAX_PATH_DEPTH_PLUS_ONE
+			+ ")";
+	
 	private static final String SQL_GET_ALL_VERSION_NUMBERS = "SELECT "+COL_REVISION_NUMBER+" FROM "+TABLE_REVISION+" WHERE "+COL_REVISION_OWNER_NODE +" = ? ORDER BY "+COL_REVISION_NUMBER+" DESC";
 
 	private static final String SQL_GET_LATEST_VERSION_NUMBER = "SELECT MAX("+COL_REVISION_NUMBER+") FROM "+TABLE_REVISION+" WHERE "+COL_REVISION_OWNER_NODE +" = ?";
@@ -606,7 +630,11 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 		} catch(IllegalArgumentException e){
 			checkExceptionDetails(dboNode.getName(), dboNode.getAlias(), KeyFactory.keyToString(dboNode.getParentId()), e);
 		}
-		dboBasicDao.createNew(dboRevision);		
+		dboBasicDao.createNew(dboRevision);
+		// A new node starts with the effective access requirements of its parent.
+		if (dboNode.getParentId() != null) {
+			entityEffectiveAccessRequirementDao.addInheritedRequirements(dboNode.getId(), dboNode.getParentId());
+		}
 		return getNode("" + dboNode.getId());
 	}
 
@@ -722,18 +750,42 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 		return deleted;
 	}
 	
+	@NewWriteTransaction
+	@Override
+	public List<Long> deleteTreeBatch(String id, int batchSize) {
+		ValidateArgument.required(id, "Id of the node");
+		ValidateArgument.requirement(batchSize > 0, "The batchSize must be greater than 0");
+		
+		Long longId = KeyFactory.stringToKey(id);
+		
+		// Locks the root so that it cannot be restored while the batch is deleted
+		List<Long> parentId = jdbcTemplate.queryForList(SQL_SELECT_PARENT_ID_FOR_UPDATE, Long.class, longId);
+		
+		if (parentId.isEmpty() || !TRASH_FOLDER_ID.equals(parentId.get(0))) {
+			throw new NotFoundException("The node " + id + " is not in the trash can.");
+		}
+		
+		List<Long> nodes = new ArrayList<>(getSubTreeNodeIdsOrderByDistanceDesc(longId, batchSize));
+		
+		if (nodes.size() < batchSize) {
+			nodes.add(longId);
+		}
+		
+		deleteBatch(nodes);
+		
+		nodes.forEach(nodeId -> transactionalMessenger.sendDeleteMessageAfterCommit(KeyFactory.keyToString(nodeId), ObjectType.ENTITY));
+		
+		return nodes;
+	}
+	
 	@Override
 	public List<Long> getSubTreeNodeIdsOrderByDistanceDesc(Long parentId, int limit) {
-		return jdbcTemplate.queryForList(
-				"WITH RECURSIVE NODES (ID, DISTANCE) AS (" 
-						+ " SELECT " + COL_NODE_ID + ", 1 FROM " + TABLE_NODE 
-						+ " WHERE " + COL_NODE_PARENT_ID + " = ?" 
-						+ " UNION" 
-						+ " SELECT N." + COL_NODE_ID + ", C.DISTANCE + 1" 
-						+ " FROM NODES AS C JOIN " + TABLE_NODE + " AS N ON C." + COL_NODE_ID + " = N." + COL_NODE_PARENT_ID
-						+ " AND C.DISTANCE < " + NodeConstants.MAX_PATH_DEPTH_PLUS_ONE
-				+ ")"
-				+ " SELECT ID FROM NODES ORDER BY DISTANCE DESC LIMIT ?", Long.class, parentId, limit);
+		return jdbcTemplate.queryForList(SQL_SUB_TREE_NODES + " SELECT ID FROM NODES ORDER BY DISTANCE DESC LIMIT ?", Long.class, parentId, limit);
+	}
+	
+	@Override
+	public long getSubTreeNodeCount(Long parentId) {
+		return jdbcTemplate.queryForObject(SQL_SUB_TREE_NODES + " SELECT COUNT(*) FROM NODES", Long.class, parentId);
 	}
 	
 	private void deleteBatch(List<Long> ids) {
@@ -965,6 +1017,7 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 		String newName = updatedNode.getName();
 		Long newParentId = NodeUtils.translateNodeId(updatedNode.getParentId());
 		String newAlias = NodeUtils.translateAlias(updatedNode.getAlias());
+		List<Long> oldParentIds = jdbcTemplate.queryForList(GET_NODE_PARENT_ID_SQL, Long.class, nodeId);
 
 		// Update the node.
 		try {
@@ -974,6 +1027,10 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 			checkExceptionDetails(updatedNode.getName(), updatedNode.getAlias(), updatedNode.getParentId(),
 					new IllegalArgumentException(e));
 		}
+		// Moving a node changes the access requirements inherited by its entire sub-tree.
+		if (!oldParentIds.isEmpty() && !Objects.equals(oldParentIds.get(0), newParentId)) {
+			entityEffectiveAccessRequirementDao.markSubtreeChanged(nodeId);
+		}
 		// update the revision
 		long currentRevision = getCurrentRevisionNumber(updatedNode.getId());
 		Long newActivity = NodeUtils.translateActivityId(updatedNode.getActivityId());
@@ -1709,6 +1766,17 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 		return getAllContainerIds(Collections.singletonList(id), maxNumberIds);
 	}
 
+	@Override
+	public List<Long> getContainerIdsPage(String parentId, long afterId, long limit) {
+		ValidateArgument.required(parentId, "parentId");
+		ValidateArgument.requirement(limit > 0, "The limit must be greater than 0");
+		Map<String, Object> parameters = new HashMap<String, Object>(3);
+		parameters.put(BIND_PARENT_ID, KeyFactory.stringToKey(parentId));
+		parameters.put(BIND_AFTER_ID, afterId);
+		parameters.put(BIND_LIMIT, limit);
+		return namedParameterJdbcTemplate.queryForList(SQL_GET_CONTAINER_IDS_PAGE, parameters, Long.class);
+	}
+
 	@Override
 	public String getNodeIdByAlias(String alias) {
 		ValidateArgument.required(alias, "alias");
@@ -2082,6 +2150,50 @@ public class NodeDAOImpl implements NodeDAO, InitializingBean {
 		return results;
 	}
 
+	@Override
+	public List<Node> getNodes(List<Long> nodeIds) {
+		ValidateArgument.required(nodeIds, "nodeIds");
+		if(nodeIds.isEmpty()){
+			return Collections.emptyList();
+		}
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		parameters.put(BIND_NODE_IDS , nodeIds);
+		return namedParameterJdbcTemplate.query(SQL_SELECT_CURRENT_NODES, parameters, NODE_MAPPER);
+	}
+	
+	@Override
+	public Map<Long, Annotations> getUserAnnotationsForCurrentVersions(List<Long> nodeIds) {
+		ValidateArgument.required(nodeIds, "nodeIds");
+		final Map<Long, Annotations> results = new HashMap<Long, Annotations>(nodeIds.size());
+		if(nodeIds.isEmpty()){
+			return results;
+		}
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		parameters.put(BIND_NODE_IDS , nodeIds);
+		namedParameterJdbcTemplate.query(SQL_SELECT_CURRENT_USER_ANNOTATIONS, parameters, (ResultSet rs) -> {
+			Annotations userAnnotations = ANNOTATIONS_V2_ROW_MAPPER.mapRow(rs, 0);
+			// Remove the eTags (See PLFM-1420)
+			userAnnotations.setEtag(NodeConstants.ZERO_E_TAG);
+			results.put(rs.getLong(COL_NODE_ID), userAnnotations);
+		});
+		return results;
+	}
+	
+	@Override
+	public Map<Long, Long> getBenefactors(List<Long> nodeIds) {
+		ValidateArgument.required(nodeIds, "nodeIds");
+		final Map<Long, Long> results = new HashMap<Long, Long>(nodeIds.size());
+		if(nodeIds.isEmpty()){
+			return results;
+		}
+		Map<String, Object> parameters = new HashMap<String, Object>();
+		parameters.put(BIND_NODE_IDS , nodeIds);
+		namedParameterJdbcTemplate.query(SQL_SELECT_BENEFACTORS, parameters, (ResultSet rs) -> {
+			results.put(rs.getLong(COL_NODE_ID), rs.getLong(BENEFACTOR_ALIAS));
+		});
+		return results;
+	}
+
 	@WriteTransaction
 	@Override
 	public String touch(Long userId, String nodeIdString) {
@@ -36,10 +36,14 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
@@ -212,6 +216,21 @@ public class DBODiscussionThreadDAOImpl implements DiscussionThreadDAO {
 	private static final String ORDER_BY_THREAD_TITLE = " ORDER BY LOWER(CONVERT ("+COL_DISCUSSION_THREAD_TITLE+" USING UTF8))";
 	private static final String DESC = " DESC ";
 
+	// for keyset pagination, each sort key is followed by the thread ID to break ties.
+	public static final String SQL_SELECT_THREAD_PAGE_BY_FORUM_ID = SELECT_THREAD_BUNDLE
+			+" WHERE "+COL_DISCUSSION_THREAD_FORUM_ID+" = :id";
+	private static final String THREAD_ID_KEY = TABLE_DISCUSSION_THREAD+"."+COL_DISCUSSION_THREAD_ID;
+	private static final String PINNED_KEY = TABLE_DISCUSSION_THREAD+"."+COL_DISCUSSION_THREAD_IS_PINNED;
+	private static final String LAST_ACTIVITY_KEY = "IFNULL("+TABLE_DISCUSSION_THREAD_STATS+"."+COL_DISCUSSION_THREAD_STATS_LAST_ACTIVITY
+			+", "+TABLE_DISCUSSION_THREAD+"."+COL_DISCUSSION_THREAD_MODIFIED_ON+")";
+	private static final String NUMBER_OF_VIEWS_KEY = "IFNULL("+TABLE_DISCUSSION_THREAD_STATS+"."+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+", 0)";
+	private static final String NUMBER_OF_REPLIES_KEY = "IFNULL("+TABLE_DISCUSSION_THREAD_STATS+"."+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_REPLIES+", 0)";
+	private static final String THREAD_TITLE_KEY = "LOWER(CONVERT("+TABLE_DISCUSSION_THREAD+"."+COL_DISCUSSION_THREAD_TITLE+" USING UTF8))";
+	private static final String AFTER_ID = "afterId";
+	private static final String AFTER_PINNED = "afterPinned";
+	private static final String AFTER_KEY = "afterKey";
+	private static final String LIMIT = "limit";
+
 	// for entity references
 	private static final String ENTITY_IDS = "entityIds";
 	private static final String ID = "id";
@@ -282,6 +301,18 @@ public class DBODiscussionThreadDAOImpl implements DiscussionThreadDAO {
 			+COL_DISCUSSION_THREAD_VIEW_THREAD_ID+","
 			+COL_DISCUSSION_THREAD_VIEW_USER_ID
 			+") VALUES (?,?)";
+	/*
+	 * The views of a thread are inserted with one multi-row statement so its
+	 * update count is the number of new views. The update counts of a JDBC batch
+	 * cannot be used since the driver rewrites the batch and reports
+	 * SUCCESS_NO_INFO for each row.
+	 */
+	private static final String SQL_INSERT_THREAD_VIEWS_PREFIX = "INSERT IGNORE INTO "
+			+TABLE_DISCUSSION_THREAD_VIEW+" ("
+			+COL_DISCUSSION_THREAD_VIEW_THREAD_ID+","
+			+COL_DISCUSSION_THREAD_VIEW_USER_ID
+			+") VALUES ";
+	static final int MAX_VIEWS_PER_INSERT = 1000;
 	private static final String SQL_SELECT_THREAD_VIEW_COUNT = "SELECT COUNT(*)"
 			+" FROM "+TABLE_DISCUSSION_THREAD_VIEW
 			+" WHERE "+COL_DISCUSSION_THREAD_VIEW_THREAD_ID+" = ?";
@@ -293,10 +324,28 @@ public class DBODiscussionThreadDAOImpl implements DiscussionThreadDAO {
 			+COL_DISCUSSION_THREAD_STATS_ACTIVE_AUTHORS+", "
 			+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_REPLIES+", "
 			+COL_DISCUSSION_THREAD_STATS_LAST_ACTIVITY+" ) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
-			+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+" = ?, "
+			// the number of views is maintained by addThreadViews() when it is not provided.
+			+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+" = IFNULL(?, "+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+"), "
 			+COL_DISCUSSION_THREAD_STATS_ACTIVE_AUTHORS+" = ?, "
 			+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_REPLIES+" = ?, "
 			+COL_DISCUSSION_THREAD_STATS_LAST_ACTIVITY+" = ? ";
+
+	/*
+	 * Adds the number of new views to the stats of an existing thread. When the
+	 * thread has no stats yet, or its number of views was never set, the views are
+	 * counted instead.
+	 */
+	private static final String SQL_ADD_THREAD_VIEW_STATS = "INSERT INTO "
+			+TABLE_DISCUSSION_THREAD_STATS+" ("
+			+COL_DISCUSSION_THREAD_STATS_THREAD_ID+", "
+			+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+")"
+			+" SELECT T."+COL_DISCUSSION_THREAD_ID+", (SELECT COUNT(*) FROM "+TABLE_DISCUSSION_THREAD_VIEW+" V"
+			+" WHERE V."+COL_DISCUSSION_THREAD_VIEW_THREAD_ID+" = T."+COL_DISCUSSION_THREAD_ID+")"
+			+" FROM "+TABLE_DISCUSSION_THREAD+" T WHERE T."+COL_DISCUSSION_THREAD_ID+" = ?"
+			+" ON DUPLICATE KEY UPDATE "+TABLE_DISCUSSION_THREAD_STATS+"."+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+" = IF("
+			+TABLE_DISCUSSION_THREAD_STATS+"."+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+" IS NULL, VALUES("+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+"), "
+			+TABLE_DISCUSSION_THREAD_STATS+"."+COL_DISCUSSION_THREAD_STATS_NUMBER_OF_VIEWS+" + ?)";
+
 	public static final DiscussionFilter DEFAULT_FILTER = DiscussionFilter.NO_FILTER;
 
 	@WriteTransaction
@@ -369,6 +418,86 @@ public class DBODiscussionThreadDAOImpl implements DiscussionThreadDAO {
 		return query;
 	}
 
+	@Override
+	public List<DiscussionThreadBundle> getThreadPageForForum(long forumId, DiscussionThreadOrder order,
+			boolean ascending, DiscussionFilter filter, DiscussionThreadPageToken after, long limit) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource(ID, forumId);
+		String query = buildPageQuery(SQL_SELECT_THREAD_PAGE_BY_FORUM_ID, order, ascending, filter, after, limit, parameters);
+		return namedTemplate.query(query, parameters, DISCUSSION_THREAD_BUNDLE_ROW_MAPPER);
+	}
+
+	/**
+	 * Build a keyset query that returns the threads that follow the given position
+	 * in the given order. The query and its parameters are only ever derived from
+	 * the sort key and the thread ID, so the same position always leads to the same
+	 * next page, unlike an offset that shifts when threads are added or move.
+	 * 
+	 * @param query
+	 * @param order
+	 * @param ascending
+	 * @param filter
+	 * @param after      The position of the last thread of the previous page,
+	 *                   null for the first page.
+	 * @param limit
+	 * @param parameters The parameters of the keyset are added to this source.
+	 * @return
+	 */
+	protected static String buildPageQuery(String query, DiscussionThreadOrder order, boolean ascending,
+			DiscussionFilter filter, DiscussionThreadPageToken after, long limit, MapSqlParameterSource parameters) {
+		ValidateArgument.required(order, "order");
+		ValidateArgument.required(filter, "filter");
+		ValidateArgument.requirement(limit >= 0, "limit must not be negative");
+		String sortKey;
+		String afterKey = ":"+AFTER_KEY;
+		Object afterValue = null;
+		switch (order) {
+			case NUMBER_OF_REPLIES:
+				sortKey = NUMBER_OF_REPLIES_KEY;
+				afterValue = after == null ? null : after.getCount();
+				break;
+			case NUMBER_OF_VIEWS:
+				sortKey = NUMBER_OF_VIEWS_KEY;
+				afterValue = after == null ? null : after.getCount();
+				break;
+			case PINNED_AND_LAST_ACTIVITY:
+				sortKey = LAST_ACTIVITY_KEY;
+				afterValue = after == null ? null : new Timestamp(after.getLastActivity());
+				break;
+			case THREAD_TITLE:
+				sortKey = THREAD_TITLE_KEY;
+				afterKey = "LOWER(CONVERT(:"+AFTER_KEY+" USING UTF8))";
+				afterValue = after == null ? null : after.getTitle();
+				break;
+			default:
+				throw new IllegalArgumentException("Unsupported order "+order);
+		}
+		String direction = ascending ? " ASC" : " DESC";
+		String comparison = ascending ? " > " : " < ";
+		StringBuilder builder = new StringBuilder(addCondition(query, filter));
+		if (after != null) {
+			after.validateSort(order, ascending);
+			parameters.addValue(AFTER_KEY, afterValue);
+			parameters.addValue(AFTER_ID, after.getThreadId());
+			String seek = "("+sortKey+comparison+afterKey
+					+" OR ("+sortKey+" = "+afterKey+" AND "+THREAD_ID_KEY+comparison+":"+AFTER_ID+"))";
+			if (order == DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY) {
+				// pinned threads always come first.
+				parameters.addValue(AFTER_PINNED, after.isPinned());
+				seek = "("+PINNED_KEY+" < :"+AFTER_PINNED
+						+" OR ("+PINNED_KEY+" = :"+AFTER_PINNED+" AND "+seek+"))";
+			}
+			builder.append(" AND ").append(seek);
+		}
+		builder.append(" ORDER BY ");
+		if (order == DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY) {
+			builder.append(PINNED_KEY).append(" DESC, ");
+		}
+		builder.append(sortKey).append(direction).append(", ").append(THREAD_ID_KEY).append(direction);
+		builder.append(" LIMIT :").append(LIMIT);
+		parameters.addValue(LIMIT, limit);
+		return builder.toString();
+	}
+
 	/**
 	 * Add condition part to the input query based on the filter.
 	 * 
@@ -442,6 +571,52 @@ public class DBODiscussionThreadDAOImpl implements DiscussionThreadDAO {
 		return jdbcTemplate.queryForObject(addCondition(SQL_SELECT_THREAD_COUNT_FOR_FORUM, filter), Long.class, forumId);
 	}
 
+	@WriteTransaction
+	@Override
+	public void addThreadViews(Map<Long, Set<Long>> threadIdToUserIds) {
+		ValidateArgument.required(threadIdToUserIds, "threadIdToUserIds");
+		// Rows are written in (thread, user) order to keep the lock order consistent between concurrent calls.
+		Map<Long, Long> threadIdToNewViews = new TreeMap<Long, Long>();
+		new TreeMap<Long, Set<Long>>(threadIdToUserIds).forEach((threadId, userIds) -> {
+			List<Long> sortedUserIds = new ArrayList<Long>(new TreeSet<Long>(userIds));
+			long newViews = 0;
+			for (int start = 0; start < sortedUserIds.size(); start += MAX_VIEWS_PER_INSERT) {
+				newViews += insertThreadViews(threadId,
+						sortedUserIds.subList(start, Math.min(start + MAX_VIEWS_PER_INSERT, sortedUserIds.size())));
+			}
+			// Views that already existed are ignored, only the new ones are added to the stats.
+			if (newViews > 0) {
+				threadIdToNewViews.put(threadId, newViews);
+			}
+		});
+		if (threadIdToNewViews.isEmpty()) {
+			return;
+		}
+		List<Object[]> statsArgs = new ArrayList<Object[]>(threadIdToNewViews.size());
+		List<Object[]> etagArgs = new ArrayList<Object[]>(threadIdToNewViews.size());
+		threadIdToNewViews.forEach((threadId, newViews) -> {
+			statsArgs.add(new Object[] { threadId, newViews });
+			etagArgs.add(new Object[] { UUID.randomUUID().toString(), threadId });
+		});
+		jdbcTemplate.batchUpdate(SQL_ADD_THREAD_VIEW_STATS, statsArgs);
+		jdbcTemplate.batchUpdate(SQL_UPDATE_THREAD_ETAG, etagArgs);
+	}
+
+	/**
+	 * @param threadId
+	 * @param userIds
+	 * @return The number of views that did not already exist.
+	 */
+	private int insertThreadViews(Long threadId, List<Long> userIds) {
+		String sql = SQL_INSERT_THREAD_VIEWS_PREFIX + String.join(",", Collections.nCopies(userIds.size(), "(?,?)"));
+		Object[] args = new Object[userIds.size() * 2];
+		for (int i = 0; i < userIds.size(); i++) {
+			args[i * 2] = threadId;
+			args[i * 2 + 1] = userIds.get(i);
+		}
+		return jdbcTemplate.update(sql, args);
+	}
+
 	@Override
 	public long countThreadView(long threadId) {
 		return jdbcTemplate.queryForObject(SQL_SELECT_THREAD_VIEW_COUNT, Long.class, threadId);
@@ -546,6 +721,20 @@ public class DBODiscussionThreadDAOImpl implements DiscussionThreadDAO {
 		return namedTemplate.query(query, parameters, DISCUSSION_THREAD_BUNDLE_ROW_MAPPER);
 	}
 
+	@Override
+	public List<DiscussionThreadBundle> getThreadPageForEntity(long entityId, DiscussionThreadOrder order,
+			boolean ascending, DiscussionFilter filter, Set<Long> projectIds, DiscussionThreadPageToken after,
+			long limit) {
+		ValidateArgument.required(projectIds, "projectIds");
+		if (projectIds.isEmpty()) {
+			return new ArrayList<DiscussionThreadBundle>();
+		}
+		MapSqlParameterSource parameters = new MapSqlParameterSource(ID, entityId);
+		parameters.addValue(PROJECT_IDS, projectIds);
+		String query = buildPageQuery(SQL_SELECT_THREADS_BY_ENTITY_ID, order, ascending, filter, after, limit, parameters);
+		return namedTemplate.query(query, parameters, DISCUSSION_THREAD_BUNDLE_ROW_MAPPER);
+	}
+
 
 	@WriteTransaction
 	@Override
@@ -1,6 +1,7 @@
 package org.sagebionetworks.repo.model.dbo.dao.discussion;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.sagebionetworks.repo.model.discussion.DiscussionFilter;
@@ -59,6 +60,23 @@ public interface DiscussionThreadDAO {
 			Long limit, Long offset, DiscussionThreadOrder order, Boolean ascending,
 			DiscussionFilter filter);
 
+	/**
+	 * Get a page of discussion threads for a forum, starting after the position
+	 * recorded in the given token. Threads with the same sort key are ordered by
+	 * their ID so that each thread appears on exactly one page.
+	 * 
+	 * @param forumId
+	 * @param order
+	 * @param ascending
+	 * @param filter
+	 * @param after     The position of the last thread of the previous page, null
+	 *                  for the first page.
+	 * @param limit
+	 * @return
+	 */
+	public List<DiscussionThreadBundle> getThreadPageForForum(long forumId, DiscussionThreadOrder order,
+			boolean ascending, DiscussionFilter filter, DiscussionThreadPageToken after, long limit);
+
 	/**
 	 * Mark a discussion thread as deleted
 	 * 
@@ -90,6 +108,14 @@ public interface DiscussionThreadDAO {
 	 */
 	public void updateThreadView(long threadId, long userId);
 
+	/**
+	 * Insert ignore a batch of records into the THREAD_VIEW table and add the
+	 * number of new views of each thread to its stats.
+	 * 
+	 * @param threadIdToUserIds The IDs of the users that viewed each thread.
+	 */
+	public void addThreadViews(Map<Long, Set<Long>> threadIdToUserIds);
+
 	/**
 	 * count the number of users who viewed this thread
 	 * 
@@ -167,6 +193,24 @@ public interface DiscussionThreadDAO {
 			Long limit, Long offset, DiscussionThreadOrder order, Boolean ascending,
 			DiscussionFilter filter, Set<Long> projectIds);
 
+	/**
+	 * Get a page of the threads that are in the given projectIds and referenced
+	 * the given entityId, starting after the position recorded in the given token.
+	 * 
+	 * @param entityId
+	 * @param order
+	 * @param ascending
+	 * @param filter
+	 * @param projectIds
+	 * @param after      The position of the last thread of the previous page,
+	 *                   null for the first page.
+	 * @param limit
+	 * @return
+	 */
+	public List<DiscussionThreadBundle> getThreadPageForEntity(long entityId, DiscussionThreadOrder order,
+			boolean ascending, DiscussionFilter filter, Set<Long> projectIds, DiscussionThreadPageToken after,
+			long limit);
+
 	/**
 	 * Insert a batch of references from a thread to an entity
 	 * 
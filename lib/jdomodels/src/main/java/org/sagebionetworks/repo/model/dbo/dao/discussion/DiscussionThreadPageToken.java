@@ -0,0 +1,254 @@
+package org.sagebionetworks.repo.model.dbo.dao.discussion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * Immutable position of the last thread of a page, used to fetch the following
+ * page with a keyset (seek) query rather than an offset. The position is the
+ * value of the sort key of the last thread followed by its ID, which breaks
+ * ties between threads with the same sort key.
+ * <p>
+ * The string representation is opaque to clients. It also records the order
+ * and direction of the page so that a token cannot be used with a different
+ * sort.
+ *
+ */
+public class DiscussionThreadPageToken {
+
+	public static final String DELIMITER = ":";
+
+	private final DiscussionThreadOrder order;
+	private final boolean ascending;
+	private final long threadId;
+	private final boolean isPinned;
+	private final long lastActivity;
+	private final long count;
+	private final String title;
+
+	private DiscussionThreadPageToken(DiscussionThreadOrder order, boolean ascending, long threadId, boolean isPinned,
+			long lastActivity, long count, String title) {
+		this.order = order;
+		this.ascending = ascending;
+		this.threadId = threadId;
+		this.isPinned = isPinned;
+		this.lastActivity = lastActivity;
+		this.count = count;
+		this.title = title;
+	}
+
+	/**
+	 * Create a token positioned after the given thread.
+	 *
+	 * @param order
+	 * @param ascending
+	 * @param last      The last thread of the current page.
+	 * @return
+	 */
+	public static DiscussionThreadPageToken after(DiscussionThreadOrder order, boolean ascending,
+			DiscussionThreadBundle last) {
+		ValidateArgument.required(order, "order");
+		ValidateArgument.required(last, "last");
+		long threadId = Long.parseLong(last.getId());
+		switch (order) {
+		case PINNED_AND_LAST_ACTIVITY:
+			return new DiscussionThreadPageToken(order, ascending, threadId, Boolean.TRUE.equals(last.getIsPinned()),
+					last.getLastActivity().getTime(), 0L, null);
+		case NUMBER_OF_VIEWS:
+			return new DiscussionThreadPageToken(order, ascending, threadId, false, 0L, last.getNumberOfViews(), null);
+		case NUMBER_OF_REPLIES:
+			return new DiscussionThreadPageToken(order, ascending, threadId, false, 0L, last.getNumberOfReplies(), null);
+		case THREAD_TITLE:
+			return new DiscussionThreadPageToken(order, ascending, threadId, false, 0L, 0L, last.getTitle());
+		default:
+			throw new IllegalArgumentException("Unsupported order " + order);
+		}
+	}
+
+	/**
+	 * Parse a token string created with {@link #toToken()}.
+	 *
+	 * @param token
+	 * @return
+	 */
+	public static DiscussionThreadPageToken parse(String token) {
+		ValidateArgument.required(token, "token");
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			// the title is last since it may contain the delimiter.
+			String[] split = decoded.split(DELIMITER, 4);
+			if (split.length != 4) {
+				throw new IllegalArgumentException();
+			}
+			DiscussionThreadOrder order = DiscussionThreadOrder.valueOf(split[0]);
+			boolean ascending = Boolean.parseBoolean(split[1]);
+			long threadId = Long.parseLong(split[2]);
+			String key = split[3];
+			switch (order) {
+			case PINNED_AND_LAST_ACTIVITY:
+				String[] pinnedAndActivity = key.split(DELIMITER);
+				if (pinnedAndActivity.length != 2) {
+					throw new IllegalArgumentException();
+				}
+				return new DiscussionThreadPageToken(order, ascending, threadId,
+						Boolean.parseBoolean(pinnedAndActivity[0]), Long.parseLong(pinnedAndActivity[1]), 0L, null);
+			case NUMBER_OF_VIEWS:
+			case NUMBER_OF_REPLIES:
+				return new DiscussionThreadPageToken(order, ascending, threadId, false, 0L, Long.parseLong(key), null);
+			case THREAD_TITLE:
+				return new DiscussionThreadPageToken(order, ascending, threadId, false, 0L, 0L, key);
+			default:
+				throw new IllegalArgumentException();
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown token format: " + token);
+		}
+	}
+
+	/**
+	 * Create the token string representing this position.
+	 *
+	 * @return
+	 */
+	public String toToken() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(order.name()).append(DELIMITER);
+		builder.append(ascending).append(DELIMITER);
+		builder.append(threadId).append(DELIMITER);
+		switch (order) {
+		case PINNED_AND_LAST_ACTIVITY:
+			builder.append(isPinned).append(DELIMITER).append(lastActivity);
+			break;
+		case NUMBER_OF_VIEWS:
+		case NUMBER_OF_REPLIES:
+			builder.append(count);
+			break;
+		case THREAD_TITLE:
+			builder.append(title);
+			break;
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Check the given results to see if there is a next page. The results are
+	 * expected to be fetched with limit + 1. If there is a next page the last item
+	 * is removed from the list and a token to get the next page is returned.
+	 *
+	 * @param order
+	 * @param ascending
+	 * @param results
+	 * @param limit
+	 * @return
+	 */
+	public static String getNextPageTokenForCurrentResults(DiscussionThreadOrder order, boolean ascending,
+			List<DiscussionThreadBundle> results, long limit) {
+		if (results.size() > limit) {
+			results.remove((int) limit);
+			if (limit > 0) {
+				return after(order, ascending, results.get((int) limit - 1)).toToken();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Validate that this token was created for a page with the given order and
+	 * direction.
+	 *
+	 * @param order
+	 * @param ascending
+	 */
+	public void validateSort(DiscussionThreadOrder order, boolean ascending) {
+		ValidateArgument.requirement(this.order == order && this.ascending == ascending,
+				"The nextPageToken was created for a different sort and cannot be used with this request.");
+	}
+
+	public DiscussionThreadOrder getOrder() {
+		return order;
+	}
+
+	public boolean isAscending() {
+		return ascending;
+	}
+
+	/**
+	 * The ID of the last thread of the previous page.
+	 *
+	 * @return
+	 */
+	public long getThreadId() {
+		return threadId;
+	}
+
+	/**
+	 * Only set for {@link DiscussionThreadOrder#PINNED_AND_LAST_ACTIVITY}.
+	 *
+	 * @return
+	 */
+	public boolean isPinned() {
+		return isPinned;
+	}
+
+	/**
+	 * The last activity in MS, only set for
+	 * {@link DiscussionThreadOrder#PINNED_AND_LAST_ACTIVITY}.
+	 *
+	 * @return
+	 */
+	public long getLastActivity() {
+		return lastActivity;
+	}
+
+	/**
+	 * The number of views or replies, only set for
+	 * {@link DiscussionThreadOrder#NUMBER_OF_VIEWS} and
+	 * {@link DiscussionThreadOrder#NUMBER_OF_REPLIES}.
+	 *
+	 * @return
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Only set for {@link DiscussionThreadOrder#THREAD_TITLE}.
+	 *
+	 * @return
+	 */
+	public String getTitle() {
+		return title;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ascending, count, isPinned, lastActivity, order, threadId, title);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		DiscussionThreadPageToken other = (DiscussionThreadPageToken) obj;
+		return ascending == other.ascending && count == other.count && isPinned == other.isPinned
+				&& lastActivity == other.lastActivity && order == other.order && threadId == other.threadId
+				&& Objects.equals(title, other.title);
+	}
+
+	@Override
+	public String toString() {
+		return "DiscussionThreadPageToken [order=" + order + ", ascending=" + ascending + ", threadId=" + threadId
+				+ ", isPinned=" + isPinned + ", lastActivity=" + lastActivity + ", count=" + count + ", title=" + title
+				+ "]";
+	}
+}
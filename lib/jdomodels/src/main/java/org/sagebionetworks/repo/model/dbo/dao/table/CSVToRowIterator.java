@@ -66,6 +66,29 @@ public class CSVToRowIterator implements Iterator<SparseRowDto> {
 		columnIdToCsvColumnIndexMap = TableModelUtils.createColumnIdToColumnIndexMapFromFirstRow(headers, resultSchema);
 	}
 	
+	/**
+	 * Create an iterator over a part of a CSV that does not include the header
+	 * or any lines to skip. The columns are mapped with the map of another
+	 * iterator that read the start of the same CSV.
+	 * 
+	 * @param resultSchema Each row returned will match this schema.
+	 * @param reader The CSV stream that contains the source data. It is the job of the caller to close this stream when finished.
+	 * @param columnIdToCsvColumnIndexMap See {@link #getColumnIdToCsvColumnIndexMap()}
+	 * @param firstLineNumber The line number of the first line of the reader within the CSV.
+	 * @throws IOException
+	 */
+	public CSVToRowIterator(List<ColumnModel> resultSchema, CSVReader reader, Map<Long, Integer> columnIdToCsvColumnIndexMap, long firstLineNumber)
+			throws IOException {
+		this.resultSchema = resultSchema;
+		this.reader = reader;
+		this.columnIdToCsvColumnIndexMap = columnIdToCsvColumnIndexMap;
+		this.rowLineNumber = (int) firstLineNumber;
+		this.rowsRead = 0;
+		this.linesToSkip = 0;
+		lastRow = reader.readNext();
+		rowLineNumber++;
+	}
+	
 	/**
 	 * Create a CSV header by considering the lastRow, isFirstLineHeader and
 	 * linesToSkip. When isFirstLineHeader=true the header is simply the last
@@ -201,6 +224,14 @@ public class CSVToRowIterator implements Iterator<SparseRowDto> {
 		throw new UnsupportedOperationException("Not supported");
 	}
 	
+	/**
+	 * The map from column IDs to the index of the CSV column that holds their values.
+	 * @return
+	 */
+	public Map<Long, Integer> getColumnIdToCsvColumnIndexMap(){
+		return columnIdToCsvColumnIndexMap;
+	}
+	
 	/**
 	 * The number of rows read by this iterator.
 	 * @return
@@ -0,0 +1,156 @@
+package org.sagebionetworks.repo.model.dbo.dao.table;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Compact encoding of the row IDs changed by a single table change set. The
+ * distinct IDs are sorted and collapsed into ranges of consecutive IDs, and
+ * each range is written as two variable length integers: the gap from the end
+ * of the previous range and the number of IDs in the range minus one. Appends
+ * assign consecutive row IDs, so most change sets encode to a handful of bytes
+ * no matter how many rows they contain.
+ * <p>
+ * The same encoding is used for the sorted set of file handle IDs referenced
+ * by a change set, so that they can be read without fetching the change set.
+ *
+ */
+public class RowIdRangesCodec {
+
+	public static final byte VERSION = 1;
+
+	/**
+	 * Encode the given row IDs.
+	 *
+	 * @param rowIds
+	 * @return The encoded ranges or {@link Optional#empty()} if any of the IDs
+	 *         cannot be encoded (null or negative).
+	 */
+	public static Optional<byte[]> encode(Collection<Long> rowIds) {
+		TreeSet<Long> sorted = new TreeSet<>();
+		for (Long rowId : rowIds) {
+			if (rowId == null || rowId < 0) {
+				return Optional.empty();
+			}
+			sorted.add(rowId);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(VERSION);
+		long previousEnd = -1;
+		Long rangeStart = null;
+		long rangeEnd = -1;
+		for (Long rowId : sorted) {
+			if (rangeStart != null && rowId == rangeEnd + 1) {
+				rangeEnd = rowId;
+				continue;
+			}
+			if (rangeStart != null) {
+				writeRange(out, previousEnd, rangeStart, rangeEnd);
+				previousEnd = rangeEnd;
+			}
+			rangeStart = rowId;
+			rangeEnd = rowId;
+		}
+		if (rangeStart != null) {
+			writeRange(out, previousEnd, rangeStart, rangeEnd);
+		}
+		return Optional.of(out.toByteArray());
+	}
+
+	/**
+	 * Decode all of the IDs included in the encoded ranges.
+	 *
+	 * @param encoded
+	 * @return The distinct IDs in ascending order.
+	 */
+	public static List<Long> decode(byte[] encoded) {
+		validateVersion(encoded);
+		List<Long> ids = new ArrayList<>();
+		int[] index = new int[] { 1 };
+		long previousEnd = -1;
+		while (index[0] < encoded.length) {
+			long start = previousEnd + 1 + readVarLong(encoded, index);
+			long end = start + readVarLong(encoded, index);
+			// the range can end at Long.MAX_VALUE so stop before the increment overflows
+			for (long id = start;; id++) {
+				ids.add(id);
+				if (id == end) {
+					break;
+				}
+			}
+			previousEnd = end;
+		}
+		return ids;
+	}
+
+	/**
+	 * Find the smallest of the given row IDs that is included in the encoded
+	 * ranges.
+	 *
+	 * @param encoded
+	 * @param rowIds
+	 * @return
+	 */
+	public static Optional<Long> findFirstMatch(byte[] encoded, NavigableSet<Long> rowIds) {
+		validateVersion(encoded);
+		if (rowIds.isEmpty()) {
+			return Optional.empty();
+		}
+		long last = rowIds.last();
+		int[] index = new int[] { 1 };
+		long previousEnd = -1;
+		while (index[0] < encoded.length) {
+			long start = previousEnd + 1 + readVarLong(encoded, index);
+			long end = start + readVarLong(encoded, index);
+			if (start > last) {
+				break;
+			}
+			Long candidate = rowIds.ceiling(start);
+			if (candidate != null && candidate <= end) {
+				return Optional.of(candidate);
+			}
+			previousEnd = end;
+		}
+		return Optional.empty();
+	}
+
+	private static void validateVersion(byte[] encoded) {
+		if (encoded.length < 1 || encoded[0] != VERSION) {
+			throw new IllegalArgumentException("Unknown row ID ranges encoding");
+		}
+	}
+
+	private static void writeRange(ByteArrayOutputStream out, long previousEnd, long start, long end) {
+		writeVarLong(out, start - previousEnd - 1);
+		writeVarLong(out, end - start);
+	}
+
+	static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	static long readVarLong(byte[] encoded, int[] index) {
+		long value = 0;
+		int shift = 0;
+		while (true) {
+			if (index[0] >= encoded.length || shift > 63) {
+				throw new IllegalArgumentException("Malformed row ID ranges encoding");
+			}
+			byte b = encoded[index[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+			shift += 7;
+		}
+	}
+}
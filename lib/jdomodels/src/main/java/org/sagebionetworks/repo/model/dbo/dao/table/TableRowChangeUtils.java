@@ -1,11 +1,13 @@
 package org.sagebionetworks.repo.model.dbo.dao.table;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.sagebionetworks.repo.model.dbo.persistence.table.DBOTableRowChange;
 import org.sagebionetworks.repo.model.jdo.KeyFactory;
+import org.sagebionetworks.repo.model.table.SparseChangeSetFormat;
 import org.sagebionetworks.repo.model.table.TableChangeType;
 import org.sagebionetworks.repo.model.table.TableRowChange;
 import org.sagebionetworks.util.ValidateArgument;
@@ -33,6 +35,12 @@ public class TableRowChangeUtils {
 		dto.setTransactionId(dbo.getTransactionId());
 		dto.setHasFileRefs(dbo.getHasFileRefs());
 		dto.setIsSearchEnabled(dbo.getIsSearchEnabled());
+		if (dbo.getChangeSetFormat() != null) {
+			dto.setChangeSetFormat(SparseChangeSetFormat.valueOf(dbo.getChangeSetFormat()));
+		}
+		if (dbo.getFileHandleIds() != null) {
+			dto.setFileHandleIds(RowIdRangesCodec.decode(dbo.getFileHandleIds()));
+		}
 		return dto;
 	}
 
@@ -58,9 +66,27 @@ public class TableRowChangeUtils {
 		dbo.setTransactionId(dto.getTransactionId());
 		dbo.setHasFileRefs(dto.getHasFileRefs());
 		dbo.setIsSearchEnabled(dto.getIsSearchEnabled());
+		if (dto.getChangeSetFormat() != null) {
+			dbo.setChangeSetFormat(dto.getChangeSetFormat().name());
+		}
+		if (dto.getFileHandleIds() != null) {
+			dbo.setFileHandleIds(encodeFileHandleIds(dto.getFileHandleIds()));
+		}
 		return dbo;
 	}
 
+	/**
+	 * Encode the given file handle IDs with the {@link RowIdRangesCodec}.
+	 * 
+	 * @param fileHandleIds
+	 * @return
+	 */
+	public static byte[] encodeFileHandleIds(Collection<Long> fileHandleIds) {
+		ValidateArgument.required(fileHandleIds, "fileHandleIds");
+		return RowIdRangesCodec.encode(fileHandleIds)
+				.orElseThrow(() -> new IllegalArgumentException("File handle IDs cannot be null or negative"));
+	}
+
 	/**
 	 * Convert a list of DTOs from a list of DBOs
 	 * 
@@ -3,6 +3,7 @@ package org.sagebionetworks.repo.model.dbo.dao.table;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.sagebionetworks.repo.model.table.ColumnChange;
 import org.sagebionetworks.repo.model.table.ColumnModel;
@@ -147,6 +148,21 @@ public interface TableRowTruthDAO {
 	 * @return
 	 */
 	List<TableRowChange> listRowSetsKeysForTableGreaterThanVersion(String tableId, long version);
+	
+	/**
+	 * Find one of the given row IDs that was changed by a ROW change with a
+	 * version number greater than the given value (exclusive). The row IDs
+	 * recorded with each change are used, so the change sets are only read from
+	 * S3 for changes recorded before the row IDs were captured.
+	 * 
+	 * @param tableId
+	 * @param version
+	 * @param rowIds
+	 * @return The conflicting row ID or {@link Optional#empty()} if none of the
+	 *         rows were changed.
+	 * @throws IOException
+	 */
+	Optional<Long> getRowIdChangedSinceVersion(String tableId, long version, Set<Long> rowIds) throws IOException;
 
 	/**
 	 * Get the TableRowChange for a given tableId and row version number.
@@ -233,4 +249,20 @@ public interface TableRowTruthDAO {
 	 */
 	List<TableRowChange> getTableRowChangeWithFileRefsPage(org.sagebionetworks.repo.model.IdRange idRange, long limit, long offset);
 	
+	/**
+	 * @param afterId
+	 * @param limit
+	 * @return A page of row changes that have file references but were recorded before the file handle IDs were
+	 *         captured, with an id greater than the given id and ordered by id
+	 */
+	List<TableRowChange> getTableRowChangeWithFileRefsMissingFileHandleIdsPage(long afterId, long limit);
+	
+	/**
+	 * Record the file handle IDs referenced by the row change with the given id.
+	 * 
+	 * @param changeId
+	 * @param fileHandleIds
+	 */
+	void setFileHandleIds(long changeId, Set<Long> fileHandleIds);
+	
 }
@@ -2,6 +2,7 @@ package org.sagebionetworks.repo.model.dbo.dao.table;
 
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ID_SEQUENCE;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ID_SEQUENCE_TABLE_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_FILE_HANDLE_IDS;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_HAS_FILE_REFS;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_ID;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_KEY_NEW;
@@ -22,12 +23,16 @@ import java.io.OutputStream;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.sagebionetworks.StackConfiguration;
 import org.sagebionetworks.aws.SynapseS3Client;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.model.IdRangeMapper;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
@@ -39,11 +44,14 @@ import org.sagebionetworks.repo.model.table.ColumnChange;
 import org.sagebionetworks.repo.model.table.ColumnModel;
 import org.sagebionetworks.repo.model.table.IdRange;
 import org.sagebionetworks.repo.model.table.SparseChangeSetDto;
+import org.sagebionetworks.repo.model.table.SparseChangeSetFormat;
+import org.sagebionetworks.repo.model.table.SparseRowDto;
 import org.sagebionetworks.repo.model.table.TableChangeType;
 import org.sagebionetworks.repo.model.table.TableRowChange;
 import org.sagebionetworks.repo.transactions.WriteTransaction;
 import org.sagebionetworks.repo.web.NotFoundException;
 import org.sagebionetworks.table.cluster.utils.TableModelUtils;
+import org.sagebionetworks.table.model.SparseChangeSet;
 import org.sagebionetworks.util.FileProvider;
 import org.sagebionetworks.util.ValidateArgument;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -130,23 +138,33 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 			+ " ORDER BY " + COL_TABLE_ROW_ID 
 			+ " LIMIT ? OFFSET ?";
 	
+	private static final String SQL_SELECT_WITH_FILE_REFS_MISSING_FILE_HANDLE_IDS_PAGE = "SELECT * FROM " + TABLE_ROW_CHANGE 
+			+ " WHERE " + COL_TABLE_ROW_ID + " > ?"
+			+ " AND " + COL_TABLE_ROW_TYPE + "='" + TableChangeType.ROW.name() + "' AND " + COL_TABLE_ROW_HAS_FILE_REFS + " IS TRUE"
+			+ " AND " + COL_TABLE_ROW_FILE_HANDLE_IDS + " IS NULL"
+			+ " ORDER BY " + COL_TABLE_ROW_ID 
+			+ " LIMIT ?";
+	
+	private static final String SQL_UPDATE_FILE_HANDLE_IDS = "UPDATE " + TABLE_ROW_CHANGE + " SET " + COL_TABLE_ROW_FILE_HANDLE_IDS + " = ?"
+			+ " WHERE " + COL_TABLE_ROW_ID + " = ?";
+	
 	private DBOBasicDao basicDao;
 	private JdbcTemplate jdbcTemplate;
 	private SynapseS3Client s3Client;
 	private FileProvider fileProvider;
-	private IdGenerator idGenerator;
+	private IdBlockAllocator idBlockAllocator;
 	private String s3Bucket;
 
 	RowMapper<DBOTableIdSequence> sequenceRowMapper = new DBOTableIdSequence().getTableMapping();
 	RowMapper<DBOTableRowChange> rowChangeMapper = new DBOTableRowChange().getTableMapping();
 	
 	@Autowired
-	public TableRowTruthDAOImpl(DBOBasicDao basicDao, JdbcTemplate jdbcTemplate, SynapseS3Client s3Client, FileProvider fileProvider, IdGenerator idGenerator) {
+	public TableRowTruthDAOImpl(DBOBasicDao basicDao, JdbcTemplate jdbcTemplate, SynapseS3Client s3Client, FileProvider fileProvider, IdBlockAllocator idBlockAllocator) {
 		this.basicDao = basicDao;
 		this.jdbcTemplate = jdbcTemplate;
 		this.s3Client = s3Client;
 		this.fileProvider = fileProvider;
-		this.idGenerator = idGenerator;
+		this.idBlockAllocator = idBlockAllocator;
 	}
 	
 	@Autowired
@@ -210,10 +228,10 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 	public String appendRowSetToTable(String userId, String tableId, String etag, long versionNumber,
 			List<ColumnModel> columns, final SparseChangeSetDto delta, long transactionId, boolean hasFileRefs) {
 		// Write the delta to S3
-		String key = saveToS3((OutputStream out) -> TableModelUtils.writeSparesChangeSetToGz(delta, out));
+		String key = saveToS3((OutputStream out) -> TableModelUtils.writeSparseChangeSetToBinaryGz(delta, columns, out));
 		// record the change
 		DBOTableRowChange changeDBO = new DBOTableRowChange();
-		changeDBO.setId(idGenerator.generateNewId(IdType.TABLE_CHANGE_ID));
+		changeDBO.setId(idBlockAllocator.nextId(IdType.TABLE_CHANGE_ID));
 		changeDBO.setTableId(KeyFactory.stringToKey(tableId));
 		changeDBO.setRowVersion(versionNumber);
 		changeDBO.setEtag(etag);
@@ -225,6 +243,14 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 		changeDBO.setChangeType(TableChangeType.ROW.name());
 		changeDBO.setTransactionId(transactionId);
 		changeDBO.setHasFileRefs(hasFileRefs);
+		changeDBO.setChangeSetFormat(SparseChangeSetFormat.BINARY.name());
+		changeDBO.setRowIds(RowIdRangesCodec.encode(
+				delta.getRows().stream().map(SparseRowDto::getRowId).collect(Collectors.toList())).orElse(null));
+		if (hasFileRefs) {
+			// Record the referenced file handles so they can be read without fetching the change set from S3
+			changeDBO.setFileHandleIds(TableRowChangeUtils.encodeFileHandleIds(
+					new SparseChangeSet(delta, columns).getFileHandleIdsInSparseChangeSet()));
+		}
 		basicDao.createNew(changeDBO);
 		return key;
 	}
@@ -239,7 +265,7 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 		String key = saveToS3((OutputStream out) -> ColumnModelUtils.writeSchemaChangeToGz(changes, out));
 		// record the change
 		DBOTableRowChange changeDBO = new DBOTableRowChange();
-		changeDBO.setId(idGenerator.generateNewId(IdType.TABLE_CHANGE_ID));
+		changeDBO.setId(idBlockAllocator.nextId(IdType.TABLE_CHANGE_ID));
 		changeDBO.setTableId(KeyFactory.stringToKey(tableId));
 		changeDBO.setRowVersion(range.getVersionNumber());
 		changeDBO.setEtag(range.getEtag());
@@ -262,7 +288,7 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 		IdRange range = reserveIdsInRange(tableId, coutToReserver);
 		
 		DBOTableRowChange changeDBO = new DBOTableRowChange();
-		changeDBO.setId(idGenerator.generateNewId(IdType.TABLE_CHANGE_ID));
+		changeDBO.setId(idBlockAllocator.nextId(IdType.TABLE_CHANGE_ID));
 		changeDBO.setTableId(KeyFactory.stringToKey(tableId));
 		changeDBO.setRowVersion(range.getVersionNumber());
 		changeDBO.setEtag(range.getEtag());
@@ -405,6 +431,34 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 		return TableRowChangeUtils.ceateDTOFromDBO(dboList);
 	}
 
+	@Override
+	public Optional<Long> getRowIdChangedSinceVersion(String tableIdString, long versionNumber, Set<Long> rowIds)
+			throws IOException {
+		ValidateArgument.required(tableIdString, "tableId");
+		ValidateArgument.required(rowIds, "rowIds");
+		if (rowIds.isEmpty()) {
+			return Optional.empty();
+		}
+		long tableId = KeyFactory.stringToKey(tableIdString);
+		NavigableSet<Long> sortedRowIds = new TreeSet<>(rowIds);
+		List<DBOTableRowChange> dboList = jdbcTemplate.query(SQL_SELECT_ALL_ROW_CHANGES_FOR_TABLE_GREATER_VERSION,
+				rowChangeMapper, tableId, versionNumber);
+		for (DBOTableRowChange dbo : dboList) {
+			Optional<Long> match;
+			if (dbo.getRowIds() != null) {
+				match = RowIdRangesCodec.findFirstMatch(dbo.getRowIds(), sortedRowIds);
+			} else {
+				// This change was recorded before the row IDs were captured.
+				match = getRowSet(TableRowChangeUtils.ceateDTOFromDBO(dbo)).getRows().stream()
+						.map(SparseRowDto::getRowId).filter(rowIds::contains).findFirst();
+			}
+			if (match.isPresent()) {
+				return match;
+			}
+		}
+		return Optional.empty();
+	}
+
 	@Override
 	public TableRowChange getTableRowChange(String tableIdString, long rowVersion) throws NotFoundException {
 		if (tableIdString == null)
@@ -431,6 +485,10 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 		// Download the file from S3
 		S3Object object = s3Client.getObject(dto.getBucket(), dto.getKeyNew());
 		try {
+			if (SparseChangeSetFormat.BINARY.equals(dto.getChangeSetFormat())) {
+				return TableModelUtils.readSparseChangeSetDtoFromBinaryGzStream(object.getObjectContent());
+			}
+			// Change sets recorded before the format was captured are JSON
 			return TableModelUtils.readSparseChangeSetDtoFromGzStream(object.getObjectContent());
 		} finally {
 			// Need to close the stream unconditionally.
@@ -586,5 +644,17 @@ public class TableRowTruthDAOImpl implements TableRowTruthDAO {
 		List<DBOTableRowChange> dbos = jdbcTemplate.query(SQL_SELECT_WITH_FILE_REFS_PAGE, rowChangeMapper, idRange.getMinId(), idRange.getMaxId(), limit, offset);
 		return TableRowChangeUtils.ceateDTOFromDBO(dbos);
 	}
+	
+	@Override
+	public List<TableRowChange> getTableRowChangeWithFileRefsMissingFileHandleIdsPage(long afterId, long limit) {
+		List<DBOTableRowChange> dbos = jdbcTemplate.query(SQL_SELECT_WITH_FILE_REFS_MISSING_FILE_HANDLE_IDS_PAGE, rowChangeMapper, afterId, limit);
+		return TableRowChangeUtils.ceateDTOFromDBO(dbos);
+	}
+	
+	@WriteTransaction
+	@Override
+	public void setFileHandleIds(long changeId, Set<Long> fileHandleIds) {
+		jdbcTemplate.update(SQL_UPDATE_FILE_HANDLE_IDS, TableRowChangeUtils.encodeFileHandleIds(fileHandleIds), changeId);
+	}
 
 }
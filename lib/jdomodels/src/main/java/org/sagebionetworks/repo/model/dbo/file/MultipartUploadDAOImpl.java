@@ -38,7 +38,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.model.TooManyRequestsException;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
@@ -177,7 +177,7 @@ public class MultipartUploadDAOImpl implements MultipartUploadDAO {
 	};
 
 	@Autowired
-	private IdGenerator idGenerator;
+	private IdBlockAllocator idBlockAllocator;
 
 	@Autowired
 	private JdbcTemplate jdbcTemplate;
@@ -248,7 +248,7 @@ public class MultipartUploadDAOImpl implements MultipartUploadDAO {
 
 		DBOMultipartUpload dbo = new DBOMultipartUpload();
 		
-		dbo.setId(idGenerator.generateNewId(IdType.MULTIPART_UPLOAD_ID));
+		dbo.setId(idBlockAllocator.nextId(IdType.MULTIPART_UPLOAD_ID));
 		dbo.setEtag(UUID.randomUUID().toString());
 		dbo.setRequestHash(createRequest.getHash());
 		dbo.setStartedBy(createRequest.getUserId());
@@ -0,0 +1,164 @@
+package org.sagebionetworks.repo.model.dbo.file.download.v2;
+
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.DDL_DOWNLOAD_LIST_AVAILABILITY_V2;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_DOWNLOAD_LIST_AVAILABILITY_V2;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+import org.sagebionetworks.repo.model.dbo.DatabaseObject;
+import org.sagebionetworks.repo.model.dbo.FieldColumn;
+import org.sagebionetworks.repo.model.dbo.TableMapping;
+
+/**
+ * A dynamic (no migration) table that stores, for each entity on a user's
+ * download list, whether or not the user was allowed to download the entity when
+ * it was last checked. Rows are invalidated when the permissions or the
+ * restrictions of the entity change and re-computed on the next read. A row is
+ * up-to-date only if it was not invalidated since it was checked.
+ *
+ */
+public class DBODownloadListAvailability implements DatabaseObject<DBODownloadListAvailability> {
+
+	private Long principalId;
+	private Long entityId;
+	private Long benefactorId;
+	private Boolean canDownload;
+	private Timestamp checkedOn;
+	private Timestamp invalidatedOn;
+
+	private static FieldColumn[] FIELDS = new FieldColumn[] {
+			new FieldColumn("principalId", COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID, true),
+			new FieldColumn("entityId", COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID, true),
+			new FieldColumn("benefactorId", COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID),
+			new FieldColumn("canDownload", COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD),
+			new FieldColumn("checkedOn", COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON),
+			new FieldColumn("invalidatedOn", COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON) };
+
+	public static final TableMapping<DBODownloadListAvailability> MAPPING = new TableMapping<DBODownloadListAvailability>() {
+
+		@Override
+		public DBODownloadListAvailability mapRow(ResultSet rs, int rowNum) throws SQLException {
+			DBODownloadListAvailability dbo = new DBODownloadListAvailability();
+			dbo.setPrincipalId(rs.getLong(COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID));
+			dbo.setEntityId(rs.getLong(COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID));
+			dbo.setBenefactorId(rs.getLong(COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID));
+			if (rs.wasNull()) {
+				dbo.setBenefactorId(null);
+			}
+			dbo.setCanDownload(rs.getBoolean(COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD));
+			dbo.setCheckedOn(rs.getTimestamp(COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON));
+			dbo.setInvalidatedOn(rs.getTimestamp(COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON));
+			return dbo;
+		}
+
+		@Override
+		public String getTableName() {
+			return TABLE_DOWNLOAD_LIST_AVAILABILITY_V2;
+		}
+
+		@Override
+		public String getDDLFileName() {
+			return DDL_DOWNLOAD_LIST_AVAILABILITY_V2;
+		}
+
+		@Override
+		public FieldColumn[] getFieldColumns() {
+			return FIELDS;
+		}
+
+		@Override
+		public Class<? extends DBODownloadListAvailability> getDBOClass() {
+			return DBODownloadListAvailability.class;
+		}
+	};
+
+	@Override
+	public TableMapping<DBODownloadListAvailability> getTableMapping() {
+		return MAPPING;
+	}
+
+	public Long getPrincipalId() {
+		return principalId;
+	}
+
+	public void setPrincipalId(Long principalId) {
+		this.principalId = principalId;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public void setEntityId(Long entityId) {
+		this.entityId = entityId;
+	}
+
+	public Long getBenefactorId() {
+		return benefactorId;
+	}
+
+	public void setBenefactorId(Long benefactorId) {
+		this.benefactorId = benefactorId;
+	}
+
+	public Boolean getCanDownload() {
+		return canDownload;
+	}
+
+	public void setCanDownload(Boolean canDownload) {
+		this.canDownload = canDownload;
+	}
+
+	public Timestamp getCheckedOn() {
+		return checkedOn;
+	}
+
+	public void setCheckedOn(Timestamp checkedOn) {
+		this.checkedOn = checkedOn;
+	}
+
+	public Timestamp getInvalidatedOn() {
+		return invalidatedOn;
+	}
+
+	public void setInvalidatedOn(Timestamp invalidatedOn) {
+		this.invalidatedOn = invalidatedOn;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(benefactorId, canDownload, checkedOn, entityId, invalidatedOn, principalId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DBODownloadListAvailability)) {
+			return false;
+		}
+		DBODownloadListAvailability other = (DBODownloadListAvailability) obj;
+		return Objects.equals(benefactorId, other.benefactorId) && Objects.equals(canDownload, other.canDownload)
+				&& Objects.equals(checkedOn, other.checkedOn) && Objects.equals(entityId, other.entityId)
+				&& Objects.equals(invalidatedOn, other.invalidatedOn)
+				&& Objects.equals(principalId, other.principalId);
+	}
+
+	@Override
+	public String toString() {
+		return "DBODownloadListAvailability [principalId=" + principalId + ", entityId=" + entityId + ", benefactorId="
+				+ benefactorId + ", canDownload=" + canDownload + ", checkedOn=" + checkedOn + ", invalidatedOn="
+				+ invalidatedOn + "]";
+	}
+
+}
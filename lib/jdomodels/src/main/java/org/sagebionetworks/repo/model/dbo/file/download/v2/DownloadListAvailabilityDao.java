@@ -0,0 +1,350 @@
+package org.sagebionetworks.repo.model.dbo.file.download.v2;
+
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACCESS_APPROVAL_ACCESSOR_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACCESS_APPROVAL_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_OWNER_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ACL_OWNER_TYPE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_DOWNLOAD_LIST_ITEM_V2_PRINCIPAL_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_NODE_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_ENTITY_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_NODE_PARENT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_NODE_TYPE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_SUBJECT_ACCESS_REQUIREMENT_REQUIREMENT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_SUBJECT_ACCESS_REQUIREMENT_SUBJECT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_SUBJECT_ACCESS_REQUIREMENT_SUBJECT_TYPE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.FUNCTION_GET_ENTITY_BENEFACTOR_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ACCESS_APPROVAL;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ACCESS_CONTROL_LIST;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_DOWNLOAD_LIST_AVAILABILITY_V2;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_DOWNLOAD_LIST_ITEM_V2;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ENTITY_EFFECTIVE_AR;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_NODE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_SUBJECT_ACCESS_REQUIREMENT;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.sagebionetworks.repo.model.EntityType;
+import org.sagebionetworks.repo.model.NodeConstants;
+import org.sagebionetworks.repo.model.ObjectType;
+import org.sagebionetworks.repo.model.RestrictableObjectType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Maintains the materialized availability of the files on each user's download
+ * list. The access check of an entity is only evaluated when the entity does
+ * not have an availability yet, when its availability was invalidated by a
+ * change to its permissions or restrictions, or when it was checked more than
+ * {@link #MAX_AGE_SECONDS} ago.
+ * <p>
+ * An invalidation does not delete the availability, it records the time of the
+ * invalidation instead. The check time of an availability is the time the
+ * refresh started, before the access check, so that an availability that was
+ * invalidated while its access was being checked is still invalid once stored.
+ * An invalidation only affects the availability that exists when it happens, an
+ * entity that is checked for the first time concurrently with an invalidation is
+ * bounded by {@link #MAX_AGE_SECONDS}.
+ */
+public class DownloadListAvailabilityDao {
+
+	/**
+	 * The maximum age of an availability before it is checked again, this bounds
+	 * the staleness of the changes that are not captured by the invalidation (e.g.
+	 * a deleted ACL or a team membership change).
+	 */
+	public static final long MAX_AGE_SECONDS = 5 * 60;
+
+	private static final String SET_INVALIDATED_ON = COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON + " = NOW(3)";
+
+	/**
+	 * The given containers and all of their sub-containers. Files do not have
+	 * children so the walk stops at the containers.
+	 */
+	private static final String SQL_SELECT_SUB_CONTAINERS = "WITH RECURSIVE C (" + COL_NODE_ID + ", DISTANCE) AS ("
+			+ " SELECT " + COL_NODE_ID + ", 1 FROM " + TABLE_NODE + " WHERE " + COL_NODE_ID + " IN (:ids)"
+			+ " UNION"
+			+ " SELECT N." + COL_NODE_ID + ", C.DISTANCE + 1 FROM C JOIN " + TABLE_NODE + " N ON (C." + COL_NODE_ID
+			+ " = N." + COL_NODE_PARENT_ID + ") WHERE N." + COL_NODE_TYPE + " <> '" + EntityType.file.name()
+			+ "' AND C.DISTANCE < :depth)"
+			+ " SELECT DISTINCT " + COL_NODE_ID + " FROM C";
+
+	private JdbcTemplate jdbcTemplate;
+
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	public DownloadListAvailabilityDao(NamedParameterJdbcTemplate namedJdbcTemplate) {
+		this.namedJdbcTemplate = namedJdbcTemplate;
+		this.jdbcTemplate = namedJdbcTemplate.getJdbcTemplate();
+	}
+
+	/**
+	 * Check the access to each entity of the user's download list that does not
+	 * have an up-to-date availability and store the result.
+	 *
+	 * @param accessCallback
+	 * @param userId
+	 * @param batchSize
+	 */
+	public void refreshAvailability(EntityAccessCallback accessCallback, long userId, int batchSize) {
+		// Captured before any access check of the refresh.
+		Timestamp checkedOn = jdbcTemplate.queryForObject("SELECT NOW(3)", Timestamp.class);
+		List<Long> batch = null;
+		long lastEntityId = -1L;
+		do {
+			batch = getBatchOfEntityIdsToCheck(userId, lastEntityId, batchSize);
+			if (batch.isEmpty()) {
+				break;
+			}
+			lastEntityId = batch.get(batch.size() - 1);
+			// Determine the sub-set that the user can actually download.
+			Set<Long> canDownload = new HashSet<>(accessCallback.filter(batch));
+			addBatchOfAvailability(userId, batch.toArray(new Long[batch.size()]), canDownload, checkedOn);
+		} while (batch.size() == batchSize);
+	}
+
+	/**
+	 * Get a batch of the distinct entity IDs from the user's download list that
+	 * either do not have an availability, that have an expired availability or
+	 * that have an availability that was invalidated since it was checked.
+	 *
+	 * @param userId
+	 * @param lastEntityId Only entity IDs greater than this ID are included.
+	 * @param limit
+	 * @return
+	 */
+	List<Long> getBatchOfEntityIdsToCheck(long userId, long lastEntityId, long limit) {
+		return jdbcTemplate.queryForList("SELECT DISTINCT I." + COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID + " FROM "
+				+ TABLE_DOWNLOAD_LIST_ITEM_V2 + " I LEFT JOIN " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " A ON (I."
+				+ COL_DOWNLOAD_LIST_ITEM_V2_PRINCIPAL_ID + " = A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID
+				+ " AND I." + COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID + " = A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID
+				+ ") WHERE I." + COL_DOWNLOAD_LIST_ITEM_V2_PRINCIPAL_ID + " = ? AND I."
+				+ COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID + " > ? AND (A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON
+				+ " IS NULL OR A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON
+				+ " < DATE_SUB(NOW(3), INTERVAL ? SECOND) OR A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON
+				+ " >= A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON + ") ORDER BY I."
+				+ COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID
+				+ " LIMIT ?", Long.class, userId, lastEntityId, MAX_AGE_SECONDS, limit);
+	}
+
+	/**
+	 * Store the availability of each of the given entities for the given user.
+	 *
+	 * @param userId
+	 * @param entityIds
+	 * @param canDownload The sub-set of the entity IDs that the user can download.
+	 * @param checkedOn   The time the access check started. The invalidation time
+	 *                    of an existing availability is kept, an invalidation that
+	 *                    happened after this time still applies.
+	 */
+	void addBatchOfAvailability(long userId, Long[] entityIds, Set<Long> canDownload, Timestamp checkedOn) {
+		String sql = "INSERT INTO " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " ("
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID + ", " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID
+				+ ", " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID + ", "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD + ", " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON
+				+ ") VALUES (?, ?, " + FUNCTION_GET_ENTITY_BENEFACTOR_ID + "(?), ?, ?) ON DUPLICATE KEY UPDATE "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID + " = " + FUNCTION_GET_ENTITY_BENEFACTOR_ID + "(?), "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD + " = ?, " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON
+				+ " = ?";
+		jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+
+			@Override
+			public void setValues(PreparedStatement ps, int i) throws SQLException {
+				Long entityId = entityIds[i];
+				boolean available = canDownload.contains(entityId);
+				int index = 0;
+				ps.setLong(++index, userId);
+				ps.setLong(++index, entityId);
+				ps.setLong(++index, entityId);
+				ps.setBoolean(++index, available);
+				ps.setTimestamp(++index, checkedOn);
+				ps.setLong(++index, entityId);
+				ps.setBoolean(++index, available);
+				ps.setTimestamp(++index, checkedOn);
+			}
+
+			@Override
+			public int getBatchSize() {
+				return entityIds.length;
+			}
+		});
+	}
+
+	/**
+	 * Add the IDs of the entities that the user can download according to the
+	 * stored availability to the given temporary table. An availability that was
+	 * invalidated since it was checked is excluded.
+	 *
+	 * @param userId
+	 * @param tableName
+	 */
+	public void addAvailableFilesToTempTable(long userId, String tableName) {
+		String sql = String.format("INSERT INTO %S (ENTITY_ID) SELECT " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID
+				+ " FROM " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " WHERE "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID + " = ? AND "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD + " = TRUE AND ("
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON + " IS NULL OR "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON + " < " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON
+				+ ")", tableName);
+		jdbcTemplate.update(sql, userId);
+	}
+
+	/**
+	 * Remove the availability of the entities that are no longer on the user's
+	 * download list.
+	 *
+	 * @param userId
+	 */
+	public void removeUnlistedAvailability(long userId) {
+		jdbcTemplate.update("DELETE A FROM " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " A LEFT JOIN "
+				+ TABLE_DOWNLOAD_LIST_ITEM_V2 + " I ON (A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID + " = I."
+				+ COL_DOWNLOAD_LIST_ITEM_V2_PRINCIPAL_ID + " AND A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID
+				+ " = I." + COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID + ") WHERE A."
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID + " = ? AND I." + COL_DOWNLOAD_LIST_ITEM_V2_ENTITY_ID
+				+ " IS NULL", userId);
+	}
+
+	/**
+	 * Remove all of the availability of the given user.
+	 *
+	 * @param userId
+	 */
+	public void clearAvailability(long userId) {
+		jdbcTemplate.update("DELETE FROM " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " WHERE "
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID + " = ?", userId);
+	}
+
+	/**
+	 * Invalidate the availability of the given entities, and of all the entities
+	 * that inherit their permissions from one of the given entities, for all users.
+	 *
+	 * @param entityIds
+	 */
+	public void invalidateEntities(Collection<Long> entityIds) {
+		if (entityIds.isEmpty()) {
+			return;
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource("ids", entityIds);
+		namedJdbcTemplate.update("UPDATE " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " SET " + SET_INVALIDATED_ON
+				+ " WHERE " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID + " IN (:ids)", params);
+		namedJdbcTemplate.update("UPDATE " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " SET " + SET_INVALIDATED_ON
+				+ " WHERE " + COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID + " IN (:ids)", params);
+	}
+
+	/**
+	 * Invalidate the availability of the entities that share the permissions of
+	 * the given containers, and of all the descendants of the given containers, for
+	 * all users. After a move the descendants of a container still reference the
+	 * benefactor they had before the move, the hierarchy is walked through the
+	 * sub-containers to reach them.
+	 *
+	 * @param containerIds
+	 */
+	public void invalidateContainers(Collection<Long> containerIds) {
+		if (containerIds.isEmpty()) {
+			return;
+		}
+		Set<Long> toInvalidate = new HashSet<>(containerIds);
+		toInvalidate.addAll(namedJdbcTemplate.queryForList(
+				"SELECT " + FUNCTION_GET_ENTITY_BENEFACTOR_ID + "(" + COL_NODE_ID + ") FROM " + TABLE_NODE + " WHERE "
+						+ COL_NODE_ID + " IN (:ids)",
+				new MapSqlParameterSource("ids", containerIds), Long.class));
+		toInvalidate.remove(null);
+		invalidateEntities(toInvalidate);
+		MapSqlParameterSource params = new MapSqlParameterSource("ids", containerIds);
+		params.addValue("depth", NodeConstants.MAX_PATH_DEPTH_PLUS_ONE);
+		List<Long> subContainerIds = namedJdbcTemplate.queryForList(SQL_SELECT_SUB_CONTAINERS, params, Long.class);
+		if (subContainerIds.isEmpty()) {
+			return;
+		}
+		namedJdbcTemplate.update("UPDATE " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " A JOIN " + TABLE_NODE + " N ON (A."
+				+ COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID + " = N." + COL_NODE_ID + ") SET A." + SET_INVALIDATED_ON
+				+ " WHERE N." + COL_NODE_PARENT_ID + " IN (:ids)", new MapSqlParameterSource("ids", subContainerIds));
+	}
+
+	/**
+	 * Invalidate the availability of the entities whose permissions are affected
+	 * by the given ACLs, for all users. When an ACL is created on an entity the
+	 * entities that previously inherited the permissions of the parent's
+	 * benefactor are invalidated as well.
+	 *
+	 * @param aclIds
+	 */
+	public void invalidateAcls(Collection<Long> aclIds) {
+		if (aclIds.isEmpty()) {
+			return;
+		}
+		List<Long> ownerIds = namedJdbcTemplate.queryForList("SELECT " + COL_ACL_OWNER_ID + " FROM "
+				+ TABLE_ACCESS_CONTROL_LIST + " WHERE " + COL_ACL_ID + " IN (:ids) AND " + COL_ACL_OWNER_TYPE + " = '"
+				+ ObjectType.ENTITY.name() + "'", new MapSqlParameterSource("ids", aclIds), Long.class);
+		if (ownerIds.isEmpty()) {
+			return;
+		}
+		Set<Long> toInvalidate = new HashSet<>(ownerIds);
+		toInvalidate.addAll(namedJdbcTemplate.queryForList(
+				"SELECT " + FUNCTION_GET_ENTITY_BENEFACTOR_ID + "(" + COL_NODE_PARENT_ID + ") FROM " + TABLE_NODE
+						+ " WHERE " + COL_NODE_ID + " IN (:ids) AND " + COL_NODE_PARENT_ID + " IS NOT NULL",
+				new MapSqlParameterSource("ids", ownerIds), Long.class));
+		toInvalidate.remove(null);
+		invalidateEntities(toInvalidate);
+	}
+
+	/**
+	 * Invalidate all of the availability of the users that are the accessors of
+	 * the given access approvals.
+	 *
+	 * @param accessApprovalIds
+	 */
+	public void invalidateAccessApprovals(Collection<Long> accessApprovalIds) {
+		if (accessApprovalIds.isEmpty()) {
+			return;
+		}
+		namedJdbcTemplate.update("UPDATE " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " A JOIN " + TABLE_ACCESS_APPROVAL
+				+ " AP ON (A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID + " = AP." + COL_ACCESS_APPROVAL_ACCESSOR_ID
+				+ ") SET A." + SET_INVALIDATED_ON + " WHERE AP." + COL_ACCESS_APPROVAL_ID + " IN (:ids)",
+				new MapSqlParameterSource("ids", accessApprovalIds));
+	}
+
+	/**
+	 * Invalidate the availability of the entities that are restricted by the given
+	 * access requirements, for all users. This includes the entities that are
+	 * subjects of the requirements and the entities that inherit the requirements
+	 * according to the closure of the effective access requirements. The
+	 * descendants of a new subject that are not in the closure yet are checked
+	 * again once their availability expires.
+	 *
+	 * @param accessRequirementIds
+	 */
+	public void invalidateAccessRequirements(Collection<Long> accessRequirementIds) {
+		if (accessRequirementIds.isEmpty()) {
+			return;
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource("ids", accessRequirementIds);
+		namedJdbcTemplate.update("UPDATE " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " A JOIN "
+				+ TABLE_SUBJECT_ACCESS_REQUIREMENT + " S ON (A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID + " = S."
+				+ COL_SUBJECT_ACCESS_REQUIREMENT_SUBJECT_ID + ") SET A." + SET_INVALIDATED_ON + " WHERE S." + COL_SUBJECT_ACCESS_REQUIREMENT_REQUIREMENT_ID
+				+ " IN (:ids) AND S." + COL_SUBJECT_ACCESS_REQUIREMENT_SUBJECT_TYPE + " = '"
+				+ RestrictableObjectType.ENTITY.name() + "'", params);
+		namedJdbcTemplate.update("UPDATE " + TABLE_DOWNLOAD_LIST_AVAILABILITY_V2 + " A JOIN "
+				+ TABLE_ENTITY_EFFECTIVE_AR + " E ON (A." + COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID + " = E."
+				+ COL_ENTITY_EFFECTIVE_AR_ENTITY_ID + ") SET A." + SET_INVALIDATED_ON + " WHERE E." + COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID
+				+ " IN (:ids)", params);
+	}
+
+}
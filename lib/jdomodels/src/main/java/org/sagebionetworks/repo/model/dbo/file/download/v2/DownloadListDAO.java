@@ -1,5 +1,6 @@
 package org.sagebionetworks.repo.model.dbo.file.download.v2;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.json.JSONObject;
@@ -62,6 +63,28 @@ public interface DownloadListDAO {
 	List<DownloadListItemResult> getFilesAvailableToDownloadFromDownloadList(EntityAccessCallback accessCallback,
 			Long userId, AvailableFilter filter, List<Sort> sort, Long limit, Long offset);
 
+	/**
+	 * Same as
+	 * {@link #getFilesAvailableToDownloadFromDownloadList(EntityAccessCallback, Long, AvailableFilter, List, Long, Long)}
+	 * but based on the stored availability of the items, so only the items without
+	 * an up-to-date availability are checked with the callback. The stored
+	 * availability can lag behind a permission change, so this is only meant for
+	 * displaying the list. Use
+	 * {@link #getFilesAvailableToDownloadFromDownloadList(EntityAccessCallback, Long, AvailableFilter, List, Long, Long)}
+	 * to select the files that are actually downloaded.
+	 * 
+	 * @param accessCallback
+	 * @param userId
+	 * @param filter
+	 * @param sort
+	 * @param limit
+	 * @param offset
+	 * @return
+	 */
+	List<DownloadListItemResult> getMaterializedFilesAvailableToDownloadFromDownloadList(
+			EntityAccessCallback accessCallback, Long userId, AvailableFilter filter, List<Sort> sort, Long limit,
+			Long offset);
+
 	/**
 	 * Get the DBODownloadList for the given user.
 	 * 
@@ -161,4 +184,45 @@ public interface DownloadListDAO {
 	 */
 	Long addDatasetItemsToDownloadList(Long userId, List<EntityRef> items, long limit);
 
+	/**
+	 * Invalidate the stored availability of the given entities, and of the
+	 * entities that inherit their permissions from one of the given entities, on
+	 * the download list of all users.
+	 * 
+	 * @param entityIds
+	 */
+	void invalidateAvailabilityOfEntities(Collection<Long> entityIds);
+
+	/**
+	 * Invalidate the stored availability of the entities that share the
+	 * permissions of the given containers on the download list of all users.
+	 * 
+	 * @param containerIds
+	 */
+	void invalidateAvailabilityOfContainers(Collection<Long> containerIds);
+
+	/**
+	 * Invalidate the stored availability of the entities affected by the given
+	 * ACLs on the download list of all users.
+	 * 
+	 * @param aclIds
+	 */
+	void invalidateAvailabilityOfAcls(Collection<Long> aclIds);
+
+	/**
+	 * Invalidate the stored availability of all the files on the download lists of
+	 * the accessors of the given access approvals.
+	 * 
+	 * @param accessApprovalIds
+	 */
+	void invalidateAvailabilityOfAccessApprovals(Collection<Long> accessApprovalIds);
+
+	/**
+	 * Invalidate the stored availability of the entities restricted by the given
+	 * access requirements on the download list of all users.
+	 * 
+	 * @param accessRequirementIds
+	 */
+	void invalidateAvailabilityOfAccessRequirements(Collection<Long> accessRequirementIds);
+
 }
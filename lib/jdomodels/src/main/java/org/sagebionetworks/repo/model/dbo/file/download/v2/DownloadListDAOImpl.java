@@ -32,6 +32,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
@@ -103,11 +104,14 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 	
 	private ActionsRequiredDao actionsRequiredDao;
 	
+	private DownloadListAvailabilityDao availabilityDao;
+	
 	@Autowired
 	public DownloadListDAOImpl(NamedParameterJdbcTemplate namedJdbcTemplate) {
 		this.namedJdbcTemplate = namedJdbcTemplate;
 		this.jdbcTemplate = namedJdbcTemplate.getJdbcTemplate();
 		this.actionsRequiredDao = new ActionsRequiredDao(jdbcTemplate);
+		this.availabilityDao = new DownloadListAvailabilityDao(namedJdbcTemplate);
 	}
 
 	private static final RowMapper<DBODownloadList> LIST_MAPPER = new DBODownloadList().getTableMapping();
@@ -258,6 +262,7 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 						return batchArray.length;
 					}
 				});
+		availabilityDao.removeUnlistedAvailability(userId);
 		return IntStream.of(updates).sum();
 	}
 
@@ -275,6 +280,7 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 		createOrUpdateDownloadList(userId);
 		jdbcTemplate.update("DELETE FROM " + TABLE_DOWNLOAD_LIST_ITEM_V2 + " WHERE "
 				+ COL_DOWNLOAD_LIST_ITEM_V2_PRINCIPAL_ID + " = ?", userId);
+		availabilityDao.clearAvailability(userId);
 	}
 
 	@Override
@@ -348,6 +354,24 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 		 * IDs from the user's download list that the user can download.
 		 */
 		String tempTableName = createTemporaryTableOfAvailableFiles(accessCallback, userId, BATCH_SIZE);
+		return getFilesAvailableToDownloadFromTempTable(tempTableName, userId, filter, sort, limit, offset);
+	}
+
+	@WriteTransaction
+	@Override
+	public List<DownloadListItemResult> getMaterializedFilesAvailableToDownloadFromDownloadList(
+			EntityAccessCallback accessCallback, Long userId, AvailableFilter filter, List<Sort> sort, Long limit,
+			Long offset) {
+		String tempTableName = createTemporaryTableOfMaterializedAvailableFiles(accessCallback, userId, BATCH_SIZE);
+		return getFilesAvailableToDownloadFromTempTable(tempTableName, userId, filter, sort, limit, offset);
+	}
+
+	/**
+	 * Get a single page of the files of the given temporary table of available
+	 * files. The temporary table is dropped.
+	 */
+	List<DownloadListItemResult> getFilesAvailableToDownloadFromTempTable(String tempTableName, Long userId,
+			AvailableFilter filter, List<Sort> sort, Long limit, Long offset) {
 		try {
 			StringBuilder sqlBuilder = new StringBuilder(String.format(DOWNLOAD_LIST_RESULT_TEMPLATE, tempTableName));
 			sqlBuilder.append(buildAvailableFilter(filter));
@@ -504,6 +528,25 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 		return tableName;
 	}
 
+	/**
+	 * Create a temporary table containing all of the Entity IDs from the given
+	 * user's download list that the user can download according to the stored
+	 * availability. Only the entities without an up-to-date availability are
+	 * checked with the given callback.
+	 * 
+	 * @param accessCallback
+	 * @param userId
+	 * @param batchSize
+	 * @return The name of the temporary table.
+	 */
+	String createTemporaryTableOfMaterializedAvailableFiles(EntityAccessCallback accessCallback, Long userId, int batchSize) {
+		availabilityDao.refreshAvailability(accessCallback, userId, batchSize);
+		String tableName = "U" + userId + "T";
+		String sql = String.format("CREATE TEMPORARY TABLE %S (`ENTITY_ID` BIGINT NOT NULL)", tableName);
+		jdbcTemplate.update(sql);
+		availabilityDao.addAvailableFilesToTempTable(userId, tableName);
+		return tableName;
+	}
 	
 	@WriteTransaction
 	@Override
@@ -569,7 +612,7 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 		 * The first step is to create a temporary table containing all of the entity
 		 * IDs from the user's download list that the user can download.
 		 */
-		String tempTableName = createTemporaryTableOfAvailableFiles(createAccessCallback, userId, BATCH_SIZE);
+		String tempTableName = createTemporaryTableOfMaterializedAvailableFiles(createAccessCallback, userId, BATCH_SIZE);
 		try {
 			String sql = String.format(DOWNLOAD_LIST_STATISTICS_TEMPLATE, tempTableName);
 			MapSqlParameterSource params = new MapSqlParameterSource();
@@ -683,4 +726,34 @@ public class DownloadListDAOImpl implements DownloadListDAO {
 		return (long)IntStream.of(updates).sum();
 	}
 
+	@Override
+	public void invalidateAvailabilityOfEntities(Collection<Long> entityIds) {
+		ValidateArgument.required(entityIds, "entityIds");
+		availabilityDao.invalidateEntities(entityIds);
+	}
+
+	@Override
+	public void invalidateAvailabilityOfContainers(Collection<Long> containerIds) {
+		ValidateArgument.required(containerIds, "containerIds");
+		availabilityDao.invalidateContainers(containerIds);
+	}
+
+	@Override
+	public void invalidateAvailabilityOfAcls(Collection<Long> aclIds) {
+		ValidateArgument.required(aclIds, "aclIds");
+		availabilityDao.invalidateAcls(aclIds);
+	}
+
+	@Override
+	public void invalidateAvailabilityOfAccessApprovals(Collection<Long> accessApprovalIds) {
+		ValidateArgument.required(accessApprovalIds, "accessApprovalIds");
+		availabilityDao.invalidateAccessApprovals(accessApprovalIds);
+	}
+
+	@Override
+	public void invalidateAvailabilityOfAccessRequirements(Collection<Long> accessRequirementIds) {
+		ValidateArgument.required(accessRequirementIds, "accessRequirementIds");
+		availabilityDao.invalidateAccessRequirements(accessRequirementIds);
+	}
+
 }
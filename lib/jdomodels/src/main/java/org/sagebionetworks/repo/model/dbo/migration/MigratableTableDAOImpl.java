@@ -25,6 +25,7 @@ import org.sagebionetworks.repo.model.dbo.DMLUtils;
 import org.sagebionetworks.repo.model.dbo.DatabaseObject;
 import org.sagebionetworks.repo.model.dbo.FieldColumn;
 import org.sagebionetworks.repo.model.dbo.MigratableDatabaseObject;
+import org.sagebionetworks.repo.model.dbo.PropertyAccessorSqlParameterSource;
 import org.sagebionetworks.repo.model.dbo.TableMapping;
 import org.sagebionetworks.repo.model.migration.BatchChecksumRequest;
 import org.sagebionetworks.repo.model.migration.IdRange;
@@ -41,7 +42,6 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
-import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
@@ -409,7 +409,8 @@ public class MigratableTableDAOImpl implements MigratableTableDAO {
 		if (mapping instanceof AutoTableMapping) {
 			return ((AutoTableMapping) mapping).getSqlParameterSource(toCreate);
 		}
-		return new BeanPropertySqlParameterSource(toCreate);
+		// The accessors are resolved once per class rather than introspecting every row.
+		return new PropertyAccessorSqlParameterSource(toCreate);
 	}
 	
 	/**
@@ -588,7 +589,7 @@ public class MigratableTableDAOImpl implements MigratableTableDAO {
 	List<Long> createOrUpdateInternal(final MigrationType type, final List<DatabaseObject<?>> batch) {
 		List<Long> createOrUpdateIds = new LinkedList<>();
 		String sql = getInsertOrUpdateSql(type);
-		SqlParameterSource[] namedParameters = new BeanPropertySqlParameterSource[batch.size()];
+		SqlParameterSource[] namedParameters = new SqlParameterSource[batch.size()];
 		int index = 0;
 		for(DatabaseObject<?> databaseObject: batch) {
 			SqlParameterSource parameterSource = getSqlParameterSource(databaseObject, databaseObject.getTableMapping());
@@ -0,0 +1,104 @@
+package org.sagebionetworks.repo.model.dbo.persistence;
+
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_ENTITY_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.DDL_FILE_ENTITY_EFFECTIVE_AR;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ENTITY_EFFECTIVE_AR;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+import org.sagebionetworks.repo.model.dbo.DatabaseObject;
+import org.sagebionetworks.repo.model.dbo.FieldColumn;
+import org.sagebionetworks.repo.model.dbo.TableMapping;
+
+/**
+ * An access requirement that applies to an entity, either directly or
+ * inherited from one of the entity's ancestors. This table is derived from
+ * NODE and NODE_ACCESS_REQUIREMENT so it is not migrated.
+ *
+ */
+public class DBOEntityEffectiveAccessRequirement implements DatabaseObject<DBOEntityEffectiveAccessRequirement> {
+
+	private static FieldColumn[] FIELDS = new FieldColumn[] {
+			new FieldColumn("entityId", COL_ENTITY_EFFECTIVE_AR_ENTITY_ID, true),
+			new FieldColumn("requirementId", COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID, true), };
+
+	private Long entityId;
+	private Long requirementId;
+
+	private static final TableMapping<DBOEntityEffectiveAccessRequirement> MAPPING = new TableMapping<DBOEntityEffectiveAccessRequirement>() {
+
+		@Override
+		public DBOEntityEffectiveAccessRequirement mapRow(ResultSet rs, int rowNum) throws SQLException {
+			DBOEntityEffectiveAccessRequirement dbo = new DBOEntityEffectiveAccessRequirement();
+			dbo.setEntityId(rs.getLong(COL_ENTITY_EFFECTIVE_AR_ENTITY_ID));
+			dbo.setRequirementId(rs.getLong(COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID));
+			return dbo;
+		}
+
+		@Override
+		public String getTableName() {
+			return TABLE_ENTITY_EFFECTIVE_AR;
+		}
+
+		@Override
+		public String getDDLFileName() {
+			return DDL_FILE_ENTITY_EFFECTIVE_AR;
+		}
+
+		@Override
+		public FieldColumn[] getFieldColumns() {
+			return FIELDS;
+		}
+
+		@Override
+		public Class<? extends DBOEntityEffectiveAccessRequirement> getDBOClass() {
+			return DBOEntityEffectiveAccessRequirement.class;
+		}
+	};
+
+	@Override
+	public TableMapping<DBOEntityEffectiveAccessRequirement> getTableMapping() {
+		return MAPPING;
+	}
+
+	public Long getEntityId() {
+		return entityId;
+	}
+
+	public void setEntityId(Long entityId) {
+		this.entityId = entityId;
+	}
+
+	public Long getRequirementId() {
+		return requirementId;
+	}
+
+	public void setRequirementId(Long requirementId) {
+		this.requirementId = requirementId;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(entityId, requirementId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DBOEntityEffectiveAccessRequirement)) {
+			return false;
+		}
+		DBOEntityEffectiveAccessRequirement other = (DBOEntityEffectiveAccessRequirement) obj;
+		return Objects.equals(entityId, other.entityId) && Objects.equals(requirementId, other.requirementId);
+	}
+
+	@Override
+	public String toString() {
+		return "DBOEntityEffectiveAccessRequirement [entityId=" + entityId + ", requirementId=" + requirementId + "]";
+	}
+}
@@ -0,0 +1,120 @@
+package org.sagebionetworks.repo.model.dbo.persistence;
+
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_CHANGE_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.DDL_FILE_ENTITY_EFFECTIVE_AR_CHANGE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ENTITY_EFFECTIVE_AR_CHANGE;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+import org.sagebionetworks.repo.model.dbo.DatabaseObject;
+import org.sagebionetworks.repo.model.dbo.FieldColumn;
+import org.sagebionetworks.repo.model.dbo.TableMapping;
+
+/**
+ * A sub-tree of entities with a pending rebuild of its effective access
+ * requirements. The rows are written in the same transaction as the node or
+ * access requirement change that caused them and deleted once the rebuild is
+ * done.
+ *
+ */
+public class DBOEntityEffectiveAccessRequirementChange implements DatabaseObject<DBOEntityEffectiveAccessRequirementChange> {
+
+	private static FieldColumn[] FIELDS = new FieldColumn[] {
+			new FieldColumn("id", COL_ENTITY_EFFECTIVE_AR_CHANGE_ID, true),
+			new FieldColumn("rootId", COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID),
+			new FieldColumn("changedOn", COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON), };
+
+	private Long id;
+	private Long rootId;
+	private Timestamp changedOn;
+
+	private static final TableMapping<DBOEntityEffectiveAccessRequirementChange> MAPPING = new TableMapping<DBOEntityEffectiveAccessRequirementChange>() {
+
+		@Override
+		public DBOEntityEffectiveAccessRequirementChange mapRow(ResultSet rs, int rowNum) throws SQLException {
+			DBOEntityEffectiveAccessRequirementChange dbo = new DBOEntityEffectiveAccessRequirementChange();
+			dbo.setId(rs.getLong(COL_ENTITY_EFFECTIVE_AR_CHANGE_ID));
+			dbo.setRootId(rs.getLong(COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID));
+			dbo.setChangedOn(rs.getTimestamp(COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON));
+			return dbo;
+		}
+
+		@Override
+		public String getTableName() {
+			return TABLE_ENTITY_EFFECTIVE_AR_CHANGE;
+		}
+
+		@Override
+		public String getDDLFileName() {
+			return DDL_FILE_ENTITY_EFFECTIVE_AR_CHANGE;
+		}
+
+		@Override
+		public FieldColumn[] getFieldColumns() {
+			return FIELDS;
+		}
+
+		@Override
+		public Class<? extends DBOEntityEffectiveAccessRequirementChange> getDBOClass() {
+			return DBOEntityEffectiveAccessRequirementChange.class;
+		}
+	};
+
+	@Override
+	public TableMapping<DBOEntityEffectiveAccessRequirementChange> getTableMapping() {
+		return MAPPING;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getRootId() {
+		return rootId;
+	}
+
+	public void setRootId(Long rootId) {
+		this.rootId = rootId;
+	}
+
+	public Timestamp getChangedOn() {
+		return changedOn;
+	}
+
+	public void setChangedOn(Timestamp changedOn) {
+		this.changedOn = changedOn;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(changedOn, id, rootId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DBOEntityEffectiveAccessRequirementChange)) {
+			return false;
+		}
+		DBOEntityEffectiveAccessRequirementChange other = (DBOEntityEffectiveAccessRequirementChange) obj;
+		return Objects.equals(changedOn, other.changedOn) && Objects.equals(id, other.id)
+				&& Objects.equals(rootId, other.rootId);
+	}
+
+	@Override
+	public String toString() {
+		return "DBOEntityEffectiveAccessRequirementChange [id=" + id + ", rootId=" + rootId + ", changedOn=" + changedOn
+				+ "]";
+	}
+}
@@ -2,9 +2,12 @@ package org.sagebionetworks.repo.model.dbo.persistence.table;
 
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_BUCKET;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_COUNT;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_CHANGE_SET_FORMAT;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_CREATED_BY;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_CREATED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_FILE_HANDLE_IDS;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_ID;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_IDS;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_HAS_FILE_REFS;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_KEY_NEW;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_TABLE_ROW_TABLE_ETAG;
@@ -18,6 +21,7 @@ import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_ROW_CH
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -49,7 +53,10 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 			new FieldColumn("changeType", COL_TABLE_ROW_TYPE),
 			new FieldColumn("transactionId", COL_TABLE_ROW_TRX_ID),
 			new FieldColumn("hasFileRefs", COL_TABLE_ROW_HAS_FILE_REFS),
-			new FieldColumn("isSearchEnabled", COL_TABLE_ROW_SEARCH_ENABLED)
+			new FieldColumn("isSearchEnabled", COL_TABLE_ROW_SEARCH_ENABLED),
+			new FieldColumn("rowIds", COL_TABLE_ROW_IDS),
+			new FieldColumn("changeSetFormat", COL_TABLE_ROW_CHANGE_SET_FORMAT),
+			new FieldColumn("fileHandleIds", COL_TABLE_ROW_FILE_HANDLE_IDS)
 	};
 	
 	private static final TableMapping<DBOTableRowChange> TABLE_MAPPING = new TableMapping<DBOTableRowChange>() {
@@ -79,6 +86,9 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 			if (rs.wasNull()) {
 				change.setIsSearchEnabled(null);
 			}
+			change.setRowIds(rs.getBytes(COL_TABLE_ROW_IDS));
+			change.setChangeSetFormat(rs.getString(COL_TABLE_ROW_CHANGE_SET_FORMAT));
+			change.setFileHandleIds(rs.getBytes(COL_TABLE_ROW_FILE_HANDLE_IDS));
 			return change;
 		}
 
@@ -119,6 +129,9 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 	private Long transactionId;
 	private Boolean hasFileRefs;
 	private Boolean isSearchEnabled;
+	private byte[] rowIds;
+	private String changeSetFormat;
+	private byte[] fileHandleIds;
 
 	@Override
 	public TableMapping<DBOTableRowChange> getTableMapping() {
@@ -246,6 +259,49 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 	public void setIsSearchEnabled(Boolean isSearchEnabled) {
 		this.isSearchEnabled = isSearchEnabled;
 	}
+	
+	/**
+	 * The IDs of the rows changed by a ROW change, encoded with {@link org.sagebionetworks.repo.model.dbo.dao.table.RowIdRangesCodec}.
+	 * Null for other change types and for changes recorded before the IDs were captured.
+	 * 
+	 * @return
+	 */
+	public byte[] getRowIds() {
+		return rowIds;
+	}
+	
+	public void setRowIds(byte[] rowIds) {
+		this.rowIds = rowIds;
+	}
+	
+	/**
+	 * The format of the change set stored in S3 for a ROW change. Null for changes recorded before the format was
+	 * captured, which are stored as JSON.
+	 * 
+	 * @return
+	 */
+	public String getChangeSetFormat() {
+		return changeSetFormat;
+	}
+	
+	public void setChangeSetFormat(String changeSetFormat) {
+		this.changeSetFormat = changeSetFormat;
+	}
+	
+	/**
+	 * The sorted IDs of the file handles referenced by a ROW change, encoded with
+	 * {@link org.sagebionetworks.repo.model.dbo.dao.table.RowIdRangesCodec}. Null for other change types, for ROW changes
+	 * without file references and for changes recorded before the IDs were captured.
+	 * 
+	 * @return
+	 */
+	public byte[] getFileHandleIds() {
+		return fileHandleIds;
+	}
+	
+	public void setFileHandleIds(byte[] fileHandleIds) {
+		this.fileHandleIds = fileHandleIds;
+	}
 
 	@Override
 	public MigrationType getMigratableTableType() {
@@ -274,8 +330,13 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(bucket, changeType, columnIds, createdBy, createdOn, etag, hasFileRefs, id, isSearchEnabled, keyNew, rowCount,
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(rowIds);
+		result = prime * result + Arrays.hashCode(fileHandleIds);
+		result = prime * result + Objects.hash(bucket, changeSetFormat, changeType, columnIds, createdBy, createdOn, etag, hasFileRefs, id, isSearchEnabled, keyNew, rowCount,
 				rowVersion, tableId, transactionId);
+		return result;
 	}
 
 	@Override
@@ -296,7 +357,9 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 				&& Objects.equals(hasFileRefs, other.hasFileRefs) && Objects.equals(id, other.id)
 				&& Objects.equals(isSearchEnabled, other.isSearchEnabled) && Objects.equals(keyNew, other.keyNew)
 				&& Objects.equals(rowCount, other.rowCount) && Objects.equals(rowVersion, other.rowVersion)
-				&& Objects.equals(tableId, other.tableId) && Objects.equals(transactionId, other.transactionId);
+				&& Objects.equals(tableId, other.tableId) && Objects.equals(transactionId, other.transactionId)
+				&& Arrays.equals(rowIds, other.rowIds) && Objects.equals(changeSetFormat, other.changeSetFormat)
+				&& Arrays.equals(fileHandleIds, other.fileHandleIds);
 	}
 
 	@Override
@@ -304,7 +367,7 @@ public class DBOTableRowChange implements MigratableDatabaseObject<DBOTableRowCh
 		return "DBOTableRowChange [id=" + id + ", tableId=" + tableId + ", etag=" + etag + ", rowVersion=" + rowVersion + ", columnIds="
 				+ columnIds + ", createdBy=" + createdBy + ", createdOn=" + createdOn + ", bucket=" + bucket + ", keyNew=" + keyNew
 				+ ", rowCount=" + rowCount + ", changeType=" + changeType + ", transactionId=" + transactionId + ", hasFileRefs="
-				+ hasFileRefs + ", isSearchEnabled=" + isSearchEnabled + "]";
+				+ hasFileRefs + ", isSearchEnabled=" + isSearchEnabled + ", changeSetFormat=" + changeSetFormat + "]";
 	}
 
 }
@@ -0,0 +1,137 @@
+package org.sagebionetworks.repo.model.dbo.statistics;
+
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.DDL_STATISTICS_MONTHLY_PROCESSOR_STATUS;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_STATISTICS_MONTHLY_PROCESSOR_STATUS;
+import static org.sagebionetworks.repo.model.statistics.monthly.StatisticsMonthlyUtils.FIRST_DAY_OF_THE_MONTH;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import org.sagebionetworks.repo.model.dbo.DatabaseObject;
+import org.sagebionetworks.repo.model.dbo.FieldColumn;
+import org.sagebionetworks.repo.model.dbo.TableMapping;
+
+/**
+ * DBO object to record the completion of a single processor of the monthly statistics, so that only the processors
+ * that did not complete are executed when the processing of a month is retried
+ */
+public class DBOStatisticsMonthlyProcessorStatus implements DatabaseObject<DBOStatisticsMonthlyProcessorStatus> {
+
+	private static final FieldColumn[] FIELDS = new FieldColumn[] {
+			new FieldColumn("objectType", COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE, true),
+			new FieldColumn("month", COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH, true),
+			new FieldColumn("processor", COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR, true),
+			new FieldColumn("completedOn", COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON) };
+
+	private static final TableMapping<DBOStatisticsMonthlyProcessorStatus> TABLE_MAPPING = new TableMapping<DBOStatisticsMonthlyProcessorStatus>() {
+
+		@Override
+		public DBOStatisticsMonthlyProcessorStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+			DBOStatisticsMonthlyProcessorStatus dbo = new DBOStatisticsMonthlyProcessorStatus();
+
+			dbo.setObjectType(rs.getString(COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE));
+			dbo.setMonth(rs.getObject(COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH, LocalDate.class));
+			dbo.setProcessor(rs.getString(COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR));
+			dbo.setCompletedOn(rs.getLong(COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON));
+
+			return dbo;
+		}
+
+		@Override
+		public String getTableName() {
+			return TABLE_STATISTICS_MONTHLY_PROCESSOR_STATUS;
+		}
+
+		@Override
+		public String getDDLFileName() {
+			return DDL_STATISTICS_MONTHLY_PROCESSOR_STATUS;
+		}
+
+		@Override
+		public FieldColumn[] getFieldColumns() {
+			return FIELDS;
+		}
+
+		@Override
+		public Class<? extends DBOStatisticsMonthlyProcessorStatus> getDBOClass() {
+			return DBOStatisticsMonthlyProcessorStatus.class;
+		}
+	};
+
+	private String objectType;
+	private LocalDate month;
+	private String processor;
+	private Long completedOn;
+
+	public String getObjectType() {
+		return objectType;
+	}
+
+	public void setObjectType(String objectType) {
+		this.objectType = objectType;
+	}
+
+	public LocalDate getMonth() {
+		return month;
+	}
+
+	public void setMonth(LocalDate month) {
+		// Make sure it's always set to the first day of the month
+		this.month = month.withDayOfMonth(FIRST_DAY_OF_THE_MONTH);
+	}
+
+	public String getProcessor() {
+		return processor;
+	}
+
+	public void setProcessor(String processor) {
+		this.processor = processor;
+	}
+
+	public Long getCompletedOn() {
+		return completedOn;
+	}
+
+	public void setCompletedOn(Long completedOn) {
+		this.completedOn = completedOn;
+	}
+
+	@Override
+	public TableMapping<DBOStatisticsMonthlyProcessorStatus> getTableMapping() {
+		return TABLE_MAPPING;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(completedOn, month, objectType, processor);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		DBOStatisticsMonthlyProcessorStatus other = (DBOStatisticsMonthlyProcessorStatus) obj;
+		return Objects.equals(completedOn, other.completedOn) && Objects.equals(month, other.month)
+				&& Objects.equals(objectType, other.objectType) && Objects.equals(processor, other.processor);
+	}
+
+	@Override
+	public String toString() {
+		return "DBOStatisticsMonthlyProcessorStatus [objectType=" + objectType + ", month=" + month + ", processor=" + processor
+				+ ", completedOn=" + completedOn + "]";
+	}
+
+}
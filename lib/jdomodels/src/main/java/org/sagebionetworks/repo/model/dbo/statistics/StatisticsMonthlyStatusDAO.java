@@ -3,6 +3,7 @@ package org.sagebionetworks.repo.model.dbo.statistics;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.sagebionetworks.repo.model.statistics.StatisticsObjectType;
 import org.sagebionetworks.repo.model.statistics.StatisticsStatus;
@@ -82,7 +83,24 @@ public interface StatisticsMonthlyStatusDAO {
 	List<StatisticsMonthlyStatus> getAvailableStatusInRange(StatisticsObjectType objectType, YearMonth from, YearMonth to);
 
 	/**
-	 * Removes all the statuses
+	 * Records that the processor with the given name completed the processing of the given object type and month. A
+	 * status for the given object type and month must exist.
+	 * 
+	 * @param objectType
+	 * @param month
+	 * @param processorName
+	 */
+	void setProcessorCompleted(StatisticsObjectType objectType, YearMonth month, String processorName);
+
+	/**
+	 * @param  objectType
+	 * @param  month
+	 * @return            The names of the processors that completed the processing of the given object type and month
+	 */
+	Set<String> getCompletedProcessors(StatisticsObjectType objectType, YearMonth month);
+
+	/**
+	 * Removes all the statuses, including the completion of each processor
 	 */
 	void clear();
 
@@ -1,17 +1,24 @@
 package org.sagebionetworks.repo.model.dbo.statistics;
 
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_STATUS_LAST_UPDATED_ON;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_STATUS_MONTH;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_STATUS_OBJECT_TYPE;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.COL_STATISTICS_MONTHLY_STATUS_STATUS;
+import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_STATISTICS_MONTHLY_PROCESSOR_STATUS;
 import static org.sagebionetworks.repo.model.query.jdo.SqlConstants.TABLE_STATISTICS_MONTHLY_STATUS;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
 import org.sagebionetworks.repo.model.statistics.StatisticsObjectType;
@@ -48,6 +55,20 @@ public class StatisticsMonthlyStatusDAOImpl implements StatisticsMonthlyStatusDA
 			+ COL_STATISTICS_MONTHLY_STATUS_OBJECT_TYPE + " = ? AND " 
 			+ COL_STATISTICS_MONTHLY_STATUS_MONTH + " = ?";
 
+	private static final String SQL_SET_PROCESSOR_COMPLETED = "INSERT INTO " 
+			+ TABLE_STATISTICS_MONTHLY_PROCESSOR_STATUS + " ("
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE + ", "
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH + ", "
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR + ", "
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON + ") VALUES (?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE " + COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON + " = ?";
+
+	private static final String SQL_SELECT_COMPLETED_PROCESSORS = "SELECT " 
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR + " FROM "
+			+ TABLE_STATISTICS_MONTHLY_PROCESSOR_STATUS + " WHERE "
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE + " = ? AND " 
+			+ COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH + " = ?";
+
 	private static final RowMapper<DBOStatisticsMonthlyStatus> DBO_MAPPER = new DBOStatisticsMonthlyStatus().getTableMapping();
 
 	private static final RowMapper<StatisticsMonthlyStatus> ROW_MAPPER = new RowMapper<StatisticsMonthlyStatus>() {
@@ -117,6 +138,25 @@ public class StatisticsMonthlyStatusDAOImpl implements StatisticsMonthlyStatusDA
 		return jdbcTemplate.query(SQL_SELECT_IN_RANGE, ROW_MAPPER, objectType.toString(), StatisticsStatus.AVAILABLE.toString(), fromDate, toDate);
 	}
 
+	@Override
+	@WriteTransaction
+	public void setProcessorCompleted(StatisticsObjectType objectType, YearMonth month, String processorName) {
+		ValidateArgument.required(objectType, "objectType");
+		ValidateArgument.required(month, "month");
+		ValidateArgument.requiredNotBlank(processorName, "processorName");
+		LocalDate monthDate = StatisticsMonthlyUtils.toDate(month);
+		long now = System.currentTimeMillis();
+		jdbcTemplate.update(SQL_SET_PROCESSOR_COMPLETED, objectType.toString(), monthDate, processorName, now, now);
+	}
+
+	@Override
+	public Set<String> getCompletedProcessors(StatisticsObjectType objectType, YearMonth month) {
+		ValidateArgument.required(objectType, "objectType");
+		ValidateArgument.required(month, "month");
+		LocalDate monthDate = StatisticsMonthlyUtils.toDate(month);
+		return new HashSet<>(jdbcTemplate.queryForList(SQL_SELECT_COMPLETED_PROCESSORS, String.class, objectType.toString(), monthDate));
+	}
+
 	@Override
 	@WriteTransaction
 	public void clear() {
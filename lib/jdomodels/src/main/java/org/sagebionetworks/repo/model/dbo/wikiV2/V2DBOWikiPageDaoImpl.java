@@ -109,6 +109,9 @@ public class V2DBOWikiPageDaoImpl implements V2WikiPageDao {
 	@Autowired
 	private FileHandleDao fileMetadataDao;	
 
+	@Autowired
+	private WikiMarkdownCache markdownCache;
+
 	/**
 	 * Used to detect if a wiki object already exists.
 	 */
@@ -521,7 +524,20 @@ public class V2DBOWikiPageDaoImpl implements V2WikiPageDao {
 	@Override
 	public String getMarkdown(WikiPageKey key, Long version) throws IOException, NotFoundException {
 		V2WikiPage wiki = get(key, version);
-		S3FileHandle markdownHandle = (S3FileHandle) fileMetadataDao.get(wiki.getMarkdownFileHandleId());
+		String markdownFileHandleId = wiki.getMarkdownFileHandleId();
+		// markdown file handles are never modified so the markdown can be cached by file handle ID.
+		return markdownCache.get(Long.parseLong(markdownFileHandleId), () -> downloadMarkdown(markdownFileHandleId));
+	}
+
+	/**
+	 * Download and decompress the markdown of the given file handle from S3.
+	 * 
+	 * @param markdownFileHandleId
+	 * @return
+	 * @throws IOException
+	 */
+	String downloadMarkdown(String markdownFileHandleId) throws IOException {
+		S3FileHandle markdownHandle = (S3FileHandle) fileMetadataDao.get(markdownFileHandleId);
 		S3Object s3Object = s3Client.getObject(markdownHandle.getBucketName(), markdownHandle.getKey());
 		String contentType = s3Object.getObjectMetadata().getContentType();
 		Charset charset = ContentTypeUtil.getCharsetFromContentTypeString(contentType);
@@ -0,0 +1,321 @@
+package org.sagebionetworks.repo.model.dbo.wikiV2;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sagebionetworks.util.ValidateArgument;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * A bounded local cache of decompressed wiki markdown keyed by the ID of the
+ * markdown file handle. Each version of a wiki's markdown is stored in its own
+ * immutable file handle so a cached value never needs to be invalidated.
+ * <p>
+ * The markdown is held in memory up to the configured number of bytes. When a
+ * disk directory is provided, values evicted from memory can be re-read from a
+ * gzipped copy on the local disk, which is bounded by its own number of bytes.
+ * Concurrent requests for the same missing markdown are coalesced so that only
+ * one of the callers loads it from the source.
+ * <p>
+ * The number of bytes on disk is tracked as files are written, so the disk
+ * directory is only listed when the limit is crossed. A trim deletes the least
+ * recently used files until the directory is back to
+ * {@link #TRIM_TARGET_RATIO} of its limit.
+ *
+ */
+public class WikiMarkdownCache {
+
+	private static final Logger log = LogManager.getLogger(WikiMarkdownCache.class);
+
+	public static final String DISK_FILE_SUFFIX = ".md.gz";
+	/**
+	 * A trim leaves room for new files, so the next trim is not started by the
+	 * next miss.
+	 */
+	public static final double TRIM_TARGET_RATIO = 0.9;
+
+	private final Cache<Long, String> memoryCache;
+	private final File diskDirectory;
+	private final long maximumDiskBytes;
+	private final AtomicLong diskBytes;
+	private final AtomicBoolean trimming;
+	private final AtomicLong diskHitCount;
+	private final AtomicLong sourceLoadCount;
+
+	/**
+	 *
+	 * @param maximumMemoryBytes The maximum number of bytes of markdown held in
+	 *                           memory.
+	 * @param diskDirectory      Optional directory used to keep a gzipped copy of
+	 *                           each markdown. When null the disk tier is
+	 *                           disabled.
+	 * @param maximumDiskBytes   The maximum number of bytes kept in the disk
+	 *                           directory.
+	 */
+	public WikiMarkdownCache(long maximumMemoryBytes, File diskDirectory, long maximumDiskBytes) {
+		ValidateArgument.requirement(maximumMemoryBytes >= 0, "maximumMemoryBytes cannot be negative");
+		ValidateArgument.requirement(maximumDiskBytes >= 0, "maximumDiskBytes cannot be negative");
+		this.memoryCache = CacheBuilder.newBuilder()
+				.maximumWeight(maximumMemoryBytes)
+				.weigher((Long fileHandleId, String markdown) -> getWeight(markdown))
+				.recordStats()
+				.build();
+		this.diskDirectory = diskDirectory;
+		this.maximumDiskBytes = maximumDiskBytes;
+		this.diskBytes = new AtomicLong(0);
+		this.trimming = new AtomicBoolean(false);
+		this.diskHitCount = new AtomicLong(0);
+		this.sourceLoadCount = new AtomicLong(0);
+		if (diskDirectory != null) {
+			diskDirectory.mkdirs();
+			ValidateArgument.requirement(diskDirectory.isDirectory(), "Not a directory: " + diskDirectory.getAbsolutePath());
+			// files kept by a previous instance.
+			for (File file : listDiskFiles()) {
+				diskBytes.addAndGet(file.length());
+			}
+		}
+	}
+
+	/**
+	 * The approximate number of bytes used to hold the given markdown in memory.
+	 *
+	 * @param markdown
+	 * @return
+	 */
+	static int getWeight(String markdown) {
+		return (int) Math.min(Integer.MAX_VALUE, 2L * markdown.length());
+	}
+
+	/**
+	 * Get the markdown for the given file handle, calling the loader only if the
+	 * markdown is not already cached. When multiple threads request the same
+	 * missing markdown at the same time only one of them calls the loader, the
+	 * others wait for its result.
+	 *
+	 * @param markdownFileHandleId
+	 * @param loader               Loads the decompressed markdown from its source.
+	 * @return
+	 * @throws IOException
+	 */
+	public String get(Long markdownFileHandleId, Callable<String> loader) throws IOException {
+		ValidateArgument.required(markdownFileHandleId, "markdownFileHandleId");
+		ValidateArgument.required(loader, "loader");
+		try {
+			return memoryCache.get(markdownFileHandleId, () -> loadFromDiskOrSource(markdownFileHandleId, loader));
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		} catch (UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		} catch (ExecutionError e) {
+			throw (Error) e.getCause();
+		}
+	}
+
+	String loadFromDiskOrSource(Long markdownFileHandleId, Callable<String> loader) throws Exception {
+		if (diskDirectory == null) {
+			return loadFromSource(loader);
+		}
+		File file = getDiskFile(markdownFileHandleId);
+		if (file.isFile()) {
+			try {
+				String markdown = readFromDisk(file);
+				// keep recently used files from being trimmed.
+				file.setLastModified(System.currentTimeMillis());
+				diskHitCount.incrementAndGet();
+				return markdown;
+			} catch (IOException e) {
+				log.warn("Failed to read cached markdown from " + file.getAbsolutePath() + ": " + e.getMessage());
+				deleteDiskFile(file);
+			}
+		}
+		String markdown = loadFromSource(loader);
+		try {
+			long previousLength = file.length();
+			writeToDisk(file, markdown);
+			if (diskBytes.addAndGet(file.length() - previousLength) > maximumDiskBytes) {
+				trimDisk();
+			}
+		} catch (IOException e) {
+			// the disk tier is only an optimization.
+			log.warn("Failed to write cached markdown to " + file.getAbsolutePath() + ": " + e.getMessage());
+		}
+		return markdown;
+	}
+
+	private String loadFromSource(Callable<String> loader) throws Exception {
+		sourceLoadCount.incrementAndGet();
+		return loader.call();
+	}
+
+	File getDiskFile(Long markdownFileHandleId) {
+		return new File(diskDirectory, markdownFileHandleId + DISK_FILE_SUFFIX);
+	}
+
+	private File[] listDiskFiles() {
+		File[] files = diskDirectory.listFiles((dir, name) -> name.endsWith(DISK_FILE_SUFFIX));
+		return files == null ? new File[0] : files;
+	}
+
+	private void deleteDiskFile(File file) {
+		long length = file.length();
+		if (file.delete()) {
+			diskBytes.addAndGet(-length);
+		}
+	}
+
+	static String readFromDisk(File file) throws IOException {
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(file.toPath()))) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Write the markdown to a temporary file that is then moved into place, so a
+	 * reader never sees a partial file.
+	 *
+	 * @param file
+	 * @param markdown
+	 * @throws IOException
+	 */
+	static void writeToDisk(File file, String markdown) throws IOException {
+		Path temp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+		try {
+			try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+				out.write(markdown.getBytes(StandardCharsets.UTF_8));
+			}
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Delete the least recently used files until the disk directory is within
+	 * {@link #TRIM_TARGET_RATIO} of its limit. Only one thread trims at a time, a
+	 * caller that finds a trim in progress returns without waiting for it.
+	 * <p>
+	 * The tracked number of bytes is corrected to the listed size of the
+	 * directory, which also accounts for files changed by other instances.
+	 *
+	 * @throws IOException
+	 */
+	void trimDisk() throws IOException {
+		if (!trimming.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			long trackedBytes = diskBytes.get();
+			List<File> files;
+			try (Stream<Path> stream = Files.list(diskDirectory.toPath())) {
+				files = stream.map(Path::toFile).filter(f -> f.getName().endsWith(DISK_FILE_SUFFIX))
+						.collect(Collectors.toCollection(ArrayList::new));
+			}
+			long totalBytes = files.stream().mapToLong(File::length).sum();
+			long targetBytes = (long) (maximumDiskBytes * TRIM_TARGET_RATIO);
+			if (totalBytes > maximumDiskBytes) {
+				files.sort(Comparator.comparingLong(File::lastModified));
+				for (File file : files) {
+					if (totalBytes <= targetBytes) {
+						break;
+					}
+					long length = file.length();
+					if (file.delete()) {
+						totalBytes -= length;
+					}
+				}
+			}
+			// files written since the listing remain counted.
+			diskBytes.addAndGet(totalBytes - trackedBytes);
+		} finally {
+			trimming.set(false);
+		}
+	}
+
+	/**
+	 * The tracked number of bytes in the disk directory.
+	 *
+	 * @return
+	 */
+	long getDiskBytes() {
+		return diskBytes.get();
+	}
+
+	/**
+	 * Statistics of the in-memory cache. A miss in memory can still be a hit on
+	 * disk, see {@link #getDiskHitCount()}.
+	 *
+	 * @return
+	 */
+	public CacheStats getStats() {
+		return memoryCache.stats();
+	}
+
+	/**
+	 * The number of memory misses that were served from the disk tier.
+	 *
+	 * @return
+	 */
+	public long getDiskHitCount() {
+		return diskHitCount.get();
+	}
+
+	/**
+	 * The number of times the markdown was loaded from its source.
+	 *
+	 * @return
+	 */
+	public long getSourceLoadCount() {
+		return sourceLoadCount.get();
+	}
+
+	/**
+	 * The approximate number of markdown values held in memory.
+	 *
+	 * @return
+	 */
+	public long size() {
+		return memoryCache.size();
+	}
+
+	/**
+	 * Clear both the memory and the disk tier.
+	 */
+	public void clear() {
+		memoryCache.invalidateAll();
+		if (diskDirectory != null) {
+			for (File file : listDiskFiles()) {
+				deleteDiskFile(file);
+			}
+		}
+	}
+}
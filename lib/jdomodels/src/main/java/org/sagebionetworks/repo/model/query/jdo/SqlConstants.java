@@ -246,6 +246,19 @@ public class SqlConstants {
 	public static final String COL_SUBJECT_ACCESS_REQUIREMENT_BINDING_TYPE		= "BINDING_TYPE";
 	public static final String DDL_FILE_SUBJECT_ACCESS_REQUIREMENT			= "schema/SubjectAccessRequirement-ddl.sql";
 
+	// The ENTITY_EFFECTIVE_AR table (the closure of the access requirements inherited by each entity)
+	public static final String TABLE_ENTITY_EFFECTIVE_AR						= "ENTITY_EFFECTIVE_AR";
+	public static final String COL_ENTITY_EFFECTIVE_AR_ENTITY_ID				= "ENTITY_ID";
+	public static final String COL_ENTITY_EFFECTIVE_AR_REQUIREMENT_ID			= "REQUIREMENT_ID";
+	public static final String DDL_FILE_ENTITY_EFFECTIVE_AR					= "schema/EntityEffectiveAccessRequirement-ddl.sql";
+
+	// The ENTITY_EFFECTIVE_AR_CHANGE table (sub-trees with a pending ENTITY_EFFECTIVE_AR rebuild)
+	public static final String TABLE_ENTITY_EFFECTIVE_AR_CHANGE				= "ENTITY_EFFECTIVE_AR_CHANGE";
+	public static final String COL_ENTITY_EFFECTIVE_AR_CHANGE_ID				= "ID";
+	public static final String COL_ENTITY_EFFECTIVE_AR_CHANGE_ROOT_ID			= "ROOT_ID";
+	public static final String COL_ENTITY_EFFECTIVE_AR_CHANGE_CHANGED_ON		= "CHANGED_ON";
+	public static final String DDL_FILE_ENTITY_EFFECTIVE_AR_CHANGE			= "schema/EntityEffectiveAccessRequirementChange-ddl.sql";
+
 	
 	// The ACCESS_APPROVAL table
 	public static final String TABLE_ACCESS_APPROVAL						= "ACCESS_APPROVAL";
@@ -561,6 +574,9 @@ public class SqlConstants {
 	public static final String COL_TABLE_ROW_TRX_ID			= "TRX_ID";
 	public static final String COL_TABLE_ROW_HAS_FILE_REFS	= "HAS_FILE_REFS";
 	public static final String COL_TABLE_ROW_SEARCH_ENABLED	= "SEARCH_ENABLED";
+	public static final String COL_TABLE_ROW_IDS			= "ROW_IDS";
+	public static final String COL_TABLE_ROW_CHANGE_SET_FORMAT	= "CHANGE_SET_FORMAT";
+	public static final String COL_TABLE_ROW_FILE_HANDLE_IDS	= "FILE_HANDLE_IDS";
 	public static final String DDL_TABLE_ROW_CHANGE = "schema/TableRowChange-ddl.sql";
 	
 	// Tracks view scope.
@@ -743,6 +759,16 @@ public class SqlConstants {
 	public static final String COL_DOWNLOAD_LIST_ITEM_V2_ADDED_ON		= "ADDED_ON";
 	public static final String DDL_DOWNLOAD_LIST_ITEM_V2				= "schema/DownloadListItem-V2-ddl.sql";
 	
+	// Download list availability
+	public static final String TABLE_DOWNLOAD_LIST_AVAILABILITY_V2					= "DOWNLOAD_LIST_AVAILABILITY_V2";
+	public static final String COL_DOWNLOAD_LIST_AVAILABILITY_V2_PRINCIPAL_ID		= "PRINCIPAL_ID";
+	public static final String COL_DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID			= "ENTITY_ID";
+	public static final String COL_DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID		= "BENEFACTOR_ID";
+	public static final String COL_DOWNLOAD_LIST_AVAILABILITY_V2_CAN_DOWNLOAD		= "CAN_DOWNLOAD";
+	public static final String COL_DOWNLOAD_LIST_AVAILABILITY_V2_CHECKED_ON		= "CHECKED_ON";
+	public static final String COL_DOWNLOAD_LIST_AVAILABILITY_V2_INVALIDATED_ON	= "INVALIDATED_ON";
+	public static final String DDL_DOWNLOAD_LIST_AVAILABILITY_V2					= "schema/DownloadListAvailability-V2-ddl.sql";
+	
 	// Data type
 	public static final String TABLE_DATA_TYPE				= "DATA_TYPE";
 	public static final String COL_DATA_TYPE_ID 			= "ID";
@@ -1157,6 +1183,14 @@ public class SqlConstants {
 	public static final String COL_STATISTICS_MONTHLY_STATUS_ERROR_MESSAGE	=			"ERROR_MESSAGE";
 	public static final String COL_STATISTICS_MONTHLY_STATUS_ERROR_DETAILS = 			"ERROR_DETAILS";
 	
+	// Completion of each processor of the monthly statistics
+	public static final String TABLE_STATISTICS_MONTHLY_PROCESSOR_STATUS =				"STATISTICS_MONTHLY_PROCESSOR_STATUS";
+	public static final String DDL_STATISTICS_MONTHLY_PROCESSOR_STATUS =				"schema/statistics/StatisticsMonthlyProcessorStatus-ddl.sql";
+	public static final String COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_OBJECT_TYPE =	"OBJECT_TYPE";
+	public static final String COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_MONTH =			"MONTH";
+	public static final String COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_PROCESSOR =		"PROCESSOR";
+	public static final String COL_STATISTICS_MONTHLY_PROCESSOR_STATUS_COMPLETED_ON =	"COMPLETED_ON";
+	
 	// Status table for monthly statistics
 	public static final String TABLE_STATISTICS_MONTHLY_PROJECT_FILES =					"STATISTICS_MONTHLY_PROJECT_FILES";
 	public static final String DDL_STATISTICS_MONTHLY_PROJECT_FILES =					"schema/statistics/StatisticsMonthlyProjectFiles-ddl.sql";
@@ -2,7 +2,7 @@ CREATE TABLE IF NOT EXISTS `ASYNCH_JOB_STATUS` (
   `JOB_ID` BIGINT NOT NULL,
   `ETAG` VARCHAR(256) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL,
   `JOB_STATE` ENUM('PROCESSING','FAILED','COMPLETE') NOT NULL,
-  `JOB_TYPE` ENUM('TABLE_UPDATE_TRANSACTION','UPLOAD_CSV_TO_TABLE_PREVIEW','DOWNLOAD_CSV_FROM_TABLE','QUERY','QUERY_NEXT_PAGE','BULK_FILE_DOWNLOAD','MIGRATION','DOI','ADD_FILES_TO_DOWNLOAD_LIST','STORAGE_REPORT','JSON_SCHEMA_CREATE','VIEW_COLUMN_MODEL_REQUEST','GET_VALIDATION_SCHEMA','QUERY_DOWNLOAD_LIST', 'ADD_TO_DOWNLOAD_LIST', 'DOWNLOAD_LIST_PACKAGE', 'DOWNLOAD_LIST_MANIFEST', 'FILE_HANDLE_ARCHIVAL_REQUEST', 'FILE_HANDLE_RESTORE_REQUEST') NOT NULL,
+  `JOB_TYPE` ENUM('TABLE_UPDATE_TRANSACTION','UPLOAD_CSV_TO_TABLE_PREVIEW','DOWNLOAD_CSV_FROM_TABLE','QUERY','QUERY_NEXT_PAGE','BULK_FILE_DOWNLOAD','MIGRATION','DOI','ADD_FILES_TO_DOWNLOAD_LIST','STORAGE_REPORT','JSON_SCHEMA_CREATE','VIEW_COLUMN_MODEL_REQUEST','GET_VALIDATION_SCHEMA','QUERY_DOWNLOAD_LIST', 'ADD_TO_DOWNLOAD_LIST', 'DOWNLOAD_LIST_PACKAGE', 'DOWNLOAD_LIST_MANIFEST', 'FILE_HANDLE_ARCHIVAL_REQUEST', 'FILE_HANDLE_RESTORE_REQUEST', 'TRASH_PURGE_REQUEST') NOT NULL,
   `CANCELING` BIT(1) NOT NULL,
   `EXCEPTION` VARCHAR(512) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci DEFAULT NULL,
   `ERROR_MESSAGE` VARCHAR(3000) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci DEFAULT NULL,
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS `DOWNLOAD_LIST_AVAILABILITY_V2` (
+  `PRINCIPAL_ID` BIGINT NOT NULL,
+  `ENTITY_ID` BIGINT NOT NULL,
+  `BENEFACTOR_ID` BIGINT DEFAULT NULL,
+  `CAN_DOWNLOAD` BOOLEAN NOT NULL,
+  `CHECKED_ON` TIMESTAMP(3) NOT NULL,
+  `INVALIDATED_ON` TIMESTAMP(3) DEFAULT NULL,
+  PRIMARY KEY (`PRINCIPAL_ID`, `ENTITY_ID`),
+  INDEX `DOWNLOAD_LIST_AVAILABILITY_V2_ENTITY_ID_INDEX` (`ENTITY_ID`),
+  INDEX `DOWNLOAD_LIST_AVAILABILITY_V2_BENEFACTOR_ID_INDEX` (`BENEFACTOR_ID`),
+  CONSTRAINT FOREIGN KEY (`PRINCIPAL_ID`) REFERENCES `DOWNLOAD_LIST_V2` (`PRINCIPAL_ID`) ON DELETE CASCADE
+)
\ No newline at end of file
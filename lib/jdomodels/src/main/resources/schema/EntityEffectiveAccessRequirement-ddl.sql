@@ -0,0 +1,10 @@
+# The access requirements that apply to each entity, including the requirements inherited from its ancestors.
+# This table is derived from NODE and NODE_ACCESS_REQUIREMENT and is not migrated.
+CREATE TABLE IF NOT EXISTS `ENTITY_EFFECTIVE_AR` (
+	`ENTITY_ID` BIGINT NOT NULL,
+	`REQUIREMENT_ID` BIGINT NOT NULL,
+	PRIMARY KEY (`ENTITY_ID`, `REQUIREMENT_ID`),
+	INDEX (`REQUIREMENT_ID`),
+	CONSTRAINT `ENTITY_EFFECTIVE_AR_ENTITY_ID_FK` FOREIGN KEY (`ENTITY_ID`) REFERENCES `NODE` (`ID`) ON DELETE CASCADE,
+	CONSTRAINT `ENTITY_EFFECTIVE_AR_REQUIREMENT_ID_FK` FOREIGN KEY (`REQUIREMENT_ID`) REFERENCES `ACCESS_REQUIREMENT` (`ID`) ON DELETE CASCADE
+)
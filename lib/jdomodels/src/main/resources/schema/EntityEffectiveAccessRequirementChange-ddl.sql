@@ -0,0 +1,8 @@
+# Each row is a sub-tree of entities whose ENTITY_EFFECTIVE_AR rows must be rebuilt.
+CREATE TABLE IF NOT EXISTS `ENTITY_EFFECTIVE_AR_CHANGE` (
+	`ID` BIGINT NOT NULL AUTO_INCREMENT,
+	`ROOT_ID` BIGINT NOT NULL,
+	`CHANGED_ON` TIMESTAMP(3) NOT NULL,
+	PRIMARY KEY (`ID`),
+	INDEX (`ROOT_ID`)
+)
@@ -0,0 +1,8 @@
+CREATE TABLE `STATISTICS_MONTHLY_PROCESSOR_STATUS` (
+  `OBJECT_TYPE` enum('PROJECT') NOT NULL,
+  `MONTH` DATE NOT NULL,
+  `PROCESSOR` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL,
+  `COMPLETED_ON` BIGINT NOT NULL,
+  PRIMARY KEY (`OBJECT_TYPE`, `MONTH`, `PROCESSOR`),
+  CONSTRAINT `STATISTICS_MONTHLY_PROCESSOR_STATUS_FK` FOREIGN KEY (`OBJECT_TYPE`, `MONTH`) REFERENCES `STATISTICS_MONTHLY_STATUS` (`OBJECT_TYPE`, `MONTH`) ON DELETE CASCADE
+);
\ No newline at end of file
@@ -0,0 +1,11 @@
+/**
+ * Deletes the effective access requirements of each entity in the sub-tree rooted at :rootId.
+ */
+WITH RECURSIVE SUBTREE (ID, DISTANCE) AS (
+	SELECT N.ID, 1 FROM NODE N WHERE N.ID = :rootId
+	UNION ALL
+	SELECT N.ID, S.DISTANCE + 1 FROM NODE N
+		JOIN SUBTREE S ON (N.PARENT_ID = S.ID)
+			WHERE S.DISTANCE < :depth
+)
+DELETE E FROM ENTITY_EFFECTIVE_AR E JOIN SUBTREE S ON (E.ENTITY_ID = S.ID)
@@ -1,24 +1,42 @@
 /**
  * The first table EI, defines the entity information for a given batch of entity IDs.
- * The second table EAR gathers all of the access restrictions for each entity based on the entity's hierarchy.
- * The third table APS gathers the access approval state for the user for each access restriction on each entity.
+ * The table STALE gathers the entities of the batch with a pending ENTITY_EFFECTIVE_AR_CHANGE on the entity
+ * itself or on one of its ancestors. The ancestors are only walked when there is any pending change.
+ * The table EAR gathers all of the access restrictions for each entity, from the ENTITY_EFFECTIVE_AR closure
+ * for the current entities and from the entity's hierarchy (HIER) for the stale entities.
+ * The table APS gathers the access approval state for the user for each access restriction on each entity.
  * Finally all of the information is gathered into a single row for each access restriction on each entity.
+ * Since this is a single statement, the pending changes, the closure and the hierarchy are read from the same snapshot.
  */
-WITH 
+WITH RECURSIVE
 	EI AS (
 		SELECT N.ID AS ENTITY_ID, N.PARENT_ID, N.NODE_TYPE, N.CREATED_BY FROM NODE N WHERE N.ID IN(:entityIds)
 	),
+	ANC (ENTITY_ID, ANCESTOR_ID, DISTANCE) AS (
+		SELECT EI.ENTITY_ID, EI.ENTITY_ID, 1 FROM EI WHERE EXISTS (SELECT * FROM ENTITY_EFFECTIVE_AR_CHANGE)
+		UNION ALL
+		SELECT ANC.ENTITY_ID, N.PARENT_ID, ANC.DISTANCE + 1 FROM NODE AS N
+			JOIN ANC ON (N.ID = ANC.ANCESTOR_ID)
+				WHERE N.PARENT_ID IS NOT NULL AND DISTANCE < :depth
+	),
+	STALE AS (
+		SELECT DISTINCT ANC.ENTITY_ID FROM ANC JOIN ENTITY_EFFECTIVE_AR_CHANGE C ON (ANC.ANCESTOR_ID = C.ROOT_ID)
+	),
+	HIER (ENTITY_ID, PARENT_ID, REQUIREMENT_ID, DISTANCE) AS (
+		SELECT EI.ENTITY_ID, EI.PARENT_ID, NAR.REQUIREMENT_ID, 1 FROM EI
+			JOIN STALE ON (EI.ENTITY_ID = STALE.ENTITY_ID)
+			LEFT JOIN NODE_ACCESS_REQUIREMENT NAR ON (EI.ENTITY_ID = NAR.SUBJECT_ID AND NAR.SUBJECT_TYPE = 'ENTITY')
+		UNION ALL 
+		SELECT HIER.ENTITY_ID, N.PARENT_ID, NAR.REQUIREMENT_ID, HIER.DISTANCE+ 1 FROM NODE AS N
+			 JOIN HIER ON (N.ID = HIER.PARENT_ID)
+			 LEFT JOIN NODE_ACCESS_REQUIREMENT NAR ON (N.ID = NAR.SUBJECT_ID AND NAR.SUBJECT_TYPE = 'ENTITY')
+			 	 WHERE N.ID IS NOT NULL AND DISTANCE < :depth
+	),
 	EAR AS (
-		WITH RECURSIVE EAR (ENTITY_ID, PARENT_ID, REQUIREMENT_ID, DISTANCE) AS (
-			SELECT EI.ENTITY_ID, EI.PARENT_ID, NAR.REQUIREMENT_ID, 1 FROM EI 
-				LEFT JOIN NODE_ACCESS_REQUIREMENT NAR ON (EI.ENTITY_ID = NAR.SUBJECT_ID AND NAR.SUBJECT_TYPE = 'ENTITY')
-			UNION ALL 
-			SELECT EAR.ENTITY_ID, N.PARENT_ID, NAR.REQUIREMENT_ID, EAR.DISTANCE+ 1 FROM NODE AS N
-				 JOIN EAR ON (N.ID = EAR.PARENT_ID)
-				 LEFT JOIN NODE_ACCESS_REQUIREMENT NAR ON (N.ID = NAR.SUBJECT_ID AND NAR.SUBJECT_TYPE = 'ENTITY')
-				 	 WHERE N.ID IS NOT NULL AND DISTANCE < :depth
-		)
-		SELECT distinct ENTITY_ID, REQUIREMENT_ID FROM EAR WHERE REQUIREMENT_ID IS NOT NULL
+		SELECT E.ENTITY_ID, E.REQUIREMENT_ID FROM EI JOIN ENTITY_EFFECTIVE_AR E ON (EI.ENTITY_ID = E.ENTITY_ID)
+			WHERE EI.ENTITY_ID NOT IN (SELECT ENTITY_ID FROM STALE)
+		UNION
+		SELECT ENTITY_ID, REQUIREMENT_ID FROM HIER WHERE REQUIREMENT_ID IS NOT NULL
 	), 
 	APS AS ( 
 		SELECT EAR.*, if(AA.STATE = 'APPROVED', TRUE, FALSE) AS APPROVED FROM EAR
@@ -0,0 +1,32 @@
+/**
+ * Inserts the effective access requirements of each entity in the sub-tree rooted at :rootId.
+ * ANCESTOR is the root and each of its ancestors, so the root starts with the requirements bound to any of them.
+ * SUBTREE then walks down the hierarchy, passing the requirements of each entity to its children and adding
+ * the requirements bound directly to each child. Every entity also gets a row with a NULL requirement so the
+ * walk continues below entities without any requirements.
+ */
+INSERT IGNORE INTO ENTITY_EFFECTIVE_AR (ENTITY_ID, REQUIREMENT_ID)
+WITH RECURSIVE
+	ANCESTOR (ID, PARENT_ID, DISTANCE) AS (
+		SELECT N.ID, N.PARENT_ID, 1 FROM NODE N WHERE N.ID = :rootId
+		UNION ALL
+		SELECT N.ID, N.PARENT_ID, A.DISTANCE + 1 FROM NODE N
+			JOIN ANCESTOR A ON (N.ID = A.PARENT_ID)
+				WHERE A.DISTANCE < :depth
+	),
+	SUBTREE (ENTITY_ID, REQUIREMENT_ID, DISTANCE) AS (
+		SELECT A.ID, CAST(NULL AS SIGNED), 1 FROM ANCESTOR A WHERE A.DISTANCE = 1
+		UNION DISTINCT
+		SELECT CAST(:rootId AS SIGNED), NAR.REQUIREMENT_ID, 1 FROM ANCESTOR A
+			JOIN NODE_ACCESS_REQUIREMENT NAR ON (A.ID = NAR.SUBJECT_ID AND NAR.SUBJECT_TYPE = 'ENTITY')
+		UNION DISTINCT
+		SELECT N.ID, S.REQUIREMENT_ID, S.DISTANCE + 1 FROM SUBTREE S
+			JOIN NODE N ON (N.PARENT_ID = S.ENTITY_ID)
+				WHERE S.DISTANCE < :depth
+		UNION DISTINCT
+		SELECT N.ID, NAR.REQUIREMENT_ID, S.DISTANCE + 1 FROM SUBTREE S
+			JOIN NODE N ON (N.PARENT_ID = S.ENTITY_ID)
+			JOIN NODE_ACCESS_REQUIREMENT NAR ON (N.ID = NAR.SUBJECT_ID AND NAR.SUBJECT_TYPE = 'ENTITY')
+				WHERE S.REQUIREMENT_ID IS NULL AND S.DISTANCE < :depth
+	)
+SELECT ENTITY_ID, REQUIREMENT_ID FROM SUBTREE WHERE REQUIREMENT_ID IS NOT NULL
@@ -86,6 +86,9 @@ public class AccessRestrictionStatusDaoImplTest {
 	@Autowired
 	private GroupMembersDAO groupMembersDAO;
 
+	@Autowired
+	private EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
+
 	Long userOneId;
 	Long userTwoId;
 	Long userThreeId;
@@ -103,6 +106,7 @@ public class AccessRestrictionStatusDaoImplTest {
 	public void before() throws Exception {
 		accessApprovalDAO.clear();
 		accessRequirementDAO.truncateAll();
+		entityEffectiveAccessRequirementDao.truncateAll();
 
 		UserGroup ug = new UserGroup();
 		ug.setIsIndividual(true);
@@ -129,6 +133,7 @@ public class AccessRestrictionStatusDaoImplTest {
 		aclHelper.truncateAll();
 		accessApprovalDAO.clear();
 		accessRequirementDAO.truncateAll();
+		entityEffectiveAccessRequirementDao.truncateAll();
 		if (userOneId != null) {
 			userGroupDAO.delete(userOneId.toString());
 		}
@@ -260,6 +265,68 @@ public class AccessRestrictionStatusDaoImplTest {
 		assertEquals(RestrictionLevel.RESTRICTED_BY_TERMS_OF_USE, result.getMostRestrictiveLevel());
 	}
 
+	@Test
+	public void testGeEntityStatusWithSingleUnmetRestrictionOnProjectFromClosure() {
+		setupNodeHierarchy(userTwoId);
+
+		TermsOfUseAccessRequirement projectToU = termsOfUseHelper.create(t -> {
+			t.setCreatedBy(userThreeId.toString());
+			t.getSubjectIds().get(0).setId(project.getId());
+		});
+		List<Long> subjectIds = KeyFactory.stringToKey(Arrays.asList(file.getId(), fileTwo.getId()));
+		List<UsersRestrictionStatus> fromHierarchy = new ArrayList<>(
+				accessRestrictionStatusDao.getEntityStatusAsMap(subjectIds, userOneId, Set.of(userOneId)).values());
+
+		// process the pending changes so the closure is used.
+		entityEffectiveAccessRequirementDao.rebuildSubtree(KeyFactory.stringToKey(project.getId()));
+		entityEffectiveAccessRequirementDao.getPendingChanges(100).forEach(c -> {
+			entityEffectiveAccessRequirementDao.completeChanges(List.of(c.getId()));
+		});
+		assertTrue(entityEffectiveAccessRequirementDao.isClosureCurrent());
+
+		// call under test
+		List<UsersRestrictionStatus> results = new ArrayList<>(
+				accessRestrictionStatusDao.getEntityStatusAsMap(subjectIds, userOneId, Set.of(userOneId)).values());
+		validateBasicSubjectStatus(subjectIds, results, userOneId);
+		assertEquals(fromHierarchy, results);
+
+		List<UsersRequirementStatus> expected = Arrays
+				.asList(new UsersRequirementStatus().withRequirementId(projectToU.getId())
+						.withRequirementType(AccessRequirementType.TOU).withIsUnmet(true).withIsExemptionEligible(false));
+		assertEquals(expected, results.get(0).getAccessRestrictions());
+		assertEquals(expected, results.get(1).getAccessRestrictions());
+	}
+
+	@Test
+	public void testGeEntityStatusWithPendingChangeOnlyOnAncestorOfOneEntity() {
+		setupNodeHierarchy(userTwoId);
+
+		TermsOfUseAccessRequirement projectToU = termsOfUseHelper.create(t -> {
+			t.setCreatedBy(userThreeId.toString());
+			t.getSubjectIds().get(0).setId(project.getId());
+		});
+		// Drop the pending changes without a rebuild so the closure does not include the requirement.
+		entityEffectiveAccessRequirementDao.getPendingChanges(100).forEach(c -> {
+			entityEffectiveAccessRequirementDao.completeChanges(List.of(c.getId()));
+		});
+		// Only the second file is under the changed folder
+		entityEffectiveAccessRequirementDao.markSubtreeChanged(KeyFactory.stringToKey(folderTwo.getId()));
+		List<Long> subjectIds = KeyFactory.stringToKey(Arrays.asList(file.getId(), fileTwo.getId()));
+
+		// call under test
+		List<UsersRestrictionStatus> results = new ArrayList<>(
+				accessRestrictionStatusDao.getEntityStatusAsMap(subjectIds, userOneId, Set.of(userOneId)).values());
+		validateBasicSubjectStatus(subjectIds, results, userOneId);
+
+		// The first file is read from its closure
+		assertTrue(results.get(0).getAccessRestrictions().isEmpty());
+		// The second file is read from its hierarchy
+		List<UsersRequirementStatus> expected = Arrays
+				.asList(new UsersRequirementStatus().withRequirementId(projectToU.getId())
+						.withRequirementType(AccessRequirementType.TOU).withIsUnmet(true).withIsExemptionEligible(false));
+		assertEquals(expected, results.get(1).getAccessRestrictions());
+	}
+
 	@Test
 	public void testGeEntityStatusWithUnmetRestrictionHierarchy() {
 		setupNodeHierarchy(userTwoId);
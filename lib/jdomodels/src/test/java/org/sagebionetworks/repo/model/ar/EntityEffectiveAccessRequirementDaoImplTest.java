@@ -0,0 +1,294 @@
+package org.sagebionetworks.repo.model.ar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sagebionetworks.repo.model.AccessRequirementDAO;
+import org.sagebionetworks.repo.model.EntityType;
+import org.sagebionetworks.repo.model.Node;
+import org.sagebionetworks.repo.model.NodeConstants;
+import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.TermsOfUseAccessRequirement;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOEntityEffectiveAccessRequirementChange;
+import org.sagebionetworks.repo.model.helper.DaoObjectHelper;
+import org.sagebionetworks.repo.model.jdo.KeyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.google.common.collect.Sets;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = { "classpath:jdomodels-test-context.xml" })
+public class EntityEffectiveAccessRequirementDaoImplTest {
+
+	@Autowired
+	private EntityEffectiveAccessRequirementDao dao;
+
+	@Autowired
+	private AccessRequirementDAO accessRequirementDAO;
+
+	@Autowired
+	private NodeDAO nodeDao;
+
+	@Autowired
+	private DaoObjectHelper<Node> nodeDaoHelper;
+
+	@Autowired
+	private DaoObjectHelper<TermsOfUseAccessRequirement> termsOfUseHelper;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Node project;
+	private Node folder;
+	private Node file;
+	private Node folderTwo;
+	private Long projectId;
+	private Long folderId;
+	private Long fileId;
+	private Long folderTwoId;
+
+	@BeforeEach
+	public void before() {
+		accessRequirementDAO.truncateAll();
+		dao.truncateAll();
+		project = nodeDaoHelper.create(n -> {
+			n.setName("aProject");
+		});
+		folder = nodeDaoHelper.create(n -> {
+			n.setName("aFolder");
+			n.setParentId(project.getId());
+			n.setNodeType(EntityType.folder);
+		});
+		file = nodeDaoHelper.create(n -> {
+			n.setName("aFile");
+			n.setParentId(folder.getId());
+			n.setNodeType(EntityType.file);
+		});
+		folderTwo = nodeDaoHelper.create(n -> {
+			n.setName("folderTwo");
+			n.setParentId(project.getId());
+			n.setNodeType(EntityType.folder);
+		});
+		projectId = KeyFactory.stringToKey(project.getId());
+		folderId = KeyFactory.stringToKey(folder.getId());
+		fileId = KeyFactory.stringToKey(file.getId());
+		folderTwoId = KeyFactory.stringToKey(folderTwo.getId());
+	}
+
+	@AfterEach
+	public void after() {
+		if (project != null) {
+			nodeDao.delete(project.getId());
+		}
+		accessRequirementDAO.truncateAll();
+		dao.truncateAll();
+	}
+
+	Long createToU(String subjectId) {
+		return termsOfUseHelper.create(t -> {
+			t.getSubjectIds().get(0).setId(subjectId);
+		}).getId();
+	}
+
+	Set<Long> getClosure(Long entityId) {
+		return Sets.newHashSet(jdbcTemplate.queryForList(
+				"SELECT REQUIREMENT_ID FROM ENTITY_EFFECTIVE_AR WHERE ENTITY_ID = ?", Long.class, entityId));
+	}
+
+	void completeAllChanges() {
+		dao.completeChanges(dao.getPendingChanges(1000).stream().map(DBOEntityEffectiveAccessRequirementChange::getId)
+				.collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testMarkSubtreeChanged() {
+		assertTrue(dao.isClosureCurrent());
+		// call under test
+		dao.markSubtreeChanged(folderId);
+		assertFalse(dao.isClosureCurrent());
+		List<DBOEntityEffectiveAccessRequirementChange> changes = dao.getPendingChanges(10);
+		assertEquals(1, changes.size());
+		assertEquals(folderId, changes.get(0).getRootId());
+		dao.completeChanges(Collections.singletonList(changes.get(0).getId()));
+		assertTrue(dao.isClosureCurrent());
+	}
+
+	@Test
+	public void testMarkSubtreesChanged() {
+		// call under test
+		dao.markSubtreesChanged(Arrays.asList(folderId, folderTwoId));
+		List<Long> roots = dao.getPendingChanges(10).stream().map(DBOEntityEffectiveAccessRequirementChange::getRootId)
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList(folderId, folderTwoId), roots);
+	}
+
+	@Test
+	public void testMarkSubtreesChangedWithEmptyList() {
+		// call under test
+		dao.markSubtreesChanged(Collections.emptyList());
+		assertTrue(dao.isClosureCurrent());
+	}
+
+	@Test
+	public void testMarkRequirementRangeSubjectsChanged() {
+		Long one = createToU(folder.getId());
+		Long two = createToU(folderTwo.getId());
+		Long three = createToU(file.getId());
+		completeAllChanges();
+		// call under test
+		dao.markRequirementRangeSubjectsChanged(Math.min(one, two), Math.max(one, two));
+		Set<Long> roots = dao.getPendingChanges(10).stream().map(DBOEntityEffectiveAccessRequirementChange::getRootId)
+				.collect(Collectors.toSet());
+		assertEquals(Sets.newHashSet(folderId, folderTwoId), roots);
+		assertTrue(three > Math.max(one, two));
+	}
+
+	@Test
+	public void testCreateAccessRequirementMarksSubjects() {
+		// call under test
+		createToU(folder.getId());
+		List<Long> roots = dao.getPendingChanges(10).stream().map(DBOEntityEffectiveAccessRequirementChange::getRootId)
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList(folderId), roots);
+	}
+
+	@Test
+	public void testRebuildSubtree() {
+		Long projectAr = createToU(project.getId());
+		Long folderAr = createToU(folder.getId());
+		Long fileAr = createToU(file.getId());
+		// call under test
+		dao.rebuildSubtree(projectId);
+		assertEquals(Sets.newHashSet(projectAr), getClosure(projectId));
+		assertEquals(Sets.newHashSet(projectAr, folderAr), getClosure(folderId));
+		assertEquals(Sets.newHashSet(projectAr, folderAr, fileAr), getClosure(fileId));
+		assertEquals(Sets.newHashSet(projectAr), getClosure(folderTwoId));
+		assertTrue(dao.getInconsistentEntityIds(Arrays.asList(projectId, folderId, fileId, folderTwoId)).isEmpty());
+	}
+
+	@Test
+	public void testRebuildSubtreeInheritsFromAncestors() {
+		Long projectAr = createToU(project.getId());
+		Long fileAr = createToU(file.getId());
+		// call under test
+		dao.rebuildSubtree(folderId);
+		assertEquals(Collections.emptySet(), getClosure(projectId));
+		assertEquals(Sets.newHashSet(projectAr), getClosure(folderId));
+		assertEquals(Sets.newHashSet(projectAr, fileAr), getClosure(fileId));
+	}
+
+	@Test
+	public void testRebuildSubtreeRemovesStale() {
+		Long projectAr = createToU(project.getId());
+		dao.rebuildSubtree(projectId);
+		assertEquals(Sets.newHashSet(projectAr), getClosure(fileId));
+		accessRequirementDAO.delete(projectAr.toString());
+		// the foreign key removes the closure rows of a deleted requirement.
+		assertEquals(Collections.emptySet(), getClosure(fileId));
+		Long folderAr = createToU(folder.getId());
+		// call under test
+		dao.rebuildSubtree(projectId);
+		assertEquals(Sets.newHashSet(folderAr), getClosure(fileId));
+		assertEquals(Collections.emptySet(), getClosure(folderTwoId));
+	}
+
+	@Test
+	public void testRebuildEntities() {
+		Long projectAr = createToU(project.getId());
+		Long folderAr = createToU(folder.getId());
+		// call under test
+		dao.rebuildEntities(Arrays.asList(fileId, folderTwoId));
+		assertEquals(Sets.newHashSet(projectAr, folderAr), getClosure(fileId));
+		assertEquals(Sets.newHashSet(projectAr), getClosure(folderTwoId));
+		assertEquals(Collections.emptySet(), getClosure(folderId));
+	}
+
+	@Test
+	public void testCreateNodeInheritsFromParent() {
+		Long projectAr = createToU(project.getId());
+		Long folderAr = createToU(folder.getId());
+		dao.rebuildSubtree(projectId);
+		// call under test
+		Node child = nodeDaoHelper.create(n -> {
+			n.setName("child");
+			n.setParentId(folder.getId());
+			n.setNodeType(EntityType.file);
+		});
+		assertEquals(Sets.newHashSet(projectAr, folderAr), getClosure(KeyFactory.stringToKey(child.getId())));
+	}
+
+	@Test
+	public void testMoveNodeMarksSubtree() {
+		completeAllChanges();
+		Node toMove = nodeDao.getNode(folderTwo.getId());
+		toMove.setParentId(folder.getId());
+		// call under test
+		nodeDao.updateNode(toMove);
+		List<Long> roots = dao.getPendingChanges(10).stream().map(DBOEntityEffectiveAccessRequirementChange::getRootId)
+				.collect(Collectors.toList());
+		assertEquals(Arrays.asList(folderTwoId), roots);
+	}
+
+	@Test
+	public void testUpdateNodeWithoutMove() {
+		completeAllChanges();
+		Node toUpdate = nodeDao.getNode(folderTwo.getId());
+		toUpdate.setName("renamed");
+		// call under test
+		nodeDao.updateNode(toUpdate);
+		assertTrue(dao.isClosureCurrent());
+	}
+
+	@Test
+	public void testGetInconsistentEntityIds() {
+		Long projectAr = createToU(project.getId());
+		dao.rebuildSubtree(projectId);
+		createToU(folder.getId());
+		// call under test
+		Set<Long> inconsistent = dao.getInconsistentEntityIds(Arrays.asList(projectId, folderId, fileId, folderTwoId));
+		assertEquals(Sets.newHashSet(folderId, fileId), inconsistent);
+		assertEquals(Sets.newHashSet(projectAr), getClosure(folderTwoId));
+	}
+
+	@Test
+	public void testGetChildIds() {
+		// call under test
+		assertEquals(Arrays.asList(folderId, folderTwoId), dao.getChildIds(projectId));
+		assertEquals(Collections.emptyList(), dao.getChildIds(fileId));
+	}
+
+	@Test
+	public void testGetEntityIdsAfter() {
+		// call under test
+		List<Long> ids = dao.getEntityIdsAfter(folderId, 2);
+		assertEquals(Arrays.asList(fileId, folderTwoId), ids);
+	}
+
+	@Test
+	public void testBootstrap() {
+		createToU(project.getId());
+		dao.truncateAll();
+		// call under test
+		dao.bootstrap();
+		List<DBOEntityEffectiveAccessRequirementChange> changes = dao.getPendingChanges(10);
+		assertEquals(1, changes.size());
+		assertEquals(NodeConstants.BOOTSTRAP_NODES.ROOT.getId(), changes.get(0).getRootId());
+		// a second bootstrap does nothing while the change is pending.
+		dao.bootstrap();
+		assertEquals(1, dao.getPendingChanges(10).size());
+	}
+}
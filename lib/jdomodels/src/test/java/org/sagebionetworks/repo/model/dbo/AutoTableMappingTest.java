@@ -0,0 +1,135 @@
+package org.sagebionetworks.repo.model.dbo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.model.dbo.DBOAnnotatedExample.ExampleEnum;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+@ExtendWith(MockitoExtension.class)
+public class AutoTableMappingTest {
+
+	@Mock
+	private ResultSet mockResultSet;
+
+	private AutoTableMapping<DBOAnnotatedExample> mapping;
+	private DBOAnnotatedExample example;
+
+	@BeforeEach
+	public void before() {
+		mapping = new AutoTableMapping<>(DBOAnnotatedExample.class, "CUSTOM");
+		example = new DBOAnnotatedExample();
+		example.setId(1L);
+		example.setNumber(2L);
+		example.setNumberOrNull(3L);
+		example.setBlob(new byte[] { 1, 2, 3 });
+		example.setSerialized(List.of("one", "two"));
+		example.setComment("a comment");
+		example.setExampleEnum(ExampleEnum.bbb);
+		example.setName("name");
+		example.setEtag("etag");
+		example.setModifiedBy("someone");
+		example.setModifiedOn(new Date(123456L));
+		example.setParentId(4L);
+		example.setFileHandleId(5L);
+	}
+
+	@Test
+	public void testGetSqlParameterSource() {
+		BeanPropertySqlParameterSource expected = new BeanPropertySqlParameterSource(example);
+		// call under test
+		SqlParameterSource source = mapping.getSqlParameterSource(example);
+
+		assertEquals("bbb", source.getValue("exampleEnum"));
+		assertEquals(Types.VARCHAR, source.getSqlType("exampleEnum"));
+		assertEquals(Long.valueOf(123456L), source.getValue("modifiedOn"));
+		assertEquals(Types.NUMERIC, source.getSqlType("modifiedOn"));
+		assertEquals(Types.BLOB, source.getSqlType("serialized"));
+		for (String name : new String[] { "id", "number", "numberOrNull", "comment", "name", "etag", "modifiedBy", "parentId", "fileHandleId" }) {
+			assertEquals(expected.getValue(name), source.getValue(name), name);
+			assertEquals(expected.getSqlType(name), source.getSqlType(name), name);
+		}
+		assertArrayEquals(example.getBlob(), (byte[]) source.getValue("blob"));
+		assertEquals(expected.getSqlType("blob"), source.getSqlType("blob"));
+	}
+
+	@Test
+	public void testGetSqlParameterSourceWithNullValue() {
+		example.setExampleEnum(null);
+		example.setModifiedOn(null);
+		// call under test
+		SqlParameterSource source = mapping.getSqlParameterSource(example);
+
+		assertEquals(null, source.getValue("exampleEnum"));
+		assertEquals(null, source.getValue("modifiedOn"));
+	}
+
+	@Test
+	public void testMapRow() throws SQLException {
+		byte[] serialized = (byte[]) mapping.getSqlParameterSource(example).getValue("serialized");
+		when(mockResultSet.getLong("ID")).thenReturn(1L);
+		when(mockResultSet.getLong("NUMBER")).thenReturn(2L);
+		when(mockResultSet.getLong("NUMBER_OR_NULL")).thenReturn(3L);
+		when(mockResultSet.getBlob("BLOB_ONE")).thenReturn(new SerialBlob(new byte[] { 1, 2, 3 }));
+		when(mockResultSet.getBlob("SERIALIZED")).thenReturn(new SerialBlob(serialized));
+		when(mockResultSet.getString("COMMENT")).thenReturn("a comment");
+		when(mockResultSet.getString("ENUM")).thenReturn("bbb");
+		when(mockResultSet.getString("NAME")).thenReturn("name");
+		when(mockResultSet.getString("ETAG")).thenReturn("etag");
+		when(mockResultSet.getString("MODIFIED_BY")).thenReturn("someone");
+		when(mockResultSet.getLong("MODIFIED_ON")).thenReturn(123456L);
+		when(mockResultSet.getLong("PARENT_ID")).thenReturn(4L);
+		when(mockResultSet.getLong("FILE_HANDLE")).thenReturn(5L);
+		when(mockResultSet.wasNull()).thenReturn(false);
+
+		// call under test
+		DBOAnnotatedExample result = mapping.mapRow(mockResultSet, 0);
+
+		assertEquals(example, result);
+	}
+
+	@Test
+	public void testMapRowWithNull() throws SQLException {
+		when(mockResultSet.getLong("ID")).thenReturn(1L);
+		when(mockResultSet.getLong("NUMBER")).thenReturn(2L);
+		when(mockResultSet.getLong("NUMBER_OR_NULL")).thenReturn(0L);
+		when(mockResultSet.getLong("MODIFIED_ON")).thenReturn(123456L);
+		when(mockResultSet.getLong("PARENT_ID")).thenReturn(0L);
+		when(mockResultSet.getLong("FILE_HANDLE")).thenReturn(0L);
+		when(mockResultSet.getString("COMMENT")).thenReturn(null);
+		when(mockResultSet.getString("ENUM")).thenReturn(null);
+		when(mockResultSet.getString("NAME")).thenReturn(null);
+		when(mockResultSet.getString("ETAG")).thenReturn(null);
+		when(mockResultSet.getString("MODIFIED_BY")).thenReturn("someone");
+		when(mockResultSet.wasNull()).thenReturn(true);
+
+		// call under test
+		DBOAnnotatedExample result = mapping.mapRow(mockResultSet, 0);
+
+		assertEquals(Long.valueOf(1L), result.getId());
+		assertEquals(Long.valueOf(2L), result.getNumber());
+		assertEquals(null, result.getNumberOrNull());
+		assertEquals(null, result.getBlob());
+		assertEquals(null, result.getSerialized());
+		assertEquals(null, result.getExampleEnum());
+		assertEquals("someone", result.getModifiedBy());
+		assertEquals(new Date(123456L), result.getModifiedOn());
+		assertEquals(null, result.getParentId());
+	}
+
+}
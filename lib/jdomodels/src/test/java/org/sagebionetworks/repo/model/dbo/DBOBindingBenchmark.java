@@ -0,0 +1,161 @@
+package org.sagebionetworks.repo.model.dbo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import javax.sql.rowset.serial.SerialBlob;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sagebionetworks.repo.model.dbo.DBOAnnotatedExample.ExampleEnum;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Measures the per-row cost of binding the parameters of a database object and
+ * of mapping a row back to a database object, comparing the reflective
+ * {@link BeanPropertySqlParameterSource} with the {@link PropertyAccessors}
+ * used by the {@link DBOBasicDao}.
+ *
+ * <pre>
+ * mvn -pl lib/jdomodels test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.sagebionetworks.repo.model.dbo.DBOBindingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DBOBindingBenchmark {
+
+	private AutoTableMapping<DBOAnnotatedExample> mapping;
+	private FieldColumn[] columns;
+	private DBOAnnotatedExample example;
+	private ResultSet resultSet;
+
+	@Setup
+	public void setup() throws SQLException {
+		mapping = new AutoTableMapping<>(DBOAnnotatedExample.class, "CUSTOM");
+		columns = mapping.getFieldColumns();
+		example = new DBOAnnotatedExample();
+		example.setId(1L);
+		example.setNumber(2L);
+		example.setNumberOrNull(3L);
+		example.setBlob(new byte[] { 1, 2, 3 });
+		example.setSerialized(List.of("one", "two"));
+		example.setComment("a comment");
+		example.setExampleEnum(ExampleEnum.bbb);
+		example.setName("name");
+		example.setEtag("etag");
+		example.setModifiedBy("someone");
+		example.setModifiedOn(new Date(123456L));
+		example.setParentId(4L);
+		example.setFileHandleId(5L);
+		resultSet = createResultSet(example);
+	}
+
+	@Benchmark
+	public void beanPropertyParameters(Blackhole blackhole) {
+		bind(new BeanPropertySqlParameterSource(example), blackhole);
+	}
+
+	@Benchmark
+	public void propertyAccessorParameters(Blackhole blackhole) {
+		bind(new PropertyAccessorSqlParameterSource(example), blackhole);
+	}
+
+	@Benchmark
+	public void autoTableMappingParameters(Blackhole blackhole) {
+		bind(mapping.getSqlParameterSource(example), blackhole);
+	}
+
+	@Benchmark
+	public DBOAnnotatedExample mapRow() throws SQLException {
+		return mapping.mapRow(resultSet, 0);
+	}
+
+	/**
+	 * A result set holding a single row with the columns of the given example
+	 * that is positioned on that row.
+	 */
+	private CachedRowSet createResultSet(DBOAnnotatedExample example) throws SQLException {
+		Object[][] columns = {
+			{ "ID", Types.BIGINT, example.getId() },
+			{ "NUMBER", Types.BIGINT, example.getNumber() },
+			{ "NUMBER_OR_NULL", Types.BIGINT, example.getNumberOrNull() },
+			{ "BLOB_ONE", Types.BLOB, new SerialBlob(example.getBlob()) },
+			{ "SERIALIZED", Types.BLOB, new SerialBlob((byte[]) mapping.getSqlParameterSource(example).getValue("serialized")) },
+			{ "COMMENT", Types.VARCHAR, example.getComment() },
+			{ "ENUM", Types.VARCHAR, example.getExampleEnum().name() },
+			{ "NAME", Types.VARCHAR, example.getName() },
+			{ "ETAG", Types.VARCHAR, example.getEtag() },
+			{ "MODIFIED_BY", Types.VARCHAR, example.getModifiedBy() },
+			{ "MODIFIED_ON", Types.BIGINT, example.getModifiedOn().getTime() },
+			{ "PARENT_ID", Types.BIGINT, example.getParentId() },
+			{ "FILE_HANDLE", Types.BIGINT, example.getFileHandleId() }
+		};
+		RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+		metaData.setColumnCount(columns.length);
+		for (int i = 0; i < columns.length; i++) {
+			metaData.setColumnName(i + 1, (String) columns[i][0]);
+			metaData.setColumnType(i + 1, (Integer) columns[i][1]);
+		}
+		CachedRowSet rowSet = RowSetProvider.newFactory().createCachedRowSet();
+		rowSet.setMetaData(metaData);
+		rowSet.moveToInsertRow();
+		for (int i = 0; i < columns.length; i++) {
+			rowSet.updateObject(i + 1, columns[i][2]);
+		}
+		rowSet.insertRow();
+		rowSet.moveToCurrentRow();
+		rowSet.beforeFirst();
+		rowSet.next();
+		return rowSet;
+	}
+
+	/**
+	 * Reads each parameter the way the NamedParameterJdbcTemplate does when it
+	 * binds a row.
+	 */
+	private void bind(SqlParameterSource source, Blackhole blackhole) {
+		for (FieldColumn column : columns) {
+			String name = column.getFieldName();
+			if (source.hasValue(name)) {
+				blackhole.consume(source.getValue(name));
+				blackhole.consume(source.getSqlType(name));
+			}
+		}
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(DBOBindingBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
@@ -0,0 +1,78 @@
+package org.sagebionetworks.repo.model.dbo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Types;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+
+public class PropertyAccessorSqlParameterSourceTest {
+
+	DBOExample example;
+
+	@BeforeEach
+	public void before() {
+		example = new DBOExample();
+		example.setId(123L);
+		example.setNumber(456L);
+		example.setBlob(new byte[] { 1, 2, 3 });
+		example.setComment(null);
+		example.setModifiedBy("someone");
+		example.setModifiedOn(789L);
+	}
+
+	@Test
+	public void testMatchesBeanPropertySqlParameterSource() {
+		BeanPropertySqlParameterSource expected = new BeanPropertySqlParameterSource(example);
+		// call under test
+		PropertyAccessorSqlParameterSource source = new PropertyAccessorSqlParameterSource(example);
+		for (FieldColumn column : example.getTableMapping().getFieldColumns()) {
+			String name = column.getFieldName();
+			assertTrue(source.hasValue(name));
+			assertEquals(expected.getSqlType(name), source.getSqlType(name), name);
+			if (expected.getValue(name) instanceof byte[]) {
+				assertArrayEquals((byte[]) expected.getValue(name), (byte[]) source.getValue(name));
+			} else {
+				assertEquals(expected.getValue(name), source.getValue(name), name);
+			}
+		}
+	}
+
+	@Test
+	public void testHasValueWithUnknownProperty() {
+		PropertyAccessorSqlParameterSource source = new PropertyAccessorSqlParameterSource(example);
+		// call under test
+		assertFalse(source.hasValue("doesNotExist"));
+	}
+
+	@Test
+	public void testGetValueWithUnknownProperty() {
+		PropertyAccessorSqlParameterSource source = new PropertyAccessorSqlParameterSource(example);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			source.getValue("doesNotExist");
+		});
+	}
+
+	@Test
+	public void testGetSqlTypeWithRegisteredType() {
+		PropertyAccessorSqlParameterSource source = new PropertyAccessorSqlParameterSource(example);
+		source.registerSqlType("id", Types.VARCHAR);
+		// call under test
+		assertEquals(Types.VARCHAR, source.getSqlType("id"));
+	}
+
+	@Test
+	public void testForClassIsCached() {
+		// call under test
+		assertSame(PropertyAccessors.forClass(DBOExample.class), PropertyAccessors.forClass(DBOExample.class));
+	}
+
+}
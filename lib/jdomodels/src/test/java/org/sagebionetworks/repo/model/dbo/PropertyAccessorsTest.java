@@ -0,0 +1,142 @@
+package org.sagebionetworks.repo.model.dbo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.reflections.Reflections;
+import org.sagebionetworks.repo.model.dbo.migration.DBOTestUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+
+public class PropertyAccessorsTest {
+
+	@Test
+	public void testSetValue() {
+		DBOExample example = new DBOExample();
+		PropertyAccessors accessors = PropertyAccessors.forClass(DBOExample.class);
+		// call under test
+		accessors.setValue(example, "id", 123L);
+		accessors.setValue(example, "modifiedBy", "someone");
+		assertEquals(Long.valueOf(123L), example.getId());
+		assertEquals("someone", example.getModifiedBy());
+	}
+
+	@Test
+	public void testSetValueWithNull() {
+		DBOExample example = new DBOExample();
+		example.setComment("a comment");
+		PropertyAccessors accessors = PropertyAccessors.forClass(DBOExample.class);
+		// call under test
+		accessors.setValue(example, "comment", null);
+		assertEquals(null, example.getComment());
+	}
+
+	@Test
+	public void testSetValueWithUnknownProperty() {
+		PropertyAccessors accessors = PropertyAccessors.forClass(DBOExample.class);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			accessors.setValue(new DBOExample(), "doesNotExist", 1L);
+		});
+	}
+
+	@Test
+	public void testIsWritable() {
+		PropertyAccessors accessors = PropertyAccessors.forClass(DBOExample.class);
+		// call under test
+		assertTrue(accessors.isWritable("id"));
+		assertFalse(accessors.isWritable("tableMapping"));
+		assertFalse(accessors.isWritable("doesNotExist"));
+	}
+
+	@Test
+	public void testNewInstance() {
+		PropertyAccessors accessors = PropertyAccessors.forClass(DBOExample.class);
+		// call under test
+		Object first = accessors.newInstance();
+		Object second = accessors.newInstance();
+		assertEquals(DBOExample.class, first.getClass());
+		assertNotSame(first, second);
+	}
+
+	@Test
+	public void testNewInstanceWithAbstractClass() {
+		PropertyAccessors accessors = PropertyAccessors.forClass(AbstractTestTableMapping.class);
+		assertThrows(IllegalStateException.class, () -> {
+			// call under test
+			accessors.newInstance();
+		});
+	}
+
+	/**
+	 * The generated accessors of every database object must read, write and type
+	 * each column exactly like the reflective BeanWrapper they replace. Every
+	 * column of every database object must be covered, the test fails with the
+	 * list of database objects and columns that could not be compared.
+	 */
+	@Test
+	public void testMatchesBeanWrapperForAllDatabaseObjects() throws Exception {
+		Set<Class<? extends MigratableDatabaseObject>> types = new Reflections("org.sagebionetworks.repo.model").getSubTypesOf(MigratableDatabaseObject.class);
+		List<String> skipped = new ArrayList<>();
+		int count = 0;
+		for (Class<? extends MigratableDatabaseObject> type : types) {
+			if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+				continue;
+			}
+			DatabaseObject<?> sample;
+			try {
+				sample = DBOTestUtils.createSampleObjectForType(type.getConstructor().newInstance());
+			} catch (IllegalArgumentException e) {
+				skipped.add(type.getName() + " (" + e.getMessage() + ")");
+				continue;
+			}
+			PropertyAccessors accessors = PropertyAccessors.forClass(type);
+			BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(sample);
+			BeanPropertySqlParameterSource expected = new BeanPropertySqlParameterSource(sample);
+			PropertyAccessorSqlParameterSource source = new PropertyAccessorSqlParameterSource(sample);
+			for (FieldColumn column : sample.getTableMapping().getFieldColumns()) {
+				String name = column.getFieldName();
+				String message = type.getName() + "." + name;
+				assertEquals(expected.hasValue(name), source.hasValue(name), message);
+				assertEquals(wrapper.isWritableProperty(name), accessors.isWritable(name), message);
+				if (!expected.hasValue(name)) {
+					skipped.add(message + " (not readable)");
+					continue;
+				}
+				assertEquals(expected.getSqlType(name), source.getSqlType(name), message);
+				assertTrue(Objects.deepEquals(expected.getValue(name), source.getValue(name)), message);
+			}
+			Object copy = accessors.newInstance();
+			for (FieldColumn column : sample.getTableMapping().getFieldColumns()) {
+				if (accessors.isReadable(column.getFieldName()) && accessors.isWritable(column.getFieldName())) {
+					accessors.setValue(copy, column.getFieldName(), accessors.getValue(sample, column.getFieldName()));
+				}
+			}
+			BeanWrapper copyWrapper = PropertyAccessorFactory.forBeanPropertyAccess(copy);
+			for (FieldColumn column : sample.getTableMapping().getFieldColumns()) {
+				String name = column.getFieldName();
+				if (wrapper.isReadableProperty(name) && wrapper.isWritableProperty(name)) {
+					assertTrue(Objects.deepEquals(wrapper.getPropertyValue(name), copyWrapper.getPropertyValue(name)), type.getName() + "." + name);
+				} else {
+					skipped.add(type.getName() + "." + name + " (not copied)");
+				}
+			}
+			count++;
+		}
+		assertTrue(count > 0);
+		assertEquals(Collections.emptyList(), skipped, "Database objects and columns that were not compared");
+	}
+
+}
@@ -28,6 +28,7 @@ import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.asynch.AsynchJobState;
 import org.sagebionetworks.repo.model.asynch.AsynchronousJobStatus;
 import org.sagebionetworks.repo.model.auth.CallersContext;
+import org.sagebionetworks.repo.model.dao.asynch.AsynchJobProgress;
 import org.sagebionetworks.repo.model.dao.asynch.AsynchronousJobStatusDAO;
 import org.sagebionetworks.repo.model.table.TableUpdateTransactionRequest;
 import org.sagebionetworks.repo.model.table.TableUpdateTransactionResponse;
@@ -154,6 +155,37 @@ public class AsynchJobStatusDaoImplTest {
 		assertEquals("Complete", clone.getProgressMessage());
 	}
 
+	@Test
+	public void testUpdateProgressBatch() throws DatastoreException, NotFoundException {
+		AsynchronousJobStatus one = asynchJobStatusDao.startJob(userInfo, body);
+		AsynchronousJobStatus two = asynchJobStatusDao.startJob(userInfo, body);
+		AsynchronousJobStatus complete = asynchJobStatusDao.startJob(userInfo, body);
+		asynchJobStatusDao.setComplete(complete.getJobId(), response, null);
+		long changedOn = System.currentTimeMillis();
+		List<AsynchJobProgress> batch = Arrays.asList(
+				new AsynchJobProgress(two.getJobId(), 2L, 20L, "two", changedOn),
+				new AsynchJobProgress(one.getJobId(), 1L, 10L, "one", changedOn),
+				new AsynchJobProgress(complete.getJobId(), 3L, 30L, "three", changedOn));
+		// call under test
+		asynchJobStatusDao.updateJobProgress(batch);
+		AsynchronousJobStatus clone = asynchJobStatusDao.getJobStatus(one.getJobId());
+		assertEquals("one", clone.getProgressMessage());
+		assertEquals(new Long(1L), clone.getProgressCurrent());
+		assertEquals(new Long(10L), clone.getProgressTotal());
+		clone = asynchJobStatusDao.getJobStatus(two.getJobId());
+		assertEquals("two", clone.getProgressMessage());
+		assertEquals(new Long(2L), clone.getProgressCurrent());
+		// progress of a completed job is not changed.
+		clone = asynchJobStatusDao.getJobStatus(complete.getJobId());
+		assertEquals("Complete", clone.getProgressMessage());
+	}
+	
+	@Test
+	public void testUpdateProgressBatchEmpty() {
+		// call under test
+		asynchJobStatusDao.updateJobProgress(Collections.emptyList());
+	}
+
 	@Test
 	public void testUpdateProgressDuringTransaction() throws Exception {
 		final AtomicReference<String> jobId = new AtomicReference<String>();
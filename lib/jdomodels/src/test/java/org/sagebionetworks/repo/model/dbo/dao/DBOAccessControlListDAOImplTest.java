@@ -517,6 +517,38 @@ public class DBOAccessControlListDAOImplTest {
 		
 	}
 	
+	@Test
+	public void testGetAclChecksum() {
+		Long nodeId = KeyFactory.stringToKey(node.getId());
+		Set<Long> ownerIds = Sets.newHashSet(nodeId, -1L);
+		
+		// call under test
+		String checksum = aclDAO.getAclChecksum(ownerIds, ObjectType.ENTITY);
+		
+		assertNotNull(checksum);
+		assertEquals(checksum, aclDAO.getAclChecksum(ownerIds, ObjectType.ENTITY));
+		// ACLs of other types are not included
+		assertEquals("0%0", aclDAO.getAclChecksum(ownerIds, ObjectType.EVALUATION));
+		
+		// An update to the ACL changes the checksum
+		AccessControlList acl = aclDAO.get(node.getId(), ObjectType.ENTITY);
+		aclDAO.update(acl, ObjectType.ENTITY);
+		
+		String updatedChecksum = aclDAO.getAclChecksum(ownerIds, ObjectType.ENTITY);
+		assertFalse(checksum.equals(updatedChecksum));
+		
+		// As does the deletion of the ACL
+		aclDAO.delete(node.getId(), ObjectType.ENTITY);
+		
+		assertEquals("0%0", aclDAO.getAclChecksum(ownerIds, ObjectType.ENTITY));
+	}
+	
+	@Test
+	public void testGetAclChecksumWithEmptyOwnerIds() {
+		// call under test
+		assertEquals("0%0", aclDAO.getAclChecksum(Collections.emptySet(), ObjectType.ENTITY));
+	}
+	
 	@Test
 	public void testDeleteList(){
 		//setup
@@ -127,6 +127,7 @@ import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
@@ -1450,6 +1451,77 @@ public class NodeDAOImplTest {
 		
 	}
 	
+	@Test
+	public void testDeleteTreeBatch() {
+		int depth = 5;
+		
+		List<String> nodeIds = createNestedNodes(depth);
+		String rootId = nodeIds.get(0);
+		// put the root in the trash
+		Node root = nodeDao.getNode(rootId);
+		root.setParentId(TRASH_FOLDER_ID.toString());
+		nodeDao.updateNode(root);
+		
+		// Call under test
+		List<Long> deleted = nodeDao.deleteTreeBatch(rootId, 2);
+		
+		// The two deepest nodes are deleted first
+		assertEquals(Arrays.asList(KeyFactory.stringToKey(nodeIds.get(4)), KeyFactory.stringToKey(nodeIds.get(3))), deleted);
+		assertTrue(nodeDao.doesNodeExist(KeyFactory.stringToKey(nodeIds.get(2))));
+		
+		// Call under test
+		deleted = nodeDao.deleteTreeBatch(rootId, 2);
+		
+		assertEquals(Arrays.asList(KeyFactory.stringToKey(nodeIds.get(2)), KeyFactory.stringToKey(nodeIds.get(1))), deleted);
+		assertTrue(nodeDao.doesNodeExist(KeyFactory.stringToKey(rootId)));
+		
+		// Call under test
+		deleted = nodeDao.deleteTreeBatch(rootId, 2);
+		
+		// Only the root is left
+		assertEquals(Arrays.asList(KeyFactory.stringToKey(rootId)), deleted);
+		
+		for (String nodeId : nodeIds) {
+			assertFalse(nodeDao.doesNodeExist(KeyFactory.stringToKey(nodeId)));
+		}
+	}
+	
+	@Test
+	public void testDeleteTreeBatchWithRootNotInTrash() {
+		List<String> nodeIds = createNestedNodes(2);
+		String rootId = nodeIds.get(0);
+		
+		String message = assertThrows(NotFoundException.class, () -> {
+			// Call under test
+			nodeDao.deleteTreeBatch(rootId, 2);
+		}).getMessage();
+		
+		assertEquals("The node " + rootId + " is not in the trash can.", message);
+		
+		for (String nodeId : nodeIds) {
+			assertTrue(nodeDao.doesNodeExist(KeyFactory.stringToKey(nodeId)));
+		}
+	}
+	
+	@Test
+	public void testGetSubTreeNodeCount() {
+		List<String> nodeIds = createNestedNodes(3);
+		
+		// Call under test
+		assertEquals(2L, nodeDao.getSubTreeNodeCount(KeyFactory.stringToKey(nodeIds.get(0))));
+		assertEquals(0L, nodeDao.getSubTreeNodeCount(KeyFactory.stringToKey(nodeIds.get(2))));
+	}
+	
+	@Test
+	public void testDeleteTreeBatchWithInvalidBatchSize() {
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// Call under test
+			nodeDao.deleteTreeBatch("syn123", 0);
+		}).getMessage();
+		
+		assertEquals("The batchSize must be greater than 0", message);
+	}
+	
 	private String addFile(String parentId) {
 		Node file = NodeTestUtils.createNew("file_" + UUID.randomUUID().toString(), creatorUserGroupId);
 		
@@ -2662,6 +2734,29 @@ public class NodeDAOImplTest {
 	}
 	
 
+	@Test
+	public void testGetContainerIdsPage() throws Exception {
+		// Generate some hierarchy
+		List<Node> hierarchy = createHierarchy();
+		Long projectId = KeyFactory.stringToKey(hierarchy.get(0).getId());
+		Long folder1Id = KeyFactory.stringToKey(hierarchy.get(2).getId());
+		Long folder2Id = KeyFactory.stringToKey(hierarchy.get(4).getId());
+		String projectIdString = hierarchy.get(0).getId();
+		
+		// folder0Id is empty and should be excluded.
+		List<Long> expected = Lists.newArrayList(projectId, folder1Id, folder2Id);
+		Collections.sort(expected);
+		
+		// Call under test
+		assertEquals(expected, nodeDao.getContainerIdsPage(projectIdString, -1L, 10L));
+		// Call under test
+		assertEquals(expected.subList(0, 2), nodeDao.getContainerIdsPage(projectIdString, -1L, 2L));
+		// Call under test
+		assertEquals(expected.subList(2, 3), nodeDao.getContainerIdsPage(projectIdString, expected.get(1), 2L));
+		// Call under test
+		assertEquals(Collections.emptyList(), nodeDao.getContainerIdsPage(projectIdString, expected.get(2), 2L));
+	}
+	
 	/**
 	 * Exceed the limit with one page of children.
 	 * 
@@ -4138,6 +4233,67 @@ public class NodeDAOImplTest {
 		assertFalse(availableIds.contains(doesNotExist));
 	}
 	
+	@Test
+	public void testGetNodes(){
+		Node one = nodeDao.createNewNode(NodeTestUtils.createNew("one", creatorUserGroupId));
+		toDelete.add(one.getId());
+		Node two = nodeDao.createNewNode(NodeTestUtils.createNew("two", creatorUserGroupId));
+		toDelete.add(two.getId());
+		Long doesNotExist = -1L;
+		
+		List<Long> ids = Lists.newArrayList(KeyFactory.stringToKey(one.getId()), KeyFactory.stringToKey(two.getId()), doesNotExist);
+		// call under test
+		List<Node> nodes = nodeDao.getNodes(ids);
+		assertEquals(2, nodes.size());
+		assertTrue(nodes.contains(nodeDao.getNode(one.getId())));
+		assertTrue(nodes.contains(nodeDao.getNode(two.getId())));
+	}
+	
+	@Test
+	public void testGetNodesEmpty(){
+		// call under test
+		List<Node> nodes = nodeDao.getNodes(Collections.emptyList());
+		assertTrue(nodes.isEmpty());
+	}
+	
+	@Test
+	public void testGetUserAnnotationsForCurrentVersions(){
+		Node one = nodeDao.createNewNode(NodeTestUtils.createNew("one", creatorUserGroupId));
+		toDelete.add(one.getId());
+		Node two = nodeDao.createNewNode(NodeTestUtils.createNew("two", creatorUserGroupId));
+		toDelete.add(two.getId());
+		Annotations annos = nodeDao.getUserAnnotations(one.getId());
+		AnnotationsV2TestUtils.putAnnotations(annos, "stringOne", "one", AnnotationsValueType.STRING);
+		nodeDao.updateUserAnnotations(one.getId(), annos);
+		Long oneId = KeyFactory.stringToKey(one.getId());
+		Long twoId = KeyFactory.stringToKey(two.getId());
+		
+		// call under test
+		Map<Long, Annotations> results = nodeDao.getUserAnnotationsForCurrentVersions(Lists.newArrayList(oneId, twoId, -1L));
+		assertEquals(2, results.size());
+		assertEquals(nodeDao.getUserAnnotationsForVersion(one.getId(), one.getVersionNumber()), results.get(oneId));
+		assertEquals("one", AnnotationsV2Utils.getSingleValue(results.get(oneId), "stringOne"));
+		assertEquals(nodeDao.getUserAnnotationsForVersion(two.getId(), two.getVersionNumber()), results.get(twoId));
+	}
+	
+	@Test
+	public void testGetBenefactors(){
+		Node parent = nodeDao.createNewNode(NodeTestUtils.createNew("parent", creatorUserGroupId));
+		toDelete.add(parent.getId());
+		Node child = NodeTestUtils.createNew("child", creatorUserGroupId);
+		child.setParentId(parent.getId());
+		child = nodeDao.createNewNode(child);
+		toDelete.add(child.getId());
+		AccessControlList acl = AccessControlListUtil.createACLToGrantEntityAdminAccess(parent.getId(), adminUser, new Date());
+		accessControlListDAO.create(acl, ObjectType.ENTITY);
+		Long parentId = KeyFactory.stringToKey(parent.getId());
+		Long childId = KeyFactory.stringToKey(child.getId());
+		
+		// call under test
+		Map<Long, Long> results = nodeDao.getBenefactors(Lists.newArrayList(parentId, childId, -1L));
+		assertEquals(ImmutableMap.of(parentId, parentId, childId, parentId), results);
+	}
+	
 	@Test
 	public void testTouch() throws InterruptedException {
 		Long user1Id = Long.parseLong(user1);
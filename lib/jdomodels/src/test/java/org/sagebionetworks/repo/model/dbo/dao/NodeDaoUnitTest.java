@@ -33,6 +33,7 @@ import org.sagebionetworks.repo.model.Annotations;
 import org.sagebionetworks.repo.model.EntityType;
 import org.sagebionetworks.repo.model.Node;
 import org.sagebionetworks.repo.model.ObjectType;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
 import org.sagebionetworks.repo.model.jdo.KeyFactory;
 import org.sagebionetworks.repo.model.message.ChangeType;
@@ -58,6 +59,9 @@ public class NodeDaoUnitTest {
 
 	@Mock
 	private DBOBasicDao mockDboBasicDao;
+
+	@Mock
+	private EntityEffectiveAccessRequirementDao mockEntityEffectiveAccessRequirementDao;
 	
 	@InjectMocks
 	private NodeDAOImpl nodeDao;
@@ -158,6 +162,16 @@ public class NodeDaoUnitTest {
 		assertEquals(ObjectType.ENTITY, sent.getObjectType());
 		assertEquals(node.getCreatedByPrincipalId(), sent.getUserId());
 		assertEquals(ChangeType.CREATE, sent.getChangeType());
+		verifyZeroInteractions(mockEntityEffectiveAccessRequirementDao);
+	}
+
+	@Test
+	public void testCreateWithParent() {
+		node.setParentId("syn123");
+		// call under test
+		nodeDao.createNewNode(node);
+		// the new node inherits the effective access requirements of its parent.
+		verify(mockEntityEffectiveAccessRequirementDao).addInheritedRequirements(anyLong(), eq(123L));
 	}
 	
 	@Test
@@ -14,6 +14,7 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
@@ -508,6 +509,91 @@ public class DBODiscussionThreadDAOImplTest {
 		assertEquals(2L, threadDao.countThreadView(threadId2));
 	}
 
+	@Test
+	public void testAddThreadViews() {
+		DiscussionThreadBundle dto = threadDao.createThread(forumId, threadId.toString(), "title", "messageKey", userId);
+		Long threadId2 = idGenerator.generateNewId(IdType.DISCUSSION_THREAD_ID);
+		threadDao.createThread(forumId, threadId2.toString(), "title", "messageKey2", userId);
+
+		UserGroup user = new UserGroup();
+		user.setIsIndividual(true);
+		userId2 = userGroupDAO.create(user);
+		// a view recorded before the thread has any stats.
+		threadDao.updateThreadView(threadId, userId);
+
+		// call under test
+		threadDao.addThreadViews(Map.of(threadId, Set.of(userId, userId2), threadId2, Set.of(userId2)));
+
+		assertEquals(2L, threadDao.countThreadView(threadId));
+		assertEquals(1L, threadDao.countThreadView(threadId2));
+		DiscussionThreadBundle updated = threadDao.getThread(threadId, DEFAULT_FILTER);
+		assertEquals((Long) 2L, updated.getNumberOfViews());
+		assertFalse(dto.getEtag().equals(updated.getEtag()));
+		assertEquals((Long) 1L, threadDao.getThread(threadId2, DEFAULT_FILTER).getNumberOfViews());
+
+		// views that already exist are not counted again.
+		threadDao.addThreadViews(Map.of(threadId, Set.of(userId2), threadId2, Set.of(userId)));
+
+		assertEquals((Long) 2L, threadDao.getThread(threadId, DEFAULT_FILTER).getNumberOfViews());
+		assertEquals((Long) 2L, threadDao.getThread(threadId2, DEFAULT_FILTER).getNumberOfViews());
+	}
+
+	@Test
+	public void testAddThreadViewsWithExistingStats() {
+		threadDao.createThread(forumId, threadId.toString(), "title", "messageKey", userId);
+		DiscussionThreadStat stat = new DiscussionThreadStat();
+		stat.setThreadId(threadId);
+		stat.setNumberOfViews(10L);
+		threadDao.updateThreadStats(Arrays.asList(stat));
+
+		// call under test
+		threadDao.addThreadViews(Map.of(threadId, Set.of(userId)));
+
+		assertEquals((Long) 11L, threadDao.getThread(threadId, DEFAULT_FILTER).getNumberOfViews());
+
+		// stats updated without the number of views keep the current number of views.
+		stat.setNumberOfViews(null);
+		stat.setNumberOfReplies(3L);
+		threadDao.updateThreadStats(Arrays.asList(stat));
+
+		DiscussionThreadBundle updated = threadDao.getThread(threadId, DEFAULT_FILTER);
+		assertEquals((Long) 11L, updated.getNumberOfViews());
+		assertEquals((Long) 3L, updated.getNumberOfReplies());
+	}
+
+	@Test
+	public void testAddThreadViewsWithMoreViewsThanOneInsert() {
+		DiscussionThreadBundle dto = threadDao.createThread(forumId, threadId.toString(), "title", "messageKey", userId);
+		DiscussionThreadStat stat = new DiscussionThreadStat();
+		stat.setThreadId(threadId);
+		stat.setNumberOfViews(1L);
+		threadDao.updateThreadStats(Arrays.asList(stat));
+		threadDao.updateThreadView(threadId, userId);
+		int viewCount = DBODiscussionThreadDAOImpl.MAX_VIEWS_PER_INSERT + 10;
+		Set<Long> userIds = new HashSet<>();
+		// includes the existing view.
+		userIds.add(userId);
+		for (long i = 1; userIds.size() < viewCount; i++) {
+			userIds.add(userId + i);
+		}
+
+		// call under test
+		threadDao.addThreadViews(Map.of(threadId, userIds));
+
+		assertEquals(viewCount, threadDao.countThreadView(threadId));
+		DiscussionThreadBundle updated = threadDao.getThread(threadId, DEFAULT_FILTER);
+		assertEquals((Long) (long) viewCount, updated.getNumberOfViews());
+		assertFalse(dto.getEtag().equals(updated.getEtag()));
+	}
+
+	@Test
+	public void testAddThreadViewsWithNonExistingThread() {
+		// call under test
+		threadDao.addThreadViews(Map.of(threadId, Set.of(userId)));
+
+		assertEquals(0L, threadDao.countThreadView(threadId));
+	}
+
 	@Test
 	public void testCountThreadViewForNonExistingThread() {
 		assertEquals(0L, threadDao.countThreadView(threadId));
@@ -531,6 +617,109 @@ public class DBODiscussionThreadDAOImplTest {
 		assertEquals(Arrays.asList(threadId, threadId2), threadDao.getAllThreadId(10L, 0L));
 	}
 
+	/**
+	 * Read all of the pages of threads in the forum by following the position of
+	 * the last thread of each page.
+	 */
+	private List<String> getAllPagesForForum(DiscussionThreadOrder order, boolean ascending, long pageSize) {
+		List<DiscussionThreadBundle> results = new ArrayList<DiscussionThreadBundle>();
+		DiscussionThreadPageToken after = null;
+		while (true) {
+			List<DiscussionThreadBundle> page = threadDao.getThreadPageForForum(forumIdLong, order, ascending,
+					DiscussionFilter.NO_FILTER, after, pageSize);
+			results.addAll(page);
+			if (page.size() < pageSize) {
+				return getIds(results);
+			}
+			after = DiscussionThreadPageToken.after(order, ascending, page.get(page.size() - 1));
+		}
+	}
+
+	private DiscussionThreadBundle createThreadWithTitle(String title) {
+		Long id = idGenerator.generateNewId(IdType.DISCUSSION_THREAD_ID);
+		return threadDao.createThread(forumId, id.toString(), title, UUID.randomUUID().toString(), userId);
+	}
+
+	@Test
+	public void testGetThreadPageForForumByTitle() {
+		DiscussionThreadBundle b1 = createThreadWithTitle("b");
+		DiscussionThreadBundle a = createThreadWithTitle("A");
+		DiscussionThreadBundle b2 = createThreadWithTitle("B");
+		DiscussionThreadBundle c = createThreadWithTitle("c:with:delimiters");
+
+		// call under test
+		assertEquals(getIds(Arrays.asList(a, b1, b2, c)), getAllPagesForForum(DiscussionThreadOrder.THREAD_TITLE, true, 1L));
+		assertEquals(getIds(Arrays.asList(a, b1, b2, c)), getAllPagesForForum(DiscussionThreadOrder.THREAD_TITLE, true, 3L));
+		assertEquals(getIds(Arrays.asList(c, b2, b1, a)), getAllPagesForForum(DiscussionThreadOrder.THREAD_TITLE, false, 1L));
+	}
+
+	@Test
+	public void testGetThreadPageForForumByNumberOfViews() {
+		DiscussionThreadBundle one = createThreadWithTitle("title");
+		DiscussionThreadBundle none = createThreadWithTitle("title");
+		DiscussionThreadBundle two = createThreadWithTitle("title");
+		DiscussionThreadBundle otherOne = createThreadWithTitle("title");
+		List<DiscussionThreadStat> stats = new ArrayList<DiscussionThreadStat>();
+		for (DiscussionThreadBundle bundle : Arrays.asList(one, two, otherOne)) {
+			DiscussionThreadStat stat = new DiscussionThreadStat();
+			stat.setThreadId(Long.parseLong(bundle.getId()));
+			stat.setNumberOfViews(bundle == two ? 2L : 1L);
+			stats.add(stat);
+		}
+		threadDao.updateThreadStats(stats);
+
+		// call under test
+		assertEquals(getIds(Arrays.asList(none, one, otherOne, two)), getAllPagesForForum(DiscussionThreadOrder.NUMBER_OF_VIEWS, true, 1L));
+		assertEquals(getIds(Arrays.asList(two, otherOne, one, none)), getAllPagesForForum(DiscussionThreadOrder.NUMBER_OF_VIEWS, false, 2L));
+	}
+
+	@Test
+	public void testGetThreadPageForForumByPinnedAndLastActivity() {
+		DiscussionThreadBundle first = createThreadWithTitle("title");
+		DiscussionThreadBundle pinned = createThreadWithTitle("title");
+		DiscussionThreadBundle second = createThreadWithTitle("title");
+		DiscussionThreadBundle third = createThreadWithTitle("title");
+		threadDao.pinThread(Long.parseLong(pinned.getId()));
+		Long date1 = new Date(2015-1900, 10, 19, 0, 0, 1).getTime();
+		Long date2 = new Date(2015-1900, 10, 19, 0, 0, 2).getTime();
+		List<DiscussionThreadStat> stats = new ArrayList<DiscussionThreadStat>();
+		for (DiscussionThreadBundle bundle : Arrays.asList(first, pinned, second, third)) {
+			DiscussionThreadStat stat = new DiscussionThreadStat();
+			stat.setThreadId(Long.parseLong(bundle.getId()));
+			stat.setLastActivity(bundle == first ? date1 : date2);
+			stats.add(stat);
+		}
+		threadDao.updateThreadStats(stats);
+
+		// call under test
+		assertEquals(getIds(Arrays.asList(pinned, first, second, third)),
+				getAllPagesForForum(DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, true, 1L));
+		assertEquals(getIds(Arrays.asList(pinned, third, second, first)),
+				getAllPagesForForum(DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, false, 2L));
+	}
+
+	@Test
+	public void testGetThreadPageForForumWithFilter() {
+		DiscussionThreadBundle deleted = createThreadWithTitle("a");
+		DiscussionThreadBundle notDeleted = createThreadWithTitle("b");
+		threadDao.markThreadAsDeleted(Long.parseLong(deleted.getId()));
+
+		// call under test
+		assertEquals(Arrays.asList(notDeleted.getId()), getIds(threadDao.getThreadPageForForum(forumIdLong,
+				DiscussionThreadOrder.THREAD_TITLE, true, DiscussionFilter.EXCLUDE_DELETED, null, MAX_LIMIT)));
+		assertEquals(Arrays.asList(deleted.getId()), getIds(threadDao.getThreadPageForForum(forumIdLong,
+				DiscussionThreadOrder.THREAD_TITLE, true, DiscussionFilter.DELETED_ONLY, null, MAX_LIMIT)));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testGetThreadPageForForumWithTokenForOtherSort() {
+		DiscussionThreadBundle bundle = createThreadWithTitle("title");
+		DiscussionThreadPageToken after = DiscussionThreadPageToken.after(DiscussionThreadOrder.THREAD_TITLE, true, bundle);
+		// call under test
+		threadDao.getThreadPageForForum(forumIdLong, DiscussionThreadOrder.NUMBER_OF_VIEWS, true,
+				DiscussionFilter.NO_FILTER, after, MAX_LIMIT);
+	}
+
 	@Test (expected = IllegalArgumentException.class)
 	public void testGetThreadCountForForumWithNullFilter() {
 		threadDao.getThreadCountForForum(forumIdLong, null);
@@ -887,6 +1076,36 @@ public class DBODiscussionThreadDAOImplTest {
 		assertTrue(result.isEmpty());
 	}
 
+	@Test
+	public void testGetThreadPageForEntity() {
+		Set<Long> projectIds = new HashSet<Long>();
+		projectIds.add(KeyFactory.stringToKey(projectId));
+		DiscussionThreadBundle b = createThreadWithTitle("b");
+		DiscussionThreadBundle a = createThreadWithTitle("a");
+		createThreadWithTitle("not referenced");
+		threadDao.insertEntityReference(Arrays.asList(createEntityRef(a.getId(), projectId), createEntityRef(b.getId(), projectId)));
+		long entityId = KeyFactory.stringToKey(projectId);
+
+		// call under test
+		List<DiscussionThreadBundle> page = threadDao.getThreadPageForEntity(entityId, DiscussionThreadOrder.THREAD_TITLE, true,
+				DEFAULT_FILTER, projectIds, null, 1L);
+		assertEquals(Arrays.asList(a.getId()), getIds(page));
+		DiscussionThreadPageToken after = DiscussionThreadPageToken.after(DiscussionThreadOrder.THREAD_TITLE, true, page.get(0));
+		page = threadDao.getThreadPageForEntity(entityId, DiscussionThreadOrder.THREAD_TITLE, true, DEFAULT_FILTER, projectIds, after, 1L);
+		assertEquals(Arrays.asList(b.getId()), getIds(page));
+		after = DiscussionThreadPageToken.after(DiscussionThreadOrder.THREAD_TITLE, true, page.get(0));
+		page = threadDao.getThreadPageForEntity(entityId, DiscussionThreadOrder.THREAD_TITLE, true, DEFAULT_FILTER, projectIds, after, 1L);
+		assertTrue(page.isEmpty());
+	}
+
+	@Test
+	public void testGetThreadPageForEntityWithEmptyProjectIds() {
+		// call under test
+		List<DiscussionThreadBundle> result = threadDao.getThreadPageForEntity(KeyFactory.stringToKey(projectId),
+				DiscussionThreadOrder.THREAD_TITLE, true, DEFAULT_FILTER, new HashSet<Long>(), null, MAX_LIMIT);
+		assertTrue(result.isEmpty());
+	}
+
 	@Test
 	public void testGetThreadsForEntityWithReferences() {
 		Set<Long> projectIds = new HashSet<Long>();
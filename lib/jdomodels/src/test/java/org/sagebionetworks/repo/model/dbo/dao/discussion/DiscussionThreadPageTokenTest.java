@@ -0,0 +1,115 @@
+package org.sagebionetworks.repo.model.dbo.dao.discussion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
+
+public class DiscussionThreadPageTokenTest {
+
+	private DiscussionThreadBundle bundle;
+
+	@BeforeEach
+	public void before() {
+		bundle = new DiscussionThreadBundle();
+		bundle.setId("123");
+		bundle.setTitle("a title: with the delimiter \u00e9");
+		bundle.setIsPinned(true);
+		bundle.setLastActivity(new Date(1000L));
+		bundle.setNumberOfViews(4L);
+		bundle.setNumberOfReplies(5L);
+	}
+
+	@Test
+	public void testRoundTripPinnedAndLastActivity() {
+		DiscussionThreadPageToken token = DiscussionThreadPageToken.after(DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, false, bundle);
+		// call under test
+		DiscussionThreadPageToken parsed = DiscussionThreadPageToken.parse(token.toToken());
+		assertEquals(token, parsed);
+		assertEquals(DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, parsed.getOrder());
+		assertEquals(false, parsed.isAscending());
+		assertEquals(123L, parsed.getThreadId());
+		assertEquals(true, parsed.isPinned());
+		assertEquals(1000L, parsed.getLastActivity());
+	}
+
+	@Test
+	public void testRoundTripNumberOfViews() {
+		DiscussionThreadPageToken token = DiscussionThreadPageToken.after(DiscussionThreadOrder.NUMBER_OF_VIEWS, true, bundle);
+		// call under test
+		DiscussionThreadPageToken parsed = DiscussionThreadPageToken.parse(token.toToken());
+		assertEquals(token, parsed);
+		assertEquals(4L, parsed.getCount());
+	}
+
+	@Test
+	public void testRoundTripNumberOfReplies() {
+		DiscussionThreadPageToken token = DiscussionThreadPageToken.after(DiscussionThreadOrder.NUMBER_OF_REPLIES, true, bundle);
+		// call under test
+		DiscussionThreadPageToken parsed = DiscussionThreadPageToken.parse(token.toToken());
+		assertEquals(token, parsed);
+		assertEquals(5L, parsed.getCount());
+	}
+
+	@Test
+	public void testRoundTripThreadTitle() {
+		DiscussionThreadPageToken token = DiscussionThreadPageToken.after(DiscussionThreadOrder.THREAD_TITLE, true, bundle);
+		// call under test
+		DiscussionThreadPageToken parsed = DiscussionThreadPageToken.parse(token.toToken());
+		assertEquals(token, parsed);
+		assertEquals(bundle.getTitle(), parsed.getTitle());
+	}
+
+	@Test
+	public void testParseInvalid() {
+		for (String token : Arrays.asList("not base64!", "bm90IGEgdG9rZW4", "")) {
+			assertThrows(IllegalArgumentException.class, () -> {
+				// call under test
+				DiscussionThreadPageToken.parse(token);
+			});
+		}
+	}
+
+	@Test
+	public void testValidateSort() {
+		DiscussionThreadPageToken token = DiscussionThreadPageToken.after(DiscussionThreadOrder.THREAD_TITLE, true, bundle);
+		// call under test
+		token.validateSort(DiscussionThreadOrder.THREAD_TITLE, true);
+		assertThrows(IllegalArgumentException.class, () -> {
+			token.validateSort(DiscussionThreadOrder.THREAD_TITLE, false);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			token.validateSort(DiscussionThreadOrder.NUMBER_OF_VIEWS, true);
+		});
+	}
+
+	@Test
+	public void testGetNextPageTokenForCurrentResults() {
+		DiscussionThreadBundle last = new DiscussionThreadBundle();
+		last.setId("456");
+		last.setTitle("last");
+		List<DiscussionThreadBundle> results = new ArrayList<DiscussionThreadBundle>(Arrays.asList(bundle, last));
+		// call under test
+		String token = DiscussionThreadPageToken.getNextPageTokenForCurrentResults(DiscussionThreadOrder.THREAD_TITLE, true, results, 1L);
+		assertEquals(Arrays.asList(bundle), results);
+		assertEquals(DiscussionThreadPageToken.after(DiscussionThreadOrder.THREAD_TITLE, true, bundle),
+				DiscussionThreadPageToken.parse(token));
+	}
+
+	@Test
+	public void testGetNextPageTokenForCurrentResultsLastPage() {
+		List<DiscussionThreadBundle> results = new ArrayList<DiscussionThreadBundle>(Arrays.asList(bundle));
+		// call under test
+		assertNull(DiscussionThreadPageToken.getNextPageTokenForCurrentResults(DiscussionThreadOrder.THREAD_TITLE, true, results, 1L));
+		assertEquals(Arrays.asList(bundle), results);
+	}
+}
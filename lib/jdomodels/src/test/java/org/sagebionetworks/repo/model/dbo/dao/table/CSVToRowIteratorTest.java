@@ -420,6 +420,22 @@ public class CSVToRowIteratorTest {
 		assertEquals(TableModelTestUtils.createSparseRow(null, null, null, columns, "alsdjfsldkjflwdjf","3.3"), rows.get(0));
 	}
 
+	@Test
+	public void testCSVToRowIteratorWithColumnMap() throws IOException {
+		List<ColumnModel> columns = TableModelTestUtils.createColumsWithNames("a", "b");
+		CSVReader headerReader = new CSVReader(new StringReader("b,a\n1,2\n"));
+		CSVToRowIterator first = new CSVToRowIterator(columns, headerReader, true, null);
+		Map<Long, Integer> columnMap = first.getColumnIdToCsvColumnIndexMap();
+		// A second part of the same CSV without the header.
+		CSVReader reader = new CSVReader(new StringReader("3,4\n5,6\n"));
+		// call under test
+		Iterator<SparseRowDto> iterator = new CSVToRowIterator(columns, reader, columnMap, 2L);
+		List<SparseRowDto> rows = readAll(iterator);
+		assertEquals(2, rows.size());
+		assertEquals(TableModelTestUtils.createSparseRow(null, null, null, columns, "4", "3"), rows.get(0));
+		assertEquals(TableModelTestUtils.createSparseRow(null, null, null, columns, "6", "5"), rows.get(1));
+	}
+
 	/**
 	 * Read all data from the iterator into a list.
 	 * 
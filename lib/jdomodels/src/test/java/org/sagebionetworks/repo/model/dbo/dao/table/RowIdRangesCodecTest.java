@@ -0,0 +1,120 @@
+package org.sagebionetworks.repo.model.dbo.dao.table;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+public class RowIdRangesCodecTest {
+
+	byte[] encode(Long... rowIds) {
+		return RowIdRangesCodec.encode(Arrays.asList(rowIds)).get();
+	}
+
+	Optional<Long> find(byte[] encoded, Long... rowIds) {
+		return RowIdRangesCodec.findFirstMatch(encoded, new TreeSet<>(Arrays.asList(rowIds)));
+	}
+
+	@Test
+	public void testEncodeEmpty() {
+		// call under test
+		byte[] encoded = encode();
+		assertArrayEquals(new byte[] { RowIdRangesCodec.VERSION }, encoded);
+		assertEquals(Optional.empty(), find(encoded, 0L, 1L));
+	}
+
+	@Test
+	public void testEncodeConsecutive() {
+		List<Long> rowIds = new ArrayList<>();
+		for (long i = 1000; i < 101000; i++) {
+			rowIds.add(i);
+		}
+		Collections.shuffle(rowIds);
+		// call under test
+		byte[] encoded = RowIdRangesCodec.encode(rowIds).get();
+		// a single range
+		assertTrue(encoded.length <= 7, "length: " + encoded.length);
+		assertEquals(Optional.of(1000L), find(encoded, 999L, 1000L));
+		assertEquals(Optional.of(100999L), find(encoded, 100999L, 101000L));
+		assertEquals(Optional.empty(), find(encoded, 999L, 101000L));
+	}
+
+	@Test
+	public void testFindFirstMatch() {
+		byte[] encoded = encode(7L, 3L, 4L, 5L, 3L, 20L, 0L, Long.MAX_VALUE);
+		// call under test
+		assertEquals(Optional.of(0L), find(encoded, 0L));
+		assertEquals(Optional.empty(), find(encoded, 1L, 2L, 6L, 8L, 19L, 21L));
+		assertEquals(Optional.of(4L), find(encoded, 1L, 4L, 20L));
+		assertEquals(Optional.of(20L), find(encoded, 19L, 20L, 21L));
+		assertEquals(Optional.of(Long.MAX_VALUE), find(encoded, Long.MAX_VALUE));
+		assertEquals(Optional.empty(), find(encoded));
+	}
+
+	@Test
+	public void testDecode() {
+		byte[] encoded = encode(7L, 3L, 4L, 5L, 3L, 20L, 0L, Long.MAX_VALUE);
+		// call under test
+		assertEquals(Arrays.asList(0L, 3L, 4L, 5L, 7L, 20L, Long.MAX_VALUE), RowIdRangesCodec.decode(encoded));
+	}
+
+	@Test
+	public void testDecodeEmpty() {
+		// call under test
+		assertEquals(Collections.emptyList(), RowIdRangesCodec.decode(encode()));
+	}
+
+	@Test
+	public void testDecodeRangeEndingAtMaxValue() {
+		byte[] encoded = encode(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+		// call under test
+		assertEquals(Arrays.asList(Long.MAX_VALUE - 1, Long.MAX_VALUE), RowIdRangesCodec.decode(encoded));
+	}
+
+	@Test
+	public void testDecodeUnknownVersion() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			RowIdRangesCodec.decode(new byte[] { 2, 0, 0 });
+		});
+	}
+
+	@Test
+	public void testEncodeNullRowId() {
+		// call under test
+		assertEquals(Optional.empty(), RowIdRangesCodec.encode(Arrays.asList(1L, null)));
+	}
+
+	@Test
+	public void testEncodeNegativeRowId() {
+		// call under test
+		assertEquals(Optional.empty(), RowIdRangesCodec.encode(Arrays.asList(1L, -1L)));
+	}
+
+	@Test
+	public void testFindFirstMatchUnknownVersion() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			find(new byte[] { 2, 0, 0 }, 0L);
+		});
+	}
+
+	@Test
+	public void testFindFirstMatchTruncated() {
+		byte[] encoded = encode(300L);
+		byte[] truncated = Arrays.copyOf(encoded, encoded.length - 2);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			find(truncated, 400L);
+		});
+	}
+}
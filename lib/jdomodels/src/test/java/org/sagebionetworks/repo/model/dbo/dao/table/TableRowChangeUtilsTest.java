@@ -4,6 +4,7 @@ package org.sagebionetworks.repo.model.dbo.dao.table;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.util.Arrays;
 import java.util.Date;
 
 import org.junit.jupiter.api.Test;
@@ -66,4 +67,28 @@ public class TableRowChangeUtilsTest {
 		assertNotNull(clone);
 		assertEquals(dto, clone);
 	}
+	
+	@Test
+	public void testDTOandDBORoundTripWithFileHandleIds(){
+		TableRowChange dto = new TableRowChange();
+		dto.setId(123L);
+		dto.setTableId("syn123");
+		dto.setRowVersion(12l);
+		dto.setCreatedBy("456");
+		dto.setCreatedOn(new Date(101));
+		dto.setBucket("bucket");
+		dto.setKeyNew("newKey");
+		dto.setEtag("someEtag");
+		dto.setRowCount(999L);
+		dto.setChangeType(TableChangeType.ROW);
+		dto.setTransactionId(222L);
+		dto.setHasFileRefs(true);
+		dto.setFileHandleIds(Arrays.asList(1L, 2L, 3L, 100L));
+		// To DBO
+		DBOTableRowChange dbo = TableRowChangeUtils.createDBOFromDTO(dto);
+		assertNotNull(dbo.getFileHandleIds());
+		// Create a clone
+		TableRowChange clone = TableRowChangeUtils.ceateDTOFromDBO(dbo);
+		assertEquals(dto, clone);
+	}
 }
@@ -7,9 +7,13 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,18 +30,21 @@ import org.sagebionetworks.repo.model.table.RawRowSet;
 import org.sagebionetworks.repo.model.table.Row;
 import org.sagebionetworks.repo.model.table.SelectColumn;
 import org.sagebionetworks.repo.model.table.SparseChangeSetDto;
+import org.sagebionetworks.repo.model.table.SparseChangeSetFormat;
 import org.sagebionetworks.repo.model.table.TableChangeType;
 import org.sagebionetworks.repo.model.table.TableRowChange;
 import org.sagebionetworks.table.cluster.utils.TableModelUtils;
 import org.sagebionetworks.table.model.SparseChangeSet;
 import org.sagebionetworks.table.model.SparseRow;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(locations = { "classpath:jdomodels-test-context.xml" })
@@ -54,6 +61,9 @@ public class TableRowTruthDAOImplTest {
 	
 	@Autowired
 	TransactionTemplate readCommitedTransactionTemplate;
+	
+	@Autowired
+	JdbcTemplate jdbcTemplate;
 
 	protected String creatorUserGroupId;
 
@@ -258,6 +268,37 @@ public class TableRowTruthDAOImplTest {
 		assertEquals(new Long(1), greater.get(0).getRowVersion());
 	}
 	
+	@Test
+	public void testGetRowIdChangedSinceVersion() throws IOException{
+		List<ColumnModel> columns = TableModelTestUtils.createOneOfEachType();
+		// rows 0-4 are version zero.
+		RawRowSet set = new RawRowSet(TableModelUtils.getIds(columns), null, tableId, TableModelTestUtils.createRows(columns, 5));
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, set);
+		// rows 5-6 are version one.
+		set = new RawRowSet(set.getIds(), set.getEtag(), set.getTableId(), TableModelTestUtils.createRows(columns, 2));
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, set);
+		
+		// call under test
+		assertEquals(Optional.of(3L), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, -1L, Sets.newHashSet(3L, 100L)));
+		assertEquals(Optional.empty(), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, 0L, Sets.newHashSet(3L, 100L)));
+		assertEquals(Optional.of(6L), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, 0L, Sets.newHashSet(3L, 6L)));
+		assertEquals(Optional.empty(), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, 1L, Sets.newHashSet(3L, 6L)));
+		assertEquals(Optional.empty(), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, -1L, Collections.emptySet()));
+	}
+	
+	@Test
+	public void testGetRowIdChangedSinceVersionWithoutRowIds() throws IOException{
+		List<ColumnModel> columns = TableModelTestUtils.createOneOfEachType();
+		RawRowSet set = new RawRowSet(TableModelUtils.getIds(columns), null, tableId, TableModelTestUtils.createRows(columns, 5));
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, set);
+		// Simulate a change recorded before the row IDs were captured.
+		jdbcTemplate.update("UPDATE TABLE_ROW_CHANGE SET ROW_IDS = NULL WHERE TABLE_ID = ?", KeyFactory.stringToKey(tableId));
+		
+		// call under test
+		assertEquals(Optional.of(4L), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, -1L, Sets.newHashSet(4L, 100L)));
+		assertEquals(Optional.empty(), tableRowTruthDao.getRowIdChangedSinceVersion(tableId, -1L, Sets.newHashSet(100L)));
+	}
+	
 	@Test
 	public void testGetTableChangePageMixedType() throws IOException{
 		long limit = 2L;
@@ -291,6 +332,7 @@ public class TableRowTruthDAOImplTest {
 		assertEquals(1, rowChanges.size());
 		TableRowChange change = rowChanges.get(0);
 		assertEquals(TableChangeType.ROW, change.getChangeType());
+		assertEquals(SparseChangeSetFormat.BINARY, change.getChangeSetFormat());
 	}
 
 	
@@ -699,4 +741,68 @@ public class TableRowTruthDAOImplTest {
 		assertEquals(2, results.size());
 		
 	}
+	
+	@Test
+	public void testAppendRowSetToTableWithFileHandleIds() throws IOException {
+		List<ColumnModel> columns = TableModelTestUtils.createOneOfEachType();
+		RawRowSet set = new RawRowSet(TableModelUtils.getIds(columns), null, tableId, TableModelTestUtils.createRows(columns, 5));
+		SparseChangeSet delta = TableModelUtils.createSparseChangeSet(set, columns);
+		
+		// call under test
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, delta);
+		
+		TableRowChange change = tableRowTruthDao.getLastTableRowChange(tableId, TableChangeType.ROW);
+		assertTrue(change.getHasFileRefs());
+		assertEquals(new TreeSet<>(delta.getFileHandleIdsInSparseChangeSet()).stream().collect(Collectors.toList()), change.getFileHandleIds());
+	}
+	
+	@Test
+	public void testAppendRowSetToTableWithoutFileRefs() throws IOException {
+		List<ColumnModel> columns = TableModelTestUtils.createOneOfEachType();
+		List<Row> rows = TableModelTestUtils.createRows(columns, 1);
+		rows.get(0).getValues().set(ColumnType.FILEHANDLEID.ordinal(), null);
+		RawRowSet set = new RawRowSet(TableModelUtils.getIds(columns), null, tableId, rows);
+		
+		// call under test
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, set);
+		
+		TableRowChange change = tableRowTruthDao.getLastTableRowChange(tableId, TableChangeType.ROW);
+		assertFalse(change.getHasFileRefs());
+		assertNull(change.getFileHandleIds());
+	}
+	
+	@Test
+	public void testGetTableRowChangeWithFileRefsMissingFileHandleIdsPageAndSetFileHandleIds() throws IOException {
+		List<ColumnModel> columns = TableModelTestUtils.createOneOfEachType();
+		RawRowSet set = new RawRowSet(TableModelUtils.getIds(columns), null, tableId, TableModelTestUtils.createRows(columns, 5));
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, set);
+		set = new RawRowSet(set.getIds(), set.getEtag(), set.getTableId(), TableModelTestUtils.createRows(columns, 2));
+		appendRowSetToTable(creatorUserGroupId, tableId, columns, set);
+		
+		// The changes are recorded with the file handle ids
+		assertTrue(tableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(-1L, 10L).isEmpty());
+		
+		// Simulate changes recorded before the file handle ids were captured
+		jdbcTemplate.update("UPDATE TABLE_ROW_CHANGE SET FILE_HANDLE_IDS = NULL");
+		
+		// call under test
+		List<TableRowChange> page = tableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(-1L, 10L);
+		
+		assertEquals(2, page.size());
+		assertNull(page.get(0).getFileHandleIds());
+		assertTrue(page.get(0).getId() < page.get(1).getId());
+		
+		// call under test
+		assertEquals(page.subList(1, 2), tableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(page.get(0).getId(), 10L));
+		assertEquals(page.subList(0, 1), tableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(-1L, 1L));
+		
+		// call under test
+		tableRowTruthDao.setFileHandleIds(page.get(0).getId(), Sets.newHashSet(3L, 1L, 2L));
+		
+		page = tableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(-1L, 10L);
+		assertEquals(1, page.size());
+		
+		TableRowChange change = tableRowTruthDao.getTableRowChange(tableId, 0L);
+		assertEquals(Arrays.asList(1L, 2L, 3L), change.getFileHandleIds());
+	}
 }
@@ -22,7 +22,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.sagebionetworks.StackConfiguration;
 import org.sagebionetworks.aws.SynapseS3Client;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.repo.model.dbo.DBOBasicDao;
 import org.sagebionetworks.util.FileProvider;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -39,7 +39,7 @@ public class TableRowTruthDAOImplUnitTest {
 	@Mock
 	FileProvider mockFileProvider;
 	@Mock
-	IdGenerator mockIdGenerator;
+	IdBlockAllocator mockIdBlockAllocator;
 	@Mock
 	StackConfiguration mockConfig;
 	@Mock
@@ -0,0 +1,193 @@
+package org.sagebionetworks.repo.model.dbo.file.download.v2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.sagebionetworks.repo.model.UserGroup;
+import org.sagebionetworks.repo.model.UserGroupDAO;
+import org.sagebionetworks.repo.model.download.DownloadListItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(locations = { "classpath:jdomodels-test-context.xml" })
+public class DownloadListAvailabilityDaoTest {
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+	@Autowired
+	private UserGroupDAO userGroupDao;
+	@Autowired
+	private DownloadListDAO downloadListDao;
+
+	private DownloadListAvailabilityDao dao;
+
+	private Long userId;
+	private List<Long> entityIds;
+
+	@BeforeEach
+	public void before() {
+		downloadListDao.truncateAllData();
+		dao = new DownloadListAvailabilityDao(namedJdbcTemplate);
+		UserGroup ug = new UserGroup();
+		ug.setCreationDate(new Date(System.currentTimeMillis()));
+		ug.setIsIndividual(true);
+		userId = userGroupDao.create(ug);
+		entityIds = List.of(1L, 2L, 3L);
+		// The entities do not need to exist to be on a download list.
+		downloadListDao.addBatchOfFilesToDownloadList(userId, entityIds.stream()
+				.map(id -> new DownloadListItem().setFileEntityId("syn" + id).setVersionNumber(1L))
+				.collect(Collectors.toList()));
+	}
+
+	@AfterEach
+	public void after() {
+		downloadListDao.truncateAllData();
+		if (userId != null) {
+			userGroupDao.delete(userId.toString());
+		}
+	}
+
+	@Test
+	public void testRefreshAvailabilityWithMultipleBatches() {
+		List<List<Long>> checked = new ArrayList<>();
+		int batchSize = 2;
+		// call under test
+		dao.refreshAvailability(l -> {
+			checked.add(l);
+			return List.of(2L);
+		}, userId, batchSize);
+
+		assertEquals(List.of(List.of(1L, 2L), List.of(3L)), checked);
+		assertEquals(List.of(2L), getAvailable());
+	}
+
+	@Test
+	public void testRefreshAvailabilityWithUpToDateAvailability() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		List<List<Long>> checked = new ArrayList<>();
+		// call under test
+		dao.refreshAvailability(l -> {
+			checked.add(l);
+			return l;
+		}, userId, 10);
+
+		assertEquals(Collections.emptyList(), checked);
+		assertEquals(entityIds, getAvailable());
+	}
+
+	@Test
+	public void testGetBatchOfEntityIdsToCheck() {
+		dao.addBatchOfAvailability(userId, new Long[] { 2L }, Collections.emptySet(), now());
+		// call under test
+		assertEquals(List.of(1L, 3L), dao.getBatchOfEntityIdsToCheck(userId, -1L, 10));
+		assertEquals(List.of(3L), dao.getBatchOfEntityIdsToCheck(userId, 1L, 10));
+		assertEquals(List.of(1L), dao.getBatchOfEntityIdsToCheck(userId, -1L, 1));
+	}
+
+	@Test
+	public void testGetBatchOfEntityIdsToCheckWithInvalidated() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		dao.invalidateEntities(List.of(2L));
+		// call under test
+		assertEquals(List.of(2L), dao.getBatchOfEntityIdsToCheck(userId, -1L, 10));
+	}
+
+	@Test
+	public void testRefreshAvailabilityWithInvalidationDuringCheck() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		dao.invalidateEntities(List.of(2L));
+		// call under test
+		dao.refreshAvailability(l -> {
+			// a concurrent change invalidates the entity after the refresh started.
+			dao.invalidateEntities(List.of(2L));
+			return l;
+		}, userId, 10);
+
+		assertEquals(List.of(1L, 3L), getAvailable());
+		assertEquals(List.of(2L), dao.getBatchOfEntityIdsToCheck(userId, -1L, 10));
+	}
+
+	@Test
+	public void testRemoveUnlistedAvailability() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		namedJdbcTemplate.getJdbcTemplate().update("DELETE FROM DOWNLOAD_LIST_ITEM_V2 WHERE ENTITY_ID = 2");
+		// call under test
+		dao.removeUnlistedAvailability(userId);
+
+		assertEquals(List.of(1L, 3L), getAvailable());
+	}
+
+	@Test
+	public void testClearAvailability() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		// call under test
+		dao.clearAvailability(userId);
+
+		assertEquals(Collections.emptyList(), getAvailable());
+	}
+
+	@Test
+	public void testInvalidateEntities() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		// call under test
+		dao.invalidateEntities(List.of(1L, 3L));
+
+		assertEquals(List.of(2L), getAvailable());
+	}
+
+	@Test
+	public void testInvalidateAclsWithUnknownAcl() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		// call under test
+		dao.invalidateAcls(List.of(-1L));
+
+		assertEquals(entityIds, getAvailable());
+	}
+
+	@Test
+	public void testInvalidateAccessApprovalsWithUnknownApproval() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		// call under test
+		dao.invalidateAccessApprovals(List.of(-1L));
+
+		assertEquals(entityIds, getAvailable());
+	}
+
+	@Test
+	public void testInvalidateAccessRequirementsWithUnknownRequirement() {
+		dao.refreshAvailability(l -> l, userId, 10);
+		// call under test
+		dao.invalidateAccessRequirements(List.of(-1L));
+
+		assertEquals(entityIds, getAvailable());
+	}
+
+	/**
+	 * @return The IDs of the entities that the user can download according to the
+	 *         stored availability that was not invalidated since it was checked.
+	 */
+	private List<Long> getAvailable() {
+		return namedJdbcTemplate.getJdbcTemplate().queryForList(
+				"SELECT ENTITY_ID FROM DOWNLOAD_LIST_AVAILABILITY_V2 WHERE PRINCIPAL_ID = ? AND CAN_DOWNLOAD = TRUE"
+						+ " AND (INVALIDATED_ON IS NULL OR INVALIDATED_ON < CHECKED_ON) ORDER BY ENTITY_ID",
+				Long.class, userId);
+	}
+
+	private Timestamp now() {
+		return namedJdbcTemplate.getJdbcTemplate().queryForObject("SELECT NOW(3)", Timestamp.class);
+	}
+
+}
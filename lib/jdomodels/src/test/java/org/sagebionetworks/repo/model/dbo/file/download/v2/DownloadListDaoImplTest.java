@@ -45,10 +45,12 @@ import org.sagebionetworks.repo.model.EntityType;
 import org.sagebionetworks.repo.model.Node;
 import org.sagebionetworks.repo.model.NodeConstants;
 import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.TermsOfUseAccessRequirement;
 import org.sagebionetworks.repo.model.UserGroup;
 import org.sagebionetworks.repo.model.UserGroupDAO;
 import org.sagebionetworks.repo.model.annotation.v2.Annotations;
 import org.sagebionetworks.repo.model.annotation.v2.AnnotationsValue;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
 import org.sagebionetworks.repo.model.dbo.file.FileHandleDao;
 import org.sagebionetworks.repo.model.dbo.schema.DerivedAnnotationDao;
 import org.sagebionetworks.repo.model.download.ActionRequiredCount;
@@ -93,6 +95,10 @@ public class DownloadListDaoImplTest {
 	private FileHandleDao fileHandleDao;
 	@Autowired
 	private DerivedAnnotationDao derivedAnnotationsDao;
+	@Autowired
+	private DaoObjectHelper<TermsOfUseAccessRequirement> termsOfUseHelper;
+	@Autowired
+	private EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
 
 	private Long userOneIdLong;
 	private String userOneId;
@@ -144,6 +150,8 @@ public class DownloadListDaoImplTest {
 
 	@AfterEach
 	public void after() {
+		termsOfUseHelper.truncateAll();
+		entityEffectiveAccessRequirementDao.truncateAll();
 		nodeDao.truncateAll();
 		fileHandleDao.truncateTable();
 
@@ -1586,6 +1594,255 @@ public class DownloadListDaoImplTest {
 		assertEquals(expected, stats);
 	}
 	
+	@Test
+	public void testGetListStatisticsWithStoredAvailability() {
+		List<Node> files = createFileHierarchy(1, 1, 3);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList()));
+		List<Long> accessible = Arrays.asList(fileIds.get(0), fileIds.get(2));
+		
+		List<List<Long>> checked = new ArrayList<>();
+		FilesStatisticsResponse expected = downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return accessible;
+		}, userOneIdLong);
+		assertEquals(Arrays.asList(fileIds), checked);
+		assertEquals(2L, expected.getNumberOfFilesAvailableForDownload());
+		
+		// call under test
+		FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+			throw new IllegalStateException("The stored availability should be used");
+		}, userOneIdLong);
+		assertEquals(expected, stats);
+		
+		List<Sort> sort = Arrays.asList(new Sort().setField(SortField.synId).setDirection(SortDirection.ASC));
+		// call under test
+		List<DownloadListItemResult> page = downloadListDao.getMaterializedFilesAvailableToDownloadFromDownloadList(l -> {
+			throw new IllegalStateException("The stored availability should be used");
+		}, userOneIdLong, filter, sort, limit, 0L);
+		assertEquals(accessible, page.stream().map(r -> KeyFactory.stringToKey(r.getFileEntityId())).collect(Collectors.toList()));
+		
+		checked.clear();
+		// call under test
+		page = downloadListDao.getFilesAvailableToDownloadFromDownloadList(l -> {
+			checked.add(l);
+			return Collections.singletonList(fileIds.get(1));
+		}, userOneIdLong, filter, sort, limit, 0L);
+		// the files that are downloaded are always checked
+		assertEquals(Arrays.asList(fileIds), checked);
+		assertEquals(Arrays.asList(fileIds.get(1)), page.stream().map(r -> KeyFactory.stringToKey(r.getFileEntityId())).collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void testGetListStatisticsWithAddedFiles() {
+		List<Node> files = createFileHierarchy(1, 1, 3);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, Arrays.asList(
+				new DownloadListItem().setFileEntityId(files.get(0).getId()).setVersionNumber(2L)));
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, Arrays.asList(
+				new DownloadListItem().setFileEntityId(files.get(1).getId()).setVersionNumber(2L),
+				new DownloadListItem().setFileEntityId(files.get(2).getId()).setVersionNumber(2L)));
+		
+		List<List<Long>> checked = new ArrayList<>();
+		// call under test
+		FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return l;
+		}, userOneIdLong);
+		// only the new files are checked
+		assertEquals(Arrays.asList(Arrays.asList(fileIds.get(1), fileIds.get(2))), checked);
+		assertEquals(3L, stats.getNumberOfFilesAvailableForDownload());
+	}
+	
+	@Test
+	public void testGetListStatisticsWithRemovedAndAddedFile() {
+		List<Node> files = createFileHierarchy(1, 1, 2);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		List<DownloadListItem> items = files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		
+		downloadListDao.removeBatchOfFilesFromDownloadList(userOneIdLong, Arrays.asList(items.get(0)));
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, Arrays.asList(items.get(0)));
+		
+		List<List<Long>> checked = new ArrayList<>();
+		// call under test
+		FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return Collections.emptyList();
+		}, userOneIdLong);
+		// the file that was removed and added back is checked again
+		assertEquals(Arrays.asList(Arrays.asList(fileIds.get(0))), checked);
+		assertEquals(1L, stats.getNumberOfFilesAvailableForDownload());
+	}
+	
+	@Test
+	public void testGetListStatisticsAfterClear() {
+		List<Node> files = createFileHierarchy(1, 1, 2);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		List<DownloadListItem> items = files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		
+		downloadListDao.clearDownloadList(userOneIdLong);
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		
+		List<List<Long>> checked = new ArrayList<>();
+		// call under test
+		FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return Collections.emptyList();
+		}, userOneIdLong);
+		assertEquals(Arrays.asList(fileIds), checked);
+		assertEquals(0L, stats.getNumberOfFilesAvailableForDownload());
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityOfEntities() {
+		List<Node> files = createFileHierarchy(1, 1, 3);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		List<DownloadListItem> items = files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		downloadListDao.addBatchOfFilesToDownloadList(userTwoIdLong, items);
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		downloadListDao.getListStatistics(l -> l, userTwoIdLong);
+		
+		// call under test
+		downloadListDao.invalidateAvailabilityOfEntities(Arrays.asList(fileIds.get(1)));
+		
+		// the invalidated file is checked again for each user
+		for (Long userId : Arrays.asList(userOneIdLong, userTwoIdLong)) {
+			List<List<Long>> checked = new ArrayList<>();
+			FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+				checked.add(l);
+				return Collections.emptyList();
+			}, userId);
+			assertEquals(Arrays.asList(Arrays.asList(fileIds.get(1))), checked);
+			assertEquals(2L, stats.getNumberOfFilesAvailableForDownload());
+		}
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityOfEntitiesWithEmpty() {
+		List<Node> files = createFileHierarchy(1, 1, 1);
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong,
+				Arrays.asList(new DownloadListItem().setFileEntityId(files.get(0).getId()).setVersionNumber(2L)));
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		
+		// call under test
+		downloadListDao.invalidateAvailabilityOfEntities(Collections.emptyList());
+		downloadListDao.invalidateAvailabilityOfContainers(Collections.emptyList());
+		downloadListDao.invalidateAvailabilityOfAcls(Collections.emptyList());
+		downloadListDao.invalidateAvailabilityOfAccessApprovals(Collections.emptyList());
+		downloadListDao.invalidateAvailabilityOfAccessRequirements(Collections.emptyList());
+		
+		FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+			throw new IllegalStateException("The stored availability should be used");
+		}, userOneIdLong);
+		assertEquals(1L, stats.getNumberOfFilesAvailableForDownload());
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityOfContainers() {
+		List<Node> files = createFileHierarchy(1, 1, 2);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		List<DownloadListItem> items = files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		
+		// call under test
+		downloadListDao.invalidateAvailabilityOfContainers(Arrays.asList(fileIds.get(0)));
+		
+		List<List<Long>> checked = new ArrayList<>();
+		downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return l;
+		}, userOneIdLong);
+		assertEquals(Arrays.asList(Arrays.asList(fileIds.get(0))), checked);
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityOfContainersWithDescendants() {
+		List<Node> files = createFileHierarchy(2, 2, 1);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		List<DownloadListItem> items = files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		Long projectId = KeyFactory.stringToKey(nodeDao.getNode(files.get(0).getParentId()).getParentId());
+		
+		// call under test
+		downloadListDao.invalidateAvailabilityOfContainers(Arrays.asList(projectId));
+		
+		// the files of both folders of the first project are checked again
+		List<List<Long>> checked = new ArrayList<>();
+		downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return l;
+		}, userOneIdLong);
+		assertEquals(Arrays.asList(Arrays.asList(fileIds.get(0), fileIds.get(1))), checked);
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityOfAccessRequirements() {
+		List<Node> files = createFileHierarchy(1, 2, 2);
+		List<Long> fileIds = files.stream().map(n -> KeyFactory.stringToKey(n.getId())).collect(Collectors.toList());
+		List<DownloadListItem> items = files.stream()
+				.map(f -> new DownloadListItem().setFileEntityId(f.getId()).setVersionNumber(2L))
+				.collect(Collectors.toList());
+		downloadListDao.addBatchOfFilesToDownloadList(userOneIdLong, items);
+		// the first two files inherit a requirement from their folder.
+		Long inherited = termsOfUseHelper.create(t -> {
+			t.getSubjectIds().get(0).setId(files.get(0).getParentId());
+		}).getId();
+		entityEffectiveAccessRequirementDao.rebuildSubtree(KeyFactory.stringToKey(files.get(0).getParentId()));
+		// the last file is the subject of a requirement.
+		Long direct = termsOfUseHelper.create(t -> {
+			t.getSubjectIds().get(0).setId(files.get(3).getId());
+		}).getId();
+		downloadListDao.getListStatistics(l -> l, userOneIdLong);
+		
+		// call under test
+		downloadListDao.invalidateAvailabilityOfAccessRequirements(Arrays.asList(inherited, direct));
+		
+		List<List<Long>> checked = new ArrayList<>();
+		FilesStatisticsResponse stats = downloadListDao.getListStatistics(l -> {
+			checked.add(l);
+			return Collections.emptyList();
+		}, userOneIdLong);
+		assertEquals(Arrays.asList(Arrays.asList(fileIds.get(0), fileIds.get(1), fileIds.get(3))), checked);
+		assertEquals(1L, stats.getNumberOfFilesAvailableForDownload());
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityWithNull() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			downloadListDao.invalidateAvailabilityOfEntities(null);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			downloadListDao.invalidateAvailabilityOfAccessApprovals(null);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			downloadListDao.invalidateAvailabilityOfAccessRequirements(null);
+		});
+	}
+	
 	/**
 	 * Helper to calculate the sum of the sizes of the given node Ids
 	 * 
@@ -7,6 +7,10 @@ import java.util.Date;
 import org.sagebionetworks.repo.model.dbo.DatabaseObject;
 import org.sagebionetworks.repo.model.dbo.FieldColumn;
 import org.sagebionetworks.repo.model.dbo.MigratableDatabaseObject;
+import org.sagebionetworks.repo.model.project.ProjectSetting;
+import org.sagebionetworks.repo.model.project.S3StorageLocationSetting;
+import org.sagebionetworks.repo.model.project.StorageLocationSetting;
+import org.sagebionetworks.repo.model.project.UploadDestinationListSetting;
 
 public class DBOTestUtils {
 
@@ -65,6 +69,16 @@ public class DBOTestUtils {
 			return field.getType().getEnumConstants()[0];
 		} else if (field.getType().isArray()) {
 			return new byte[] {(byte) index};
+		} else if (ProjectSetting.class.equals(field.getType())) {
+			// serialized to a blob
+			UploadDestinationListSetting setting = new UploadDestinationListSetting();
+			setting.setProjectId("syn" + index);
+			return setting;
+		} else if (StorageLocationSetting.class.equals(field.getType())) {
+			// serialized to a blob
+			S3StorageLocationSetting setting = new S3StorageLocationSetting();
+			setting.setBaseKey("a" + index);
+			return setting;
 		}
 		throw new IllegalArgumentException("Unsupported DBO field type: " + field.getType().getName()+" from: "+object.getClass().getName());
 	}
@@ -10,8 +10,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -439,4 +441,49 @@ public class StatisticsMonthlyStatusDAOTest {
 		assertEquals(status, statusUpdated);
 	}
 
+	@Test
+	public void testSetProcessorCompleted() {
+		YearMonth yearMonth = YearMonth.of(2019, 8);
+
+		dao.setProcessing(OBJECT_TYPE, yearMonth);
+
+		// Call under test
+		dao.setProcessorCompleted(OBJECT_TYPE, yearMonth, "processor");
+		// Setting it twice should not fail
+		dao.setProcessorCompleted(OBJECT_TYPE, yearMonth, "processor");
+		dao.setProcessorCompleted(OBJECT_TYPE, yearMonth, "otherProcessor");
+
+		Set<String> result = dao.getCompletedProcessors(OBJECT_TYPE, yearMonth);
+
+		assertEquals(2, result.size());
+		assertTrue(result.contains("processor"));
+		assertTrue(result.contains("otherProcessor"));
+		
+		// Other months are not affected
+		assertEquals(Collections.emptySet(), dao.getCompletedProcessors(OBJECT_TYPE, yearMonth.minusMonths(1)));
+	}
+
+	@Test
+	public void testSetProcessorCompletedWithoutStatus() {
+		YearMonth yearMonth = YearMonth.of(2019, 8);
+
+		assertThrows(Exception.class, () -> {
+			// Call under test
+			dao.setProcessorCompleted(OBJECT_TYPE, yearMonth, "processor");
+		});
+	}
+
+	@Test
+	public void testGetCompletedProcessorsAfterClear() {
+		YearMonth yearMonth = YearMonth.of(2019, 8);
+
+		dao.setProcessing(OBJECT_TYPE, yearMonth);
+		dao.setProcessorCompleted(OBJECT_TYPE, yearMonth, "processor");
+		
+		dao.clear();
+		
+		// Call under test
+		assertEquals(Collections.emptySet(), dao.getCompletedProcessors(OBJECT_TYPE, yearMonth));
+	}
+
 }
@@ -0,0 +1,238 @@
+package org.sagebionetworks.repo.model.dbo.wikiV2;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sagebionetworks.repo.web.NotFoundException;
+
+public class WikiMarkdownCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	private AtomicInteger loadCount;
+
+	@BeforeEach
+	public void before() {
+		loadCount = new AtomicInteger(0);
+	}
+
+	Callable<String> loader(String markdown) {
+		return () -> {
+			loadCount.incrementAndGet();
+			return markdown;
+		};
+	}
+
+	@Test
+	public void testGetMemoryOnly() throws IOException {
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, null, 0);
+		// call under test
+		assertEquals("# one", cache.get(1L, loader("# one")));
+		assertEquals("# one", cache.get(1L, loader("# changed")));
+		assertEquals("# two", cache.get(2L, loader("# two")));
+		assertEquals(2, loadCount.get());
+		assertEquals(1L, cache.getStats().hitCount());
+		assertEquals(2L, cache.getStats().missCount());
+		assertEquals(2L, cache.getSourceLoadCount());
+		assertEquals(0L, cache.getDiskHitCount());
+	}
+
+	@Test
+	public void testGetEvictsBySize() throws IOException {
+		// each value weighs 2 bytes per character.
+		WikiMarkdownCache cache = new WikiMarkdownCache(100, null, 0);
+		String large = new String(new char[40]);
+		cache.get(1L, loader(large));
+		cache.get(2L, loader(large));
+		// call under test
+		cache.get(3L, loader(large));
+		assertTrue(cache.size() < 3);
+		assertTrue(cache.getStats().evictionCount() > 0);
+	}
+
+	@Test
+	public void testGetWithDiskTier() throws IOException {
+		File directory = tempDir.toFile();
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 10_000);
+		// call under test
+		assertEquals("# one\u00e9", cache.get(1L, loader("# one\u00e9")));
+		assertTrue(new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX).isFile());
+
+		// a new instance sharing the directory does not need to call the loader.
+		WikiMarkdownCache other = new WikiMarkdownCache(1000, directory, 10_000);
+		assertEquals("# one\u00e9", other.get(1L, loader("# changed")));
+		assertEquals(1, loadCount.get());
+		assertEquals(1L, other.getDiskHitCount());
+		assertEquals(0L, other.getSourceLoadCount());
+	}
+
+	@Test
+	public void testGetWithCorruptDiskFile() throws IOException {
+		File directory = tempDir.toFile();
+		Files.write(new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX).toPath(), new byte[] { 1, 2, 3 });
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 10_000);
+		// call under test
+		assertEquals("# one", cache.get(1L, loader("# one")));
+		assertEquals(1, loadCount.get());
+		assertEquals("# one", WikiMarkdownCache.readFromDisk(new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX)));
+	}
+
+	@Test
+	public void testTrimDisk() throws IOException {
+		File directory = tempDir.toFile();
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 0);
+		// call under test
+		cache.get(1L, loader("# one"));
+		assertEquals(0, directory.listFiles().length);
+		assertEquals(0L, cache.getDiskBytes());
+	}
+
+	@Test
+	public void testGetTracksDiskBytes() throws IOException {
+		File directory = tempDir.toFile();
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 10_000);
+		// call under test
+		cache.get(1L, loader("# one"));
+		cache.get(2L, loader("# two"));
+		long expected = new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX).length()
+				+ new File(directory, "2" + WikiMarkdownCache.DISK_FILE_SUFFIX).length();
+		assertEquals(expected, cache.getDiskBytes());
+		// a new instance starts with the files already on disk.
+		assertEquals(expected, new WikiMarkdownCache(1000, directory, 10_000).getDiskBytes());
+		cache.clear();
+		assertEquals(0L, cache.getDiskBytes());
+	}
+
+	@Test
+	public void testTrimDiskToTarget() throws IOException {
+		File directory = tempDir.toFile();
+		File one = new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX);
+		File two = new File(directory, "2" + WikiMarkdownCache.DISK_FILE_SUFFIX);
+		File three = new File(directory, "3" + WikiMarkdownCache.DISK_FILE_SUFFIX);
+		Files.write(one.toPath(), new byte[400]);
+		Files.write(two.toPath(), new byte[400]);
+		Files.write(three.toPath(), new byte[300]);
+		one.setLastModified(1000L);
+		two.setLastModified(2000L);
+		three.setLastModified(3000L);
+		// 1100 bytes with a limit of 1000 and a target of 900.
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 1000);
+		// call under test
+		cache.trimDisk();
+		// only the least recently used file is deleted.
+		assertFalse(one.exists());
+		assertTrue(two.exists());
+		assertTrue(three.exists());
+		assertEquals(700L, cache.getDiskBytes());
+	}
+
+	@Test
+	public void testTrimDiskUnderLimit() throws IOException {
+		File directory = tempDir.toFile();
+		File one = new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX);
+		Files.write(one.toPath(), new byte[950]);
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 1000);
+		// call under test
+		cache.trimDisk();
+		// nothing is deleted until the limit is crossed.
+		assertTrue(one.exists());
+		assertEquals(950L, cache.getDiskBytes());
+	}
+
+	@Test
+	public void testClear() throws IOException {
+		File directory = tempDir.toFile();
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, directory, 10_000);
+		cache.get(1L, loader("# one"));
+		// call under test
+		cache.clear();
+		assertEquals(0L, cache.size());
+		assertFalse(new File(directory, "1" + WikiMarkdownCache.DISK_FILE_SUFFIX).exists());
+	}
+
+	@Test
+	public void testGetConcurrentMissesCoalesced() throws Exception {
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, null, 0);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Callable<String> slowLoader = () -> {
+			loadCount.incrementAndGet();
+			started.countDown();
+			release.await();
+			return "# slow";
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(executor.submit(() -> cache.get(1L, slowLoader)));
+			started.await();
+			for (int i = 0; i < 3; i++) {
+				results.add(executor.submit(() -> cache.get(1L, slowLoader)));
+			}
+			release.countDown();
+			// call under test
+			for (Future<String> result : results) {
+				assertEquals("# slow", result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loadCount.get());
+	}
+
+	@Test
+	public void testGetLoaderIOException() {
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, null, 0);
+		IOException exception = new IOException("failed");
+		IOException result = assertThrows(IOException.class, () -> {
+			// call under test
+			cache.get(1L, () -> {
+				throw exception;
+			});
+		});
+		assertSame(exception, result);
+		assertEquals(0L, cache.size());
+	}
+
+	@Test
+	public void testGetLoaderRuntimeException() {
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, null, 0);
+		NotFoundException exception = new NotFoundException("missing");
+		NotFoundException result = assertThrows(NotFoundException.class, () -> {
+			// call under test
+			cache.get(1L, () -> {
+				throw exception;
+			});
+		});
+		assertSame(exception, result);
+	}
+
+	@Test
+	public void testGetNullId() {
+		WikiMarkdownCache cache = new WikiMarkdownCache(1000, null, 0);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			cache.get(null, loader("# one"));
+		});
+	}
+}
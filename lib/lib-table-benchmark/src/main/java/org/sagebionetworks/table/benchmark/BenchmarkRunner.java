@@ -0,0 +1,31 @@
+package org.sagebionetworks.table.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of target/benchmarks.jar. Accepts the same arguments as the JMH
+ * command line (e.g. a regular expression to select the benchmarks) and always
+ * includes the GC profiler so that the allocation rate of each benchmark is
+ * reported along with its average time.
+ *
+ * <pre>
+ * java -jar lib/lib-table-benchmark/target/benchmarks.jar QueryTranslatorBenchmark -p query=FACETS
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		Options options = new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,68 @@
+package org.sagebionetworks.table.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sagebionetworks.repo.model.dao.table.TableType;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.table.cluster.SchemaProvider;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * {@link SchemaProvider} backed by a map so that the queries can be translated
+ * without a database.
+ */
+public class InMemorySchemaProvider implements SchemaProvider {
+
+	private final Map<IdAndVersion, TableType> tableTypes = new HashMap<>();
+	private final Map<IdAndVersion, List<ColumnModel>> schemas = new HashMap<>();
+	private final Map<String, ColumnModel> columns = new HashMap<>();
+
+	/**
+	 * Add a table with the given type and schema.
+	 *
+	 * @param tableId
+	 * @param tableType
+	 * @param schema
+	 * @return
+	 */
+	public InMemorySchemaProvider addTable(IdAndVersion tableId, TableType tableType, List<ColumnModel> schema) {
+		ValidateArgument.required(tableId, "tableId");
+		ValidateArgument.required(tableType, "tableType");
+		ValidateArgument.required(schema, "schema");
+		tableTypes.put(tableId, tableType);
+		schemas.put(tableId, List.copyOf(schema));
+		schema.forEach(column -> columns.put(column.getId(), column));
+		return this;
+	}
+
+	@Override
+	public TableType getTableType(IdAndVersion tableId) {
+		TableType type = tableTypes.get(tableId);
+		if (type == null) {
+			throw new IllegalArgumentException("Unknown table: " + tableId);
+		}
+		return type;
+	}
+
+	@Override
+	public List<ColumnModel> getTableSchema(IdAndVersion tableId) {
+		List<ColumnModel> schema = schemas.get(tableId);
+		if (schema == null) {
+			throw new IllegalArgumentException("Unknown table: " + tableId);
+		}
+		return schema;
+	}
+
+	@Override
+	public ColumnModel getColumnModel(String id) {
+		ColumnModel column = columns.get(id);
+		if (column == null) {
+			throw new IllegalArgumentException("Unknown column: " + id);
+		}
+		return column;
+	}
+
+}
@@ -0,0 +1,142 @@
+package org.sagebionetworks.table.benchmark;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.sagebionetworks.repo.model.dao.table.TableType;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.ColumnType;
+import org.sagebionetworks.repo.model.table.FacetColumnRangeRequest;
+import org.sagebionetworks.repo.model.table.FacetColumnRequest;
+import org.sagebionetworks.repo.model.table.FacetColumnValuesRequest;
+import org.sagebionetworks.repo.model.table.FacetType;
+import org.sagebionetworks.table.cluster.description.IndexDescription;
+import org.sagebionetworks.table.cluster.description.MaterializedViewIndexDescription;
+import org.sagebionetworks.table.cluster.description.TableIndexDescription;
+import org.sagebionetworks.table.query.model.SqlContext;
+
+/**
+ * The corpus of queries used by the benchmarks. Each query is representative
+ * of a family of queries that run against tables and views.
+ */
+public enum QueryCorpus {
+
+	SIMPLE_SELECT(SqlContext.query, "select foo, bar, aDate from syn1 where bar > 10 order by foo"),
+
+	DEEP_BOOLEAN_FILTER(SqlContext.query, "select foo, bar from syn1 where " + nestedFilter(16)),
+
+	FACETS(SqlContext.query, "select * from syn1 where aBool is true"),
+
+	JOIN(SqlContext.build, "select a.foo, a.bar, b.baz from syn1 a join syn2 b on (a.id = b.id) where a.bar > 3 and b.baz like 'x%'"),
+
+	AGGREGATION(SqlContext.query, "select foo, count(*), sum(bar), avg(aDouble), min(bar), max(aDate) from syn1"
+			+ " where aBool is true group by foo order by foo desc"),
+
+	LONG_IN_LIST(SqlContext.query, "select foo, bar from syn1 where bar in (" + inList(1000) + ")");
+
+	public static final IdAndVersion TABLE_ID = IdAndVersion.parse("syn1");
+	public static final IdAndVersion OTHER_TABLE_ID = IdAndVersion.parse("syn2");
+	public static final IdAndVersion MATERIALIZED_VIEW_ID = IdAndVersion.parse("syn3");
+
+	private final SqlContext sqlContext;
+	private final String sql;
+
+	QueryCorpus(SqlContext sqlContext, String sql) {
+		this.sqlContext = sqlContext;
+		this.sql = sql;
+	}
+
+	public SqlContext getSqlContext() {
+		return sqlContext;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * @return The facet selections applied to the query, null if the query has no
+	 *         facet selection
+	 */
+	public List<FacetColumnRequest> getSelectedFacets() {
+		if (this != FACETS) {
+			return null;
+		}
+		return List.of(
+			new FacetColumnValuesRequest().setColumnName("foo").setFacetValues(IntStream.range(0, 10).mapToObj(i -> "value" + i).collect(Collectors.toSet())),
+			new FacetColumnRangeRequest().setColumnName("bar").setMin("10").setMax("1000"),
+			new FacetColumnValuesRequest().setColumnName("aList").setFacetValues(IntStream.range(0, 5).mapToObj(i -> "item" + i).collect(Collectors.toSet()))
+		);
+	}
+
+	/**
+	 * @return The description of the index the query runs against
+	 */
+	public IndexDescription getIndexDescription() {
+		if (SqlContext.build.equals(sqlContext)) {
+			return new MaterializedViewIndexDescription(MATERIALIZED_VIEW_ID,
+					List.of(new TableIndexDescription(TABLE_ID), new TableIndexDescription(OTHER_TABLE_ID)));
+		}
+		return new TableIndexDescription(TABLE_ID);
+	}
+
+	/**
+	 * @return A schema provider with the schema of each table referenced by the
+	 *         corpus
+	 */
+	public static InMemorySchemaProvider createSchemaProvider() {
+		return new InMemorySchemaProvider()
+			.addTable(TABLE_ID, TableType.table, List.of(
+				createColumn(1L, "id", ColumnType.INTEGER, null),
+				createColumn(2L, "foo", ColumnType.STRING, FacetType.enumeration),
+				createColumn(3L, "bar", ColumnType.INTEGER, FacetType.range),
+				createColumn(4L, "aDate", ColumnType.DATE, null),
+				createColumn(5L, "aDouble", ColumnType.DOUBLE, null),
+				createColumn(6L, "aBool", ColumnType.BOOLEAN, null),
+				createColumn(7L, "aList", ColumnType.STRING_LIST, FacetType.enumeration)
+			))
+			.addTable(OTHER_TABLE_ID, TableType.table, List.of(
+				createColumn(1L, "id", ColumnType.INTEGER, null),
+				createColumn(8L, "baz", ColumnType.STRING, null)
+			));
+	}
+
+	static ColumnModel createColumn(Long id, String name, ColumnType type, FacetType facetType) {
+		ColumnModel column = new ColumnModel().setId(id.toString()).setName(name).setColumnType(type).setFacetType(facetType);
+		if (type == ColumnType.STRING || type == ColumnType.STRING_LIST) {
+			column.setMaximumSize(50L);
+		}
+		if (type == ColumnType.STRING_LIST) {
+			column.setMaximumListLength(24L);
+		}
+		return column;
+	}
+
+	/**
+	 * @param depth
+	 * @return A boolean search condition with the given level of nested
+	 *         parentheses
+	 */
+	static String nestedFilter(int depth) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < depth; i++) {
+			builder.append("(bar > ").append(i).append(" and (foo = 'value").append(i).append("' or ");
+		}
+		builder.append("aBool is true");
+		for (int i = 0; i < depth; i++) {
+			builder.append("))");
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * @param size
+	 * @return A comma separated list of the given number of values
+	 */
+	static String inList(int size) {
+		return IntStream.range(0, size).mapToObj(Integer::toString).collect(Collectors.joining(", "));
+	}
+
+}
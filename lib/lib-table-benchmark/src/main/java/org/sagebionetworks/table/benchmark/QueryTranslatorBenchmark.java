@@ -0,0 +1,110 @@
+package org.sagebionetworks.table.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sagebionetworks.repo.model.table.SortDirection;
+import org.sagebionetworks.repo.model.table.SortItem;
+import org.sagebionetworks.table.cluster.CombinedQuery;
+import org.sagebionetworks.table.cluster.QueryTranslator;
+import org.sagebionetworks.table.cluster.SchemaProvider;
+import org.sagebionetworks.table.cluster.description.IndexDescription;
+import org.sagebionetworks.table.query.model.QueryExpression;
+import org.sagebionetworks.table.query.model.SqlContext;
+
+/**
+ * Measures the cost of combining each query of the {@link QueryCorpus} with the
+ * facet selections, sorting and pagination of a request, of translating the
+ * combined query into the SQL that runs against the index and of writing the
+ * translated model back to SQL.
+ * <p>
+ * The facet statistics queries are generated by the facet transformers of the
+ * repository managers, see FacetModelBenchmark in the tests of that module.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryTranslatorBenchmark {
+
+	static final Long USER_ID = 123L;
+	static final Long MAX_BYTES_PER_PAGE = 1024L * 1024L;
+	static final Long LIMIT = 100L;
+	static final Long OFFSET = 200L;
+
+	@Param
+	public QueryCorpus query;
+
+	private SchemaProvider schemaProvider;
+	private IndexDescription indexDescription;
+	private String combinedSql;
+	private QueryExpression translatedModel;
+
+	@Setup
+	public void setup() {
+		schemaProvider = QueryCorpus.createSchemaProvider();
+		indexDescription = query.getIndexDescription();
+		combinedSql = combine(query, schemaProvider);
+		translatedModel = translate(query, combinedSql, schemaProvider, indexDescription).getTranslatedModel();
+	}
+
+	@Benchmark
+	public String combine() {
+		return combine(query, schemaProvider);
+	}
+
+	@Benchmark
+	public QueryTranslator translate() {
+		return translate(query, combinedSql, schemaProvider, indexDescription);
+	}
+
+	@Benchmark
+	public String translatedToSql() {
+		return translatedModel.toSql();
+	}
+
+	/**
+	 * Queries are combined with the options of the request, the defining SQL of a
+	 * materialized view is used as is.
+	 *
+	 * @param query
+	 * @param schemaProvider
+	 * @return
+	 */
+	static String combine(QueryCorpus query, SchemaProvider schemaProvider) {
+		if (SqlContext.build.equals(query.getSqlContext())) {
+			return query.getSql();
+		}
+		return CombinedQuery.builder()
+			.setQuery(query.getSql())
+			.setSchemaProvider(schemaProvider)
+			.setSelectedFacets(query.getSelectedFacets())
+			.setSortList(List.of(new SortItem().setColumn("foo").setDirection(SortDirection.ASC)))
+			.setOverrideLimit(LIMIT)
+			.setOverrideOffset(OFFSET)
+			.build()
+			.getCombinedSql();
+	}
+
+	static QueryTranslator translate(QueryCorpus query, String combinedSql, SchemaProvider schemaProvider, IndexDescription indexDescription) {
+		return QueryTranslator.builder(combinedSql, schemaProvider, USER_ID)
+			.indexDescription(indexDescription)
+			.sqlContext(query.getSqlContext())
+			.maxBytesPerPage(SqlContext.build.equals(query.getSqlContext()) ? null : MAX_BYTES_PER_PAGE)
+			.build();
+	}
+
+}
@@ -0,0 +1,52 @@
+package org.sagebionetworks.table.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sagebionetworks.table.query.ParseException;
+import org.sagebionetworks.table.query.TableQueryParser;
+import org.sagebionetworks.table.query.model.QueryExpression;
+
+/**
+ * Measures the cost of parsing each query of the {@link QueryCorpus} and of
+ * writing the parsed model back to SQL.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableQueryParserBenchmark {
+
+	@Param
+	public QueryCorpus query;
+
+	private QueryExpression model;
+
+	@Setup
+	public void setup() throws ParseException {
+		model = new TableQueryParser(query.getSql()).queryExpression();
+	}
+
+	@Benchmark
+	public QueryExpression parse() throws ParseException {
+		return new TableQueryParser(query.getSql()).queryExpression();
+	}
+
+	@Benchmark
+	public String toSql() {
+		return model.toSql();
+	}
+
+}
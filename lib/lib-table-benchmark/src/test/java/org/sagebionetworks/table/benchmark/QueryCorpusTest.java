@@ -0,0 +1,59 @@
+package org.sagebionetworks.table.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.sagebionetworks.table.cluster.QueryTranslator;
+import org.sagebionetworks.table.cluster.SchemaProvider;
+import org.sagebionetworks.table.query.ParseException;
+import org.sagebionetworks.table.query.TableQueryParser;
+
+/**
+ * Makes sure that each query of the corpus can still be parsed and translated,
+ * a benchmark that fails on its first invocation would not report anything.
+ */
+public class QueryCorpusTest {
+
+	@ParameterizedTest
+	@EnumSource(QueryCorpus.class)
+	public void testParseAndTranslate(QueryCorpus query) throws ParseException {
+		SchemaProvider schemaProvider = QueryCorpus.createSchemaProvider();
+
+		assertNotNull(new TableQueryParser(query.getSql()).queryExpression());
+
+		String combinedSql = QueryTranslatorBenchmark.combine(query, schemaProvider);
+
+		// call under test
+		QueryTranslator translator = QueryTranslatorBenchmark.translate(query, combinedSql, schemaProvider, query.getIndexDescription());
+
+		assertNotNull(translator.getOutputSQL());
+		assertEquals(translator.getOutputSQL(), translator.getTranslatedModel().toSql());
+	}
+
+	@Test
+	public void testGetSelectedFacets() {
+		assertEquals(3, QueryCorpus.FACETS.getSelectedFacets().size());
+		assertNull(QueryCorpus.SIMPLE_SELECT.getSelectedFacets());
+	}
+
+	@Test
+	public void testNestedFilter() {
+		assertEquals("(bar > 0 and (foo = 'value0' or (bar > 1 and (foo = 'value1' or aBool is true))))", QueryCorpus.nestedFilter(2));
+	}
+
+	@Test
+	public void testInList() {
+		assertEquals("0, 1, 2", QueryCorpus.inList(3));
+	}
+
+	@Test
+	public void testLongInList() {
+		assertTrue(QueryCorpus.LONG_IN_LIST.getSql().endsWith("998, 999)"));
+	}
+
+}
@@ -12,6 +12,7 @@ import org.sagebionetworks.repo.model.table.SortItem;
 import org.sagebionetworks.table.cluster.columntranslation.ColumnTranslationReference;
 import org.sagebionetworks.table.query.ParseException;
 import org.sagebionetworks.table.query.TableQueryParser;
+import org.sagebionetworks.table.query.model.Pagination;
 import org.sagebionetworks.table.query.model.QueryExpression;
 import org.sagebionetworks.table.query.model.QuerySpecification;
 import org.sagebionetworks.table.query.util.FacetRequestColumnModel;
@@ -26,8 +27,18 @@ import org.sagebionetworks.table.query.util.SqlElementUtils;
  */
 public class CombinedQuery {
 
+	/**
+	 * The limit and offset used in place of the actual pagination values in the
+	 * {@link #getTemplateSql()}.
+	 */
+	public static final long TEMPLATE_LIMIT = 1L;
+	public static final long TEMPLATE_OFFSET = 0L;
+
 	private final TableAndColumnMapper tableAndColumnMapper;
 	private final String combinedSql;
+	private final String templateSql;
+	private final Long limit;
+	private final Long offset;
 
 	private CombinedQuery(String query, SchemaProvider schemaProvider, Long overrideOffset, Long overrideLimit,
 			List<SortItem> sortList, List<FacetColumnRequest> selectedFacets, List<QueryFilter> additionalFilters) {
@@ -90,6 +101,20 @@ public class CombinedQuery {
 							overrideOffset, overrideLimit));
 
 			this.combinedSql = queryExpression.toSql();
+			
+			// The same query with a different page only differs by its pagination values
+			Pagination pagination = querySpecification.getTableExpression().getPagination();
+			if (pagination == null) {
+				this.limit = null;
+				this.offset = null;
+				this.templateSql = combinedSql;
+			} else {
+				this.limit = pagination.getLimitLong();
+				this.offset = pagination.getOffsetLong();
+				querySpecification.getTableExpression()
+						.replacePagination(new Pagination(TEMPLATE_LIMIT, offset == null ? null : TEMPLATE_OFFSET));
+				this.templateSql = queryExpression.toSql();
+			}
 		} catch (ParseException e) {
 			throw new IllegalArgumentException(e);
 		}
@@ -113,6 +138,31 @@ public class CombinedQuery {
 		return combinedSql;
 	}
 
+	/**
+	 * @return The combined SQL where the values of the pagination (if any) are
+	 *         replaced with {@link #TEMPLATE_LIMIT} and {@link #TEMPLATE_OFFSET}.
+	 *         This is the same for each page of the same query.
+	 */
+	public String getTemplateSql() {
+		return templateSql;
+	}
+
+	/**
+	 * @return The limit of the combined SQL, null if the combined SQL has no
+	 *         pagination
+	 */
+	public Long getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @return The offset of the combined SQL, null if the combined SQL has no
+	 *         offset
+	 */
+	public Long getOffset() {
+		return offset;
+	}
+
 	public static class Builder {
 		private String query;
 		private SchemaProvider schemaProvider;
@@ -1,6 +1,7 @@
 package org.sagebionetworks.table.cluster;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -213,6 +214,52 @@ public class QueryTranslator implements TranslatedQuery {
 		}
 	}
 	
+	/**
+	 * Copy of the given translation that does not include the translated model.
+	 * Used to share a cached translation between requests.
+	 * 
+	 * @param template
+	 * @param indexDescription
+	 * @param parameters
+	 */
+	private QueryTranslator(QueryTranslator template, IndexDescription indexDescription, Map<String, Object> parameters) {
+		ValidateArgument.required(template, "template");
+		ValidateArgument.required(indexDescription, "indexDescription");
+		ValidateArgument.required(parameters, "parameters");
+		this.inputSql = template.inputSql;
+		this.translated = null;
+		this.parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+		this.outputSQL = template.outputSQL;
+		this.maxRowSizeBytes = template.maxRowSizeBytes;
+		this.maxRowsPerPage = template.maxRowsPerPage;
+		this.includesRowIdAndVersion = template.includesRowIdAndVersion;
+		this.includeEntityEtag = template.includeEntityEtag;
+		this.isAggregatedResult = template.isAggregatedResult;
+		this.selectColumns = Collections.unmodifiableList(new ArrayList<>(template.selectColumns));
+		this.isIncludeSearch = template.isIncludeSearch;
+		this.schemaOfSelect = Collections.unmodifiableList(new ArrayList<>(template.schemaOfSelect));
+		this.indexDescription = indexDescription;
+		this.sqlContext = template.sqlContext;
+		this.distinctTableIds = template.distinctTableIds;
+		this.tableSchema = Collections.unmodifiableList(new ArrayList<>(template.tableSchema));
+		this.isCommonTableExpression = template.isCommonTableExpression;
+		this.tableHash = indexDescription.getTableHash();
+	}
+	
+	/**
+	 * Create a copy of this translation with the given index description and bind
+	 * variable values. The copy does not include the translated model and its
+	 * parameters cannot be modified, so that a translation can be cached and
+	 * shared.
+	 * 
+	 * @param indexDescription
+	 * @param parameters
+	 * @return
+	 */
+	QueryTranslator copyWith(IndexDescription indexDescription, Map<String, Object> parameters) {
+		return new QueryTranslator(this, indexDescription, parameters);
+	}
+	
 	private static class QueryPart {
 
 		private final QuerySpecification querySpecification;
@@ -375,7 +422,14 @@ public class QueryTranslator implements TranslatedQuery {
 		return maxRowsPerPage;
 	}
 	
+	/**
+	 * @return The translated model
+	 * @throws IllegalStateException If this is a copy of a cached translation
+	 */
 	public QueryExpression getTranslatedModel() {
+		if (this.translated == null) {
+			throw new IllegalStateException("The translated model is not available for a copy of a cached translation.");
+		}
 		return this.translated;
 	}
 	
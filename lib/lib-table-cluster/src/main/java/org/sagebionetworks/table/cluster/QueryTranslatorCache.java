@@ -0,0 +1,40 @@
+package org.sagebionetworks.table.cluster;
+
+import org.sagebionetworks.table.cluster.description.IndexDescription;
+
+/**
+ * Caches the translation of the queries so that the pages of the same query do
+ * not need to be parsed and translated again. A translation is cached as a
+ * template where the pagination values are bind variables that are set for each
+ * request.
+ */
+public interface QueryTranslatorCache {
+
+	/**
+	 * Get the translation of the given combined query. A cached translation is
+	 * only used if the query differs from the cached one by the pagination
+	 * values only and the schema of each table referenced by the query did not
+	 * change.
+	 *
+	 * @param combinedQuery
+	 * @param schemaProvider
+	 * @param indexDescription
+	 * @param userId
+	 * @param maxBytesPerPage
+	 * @param includeEntityEtag
+	 * @return A translation that is not shared with any other request
+	 */
+	QueryTranslator getTranslator(CombinedQuery combinedQuery, SchemaProvider schemaProvider, IndexDescription indexDescription,
+			Long userId, Long maxBytesPerPage, Boolean includeEntityEtag);
+
+	/**
+	 * @return The number of requests served by a cached translation
+	 */
+	long getHitCount();
+
+	/**
+	 * @return The number of requests that had to translate the query
+	 */
+	long getMissCount();
+
+}
@@ -0,0 +1,245 @@
+package org.sagebionetworks.table.cluster;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.sagebionetworks.repo.model.dao.table.TableType;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.table.cluster.description.IndexDescription;
+import org.sagebionetworks.table.query.model.Pagination;
+import org.sagebionetworks.table.query.model.QueryExpression;
+import org.sagebionetworks.table.query.model.QuerySpecification;
+import org.sagebionetworks.util.ValidateArgument;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+@Service
+public class QueryTranslatorCacheImpl implements QueryTranslatorCache {
+
+	/**
+	 * The maximum total weight of the cached translations, the weight of a
+	 * translation is the length of its SQL plus the number of its parameters.
+	 */
+	static final long MAX_CACHED_WEIGHT = 20_000_000;
+
+	/**
+	 * Larger translations (e.g. with long lists of values) are rarely repeated and
+	 * are not cached.
+	 */
+	static final int MAX_TEMPLATE_WEIGHT = 100_000;
+
+	private static final Duration CACHE_EXPIRATION = Duration.ofMinutes(10);
+
+	private static final String COLON = ":";
+
+	private Cache<TemplateKey, QueryTemplate> cache;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+
+	@PostConstruct
+	public void configure() {
+		this.cache = CacheBuilder.newBuilder()
+			.maximumWeight(MAX_CACHED_WEIGHT)
+			.weigher(QueryTranslatorCacheImpl::weigh)
+			.expireAfterAccess(CACHE_EXPIRATION)
+			.build();
+	}
+
+	@Override
+	public QueryTranslator getTranslator(CombinedQuery combinedQuery, SchemaProvider schemaProvider, IndexDescription indexDescription,
+			Long userId, Long maxBytesPerPage, Boolean includeEntityEtag) {
+		ValidateArgument.required(combinedQuery, "The combinedQuery");
+		ValidateArgument.required(schemaProvider, "The schemaProvider");
+		ValidateArgument.required(indexDescription, "The indexDescription");
+
+		TemplateKey key = new TemplateKey(combinedQuery, schemaProvider, indexDescription, userId, maxBytesPerPage, includeEntityEtag);
+
+		QueryTemplate template = cache.getIfPresent(key);
+
+		if (template != null) {
+			hitCount.increment();
+			return template.bind(combinedQuery, indexDescription);
+		}
+
+		missCount.increment();
+
+		QueryTranslator translator = QueryTranslator.builder(combinedQuery.getCombinedSql(), userId)
+			.schemaProvider(schemaProvider)
+			.indexDescription(indexDescription)
+			.maxBytesPerPage(maxBytesPerPage)
+			.includeEntityEtag(includeEntityEtag)
+			.build();
+
+		// The translation is returned as is, only a copy that does not include the translated model is cached
+		createTemplate(combinedQuery, translator)
+			.filter(created -> weigh(key, created) <= MAX_TEMPLATE_WEIGHT)
+			.ifPresent(created -> cache.put(key, created));
+
+		return translator;
+	}
+
+	/**
+	 * A translation can be used as a template if the values of its pagination are
+	 * bind variables of the single query specification of the query.
+	 *
+	 * @param combinedQuery
+	 * @param translator
+	 * @return
+	 */
+	static Optional<QueryTemplate> createTemplate(CombinedQuery combinedQuery, QueryTranslator translator) {
+		QueryExpression model = translator.getTranslatedModel();
+
+		if (model.getWithListElements().isPresent() || model.stream(QuerySpecification.class).count() != 1) {
+			return Optional.empty();
+		}
+
+		String limitKey = null;
+		String offsetKey = null;
+
+		if (combinedQuery.getLimit() != null) {
+			Pagination pagination = model.getFirstElementOfType(QuerySpecification.class).getTableExpression().getPagination();
+			if (pagination == null) {
+				return Optional.empty();
+			}
+			limitKey = getBindKey(pagination.getLimit(), translator.getParameters());
+			if (limitKey == null) {
+				return Optional.empty();
+			}
+			if (combinedQuery.getOffset() != null) {
+				offsetKey = getBindKey(pagination.getOffset(), translator.getParameters());
+				if (offsetKey == null) {
+					return Optional.empty();
+				}
+			}
+		}
+
+		return Optional.of(new QueryTemplate(translator.copyWith(translator.getIndexDescription(), translator.getParameters()), limitKey, offsetKey));
+	}
+
+	/**
+	 * @param key
+	 * @param template
+	 * @return The length of the SQL of the key and of the translation plus the
+	 *         number of parameters of the translation.
+	 */
+	static int weigh(TemplateKey key, QueryTemplate template) {
+		return key.templateSql.length() + template.translator.getOutputSQL().length() + template.translator.getParameters().size();
+	}
+
+	private static String getBindKey(String value, Map<String, Object> parameters) {
+		if (value == null || !value.startsWith(COLON)) {
+			return null;
+		}
+		String key = value.substring(COLON.length());
+		return parameters.containsKey(key) ? key : null;
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * A cached translation and the keys of the bind variables of its pagination.
+	 * The translation does not include the translated model and its parameters
+	 * cannot be modified, each request gets its own copy.
+	 */
+	static final class QueryTemplate {
+
+		private final QueryTranslator translator;
+		private final String limitKey;
+		private final String offsetKey;
+
+		QueryTemplate(QueryTranslator translator, String limitKey, String offsetKey) {
+			this.translator = translator;
+			this.limitKey = limitKey;
+			this.offsetKey = offsetKey;
+		}
+
+		QueryTranslator bind(CombinedQuery combinedQuery, IndexDescription indexDescription) {
+			Map<String, Object> parameters = new LinkedHashMap<>(translator.getParameters());
+			if (limitKey != null) {
+				// Same as the limit applied by the translator (See SqlElementUtils.limitMaxRowsPerPage())
+				Long maxRowsPerPage = translator.getMaxRowsPerPage();
+				Long limit = maxRowsPerPage == null ? combinedQuery.getLimit() : Math.min(combinedQuery.getLimit(), maxRowsPerPage);
+				parameters.put(limitKey, limit);
+			}
+			if (offsetKey != null) {
+				parameters.put(offsetKey, combinedQuery.getOffset());
+			}
+			return translator.copyWith(indexDescription, parameters);
+		}
+
+	}
+
+	/**
+	 * Two queries share the same translation if they only differ by their
+	 * pagination values and are translated against the same schemas.
+	 */
+	static final class TemplateKey {
+
+		private final String templateSql;
+		private final Long userId;
+		private final Long maxBytesPerPage;
+		private final Boolean includeEntityEtag;
+		private final IdAndVersion idAndVersion;
+		private final TableType tableType;
+		private final String tableHash;
+		private final Map<IdAndVersion, List<String>> schemaVersion;
+
+		TemplateKey(CombinedQuery combinedQuery, SchemaProvider schemaProvider, IndexDescription indexDescription, Long userId,
+				Long maxBytesPerPage, Boolean includeEntityEtag) {
+			this.templateSql = combinedQuery.getTemplateSql();
+			this.userId = userId;
+			this.maxBytesPerPage = maxBytesPerPage;
+			this.includeEntityEtag = includeEntityEtag;
+			this.idAndVersion = indexDescription.getIdAndVersion();
+			this.tableType = indexDescription.getTableType();
+			this.tableHash = indexDescription.getTableHash();
+			// The ids of the column models are immutable, a change to the schema changes the ids
+			this.schemaVersion = new LinkedHashMap<>();
+			for (IdAndVersion tableId : combinedQuery.getTableAndColumnMapper().getTableIds()) {
+				schemaVersion.put(tableId, schemaProvider.getTableSchema(tableId).stream().map(ColumnModel::getId).collect(Collectors.toList()));
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(templateSql, userId, maxBytesPerPage, includeEntityEtag, idAndVersion, tableType, tableHash, schemaVersion);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof TemplateKey)) {
+				return false;
+			}
+			TemplateKey other = (TemplateKey) obj;
+			return Objects.equals(templateSql, other.templateSql) && Objects.equals(userId, other.userId)
+					&& Objects.equals(maxBytesPerPage, other.maxBytesPerPage) && Objects.equals(includeEntityEtag, other.includeEntityEtag)
+					&& Objects.equals(idAndVersion, other.idAndVersion) && tableType == other.tableType
+					&& Objects.equals(tableHash, other.tableHash) && Objects.equals(schemaVersion, other.schemaVersion);
+		}
+
+	}
+
+}
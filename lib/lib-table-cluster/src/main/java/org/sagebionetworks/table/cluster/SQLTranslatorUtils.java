@@ -1400,8 +1400,33 @@ public class SQLTranslatorUtils {
 		for(BenefactorDescription benDesc: indexDescription.getBenefactors()) {
 			joiner.add(benDesc.getBenefactorColumnName());
 		}
+		// the source row id is the last column added to the select
+		if(indexDescription.getRowSourceTableId().isPresent()) {
+			joiner.add(TableConstants.ROW_SOURCE_ID);
+		}
 		return String.format("INSERT INTO %s (%s) %s", tableName, joiner.toString(), outputSQL);
 	}
+	
+	/**
+	 * Create the SQL to delete all of the rows of a materialized view that were
+	 * produced by a row of the source table that was deleted or changed after the
+	 * given version. The view must be built with the ROW_SOURCE_ID of each row (see
+	 * {@link IndexDescription#getRowSourceTableId()}).
+	 * 
+	 * @param indexDescription
+	 * @param fromVersionParameterName The name of the parameter bound to the last
+	 *                                 version of the source applied to the view.
+	 * @return
+	 */
+	public static String createMaterializedViewDeleteChangedRowsSql(IndexDescription indexDescription, String fromVersionParameterName) {
+		IdAndVersion sourceId = indexDescription.getRowSourceTableId().orElseThrow(() -> new IllegalArgumentException(
+				"The materialized view " + indexDescription.getIdAndVersion() + " does not include the source row id"));
+		String tableName = SQLUtils.getTableNameForId(indexDescription.getIdAndVersion(), TableIndexType.INDEX);
+		String sourceTableName = SQLUtils.getTableNameForId(sourceId, TableIndexType.INDEX);
+		return String.format("DELETE V FROM %1$s V LEFT JOIN %2$s S ON (V.%3$s = S.%4$s) WHERE S.%4$s IS NULL OR S.%5$s > :%6$s",
+				tableName, sourceTableName, TableConstants.ROW_SOURCE_ID, TableConstants.ROW_ID,
+				TableConstants.ROW_VERSION, fromVersionParameterName);
+	}
 
 	/**
 	 * Translate the {@link Identifier} and {@link ColumnList} within the provided {@link WithListElement}.
@@ -10,6 +10,8 @@ import static org.sagebionetworks.repo.model.table.TableConstants.ANNOTATION_REP
 import static org.sagebionetworks.repo.model.table.TableConstants.ANNOTATION_REPLICATION_COL_OBJECT_TYPE;
 import static org.sagebionetworks.repo.model.table.TableConstants.ANNOTATION_REPLICATION_COL_OBJECT_VERSION;
 import static org.sagebionetworks.repo.model.table.TableConstants.ANNOTATION_REPLICATION_TABLE;
+import static org.sagebionetworks.repo.model.table.TableConstants.BENEFACTOR_COL_BENEFACTOR_ID;
+import static org.sagebionetworks.repo.model.table.TableConstants.BENEFACTOR_COL_COLUMN_NAME;
 import static org.sagebionetworks.repo.model.table.TableConstants.FILE_ID;
 import static org.sagebionetworks.repo.model.table.TableConstants.OBEJCT_REPLICATION_COL_ETAG;
 import static org.sagebionetworks.repo.model.table.TableConstants.OBJECT_REPLICATION_ALIAS;
@@ -101,6 +103,7 @@ public class SQLUtils {
 	public static final String FILE_ID_BIND = "bFIds";
 	public static final String ROW_ID_BIND = "bRI";
 	public static final String ROW_VERSION_BIND = "bRV";
+	public static final String BENEFACTOR_COLUMN_BIND = "bBC";
 	public static final String DEFAULT = "DEFAULT";
 	public static final String TABLE_PREFIX = "T";
 	public static final String COLUMN_PREFIX = "_C";
@@ -126,7 +129,11 @@ public class SQLUtils {
 		/**
 		 * Table tracking filehandles bound to a given table.
 		 */
-		FILE_IDS("F");
+		FILE_IDS("F"),
+		/**
+		 * Table tracking the distinct benefactors of each benefactor column of a view.
+		 */
+		BENEFACTORS("B");
 
 		private final String tablePostFix;
 		private final Pattern tableNamePattern;
@@ -169,6 +176,11 @@ public class SQLUtils {
 		case FILE_IDS:
 			columnDefinitions.append(FILE_ID).append(" BIGINT NOT NULL PRIMARY KEY");
 			break;
+		case BENEFACTORS:
+			columnDefinitions.append(BENEFACTOR_COL_COLUMN_NAME).append(" VARCHAR(256) NOT NULL,");
+			columnDefinitions.append(BENEFACTOR_COL_BENEFACTOR_ID).append(" BIGINT NOT NULL,");
+			columnDefinitions.append("PRIMARY KEY (").append(BENEFACTOR_COL_COLUMN_NAME).append(", ").append(BENEFACTOR_COL_BENEFACTOR_ID).append(")");
+			break;
 		default:
 			throw new IllegalArgumentException("Cannot handle type " + type);
 		}
@@ -725,6 +737,54 @@ public class SQLUtils {
 	public static String createSQLGetDistinctValues(IdAndVersion tableId, String columnName){
 		return "SELECT DISTINCT "+columnName+" FROM "+getTableNameForId(tableId, TableIndexType.INDEX);
 	}
+	
+	/**
+	 * Select the benefactor ids recorded for the given benefactor column in the
+	 * benefactor table of the index.
+	 * 
+	 * @param tableId
+	 * @return
+	 */
+	public static String createSQLGetBenefactorSet(IdAndVersion tableId) {
+		return "SELECT " + BENEFACTOR_COL_BENEFACTOR_ID + " FROM " + getTableNameForId(tableId, TableIndexType.BENEFACTORS)
+				+ " WHERE " + BENEFACTOR_COL_COLUMN_NAME + " = ?";
+	}
+	
+	/**
+	 * Delete all the benefactor ids recorded in the benefactor table of the index.
+	 * 
+	 * @param tableId
+	 * @return
+	 */
+	public static String createSQLClearBenefactorSet(IdAndVersion tableId) {
+		return "DELETE FROM " + getTableNameForId(tableId, TableIndexType.BENEFACTORS);
+	}
+	
+	/**
+	 * Insert ignore the distinct values of the given benefactor column of the index
+	 * into the benefactor table of the index. The name of the column is bound to
+	 * {@value #BENEFACTOR_COLUMN_BIND}. When rowIdsParameterName is provided only
+	 * the rows with the ids bound to the parameter are considered.
+	 * 
+	 * @param tableId
+	 * @param benefactorColumn
+	 * @param rowIdsParameterName Optional
+	 * @return
+	 */
+	public static String createSQLInsertIgnoreBenefactorSet(IdAndVersion tableId, String benefactorColumn, String rowIdsParameterName) {
+		ValidateArgument.required(tableId, "tableId");
+		ValidateArgument.required(benefactorColumn, "benefactorColumn");
+		StringBuilder builder = new StringBuilder("INSERT IGNORE INTO ");
+		builder.append(getTableNameForId(tableId, TableIndexType.BENEFACTORS));
+		builder.append(" (").append(BENEFACTOR_COL_COLUMN_NAME).append(", ").append(BENEFACTOR_COL_BENEFACTOR_ID).append(")");
+		builder.append(" SELECT DISTINCT :").append(BENEFACTOR_COLUMN_BIND).append(", ").append(benefactorColumn);
+		builder.append(" FROM ").append(getTableNameForId(tableId, TableIndexType.INDEX));
+		builder.append(" WHERE ").append(benefactorColumn).append(" IS NOT NULL");
+		if (rowIdsParameterName != null) {
+			builder.append(" AND ").append(ROW_ID).append(" IN (:").append(rowIdsParameterName).append(")");
+		}
+		return builder.toString();
+	}
 
 	/**
 	 * Create alter table SQL statements for the given set of column changes.
@@ -232,6 +232,48 @@ public interface TableIndexDAO {
 	 */
 	Set<Long> getDistinctLongValues(IdAndVersion tableId, String columnIds);
 
+	/**
+	 * Create the table that tracks the distinct benefactors of the benefactor
+	 * columns of an index if it does not exist. A newly created table is empty and
+	 * must be populated with {@link #refreshBenefactorSet(IdAndVersion, List)}.
+	 * Note: This is DDL and cannot be called within a transaction.
+	 * 
+	 * @param tableId
+	 */
+	void createBenefactorTableIfDoesNotExist(IdAndVersion tableId);
+
+	/**
+	 * Replace the benefactor ids tracked for the index with the distinct values of
+	 * each of the given benefactor columns.
+	 * 
+	 * @param tableId
+	 * @param benefactorColumns
+	 */
+	void refreshBenefactorSet(IdAndVersion tableId, List<String> benefactorColumns);
+
+	/**
+	 * Add the benefactors of the rows with the given ids to the benefactor ids
+	 * tracked for each of the given benefactor columns. A column with no tracked
+	 * benefactors is left empty since its set was never populated.
+	 * 
+	 * @param tableId
+	 * @param benefactorColumns
+	 * @param rowIds
+	 */
+	void addBenefactorsOfRowsToSet(IdAndVersion tableId, List<String> benefactorColumns, Set<Long> rowIds);
+
+	/**
+	 * Get the benefactor ids tracked for the given benefactor column of the index.
+	 * The tracked ids are a superset of the distinct values of the column.
+	 * 
+	 * @param tableId
+	 * @param benefactorColumn
+	 * @return {@link Optional#empty()} if the benefactor table does not exist or no
+	 *         benefactor is tracked for the column, in which case
+	 *         {@link #getDistinctLongValues(IdAndVersion, String)} must be used.
+	 */
+	Optional<Set<Long>> getBenefactorSet(IdAndVersion tableId, String benefactorColumn);
+
 	/**
 	 * Truncate all of the data in the given table.
 	 * 
@@ -301,6 +301,7 @@ public class TableIndexDAOImpl implements TableIndexDAO {
 	public void deleteTable(IdAndVersion tableId) {
 		template.update(SQLUtils.dropTableSQL(tableId, SQLUtils.TableIndexType.INDEX));
 		deleteSecondaryTables(tableId);
+		template.update(SQLUtils.dropTableSQL(tableId, SQLUtils.TableIndexType.BENEFACTORS));
 	}
 	
 	/**
@@ -574,6 +575,73 @@ public class TableIndexDAOImpl implements TableIndexDAO {
 		List<Long> results = template.queryForList(sql, Long.class);
 		return new HashSet<Long>(results);
 	}
+	
+	@Override
+	public void createBenefactorTableIfDoesNotExist(IdAndVersion tableId) {
+		template.update(SQLUtils.createTableSQL(tableId, TableIndexType.BENEFACTORS));
+	}
+	
+	@Override
+	public void refreshBenefactorSet(IdAndVersion tableId, List<String> benefactorColumns) {
+		ValidateArgument.required(tableId, "tableId");
+		ValidateArgument.required(benefactorColumns, "benefactorColumns");
+		writeTransactionTemplate.executeWithoutResult(txStatus -> {
+			template.update(SQLUtils.createSQLClearBenefactorSet(tableId));
+			for (String benefactorColumn : benefactorColumns) {
+				String sql = SQLUtils.createSQLInsertIgnoreBenefactorSet(tableId, benefactorColumn, null);
+				namedTemplate.update(sql, Collections.singletonMap(SQLUtils.BENEFACTOR_COLUMN_BIND, benefactorColumn));
+			}
+		});
+	}
+	
+	@Override
+	public void addBenefactorsOfRowsToSet(IdAndVersion tableId, List<String> benefactorColumns, Set<Long> rowIds) {
+		ValidateArgument.required(tableId, "tableId");
+		ValidateArgument.required(benefactorColumns, "benefactorColumns");
+		ValidateArgument.required(rowIds, "rowIds");
+		if (rowIds.isEmpty()) {
+			return;
+		}
+		writeTransactionTemplate.executeWithoutResult(txStatus -> {
+			for (String benefactorColumn : benefactorColumns) {
+				// Adding to a set that was never populated would make it look complete
+				if (!isBenefactorSetPopulated(tableId, benefactorColumn)) {
+					continue;
+				}
+				String sql = SQLUtils.createSQLInsertIgnoreBenefactorSet(tableId, benefactorColumn, SQLUtils.ROW_ID_BIND);
+				Map<String, Object> params = new HashMap<>(2);
+				params.put(SQLUtils.BENEFACTOR_COLUMN_BIND, benefactorColumn);
+				params.put(SQLUtils.ROW_ID_BIND, rowIds);
+				namedTemplate.update(sql, params);
+			}
+		});
+	}
+	
+	boolean isBenefactorSetPopulated(IdAndVersion tableId, String benefactorColumn) {
+		try {
+			return !template.queryForList(SQLUtils.createSQLGetBenefactorSet(tableId) + " LIMIT 1", Long.class, benefactorColumn).isEmpty();
+		} catch (BadSqlGrammarException e) {
+			// This is thrown if the benefactor table was not created yet
+			return false;
+		}
+	}
+	
+	@Override
+	public Optional<Set<Long>> getBenefactorSet(IdAndVersion tableId, String benefactorColumn) {
+		ValidateArgument.required(tableId, "tableId");
+		ValidateArgument.required(benefactorColumn, "benefactorColumn");
+		List<Long> results;
+		try {
+			results = template.queryForList(SQLUtils.createSQLGetBenefactorSet(tableId), Long.class, benefactorColumn);
+		} catch (BadSqlGrammarException e) {
+			// This is thrown if the benefactor table was not created yet
+			return Optional.empty();
+		}
+		if (results.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(new HashSet<>(results));
+	}
 
 	@Override
 	public void createTableIfDoesNotExist(IndexDescription description) {
@@ -1547,6 +1615,10 @@ public class TableIndexDAOImpl implements TableIndexDAO {
 		ValidateArgument.required(targetIndexId, "targetIndexId");
 		ValidateArgument.requirement(!sourceIndexId.equals(targetIndexId), "The source index id and the target index id cannot be the same");
 		
+		// Indices built before benefactors were tracked do not have a benefactor table, an empty one is never used
+		createBenefactorTableIfDoesNotExist(sourceIndexId);
+		createBenefactorTableIfDoesNotExist(targetIndexId);
+		
 		String randomPrefix = STALE_TABLE_PREFIX + RandomStringUtils.randomAlphanumeric(8) + "_";
 		StringBuilder sqlBuilder = new StringBuilder("RENAME TABLE ");
 		
@@ -112,6 +112,14 @@ public interface IndexDescription extends Comparable<IndexDescription> {
 		return false;
 	}
 
+	/**
+	 * @return When present, each row of this index records the ROW_ID of the row
+	 *         of the returned table that produced it in the ROW_SOURCE_ID column.
+	 */
+	default Optional<IdAndVersion> getRowSourceTableId() {
+		return Optional.empty();
+	}
+
 	/**
 	 * Pre-process the given runtime-query and return a new query to be run in its
 	 * place.
@@ -2,6 +2,7 @@ package org.sagebionetworks.table.cluster.description;
 
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_ID;
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_SEARCH_CONTENT;
+import static org.sagebionetworks.repo.model.table.TableConstants.ROW_SOURCE_ID;
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_VERSION;
 
 import java.util.ArrayList;
@@ -9,6 +10,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.sagebionetworks.repo.model.dao.table.TableType;
@@ -26,6 +28,7 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 	private final List<BenefactorDescription> benefactorDescriptions;
 	private final List<ColumnToAdd> buildColumnsToAddToSelect;
 	private final List<IndexDescription> orderedDependencies;
+	private final IdAndVersion rowSourceTableId;
 
 	/**
 	 * 
@@ -34,6 +37,22 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 	 *                     dependencies in the from clause.
 	 */
 	public MaterializedViewIndexDescription(IdAndVersion idAndVersion, List<IndexDescription> dependencies) {
+		this(idAndVersion, dependencies, false);
+	}
+
+	/**
+	 * 
+	 * @param idAndVersion       The IdAndVersion of this {@link MaterializedView}
+	 * @param dependencies       Note: The order of this list should match the
+	 *                           order of dependencies in the from clause.
+	 * @param includeSourceRowId When true, the ROW_ID of the source row is
+	 *                           recorded in the ROW_SOURCE_ID column of each row
+	 *                           so that the view can be maintained incrementally.
+	 *                           Only supported when the view depends on a single
+	 *                           table (see {@link #isSourceRowIdSupported(List)}).
+	 */
+	public MaterializedViewIndexDescription(IdAndVersion idAndVersion, List<IndexDescription> dependencies,
+			boolean includeSourceRowId) {
 		super();
 		this.idAndVersion = idAndVersion;
 		// The order of the provided dependencies is nondeterministic. By ordering the
@@ -42,6 +61,25 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 		this.buildColumnsToAddToSelect = new ArrayList<>();
 		this.benefactorDescriptions = new ArrayList<>();
 		initializeBenefactors();
+		if (includeSourceRowId) {
+			if (!isSourceRowIdSupported(dependencies)) {
+				throw new IllegalArgumentException("The source row id is only supported for a single table dependency");
+			}
+			this.rowSourceTableId = this.orderedDependencies.get(0).getIdAndVersion();
+			String dependencyTranslatedTableName = SQLUtils.getTableNameForId(rowSourceTableId, TableIndexType.INDEX);
+			buildColumnsToAddToSelect.add(new ColumnToAdd(rowSourceTableId, dependencyTranslatedTableName + "." + ROW_ID));
+		} else {
+			this.rowSourceTableId = null;
+		}
+	}
+
+	/**
+	 * @param dependencies
+	 * @return True if a view with the given dependencies can record the ROW_ID of
+	 *         its source rows.
+	 */
+	public static boolean isSourceRowIdSupported(List<IndexDescription> dependencies) {
+		return dependencies.size() == 1 && TableType.table.equals(dependencies.get(0).getTableType());
 	}
 
 	/**
@@ -78,6 +116,9 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 		builder.append(ROW_ID).append(" BIGINT NOT NULL AUTO_INCREMENT, ");
 		builder.append(ROW_VERSION).append(" BIGINT NOT NULL DEFAULT 0, ");
 		builder.append(ROW_SEARCH_CONTENT).append(" MEDIUMTEXT NULL, ");
+		if (rowSourceTableId != null) {
+			builder.append(ROW_SOURCE_ID).append(" BIGINT NULL, ");
+		}
 		StringBuilder benefactorIndicies = new StringBuilder();
 		for (BenefactorDescription desc : benefactorDescriptions) {
 			builder.append(desc.getBenefactorColumnName()).append(" BIGINT NOT NULL, ");
@@ -86,6 +127,9 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 		builder.append("PRIMARY KEY (").append("ROW_ID").append("), ");
 		builder.append("FULLTEXT INDEX `" + ROW_SEARCH_CONTENT + "_INDEX` (" + ROW_SEARCH_CONTENT + ")");
 		builder.append(benefactorIndicies.toString());
+		if (rowSourceTableId != null) {
+			builder.append(", KEY (").append(ROW_SOURCE_ID).append(")");
+		}
 		builder.append(")");
 		return builder.toString();
 	}
@@ -124,9 +168,15 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 		return orderedDependencies;
 	}
 
+	@Override
+	public Optional<IdAndVersion> getRowSourceTableId() {
+		return Optional.ofNullable(rowSourceTableId);
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(benefactorDescriptions, buildColumnsToAddToSelect, idAndVersion, orderedDependencies);
+		return Objects.hash(benefactorDescriptions, buildColumnsToAddToSelect, idAndVersion, orderedDependencies,
+				rowSourceTableId);
 	}
 
 	@Override
@@ -141,14 +191,15 @@ public class MaterializedViewIndexDescription implements IndexDescription {
 		return Objects.equals(benefactorDescriptions, other.benefactorDescriptions)
 				&& Objects.equals(buildColumnsToAddToSelect, other.buildColumnsToAddToSelect)
 				&& Objects.equals(idAndVersion, other.idAndVersion)
-				&& Objects.equals(orderedDependencies, other.orderedDependencies);
+				&& Objects.equals(orderedDependencies, other.orderedDependencies)
+				&& Objects.equals(rowSourceTableId, other.rowSourceTableId);
 	}
 
 	@Override
 	public String toString() {
 		return "MaterializedViewIndexDescription [idAndVersion=" + idAndVersion + ", benefactorDescriptions="
 				+ benefactorDescriptions + ", buildColumnsToAddToSelect=" + buildColumnsToAddToSelect
-				+ ", orderedDependencies=" + orderedDependencies + "]";
+				+ ", orderedDependencies=" + orderedDependencies + ", rowSourceTableId=" + rowSourceTableId + "]";
 	}
 
 }
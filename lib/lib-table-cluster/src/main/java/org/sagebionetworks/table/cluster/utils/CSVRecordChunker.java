@@ -0,0 +1,146 @@
+package org.sagebionetworks.table.cluster.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits a CSV stream into chunks of complete records without parsing the
+ * individual cells, so that each chunk can be handed to its own CSVReader and
+ * parsed independently of the others.
+ * <p>
+ * The stream is read one line at a time (like the CSVReader) and a record only
+ * ends at a line that does not leave a quoted cell open. Quotes are tracked
+ * with the same rules the CSVReader uses: a quote character toggles the quoted
+ * state unless it is doubled inside of a cell, and the escape character
+ * consumes a following quote or escape character inside of a cell. Lines are
+ * joined with '\n' which is also how the CSVReader joins the lines of a
+ * multi-line cell.
+ *
+ */
+public class CSVRecordChunker implements Closeable {
+
+	private final BufferedReader reader;
+	private final char separator;
+	private final char quoteCharacter;
+	private final char escapeCharacter;
+	private long linesRead;
+	private boolean done;
+
+	/**
+	 *
+	 * @param reader          The CSV data. It is closed when the chunker is
+	 *                        closed.
+	 * @param separator
+	 * @param quoteCharacter
+	 * @param escapeCharacter
+	 */
+	public CSVRecordChunker(Reader reader, char separator, char quoteCharacter, char escapeCharacter) {
+		this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		this.separator = separator;
+		this.quoteCharacter = quoteCharacter;
+		this.escapeCharacter = escapeCharacter;
+		this.linesRead = 0;
+		this.done = false;
+	}
+
+	/**
+	 * Read complete records until the chunk contains at least the given number
+	 * of records and characters, or until the end of the stream.
+	 *
+	 * @param minimumCharacters The chunk is closed at the first record boundary
+	 *                          after this many characters.
+	 * @param minimumRecords    The minimum number of records in the chunk.
+	 * @return The text of the chunk with each line terminated with '\n' or null
+	 *         if the end of the stream has been reached.
+	 * @throws IOException
+	 */
+	public String nextChunk(int minimumCharacters, int minimumRecords) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		int recordCount = 0;
+		while (!done && (recordCount < minimumRecords || builder.length() < minimumCharacters)) {
+			if (appendRecord(builder)) {
+				recordCount++;
+			}
+		}
+		if (recordCount < 1) {
+			return null;
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Append the lines of the next record to the given builder.
+	 *
+	 * @param builder
+	 * @return False if the end of the stream was reached before the start of a
+	 *         record.
+	 * @throws IOException
+	 */
+	boolean appendRecord(StringBuilder builder) throws IOException {
+		boolean inQuotes = false;
+		boolean anyLines = false;
+		do {
+			String line = reader.readLine();
+			if (line == null) {
+				done = true;
+				return anyLines;
+			}
+			anyLines = true;
+			linesRead++;
+			builder.append(line).append('\n');
+			inQuotes = isQuoteOpenAtEnd(line, inQuotes);
+		} while (inQuotes);
+		return true;
+	}
+
+	/**
+	 * Does the given line leave a quoted cell open?
+	 *
+	 * @param line
+	 * @param inQuotes Was a quoted cell left open by the previous line of the
+	 *                 record?
+	 * @return
+	 */
+	boolean isQuoteOpenAtEnd(String line, boolean inQuotes) {
+		boolean inField = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			boolean hasNext = i + 1 < line.length();
+			if (c == escapeCharacter) {
+				if ((inQuotes || inField) && hasNext
+						&& (line.charAt(i + 1) == quoteCharacter || line.charAt(i + 1) == escapeCharacter)) {
+					i++;
+				}
+			} else if (c == quoteCharacter) {
+				if ((inQuotes || inField) && hasNext && line.charAt(i + 1) == quoteCharacter) {
+					// doubled quote
+					i++;
+				} else {
+					inQuotes = !inQuotes;
+				}
+				inField = !inField;
+			} else if (c == separator && !inQuotes) {
+				inField = false;
+			} else {
+				inField = true;
+			}
+		}
+		return inQuotes;
+	}
+
+	/**
+	 * The total number of lines read from the stream.
+	 *
+	 * @return
+	 */
+	public long getLinesRead() {
+		return linesRead;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
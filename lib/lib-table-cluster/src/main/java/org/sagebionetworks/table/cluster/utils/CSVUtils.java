@@ -29,35 +29,10 @@ public class CSVUtils {
 	 * @return
 	 */
 	public static CSVReader createCSVReader(Reader reader, CsvTableDescriptor descriptor, Long linesToSkip) {
-		char separator = Constants.DEFAULT_SEPARATOR;
-		char quotechar = Constants.DEFAULT_QUOTE_CHARACTER;
-		char escape = Constants.DEFAULT_ESCAPE_CHARACTER;
+		char separator = getSeparator(descriptor);
+		char quotechar = getQuoteCharacter(descriptor);
+		char escape = getEscapeCharacter(descriptor);
 		int skipLines = 0;
-		if(descriptor != null){
-			if (descriptor.getSeparator() != null) {
-				if (descriptor.getSeparator().length() != 1) {
-					throw new IllegalArgumentException(
-							"CsvTableDescriptor.separator must be exactly one character.");
-				}
-				separator = descriptor.getSeparator().charAt(0);
-			}
-			if (descriptor.getQuoteCharacter() != null) {
-				if (descriptor.getQuoteCharacter().length() != 1) {
-					throw new IllegalArgumentException(
-							"CsvTableDescriptor.quoteCharacter must be exactly one character.");
-				}
-				quotechar = descriptor.getQuoteCharacter()
-						.charAt(0);
-			}
-			if (descriptor.getEscapeCharacter() != null) {
-				if (descriptor.getEscapeCharacter().length() != 1) {
-					throw new IllegalArgumentException(
-							"CsvTableDescriptor.escapeCharacter must be exactly one character.");
-				}
-				escape = descriptor.getEscapeCharacter()
-						.charAt(0);
-			}			
-		}
 		if (linesToSkip != null) {
 			skipLines = linesToSkip.intValue();
 		}
@@ -65,6 +40,52 @@ public class CSVUtils {
 		return new CSVReader(reader, separator, quotechar, escape, skipLines);
 	}
 	
+	/**
+	 * Create a CSVRecordChunker that splits the CSV into chunks of complete
+	 * records using the same separator, quote and escape characters as a
+	 * CSVReader created for the same descriptor.
+	 * 
+	 * @param reader
+	 * @param descriptor
+	 * @return
+	 */
+	public static CSVRecordChunker createCSVRecordChunker(Reader reader, CsvTableDescriptor descriptor) {
+		return new CSVRecordChunker(reader, getSeparator(descriptor), getQuoteCharacter(descriptor), getEscapeCharacter(descriptor));
+	}
+	
+	static char getSeparator(CsvTableDescriptor descriptor) {
+		if (descriptor == null || descriptor.getSeparator() == null) {
+			return Constants.DEFAULT_SEPARATOR;
+		}
+		if (descriptor.getSeparator().length() != 1) {
+			throw new IllegalArgumentException(
+					"CsvTableDescriptor.separator must be exactly one character.");
+		}
+		return descriptor.getSeparator().charAt(0);
+	}
+	
+	static char getQuoteCharacter(CsvTableDescriptor descriptor) {
+		if (descriptor == null || descriptor.getQuoteCharacter() == null) {
+			return Constants.DEFAULT_QUOTE_CHARACTER;
+		}
+		if (descriptor.getQuoteCharacter().length() != 1) {
+			throw new IllegalArgumentException(
+					"CsvTableDescriptor.quoteCharacter must be exactly one character.");
+		}
+		return descriptor.getQuoteCharacter().charAt(0);
+	}
+	
+	static char getEscapeCharacter(CsvTableDescriptor descriptor) {
+		if (descriptor == null || descriptor.getEscapeCharacter() == null) {
+			return Constants.DEFAULT_ESCAPE_CHARACTER;
+		}
+		if (descriptor.getEscapeCharacter().length() != 1) {
+			throw new IllegalArgumentException(
+					"CsvTableDescriptor.escapeCharacter must be exactly one character.");
+		}
+		return descriptor.getEscapeCharacter().charAt(0);
+	}
+	
 	/**
 	 * Is the first line a header.  If null then true.
 	 * @param descriptor
@@ -0,0 +1,507 @@
+package org.sagebionetworks.table.cluster.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.ColumnType;
+import org.sagebionetworks.repo.model.table.SparseChangeSetDto;
+import org.sagebionetworks.repo.model.table.SparseRowDto;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * Compact binary encoding of a {@link SparseChangeSetDto}, an alternative to
+ * the JSON representation of the change sets stored in S3.
+ * <p>
+ * The header holds a magic number, the format version, the table ID, the etag
+ * and the column IDs, which are written once. Each row is then written with its
+ * row ID and version as a delta from the previous row and its values keyed by
+ * the index of their column in the header. Cells are encoded according to the
+ * type of their column (e.g. INTEGER and DATE as variable length longs, BOOLEAN
+ * in the tag) when the value can be restored to the exact same string,
+ * otherwise as a string. Decoding therefore does not need the schema and always
+ * restores the original DTO.
+ * <p>
+ * Both the {@link Writer} and the {@link Reader} stream one row at a time.
+ *
+ */
+public class SparseChangeSetBinaryFormat {
+
+	public static final byte[] MAGIC = new byte[] { 'S', 'C', 'S', 'B' };
+	public static final int VERSION = 1;
+
+	static final int END_OF_ROWS = 0;
+	static final int ROW = 1;
+
+	static final int FLAG_ROW_ID = 1;
+	static final int FLAG_VERSION = 1 << 1;
+	static final int FLAG_ETAG = 1 << 2;
+	static final int FLAG_VALUES = 1 << 3;
+
+	static final int CELL_NULL = 0;
+	static final int CELL_STRING = 1;
+	static final int CELL_LONG = 2;
+	static final int CELL_DOUBLE = 3;
+	static final int CELL_TRUE = 4;
+	static final int CELL_FALSE = 5;
+
+	/**
+	 * Write the given change set to the given stream. The stream is closed.
+	 *
+	 * @param set
+	 * @param schema The schema used to pick the encoding of the cells, columns that
+	 *               are not in the schema are encoded as strings.
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void write(SparseChangeSetDto set, List<ColumnModel> schema, OutputStream out) throws IOException {
+		ValidateArgument.required(set, "set");
+		try (Writer writer = new Writer(out, set.getTableId(), set.getEtag(), set.getColumnIds(), schema)) {
+			if (set.getRows() != null) {
+				for (SparseRowDto row : set.getRows()) {
+					writer.writeRow(row);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read a change set written with {@link #write(SparseChangeSetDto, List, OutputStream)}.
+	 * The stream is closed.
+	 *
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 */
+	public static SparseChangeSetDto read(InputStream in) throws IOException {
+		try (Reader reader = new Reader(in)) {
+			SparseChangeSetDto set = new SparseChangeSetDto();
+			set.setTableId(reader.getTableId());
+			set.setEtag(reader.getEtag());
+			set.setColumnIds(reader.getColumnIds());
+			List<SparseRowDto> rows = new ArrayList<>();
+			try {
+				reader.forEachRemaining(rows::add);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			set.setRows(rows);
+			return set;
+		}
+	}
+
+	/**
+	 * Streams the rows of a change set to an output stream. The end of the rows is
+	 * written when the writer is closed.
+	 *
+	 */
+	public static class Writer implements Closeable {
+
+		private final DataOutputStream out;
+		private final Map<String, Integer> columnIndex;
+		private final ColumnType[] columnTypes;
+		private long previousRowId;
+		private long previousVersion;
+
+		/**
+		 *
+		 * @param out       The stream is closed when the writer is closed.
+		 * @param tableId
+		 * @param etag
+		 * @param columnIds
+		 * @param schema    The schema used to pick the encoding of the cells.
+		 * @throws IOException
+		 */
+		public Writer(OutputStream out, String tableId, String etag, List<String> columnIds, List<ColumnModel> schema)
+				throws IOException {
+			ValidateArgument.required(out, "out");
+			this.out = new DataOutputStream(new BufferedOutputStream(out));
+			List<String> ids = columnIds == null ? new ArrayList<>() : columnIds;
+			Map<String, ColumnType> schemaTypes = new HashMap<>();
+			if (schema != null) {
+				for (ColumnModel model : schema) {
+					schemaTypes.put(model.getId(), model.getColumnType());
+				}
+			}
+			this.columnIndex = new HashMap<>(ids.size());
+			this.columnTypes = new ColumnType[ids.size()];
+			for (int i = 0; i < ids.size(); i++) {
+				columnIndex.putIfAbsent(ids.get(i), i);
+				columnTypes[i] = schemaTypes.get(ids.get(i));
+			}
+			this.out.write(MAGIC);
+			this.out.writeByte(VERSION);
+			writeString(this.out, tableId);
+			writeString(this.out, etag);
+			writeVarLong(this.out, ids.size());
+			for (String id : ids) {
+				writeString(this.out, id);
+			}
+		}
+
+		/**
+		 * Write the next row.
+		 *
+		 * @param row
+		 * @throws IOException
+		 */
+		public void writeRow(SparseRowDto row) throws IOException {
+			ValidateArgument.required(row, "row");
+			int flags = 0;
+			flags |= row.getRowId() != null ? FLAG_ROW_ID : 0;
+			flags |= row.getVersionNumber() != null ? FLAG_VERSION : 0;
+			flags |= row.getEtag() != null ? FLAG_ETAG : 0;
+			flags |= row.getValues() != null ? FLAG_VALUES : 0;
+			out.writeByte(ROW);
+			out.writeByte(flags);
+			if (row.getRowId() != null) {
+				writeZigZag(out, row.getRowId() - previousRowId);
+				previousRowId = row.getRowId();
+			}
+			if (row.getVersionNumber() != null) {
+				writeZigZag(out, row.getVersionNumber() - previousVersion);
+				previousVersion = row.getVersionNumber();
+			}
+			if (row.getEtag() != null) {
+				writeString(out, row.getEtag());
+			}
+			if (row.getValues() != null) {
+				writeVarLong(out, row.getValues().size());
+				for (Map.Entry<String, String> entry : row.getValues().entrySet()) {
+					Integer index = columnIndex.get(entry.getKey());
+					if (index == null) {
+						// A column that is not in the header is written with its ID.
+						writeVarLong(out, columnTypes.length);
+						writeString(out, entry.getKey());
+						writeCell(out, null, entry.getValue());
+					} else {
+						writeVarLong(out, index);
+						writeCell(out, columnTypes[index], entry.getValue());
+					}
+				}
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				out.writeByte(END_OF_ROWS);
+				out.flush();
+			} finally {
+				out.close();
+			}
+		}
+	}
+
+	/**
+	 * Streams the rows of a change set from an input stream.
+	 * {@link #hasNext()} and {@link #next()} throw an {@link UncheckedIOException}
+	 * when the stream cannot be read.
+	 *
+	 */
+	public static class Reader implements Iterator<SparseRowDto>, Closeable {
+
+		private final DataInputStream in;
+		private final String tableId;
+		private final String etag;
+		private final List<String> columnIds;
+		private long previousRowId;
+		private long previousVersion;
+		private boolean done;
+
+		/**
+		 *
+		 * @param in The stream is closed when the reader is closed.
+		 * @throws IOException If the stream does not start with a supported header.
+		 */
+		public Reader(InputStream in) throws IOException {
+			ValidateArgument.required(in, "in");
+			this.in = new DataInputStream(new BufferedInputStream(in));
+			byte[] magic = new byte[MAGIC.length];
+			this.in.readFully(magic);
+			if (!Arrays.equals(MAGIC, magic)) {
+				throw new IOException("Not a binary change set");
+			}
+			int version = this.in.readUnsignedByte();
+			if (version != VERSION) {
+				throw new IOException("Unsupported binary change set version: " + version);
+			}
+			this.tableId = readString(this.in);
+			this.etag = readString(this.in);
+			int columnCount = readSize(this.in);
+			this.columnIds = new ArrayList<>(columnCount);
+			for (int i = 0; i < columnCount; i++) {
+				columnIds.add(readString(this.in));
+			}
+			this.done = false;
+		}
+
+		public String getTableId() {
+			return tableId;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public List<String> getColumnIds() {
+			return columnIds;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (done) {
+				return false;
+			}
+			try {
+				in.mark(1);
+				int marker = in.readUnsignedByte();
+				if (marker == END_OF_ROWS) {
+					done = true;
+					return false;
+				}
+				in.reset();
+				return true;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public SparseRowDto next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			try {
+				int marker = in.readUnsignedByte();
+				if (marker != ROW) {
+					throw new IOException("Unexpected row marker: " + marker);
+				}
+				return readRow();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private SparseRowDto readRow() throws IOException {
+			int flags = in.readUnsignedByte();
+			SparseRowDto row = new SparseRowDto();
+			if ((flags & FLAG_ROW_ID) != 0) {
+				previousRowId += readZigZag(in);
+				row.setRowId(previousRowId);
+			}
+			if ((flags & FLAG_VERSION) != 0) {
+				previousVersion += readZigZag(in);
+				row.setVersionNumber(previousVersion);
+			}
+			if ((flags & FLAG_ETAG) != 0) {
+				row.setEtag(readString(in));
+			}
+			if ((flags & FLAG_VALUES) != 0) {
+				int count = readSize(in);
+				Map<String, String> values = new LinkedHashMap<>(count);
+				for (int i = 0; i < count; i++) {
+					int index = readSize(in);
+					String columnId = index < columnIds.size() ? columnIds.get(index) : readString(in);
+					values.put(columnId, readCell(in));
+				}
+				row.setValues(values);
+			}
+			return row;
+		}
+
+		@Override
+		public void close() throws IOException {
+			in.close();
+		}
+	}
+
+	/**
+	 * Write a cell with the most compact encoding for its column type that
+	 * restores the exact same string.
+	 *
+	 * @param out
+	 * @param type
+	 * @param value
+	 * @throws IOException
+	 */
+	static void writeCell(DataOutputStream out, ColumnType type, String value) throws IOException {
+		if (value == null) {
+			out.writeByte(CELL_NULL);
+			return;
+		}
+		if (type != null) {
+			switch (type) {
+			case INTEGER:
+			case DATE:
+			case FILEHANDLEID:
+			case USERID:
+			case SUBMISSIONID:
+			case EVALUATIONID:
+				Long longValue = parseCanonicalLong(value);
+				if (longValue != null) {
+					out.writeByte(CELL_LONG);
+					writeZigZag(out, longValue);
+					return;
+				}
+				break;
+			case DOUBLE:
+				Double doubleValue = parseCanonicalDouble(value);
+				if (doubleValue != null) {
+					out.writeByte(CELL_DOUBLE);
+					out.writeDouble(doubleValue);
+					return;
+				}
+				break;
+			case BOOLEAN:
+				if (Boolean.TRUE.toString().equals(value)) {
+					out.writeByte(CELL_TRUE);
+					return;
+				}
+				if (Boolean.FALSE.toString().equals(value)) {
+					out.writeByte(CELL_FALSE);
+					return;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		out.writeByte(CELL_STRING);
+		writeString(out, value);
+	}
+
+	static String readCell(DataInputStream in) throws IOException {
+		int tag = in.readUnsignedByte();
+		switch (tag) {
+		case CELL_NULL:
+			return null;
+		case CELL_STRING:
+			return readString(in);
+		case CELL_LONG:
+			return Long.toString(readZigZag(in));
+		case CELL_DOUBLE:
+			return Double.toString(in.readDouble());
+		case CELL_TRUE:
+			return Boolean.TRUE.toString();
+		case CELL_FALSE:
+			return Boolean.FALSE.toString();
+		default:
+			throw new IOException("Unknown cell tag: " + tag);
+		}
+	}
+
+	/**
+	 * @param value
+	 * @return The long value of the given string if it is the canonical
+	 *         representation of the long, null otherwise.
+	 */
+	static Long parseCanonicalLong(String value) {
+		try {
+			long parsed = Long.parseLong(value);
+			return Long.toString(parsed).equals(value) ? parsed : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param value
+	 * @return The double value of the given string if it is the canonical
+	 *         representation of the double, null otherwise.
+	 */
+	static Double parseCanonicalDouble(String value) {
+		try {
+			double parsed = Double.parseDouble(value);
+			return Double.toString(parsed).equals(value) ? parsed : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Write a nullable string as its UTF-8 length plus one followed by its bytes.
+	 */
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			writeVarLong(out, 0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length + 1L);
+		out.write(bytes);
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		long length = readVarLong(in);
+		if (length == 0) {
+			return null;
+		}
+		if (length - 1 > Integer.MAX_VALUE) {
+			throw new IOException("String too long: " + (length - 1));
+		}
+		byte[] bytes = new byte[(int) (length - 1)];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static int readSize(DataInputStream in) throws IOException {
+		long size = readVarLong(in);
+		if (size < 0 || size > Integer.MAX_VALUE) {
+			throw new IOException("Invalid size: " + size);
+		}
+		return (int) size;
+	}
+
+	static void writeZigZag(DataOutputStream out, long value) throws IOException {
+		writeVarLong(out, (value << 1) ^ (value >> 63));
+	}
+
+	static long readZigZag(DataInputStream in) throws IOException {
+		long value = readVarLong(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Write an unsigned variable length long, seven bits per byte.
+	 */
+	static void writeVarLong(DataOutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.writeByte((int) value);
+	}
+
+	static long readVarLong(DataInputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.read();
+			if (b < 0) {
+				throw new EOFException();
+			}
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length long");
+	}
+}
@@ -143,6 +143,19 @@ public class TableModelUtils {
 	}
 
 	
+	/**
+	 * Write a SparseChangeSetDto to the given output stream as GZIP compressed
+	 * {@link SparseChangeSetBinaryFormat}.
+	 * 
+	 * @param set
+	 * @param schema The schema of the change set, used to pick the encoding of each cell.
+	 * @param out
+	 * @throws IOException
+	 */
+	public static void writeSparseChangeSetToBinaryGz(SparseChangeSetDto set, List<ColumnModel> schema, OutputStream out) throws IOException {
+		SparseChangeSetBinaryFormat.write(set, schema, new GZIPOutputStream(out));
+	}
+	
 	/**
 	 * Validate the given SparseChangeSetDto.
 	 * @param set
@@ -502,6 +515,17 @@ public class TableModelUtils {
 		}
 	}
 	
+	/**
+	 * Read GZIP compressed {@link SparseChangeSetBinaryFormat} from the passed stream.
+	 * 
+	 * @param zippedStream
+	 * @return
+	 * @throws IOException
+	 */
+	public static SparseChangeSetDto readSparseChangeSetDtoFromBinaryGzStream(InputStream zippedStream) throws IOException {
+		return SparseChangeSetBinaryFormat.read(new GZIPInputStream(zippedStream));
+	}
+	
 	/**
 	 * Scan over the passed stream without loading it into memory
 	 * @param zippedStream
@@ -0,0 +1,246 @@
+package org.sagebionetworks.table.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.model.dbo.dao.table.TableModelTestUtils;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.ColumnType;
+import org.sagebionetworks.table.cluster.description.IndexDescription;
+import org.sagebionetworks.table.cluster.description.TableIndexDescription;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryTranslatorCacheImplTest {
+
+	@Mock
+	private SchemaProvider mockSchemaProvider;
+
+	private QueryTranslatorCacheImpl cache;
+
+	private List<ColumnModel> schema;
+	private IndexDescription indexDescription;
+	private Long userId;
+	private Long maxBytesPerPage;
+
+	@BeforeEach
+	public void before() {
+		cache = new QueryTranslatorCacheImpl();
+		// This is invoked by spring after bean construction
+		cache.configure();
+		schema = List.of(
+			TableModelTestUtils.createColumn(111L, "foo", ColumnType.STRING),
+			TableModelTestUtils.createColumn(222L, "bar", ColumnType.INTEGER)
+		);
+		indexDescription = new TableIndexDescription(IdAndVersion.parse("syn123"));
+		userId = 789L;
+		maxBytesPerPage = 100_000_000L;
+	}
+
+	private CombinedQuery combine(String sql, Long limit, Long offset) {
+		return CombinedQuery.builder().setQuery(sql).setSchemaProvider(mockSchemaProvider).setOverrideLimit(limit)
+				.setOverrideOffset(offset).build();
+	}
+
+	private QueryTranslator translate(CombinedQuery combined) {
+		return QueryTranslator.builder(combined.getCombinedSql(), userId).schemaProvider(mockSchemaProvider)
+				.indexDescription(indexDescription).maxBytesPerPage(maxBytesPerPage).build();
+	}
+
+	@Test
+	public void testGetTranslatorWithNextPage() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		String sql = "select foo from syn123 where bar > 2";
+
+		CombinedQuery firstPage = combine(sql, 10L, 0L);
+		CombinedQuery secondPage = combine(sql, 10L, 10L);
+
+		QueryTranslator first = cache.getTranslator(firstPage, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		// call under test
+		QueryTranslator second = cache.getTranslator(secondPage, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		QueryTranslator expected = translate(secondPage);
+
+		assertNotSame(first, second);
+		assertEquals(expected.getOutputSQL(), second.getOutputSQL());
+		assertEquals(expected.getParameters(), second.getParameters());
+		assertEquals(expected.getSelectColumns(), second.getSelectColumns());
+		assertEquals(expected.getSchemaOfSelect(), second.getSchemaOfSelect());
+		assertEquals(expected.getTableSchema(), second.getTableSchema());
+		assertEquals(expected.getMaxRowsPerPage(), second.getMaxRowsPerPage());
+		assertEquals(expected.getTableIds(), second.getTableIds());
+		assertEquals(expected.getIncludesRowIdAndVersion(), second.getIncludesRowIdAndVersion());
+		assertEquals(indexDescription, second.getIndexDescription());
+
+		// The first page is not affected by the second
+		assertEquals(translate(firstPage).getParameters(), first.getParameters());
+
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithLimitOverMaxRowsPerPage() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		maxBytesPerPage = 5L;
+		String sql = "select foo from syn123";
+
+		cache.getTranslator(combine(sql, 10L, 0L), mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		CombinedQuery nextPage = combine(sql, 10L, 1L);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(nextPage, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertEquals(translate(nextPage).getParameters(), translator.getParameters());
+		assertEquals(Map.of("b0", 1L, "b1", 1L), translator.getParameters());
+		assertEquals(1L, cache.getHitCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithoutOffset() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+
+		cache.getTranslator(combine("select foo from syn123 limit 10", null, null), mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		CombinedQuery other = combine("select foo from syn123 limit 20", null, null);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(other, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertEquals(translate(other).getOutputSQL(), translator.getOutputSQL());
+		assertEquals(translate(other).getParameters(), translator.getParameters());
+		assertEquals(1L, cache.getHitCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithoutPagination() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		CombinedQuery combined = combine("select foo from syn123", null, null);
+
+		cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertEquals(translate(combined).getOutputSQL(), translator.getOutputSQL());
+		assertEquals(translate(combined).getParameters(), translator.getParameters());
+		assertEquals(1L, cache.getHitCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithDifferentFilter() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+
+		cache.getTranslator(combine("select foo from syn123 where bar > 2", 10L, 0L), mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		// call under test
+		cache.getTranslator(combine("select foo from syn123 where bar > 3", 10L, 0L), mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithSchemaChange() {
+		List<ColumnModel> newSchema = List.of(
+			TableModelTestUtils.createColumn(333L, "foo", ColumnType.STRING),
+			TableModelTestUtils.createColumn(222L, "bar", ColumnType.INTEGER)
+		);
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		String sql = "select foo from syn123";
+
+		cache.getTranslator(combine(sql, 10L, 0L), mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(newSchema);
+
+		CombinedQuery combined = combine(sql, 10L, 0L);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertEquals(translate(combined).getOutputSQL(), translator.getOutputSQL());
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithDifferentUser() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		String sql = "select foo from syn123 where bar = CURRENT_USER()";
+
+		cache.getTranslator(combine(sql, 10L, 0L), mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(combine(sql, 10L, 0L), mockSchemaProvider, indexDescription, 111L, maxBytesPerPage, null);
+
+		assertEquals(111L, translator.getParameters().get("b0"));
+		assertEquals(0L, cache.getHitCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithCachedTranslation() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		CombinedQuery combined = combine("select foo from syn123", 10L, 0L);
+
+		cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		// The cached translation cannot be modified
+		assertThrows(IllegalStateException.class, () -> {
+			translator.getTranslatedModel();
+		});
+		assertThrows(UnsupportedOperationException.class, () -> {
+			translator.getParameters().put("b0", 1000L);
+		});
+		assertThrows(UnsupportedOperationException.class, () -> {
+			translator.getSelectColumns().clear();
+		});
+	}
+
+	@Test
+	public void testGetTranslatorWithTranslationOverMaxWeight() {
+		when(mockSchemaProvider.getTableSchema(any())).thenReturn(schema);
+		String values = IntStream.range(0, 10_000).mapToObj(i -> "'v" + i + "'").collect(Collectors.joining(","));
+		CombinedQuery combined = combine("select foo from syn123 where foo in (" + values + ")", 10L, 0L);
+
+		QueryTranslator first = cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertTrue(first.getOutputSQL().length() + first.getParameters().size() > QueryTranslatorCacheImpl.MAX_TEMPLATE_WEIGHT);
+
+		// call under test
+		QueryTranslator translator = cache.getTranslator(combined, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+
+		assertEquals(translate(combined).getOutputSQL(), translator.getOutputSQL());
+		// The translation is too large to be cached
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+	}
+
+	@Test
+	public void testGetTranslatorWithNullCombinedQuery() {
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			cache.getTranslator(null, mockSchemaProvider, indexDescription, userId, maxBytesPerPage, null);
+		}).getMessage();
+		assertEquals("The combinedQuery is required.", message);
+	}
+
+}
@@ -4236,6 +4236,42 @@ public class SQLTranslatorUtilsTest {
 		assertEquals("INSERT INTO T123 (_C111_,_C333_) select _c1_, _c2_ from T111", result);
 	}
 	
+	@Test
+	public void testCreateMaterializedViewInsertSqlWithSourceRowId() {
+		IdAndVersion materializedViewId = IdAndVersion.parse("syn123");
+		IdAndVersion tableId = IdAndVersion.parse("syn111");
+		List<ColumnModel> schemaOfSelect = Arrays.asList(columnFoo, columnBar);
+		String outputSQL = "select _c1_, _c2_, ROW_ID from T111"; 
+		List<IndexDescription> dependencies = Arrays.asList(new TableIndexDescription(tableId));
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(materializedViewId, dependencies, true);
+		// call under test
+		String result = SQLTranslatorUtils.createMaterializedViewInsertSql(schemaOfSelect, outputSQL, indexDescription);
+		assertEquals("INSERT INTO T123 (_C111_,_C333_,ROW_SOURCE_ID) select _c1_, _c2_, ROW_ID from T111", result);
+	}
+	
+	@Test
+	public void testCreateMaterializedViewDeleteChangedRowsSql() {
+		IdAndVersion materializedViewId = IdAndVersion.parse("syn123");
+		List<IndexDescription> dependencies = Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn111.2")));
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(materializedViewId, dependencies, true);
+		// call under test
+		String result = SQLTranslatorUtils.createMaterializedViewDeleteChangedRowsSql(indexDescription, "fromVersion");
+		assertEquals("DELETE V FROM T123 V LEFT JOIN T111_2 S ON (V.ROW_SOURCE_ID = S.ROW_ID)"
+				+ " WHERE S.ROW_ID IS NULL OR S.ROW_VERSION > :fromVersion", result);
+	}
+	
+	@Test
+	public void testCreateMaterializedViewDeleteChangedRowsSqlWithoutSourceRowId() {
+		IdAndVersion materializedViewId = IdAndVersion.parse("syn123");
+		List<IndexDescription> dependencies = Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn111")));
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(materializedViewId, dependencies);
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			SQLTranslatorUtils.createMaterializedViewDeleteChangedRowsSql(indexDescription, "fromVersion");
+		}).getMessage();
+		assertEquals("The materialized view syn123 does not include the source row id", message);
+	}
+	
 	@Test
 	public void testCreateSchemaOfSelect() {
 		List<List<ColumnModel>> selectSchemas = List.of(
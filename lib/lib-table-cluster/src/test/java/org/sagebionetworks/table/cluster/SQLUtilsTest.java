@@ -391,6 +391,38 @@ public class SQLUtilsTest {
 		String result = SQLUtils.createSQLGetDistinctValues(tableId, "ROW_BENEFACTORS");
 		assertEquals(expected, result);
 	}
+	
+	@Test
+	public void testCreateTableSQLWithBenefactors() {
+		String expected = "CREATE TABLE IF NOT EXISTS `T999B` ( BENEFACTOR_COLUMN VARCHAR(256) NOT NULL,BENEFACTOR_ID BIGINT NOT NULL,PRIMARY KEY (BENEFACTOR_COLUMN, BENEFACTOR_ID) )";
+		// call under test
+		String result = SQLUtils.createTableSQL(tableId, TableIndexType.BENEFACTORS);
+		assertEquals(expected, result);
+	}
+	
+	@Test
+	public void testCreateSQLGetBenefactorSet() {
+		String expected = "SELECT BENEFACTOR_ID FROM T999B WHERE BENEFACTOR_COLUMN = ?";
+		// call under test
+		String result = SQLUtils.createSQLGetBenefactorSet(tableId);
+		assertEquals(expected, result);
+	}
+	
+	@Test
+	public void testCreateSQLInsertIgnoreBenefactorSet() {
+		String expected = "INSERT IGNORE INTO T999B (BENEFACTOR_COLUMN, BENEFACTOR_ID) SELECT DISTINCT :bBC, ROW_BENEFACTOR FROM T999 WHERE ROW_BENEFACTOR IS NOT NULL";
+		// call under test
+		String result = SQLUtils.createSQLInsertIgnoreBenefactorSet(tableId, "ROW_BENEFACTOR", null);
+		assertEquals(expected, result);
+	}
+	
+	@Test
+	public void testCreateSQLInsertIgnoreBenefactorSetWithRowIds() {
+		String expected = "INSERT IGNORE INTO T999B (BENEFACTOR_COLUMN, BENEFACTOR_ID) SELECT DISTINCT :bBC, ROW_BENEFACTOR FROM T999 WHERE ROW_BENEFACTOR IS NOT NULL AND ROW_ID IN (:bRI)";
+		// call under test
+		String result = SQLUtils.createSQLInsertIgnoreBenefactorSet(tableId, "ROW_BENEFACTOR", SQLUtils.ROW_ID_BIND);
+		assertEquals(expected, result);
+	}
 
 	/**
 	 * A helper to create a list of ColumnModels from column model ids.
@@ -1181,7 +1213,7 @@ public class SQLUtilsTest {
 		String results = SQLUtils.createCardinalitySql(list, tableId);
 		
 		assertEquals(
-			"SELECT MAX(0) AS ROW_BENEFACTOR, MAX(0) AS ROW_ETAG, MAX(0) AS ROW_HASH_CODE, MAX(0) AS ROW_ID, MAX(0) AS ROW_SEARCH_CONTENT, MAX(0) AS ROW_VERSION FROM T999", results
+			"SELECT MAX(0) AS ROW_BENEFACTOR, MAX(0) AS ROW_ETAG, MAX(0) AS ROW_HASH_CODE, MAX(0) AS ROW_ID, MAX(0) AS ROW_SEARCH_CONTENT, MAX(0) AS ROW_SOURCE_ID, MAX(0) AS ROW_VERSION FROM T999", results
 		);
 	}
 	
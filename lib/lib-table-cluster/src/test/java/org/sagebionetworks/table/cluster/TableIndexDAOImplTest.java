@@ -4346,6 +4346,68 @@ public class TableIndexDAOImplTest {
 			tableIndexDAO.refreshViewBenefactors(tableId, mainType);
 		});
 	}
+	
+	@Test
+	public void testBenefactorSet() throws ParseException{
+		tableId = IdAndVersion.parse("syn123");
+		indexDescription = new ViewIndexDescription(tableId, TableType.entityview, -1L);
+		List<String> benefactorColumns = List.of(TableConstants.ROW_BENEFACTOR);
+		// delete all data
+		tableIndexDAO.deleteObjectData(mainType, Lists.newArrayList(2L,3L));
+		tableIndexDAO.deleteTable(tableId);
+		
+		ObjectDataDTO file1 = createObjectDataDTO(2L, EntityType.file, 2);
+		file1.setParentId(333L);
+		ObjectDataDTO file2 = createObjectDataDTO(3L, EntityType.file, 3);
+		file2.setParentId(222L);
+		tableIndexDAO.addObjectData(mainType, Lists.newArrayList(file1, file2));
+		
+		List<ColumnModel> schema = createSchemaFromObjectDataDTO(file2);
+		ViewFilter filter = new HierarchicaFilter(mainType, subTypes, Set.of(file1.getParentId(), file2.getParentId()));
+
+		createOrUpdateTable(schema, indexDescription);
+		tableIndexDAO.copyObjectReplicationToView(tableId.getId(), filter, schema, fieldTypeMapper);
+		
+		// The benefactor table does not exist yet
+		assertEquals(Optional.empty(), tableIndexDAO.getBenefactorSet(tableId, TableConstants.ROW_BENEFACTOR));
+		
+		tableIndexDAO.createBenefactorTableIfDoesNotExist(tableId);
+		
+		// A set that was never populated is not used
+		tableIndexDAO.addBenefactorsOfRowsToSet(tableId, benefactorColumns, Set.of(file1.getId()));
+		assertEquals(Optional.empty(), tableIndexDAO.getBenefactorSet(tableId, TableConstants.ROW_BENEFACTOR));
+		
+		// call under test
+		tableIndexDAO.refreshBenefactorSet(tableId, benefactorColumns);
+		
+		Set<Long> expected = Set.of(file1.getBenefactorId(), file2.getBenefactorId());
+		assertEquals(expected, tableIndexDAO.getDistinctLongValues(tableId, TableConstants.ROW_BENEFACTOR));
+		assertEquals(Optional.of(expected), tableIndexDAO.getBenefactorSet(tableId, TableConstants.ROW_BENEFACTOR));
+		
+		// update the benefactor of the first file
+		Long oldBenefactorId = file1.getBenefactorId();
+		file1.setBenefactorId(999L);
+		tableIndexDAO.deleteObjectData(mainType, Lists.newArrayList(file1.getId()));
+		tableIndexDAO.addObjectData(mainType, Lists.newArrayList(file1));
+		assertTrue(tableIndexDAO.refreshViewBenefactors(tableId, mainType));
+		
+		// call under test
+		tableIndexDAO.addBenefactorsOfRowsToSet(tableId, benefactorColumns, Set.of(file1.getId()));
+		
+		// The previous benefactor is kept
+		assertEquals(Optional.of(Set.of(oldBenefactorId, 999L, file2.getBenefactorId())), tableIndexDAO.getBenefactorSet(tableId, TableConstants.ROW_BENEFACTOR));
+		
+		// call under test
+		tableIndexDAO.refreshBenefactorSet(tableId, benefactorColumns);
+		
+		assertEquals(Optional.of(Set.of(999L, file2.getBenefactorId())), tableIndexDAO.getBenefactorSet(tableId, TableConstants.ROW_BENEFACTOR));
+		// Other columns are not tracked
+		assertEquals(Optional.empty(), tableIndexDAO.getBenefactorSet(tableId, "ROW_BENEFACTOR_T1"));
+		
+		tableIndexDAO.deleteTable(tableId);
+		
+		assertEquals(Optional.empty(), tableIndexDAO.getBenefactorSet(tableId, TableConstants.ROW_BENEFACTOR));
+	}
 
 	@Test
 	public void testRoundQuery() throws ParseException {
@@ -4938,6 +5000,47 @@ public class TableIndexDAOImplTest {
 		tableIndexDAO.deleteTable(sourceIndexDescription.getIdAndVersion());
 	}
 	
+	@Test
+	public void testSwapTableIndexWithBenefactorSet() {
+		ColumnModel benefactorColumn = TableModelTestUtils.createColumn(1L, "foo", ColumnType.INTEGER);
+		List<ColumnModel> schema = List.of(benefactorColumn);
+		List<String> benefactorColumns = List.of(SQLUtils.getColumnNameForId(benefactorColumn.getId()));
+		
+		IndexDescription sourceIndexDescription = new TableIndexDescription(IdAndVersion.parse("456"));
+		tableIndexDAO.deleteTable(sourceIndexDescription.getIdAndVersion());
+		
+		for (IndexDescription index : List.of(indexDescription, sourceIndexDescription)) {
+			createOrUpdateTable(schema, index);
+			tableIndexDAO.createSecondaryTables(index.getIdAndVersion());
+		}
+		
+		// Only the source has data and a benefactor set, the target was built before the sets were tracked
+		RowSet set = new RowSet()
+			.setRows(TableModelTestUtils.createRows(schema, 3))
+			.setHeaders(TableModelUtils.getSelectColumns(schema))
+			.setTableId(sourceIndexDescription.getIdAndVersion().toString());
+		
+		TableModelTestUtils.assignRowIdsAndVersionNumbers(set, new IdRange().setMinimumId(100L).setMaximumId(200L).setVersionNumber(4L));
+		
+		createOrUpdateOrDeleteRows(sourceIndexDescription.getIdAndVersion(), set, schema);
+		
+		tableIndexDAO.createBenefactorTableIfDoesNotExist(sourceIndexDescription.getIdAndVersion());
+		tableIndexDAO.refreshBenefactorSet(sourceIndexDescription.getIdAndVersion(), benefactorColumns);
+		
+		Set<Long> expected = tableIndexDAO.getDistinctLongValues(sourceIndexDescription.getIdAndVersion(), benefactorColumns.get(0));
+		
+		assertEquals(Optional.of(expected), tableIndexDAO.getBenefactorSet(sourceIndexDescription.getIdAndVersion(), benefactorColumns.get(0)));
+		assertEquals(Optional.empty(), tableIndexDAO.getBenefactorSet(indexDescription.getIdAndVersion(), benefactorColumns.get(0)));
+		
+		// Call under test
+		tableIndexDAO.swapTableIndex(sourceIndexDescription.getIdAndVersion(), indexDescription.getIdAndVersion());
+		
+		assertEquals(Optional.of(expected), tableIndexDAO.getBenefactorSet(indexDescription.getIdAndVersion(), benefactorColumns.get(0)));
+		assertEquals(Optional.empty(), tableIndexDAO.getBenefactorSet(sourceIndexDescription.getIdAndVersion(), benefactorColumns.get(0)));
+		
+		tableIndexDAO.deleteTable(sourceIndexDescription.getIdAndVersion());
+	}
+	
 	@Test
 	public void testQuerySingleColumn() {
 		List<ColumnModel> schemaOne = List.of(
@@ -3,12 +3,14 @@ package org.sagebionetworks.table.cluster.description;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_ID;
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_VERSION;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.sagebionetworks.repo.model.ObjectType;
@@ -96,6 +98,70 @@ public class MaterializedViewIndexDescriptionTest {
 				+ "KEY (ROW_BENEFACTOR_T999_T456))", sql);
 	}
 
+	@Test
+	public void testGetCreateOrUpdateIndexSqlWithSourceRowId() {
+		List<IndexDescription> dependencies = Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn999")));
+		IdAndVersion materializedViewId = IdAndVersion.parse("syn123");
+		boolean includeSourceRowId = true;
+		MaterializedViewIndexDescription mid = new MaterializedViewIndexDescription(materializedViewId, dependencies, includeSourceRowId);
+		// call under test
+		String sql = mid.getCreateOrUpdateIndexSql();
+		assertEquals("CREATE TABLE IF NOT EXISTS T123( "
+				+ "ROW_ID BIGINT NOT NULL AUTO_INCREMENT, "
+				+ "ROW_VERSION BIGINT NOT NULL DEFAULT 0, "
+				+ "ROW_SEARCH_CONTENT MEDIUMTEXT NULL, "
+				+ "ROW_SOURCE_ID BIGINT NULL, "
+				+ "PRIMARY KEY (ROW_ID), "
+				+ "FULLTEXT INDEX `ROW_SEARCH_CONTENT_INDEX` (ROW_SEARCH_CONTENT), "
+				+ "KEY (ROW_SOURCE_ID))", sql);
+		assertEquals(Optional.of(IdAndVersion.parse("syn999")), mid.getRowSourceTableId());
+	}
+	
+	@Test
+	public void testGetColumnNamesToAddToSelectWithBuildAndSourceRowId() {
+		List<IndexDescription> dependencies = Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn999.2")));
+		IdAndVersion materializedViewId = IdAndVersion.parse("syn123");
+		boolean includeSourceRowId = true;
+		MaterializedViewIndexDescription mid = new MaterializedViewIndexDescription(materializedViewId, dependencies, includeSourceRowId);
+		boolean includeEtag = false;
+		boolean isAggregate = false;
+		// call under test
+		List<ColumnToAdd> result = mid.getColumnNamesToAddToSelect(SqlContext.build, includeEtag, isAggregate);
+		assertEquals(Arrays.asList(new ColumnToAdd(IdAndVersion.parse("syn999.2"), "T999_2.ROW_ID")), result);
+	}
+	
+	@Test
+	public void testGetRowSourceTableIdWithoutSourceRowId() {
+		List<IndexDescription> dependencies = Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn999")));
+		MaterializedViewIndexDescription mid = new MaterializedViewIndexDescription(IdAndVersion.parse("syn123"), dependencies);
+		// call under test
+		assertEquals(Optional.empty(), mid.getRowSourceTableId());
+	}
+	
+	@Test
+	public void testConstructorWithSourceRowIdAndViewDependency() {
+		List<IndexDescription> dependencies = Arrays.asList(
+				new ViewIndexDescription(IdAndVersion.parse("syn999"), TableType.entityview, -1L));
+		boolean includeSourceRowId = true;
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			new MaterializedViewIndexDescription(IdAndVersion.parse("syn123"), dependencies, includeSourceRowId);
+		}).getMessage();
+		assertEquals("The source row id is only supported for a single table dependency", message);
+	}
+	
+	@Test
+	public void testIsSourceRowIdSupported() {
+		assertTrue(MaterializedViewIndexDescription.isSourceRowIdSupported(
+				Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn999")))));
+		assertFalse(MaterializedViewIndexDescription.isSourceRowIdSupported(Collections.emptyList()));
+		assertFalse(MaterializedViewIndexDescription.isSourceRowIdSupported(
+				Arrays.asList(new TableIndexDescription(IdAndVersion.parse("syn999")),
+						new TableIndexDescription(IdAndVersion.parse("syn888")))));
+		assertFalse(MaterializedViewIndexDescription.isSourceRowIdSupported(
+				Arrays.asList(new ViewIndexDescription(IdAndVersion.parse("syn999"), TableType.entityview, -1L))));
+	}
+
 	@Test
 	public void testGetBenefactorColumnNames() {
 		List<IndexDescription> dependencies = Arrays.asList(
@@ -0,0 +1,128 @@
+package org.sagebionetworks.table.cluster.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.sagebionetworks.repo.model.table.CsvTableDescriptor;
+
+public class CSVRecordChunkerTest {
+
+	CSVRecordChunker createChunker(String csv) {
+		return new CSVRecordChunker(new StringReader(csv), ',', '"', '\\');
+	}
+
+	List<String> readRecords(String csv) throws IOException {
+		CSVRecordChunker chunker = createChunker(csv);
+		List<String> records = new ArrayList<>();
+		String record;
+		while ((record = chunker.nextChunk(1, 1)) != null) {
+			records.add(record);
+		}
+		return records;
+	}
+
+	@Test
+	public void testNextChunkSingleLineRecords() throws IOException {
+		// call under test
+		List<String> records = readRecords("a,b\r\n1,2\n3,4");
+		assertEquals(3, records.size());
+		assertEquals("a,b\n", records.get(0));
+		assertEquals("1,2\n", records.get(1));
+		assertEquals("3,4\n", records.get(2));
+	}
+
+	@Test
+	public void testNextChunkMultiLineRecord() throws IOException {
+		// call under test
+		List<String> records = readRecords("1,\"two\nlines\"\n2,\"three\n\nlines\",x\n3,4\n");
+		assertEquals(3, records.size());
+		assertEquals("1,\"two\nlines\"\n", records.get(0));
+		assertEquals("2,\"three\n\nlines\",x\n", records.get(1));
+		assertEquals("3,4\n", records.get(2));
+	}
+
+	@Test
+	public void testNextChunkDoubledQuotes() throws IOException {
+		// call under test
+		List<String> records = readRecords("1,\"say \"\"hi\"\"\nthere\"\n2,\"\"\n3,4\n");
+		assertEquals(3, records.size());
+		assertEquals("1,\"say \"\"hi\"\"\nthere\"\n", records.get(0));
+		assertEquals("2,\"\"\n", records.get(1));
+	}
+
+	@Test
+	public void testNextChunkEscapedQuotes() throws IOException {
+		// call under test
+		List<String> records = readRecords("1,\"an \\\" escaped\nquote\"\n2,\"\\\\\"\n3,4\n");
+		assertEquals(3, records.size());
+		assertEquals("1,\"an \\\" escaped\nquote\"\n", records.get(0));
+		assertEquals("2,\"\\\\\"\n", records.get(1));
+	}
+
+	@Test
+	public void testNextChunkUnterminatedQuote() throws IOException {
+		// call under test
+		List<String> records = readRecords("1,2\n3,\"open\n4,5\n");
+		assertEquals(2, records.size());
+		assertEquals("3,\"open\n4,5\n", records.get(1));
+	}
+
+	@Test
+	public void testNextChunkMinimumCharacters() throws IOException {
+		CSVRecordChunker chunker = createChunker("1,2\n3,\"4\n5\"\n6,7\n8,9\n");
+		// call under test
+		assertEquals("1,2\n3,\"4\n5\"\n", chunker.nextChunk(5, 1));
+		assertEquals(3L, chunker.getLinesRead());
+		assertEquals("6,7\n8,9\n", chunker.nextChunk(100, 1));
+		assertEquals(5L, chunker.getLinesRead());
+		assertNull(chunker.nextChunk(100, 1));
+	}
+
+	@Test
+	public void testNextChunkMinimumRecords() throws IOException {
+		CSVRecordChunker chunker = createChunker("1,2\n3,4\n5,6\n");
+		// call under test
+		assertEquals("1,2\n3,4\n", chunker.nextChunk(1, 2));
+		assertEquals("5,6\n", chunker.nextChunk(1, 2));
+		assertNull(chunker.nextChunk(1, 2));
+	}
+
+	@Test
+	public void testNextChunkEmpty() throws IOException {
+		// call under test
+		assertNull(createChunker("").nextChunk(1, 1));
+	}
+
+	@Test
+	public void testIsQuoteOpenAtEnd() {
+		CSVRecordChunker chunker = createChunker("");
+		// call under test
+		assertFalse(chunker.isQuoteOpenAtEnd("a,b", false));
+		assertTrue(chunker.isQuoteOpenAtEnd("a,\"b", false));
+		assertFalse(chunker.isQuoteOpenAtEnd("b\"", true));
+		assertTrue(chunker.isQuoteOpenAtEnd("b\"\"", true));
+		assertFalse(chunker.isQuoteOpenAtEnd("a,b\"c\"d", false));
+		// an escape within a field consumes the quote.
+		assertFalse(chunker.isQuoteOpenAtEnd("a,b\\\"c", false));
+		assertTrue(chunker.isQuoteOpenAtEnd("b\\\"", true));
+	}
+
+	@Test
+	public void testCreateCSVRecordChunkerWithDescriptor() throws IOException {
+		CsvTableDescriptor descriptor = new CsvTableDescriptor();
+		descriptor.setSeparator("\t");
+		descriptor.setQuoteCharacter("'");
+		CSVRecordChunker chunker = CSVUtils.createCSVRecordChunker(new StringReader("1\t'a\nb'\n2\t\"c\n"), descriptor);
+		// call under test
+		assertEquals("1\t'a\nb'\n", chunker.nextChunk(1, 1));
+		assertEquals("2\t\"c\n", chunker.nextChunk(1, 1));
+	}
+}
@@ -0,0 +1,118 @@
+package org.sagebionetworks.table.cluster.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sagebionetworks.repo.model.dbo.dao.table.TableModelTestUtils;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.SparseChangeSetDto;
+import org.sagebionetworks.repo.model.table.SparseRowDto;
+
+/**
+ * Compares the time to encode and decode a change set with a column of each
+ * type with the gzipped JSON format and with the gzipped
+ * {@link SparseChangeSetBinaryFormat}. The size of each encoding is printed
+ * during the setup.
+ *
+ * <pre>
+ * mvn -pl lib/lib-table-cluster test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.sagebionetworks.table.cluster.utils.SparseChangeSetBinaryFormatBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SparseChangeSetBinaryFormatBenchmark {
+
+	private static final int ROW_COUNT = 10_000;
+
+	private List<ColumnModel> schema;
+	private SparseChangeSetDto set;
+	private byte[] json;
+	private byte[] binary;
+
+	@Setup
+	public void setup() throws IOException {
+		schema = TableModelTestUtils.createOneOfEachType();
+		set = createChangeSet(ROW_COUNT);
+		json = encodeJson();
+		binary = encodeBinary();
+		System.out.println(String.format("%d rows: JSON %d bytes, binary %d bytes", ROW_COUNT, json.length, binary.length));
+	}
+
+	@Benchmark
+	public byte[] encodeJson() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TableModelUtils.writeSparesChangeSetToGz(set, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public SparseChangeSetDto decodeJson() throws IOException {
+		return TableModelUtils.readSparseChangeSetDtoFromGzStream(new ByteArrayInputStream(json));
+	}
+
+	@Benchmark
+	public byte[] encodeBinary() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		TableModelUtils.writeSparseChangeSetToBinaryGz(set, schema, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public SparseChangeSetDto decodeBinary() throws IOException {
+		return TableModelUtils.readSparseChangeSetDtoFromBinaryGzStream(new ByteArrayInputStream(binary));
+	}
+
+	/**
+	 * @param rowCount
+	 * @return A change set with the given number of rows and a column of each
+	 *         type.
+	 */
+	static SparseChangeSetDto createChangeSet(int rowCount) {
+		List<ColumnModel> allTypes = TableModelTestUtils.createOneOfEachType();
+		SparseChangeSetDto set = new SparseChangeSetDto();
+		set.setTableId("syn123");
+		set.setEtag("etag");
+		set.setColumnIds(allTypes.stream().map(ColumnModel::getId).collect(Collectors.toList()));
+		List<SparseRowDto> rows = TableModelTestUtils.createSparseRows(allTypes, rowCount);
+		long rowId = 1000;
+		for (SparseRowDto row : rows) {
+			row.setRowId(rowId++);
+			row.setVersionNumber(3L);
+		}
+		set.setRows(rows);
+		return set;
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(SparseChangeSetBinaryFormatBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
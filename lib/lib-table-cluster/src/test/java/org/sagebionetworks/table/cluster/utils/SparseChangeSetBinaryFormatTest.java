@@ -0,0 +1,203 @@
+package org.sagebionetworks.table.cluster.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sagebionetworks.repo.model.dbo.dao.table.TableModelTestUtils;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.ColumnType;
+import org.sagebionetworks.repo.model.table.SparseChangeSetDto;
+import org.sagebionetworks.repo.model.table.SparseRowDto;
+
+public class SparseChangeSetBinaryFormatTest {
+
+	private List<ColumnModel> schema;
+	private SparseChangeSetDto dto;
+
+	@BeforeEach
+	public void before() {
+		schema = Arrays.asList(
+				TableModelTestUtils.createColumn(1L, "anInteger", ColumnType.INTEGER),
+				TableModelTestUtils.createColumn(2L, "aDouble", ColumnType.DOUBLE),
+				TableModelTestUtils.createColumn(3L, "aBoolean", ColumnType.BOOLEAN),
+				TableModelTestUtils.createColumn(4L, "aString", ColumnType.STRING),
+				TableModelTestUtils.createColumn(5L, "aDate", ColumnType.DATE));
+		dto = new SparseChangeSetDto();
+		dto.setTableId("syn123");
+		dto.setEtag("etag");
+		dto.setColumnIds(schema.stream().map(ColumnModel::getId).collect(Collectors.toList()));
+		dto.setRows(new ArrayList<>());
+	}
+
+	SparseRowDto createRow(Long rowId, Long version, String... values) {
+		SparseRowDto row = new SparseRowDto();
+		row.setRowId(rowId);
+		row.setVersionNumber(version);
+		Map<String, String> map = new LinkedHashMap<>();
+		for (int i = 0; i < values.length; i += 2) {
+			map.put(values[i], values[i + 1]);
+		}
+		row.setValues(map);
+		return row;
+	}
+
+	byte[] write(SparseChangeSetDto set) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SparseChangeSetBinaryFormat.write(set, schema, out);
+		return out.toByteArray();
+	}
+
+	SparseChangeSetDto roundTrip(SparseChangeSetDto set) throws IOException {
+		return SparseChangeSetBinaryFormat.read(new ByteArrayInputStream(write(set)));
+	}
+
+	@Test
+	public void testRoundTripTypedValues() throws IOException {
+		dto.getRows().add(createRow(100L, 3L, "1", "-123", "2", "1.5", "3", "true", "4", "some string", "5", "1577836800000"));
+		dto.getRows().add(createRow(101L, 3L, "1", "0", "2", "-0.25", "3", "false", "4", "", "5", "0"));
+		dto.getRows().add(createRow(99L, 4L, "1", null, "2", null, "3", null, "4", null, "5", null));
+		// call under test
+		assertEquals(dto, roundTrip(dto));
+	}
+
+	@Test
+	public void testRoundTripNonCanonicalValues() throws IOException {
+		// values that cannot be restored from their typed representation are kept as strings
+		dto.getRows().add(createRow(1L, 1L, "1", "007", "2", "1e3", "3", "TRUE", "5", "2020-01-01"));
+		dto.getRows().add(createRow(2L, 1L, "1", "+5", "2", "NaN", "3", "yes", "5", "notANumber"));
+		// call under test
+		assertEquals(dto, roundTrip(dto));
+	}
+
+	@Test
+	public void testRoundTripSparseAndDeletedRows() throws IOException {
+		// only some of the columns
+		dto.getRows().add(createRow(5L, 2L, "4", "updated"));
+		// deleted row
+		SparseRowDto deleted = new SparseRowDto();
+		deleted.setRowId(6L);
+		deleted.setVersionNumber(2L);
+		dto.getRows().add(deleted);
+		// new row without ID
+		SparseRowDto newRow = createRow(null, null, "1", "1");
+		newRow.setEtag("rowEtag");
+		dto.getRows().add(newRow);
+		// call under test
+		assertEquals(dto, roundTrip(dto));
+	}
+
+	@Test
+	public void testRoundTripColumnNotInHeader() throws IOException {
+		dto.getRows().add(createRow(1L, 1L, "1", "1", "999", "unknown"));
+		// call under test
+		assertEquals(dto, roundTrip(dto));
+	}
+
+	@Test
+	public void testRoundTripLargeAndUnicodeValues() throws IOException {
+		StringBuilder large = new StringBuilder();
+		for (int i = 0; i < 100_000; i++) {
+			large.append((char) ('a' + i % 26));
+		}
+		dto.getRows().add(createRow(1L, 1L, "4", large.toString()));
+		dto.getRows().add(createRow(2L, 1L, "4", "\u00e9\u4e2d\ud83d\ude00"));
+		dto.getRows().add(createRow(Long.MAX_VALUE, Long.MIN_VALUE, "1", Long.toString(Long.MIN_VALUE)));
+		// call under test
+		assertEquals(dto, roundTrip(dto));
+	}
+
+	@Test
+	public void testRoundTripEmpty() throws IOException {
+		dto.setTableId(null);
+		dto.setEtag(null);
+		dto.setColumnIds(new ArrayList<>());
+		// call under test
+		assertEquals(dto, roundTrip(dto));
+	}
+
+	@Test
+	public void testStreaming() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (SparseChangeSetBinaryFormat.Writer writer = new SparseChangeSetBinaryFormat.Writer(out, "syn123", "etag",
+				dto.getColumnIds(), schema)) {
+			for (long i = 0; i < 10; i++) {
+				// call under test
+				writer.writeRow(createRow(i, 1L, "1", Long.toString(i)));
+			}
+		}
+		try (SparseChangeSetBinaryFormat.Reader reader = new SparseChangeSetBinaryFormat.Reader(
+				new ByteArrayInputStream(out.toByteArray()))) {
+			assertEquals("syn123", reader.getTableId());
+			assertEquals("etag", reader.getEtag());
+			assertEquals(dto.getColumnIds(), reader.getColumnIds());
+			for (long i = 0; i < 10; i++) {
+				assertTrue(reader.hasNext());
+				// call under test
+				assertEquals(createRow(i, 1L, "1", Long.toString(i)), reader.next());
+			}
+			assertFalse(reader.hasNext());
+		}
+	}
+
+	@Test
+	public void testReadJson() throws IOException {
+		ByteArrayInputStream in = new ByteArrayInputStream("{\"tableId\":\"syn123\"}".getBytes(StandardCharsets.UTF_8));
+		assertThrows(IOException.class, () -> {
+			// call under test
+			SparseChangeSetBinaryFormat.read(in);
+		});
+	}
+
+	@Test
+	public void testReadTruncated() throws IOException {
+		dto.getRows().add(createRow(1L, 1L, "4", "some value"));
+		byte[] bytes = write(dto);
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+		assertThrows(IOException.class, () -> {
+			// call under test
+			SparseChangeSetBinaryFormat.read(new ByteArrayInputStream(truncated));
+		});
+	}
+
+	@Test
+	public void testBinarySmallerThanJson() throws IOException {
+		for (long i = 0; i < 100; i++) {
+			dto.getRows().add(createRow(i, 1L, "1", Long.toString(i * 1000), "2", Double.toString(i / 3.0), "3",
+					Boolean.toString(i % 2 == 0), "4", "value" + i, "5", Long.toString(1577836800000L + i)));
+		}
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		TableModelUtils.writeSparesChangeSetToGz(dto, json);
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		// call under test
+		TableModelUtils.writeSparseChangeSetToBinaryGz(dto, schema, binary);
+		assertTrue(binary.size() < json.size());
+		assertEquals(dto, TableModelUtils.readSparseChangeSetDtoFromBinaryGzStream(new ByteArrayInputStream(binary.toByteArray())));
+	}
+
+	@Test
+	public void testBinarySmallerThanJsonWithAllTypes() throws IOException {
+		SparseChangeSetDto set = SparseChangeSetBinaryFormatBenchmark.createChangeSet(1_000);
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		TableModelUtils.writeSparesChangeSetToGz(set, json);
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		// call under test
+		TableModelUtils.writeSparseChangeSetToBinaryGz(set, TableModelTestUtils.createOneOfEachType(), binary);
+		assertTrue(binary.size() < json.size());
+		assertEquals(set, TableModelUtils.readSparseChangeSetDtoFromBinaryGzStream(new ByteArrayInputStream(binary.toByteArray())));
+	}
+}
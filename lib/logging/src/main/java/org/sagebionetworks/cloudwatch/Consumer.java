@@ -233,6 +233,10 @@ public class Consumer {
 			statisticValues.setSum(pd.getMetricStats().getSum());
 			toReturn.setStatisticValues(statisticValues);
 		}
+		if (pd.getValues() != null) {
+			toReturn.setValues(pd.getValues());
+			toReturn.setCounts(pd.getCounts());
+		}
 		return toReturn;
 	}
 
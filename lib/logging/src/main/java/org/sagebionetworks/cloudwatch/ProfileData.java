@@ -1,6 +1,7 @@
 package org.sagebionetworks.cloudwatch;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -16,6 +17,8 @@ public class ProfileData {
 	Date timestamp;
 	Map<String, String> dimension;
 	MetricStats metricStats;
+	List<Double> values;
+	List<Double> counts;
 	
 	/**
 	 * Default ProfileData constructor.  Want class to be able to expand, so default
@@ -140,17 +143,40 @@ public class ProfileData {
 		return this;
 	}
 
+	public List<Double> getValues() {
+		return values;
+	}
+
+	/**
+	 * Setter for the distinct values of the metric, each value is counted by the
+	 * count at the same index of the counts.
+	 * @param values
+	 */
+	public ProfileData setValues(List<Double> values) {
+		this.values = values;
+		return this;
+	}
+
+	public List<Double> getCounts() {
+		return counts;
+	}
+
+	public ProfileData setCounts(List<Double> counts) {
+		this.counts = counts;
+		return this;
+	}
+
 	@Override
 	public String toString() {
 		return "ProfileData [namespace=" + namespace + ", name=" + name
 				+ ", value=" + value + ", unit=" + unit + ", timestamp="
 				+ timestamp + ", dimension=" + dimension + ", metricStats="
-				+ metricStats + "]";
+				+ metricStats + ", values=" + values + ", counts=" + counts + "]";
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(dimension, metricStats, name, namespace, timestamp, unit, value);
+		return Objects.hash(dimension, metricStats, name, namespace, timestamp, unit, value, values, counts);
 	}
 
 	@Override
@@ -168,7 +194,8 @@ public class ProfileData {
 		return Objects.equals(dimension, other.dimension) && Objects.equals(metricStats, other.metricStats)
 				&& Objects.equals(name, other.name) && Objects.equals(namespace, other.namespace)
 				&& Objects.equals(timestamp, other.timestamp) && Objects.equals(unit, other.unit)
-				&& Objects.equals(value, other.value);
+				&& Objects.equals(value, other.value) && Objects.equals(values, other.values)
+				&& Objects.equals(counts, other.counts);
 	}
 	
 }
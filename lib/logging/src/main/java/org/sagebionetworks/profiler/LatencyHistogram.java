@@ -0,0 +1,121 @@
+package org.sagebionetworks.profiler;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size, lock-free histogram of latencies in microseconds. In the style
+ * of an HDR histogram the buckets are log-linear: each power of two is split
+ * into {@value #SUB_BUCKET_COUNT} linear sub-buckets, so any recorded value is
+ * known within 1/{@value #SUB_BUCKET_COUNT} of its magnitude while the whole
+ * range from one microsecond to more than an hour fits in a few hundred
+ * counters. Recording a value is a single atomic increment. Since the bucket
+ * boundaries are the same for every histogram, the counts of the buckets can be
+ * merged across histograms (and machines) by adding them.
+ *
+ */
+public class LatencyHistogram {
+
+	static final int SUB_BUCKET_BITS = 4;
+	static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	// Values of 2^32 microseconds (about 71 minutes) and above are counted in the last bucket
+	static final int MAX_VALUE_BITS = 32;
+	static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts;
+
+	public LatencyHistogram() {
+		this.counts = new AtomicLongArray(BUCKET_COUNT);
+	}
+
+	/**
+	 * Record a single latency.
+	 *
+	 * @param valueMicros The latency in microseconds, negative values are recorded
+	 *                    as zero.
+	 */
+	public void recordValue(long valueMicros) {
+		counts.incrementAndGet(bucketIndex(Math.max(0L, valueMicros)));
+	}
+
+	/**
+	 * Move all of the values recorded so far to a new histogram, leaving this
+	 * histogram empty. A value recorded concurrently is counted either in the
+	 * returned histogram or in this one, it is never lost.
+	 *
+	 * @return The values recorded since the last call.
+	 */
+	public LatencyHistogram snapshotAndReset() {
+		LatencyHistogram snapshot = new LatencyHistogram();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			if (counts.get(i) > 0) {
+				snapshot.counts.set(i, counts.getAndSet(i, 0L));
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * @return The number of recorded values.
+	 */
+	public long getTotalCount() {
+		long total = 0L;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			total += counts.get(i);
+		}
+		return total;
+	}
+
+	/**
+	 * @param index
+	 * @return The number of recorded values counted by the bucket with the given
+	 *         index.
+	 */
+	public long getCount(int index) {
+		return counts.get(index);
+	}
+
+	/**
+	 * @param value A non-negative value.
+	 * @return The index of the bucket that counts the given value.
+	 */
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		if (value >= (1L << MAX_VALUE_BITS)) {
+			return BUCKET_COUNT - 1;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKET_COUNT - 1));
+	}
+
+	/**
+	 * @param index
+	 * @return The smallest value counted by the bucket with the given index.
+	 */
+	static long lowestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = (index >> SUB_BUCKET_BITS) - 1;
+		return ((long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1)))) << shift;
+	}
+
+	/**
+	 * @param index
+	 * @return The largest value counted by the bucket with the given index.
+	 */
+	static long highestEquivalentValue(int index) {
+		return lowestEquivalentValue(index + 1) - 1;
+	}
+
+	/**
+	 * @param index
+	 * @return The value in the middle of the range counted by the bucket with the
+	 *         given index, which represents all of the values of the bucket.
+	 */
+	static double medianEquivalentValue(int index) {
+		return (lowestEquivalentValue(index) + highestEquivalentValue(index)) / 2.0;
+	}
+
+}
@@ -0,0 +1,136 @@
+package org.sagebionetworks.profiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.sagebionetworks.cloudwatch.ProfileData;
+import org.sagebionetworks.util.ValidateArgument;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+
+/**
+ * Records the latency of each profiled method, including the controller
+ * methods that serve each endpoint, in a {@link LatencyHistogram} per method.
+ * Each call to {@link #publishMetrics()} publishes the buckets of the latencies
+ * recorded since the previous call as the values and counts of a single
+ * metric, so the trigger that drives it defines the aggregation interval.
+ * CloudWatch merges the values and counts published by all of the machines,
+ * which gives the percentiles of each method across the whole stack.
+ * <p>
+ * To reduce the overhead only a random sample of the calls can be recorded, in
+ * which case the published percentiles are estimated from the sample and the
+ * published counts are the number of sampled calls.
+ *
+ */
+public class LatencyRecorder {
+
+	public static final String METRIC_LATENCY = "latency";
+	public static final String DIMENSION_METHOD = "method";
+	// The maximum number of distinct values of a single CloudWatch metric datum
+	public static final int MAX_VALUES_PER_DATUM = 150;
+
+	private final ConcurrentMap<String, LatencyHistogram> histograms;
+	private final Consumer consumer;
+	private final String namespace;
+	private final double samplingRate;
+
+	/**
+	 * @param consumer
+	 * @param config
+	 * @param component    The name of the component included in the namespace of
+	 *                     the metrics (e.g. Repository or Workers).
+	 * @param samplingRate The fraction of the calls that are recorded, greater than
+	 *                     0 and at most 1.
+	 */
+	public LatencyRecorder(Consumer consumer, StackConfiguration config, String component, double samplingRate) {
+		ValidateArgument.required(consumer, "consumer");
+		ValidateArgument.required(component, "component");
+		ValidateArgument.requirement(samplingRate > 0.0 && samplingRate <= 1.0, "The sampling rate must be greater than 0 and at most 1.");
+		this.histograms = new ConcurrentHashMap<>();
+		this.consumer = consumer;
+		this.namespace = String.format("%s-Latency-%s", component, config.getStackInstance());
+		this.samplingRate = samplingRate;
+	}
+
+	/**
+	 * @return True if the current call should be timed and recorded.
+	 */
+	public boolean shouldRecord() {
+		return samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < samplingRate;
+	}
+
+	/**
+	 * Record the latency of a single call to the given method.
+	 *
+	 * @param methodName
+	 * @param elapsedNanos
+	 */
+	public void record(String methodName, long elapsedNanos) {
+		LatencyHistogram histogram = histograms.get(methodName);
+		if (histogram == null) {
+			histogram = histograms.computeIfAbsent(methodName, (name) -> new LatencyHistogram());
+		}
+		histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+	}
+
+	/**
+	 * Publish the latency histogram of each method called since the last call and
+	 * start a new interval. Each non-empty bucket is published as its median
+	 * value with its count, split into as many data as needed to stay within
+	 * {@value #MAX_VALUES_PER_DATUM} values per datum.
+	 */
+	public synchronized void publishMetrics() {
+		Date timestamp = new Date();
+		List<ProfileData> results = new ArrayList<>();
+		for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+			LatencyHistogram interval = entry.getValue().snapshotAndReset();
+			Map<String, String> dimension = Collections.singletonMap(DIMENSION_METHOD, entry.getKey());
+			List<Double> values = new ArrayList<>();
+			List<Double> counts = new ArrayList<>();
+			for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+				long count = interval.getCount(i);
+				if (count < 1) {
+					continue;
+				}
+				values.add(toMillis(LatencyHistogram.medianEquivalentValue(i)));
+				counts.add((double) count);
+				if (values.size() == MAX_VALUES_PER_DATUM) {
+					results.add(createProfileData(values, counts, dimension, timestamp));
+					values = new ArrayList<>();
+					counts = new ArrayList<>();
+				}
+			}
+			if (!values.isEmpty()) {
+				results.add(createProfileData(values, counts, dimension, timestamp));
+			}
+		}
+		if (!results.isEmpty()) {
+			consumer.addProfileData(results);
+		}
+	}
+
+	private ProfileData createProfileData(List<Double> values, List<Double> counts, Map<String, String> dimension, Date timestamp) {
+		return new ProfileData()
+				.setNamespace(namespace)
+				.setName(METRIC_LATENCY)
+				.setValues(values)
+				.setCounts(counts)
+				.setUnit(StandardUnit.Milliseconds.name())
+				.setDimension(dimension)
+				.setTimestamp(timestamp);
+	}
+
+	private static double toMillis(double micros) {
+		return micros / 1000.0;
+	}
+
+}
@@ -1,9 +1,13 @@
 package org.sagebionetworks.profiler;
 
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.Signature;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -16,29 +20,61 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class Profiler {
 	@Autowired
 	private ProfilerFrameStackManager frameStackManager;
+	@Autowired(required = false)
+	private LatencyRecorder latencyRecorder;
+
+	// The name of each profiled method by target class, built once so that a
+	// profiled call does not allocate a new name
+	private final ConcurrentMap<Class<?>, ConcurrentMap<Method, String>> methodNames = new ConcurrentHashMap<>();
 
 	// execution(* org.sagebionetworks..*.*(..)) means profile any bean in the
 	// package org.sagebionetworks or any sub-packages
 	@Around("execution(* org.sagebionetworks..*.*(..)) && !within(org.sagebionetworks.profiler.*)")
 	public Object doBasicProfiling(ProceedingJoinPoint pjp) throws Throwable {
+		boolean captureData = frameStackManager.shouldCaptureData();
+		// Only a sample of the calls might be recorded in the latency histograms
+		boolean recordLatency = latencyRecorder != null && latencyRecorder.shouldRecord();
 		// Do nothing if logging is not on
-		if (!frameStackManager.shouldCaptureData()) {
+		if (!captureData && !recordLatency) {
 			// Just proceed if logging is off.
 			return pjp.proceed();
 		}
 
-		Signature signature = pjp.getSignature();
-		Class<?> declaring = pjp.getTarget().getClass();
-		String methodName = declaring.getName() + "." + signature.getName();
+		String methodName = getMethodName(pjp.getTarget().getClass(), ((MethodSignature) pjp.getSignature()).getMethod());
 
 		long startTime = System.nanoTime();
 		try {
-			frameStackManager.startProfiling(methodName);
+			if (captureData) {
+				frameStackManager.startProfiling(methodName);
+			}
 			return pjp.proceed();
 		} finally {
-			long endTime = System.nanoTime();
-			frameStackManager.endProfiling(methodName, (endTime - startTime) / 1000000);
+			long elapsedNanos = System.nanoTime() - startTime;
+			if (recordLatency) {
+				latencyRecorder.record(methodName, elapsedNanos);
+			}
+			if (captureData) {
+				frameStackManager.endProfiling(methodName, elapsedNanos / 1000000);
+			}
+		}
+	}
+
+	/**
+	 * @param targetClass
+	 * @param method
+	 * @return The name of the given method called on an instance of the given
+	 *         class, in the form: &lt;target class name&gt;.&lt;method name&gt;
+	 */
+	String getMethodName(Class<?> targetClass, Method method) {
+		ConcurrentMap<Method, String> names = methodNames.get(targetClass);
+		if (names == null) {
+			names = methodNames.computeIfAbsent(targetClass, (type) -> new ConcurrentHashMap<>());
+		}
+		String name = names.get(method);
+		if (name == null) {
+			name = names.computeIfAbsent(method, (m) -> targetClass.getName() + "." + m.getName());
 		}
+		return name;
 	}
 
 }
@@ -10,6 +10,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
@@ -75,6 +76,26 @@ public class ConsumerTest {
 		assertEquals(expectedDatum, mdResult);
 	}
 	
+	@Test
+	public void testMakeMetricDatumWithValuesAndCounts(){
+		ProfileData pd = new ProfileData();
+		pd.setName("name");
+		pd.setNamespace("nameSpace");
+		pd.setTimestamp(new Date());
+		pd.setUnit("Milliseconds");
+		pd.setValues(Arrays.asList(1.5, 20.5));
+		pd.setCounts(Arrays.asList(3.0, 1.0));
+		MetricDatum expectedDatum = new MetricDatum();
+		expectedDatum.setMetricName(pd.getName());
+		expectedDatum.setUnit(pd.getUnit());
+		expectedDatum.setTimestamp(pd.getTimestamp());
+		expectedDatum.setValues(Arrays.asList(1.5, 20.5));
+		expectedDatum.setCounts(Arrays.asList(3.0, 1.0));
+		
+		MetricDatum mdResult = Consumer.makeMetricDatum(pd);
+		assertEquals(expectedDatum, mdResult);
+	}
+	
 	@Test
 	public void testGetAllNamespaces(){
 		// Create two namepace, the first with two elements, and the second with 3 elements.
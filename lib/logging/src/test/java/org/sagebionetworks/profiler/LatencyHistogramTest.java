@@ -0,0 +1,120 @@
+package org.sagebionetworks.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBucketIndexWithSmallValues() {
+		for (long value = 0; value < LatencyHistogram.SUB_BUCKET_COUNT * 2; value++) {
+			// call under test
+			int index = LatencyHistogram.bucketIndex(value);
+			assertEquals(value, LatencyHistogram.lowestEquivalentValue(index));
+			assertEquals(value, LatencyHistogram.highestEquivalentValue(index));
+		}
+	}
+
+	@Test
+	public void testBucketIndexWithinRelativeError() {
+		for (long value = 1; value < (1L << LatencyHistogram.MAX_VALUE_BITS); value = value * 3 + 1) {
+			// call under test
+			int index = LatencyHistogram.bucketIndex(value);
+			long lowest = LatencyHistogram.lowestEquivalentValue(index);
+			long highest = LatencyHistogram.highestEquivalentValue(index);
+			assertTrue(lowest <= value && value <= highest, "value: " + value);
+			assertTrue((highest - lowest) * LatencyHistogram.SUB_BUCKET_COUNT <= value, "value: " + value);
+		}
+	}
+
+	@Test
+	public void testBucketIndexIsContiguous() {
+		for (int index = 1; index < LatencyHistogram.BUCKET_COUNT; index++) {
+			assertEquals(LatencyHistogram.highestEquivalentValue(index - 1) + 1, LatencyHistogram.lowestEquivalentValue(index));
+			assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.lowestEquivalentValue(index)));
+		}
+	}
+
+	@Test
+	public void testBucketIndexWithValueOverMax() {
+		// call under test
+		assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testMedianEquivalentValue() {
+		// call under test
+		assertEquals(5.0, LatencyHistogram.medianEquivalentValue(LatencyHistogram.bucketIndex(5L)));
+		int index = LatencyHistogram.bucketIndex(1000L);
+		assertEquals((LatencyHistogram.lowestEquivalentValue(index) + LatencyHistogram.highestEquivalentValue(index)) / 2.0,
+				LatencyHistogram.medianEquivalentValue(index));
+	}
+
+	@Test
+	public void testRecordValue() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		// call under test
+		histogram.recordValue(5L);
+		histogram.recordValue(1000L);
+		histogram.recordValue(1001L);
+		histogram.recordValue(-1L);
+
+		assertEquals(4L, histogram.getTotalCount());
+		assertEquals(1L, histogram.getCount(0));
+		assertEquals(1L, histogram.getCount(LatencyHistogram.bucketIndex(5L)));
+		assertEquals(2L, histogram.getCount(LatencyHistogram.bucketIndex(1000L)));
+	}
+
+	@Test
+	public void testSnapshotAndReset() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.recordValue(10L);
+		histogram.recordValue(300L);
+		// call under test
+		LatencyHistogram snapshot = histogram.snapshotAndReset();
+
+		assertEquals(2L, snapshot.getTotalCount());
+		assertEquals(1L, snapshot.getCount(LatencyHistogram.bucketIndex(300L)));
+		assertEquals(0L, histogram.getTotalCount());
+	}
+
+	@Test
+	public void testSnapshotAndResetWithConcurrentRecords() throws Exception {
+		LatencyHistogram histogram = new LatencyHistogram();
+		int threadCount = 4;
+		int recordsPerThread = 100000;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threadCount; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < recordsPerThread; j++) {
+						histogram.recordValue(j);
+					}
+				}));
+			}
+			long total = 0L;
+			for (Future<?> future : futures) {
+				while (!future.isDone()) {
+					// call under test
+					total += histogram.snapshotAndReset().getTotalCount();
+				}
+				future.get();
+			}
+			total += histogram.snapshotAndReset().getTotalCount();
+			// No value is lost or counted twice
+			assertEquals((long) threadCount * recordsPerThread, total);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+package org.sagebionetworks.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.sagebionetworks.cloudwatch.ProfileData;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class LatencyRecorderTest {
+
+	@Mock
+	private Consumer mockConsumer;
+	@Mock
+	private StackConfiguration mockConfig;
+	@Captor
+	private ArgumentCaptor<List<ProfileData>> dataCaptor;
+
+	private LatencyRecorder recorder;
+
+	@BeforeEach
+	public void before() {
+		when(mockConfig.getStackInstance()).thenReturn("123");
+		recorder = new LatencyRecorder(mockConsumer, mockConfig, "Repository", 1.0);
+	}
+
+	@Test
+	public void testShouldRecordWithoutSampling() {
+		// call under test
+		assertTrue(recorder.shouldRecord());
+	}
+
+	@Test
+	public void testShouldRecordWithSampling() {
+		recorder = new LatencyRecorder(mockConsumer, mockConfig, "Repository", 0.5);
+		int recorded = 0;
+		for (int i = 0; i < 10000; i++) {
+			// call under test
+			if (recorder.shouldRecord()) {
+				recorded++;
+			}
+		}
+		assertTrue(recorded > 4000 && recorded < 6000, "recorded: " + recorded);
+	}
+
+	@Test
+	public void testConstructorWithInvalidSamplingRate() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			new LatencyRecorder(mockConsumer, mockConfig, "Repository", 0.0);
+		});
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			new LatencyRecorder(mockConsumer, mockConfig, "Repository", 1.5);
+		});
+	}
+
+	@Test
+	public void testPublishMetrics() {
+		recorder.record("Controller.get", 2_000_000L);
+		recorder.record("Controller.get", 4_000_000L);
+		recorder.record("Controller.get", 4_000_000L);
+		recorder.record("Dao.get", 1_000L);
+		// call under test
+		recorder.publishMetrics();
+
+		verify(mockConsumer).addProfileData(dataCaptor.capture());
+		List<ProfileData> results = dataCaptor.getValue();
+		assertEquals(2, results.size());
+		for (ProfileData data : results) {
+			assertEquals("Repository-Latency-123", data.getNamespace());
+			assertEquals(LatencyRecorder.METRIC_LATENCY, data.getName());
+			assertEquals(StandardUnit.Milliseconds.name(), data.getUnit());
+			assertNull(data.getValue());
+			assertNull(data.getMetricStats());
+		}
+		Map<String, ProfileData> byMethod = results.stream()
+				.collect(Collectors.toMap(d -> d.getDimension().get(LatencyRecorder.DIMENSION_METHOD), Function.identity()));
+
+		ProfileData controller = byMethod.get("Controller.get");
+		assertEquals(Arrays.asList(1.0, 2.0), controller.getCounts());
+		assertEquals(2, controller.getValues().size());
+		assertEquals(2.0, controller.getValues().get(0), 2.0 / LatencyHistogram.SUB_BUCKET_COUNT);
+		assertEquals(4.0, controller.getValues().get(1), 4.0 / LatencyHistogram.SUB_BUCKET_COUNT);
+		ProfileData dao = byMethod.get("Dao.get");
+		assertEquals(Collections.singletonList(0.001), dao.getValues());
+		assertEquals(Collections.singletonList(1.0), dao.getCounts());
+	}
+
+	@Test
+	public void testPublishMetricsWithMoreBucketsThanOneDatum() {
+		for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+			recorder.record("Controller.get", LatencyHistogram.lowestEquivalentValue(i) * 1000L);
+		}
+		// call under test
+		recorder.publishMetrics();
+
+		verify(mockConsumer).addProfileData(dataCaptor.capture());
+		List<ProfileData> results = dataCaptor.getValue();
+		int expectedData = (LatencyHistogram.BUCKET_COUNT + LatencyRecorder.MAX_VALUES_PER_DATUM - 1) / LatencyRecorder.MAX_VALUES_PER_DATUM;
+		assertEquals(expectedData, results.size());
+		int valueCount = 0;
+		for (ProfileData data : results) {
+			assertTrue(data.getValues().size() <= LatencyRecorder.MAX_VALUES_PER_DATUM);
+			assertEquals(data.getValues().size(), data.getCounts().size());
+			valueCount += data.getValues().size();
+		}
+		assertEquals(LatencyHistogram.BUCKET_COUNT, valueCount);
+	}
+
+	@Test
+	public void testPublishMetricsPerInterval() {
+		recorder.record("Controller.get", 2_000_000L);
+		recorder.publishMetrics();
+		recorder.record("Dao.get", 1_000L);
+		// call under test
+		recorder.publishMetrics();
+
+		verify(mockConsumer, times(2)).addProfileData(dataCaptor.capture());
+		List<ProfileData> results = dataCaptor.getAllValues().get(1);
+		assertEquals(1, results.size());
+		for (ProfileData data : results) {
+			assertEquals(Collections.singletonMap(LatencyRecorder.DIMENSION_METHOD, "Dao.get"), data.getDimension());
+		}
+	}
+
+	@Test
+	public void testPublishMetricsWithNoCalls() {
+		// call under test
+		recorder.publishMetrics();
+
+		verifyZeroInteractions(mockConsumer);
+	}
+
+}
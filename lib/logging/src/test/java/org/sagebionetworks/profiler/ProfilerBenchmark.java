@@ -0,0 +1,242 @@
+package org.sagebionetworks.profiler;
+
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Measures the per-call overhead of {@link Profiler#doBasicProfiling} around a
+ * method that does nothing: without a {@link LatencyRecorder}, recording every
+ * call and recording a sample of the calls, compared to only reading the clock.
+ * The join point is created once, so the allocation reported by the GC profiler
+ * is the allocation of the profiler itself. Use -t to measure the overhead with
+ * concurrent callers.
+ *
+ * <pre>
+ * mvn -pl lib/logging test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.sagebionetworks.profiler.ProfilerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfilerBenchmark {
+
+	private Profiler notRecorded;
+	private Profiler recorded;
+	private Profiler sampled;
+	private ProceedingJoinPoint joinPoint;
+
+	@Setup
+	public void setup() throws NoSuchMethodException {
+		Consumer consumer = new Consumer();
+		StackConfiguration config = mock(StackConfiguration.class);
+		notRecorded = createProfiler(null);
+		recorded = createProfiler(new LatencyRecorder(consumer, config, "Benchmark", 1.0));
+		sampled = createProfiler(new LatencyRecorder(consumer, config, "Benchmark", 0.01));
+		joinPoint = new StubJoinPoint(new Object(), Object.class.getMethod("hashCode"));
+	}
+
+	static Profiler createProfiler(LatencyRecorder recorder) {
+		Profiler profiler = new Profiler();
+		ReflectionTestUtils.setField(profiler, "frameStackManager", new ProfilerFrameStackManager());
+		ReflectionTestUtils.setField(profiler, "latencyRecorder", recorder);
+		return profiler;
+	}
+
+	@Benchmark
+	public long clockOnly() {
+		long startTime = System.nanoTime();
+		return System.nanoTime() - startTime;
+	}
+
+	@Benchmark
+	public Object notRecorded() throws Throwable {
+		return notRecorded.doBasicProfiling(joinPoint);
+	}
+
+	@Benchmark
+	public Object recorded() throws Throwable {
+		return recorded.doBasicProfiling(joinPoint);
+	}
+
+	@Benchmark
+	public Object sampled() throws Throwable {
+		return sampled.doBasicProfiling(joinPoint);
+	}
+
+	/**
+	 * A join point of a call to a method that returns immediately, the
+	 * {@link Profiler} only uses its target, signature and proceed().
+	 */
+	static class StubJoinPoint implements ProceedingJoinPoint {
+
+		private final Object target;
+		private final MethodSignature signature;
+
+		StubJoinPoint(Object target, Method method) {
+			this.target = target;
+			this.signature = new StubMethodSignature(method);
+		}
+
+		@Override
+		public Object proceed() throws Throwable {
+			return null;
+		}
+
+		@Override
+		public Object proceed(Object[] args) throws Throwable {
+			return null;
+		}
+
+		@Override
+		public void set$AroundClosure(AroundClosure arc) {
+		}
+
+		@Override
+		public Object getTarget() {
+			return target;
+		}
+
+		@Override
+		public Object getThis() {
+			return target;
+		}
+
+		@Override
+		public Signature getSignature() {
+			return signature;
+		}
+
+		@Override
+		public Object[] getArgs() {
+			return new Object[0];
+		}
+
+		@Override
+		public SourceLocation getSourceLocation() {
+			return null;
+		}
+
+		@Override
+		public String getKind() {
+			return METHOD_EXECUTION;
+		}
+
+		@Override
+		public StaticPart getStaticPart() {
+			return null;
+		}
+
+		@Override
+		public String toShortString() {
+			return signature.toShortString();
+		}
+
+		@Override
+		public String toLongString() {
+			return signature.toLongString();
+		}
+	}
+
+	static class StubMethodSignature implements MethodSignature {
+
+		private final Method method;
+
+		StubMethodSignature(Method method) {
+			this.method = method;
+		}
+
+		@Override
+		public Method getMethod() {
+			return method;
+		}
+
+		@Override
+		public Class getReturnType() {
+			return method.getReturnType();
+		}
+
+		@Override
+		public Class[] getParameterTypes() {
+			return method.getParameterTypes();
+		}
+
+		@Override
+		public String[] getParameterNames() {
+			return null;
+		}
+
+		@Override
+		public Class[] getExceptionTypes() {
+			return method.getExceptionTypes();
+		}
+
+		@Override
+		public String getName() {
+			return method.getName();
+		}
+
+		@Override
+		public int getModifiers() {
+			return method.getModifiers();
+		}
+
+		@Override
+		public Class getDeclaringType() {
+			return method.getDeclaringClass();
+		}
+
+		@Override
+		public String getDeclaringTypeName() {
+			return method.getDeclaringClass().getName();
+		}
+
+		@Override
+		public String toShortString() {
+			return method.getName();
+		}
+
+		@Override
+		public String toLongString() {
+			return method.toString();
+		}
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(ProfilerBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
@@ -1,5 +1,7 @@
 package org.sagebionetworks.profiler;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
@@ -9,8 +11,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.lang.reflect.Method;
+
 import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,6 +31,9 @@ public class ProfilerTest {
 	@Mock
 	ProfilerFrameStackManager mockProfilerFrameStackManager;
 
+	@Mock
+	LatencyRecorder mockLatencyRecorder;
+
 	Profiler spyProfiler;
 
 	@Before
@@ -54,20 +61,18 @@ public class ProfilerTest {
 	public void testDoBasicProfiling_shouldCaptureData() throws Throwable{
 		doReturn(true).when(mockProfilerFrameStackManager).shouldCaptureData();
 		Object target = new Object();
-		String signatureName = "fakename()";
-		Signature mockSignature = mock(Signature.class);
-		when(mockSignature.getName()).thenReturn(signatureName);
-		String expectedMethodName = target.getClass().getName() + "." + signatureName;
+		MethodSignature mockSignature = mock(MethodSignature.class);
+		when(mockSignature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+		String expectedMethodName = target.getClass().getName() + ".toString";
 		when(mockProceedingJoinPoint.getTarget()).thenReturn(target);
 		when(mockProceedingJoinPoint.getSignature()).thenReturn(mockSignature);
 
-
 		spyProfiler.doBasicProfiling(mockProceedingJoinPoint);
 
 		verify(mockProfilerFrameStackManager).shouldCaptureData();
 		verify(mockProceedingJoinPoint).getSignature();
 		verify(mockProceedingJoinPoint).getTarget();
-		verify(mockSignature).getName();
+		verify(mockSignature).getMethod();
 		verify(mockProfilerFrameStackManager).startProfiling(expectedMethodName);
 		verify(mockProceedingJoinPoint).proceed();
 		verify(mockProfilerFrameStackManager).endProfiling(eq(expectedMethodName), anyLong());
@@ -77,4 +82,54 @@ public class ProfilerTest {
 		verifyNoMoreInteractions(mockProceedingJoinPoint);
 		verifyNoMoreInteractions(mockProfilerFrameStackManager);
 	}
+
+	@Test
+	public void testDoBasicProfiling_shouldRecordLatencyOnly() throws Throwable{
+		ReflectionTestUtils.setField(spyProfiler, "latencyRecorder", mockLatencyRecorder);
+		doReturn(false).when(mockProfilerFrameStackManager).shouldCaptureData();
+		doReturn(true).when(mockLatencyRecorder).shouldRecord();
+		Object target = new Object();
+		MethodSignature mockSignature = mock(MethodSignature.class);
+		when(mockSignature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+		String expectedMethodName = target.getClass().getName() + ".toString";
+		when(mockProceedingJoinPoint.getTarget()).thenReturn(target);
+		when(mockProceedingJoinPoint.getSignature()).thenReturn(mockSignature);
+
+		spyProfiler.doBasicProfiling(mockProceedingJoinPoint);
+
+		verify(mockProfilerFrameStackManager).shouldCaptureData();
+		verify(mockLatencyRecorder).shouldRecord();
+		verify(mockProceedingJoinPoint).proceed();
+		verify(mockLatencyRecorder).record(eq(expectedMethodName), anyLong());
+
+		verifyNoMoreInteractions(mockLatencyRecorder);
+		verifyNoMoreInteractions(mockProfilerFrameStackManager);
+	}
+
+	@Test
+	public void testDoBasicProfiling_shouldNotRecordLatency() throws Throwable{
+		ReflectionTestUtils.setField(spyProfiler, "latencyRecorder", mockLatencyRecorder);
+		doReturn(false).when(mockProfilerFrameStackManager).shouldCaptureData();
+		doReturn(false).when(mockLatencyRecorder).shouldRecord();
+
+		spyProfiler.doBasicProfiling(mockProceedingJoinPoint);
+
+		verify(mockLatencyRecorder).shouldRecord();
+		verify(mockProceedingJoinPoint).proceed();
+
+		verifyNoMoreInteractions(mockProceedingJoinPoint);
+		verifyNoMoreInteractions(mockLatencyRecorder);
+	}
+
+	@Test
+	public void testGetMethodName() throws Exception{
+		Method method = Object.class.getMethod("toString");
+
+		String name = spyProfiler.getMethodName(String.class, method);
+
+		assertEquals("java.lang.String.toString", name);
+		// the name is built once for each target class and method
+		assertSame(name, spyProfiler.getMethodName(String.class, method));
+		assertEquals("java.lang.Integer.toString", spyProfiler.getMethodName(Integer.class, method));
+	}
 }
@@ -141,6 +141,16 @@ public interface AccessControlListDAO  {
 	Set<Long> getAccessibleBenefactors(Set<Long> groups, Set<Long> benefactors,
 			ObjectType entity, ACCESS_TYPE read);
 
+	/**
+	 * Compute a checksum of the ACLs of the given owners. The checksum changes
+	 * whenever any of the ACLs is created, updated or deleted.
+	 * 
+	 * @param ownerIds
+	 * @param ownerType
+	 * @return
+	 */
+	String getAclChecksum(Set<Long> ownerIds, ObjectType ownerType);
+
 	/**
 	 * Retrieve all user groups that have ACCESS_TYPE accessType to the given object
 	 * 
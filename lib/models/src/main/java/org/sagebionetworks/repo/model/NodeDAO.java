@@ -17,6 +17,7 @@ import org.sagebionetworks.repo.web.NotFoundException;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -106,6 +107,24 @@ public interface NodeDAO {
 	 * number of nodes and additional calls are needed in order to delete the node.
 	 */
 	public boolean deleteTree(String id, int subTreeLimit);
+	
+	/**
+	 * Deletes a single batch of the tree of nodes rooted in the node with the given id, starting from the deepest
+	 * nodes of the sub-tree. If the remaining sub-tree has less than batchSize nodes the root node is deleted as
+	 * well. A delete message is sent for each deleted node. This method runs in a new transaction, so that each batch
+	 * is committed on its own and a purge that fails can be resumed from the remaining sub-tree.
+	 * <p>
+	 * The root node must be in the trash can: the root node is locked and its parent is checked in the same
+	 * transaction as the delete, so that a concurrent restore of the root node either waits for the batch to be
+	 * committed or stops the purge.
+	 * 
+	 * @param id        The id of the root node
+	 * @param batchSize The maximum number of nodes in the sub-tree to delete
+	 * @return The ids of the deleted nodes, ordered by the deletion order. When the root node was deleted its id is
+	 *         the last element of the list.
+	 * @throws NotFoundException If the root node does not exist or is not in the trash can
+	 */
+	public List<Long> deleteTreeBatch(String id, int batchSize);
 		
 	/**
 	 * Delete a specific version.
@@ -223,6 +242,34 @@ public interface NodeDAO {
 	 */
 	public Set<Long> getAvailableNodes(List<Long> nodeIds);
 	
+	/**
+	 * Get the current revision of each of the given nodes. Nodes that do not
+	 * exist are excluded from the results.
+	 * 
+	 * @param nodeIds
+	 * @return
+	 */
+	public List<Node> getNodes(List<Long> nodeIds);
+	
+	/**
+	 * Get the user annotations of the current revision of each of the given
+	 * nodes, keyed by node id. Nodes that do not exist are excluded from the
+	 * results.
+	 * 
+	 * @param nodeIds
+	 * @return
+	 */
+	public Map<Long, Annotations> getUserAnnotationsForCurrentVersions(List<Long> nodeIds);
+	
+	/**
+	 * Get the benefactor of each of the given nodes, keyed by node id. Nodes
+	 * that do not exist are excluded from the results.
+	 * 
+	 * @param nodeIds
+	 * @return
+	 */
+	public Map<Long, Long> getBenefactors(List<Long> nodeIds);
+	
 	/**
 	 * True if the node exists and is not in the trash.
 	 * @param nodeId
@@ -475,6 +522,19 @@ public interface NodeDAO {
 	 */
 	Set<Long> getAllContainerIds(String parentId, int maxNumberIds) throws LimitExceededException;
 	
+	/**
+	 * Get a single page of the IDs of all container nodes within the hierarchy of
+	 * the given parent, including the parent itself. Only containers that have
+	 * children are included. Containers are ordered by ID so that the hierarchy
+	 * can be paged through without loading all of the IDs at once.
+	 * 
+	 * @param parentId
+	 * @param afterId  Only containers with an ID greater than this ID are included.
+	 * @param limit    The maximum number of IDs in the page.
+	 * @return
+	 */
+	List<Long> getContainerIdsPage(String parentId, long afterId, long limit);
+	
 	/**
 	 * Return all the nodes in the sub tree of the node with the given id ordered (decreasing) by their distance from
 	 * the input node.
@@ -485,6 +545,14 @@ public interface NodeDAO {
 	 */
 	List<Long> getSubTreeNodeIdsOrderByDistanceDesc(Long parentId, int limit);
 	
+	/**
+	 * Count the nodes in the sub tree of the node with the given id.
+	 * 
+	 * @param parentId The id of a (container) node
+	 * @return The number of nodes in the sub-tree of the node with the given id, does not include the input node
+	 */
+	long getSubTreeNodeCount(Long parentId);
+	
 	/**
 	 * Lookup a nodeId using its alias.
 	 * @param alias
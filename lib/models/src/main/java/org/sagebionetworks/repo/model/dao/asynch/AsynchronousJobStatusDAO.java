@@ -45,6 +45,14 @@ public interface AsynchronousJobStatusDAO {
 	 */
 	public void updateJobProgress(String jobId, Long progressCurrent, Long progressTotal, String progressMessage);
 	
+	/**
+	 * Update the progress of many jobs with a single batch. The progress of a job
+	 * is only updated while the job is processing.
+	 * 
+	 * @param progress
+	 */
+	public void updateJobProgress(List<AsynchJobProgress> progress);
+	
 	/**
 	 * Set a job to failed.
 	 * 
@@ -37,6 +37,7 @@ public class TableConstants {
 	public static final String ROW_BENEFACTOR = "ROW_BENEFACTOR";
 	public static final String ROW_SEARCH_CONTENT = "ROW_SEARCH_CONTENT";
 	public static final String ROW_HASH_CODE = "ROW_HASH_CODE";
+	public static final String ROW_SOURCE_ID = "ROW_SOURCE_ID";
 	
 	/**
 	 * For a given view alias, get the benefactor column name.
@@ -52,6 +53,12 @@ public class TableConstants {
 	 */
 	public static final String FILE_ID = "FILE_ID";
 	
+	/**
+	 * Benefactor table columns
+	 */
+	public static final String BENEFACTOR_COL_COLUMN_NAME = "BENEFACTOR_COLUMN";
+	public static final String BENEFACTOR_COL_BENEFACTOR_ID = "BENEFACTOR_ID";
+	
 	/**
 	 * The reserved column id for row id.
 	 */
@@ -75,7 +82,7 @@ public class TableConstants {
 	 * ROW_VERSION
 	 */
 	public static final Set<String> RESERVED_COLUMNS_NAMES = new HashSet<String>(
-			Arrays.asList(ROW_ID, ROW_VERSION, ROW_ETAG, ROW_BENEFACTOR, ROW_SEARCH_CONTENT, ROW_HASH_CODE));
+			Arrays.asList(ROW_ID, ROW_VERSION, ROW_ETAG, ROW_BENEFACTOR, ROW_SEARCH_CONTENT, ROW_HASH_CODE, ROW_SOURCE_ID));
 
 	/**
 	 * The Map of reserved column names like ROW_ID and
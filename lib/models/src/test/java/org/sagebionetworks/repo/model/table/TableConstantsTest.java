@@ -50,4 +50,9 @@ public class TableConstantsTest {
 		assertTrue(TableConstants.isReservedColumnName("row_search_content"));
 	}
 	
+	@Test
+	public void testIsReservedColumnNameRowSourceId(){
+		assertTrue(TableConstants.isReservedColumnName("row_source_id"));
+	}
+	
 }
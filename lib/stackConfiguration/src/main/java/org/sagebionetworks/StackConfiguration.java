@@ -872,4 +872,21 @@ public interface StackConfiguration {
 	 * The domain name for the CloudFront distribution in front of the Synapse data S3 bucket
 	 */
 	public String getCloudFrontDomainName();
+
+	/**
+	 * @return The maximum number of bytes of decompressed wiki markdown cached in
+	 *         memory.
+	 */
+	public long getWikiMarkdownCacheMaxMemoryBytes();
+
+	/**
+	 * @return The local directory used to cache wiki markdown on disk, can be null
+	 *         when the disk cache is disabled.
+	 */
+	public String getWikiMarkdownCacheDirectory();
+
+	/**
+	 * @return The maximum number of bytes of wiki markdown cached on disk.
+	 */
+	public long getWikiMarkdownCacheMaxDiskBytes();
 }
@@ -1283,4 +1283,22 @@ public class StackConfigurationImpl implements StackConfiguration {
 	public String getCloudFrontDomainName() {
 		return configuration.getProperty("org.sagebionetworks.cloudfront.domainname");
 	}
+
+	@Override
+	public long getWikiMarkdownCacheMaxMemoryBytes() {
+		return Long.parseLong(configuration.getProperty("org.sagebionetworks.wiki.markdown.cache.memory.max.bytes"));
+	}
+
+	@Override
+	public String getWikiMarkdownCacheDirectory() {
+		if (configuration.hasProperty("org.sagebionetworks.wiki.markdown.cache.directory")) {
+			return configuration.getProperty("org.sagebionetworks.wiki.markdown.cache.directory");
+		}
+		return null;
+	}
+
+	@Override
+	public long getWikiMarkdownCacheMaxDiskBytes() {
+		return Long.parseLong(configuration.getProperty("org.sagebionetworks.wiki.markdown.cache.disk.max.bytes"));
+	}
 }
@@ -65,6 +65,9 @@ public interface AsynchJobStatusManager {
 	 * Update the progress of a job.
 	 * This method should only be called by a worker.
 	 * 
+	 * Note: The progress is buffered in memory and written to the database by
+	 * {@link #flushJobProgress()}. Only the latest progress of each job is kept.
+	 * 
 	 * @param jobId
 	 * @param progressCurrent
 	 * @param progressTotal
@@ -73,6 +76,12 @@ public interface AsynchJobStatusManager {
 	 */
 	public void updateJobProgress(String jobId, Long progressCurrent, Long progressTotal, String progressMessage);
 	
+	/**
+	 * Write the buffered progress of all jobs to the database as a single batch.
+	 * Called from a timer.
+	 */
+	public void flushJobProgress();
+	
 	
 	/**
 	 * Set a job to failed.
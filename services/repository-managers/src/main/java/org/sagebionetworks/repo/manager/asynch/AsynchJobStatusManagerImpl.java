@@ -1,9 +1,12 @@
 package org.sagebionetworks.repo.manager.asynch;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -21,12 +24,13 @@ import org.sagebionetworks.repo.model.asynch.AsynchronousRequestBody;
 import org.sagebionetworks.repo.model.asynch.AsynchronousResponseBody;
 import org.sagebionetworks.repo.model.asynch.CacheableRequestBody;
 import org.sagebionetworks.repo.model.asynch.ReadOnlyRequestBody;
+import org.sagebionetworks.repo.model.dao.asynch.AsynchJobProgress;
 import org.sagebionetworks.repo.model.dao.asynch.AsynchronousJobStatusDAO;
 import org.sagebionetworks.repo.model.dbo.asynch.AsynchJobType;
 import org.sagebionetworks.repo.model.status.StatusEnum;
-import org.sagebionetworks.repo.transactions.NewWriteTransaction;
 import org.sagebionetworks.repo.transactions.WriteTransaction;
 import org.sagebionetworks.repo.web.NotFoundException;
+import org.sagebionetworks.util.Clock;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.amazonaws.services.cloudwatch.model.StandardUnit;
@@ -45,6 +49,11 @@ public class AsynchJobStatusManagerImpl implements AsynchJobStatusManager {
 	
 	
 	private static final String JOB_ABORTED_MESSAGE = "Job aborted because the stack was not in: "+StatusEnum.READ_WRITE;
+	
+	/**
+	 * Progress updates use a cached stack status that is refreshed at most once per this period.
+	 */
+	public static final long STACK_STATUS_CACHE_MS = 1000L;
 
 	@Autowired
 	AsynchronousJobStatusDAO asynchJobStatusDao;
@@ -58,7 +67,16 @@ public class AsynchJobStatusManagerImpl implements AsynchJobStatusManager {
 	StackConfiguration stackConfig;
 	@Autowired
 	Consumer cloudeWatch;
+	@Autowired
+	Clock clock;
 	String metricNamespace;
+	
+	/**
+	 * The latest progress of each job that has not been written to the database.
+	 */
+	private final ConcurrentMap<String, AsynchJobProgress> pendingProgress = new ConcurrentHashMap<>();
+	private volatile StatusEnum cachedStackStatus;
+	private volatile long cachedStackStatusExpiresOn;
 	/*
 	 * (non-Javadoc)
 	 * @see org.sagebionetworks.repo.manager.asynch.AsynchJobStatusManager#lookupJobStatus(java.lang.String)
@@ -166,12 +184,60 @@ public class AsynchJobStatusManagerImpl implements AsynchJobStatusManager {
 	}
 
 
-	@NewWriteTransaction
 	@Override
 	public void updateJobProgress(String jobId, Long progressCurrent, Long progressTotal, String progressMessage) {
+		if(jobId == null) throw new IllegalArgumentException("JobId cannot be null");
 		// Progress can only be updated if the stack is in read-write mode.
-		checkStackReadWrite();
-		asynchJobStatusDao.updateJobProgress(jobId, progressCurrent, progressTotal, progressMessage);
+		if(!StatusEnum.READ_WRITE.equals(getCachedStackStatus())){
+			throw new IllegalStateException(JOB_ABORTED_MESSAGE);
+		}
+		// Replace any progress for this job that has not been written yet.
+		pendingProgress.put(jobId, new AsynchJobProgress(jobId, progressCurrent, progressTotal, progressMessage, clock.currentTimeMillis()));
+	}
+	
+	@Override
+	public void flushJobProgress() {
+		List<AsynchJobProgress> batch = new ArrayList<>(pendingProgress.size());
+		for(String jobId: pendingProgress.keySet()) {
+			AsynchJobProgress progress = pendingProgress.remove(jobId);
+			if(progress != null) {
+				batch.add(progress);
+			}
+		}
+		if(batch.isEmpty()) {
+			return;
+		}
+		if(!StatusEnum.READ_WRITE.equals(getCachedStackStatus())) {
+			// The jobs will be aborted so their progress is dropped.
+			return;
+		}
+		asynchJobStatusDao.updateJobProgress(batch);
+	}
+	
+	/**
+	 * Write any buffered progress for the given job before the job reaches a final state.
+	 * 
+	 * @param jobId
+	 */
+	void flushJobProgress(String jobId) {
+		AsynchJobProgress progress = pendingProgress.remove(jobId);
+		if(progress != null) {
+			asynchJobStatusDao.updateJobProgress(Collections.singletonList(progress));
+		}
+	}
+	
+	/**
+	 * Get the status of the stack, refreshed at most once per {@link #STACK_STATUS_CACHE_MS}.
+	 * 
+	 * @return
+	 */
+	StatusEnum getCachedStackStatus() {
+		long now = clock.currentTimeMillis();
+		if(cachedStackStatus == null || now >= cachedStackStatusExpiresOn) {
+			cachedStackStatus = stackStatusDao.getCurrentStatus();
+			cachedStackStatusExpiresOn = now + STACK_STATUS_CACHE_MS;
+		}
+		return cachedStackStatus;
 	}
 
 	/**
@@ -188,6 +254,7 @@ public class AsynchJobStatusManagerImpl implements AsynchJobStatusManager {
 	@Override
 	public String setJobFailed(String jobId, Throwable error) {
 		// We allow a job to fail even if the stack is not in read-write mode.
+		flushJobProgress(jobId);
 		return asynchJobStatusDao.setJobFailed(jobId, error);
 	}
 
@@ -195,6 +262,7 @@ public class AsynchJobStatusManagerImpl implements AsynchJobStatusManager {
 	@Override
 	public void setJobCanceling(String jobId) {
 		// We allow a job to cancel even if the stack is not in read-write mode.
+		flushJobProgress(jobId);
 		asynchJobStatusDao.setJobCanceling(jobId);
 	}
 
@@ -207,6 +275,8 @@ public class AsynchJobStatusManagerImpl implements AsynchJobStatusManager {
 		 *  This hash can be used to find jobs that already match an existing request.
 		 */
 		AsynchronousJobStatus status = lookupJobStatus(jobId);
+		// Write any buffered progress before the job is completed.
+		flushJobProgress(jobId);
 		String requestHash = null;
 		if(status.getRequestBody() instanceof CacheableRequestBody){
 			CacheableRequestBody request = (CacheableRequestBody) status.getRequestBody();
@@ -0,0 +1,30 @@
+package org.sagebionetworks.repo.manager.dataaccess;
+
+import java.util.Set;
+
+/**
+ * Keeps the closure of the access requirements that apply to each entity up
+ * to date with the entity hierarchy and the access requirement bindings.
+ *
+ */
+public interface EntityEffectiveAccessRequirementManager {
+
+	/**
+	 * Rebuild the sub-trees of the oldest pending changes.
+	 * 
+	 * @param limit The maximum number of changes to process.
+	 * @return The number of changes that were processed.
+	 */
+	int processChanges(long limit);
+
+	/**
+	 * Check the closure of the next page of entities against the hierarchy. Any
+	 * entity with a closure that does not match is marked as changed so it will
+	 * be rebuilt. Successive calls check all entities, one page at a time. Does
+	 * nothing while there are pending changes.
+	 * 
+	 * @param pageSize
+	 * @return The IDs of the entities found to be inconsistent.
+	 */
+	Set<Long> reconcile(long pageSize);
+}
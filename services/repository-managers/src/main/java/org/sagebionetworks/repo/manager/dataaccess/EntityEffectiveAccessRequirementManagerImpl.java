@@ -0,0 +1,91 @@
+package org.sagebionetworks.repo.manager.dataaccess;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sagebionetworks.repo.model.NodeConstants;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOEntityEffectiveAccessRequirementChange;
+import org.sagebionetworks.util.ValidateArgument;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EntityEffectiveAccessRequirementManagerImpl implements EntityEffectiveAccessRequirementManager {
+
+	private static final Logger LOG = LogManager.getLogger(EntityEffectiveAccessRequirementManagerImpl.class);
+
+	static final Long ROOT_ID = NodeConstants.BOOTSTRAP_NODES.ROOT.getId();
+
+	private final EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
+	/**
+	 * The last entity checked by {@link #reconcile(long)}.
+	 */
+	private final AtomicLong lastReconciledId;
+
+	public EntityEffectiveAccessRequirementManagerImpl(
+			EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao) {
+		super();
+		this.entityEffectiveAccessRequirementDao = entityEffectiveAccessRequirementDao;
+		this.lastReconciledId = new AtomicLong(0L);
+	}
+
+	@Override
+	public int processChanges(long limit) {
+		ValidateArgument.requirement(limit > 0, "limit must be greater than zero");
+		List<DBOEntityEffectiveAccessRequirementChange> changes = entityEffectiveAccessRequirementDao
+				.getPendingChanges(limit);
+		if (changes.isEmpty()) {
+			return 0;
+		}
+		// The same sub-tree is often changed many times in a row.
+		Set<Long> rootIds = changes.stream().map(DBOEntityEffectiveAccessRequirementChange::getRootId)
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		for (Long rootId : rootIds) {
+			if (ROOT_ID.equals(rootId)) {
+				/*
+				 * Rebuilding the entire hierarchy in a single transaction would be too large,
+				 * so the rebuild of the root is split into a change for each of its children.
+				 */
+				entityEffectiveAccessRequirementDao.rebuildEntities(Collections.singletonList(rootId));
+				for (Long childId : entityEffectiveAccessRequirementDao.getChildIds(rootId)) {
+					entityEffectiveAccessRequirementDao.markSubtreeChanged(childId);
+				}
+			} else {
+				entityEffectiveAccessRequirementDao.rebuildSubtree(rootId);
+			}
+		}
+		entityEffectiveAccessRequirementDao.completeChanges(
+				changes.stream().map(DBOEntityEffectiveAccessRequirementChange::getId).collect(Collectors.toList()));
+		return changes.size();
+	}
+
+	@Override
+	public Set<Long> reconcile(long pageSize) {
+		ValidateArgument.requirement(pageSize > 0, "pageSize must be greater than zero");
+		// The closure is expected to differ from the hierarchy until the pending changes are processed.
+		if (!entityEffectiveAccessRequirementDao.isClosureCurrent()) {
+			return Collections.emptySet();
+		}
+		List<Long> entityIds = entityEffectiveAccessRequirementDao.getEntityIdsAfter(lastReconciledId.get(), pageSize);
+		if (entityIds.isEmpty()) {
+			// start over from the first entity
+			lastReconciledId.set(0L);
+			return Collections.emptySet();
+		}
+		Set<Long> inconsistent = entityEffectiveAccessRequirementDao.getInconsistentEntityIds(entityIds);
+		for (Long entityId : inconsistent) {
+			LOG.warn("The effective access requirements of entity: {} did not match its hierarchy and will be rebuilt.",
+					entityId);
+			entityEffectiveAccessRequirementDao.markSubtreeChanged(entityId);
+		}
+		lastReconciledId.set(entityIds.get(entityIds.size() - 1));
+		return inconsistent;
+	}
+
+}
@@ -10,6 +10,8 @@ import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.discussion.CreateDiscussionThread;
 import org.sagebionetworks.repo.model.discussion.DiscussionFilter;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListRequest;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
 import org.sagebionetworks.repo.model.discussion.EntityThreadCounts;
 import org.sagebionetworks.repo.model.discussion.MessageURL;
@@ -89,6 +91,17 @@ public interface DiscussionThreadManager {
 	 */
 	public PaginatedResults<DiscussionThreadBundle> getThreadsForForum(UserInfo userInfo, String forumId, Long limit, Long offset, DiscussionThreadOrder order, Boolean ascending, DiscussionFilter filter);
 
+	/**
+	 * Get a page of threads that belongs to forumId, the next page is requested
+	 * with the nextPageToken of the previous response.
+	 * 
+	 * @param userInfo
+	 * @param forumId
+	 * @param request
+	 * @return
+	 */
+	public DiscussionThreadListResponse getThreadPageForForum(UserInfo userInfo, String forumId, DiscussionThreadListRequest request);
+
 	/**
 	 * Get number of threads a forum has
 	 * 
@@ -147,6 +160,18 @@ public interface DiscussionThreadManager {
 	public PaginatedResults<DiscussionThreadBundle> getThreadsForEntity(UserInfo user, String entityId, Long limit,
 			Long offset, DiscussionThreadOrder order, Boolean ascending);
 
+	/**
+	 * Get a page of threads that belongs to projects user can view and references
+	 * the given entity, the next page is requested with the nextPageToken of the
+	 * previous response.
+	 * 
+	 * @param user
+	 * @param entityId
+	 * @param request
+	 * @return
+	 */
+	public DiscussionThreadListResponse getThreadPageForEntity(UserInfo user, String entityId, DiscussionThreadListRequest request);
+
 	/**
 	 * Get list of entity and count pairs, with count is the number of threads
 	 *  that belongs to projects user can view and references the given entity.
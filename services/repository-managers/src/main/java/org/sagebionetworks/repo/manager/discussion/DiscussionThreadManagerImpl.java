@@ -24,11 +24,14 @@ import org.sagebionetworks.repo.model.UploadContentToS3DAO;
 import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.dao.subscription.SubscriptionDAO;
 import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionThreadDAO;
+import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionThreadPageToken;
 import org.sagebionetworks.repo.model.dbo.dao.discussion.ForumDAO;
 import org.sagebionetworks.repo.model.discussion.CreateDiscussionThread;
 import org.sagebionetworks.repo.model.discussion.DiscussionFilter;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadEntityReference;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListRequest;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
 import org.sagebionetworks.repo.model.discussion.EntityThreadCounts;
 import org.sagebionetworks.repo.model.discussion.MessageURL;
@@ -51,6 +54,8 @@ public class DiscussionThreadManagerImpl implements DiscussionThreadManager {
 	public static final String THREAD_DOES_NOT_EXIST = "Thread: '%s' does not exist";
 	private static final long DEFAULT_OFFSET = 0L;
 	private static final DiscussionFilter DEFAULT_FILTER = DiscussionFilter.NO_FILTER;
+	private static final DiscussionThreadOrder DEFAULT_PAGE_ORDER = DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY;
+	private static final DiscussionFilter DEFAULT_PAGE_FILTER = DiscussionFilter.EXCLUDE_DELETED;
 	public static final int MAX_TITLE_LENGTH = 140;
 	public static final long MAX_LIMIT = 20L;
 	@Autowired
@@ -71,6 +76,8 @@ public class DiscussionThreadManagerImpl implements DiscussionThreadManager {
 	private AccessControlListDAO aclDao;
 	@Autowired
 	private GroupMembersDAO groupMembersDao;
+	@Autowired
+	private DiscussionThreadViewBuffer threadViewBuffer;
 
 	@WriteTransaction
 	@Override
@@ -105,7 +112,6 @@ public class DiscussionThreadManagerImpl implements DiscussionThreadManager {
 		return thread;
 	}
 
-	@WriteTransaction
 	@Override
 	public DiscussionThreadBundle getThread(UserInfo userInfo, String threadId) {
 		ValidateArgument.required(threadId, "threadId");
@@ -121,16 +127,8 @@ public class DiscussionThreadManagerImpl implements DiscussionThreadManager {
 		} else {
 			authorizationManager.canAccess(userInfo, thread.getProjectId(), ObjectType.ENTITY, ACCESS_TYPE.READ).checkAuthorizationOrElseThrow();
 		}
-		threadDao.updateThreadView(threadIdLong, userInfo.getId());
-		
-		// An additional message is sent to re-compute the statistics about the thread
-		MessageToSend changeMessage = new MessageToSend()
-			.withUserId(userInfo.getId())
-			.withObjectType(ObjectType.THREAD_VIEW)
-			.withObjectId(threadId)
-			.withChangeType(ChangeType.UPDATE);
-				
-		transactionalMessenger.sendMessageAfterCommit(changeMessage);
+		// The view is written in a batch with the number of views of the thread
+		threadViewBuffer.recordView(threadIdLong, userInfo.getId());
 		
 		return thread;
 	}
@@ -260,12 +258,53 @@ public class DiscussionThreadManagerImpl implements DiscussionThreadManager {
 		return PaginatedResults.createWithLimitAndOffset(results, limit, offset);
 	}
 
+	@Override
+	public DiscussionThreadListResponse getThreadPageForForum(UserInfo userInfo, String forumId,
+			DiscussionThreadListRequest request) {
+		ValidateArgument.required(forumId, "forumId");
+		ValidateArgument.required(request, "request");
+		UserInfo.validateUserInfo(userInfo);
+		DiscussionFilter filter = request.getFilter() == null ? DEFAULT_PAGE_FILTER : request.getFilter();
+		DiscussionThreadOrder order = request.getSort() == null ? DEFAULT_PAGE_ORDER : request.getSort();
+		boolean ascending = Boolean.TRUE.equals(request.getAscending());
+		long limit = getPageLimit(request);
+		DiscussionThreadPageToken after = getPageToken(request);
+		String projectId = forumDao.getForum(Long.parseLong(forumId)).getProjectId();
+		if (filter.equals(DiscussionFilter.EXCLUDE_DELETED)) {
+			authorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.READ).checkAuthorizationOrElseThrow();
+		} else {
+			authorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.MODERATE).checkAuthorizationOrElseThrow();
+		}
+		List<DiscussionThreadBundle> results = threadDao.getThreadPageForForum(Long.parseLong(forumId), order, ascending,
+				filter, after, limit + 1);
+		return createPage(order, ascending, results, limit);
+	}
+
+	static long getPageLimit(DiscussionThreadListRequest request) {
+		long limit = request.getLimit() == null ? MAX_LIMIT : request.getLimit();
+		ValidateArgument.requirement(limit > 0 && limit <= MAX_LIMIT,
+				"Limit must be greater than 0, and limit must be smaller than or equal to "+MAX_LIMIT);
+		return limit;
+	}
+
+	static DiscussionThreadPageToken getPageToken(DiscussionThreadListRequest request) {
+		return request.getNextPageToken() == null ? null : DiscussionThreadPageToken.parse(request.getNextPageToken());
+	}
+
+	static DiscussionThreadListResponse createPage(DiscussionThreadOrder order, boolean ascending,
+			List<DiscussionThreadBundle> results, long limit) {
+		DiscussionThreadListResponse response = new DiscussionThreadListResponse();
+		response.setNextPageToken(DiscussionThreadPageToken.getNextPageTokenForCurrentResults(order, ascending, results, limit));
+		response.setPage(results);
+		return response;
+	}
+
 	@Override
 	public MessageURL getMessageUrl(UserInfo userInfo, String messageKey) {
 		ValidateArgument.required(messageKey, "messageKey");
 		String threadId = MessageKeyUtils.getThreadId(messageKey);
 		checkPermission(userInfo, threadId, ACCESS_TYPE.READ);
-		threadDao.updateThreadView(Long.parseLong(threadId), userInfo.getId());
+		threadViewBuffer.recordView(Long.parseLong(threadId), userInfo.getId());
 		return uploadDao.getThreadUrl(messageKey);
 	}
 
@@ -301,6 +340,26 @@ public class DiscussionThreadManagerImpl implements DiscussionThreadManager {
 		return PaginatedResults.createWithLimitAndOffset(results, limit, offset);
 	}
 
+	@Override
+	public DiscussionThreadListResponse getThreadPageForEntity(UserInfo userInfo, String entityId,
+			DiscussionThreadListRequest request) {
+		ValidateArgument.required(entityId, "entityId");
+		ValidateArgument.required(request, "request");
+		UserInfo.validateUserInfo(userInfo);
+		ValidateArgument.requirement(request.getFilter() == null || DiscussionFilter.EXCLUDE_DELETED.equals(request.getFilter()),
+				"Only "+DiscussionFilter.EXCLUDE_DELETED+" is supported for the threads that reference an entity.");
+		DiscussionThreadOrder order = request.getSort() == null ? DEFAULT_PAGE_ORDER : request.getSort();
+		boolean ascending = Boolean.TRUE.equals(request.getAscending());
+		long limit = getPageLimit(request);
+		DiscussionThreadPageToken after = getPageToken(request);
+		Long entityIdLong = KeyFactory.stringToKey(entityId);
+		Set<Long> projectIds = threadDao.getDistinctProjectIdsOfThreadsReferencesEntityIds(Arrays.asList(entityIdLong));
+		projectIds = aclDao.getAccessibleBenefactors(userInfo.getGroups(), projectIds, ObjectType.ENTITY, ACCESS_TYPE.READ);
+		List<DiscussionThreadBundle> results = threadDao.getThreadPageForEntity(entityIdLong, order, ascending,
+				DiscussionFilter.EXCLUDE_DELETED, projectIds, after, limit + 1);
+		return createPage(order, ascending, results, limit);
+	}
+
 	@Override
 	public EntityThreadCounts getEntityThreadCounts(UserInfo userInfo, EntityIdList entityIdList) {
 		UserInfo.validateUserInfo(userInfo);
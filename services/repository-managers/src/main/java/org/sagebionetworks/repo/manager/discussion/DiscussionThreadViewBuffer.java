@@ -0,0 +1,25 @@
+package org.sagebionetworks.repo.manager.discussion;
+
+/**
+ * Collects the views of discussion threads in memory so they can be written to
+ * the database in periodic batches rather than on every read of a thread.
+ *
+ */
+public interface DiscussionThreadViewBuffer {
+
+	/**
+	 * Record that the given user viewed the given thread. The view is written to
+	 * the database on the next {@link #flush()}.
+	 * 
+	 * @param threadId
+	 * @param userId
+	 */
+	void recordView(long threadId, long userId);
+
+	/**
+	 * Write all of the buffered views to the database and update the number of
+	 * views of each thread. Called when the timer is fired.
+	 */
+	void flush();
+
+}
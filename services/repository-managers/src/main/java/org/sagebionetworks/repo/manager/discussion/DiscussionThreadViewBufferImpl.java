@@ -0,0 +1,82 @@
+package org.sagebionetworks.repo.manager.discussion;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionThreadDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class DiscussionThreadViewBufferImpl implements DiscussionThreadViewBuffer {
+
+	private static final Logger LOG = LogManager.getLogger(DiscussionThreadViewBufferImpl.class);
+
+	private final DiscussionThreadDAO threadDao;
+
+	/*
+	 * Views are recorded concurrently by the request threads while holding the
+	 * read lock. A flush swaps the buffer while holding the write lock so no view
+	 * is added to a buffer that is already being written.
+	 */
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private Map<Long, Set<Long>> threadIdToUserIds = new ConcurrentHashMap<>();
+
+	@Autowired
+	public DiscussionThreadViewBufferImpl(DiscussionThreadDAO threadDao) {
+		this.threadDao = threadDao;
+	}
+
+	@Override
+	public void recordView(long threadId, long userId) {
+		lock.readLock().lock();
+		try {
+			threadIdToUserIds.computeIfAbsent(threadId, (id) -> ConcurrentHashMap.newKeySet()).add(userId);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public synchronized void flush() {
+		Map<Long, Set<Long>> batch;
+		lock.writeLock().lock();
+		try {
+			if (threadIdToUserIds.isEmpty()) {
+				return;
+			}
+			batch = threadIdToUserIds;
+			threadIdToUserIds = new ConcurrentHashMap<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		try {
+			threadDao.addThreadViews(batch);
+		} catch (Exception e) {
+			// Views are only used for statistics so a failed batch is dropped rather than retried.
+			LOG.error("Failed to write a batch of views for " + batch.size() + " threads", e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	/**
+	 * The number of threads with views that have not been written yet.
+	 * 
+	 * @return
+	 */
+	int getBufferedThreadCount() {
+		return threadIdToUserIds.size();
+	}
+}
@@ -1,6 +1,7 @@
 package org.sagebionetworks.repo.manager.download;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.sagebionetworks.common.util.progress.ProgressCallback;
 import org.sagebionetworks.repo.model.UserInfo;
@@ -16,6 +17,7 @@ import org.sagebionetworks.repo.model.download.DownloadListQueryRequest;
 import org.sagebionetworks.repo.model.download.DownloadListQueryResponse;
 import org.sagebionetworks.repo.model.download.RemoveBatchOfFilesFromDownloadListRequest;
 import org.sagebionetworks.repo.model.download.RemoveBatchOfFilesFromDownloadListResponse;
+import org.sagebionetworks.repo.model.message.ChangeMessage;
 
 public interface DownloadListManager {
 
@@ -90,4 +92,14 @@ public interface DownloadListManager {
 	DownloadListManifestResponse createManifest(ProgressCallback progressCallback, UserInfo userInfo,
 			DownloadListManifestRequest requestBody) throws IOException;
 
+	/**
+	 * Invalidate the stored availability of the files on the users' download lists
+	 * that are affected by the given entity, ACL, access approval or access
+	 * requirement changes. The availability of the invalidated files is checked
+	 * again the next time the download list is read.
+	 * 
+	 * @param messages
+	 */
+	void invalidateAvailability(List<ChangeMessage> messages);
+
 }
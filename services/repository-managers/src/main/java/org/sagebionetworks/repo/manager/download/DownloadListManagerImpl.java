@@ -7,10 +7,12 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,6 +33,7 @@ import org.sagebionetworks.repo.model.EntityRef;
 import org.sagebionetworks.repo.model.EntityType;
 import org.sagebionetworks.repo.model.NextPageToken;
 import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.ObjectType;
 import org.sagebionetworks.repo.model.UnauthorizedException;
 import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.dbo.file.download.v2.DownloadListDAO;
@@ -68,6 +71,7 @@ import org.sagebionetworks.repo.model.file.FileHandleAssociateType;
 import org.sagebionetworks.repo.model.file.FileHandleAssociation;
 import org.sagebionetworks.repo.model.file.ZipFileFormat;
 import org.sagebionetworks.repo.model.jdo.KeyFactory;
+import org.sagebionetworks.repo.model.message.ChangeMessage;
 import org.sagebionetworks.repo.model.table.CsvTableDescriptor;
 import org.sagebionetworks.repo.model.table.Query;
 import org.sagebionetworks.repo.model.table.QueryOptions;
@@ -245,7 +249,7 @@ public class DownloadListManagerImpl implements DownloadListManager {
 
 		NextPageToken pageToken = new NextPageToken(availableRequest.getNextPageToken());
 
-		List<DownloadListItemResult> page = downloadListDao.getFilesAvailableToDownloadFromDownloadList(
+		List<DownloadListItemResult> page = downloadListDao.getMaterializedFilesAvailableToDownloadFromDownloadList(
 				createAccessCallback(userInfo), userInfo.getId(), availableRequest.getFilter(), sort,
 				pageToken.getLimitForQuery(), pageToken.getOffset());
 
@@ -708,5 +712,19 @@ public class DownloadListManagerImpl implements DownloadListManager {
 			writer.writeNext(row);
 		}
 	}
+
+	@Override
+	public void invalidateAvailability(List<ChangeMessage> messages) {
+		ValidateArgument.required(messages, "messages");
+		Map<ObjectType, Set<Long>> idsByType = messages.stream()
+				.filter(m -> m.getObjectType() != null && m.getObjectId() != null)
+				.collect(Collectors.groupingBy(ChangeMessage::getObjectType,
+						Collectors.mapping(m -> KeyFactory.stringToKey(m.getObjectId()), Collectors.toSet())));
+		downloadListDao.invalidateAvailabilityOfEntities(idsByType.getOrDefault(ObjectType.ENTITY, Collections.emptySet()));
+		downloadListDao.invalidateAvailabilityOfContainers(idsByType.getOrDefault(ObjectType.ENTITY_CONTAINER, Collections.emptySet()));
+		downloadListDao.invalidateAvailabilityOfAcls(idsByType.getOrDefault(ObjectType.ACCESS_CONTROL_LIST, Collections.emptySet()));
+		downloadListDao.invalidateAvailabilityOfAccessApprovals(idsByType.getOrDefault(ObjectType.ACCESS_APPROVAL, Collections.emptySet()));
+		downloadListDao.invalidateAvailabilityOfAccessRequirements(idsByType.getOrDefault(ObjectType.ACCESS_REQUIREMENT, Collections.emptySet()));
+	}
 	
 }
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +40,7 @@ import org.sagebionetworks.cloudwatch.Consumer;
 import org.sagebionetworks.cloudwatch.ProfileData;
 import org.sagebionetworks.downloadtools.FileUtils;
 import org.sagebionetworks.googlecloud.SynapseGoogleCloudStorageClient;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.manager.AuthorizationManager;
 import org.sagebionetworks.repo.manager.KeyPairUtil;
@@ -198,7 +199,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 	private NodeManager nodeManager;
 
 	@Autowired
-	private IdGenerator idGenerator;
+	private IdBlockAllocator idBlockAllocator;
 
 	@Autowired
 	private TransferManager transferManager;
@@ -618,7 +619,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 
 		// set this user as the creator of the file
 		fileHandle.setCreatedBy(getUserId(userInfo));
-		fileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		fileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		fileHandle.setEtag(UUID.randomUUID().toString());
 		// Save the file metadata to the DB.
 		return (ExternalFileHandle) fileHandleDao.createFile(fileHandle);
@@ -663,7 +664,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		fileHandle.setCreatedBy(getUserId(userInfo));
 		fileHandle.setCreatedOn(new Date());
 		fileHandle.setEtag(UUID.randomUUID().toString());
-		fileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		fileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		// Save the file metadata to the DB.
 		return (ExternalObjectStoreFileHandle) fileHandleDao.createFile(fileHandle);
 	}
@@ -778,7 +779,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 			meta = this.s3Client.getObjectMetadata(results.getBucketName(), results.getKey());
 			handle.setContentSize(meta.getContentLength());
 
-			handle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+			handle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 			// Save the file handle
 			handle = (S3FileHandle) fileHandleDao.createFile(handle);
 			// done
@@ -1021,7 +1022,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		handle.setFileName(fileName);
 		handle.setCreatedBy(createdBy);
 		handle.setCreatedOn(modifiedOn);
-		handle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		handle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		handle.setEtag(UUID.randomUUID().toString());
 		return (S3FileHandle) fileHandleDao.createFile(handle);
 	}
@@ -1117,7 +1118,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		fileHandle.setCreatedBy(getUserId(userInfo));
 		fileHandle.setCreatedOn(new Date());
 		fileHandle.setEtag(UUID.randomUUID().toString());
-		fileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		fileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		// Save the file metadata to the DB.
 		return (S3FileHandle) fileHandleDao.createFile(fileHandle);
 	}
@@ -1187,7 +1188,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		fileHandle.setCreatedBy(getUserId(userInfo));
 		fileHandle.setCreatedOn(new Date());
 		fileHandle.setEtag(UUID.randomUUID().toString());
-		fileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		fileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		// Save the file metadata to the DB.
 		return (GoogleCloudFileHandle) fileHandleDao.createFile(fileHandle);
 	}
@@ -1231,7 +1232,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		proxyFileHandle.setCreatedBy(getUserId(userInfo));
 		proxyFileHandle.setCreatedOn(new Date());
 		proxyFileHandle.setEtag(UUID.randomUUID().toString());
-		proxyFileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		proxyFileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		// Save the file metadata to the DB.
 		return (ProxyFileHandle) fileHandleDao.createFile(proxyFileHandle);
 	}
@@ -1282,7 +1283,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		if (needsNewPreview) {
 			newS3FileHandle.setPreviewId(null);
 		}
-		newS3FileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		newS3FileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		newS3FileHandle.setEtag(UUID.randomUUID().toString());
 		// Save the file metadata to the DB.
 		return (S3FileHandle) fileHandleDao.createFile(newS3FileHandle);
@@ -1432,21 +1433,28 @@ public class FileHandleManagerImpl implements FileHandleManager {
 		// lookup the file handles.
 		Map<String, FileHandle> fileHandles = fileHandleDao.getAllFileHandlesBatch(fileHandleIdsToFetch);
 
+		List<FileHandleCopyResult> toCopy = new ArrayList<FileHandleCopyResult>();
 		for(FileHandleCopyResult fhcr: copyResults){
 			if(fhcr.getFailureCode() == null){
-				FileHandle original = fileHandles.get(fhcr.getOriginalFileHandleId());
-				if(original == null){
+				if(fileHandles.get(fhcr.getOriginalFileHandleId()) == null){
 					fhcr.setFailureCode(FileResultFailureCode.NOT_FOUND);
 				}else{
-					FileHandle newFileHandle = FileHandleCopyUtils.createCopy(userId, original, map.get(fhcr.getOriginalFileHandleId()), idGenerator.generateNewId(IdType.FILE_IDS).toString());
-					toCreate.add(newFileHandle);
-					fhcr.setNewFileHandle(newFileHandle);
+					toCopy.add(fhcr);
 				}
 			}
 		}
-		if (!toCreate.isEmpty()) {
-			fileHandleDao.createBatch(toCreate);
+		if (toCopy.isEmpty()) {
+			return result;
+		}
+		// Issue the IDs of all the copies at once
+		Iterator<Long> newIds = idBlockAllocator.nextIds(IdType.FILE_IDS, toCopy.size()).iterator();
+		for(FileHandleCopyResult fhcr: toCopy){
+			FileHandle original = fileHandles.get(fhcr.getOriginalFileHandleId());
+			FileHandle newFileHandle = FileHandleCopyUtils.createCopy(userId, original, map.get(fhcr.getOriginalFileHandleId()), newIds.next().toString());
+			toCreate.add(newFileHandle);
+			fhcr.setNewFileHandle(newFileHandle);
 		}
+		fileHandleDao.createBatch(toCreate);
 
 		return result;
 	}
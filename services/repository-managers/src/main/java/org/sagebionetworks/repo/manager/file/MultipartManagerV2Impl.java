@@ -8,7 +8,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.manager.feature.FeatureManager;
 import org.sagebionetworks.repo.manager.file.multipart.FileHandleCreateRequest;
@@ -67,7 +67,7 @@ public class MultipartManagerV2Impl implements MultipartManagerV2 {
 	private StorageLocationDAO storageLocationDao;
 
 	@Autowired
-	private IdGenerator idGenerator;
+	private IdBlockAllocator idBlockAllocator;
 	
 	@Autowired
 	private CloudServiceMultipartUploadDAOProvider cloudDaoProvider;
@@ -505,7 +505,7 @@ public class MultipartManagerV2Impl implements MultipartManagerV2 {
 		fileHandle.setContentMd5(request.getContentMD5());
 		fileHandle.setStorageLocationId(request.getStorageLocationId());
 		fileHandle.setContentSize(fileSize);
-		fileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		fileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		
 		// By default a preview should be created.
 		if(request.getGeneratePreview() != null && !request.getGeneratePreview()){
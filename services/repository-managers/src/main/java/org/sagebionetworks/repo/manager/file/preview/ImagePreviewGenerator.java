@@ -34,9 +34,25 @@ public class ImagePreviewGenerator implements PreviewGenerator {
 	public static final String IMAGE_PNG = "image/png";
 
 	/**
-	 * The maximum image size is 1001 x 1001 pixels.
+	 * The maximum image size is 1001 x 1001 pixels when the image is loaded at
+	 * full resolution.
 	 */
 	public static final long MAX_IMAGE_SIZE = 1000 * 1000;
+	/**
+	 * The maximum size of an image that will be subsampled to generate a preview
+	 * (16000 x 16000 pixels).
+	 */
+	public static final long MAX_SOURCE_IMAGE_SIZE = 16_000L * 16_000L;
+	/**
+	 * A subsampled image is less than twice the preview size in each dimension,
+	 * so it holds at most four times the pixels of the preview.
+	 */
+	public static final long MAX_SUBSAMPLED_PIXELS_PER_PREVIEW_PIXEL = 4;
+	/**
+	 * A decoded pixel uses up to 8 bytes (16 bits RGBA) and the resize can make
+	 * another 4 bytes per pixel copy of the image.
+	 */
+	public static final long MAX_BYTES_PER_SUBSAMPLED_PIXEL = 12;
 	/**
 	 * The supported content types for this generator, and the memory multipler that
 	 * should be used.
@@ -59,9 +75,12 @@ public class ImagePreviewGenerator implements PreviewGenerator {
 	public PreviewOutputMetadata generatePreview(InputStream from, OutputStream to) throws IOException {
 		// Determine the size of the image
 		// First load the image
+		int maxWidthPixels = StackConfigurationSingleton.singleton().getMaximumPreviewWidthPixels();
+		int maxHeightPixels = StackConfigurationSingleton.singleton().getMaximumPreviewHeightPixels();
 		BufferedImage image;
 		try {
-			image = loadImageWithSizeCheck(from, MAX_IMAGE_SIZE);
+			// Decode the image close to the preview size rather than at full resolution
+			image = loadSubsampledImage(from, MAX_SOURCE_IMAGE_SIZE, maxWidthPixels, maxHeightPixels);
 		}catch (ArrayIndexOutOfBoundsException e){
 			throw new PreviewGenerationNotSupportedException("Improperly formatted image", e);
 		}
@@ -70,8 +89,6 @@ public class ImagePreviewGenerator implements PreviewGenerator {
 			throw new PreviewGenerationNotSupportedException("The passed input stream was not an image");
 		}
 		// Let image scalar do the heavy lifting!
-		int maxWidthPixels = StackConfigurationSingleton.singleton().getMaximumPreviewWidthPixels();
-		int maxHeightPixels = StackConfigurationSingleton.singleton().getMaximumPreviewHeightPixels();
 		// only resize if original image is bigger than our preview max size
 		int height = image.getHeight();
 		int width = image.getWidth();
@@ -114,7 +131,42 @@ public class ImagePreviewGenerator implements PreviewGenerator {
 	public long calculateNeededMemoryBytesForPreview(String mimeType, long contentSize) {
 		double multiplier = SUPPORTED_CONTENT_TYPES.get(mimeType);
 		long memoryNeededBytes = (long) Math.ceil((((double) contentSize) * multiplier));
-		return memoryNeededBytes;
+		// Since the image is subsampled while it is decoded, the memory needed is bounded by the preview size.
+		int maxWidthPixels = StackConfigurationSingleton.singleton().getMaximumPreviewWidthPixels();
+		int maxHeightPixels = StackConfigurationSingleton.singleton().getMaximumPreviewHeightPixels();
+		return Math.min(memoryNeededBytes, calculateMaxSubsampledMemoryBytes(maxWidthPixels, maxHeightPixels));
+	}
+	
+	/**
+	 * The maximum memory needed to generate a preview of the given size from a
+	 * subsampled image, regardless of the size of the original image.
+	 * 
+	 * @param maxWidthPixels
+	 * @param maxHeightPixels
+	 * @return
+	 */
+	static long calculateMaxSubsampledMemoryBytes(int maxWidthPixels, int maxHeightPixels) {
+		float fudgeFactor = 1.2f;
+		long previewPixels = (long) maxWidthPixels * maxHeightPixels;
+		return (long) Math.ceil(previewPixels * MAX_SUBSAMPLED_PIXELS_PER_PREVIEW_PIXEL * MAX_BYTES_PER_SUBSAMPLED_PIXEL * fudgeFactor);
+	}
+	
+	/**
+	 * Calculate the largest subsampling factor that keeps the image at least as
+	 * large as the preview, so that the final resize still has enough pixels to
+	 * work with.
+	 * 
+	 * @param width           The width of the original image.
+	 * @param height          The height of the original image.
+	 * @param maxWidthPixels  The maximum width of the preview.
+	 * @param maxHeightPixels The maximum height of the preview.
+	 * @return The number of source pixels per decoded pixel in each dimension
+	 *         (1 means no subsampling).
+	 */
+	static int calculateSubsampling(long width, long height, int maxWidthPixels, int maxHeightPixels) {
+		// The preview is scaled by the dimension that exceeds its maximum the most.
+		double scale = Math.max((double) width / maxWidthPixels, (double) height / maxHeightPixels);
+		return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.floor(scale)));
 	}
 
 	/**
@@ -131,6 +183,29 @@ public class ImagePreviewGenerator implements PreviewGenerator {
 	 *                                  larger than the provided maxSize.
 	 */
 	public static BufferedImage loadImageWithSizeCheck(InputStream from, long maxSize) throws IOException {
+		return loadSubsampledImage(from, maxSize, Integer.MAX_VALUE, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Load an image from the given input stream as long as the image size
+	 * (width*height) is less than the provided maxSize. Rows and columns of the
+	 * source are skipped while the image is decoded so that the loaded image is
+	 * no more than twice the given preview size in each dimension. The memory
+	 * used is therefore a function of the preview size rather than the size of
+	 * the original image.
+	 * 
+	 * @param from
+	 * @param maxSize         The maximum size (width*height) of the original
+	 *                        image.
+	 * @param maxWidthPixels  The maximum width of the preview.
+	 * @param maxHeightPixels The maximum height of the preview.
+	 * @return BufferedImage
+	 * @throws PreviewGenerationNotSupportedException if the given image size
+	 *                                                (width*height) is larger
+	 *                                                than the provided maxSize.
+	 */
+	public static BufferedImage loadSubsampledImage(InputStream from, long maxSize, int maxWidthPixels,
+			int maxHeightPixels) throws IOException {
 		ImageInputStream stream = ImageIO.createImageInputStream(from);
 		Iterator<ImageReader> iter = ImageIO.getImageReaders(stream);
 		if (!iter.hasNext()) {
@@ -145,6 +220,10 @@ public class ImagePreviewGenerator implements PreviewGenerator {
 		if (imageSize > maxSize) {
 			throw new PreviewGenerationNotSupportedException(IMAGE_EXCEEDS_THE_MAXIMUM_SIZE);
 		}
+		int subsampling = calculateSubsampling(width, height, maxWidthPixels, maxHeightPixels);
+		if (subsampling > 1) {
+			param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+		}
 		BufferedImage image;
 		try {
 			image = reader.read(0, param);
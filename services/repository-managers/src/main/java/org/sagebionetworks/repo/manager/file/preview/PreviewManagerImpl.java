@@ -16,7 +16,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.http.entity.ContentType;
 import org.sagebionetworks.aws.SynapseS3Client;
 import org.sagebionetworks.googlecloud.SynapseGoogleCloudStorageClient;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.manager.file.transfer.TransferUtils;
 import org.sagebionetworks.repo.model.StorageLocationDAO;
@@ -72,7 +72,7 @@ public class PreviewManagerImpl implements  PreviewManager {
 	private FileProvider tempFileProvider;
 
 	@Autowired
-	private IdGenerator idGenerator;
+	private IdBlockAllocator idBlockAllocator;
 	
 	@Autowired
 	private StorageLocationDAO storageLocationDao;
@@ -94,13 +94,13 @@ public class PreviewManagerImpl implements  PreviewManager {
 
 	// For testing
 	PreviewManagerImpl(FileHandleDao fileMetadataDao,
-			SynapseS3Client s3Client, SynapseGoogleCloudStorageClient googleCloudStorageClient, FileProvider tempFileProvider, IdGenerator idGenerator, StorageLocationDAO storageLocationDao, 
+			SynapseS3Client s3Client, SynapseGoogleCloudStorageClient googleCloudStorageClient, FileProvider tempFileProvider, IdBlockAllocator idBlockAllocator, StorageLocationDAO storageLocationDao, 
 			List<PreviewGenerator> generatorList, Long maxPreviewMemory) {
 		this.fileMetadataDao = fileMetadataDao;
 		this.s3Client = s3Client;
 		this.googleCloudStorageClient = googleCloudStorageClient;
 		this.tempFileProvider = tempFileProvider;
-		this.idGenerator = idGenerator;
+		this.idBlockAllocator = idBlockAllocator;
 		this.generatorList = generatorList;
 		this.maxPreviewMemory = maxPreviewMemory;
 		this.storageLocationDao = storageLocationDao;
@@ -331,7 +331,7 @@ public class PreviewManagerImpl implements  PreviewManager {
 	}
 	
 	private CloudProviderFileHandleInterface storePreviewFileHandle(CloudProviderFileHandleInterface previewFileHandle, CloudProviderFileHandleInterface originalFileHandle) {
-		previewFileHandle.setId(idGenerator.generateNewId(IdType.FILE_IDS).toString());
+		previewFileHandle.setId(String.valueOf(idBlockAllocator.nextId(IdType.FILE_IDS)));
 		previewFileHandle.setEtag(UUID.randomUUID().toString());
 		// Save the metadata
 		previewFileHandle = (CloudProviderFileHandleInterface) fileMetadataDao.createFile(previewFileHandle);
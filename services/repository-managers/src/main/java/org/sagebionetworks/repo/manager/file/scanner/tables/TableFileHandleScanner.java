@@ -2,6 +2,7 @@ package org.sagebionetworks.repo.manager.file.scanner.tables;
 
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.apache.commons.collections4.iterators.TransformIterator;
@@ -28,7 +29,8 @@ import com.amazonaws.services.s3.model.AmazonS3Exception;
  * The truth of the data is stored in S3 and the table_row_change table contains the metadata of the changes including the pointer to the object in S3.
  * </p>
  * <p>
- * The scanner will iterate over the changes in a given range of ids and lazily load the actual data (SparseChangeSet) while iterating in order to fetch the file handle ids.
+ * The scanner will iterate over the changes in a given range of ids and read the file handle ids recorded with each change. Only for changes
+ * recorded before the file handle ids were captured the scanner lazily loads the actual data (SparseChangeSet) while iterating in order to fetch the file handle ids.
  * </p>
  * <p>
  * Additionally the scanner will skip changes that do not contain any file handle (the information is stored in the DB)
@@ -69,6 +71,10 @@ public class TableFileHandleScanner implements FileHandleAssociationScanner {
 		
 		ScannedFileHandleAssociation association = new ScannedFileHandleAssociation(tableId);
 		
+		if (changeMetadata.getFileHandleIds() != null) {
+			return association.withFileHandleIds(new LinkedHashSet<>(changeMetadata.getFileHandleIds()));
+		}
+		
 		try {
 			SparseChangeSet changeSet = tableManager.getSparseChangeSet(changeMetadata);
 			
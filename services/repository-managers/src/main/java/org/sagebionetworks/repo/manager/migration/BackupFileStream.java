@@ -16,9 +16,10 @@ public interface BackupFileStream {
 
 	/**
 	 * Stream over all of the data in the given backup file InputStream. The data is
-	 * read from the provided stream, one sub-file at a time. This means each
+	 * read from the provided stream, one sub-file at a time. This means each XML
 	 * sub-file must be small enough to fit in memory. After each sub-file is read,
-	 * all data from that file will be flushed from memory.
+	 * all data from that file will be flushed from memory. Binary sub-files are
+	 * read one row at a time.
 	 * 
 	 * Note: The caller is responsible for closing the passed stream.
 	 * 
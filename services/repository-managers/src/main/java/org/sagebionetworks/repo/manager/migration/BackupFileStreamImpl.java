@@ -9,6 +9,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -39,6 +40,8 @@ public class BackupFileStreamImpl implements BackupFileStream {
 	private static final String INPUT_CONTAINED_NO_DATA = "input contained no data";
 	private static final String DOT = ".";
 	private static final String FILE_NAME_TEMPLATE = "%1$s.%2$d.xml";
+	private static final String BINARY_FILE_NAME_TEMPLATE = "%1$s.%2$d.bin";
+	private static final String BINARY_FILE_SUFFIX = ".bin";
 
 	@Autowired
 	MigrationTypeProvider typeProvider;
@@ -59,7 +62,8 @@ public class BackupFileStreamImpl implements BackupFileStream {
 
 	/**
 	 * This Iterator will read one file at a time from the provided zip file. Note:
-	 * All data for any single file must fit in memory.
+	 * All data for any single XML file must fit in memory. Binary files are read
+	 * one row at a time.
 	 *
 	 */
 	private class InputStreamIterator
@@ -85,7 +89,7 @@ public class BackupFileStreamImpl implements BackupFileStream {
 				}
 			}
 			// read the next file from the zip.
-			this.currentFile = readBatchFromZip(this.zipInputStream, this.backupAliasType).iterator();
+			this.currentFile = readNextFileFromZip(this.zipInputStream, this.backupAliasType);
 			// The current file will be empty at the end of the stream.
 			return this.currentFile.hasNext();
 		}
@@ -136,6 +140,43 @@ public class BackupFileStreamImpl implements BackupFileStream {
 		ValidateArgument.required(type, "MigrationType");
 		return String.format(FILE_NAME_TEMPLATE, type.name(), index);
 	}
+	
+	/**
+	 * Create a FileName for a binary zip entry.
+	 * 
+	 * @param type
+	 * @param index
+	 * @return
+	 */
+	public static String createBinaryFileName(MigrationType type, int index) {
+		ValidateArgument.required(type, "MigrationType");
+		return String.format(BINARY_FILE_NAME_TEMPLATE, type.name(), index);
+	}
+	
+	/**
+	 * Is the given zip entry name a binary file?
+	 * 
+	 * @param name
+	 * @return
+	 */
+	public static boolean isBinaryFileName(String name) {
+		ValidateArgument.required(name, "Name");
+		return name.endsWith(BINARY_FILE_SUFFIX);
+	}
+	
+	/**
+	 * The alias used for XML files. Types that cannot be written as binary are
+	 * written as XML using the migration type name alias.
+	 * 
+	 * @param backupAliasType
+	 * @return
+	 */
+	static BackupAliasType getXmlAliasType(BackupAliasType backupAliasType) {
+		if (BackupAliasType.BINARY == backupAliasType) {
+			return BackupAliasType.MIGRATION_TYPE_NAME;
+		}
+		return backupAliasType;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -197,6 +238,14 @@ public class BackupFileStreamImpl implements BackupFileStream {
 	public<D extends DatabaseObject<D>, B> void writeBatchToZip(ZipOutputStream zos, List<MigratableDatabaseObject<?,?>> currentBatch, int index, MigrationType currentType,
 			BackupAliasType backupAliasType) throws IOException {
 		if(currentType != null && currentBatch != null && !currentBatch.isEmpty()) {
+			if (BackupAliasType.BINARY == backupAliasType) {
+				MigratableDatabaseObject<D, B> mdo = typeProvider.getObjectForType(currentType);
+				if (BinaryBackupCodec.isSupported(mdo.getBackupClass())) {
+					zos.putNextEntry(new ZipEntry(createBinaryFileName(currentType, index)));
+					writeBinaryBatchToStream(currentBatch, mdo, zos);
+					return;
+				}
+			}
 			// Write the current batch as a sub-file to the zip
 			String fileName = createFileName(currentType, index);
 			ZipEntry entry = new ZipEntry(fileName);
@@ -227,48 +276,99 @@ public class BackupFileStreamImpl implements BackupFileStream {
 			backupObjects.add(backupObject);
 		}
 
-		typeProvider.getXStream(backupAliasType).toXML(backupObjects, writer);
+		typeProvider.getXStream(getXmlAliasType(backupAliasType)).toXML(backupObjects, writer);
 		writer.flush();
 	}
+	
+	/**
+	 * Write the given batch of objects to the passed stream using the binary
+	 * encoding.
+	 * 
+	 * @param currentBatch
+	 * @param mdo
+	 * @param out
+	 * @throws IOException
+	 */
+	<D extends DatabaseObject<D>, B> void writeBinaryBatchToStream(List<MigratableDatabaseObject<?, ?>> currentBatch,
+			MigratableDatabaseObject<D, B> mdo, OutputStream out) throws IOException {
+		MigratableTableTranslation<D, B> translator = mdo.getTranslator();
+		// Each row is translated as it is written.
+		Iterable<B> backupObjects = () -> currentBatch.stream()
+				.map(row -> translator.createBackupFromDatabaseObject((D) row)).iterator();
+		BinaryBackupCodec.writeRows(mdo.getBackupClass(), backupObjects, out);
+	}
 
 	/**
-	 * Read a batch of rows from the ZipInputStream.  If an empty list is returned then there is no
+	 * Read the next file from the ZipInputStream.  If an empty iterator is returned then there is no
 	 * more data within the zip.
 	 * @param zipStream
 	 * @param backupAliasType
-	 * @return Will return the contents of the next file in the zip.  An empty list will be returned if 
+	 * @return Will iterate over the contents of the next file in the zip.  An empty iterator will be returned if 
 	 * no more data could be read from the stream.
 	 */
-	public <D extends DatabaseObject<D>, B> List<MigratableDatabaseObject<?,?>> readBatchFromZip(ZipInputStream zipStream, BackupAliasType backupAliasType) {
+	public Iterator<MigratableDatabaseObject<?,?>> readNextFileFromZip(ZipInputStream zipStream, BackupAliasType backupAliasType) {
 		try {
 			// Keep reading files until new data is found.
 			ZipEntry entry;
 			while((entry = zipStream.getNextEntry()) != null) {
 				try {
 					// Read the zip entry.
-					return readFileFromStream(zipStream, backupAliasType, entry.getName());
+					Iterator<MigratableDatabaseObject<?,?>> rows;
+					if (isBinaryFileName(entry.getName())) {
+						rows = readBinaryFileFromStream(zipStream, entry.getName());
+					} else {
+						rows = readFileFromStream(zipStream, getXmlAliasType(backupAliasType), entry.getName()).iterator();
+					}
+					if (rows.hasNext()) {
+						return rows;
+					}
 				} catch (EmptyFileException e) {
 					// This file is empty so move to the next file...
 					continue;
 				}
 			}
 			// No new data was found in the zip
-			return new LinkedList<>();
+			return Collections.emptyIterator();
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}		
 	}
 	
 	/**
-	 * Read all of the data from a single file.
+	 * Read the rows of a single binary file as they are requested.
 	 * @param input
-	 * @param backupAliasType
 	 * @param fileName
 	 * @return
-	 * @throws EmptyFileException if the given file contains no data.
+	 * @throws EmptyFileException if the type of the given file no longer exists.
+	 * @throws IOException
 	 */
-	<D extends DatabaseObject<D>, B> List<MigratableDatabaseObject<?, ?>> readFileFromStream(InputStream input,
-			BackupAliasType backupAliasType, String fileName) throws EmptyFileException {
+	<D extends DatabaseObject<D>, B> Iterator<MigratableDatabaseObject<?, ?>> readBinaryFileFromStream(InputStream input,
+			String fileName) throws EmptyFileException, IOException {
+		MigratableDatabaseObject<D, B> mdo = lookupObjectForFile(fileName);
+		MigratableTableTranslation<D, B> translator = mdo.getTranslator();
+		Iterator<? extends B> backupObjects = BinaryBackupCodec.readRows(mdo.getBackupClass(), input);
+		return new Iterator<MigratableDatabaseObject<?, ?>>() {
+
+			@Override
+			public boolean hasNext() {
+				return backupObjects.hasNext();
+			}
+
+			@Override
+			public MigratableDatabaseObject<?, ?> next() {
+				// Translate each row as it is read.
+				return (MigratableDatabaseObject<?, ?>) translator.createDatabaseObjectFromBackup(backupObjects.next());
+			}
+		};
+	}
+	
+	/**
+	 * Lookup the object for the type of the given file.
+	 * @param fileName
+	 * @return
+	 * @throws EmptyFileException if the type of the given file no longer exists.
+	 */
+	<D extends DatabaseObject<D>, B> MigratableDatabaseObject<D, B> lookupObjectForFile(String fileName) throws EmptyFileException {
 		MigrationType type;
 		try {
 			type = getTypeFromFileName(fileName);
@@ -277,8 +377,21 @@ public class BackupFileStreamImpl implements BackupFileStream {
 			log.warn("Migration type cannot be found so it will be ignored: "+e.getMessage());
 			throw new EmptyFileException();
 		}
+		return typeProvider.getObjectForType(type);
+	}
+	
+	/**
+	 * Read all of the data from a single file.
+	 * @param input
+	 * @param backupAliasType
+	 * @param fileName
+	 * @return
+	 * @throws EmptyFileException if the given file contains no data.
+	 */
+	<D extends DatabaseObject<D>, B> List<MigratableDatabaseObject<?, ?>> readFileFromStream(InputStream input,
+			BackupAliasType backupAliasType, String fileName) throws EmptyFileException {
 		// Lookup the object for the type.
-		MigratableDatabaseObject<D, B> mdo = typeProvider.getObjectForType(type);
+		MigratableDatabaseObject<D, B> mdo = lookupObjectForFile(fileName);
 		MigratableTableTranslation<D, B> translator = mdo.getTranslator();
 
 		List<B> backupObjects;
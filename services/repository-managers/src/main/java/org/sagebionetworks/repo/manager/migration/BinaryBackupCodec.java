@@ -0,0 +1,527 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compact, row-oriented binary encoding for the backup objects of a single
+ * migration type. This is an alternative to the XStream XML encoding of the
+ * same objects.
+ * <p>
+ * The encoding is derived from the same fields that XStream serializes: the
+ * non-static, non-transient fields of the backup class and its super classes.
+ * Each file starts with a header that names each field and its value type,
+ * followed by one record per row. Since the header is written with the data, a
+ * file can be read by a class with a different set of fields: fields that no
+ * longer exist are skipped and new fields keep their default values.
+ * <p>
+ * Rows are decoded one at a time, so a file of any size can be read with
+ * bounded memory.
+ *
+ */
+public class BinaryBackupCodec {
+
+	/**
+	 * Marks the start of each binary backup file.
+	 */
+	public static final int MAGIC = 0x53594E42;
+	/**
+	 * The current version of the encoding.
+	 */
+	public static final short VERSION = 1;
+
+	private static final byte END_OF_ROWS = 0;
+	private static final byte ROW = 1;
+	private static final byte NULL_VALUE = 0;
+	private static final byte NON_NULL_VALUE = 1;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final Map<Class<?>, Optional<ClassSchema>> SCHEMAS = new ConcurrentHashMap<>();
+
+	/**
+	 * Can objects of the given class be written with this encoding? Classes with
+	 * a field of a type that cannot be encoded must be written as XML.
+	 *
+	 * @param backupClass
+	 * @return
+	 */
+	public static boolean isSupported(Class<?> backupClass) {
+		return getSchema(backupClass).isPresent();
+	}
+
+	/**
+	 * Write all of the given rows to the passed stream. The stream is flushed but
+	 * not closed.
+	 *
+	 * @param backupClass The class of each row.
+	 * @param rows
+	 * @param out
+	 * @throws IOException
+	 * @throws IllegalArgumentException If the class is not supported.
+	 */
+	public static void writeRows(Class<?> backupClass, Iterable<?> rows, OutputStream out) throws IOException {
+		ClassSchema schema = getSchema(backupClass).orElseThrow(
+				() -> new IllegalArgumentException("Binary backup is not supported for: " + backupClass.getName()));
+		DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+		dataOut.writeInt(MAGIC);
+		dataOut.writeShort(VERSION);
+		dataOut.writeInt(schema.fields.size());
+		for (FieldCodec field : schema.fields) {
+			writeString(dataOut, field.name);
+			dataOut.writeByte(field.type.ordinal());
+		}
+		for (Object row : rows) {
+			dataOut.writeByte(ROW);
+			for (FieldCodec field : schema.fields) {
+				Object value = field.get(row);
+				if (value == null) {
+					dataOut.writeByte(NULL_VALUE);
+				} else {
+					dataOut.writeByte(NON_NULL_VALUE);
+					field.type.write(dataOut, value);
+				}
+			}
+		}
+		dataOut.writeByte(END_OF_ROWS);
+		dataOut.flush();
+	}
+
+	/**
+	 * Read the rows from the passed stream as they are requested. The header is
+	 * read before this method returns. The stream is not closed.
+	 *
+	 * @param backupClass The class of each row.
+	 * @param in
+	 * @return
+	 * @throws IOException
+	 * @throws IllegalArgumentException If the class is not supported.
+	 */
+	public static <B> Iterator<B> readRows(Class<B> backupClass, InputStream in) throws IOException {
+		ClassSchema schema = getSchema(backupClass).orElseThrow(
+				() -> new IllegalArgumentException("Binary backup is not supported for: " + backupClass.getName()));
+		DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+		int magic = dataIn.readInt();
+		if (magic != MAGIC) {
+			throw new IllegalArgumentException("Not a binary backup file");
+		}
+		short version = dataIn.readShort();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported binary backup version: " + version);
+		}
+		int fieldCount = dataIn.readInt();
+		ValueType[] types = new ValueType[fieldCount];
+		FieldCodec[] targets = new FieldCodec[fieldCount];
+		for (int i = 0; i < fieldCount; i++) {
+			String name = readString(dataIn);
+			types[i] = ValueType.values()[dataIn.readByte()];
+			// Fields that were removed from the class are read but ignored.
+			FieldCodec target = schema.byName.get(name);
+			if (target != null && target.type != types[i]) {
+				throw new IllegalArgumentException(String.format("Field: '%s' of: %s was written as: %s but is now: %s",
+						name, backupClass.getName(), types[i], target.type));
+			}
+			targets[i] = target;
+		}
+		return new RowIterator<>(backupClass, schema, dataIn, types, targets);
+	}
+
+	/**
+	 * Lazily reads one row at a time.
+	 */
+	private static class RowIterator<B> implements Iterator<B> {
+
+		private final Class<B> backupClass;
+		private final ClassSchema schema;
+		private final DataInputStream dataIn;
+		private final ValueType[] types;
+		private final FieldCodec[] targets;
+		private Boolean hasNext;
+
+		RowIterator(Class<B> backupClass, ClassSchema schema, DataInputStream dataIn, ValueType[] types,
+				FieldCodec[] targets) {
+			this.backupClass = backupClass;
+			this.schema = schema;
+			this.dataIn = dataIn;
+			this.types = types;
+			this.targets = targets;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (hasNext == null) {
+				try {
+					hasNext = dataIn.readByte() == ROW;
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			return hasNext;
+		}
+
+		@Override
+		public B next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			hasNext = null;
+			try {
+				Object row = schema.newInstance();
+				for (int i = 0; i < types.length; i++) {
+					if (dataIn.readByte() == NULL_VALUE) {
+						if (targets[i] != null && !targets[i].isPrimitive) {
+							targets[i].set(row, null);
+						}
+						continue;
+					}
+					Object value = types[i].read(dataIn, targets[i]);
+					if (targets[i] != null) {
+						targets[i].set(row, value);
+					}
+				}
+				return backupClass.cast(row);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	/**
+	 * Get the cached schema for the given class.
+	 *
+	 * @param backupClass
+	 * @return Empty if the class is not supported.
+	 */
+	static Optional<ClassSchema> getSchema(Class<?> backupClass) {
+		return SCHEMAS.computeIfAbsent(backupClass, BinaryBackupCodec::createSchema);
+	}
+
+	static Optional<ClassSchema> createSchema(Class<?> backupClass) {
+		MethodHandle constructor;
+		try {
+			Constructor<?> noArgs = backupClass.getDeclaredConstructor();
+			noArgs.setAccessible(true);
+			constructor = MethodHandles.lookup().unreflectConstructor(noArgs)
+					.asType(MethodType.methodType(Object.class));
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return Optional.empty();
+		}
+		List<FieldCodec> fields = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		for (Class<?> clazz = backupClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+			Field[] declared = clazz.getDeclaredFields();
+			// Sort by name so the order does not depend on the JVM.
+			Arrays.sort(declared, (one, two) -> one.getName().compareTo(two.getName()));
+			for (Field field : declared) {
+				if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+						|| field.isSynthetic()) {
+					continue;
+				}
+				ValueType type = ValueType.forClass(field.getType());
+				// A field hidden by a sub-class cannot be identified by its name alone.
+				if (type == null || !names.add(field.getName())) {
+					return Optional.empty();
+				}
+				try {
+					field.setAccessible(true);
+					fields.add(new FieldCodec(field, type));
+				} catch (IllegalAccessException | RuntimeException e) {
+					return Optional.empty();
+				}
+			}
+		}
+		return Optional.of(new ClassSchema(constructor, fields));
+	}
+
+	/**
+	 * The fields of a single class.
+	 */
+	static class ClassSchema {
+
+		private final MethodHandle constructor;
+		private final List<FieldCodec> fields;
+		private final Map<String, FieldCodec> byName;
+
+		ClassSchema(MethodHandle constructor, List<FieldCodec> fields) {
+			this.constructor = constructor;
+			this.fields = Collections.unmodifiableList(fields);
+			this.byName = new HashMap<>();
+			for (FieldCodec field : fields) {
+				this.byName.put(field.name, field);
+			}
+		}
+
+		Object newInstance() {
+			try {
+				return constructor.invokeExact();
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		List<FieldCodec> getFields() {
+			return fields;
+		}
+	}
+
+	/**
+	 * Reads and writes a single field.
+	 */
+	static class FieldCodec {
+
+		private final String name;
+		private final ValueType type;
+		private final Class<?> fieldType;
+		private final boolean isPrimitive;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+
+		FieldCodec(Field field, ValueType type) throws IllegalAccessException {
+			this.name = field.getName();
+			this.type = type;
+			this.fieldType = field.getType();
+			this.isPrimitive = field.getType().isPrimitive();
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+			this.setter = lookup.unreflectSetter(field)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		}
+
+		Object get(Object row) {
+			try {
+				return getter.invokeExact(row);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		void set(Object row, Object value) {
+			try {
+				setter.invokeExact(row, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		String getName() {
+			return name;
+		}
+
+		ValueType getType() {
+			return type;
+		}
+
+		Class<?> getFieldType() {
+			return fieldType;
+		}
+	}
+
+	/**
+	 * The types of values that can be encoded. Note: The ordinal of each type is
+	 * written to the header so new types must only be added to the end.
+	 */
+	enum ValueType {
+
+		LONG {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong((Long) value);
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				return in.readLong();
+			}
+		},
+		INTEGER {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeInt((Integer) value);
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				return in.readInt();
+			}
+		},
+		BOOLEAN {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeBoolean((Boolean) value);
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				return in.readBoolean();
+			}
+		},
+		DOUBLE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeDouble((Double) value);
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				return in.readDouble();
+			}
+		},
+		STRING {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				writeString(out, (String) value);
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				return readString(in);
+			}
+		},
+		BYTES {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				byte[] bytes = (byte[]) value;
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				return bytes;
+			}
+		},
+		DATE {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				out.writeLong(((Date) value).getTime());
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				return new Date(in.readLong());
+			}
+		},
+		TIMESTAMP {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				Timestamp timestamp = (Timestamp) value;
+				out.writeLong(timestamp.getTime());
+				out.writeInt(timestamp.getNanos());
+			}
+
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				Timestamp timestamp = new Timestamp(in.readLong());
+				timestamp.setNanos(in.readInt());
+				return timestamp;
+			}
+		},
+		ENUM {
+			@Override
+			void write(DataOutputStream out, Object value) throws IOException {
+				writeString(out, ((Enum<?>) value).name());
+			}
+
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			@Override
+			Object read(DataInputStream in, FieldCodec target) throws IOException {
+				String name = readString(in);
+				return target == null ? null : Enum.valueOf((Class<Enum>) target.fieldType, name);
+			}
+		};
+
+		/**
+		 * Write a non-null value.
+		 *
+		 * @param out
+		 * @param value
+		 * @throws IOException
+		 */
+		abstract void write(DataOutputStream out, Object value) throws IOException;
+
+		/**
+		 * Read a non-null value.
+		 *
+		 * @param in
+		 * @param target The field the value will be assigned to. Null if the field no
+		 *               longer exists.
+		 * @return
+		 * @throws IOException
+		 */
+		abstract Object read(DataInputStream in, FieldCodec target) throws IOException;
+
+		/**
+		 * Lookup the value type for the given field type.
+		 *
+		 * @param fieldType
+		 * @return Null if the type is not supported.
+		 */
+		static ValueType forClass(Class<?> fieldType) {
+			if (fieldType == Long.class || fieldType == long.class) {
+				return LONG;
+			} else if (fieldType == Integer.class || fieldType == int.class) {
+				return INTEGER;
+			} else if (fieldType == Boolean.class || fieldType == boolean.class) {
+				return BOOLEAN;
+			} else if (fieldType == Double.class || fieldType == double.class) {
+				return DOUBLE;
+			} else if (fieldType == String.class) {
+				return STRING;
+			} else if (fieldType == byte[].class) {
+				return BYTES;
+			} else if (fieldType == Timestamp.class) {
+				return TIMESTAMP;
+			} else if (fieldType == Date.class) {
+				return DATE;
+			} else if (fieldType.isEnum()) {
+				return ENUM;
+			}
+			return null;
+		}
+	}
+
+	static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
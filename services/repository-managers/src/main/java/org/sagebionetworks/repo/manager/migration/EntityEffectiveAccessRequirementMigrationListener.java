@@ -0,0 +1,105 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.sagebionetworks.repo.model.RestrictableObjectType;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
+import org.sagebionetworks.repo.model.dbo.DatabaseObject;
+import org.sagebionetworks.repo.model.dbo.persistence.DBONode;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOSubjectAccessRequirement;
+import org.sagebionetworks.repo.model.migration.MigrationType;
+import org.springframework.stereotype.Service;
+
+/**
+ * The effective access requirements of entities are not migrated. Instead,
+ * each migrated batch marks only the sub-trees that it can change for a
+ * rebuild:
+ * <ul>
+ * <li>A batch of nodes marks each node of the batch whose parent is not also
+ * in the batch.</li>
+ * <li>A batch of access requirement bindings marks each bound entity.</li>
+ * <li>Before the bindings of a range of access requirements are deleted, each
+ * entity bound to a requirement of the range is marked.</li>
+ * </ul>
+ * Deleted nodes and access requirements are removed from the closure by
+ * foreign keys.
+ *
+ */
+@Service
+public class EntityEffectiveAccessRequirementMigrationListener implements MigrationTypeListener<DatabaseObject<?>> {
+
+	private final EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao;
+
+	public EntityEffectiveAccessRequirementMigrationListener(
+			EntityEffectiveAccessRequirementDao entityEffectiveAccessRequirementDao) {
+		super();
+		this.entityEffectiveAccessRequirementDao = entityEffectiveAccessRequirementDao;
+	}
+
+	@Override
+	public boolean supports(MigrationType type) {
+		return MigrationType.NODE.equals(type) || MigrationType.NODE_ACCESS_REQUIRMENT.equals(type)
+				|| MigrationType.ACCESS_REQUIREMENT.equals(type);
+	}
+
+	@Override
+	public void beforeCreateOrUpdate(List<DatabaseObject<?>> batch) {
+		// nothing to do before the batch is written.
+	}
+
+	@Override
+	public void afterCreateOrUpdate(List<DatabaseObject<?>> batch) {
+		List<Long> rootIds = getChangedSubtreeRoots(batch);
+		if (!rootIds.isEmpty()) {
+			entityEffectiveAccessRequirementDao.markSubtreesChanged(rootIds);
+		}
+	}
+
+	@Override
+	public void beforeDeleteByRange(MigrationType type, long minimumId, long maximumId) {
+		/*
+		 * The backup ID of both the requirements and their bindings is the requirement
+		 * ID. The bindings are deleted first as a secondary type, so the requirements
+		 * no longer have bindings to mark by the time they are deleted.
+		 */
+		if (MigrationType.NODE_ACCESS_REQUIRMENT.equals(type) || MigrationType.ACCESS_REQUIREMENT.equals(type)) {
+			entityEffectiveAccessRequirementDao.markRequirementRangeSubjectsChanged(minimumId, maximumId);
+		}
+	}
+
+	/**
+	 * @param batch
+	 * @return The roots of the sub-trees with effective access requirements that
+	 *         can be changed by the given batch. A rebuild of a node's sub-tree
+	 *         also rebuilds its descendants, so a node with a parent in the same
+	 *         batch is not included.
+	 */
+	static List<Long> getChangedSubtreeRoots(List<DatabaseObject<?>> batch) {
+		Set<Long> nodeIds = new HashSet<>();
+		for (DatabaseObject<?> row : batch) {
+			if (row instanceof DBONode) {
+				nodeIds.add(((DBONode) row).getId());
+			}
+		}
+		Set<Long> rootIds = new LinkedHashSet<>();
+		for (DatabaseObject<?> row : batch) {
+			if (row instanceof DBONode) {
+				DBONode node = (DBONode) row;
+				if (!nodeIds.contains(node.getParentId())) {
+					rootIds.add(node.getId());
+				}
+			} else if (row instanceof DBOSubjectAccessRequirement) {
+				DBOSubjectAccessRequirement binding = (DBOSubjectAccessRequirement) row;
+				if (RestrictableObjectType.ENTITY.name().equals(binding.getSubjectType())) {
+					rootIds.add(binding.getSubjectId());
+				}
+			}
+		}
+		return new ArrayList<>(rootIds);
+	}
+
+}
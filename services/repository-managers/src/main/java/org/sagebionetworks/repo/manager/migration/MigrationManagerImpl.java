@@ -10,17 +10,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.sagebionetworks.StackConfigurationSingleton;
 import org.sagebionetworks.aws.SynapseS3Client;
 import org.sagebionetworks.repo.model.AuthorizationConstants;
@@ -66,6 +74,8 @@ import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 
 
 /**
@@ -77,6 +87,8 @@ import com.google.common.collect.Iterables;
 @Service
 public class MigrationManagerImpl implements MigrationManager {
 	
+	private static final Logger LOG = LogManager.getLogger(MigrationManagerImpl.class);
+	
 	public static final String BACKUP_KEY_TEMPLATE = "%1$s-%2$s-%3$s-%4$s.zip";
 	public static final String MANIFEST_KEY_TEMPLATE = "%1$s/manifest.json";
 	public static String backupBucket = StackConfigurationSingleton.singleton().getSharedS3BackupBucket();
@@ -88,6 +100,7 @@ public class MigrationManagerImpl implements MigrationManager {
 	private BackupFileStream backupFileStream;
 	private SynapseS3Client s3Client;
 	private FileProvider fileProvider;
+	private ExecutorService threadPool;
 
 	/**
 	 * The list of migration listeners
@@ -100,13 +113,14 @@ public class MigrationManagerImpl implements MigrationManager {
 	static Set<MigrationType> PRINCIPAL_TYPES;
 	
 	@Autowired
-	public MigrationManagerImpl(MigratableTableDAO migratableTableDao, StackStatusDao stackStatusDao, BackupFileStream backupFileStream, SynapseS3Client s3Client, FileProvider fileProvider, List<? extends MigrationTypeListener> migrationListeners) {
+	public MigrationManagerImpl(MigratableTableDAO migratableTableDao, StackStatusDao stackStatusDao, BackupFileStream backupFileStream, SynapseS3Client s3Client, FileProvider fileProvider, List<? extends MigrationTypeListener> migrationListeners, ExecutorService cachedThreadPool) {
 		this.migratableTableDao = migratableTableDao;
 		this.stackStatusDao = stackStatusDao;
 		this.backupFileStream = backupFileStream;
 		this.s3Client = s3Client;
 		this.fileProvider = fileProvider;
 		this.migrationListeners = migrationListeners;
+		this.threadPool = cachedThreadPool;
 	}
 	
 	/**
@@ -172,6 +186,10 @@ public class MigrationManagerImpl implements MigrationManager {
 	private void fireAfterCreateOrUpdateEvent(MigrationType type, List<DatabaseObject<?>> batch){
 		getListenersForType(type).forEach( listener -> listener.afterCreateOrUpdate(batch));
 	}
+	
+	private void fireBeforeDeleteByRangeEvent(MigrationType type, long minimumId, long maximumId) {
+		getListenersForType(type).forEach( listener -> listener.beforeDeleteByRange(type, minimumId, maximumId));
+	}
 
 	@Override
 	public List<MigrationType> getPrimaryMigrationTypes(UserInfo user) {
@@ -606,32 +624,123 @@ public class MigrationManagerImpl implements MigrationManager {
 		deleteByRange(manifest);
 		
 		long rowCount = 0;
+		Map<MigrationType, Long> rowsPerType = new LinkedHashMap<>();
+		Map<MigrationType, Long> nanosPerType = new HashMap<>();
 		// Start reading the stream.
-		Iterable<MigratableDatabaseObject<?,?>> iterable = this.backupFileStream.readBackupFile(input, manifest.getAliasType());
-		MigrationType currentType = manifest.getPrimaryType().getMigrationType();
-		List<DatabaseObject<?>> currentBatch = new LinkedList<>();
-		for(MigratableDatabaseObject<?,?> rowToRestore: iterable) {
-			MigrationType rowType = rowToRestore.getMigratableTableType();
-			if(!this.migratableTableDao.isMigrationTypeRegistered(rowType)) {
-				// ignore types that are not registered.
-				continue;
-			}
-			
-			// If over the batch size or a type switch push the current batch.
-			if(currentBatch.size() >= manifest.getBatchSize() || !rowType.equals(currentType)) {
-				restoreBatch(currentType, currentBatch);
-				currentBatch = new LinkedList<>();
+		Iterator<MigratableDatabaseObject<?,?>> iterator = this.backupFileStream.readBackupFile(input, manifest.getAliasType()).iterator();
+		PeekingIterator<MigratableDatabaseObject<?,?>> rows = Iterators.peekingIterator(iterator);
+		long batchSize = manifest.getBatchSize();
+		/*
+		 * The next batch is decoded from the stream on the thread pool while the
+		 * current batch is written. All writes remain on this thread so they are part
+		 * of the caller's transaction.
+		 */
+		Future<RestoreBatch> nextBatch = threadPool.submit(() -> readNextBatch(rows, batchSize));
+		try {
+			RestoreBatch batch = getBatch(nextBatch);
+			while (!batch.getRows().isEmpty()) {
+				nextBatch = threadPool.submit(() -> readNextBatch(rows, batchSize));
+				long start = System.nanoTime();
+				restoreBatch(batch.getType(), batch.getRows());
+				long elapsed = System.nanoTime() - start;
+				rowsPerType.merge(batch.getType(), (long) batch.getRows().size(), Long::sum);
+				nanosPerType.merge(batch.getType(), elapsed, Long::sum);
+				rowCount += batch.getRows().size();
+				batch = getBatch(nextBatch);
 			}
-			currentType = rowType;
-			currentBatch.add(rowToRestore);
-			rowCount++;
+		} finally {
+			nextBatch.cancel(true);
 		}
-		// push the remaining rows
-		restoreBatch(currentType, currentBatch);
+		logThroughput(rowsPerType, nanosPerType);
 		// prepare the response.
 		response.setRestoredRowCount(rowCount);
 		return response;
 	}
+	
+	/**
+	 * Read the next batch of rows from the stream. A batch contains rows of a
+	 * single registered type and is no larger than the batch size. Rows of types
+	 * that are not registered are skipped.
+	 * 
+	 * @param rows
+	 * @param batchSize
+	 * @return An empty batch when the stream is exhausted.
+	 */
+	RestoreBatch readNextBatch(PeekingIterator<MigratableDatabaseObject<?,?>> rows, long batchSize) {
+		MigrationType batchType = null;
+		List<DatabaseObject<?>> batch = new ArrayList<>();
+		while (rows.hasNext() && batch.size() < batchSize) {
+			MigrationType rowType = rows.peek().getMigratableTableType();
+			if (!this.migratableTableDao.isMigrationTypeRegistered(rowType)) {
+				// ignore types that are not registered.
+				rows.next();
+				continue;
+			}
+			if (batchType != null && !batchType.equals(rowType)) {
+				// a type switch starts a new batch.
+				break;
+			}
+			batchType = rowType;
+			batch.add(rows.next());
+		}
+		return new RestoreBatch(batchType, batch);
+	}
+	
+	/**
+	 * Wait for the given batch to be read.
+	 * 
+	 * @param future
+	 * @return
+	 */
+	static RestoreBatch getBatch(Future<RestoreBatch> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Log the number of rows restored per second for each type.
+	 * 
+	 * @param rowsPerType
+	 * @param nanosPerType
+	 */
+	static void logThroughput(Map<MigrationType, Long> rowsPerType, Map<MigrationType, Long> nanosPerType) {
+		for (Map.Entry<MigrationType, Long> entry : rowsPerType.entrySet()) {
+			long elapsedMS = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(nanosPerType.get(entry.getKey())));
+			LOG.info(String.format("Restored %d rows of type: %s in %d MS (%d rows/sec)", entry.getValue(),
+					entry.getKey().name(), elapsedMS, entry.getValue() * 1000L / elapsedMS));
+		}
+	}
+	
+	/**
+	 * A batch of rows of a single type read from a backup stream.
+	 */
+	static class RestoreBatch {
+		
+		private final MigrationType type;
+		private final List<DatabaseObject<?>> rows;
+		
+		RestoreBatch(MigrationType type, List<DatabaseObject<?>> rows) {
+			this.type = type;
+			this.rows = rows;
+		}
+		
+		MigrationType getType() {
+			return type;
+		}
+		
+		List<DatabaseObject<?>> getRows() {
+			return rows;
+		}
+	}
 
 	/**
 	 * Restore a single batch of rows for the given type.
@@ -687,11 +796,13 @@ public class MigrationManagerImpl implements MigrationManager {
 			if(manifest.getSecondaryTypes() != null) {
 				for(TypeData secondaryType: manifest.getSecondaryTypes()) {
 					if(migratableTableDao.isMigrationTypeRegistered(secondaryType.getMigrationType())){
+						fireBeforeDeleteByRangeEvent(secondaryType.getMigrationType(), minimumId, maximumId);
 						this.migratableTableDao.deleteByRange(secondaryType, minimumId, maximumId);
 					}
 				}
 			}
 			if(migratableTableDao.isMigrationTypeRegistered(manifest.getPrimaryType().getMigrationType())){
+				fireBeforeDeleteByRangeEvent(manifest.getPrimaryType().getMigrationType(), minimumId, maximumId);
 				this.migratableTableDao.deleteByRange(manifest.getPrimaryType(), minimumId, maximumId);
 			}
 		}
@@ -36,4 +36,14 @@ public interface MigrationTypeListener<T extends DatabaseObject<?>> {
 	 */
 	void afterCreateOrUpdate(List<T> batch);
 
+	/**
+	 * Will be called BEFORE the rows of the given type with a backup ID in the
+	 * given range are deleted during migration.
+	 * 
+	 * @param type
+	 * @param minimumId Inclusive
+	 * @param maximumId Inclusive
+	 */
+	void beforeDeleteByRange(MigrationType type, long minimumId, long maximumId);
+
 }
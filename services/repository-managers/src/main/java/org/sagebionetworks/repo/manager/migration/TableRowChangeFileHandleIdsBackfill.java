@@ -0,0 +1,97 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.http.HttpStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sagebionetworks.repo.manager.table.TableEntityManager;
+import org.sagebionetworks.repo.model.UnauthorizedException;
+import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dbo.dao.table.TableRowTruthDAO;
+import org.sagebionetworks.repo.model.migration.TableRowChangeFileHandleIdsBackfillResponse;
+import org.sagebionetworks.repo.model.table.TableRowChange;
+import org.sagebionetworks.repo.web.NotFoundException;
+import org.sagebionetworks.util.ValidateArgument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+
+/**
+ * One-off backfill of the file handle ids of the table row changes with file
+ * references that were recorded before the ids were captured with each change.
+ * The change sets are loaded from S3 a single time so that the file handle
+ * association scanner can read the recorded ids from then on. This can be
+ * removed once the backfill has run on the production stack.
+ */
+@Service
+public class TableRowChangeFileHandleIdsBackfill {
+
+	static final long PAGE_SIZE_LIMIT = 100;
+
+	private static final Logger LOG = LogManager.getLogger(TableRowChangeFileHandleIdsBackfill.class);
+
+	private TableRowTruthDAO tableRowTruthDao;
+
+	private TableEntityManager tableEntityManager;
+
+	@Autowired
+	public TableRowChangeFileHandleIdsBackfill(TableRowTruthDAO tableRowTruthDao, TableEntityManager tableEntityManager) {
+		this.tableRowTruthDao = tableRowTruthDao;
+		this.tableEntityManager = tableEntityManager;
+	}
+
+	public TableRowChangeFileHandleIdsBackfillResponse backfillFileHandleIds(UserInfo user) throws IOException {
+		ValidateArgument.required(user, "User");
+
+		if (!user.isAdmin()) {
+			throw new UnauthorizedException("Only an administrator may access this service.");
+		}
+
+		long count = 0;
+		long skipped = 0;
+		long afterId = -1;
+
+		List<TableRowChange> page;
+
+		do {
+			page = tableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(afterId, PAGE_SIZE_LIMIT);
+
+			for (TableRowChange change : page) {
+				// Changes that cannot be loaded are skipped and left for the scanner to handle as before
+				if (backfillChange(change)) {
+					count++;
+				} else {
+					skipped++;
+				}
+				afterId = change.getId();
+			}
+		} while (page.size() == PAGE_SIZE_LIMIT);
+
+		LOG.info("Backfilled the file handle ids of " + count + " table row changes (Skipped: " + skipped + ")");
+
+		return new TableRowChangeFileHandleIdsBackfillResponse().setCount(count);
+	}
+
+	boolean backfillChange(TableRowChange change) throws IOException {
+		Set<Long> fileHandleIds;
+		try {
+			fileHandleIds = tableEntityManager.getSparseChangeSet(change).getFileHandleIdsInSparseChangeSet();
+		} catch (NotFoundException e) {
+			LOG.warn("Could not load change data for table " + change.getTableId() + " (Row Version: " + change.getRowVersion() + "): " + e.getMessage());
+			return false;
+		} catch (AmazonS3Exception e) {
+			if (e.getStatusCode() == HttpStatus.SC_NOT_FOUND) {
+				LOG.warn("Change data for table " + change.getTableId() + " not found (Row Version: " + change.getRowVersion() + "): " + e.getMessage());
+				return false;
+			}
+			throw e;
+		}
+		tableRowTruthDao.setFileHandleIds(change.getId(), fileHandleIds);
+		return true;
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.sagebionetworks.repo.manager.monitoring;
+
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.sagebionetworks.cloudwatch.ProfileData;
+import org.sagebionetworks.repo.manager.table.QueryPlanningSnapshotCache;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+
+/**
+ * Publishes the hit rate of the {@link QueryPlanningSnapshotCache} for each
+ * interval between calls to {@link #collectMetrics()}.
+ *
+ */
+public class QueryPlanningSnapshotCacheMonitor {
+
+	private final QueryPlanningSnapshotCache cache;
+	private final Consumer consumer;
+	private final String namespace;
+	private long lastHitCount;
+	private long lastMissCount;
+	private long lastInvalidationCount;
+
+	public QueryPlanningSnapshotCacheMonitor(QueryPlanningSnapshotCache cache, Consumer consumer, StackConfiguration config) {
+		this.cache = cache;
+		this.consumer = consumer;
+		this.namespace = String.format("Workers-QueryPlanningSnapshotCache-%s", config.getStackInstance());
+		this.lastHitCount = cache.getHitCount();
+		this.lastMissCount = cache.getMissCount();
+		this.lastInvalidationCount = cache.getInvalidationCount();
+	}
+
+	public synchronized void collectMetrics() {
+		long hitCount = cache.getHitCount();
+		long missCount = cache.getMissCount();
+		long invalidationCount = cache.getInvalidationCount();
+		long intervalHits = hitCount - lastHitCount;
+		long intervalMisses = missCount - lastMissCount;
+		long intervalInvalidations = invalidationCount - lastInvalidationCount;
+		lastHitCount = hitCount;
+		lastMissCount = missCount;
+		lastInvalidationCount = invalidationCount;
+
+		long requestCount = intervalHits + intervalMisses;
+
+		if (requestCount < 1) {
+			return;
+		}
+		consumer.addProfileData(createProfileData("hitRate", (double) intervalHits / requestCount, StandardUnit.None));
+		consumer.addProfileData(createProfileData("requestCount", requestCount, StandardUnit.Count));
+		consumer.addProfileData(createProfileData("missCount", intervalMisses, StandardUnit.Count));
+		consumer.addProfileData(createProfileData("invalidationCount", intervalInvalidations, StandardUnit.Count));
+	}
+
+	private ProfileData createProfileData(String name, double value, StandardUnit unit) {
+		return new ProfileData()
+				.setNamespace(namespace)
+				.setName(name)
+				.setValue(value)
+				.setUnit(unit.name());
+	}
+
+}
@@ -0,0 +1,63 @@
+package org.sagebionetworks.repo.manager.monitoring;
+
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.sagebionetworks.cloudwatch.ProfileData;
+import org.sagebionetworks.repo.model.dbo.wikiV2.WikiMarkdownCache;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Publishes the hit rate of the {@link WikiMarkdownCache} for each interval
+ * between calls to {@link #collectMetrics()}.
+ *
+ */
+public class WikiMarkdownCacheMonitor {
+
+	private final WikiMarkdownCache cache;
+	private final Consumer consumer;
+	private final String namespace;
+	private CacheStats lastStats;
+	private long lastDiskHitCount;
+	private long lastSourceLoadCount;
+
+	public WikiMarkdownCacheMonitor(WikiMarkdownCache cache, Consumer consumer, StackConfiguration config) {
+		this.cache = cache;
+		this.consumer = consumer;
+		this.namespace = String.format("Repository-WikiMarkdownCache-%s", config.getStackInstance());
+		this.lastStats = cache.getStats();
+		this.lastDiskHitCount = cache.getDiskHitCount();
+		this.lastSourceLoadCount = cache.getSourceLoadCount();
+	}
+
+	public synchronized void collectMetrics() {
+		CacheStats stats = cache.getStats();
+		long diskHitCount = cache.getDiskHitCount();
+		long sourceLoadCount = cache.getSourceLoadCount();
+		CacheStats interval = stats.minus(lastStats);
+		long intervalDiskHits = diskHitCount - lastDiskHitCount;
+		long intervalSourceLoads = sourceLoadCount - lastSourceLoadCount;
+		lastStats = stats;
+		lastDiskHitCount = diskHitCount;
+		lastSourceLoadCount = sourceLoadCount;
+
+		if (interval.requestCount() < 1) {
+			return;
+		}
+		consumer.addProfileData(createProfileData("memoryHitRate", interval.hitRate(), StandardUnit.None));
+		consumer.addProfileData(createProfileData("requestCount", interval.requestCount(), StandardUnit.Count));
+		consumer.addProfileData(createProfileData("diskHitCount", intervalDiskHits, StandardUnit.Count));
+		consumer.addProfileData(createProfileData("sourceLoadCount", intervalSourceLoads, StandardUnit.Count));
+		consumer.addProfileData(createProfileData("evictionCount", interval.evictionCount(), StandardUnit.Count));
+	}
+
+	private ProfileData createProfileData(String name, double value, StandardUnit unit) {
+		return new ProfileData()
+				.setNamespace(namespace)
+				.setName(name)
+				.setValue(value)
+				.setUnit(unit.name());
+	}
+
+}
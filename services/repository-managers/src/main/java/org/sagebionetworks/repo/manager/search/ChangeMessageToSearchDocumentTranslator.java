@@ -1,5 +1,12 @@
 package org.sagebionetworks.repo.manager.search;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.sagebionetworks.repo.model.ObjectType;
@@ -30,26 +37,75 @@ public class ChangeMessageToSearchDocumentTranslator {
 	@Autowired
 	CloudSearchLogger recordLogger;
 
-	Document generateSearchDocumentIfNecessary(ChangeMessage change) {
-		// start a log record for this message.
-		CloudSearchDocumentLogRecord record = recordLogger.startRecordForChangeMessage(change);
+	/**
+	 * Generate the documents for a batch of changes. Changes are reduced to the
+	 * entities they affect, so an entity with multiple changes in the batch
+	 * gets a single document, and the documents of all of the entities are
+	 * formulated together.
+	 * 
+	 * @param changes
+	 * @return One document for each entity affected by the changes, in the
+	 *         order the entities first appear in the batch.
+	 */
+	List<Document> generateSearchDocumentsIfNecessary(List<ChangeMessage> changes) {
+		// The log records of each entity in the batch.
+		Map<String, List<CloudSearchDocumentLogRecord>> entityRecords = new LinkedHashMap<>();
+		for (ChangeMessage change : changes) {
+			// start a log record for this message.
+			CloudSearchDocumentLogRecord record = recordLogger.startRecordForChangeMessage(change);
+			String entityId = getEntityId(change, record);
+			if (entityId != null) {
+				entityRecords.computeIfAbsent(entityId, k -> new LinkedList<>()).add(record);
+			}
+		}
+		if (entityRecords.isEmpty()) {
+			return Collections.emptyList();
+		}
+		Map<String, Document> formulated = searchDocumentDriver.formulateSearchDocuments(entityRecords.keySet());
+		List<Document> documents = new ArrayList<>(entityRecords.size());
+		for (Map.Entry<String, List<CloudSearchDocumentLogRecord>> entry : entityRecords.entrySet()) {
+			Document document = formulated.get(entry.getKey());
+			DocumentAction action = DocumentAction.CREATE_OR_UPDATE;
+			if (document == null) {
+				// entities that are no longer available are removed from the index.
+				action = DocumentAction.DELETE;
+				document = createDeleteDocument(entry.getKey());
+			}
+			for (CloudSearchDocumentLogRecord record : entry.getValue()) {
+				record.withAction(action);
+			}
+			documents.add(document);
+		}
+		return documents;
+	}
+
+	/**
+	 * Get the id of the entity affected by the given change.
+	 * 
+	 * @param change
+	 * @param record
+	 * @return null if the change does not affect an entity.
+	 */
+	String getEntityId(ChangeMessage change, CloudSearchDocumentLogRecord record) {
 		switch (change.getObjectType()) {
 		case ENTITY:
-			return entityChange(change.getObjectId(), record);
+			return change.getObjectId();
 		case WIKI:
-			return wikiChange(change.getObjectId(), record);
+			return getWikiOwnerEntityId(change.getObjectId(), record);
 		default:
 			throw new IllegalArgumentException("Unknown change type: " + change.getChangeType());
 		}
 	}
 
 	/**
-	 * Wiki changes are converted into entity changes.
+	 * Lookup the entity that owns the given wiki.
+	 * 
 	 * @param wikiId
 	 * @param record
-	 * @return
+	 * @return null if the wiki does not exist or is not owned by an entity, in
+	 *         which case the change will be ignored.
 	 */
-	Document wikiChange(String wikiId, CloudSearchDocumentLogRecord record) {
+	String getWikiOwnerEntityId(String wikiId, CloudSearchDocumentLogRecord record) {
 		// Lookup the owner of the page
 		try {
 			WikiPageKey key = wikiPageDao.lookupWikiKey(wikiId);
@@ -57,7 +113,7 @@ public class ChangeMessageToSearchDocumentTranslator {
 			// message.
 			if (ObjectType.ENTITY == key.getOwnerObjectType()) {
 				record.withWikiOwner(key.getOwnerObjectId());
-				return entityChange(key.getOwnerObjectId(), record);
+				return key.getOwnerObjectId();
 			}
 		} catch (NotFoundException e) {
 			// Nothing to do if the wiki does not exist
@@ -68,23 +124,6 @@ public class ChangeMessageToSearchDocumentTranslator {
 		return null;
 	}
 
-	/**
-	 * Create a change document for the given wiki.
-	 * 
-	 * @param entityId
-	 * @param record
-	 * @return
-	 */
-	Document entityChange(String entityId, CloudSearchDocumentLogRecord record) {
-		if(!searchDocumentDriver.doesEntityExistInRepository(entityId)) {
-			record.withAction(DocumentAction.DELETE);
-			return createDeleteDocument(entityId);
-		}else {
-			record.withAction(DocumentAction.CREATE_OR_UPDATE);
-			return searchDocumentDriver.formulateSearchDocument(entityId);
-		}
-	}
-
 	/**
 	 * Create a document to be deleted.
 	 * @param entityId
@@ -1,7 +1,9 @@
 package org.sagebionetworks.repo.manager.search;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.sagebionetworks.repo.model.AccessControlList;
@@ -35,6 +37,18 @@ public interface SearchDocumentDriver {
 	 * @throws IOException TODO
 	 */
 	public Document formulateSearchDocument(String nodeId) throws DatastoreException, NotFoundException;
+	/**
+	 * Create the search documents for a batch of entities. The nodes,
+	 * annotations and benefactor ACLs of the whole batch are read with set
+	 * based queries and the wiki text of each entity is read in parallel.
+	 * 
+	 * @param entityIds
+	 * @return The search document of each entity that is available, keyed by
+	 *         entity id. Entities that do not exist or are in the trash are
+	 *         excluded.
+	 */
+	public Map<String, Document> formulateSearchDocuments(Collection<String> entityIds);
+
 	/**
 	 * Create a search document and return it.
 	 *
@@ -8,14 +8,20 @@ import static org.sagebionetworks.search.SearchConstants.FIELD_TISSUE;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.joda.time.DateTime;
 import org.sagebionetworks.repo.model.ACCESS_TYPE;
 import org.sagebionetworks.repo.model.AccessControlList;
 import org.sagebionetworks.repo.model.AccessControlListDAO;
@@ -33,14 +39,15 @@ import org.sagebionetworks.repo.model.annotation.v2.AnnotationsValue;
 import org.sagebionetworks.repo.model.dao.WikiPageKey;
 import org.sagebionetworks.repo.model.dao.WikiPageKeyHelper;
 import org.sagebionetworks.repo.model.entity.NameIdType;
+import org.sagebionetworks.repo.model.jdo.KeyFactory;
 import org.sagebionetworks.repo.model.search.Document;
 import org.sagebionetworks.repo.model.search.DocumentFields;
 import org.sagebionetworks.repo.model.search.DocumentTypeNames;
 import org.sagebionetworks.repo.model.v2.dao.V2WikiPageDao;
 import org.sagebionetworks.repo.model.v2.wiki.V2WikiHeader;
-import org.sagebionetworks.repo.model.v2.wiki.V2WikiPage;
 import org.sagebionetworks.repo.web.NotFoundException;
 import org.sagebionetworks.search.SearchUtil;
+import org.sagebionetworks.util.ValidateArgument;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -70,6 +77,8 @@ public class SearchDocumentDriverImpl implements SearchDocumentDriver {
 	private AccessControlListDAO aclDAO;
 	@Autowired
 	V2WikiPageDao wikiPageDao;
+	@Autowired
+	ExecutorService cachedThreadPool;
 
 	static { // initialize SEARCHABLE_NODE_ANNOTATIONS
 		// NOTE: ORDER MATTERS. Earlier annotation key names will be preferred over later ones if both keys are present.
@@ -137,7 +146,33 @@ public class SearchDocumentDriverImpl implements SearchDocumentDriver {
 	public Document formulateSearchDocument(Node node, Annotations annos,
 											AccessControlList acl, String wikiPagesText)
 			throws DatastoreException, NotFoundException {
-		DateTime now = DateTime.now();
+		Document document = formulateSearchDocumentWithoutAcls(node, annos, wikiPagesText);
+		DocumentFields fields = document.getFields();
+
+		// READ and UPDATE ACLs
+		List<Long> readPrincipalIds = new ArrayList<Long>();
+		List<Long> updatePrincipalIds = new ArrayList<Long>();
+		for (ResourceAccess access : acl.getResourceAccess()) {
+			if (access.getAccessType().contains(ACCESS_TYPE.READ)) {
+				readPrincipalIds.add(access.getPrincipalId());
+			}
+			if (access.getAccessType().contains(ACCESS_TYPE.UPDATE)) {
+				updatePrincipalIds.add(access.getPrincipalId());
+			}
+		}
+		addAclsToSearchDocument(node.getId(), fields, readPrincipalIds, updatePrincipalIds);
+		return document;
+	}
+
+	/**
+	 * Build a search document with every field except the READ and UPDATE ACLs.
+	 * 
+	 * @param node
+	 * @param annos
+	 * @param wikiPagesText
+	 * @return
+	 */
+	Document formulateSearchDocumentWithoutAcls(Node node, Annotations annos, String wikiPagesText) {
 		Document document = new Document();
 		DocumentFields fields = new DocumentFields();
 		document.setFields(fields);
@@ -166,55 +201,112 @@ public class SearchDocumentDriverImpl implements SearchDocumentDriver {
 
 		// Annotations
 		addAnnotationsToSearchDocument(fields, annos);
+		return document;
+	}
 
-		// READ and UPDATE ACLs
+	/**
+	 * Add the READ and UPDATE principals to the document fields, keeping at
+	 * most {@link #FIELD_VALUE_SIZE_LIMIT} values for each.
+	 * 
+	 * @param nodeId
+	 * @param fields
+	 * @param readPrincipalIds
+	 * @param updatePrincipalIds
+	 */
+	void addAclsToSearchDocument(String nodeId, DocumentFields fields, Collection<Long> readPrincipalIds,
+			Collection<Long> updatePrincipalIds) {
 		List<String> readAclValues = new ArrayList<String>();
 		fields.setAcl(readAclValues);
+		for (Long principalId : readPrincipalIds) {
+			if (FIELD_VALUE_SIZE_LIMIT > readAclValues.size()) {
+				readAclValues.add(principalId.toString());
+			} else {
+				log.error("Had to leave READ acl " + principalId + " out of search document " + nodeId
+						+ " due to AwesomeSearch limits");
+			}
+		}
 		List<String> updateAclValues = new ArrayList<String>();
 		fields.setUpdate_acl(updateAclValues);
-		for (ResourceAccess access : acl.getResourceAccess()) {
-			if (access.getAccessType().contains(ACCESS_TYPE.READ)) {
-				if (FIELD_VALUE_SIZE_LIMIT > readAclValues.size()) {
-					readAclValues.add(access.getPrincipalId().toString()); // TODO
-																			// could
-																			// look
-																			// up
-																			// display
-																			// name
-																			// from
-																			// UserProfile
-																			// and
-																			// substitute
-																			// here
-				} else {
-					log.error("Had to leave READ acl "
-							+ access.getPrincipalId()
-							+ " out of search document " + node.getId()
-							+ " due to AwesomeSearch limits");
-				}
+		for (Long principalId : updatePrincipalIds) {
+			if (FIELD_VALUE_SIZE_LIMIT > updateAclValues.size()) {
+				updateAclValues.add(principalId.toString());
+			} else {
+				log.error("Had to leave UPDATE acl " + principalId + " out of search document " + nodeId
+						+ " due to AwesomeSearch limits");
 			}
-			if (access.getAccessType().contains(ACCESS_TYPE.UPDATE)) {
-				if (FIELD_VALUE_SIZE_LIMIT > updateAclValues.size()) {
-					updateAclValues.add(access.getPrincipalId().toString()); // TODO
-																				// could
-																				// look
-																				// up
-																				// display
-																				// name
-																				// from
-																				// UserProfile
-																				// and
-																				// substitute
-																				// here
-				} else {
-					log.error("Had to leave UPDATE acl "
-							+ access.getPrincipalId()
-							+ " out of search document " + node.getId()
-							+ " due to AwesomeSearch limits");
-				}
+		}
+	}
+
+	@Override
+	public Map<String, Document> formulateSearchDocuments(Collection<String> entityIds) {
+		ValidateArgument.required(entityIds, "entityIds");
+		// The results are keyed by the ids as they were provided.
+		Map<Long, String> requestedIds = new LinkedHashMap<>(entityIds.size());
+		for (String entityId : entityIds) {
+			requestedIds.putIfAbsent(KeyFactory.stringToKey(entityId), entityId);
+		}
+		Set<Long> available = nodeDao.getAvailableNodes(new ArrayList<>(requestedIds.keySet()));
+		if (available.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		List<Long> nodeIds = requestedIds.keySet().stream().filter(available::contains).collect(Collectors.toList());
+		// Start loading the wiki text while the rest is read from the database.
+		Map<Long, Future<String>> wikiText = new HashMap<>(nodeIds.size());
+		for (Long nodeId : nodeIds) {
+			wikiText.put(nodeId, cachedThreadPool.submit(() -> getAllWikiPageText(KeyFactory.keyToString(nodeId))));
+		}
+		Map<Long, Node> nodes = nodeDao.getNodes(nodeIds).stream()
+				.collect(Collectors.toMap(node -> KeyFactory.stringToKey(node.getId()), node -> node));
+		Map<Long, Annotations> annotations = nodeDao.getUserAnnotationsForCurrentVersions(nodeIds);
+		Map<Long, Long> benefactors = nodeDao.getBenefactors(nodeIds);
+		Set<String> benefactorIds = benefactors.values().stream().map(Object::toString).collect(Collectors.toSet());
+		Map<String, Set<String>> readPrincipals = aclDAO.getPrincipalIdsMap(benefactorIds, ObjectType.ENTITY, ACCESS_TYPE.READ);
+		Map<String, Set<String>> updatePrincipals = aclDAO.getPrincipalIdsMap(benefactorIds, ObjectType.ENTITY, ACCESS_TYPE.UPDATE);
+
+		Map<String, Document> results = new LinkedHashMap<>(nodeIds.size());
+		for (Long nodeId : nodeIds) {
+			Node node = nodes.get(nodeId);
+			Long benefactorId = benefactors.get(nodeId);
+			if (node == null || benefactorId == null || annotations.get(nodeId) == null) {
+				// The node was deleted while the batch was being read.
+				continue;
 			}
+			Document document = formulateSearchDocumentWithoutAcls(node, annotations.get(nodeId),
+					getFutureResult(wikiText.get(nodeId)));
+			addAclsToSearchDocument(node.getId(), document.getFields(),
+					getSortedPrincipalIds(readPrincipals.get(benefactorId.toString())),
+					getSortedPrincipalIds(updatePrincipals.get(benefactorId.toString())));
+			results.put(requestedIds.get(nodeId), document);
+		}
+		return results;
+	}
+
+	/**
+	 * The principal IDs of an ACL are unordered, so they are sorted to keep the
+	 * documents stable when the limit is exceeded.
+	 * 
+	 * @param principalIds
+	 * @return
+	 */
+	static List<Long> getSortedPrincipalIds(Set<String> principalIds) {
+		if (principalIds == null) {
+			return Collections.emptyList();
+		}
+		return principalIds.stream().map(Long::parseLong).sorted().collect(Collectors.toList());
+	}
+
+	static String getFutureResult(Future<String> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
 		}
-		return document;
 	}
 
 	void addAnnotationsToSearchDocument(DocumentFields fields, Annotations annotations){
@@ -289,11 +381,10 @@ public class SearchDocumentDriverImpl implements SearchDocumentDriver {
 			StringBuilder builder = new StringBuilder();
 			for (V2WikiHeader header : wikiHeaders) {
 				WikiPageKey key = WikiPageKeyHelper.createWikiPageKey(nodeId, ObjectType.ENTITY, header.getId());
-				V2WikiPage page = wikiPageDao.get(key, null);
-				// Append the title and markdown
-				if (page.getTitle() != null) {
+				// Append the title and markdown. The header already has the title.
+				if (header.getTitle() != null) {
 					builder.append("\n");
-					builder.append(page.getTitle());
+					builder.append(header.getTitle());
 				}
 				String markdownString = wikiPageDao.getMarkdown(key, null);
 				builder.append("\n");
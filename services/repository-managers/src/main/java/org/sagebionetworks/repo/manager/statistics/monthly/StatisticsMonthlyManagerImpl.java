@@ -1,9 +1,13 @@
 package org.sagebionetworks.repo.manager.statistics.monthly;
 
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -22,23 +26,32 @@ import org.sagebionetworks.util.ValidateArgument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
+
 @Service
 public class StatisticsMonthlyManagerImpl implements StatisticsMonthlyManager {
 
 	private static final Logger LOG = LogManager.getLogger(StatisticsMonthlyManagerImpl.class);
 
+	/**
+	 * The maximum number of processors that are executed concurrently for a single month
+	 */
+	static final int MAX_CONCURRENT_PROCESSORS = 4;
+
 	private StatisticsMonthlyStatusDAO statusDao;
 	private StatisticsMonthlyProcessorProvider processorProvider;
 	private StatisticsMonthlyProcessorNotifier processorNotifier;
+	private ExecutorService threadPool;
 
 	private int maxMonths;
 
 	@Autowired
 	public StatisticsMonthlyManagerImpl(StatisticsMonthlyStatusDAO statusDao, StatisticsMonthlyProcessorProvider processorProvider,
-			StatisticsMonthlyProcessorNotifier processorNotifier, StackConfiguration stackConfig) {
+			StatisticsMonthlyProcessorNotifier processorNotifier, StackConfiguration stackConfig, ExecutorService cachedThreadPool) {
 		this.statusDao = statusDao;
 		this.processorProvider = processorProvider;
 		this.processorNotifier = processorNotifier;
+		this.threadPool = cachedThreadPool;
 		this.maxMonths = stackConfig.getMaximumMonthsForMonthlyStatistics();
 	}
 
@@ -133,28 +146,65 @@ public class StatisticsMonthlyManagerImpl implements StatisticsMonthlyManager {
 		return false;
 	}
 
-	private void runProcessing(StatisticsObjectType objectType, YearMonth month) {
+	/**
+	 * Runs the processors for the given object type and month that did not complete yet (e.g. on a retry after a failure).
+	 * The processors are independent and run concurrently, at most {@link #MAX_CONCURRENT_PROCESSORS} at a time: since each
+	 * processor submits its own Athena query, the query of a processor is executed while the results of another are paged.
+	 * If a processor fails the others are still executed so that their completion is recorded, the first failure is then
+	 * thrown.
+	 */
+	void runProcessing(StatisticsObjectType objectType, YearMonth month) throws Throwable {
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Processing object type: {} (Month: {})...", objectType, month);
 		}
 
-		List<StatisticsMonthlyProcessor> processors = getProcessors(objectType);
+		Set<String> completedProcessors = statusDao.getCompletedProcessors(objectType, month);
+
+		List<StatisticsMonthlyProcessor> processors = getProcessors(objectType)
+				.stream()
+				.filter(processor -> !completedProcessors.contains(processor.getName()))
+				.collect(Collectors.toList());
+
+		Throwable failure = null;
+
+		for (List<StatisticsMonthlyProcessor> group : Lists.partition(processors, MAX_CONCURRENT_PROCESSORS)) {
+			List<Future<?>> futures = new ArrayList<>(group.size());
 
-		for (StatisticsMonthlyProcessor processor : processors) {
-			if (LOG.isDebugEnabled()) {
-				LOG.debug("Executing processor {} on month {}...", processor.getClass().getSimpleName(), month);
+			for (StatisticsMonthlyProcessor processor : group) {
+				futures.add(threadPool.submit(() -> runProcessor(objectType, month, processor)));
 			}
-			processor.processMonth(month);
-			if (LOG.isDebugEnabled()) {
-				LOG.debug("Executing processor {} on month {}...DONE", processor.getClass().getSimpleName(), month);
+
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+				}
 			}
 		}
 
+		if (failure != null) {
+			throw failure;
+		}
+
 		if (LOG.isDebugEnabled()) {
 			LOG.debug("Processing object type: {} (Month: {})...DONE", objectType, month);
 		}
 	}
 
+	private void runProcessor(StatisticsObjectType objectType, YearMonth month, StatisticsMonthlyProcessor processor) {
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Executing processor {} on month {}...", processor.getName(), month);
+		}
+		processor.processMonth(month);
+		statusDao.setProcessorCompleted(objectType, month, processor.getName());
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Executing processor {} on month {}...DONE", processor.getName(), month);
+		}
+	}
+
 	private ProgressListener getProgressListener(StatisticsObjectType objectType, YearMonth month) {
 
 		ProgressListener progressListener = new ProgressListener() {
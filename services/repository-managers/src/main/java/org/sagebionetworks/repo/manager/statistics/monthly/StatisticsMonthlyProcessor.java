@@ -4,6 +4,7 @@ import java.time.YearMonth;
 
 import org.sagebionetworks.repo.manager.statistics.StatisticsProcessingException;
 import org.sagebionetworks.repo.model.statistics.StatisticsObjectType;
+import org.springframework.util.ClassUtils;
 
 public interface StatisticsMonthlyProcessor {
 
@@ -12,6 +13,14 @@ public interface StatisticsMonthlyProcessor {
 	 */
 	StatisticsObjectType getSupportedType();
 
+	/**
+	 * @return A name that identifies this processor among the processors of the same type, used to record its completion
+	 */
+	default String getName() {
+		// The user class so that the name is stable when the processor is proxied
+		return ClassUtils.getUserClass(this).getSimpleName();
+	}
+
 	/**
 	 * Process the monthly statistics for the given month
 	 * 
@@ -0,0 +1,27 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.util.Set;
+
+import org.sagebionetworks.repo.model.ObjectType;
+import org.sagebionetworks.repo.model.UserInfo;
+
+/**
+ * Caches the benefactors of a table index that a user can read, so that
+ * repeated queries against the same view do not need to run the ACL
+ * intersection again.
+ */
+public interface AccessibleBenefactorsCache {
+
+	/**
+	 * Get the sub-set of the given benefactors that the given user can read. A
+	 * cached result is only used if none of the ACLs of the benefactors changed
+	 * since it was computed.
+	 * 
+	 * @param user
+	 * @param benefactorType
+	 * @param benefactorIds
+	 * @return A new mutable set with the accessible benefactors
+	 */
+	Set<Long> getAccessibleBenefactors(UserInfo user, ObjectType benefactorType, Set<Long> benefactorIds);
+
+}
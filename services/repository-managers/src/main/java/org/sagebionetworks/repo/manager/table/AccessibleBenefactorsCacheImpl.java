@@ -0,0 +1,128 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import org.sagebionetworks.repo.manager.AuthorizationManager;
+import org.sagebionetworks.repo.model.AccessControlListDAO;
+import org.sagebionetworks.repo.model.ObjectType;
+import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.util.ValidateArgument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+
+@Service
+public class AccessibleBenefactorsCacheImpl implements AccessibleBenefactorsCache {
+	
+	/**
+	 * Smaller sets are cheap enough to compute on every query.
+	 */
+	static final int MIN_BENEFACTORS_TO_CACHE = 100;
+	
+	/**
+	 * The maximum total number of benefactor ids held by the cache.
+	 */
+	static final long MAX_CACHED_BENEFACTORS = 5_000_000;
+	
+	private static final Duration CACHE_EXPIRATION = Duration.ofMinutes(10);
+
+	private AuthorizationManager authorizationManager;
+	
+	private AccessControlListDAO aclDao;
+	
+	private Cache<CacheKey, CacheEntry> cache;
+
+	@Autowired
+	public AccessibleBenefactorsCacheImpl(AuthorizationManager authorizationManager, AccessControlListDAO aclDao) {
+		this.authorizationManager = authorizationManager;
+		this.aclDao = aclDao;
+	}
+	
+	@PostConstruct
+	public void configure() {
+		this.cache = CacheBuilder.newBuilder()
+			.maximumWeight(MAX_CACHED_BENEFACTORS)
+			.weigher((CacheKey key, CacheEntry entry) -> key.benefactorIds.size() + entry.accessibleBenefactors.size())
+			.expireAfterAccess(CACHE_EXPIRATION)
+			.build();
+	}
+
+	@Override
+	public Set<Long> getAccessibleBenefactors(UserInfo user, ObjectType benefactorType, Set<Long> benefactorIds) {
+		ValidateArgument.required(user, "The user");
+		ValidateArgument.required(benefactorType, "The benefactorType");
+		ValidateArgument.required(benefactorIds, "The benefactorIds");
+		
+		if (user.isAdmin() || benefactorIds.size() < MIN_BENEFACTORS_TO_CACHE) {
+			return authorizationManager.getAccessibleBenefactors(user, benefactorType, benefactorIds);
+		}
+		
+		CacheKey key = new CacheKey(user.getGroups(), benefactorType, benefactorIds);
+		
+		// The checksum is read before computing the result, a change made in between is detected on the next call
+		String aclChecksum = aclDao.getAclChecksum(benefactorIds, benefactorType);
+		
+		CacheEntry entry = cache.getIfPresent(key);
+		
+		if (entry != null && entry.aclChecksum.equals(aclChecksum)) {
+			return new HashSet<>(entry.accessibleBenefactors);
+		}
+		
+		Set<Long> accessibleBenefactors = authorizationManager.getAccessibleBenefactors(user, benefactorType, benefactorIds);
+		
+		cache.put(key, new CacheEntry(aclChecksum, ImmutableSet.copyOf(accessibleBenefactors)));
+		
+		return accessibleBenefactors;
+	}
+	
+	private static final class CacheKey {
+		
+		private final Set<Long> groups;
+		private final ObjectType benefactorType;
+		private final Set<Long> benefactorIds;
+		
+		CacheKey(Set<Long> groups, ObjectType benefactorType, Set<Long> benefactorIds) {
+			this.groups = ImmutableSet.copyOf(groups);
+			this.benefactorType = benefactorType;
+			this.benefactorIds = ImmutableSet.copyOf(benefactorIds);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(benefactorIds, benefactorType, groups);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return Objects.equals(benefactorIds, other.benefactorIds) && benefactorType == other.benefactorType
+					&& Objects.equals(groups, other.groups);
+		}
+	}
+	
+	private static final class CacheEntry {
+		
+		private final String aclChecksum;
+		private final Set<Long> accessibleBenefactors;
+		
+		CacheEntry(String aclChecksum, Set<Long> accessibleBenefactors) {
+			this.aclChecksum = aclChecksum;
+			this.accessibleBenefactors = accessibleBenefactors;
+		}
+	}
+
+}
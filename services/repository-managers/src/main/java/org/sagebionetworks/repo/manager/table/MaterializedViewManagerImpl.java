@@ -17,6 +17,7 @@ import org.sagebionetworks.repo.model.semaphore.LockContext;
 import org.sagebionetworks.repo.model.semaphore.LockContext.ContextType;
 import org.sagebionetworks.repo.model.table.ColumnModel;
 import org.sagebionetworks.repo.model.table.MaterializedView;
+import org.sagebionetworks.repo.model.table.TableConstants;
 import org.sagebionetworks.repo.model.table.TableState;
 import org.sagebionetworks.repo.model.table.TableStatus;
 import org.sagebionetworks.repo.model.table.TableUnavailableException;
@@ -25,8 +26,14 @@ import org.sagebionetworks.table.cluster.QueryTranslator;
 import org.sagebionetworks.table.cluster.description.IndexDescription;
 import org.sagebionetworks.table.cluster.description.MaterializedViewIndexDescription;
 import org.sagebionetworks.table.cluster.utils.TableModelUtils;
+import org.sagebionetworks.table.cluster.SQLTranslatorUtils;
+import org.sagebionetworks.table.query.ParseException;
+import org.sagebionetworks.table.query.TableQueryParser;
 import org.sagebionetworks.table.query.model.QueryExpression;
+import org.sagebionetworks.table.query.model.QuerySpecification;
 import org.sagebionetworks.table.query.model.SqlContext;
+import org.sagebionetworks.table.query.model.TableExpression;
+import org.sagebionetworks.table.query.model.WhereClause;
 import org.sagebionetworks.util.PaginationIterator;
 import org.sagebionetworks.util.ValidateArgument;
 import org.sagebionetworks.workers.util.aws.message.RecoverableMessageException;
@@ -44,6 +51,13 @@ public class MaterializedViewManagerImpl implements MaterializedViewManager {
 	
 	public static final String DEFAULT_ETAG = "DEFAULT";
 	
+	/**
+	 * The outcome of updating an available materialized view.
+	 */
+	enum AvailableViewUpdate {
+		UP_TO_DATE, INCREMENTAL, REBUILT
+	}
+	
 	final private ColumnModelManager columModelManager;
 	final private TableManagerSupport tableManagerSupport;
 	final private TableIndexConnectionFactory connectionFactory;
@@ -223,6 +237,11 @@ public class MaterializedViewManagerImpl implements MaterializedViewManager {
 			String definingSql = nodeDao.getDefiningSql(idAndVersion)
 					.orElseThrow(() -> new IllegalArgumentException("No defining SQL for: " + idAndVersion.toString()));
 			
+			// Record the source row of each row so that later updates can be applied incrementally
+			if (isIncrementalUpdateSupported(definingSql, indexDescription.getDependencies())) {
+				indexDescription = new MaterializedViewIndexDescription(idAndVersion, indexDescription.getDependencies(), true);
+			}
+			
 			QueryTranslator sqlQuery = QueryTranslator.builder()
 				.sql(definingSql)
 				.schemaProvider(tableManagerSupport)
@@ -260,12 +279,15 @@ public class MaterializedViewManagerImpl implements MaterializedViewManager {
 	void rebuildAvailableViewHoldingTemporaryExclusiveLock(ProgressCallback callback, LockContext parentContext, IdAndVersion idAndVersion, IdAndVersion temporaryId) throws Exception {
 		try {
 			IndexDescription currentIndex = tableManagerSupport.getIndexDescription(idAndVersion);
-			// Note: The dependencies must match the current index dependencies, if that was not true then the view would be rebuilt from scratch
-			IndexDescription temporaryIndex = new MaterializedViewIndexDescription(temporaryId, currentIndex.getDependencies());
 			
 			String definingSql = nodeDao.getDefiningSql(idAndVersion)
 				.orElseThrow(() -> new IllegalArgumentException("No defining SQL for: " + idAndVersion.toString()));
 			
+			boolean isIncrementalUpdateSupported = isIncrementalUpdateSupported(definingSql, currentIndex.getDependencies());
+			
+			// Note: The dependencies must match the current index dependencies, if that was not true then the view would be rebuilt from scratch
+			IndexDescription temporaryIndex = new MaterializedViewIndexDescription(temporaryId, currentIndex.getDependencies(), isIncrementalUpdateSupported);
+			
 			QueryTranslator sqlQuery = QueryTranslator.builder()
 				.sql(definingSql)
 				.schemaProvider(tableManagerSupport)
@@ -284,26 +306,42 @@ public class MaterializedViewManagerImpl implements MaterializedViewManager {
 			TableIndexManager indexManager = connectionFactory.connectToTableIndex(idAndVersion);
 			
 			// continue with a read lock on each dependent table.
-			boolean isUpToDate = tableManagerSupport.tryRunWithTableNonExclusiveLock(callback, parentContext, (ProgressCallback innerCallback) -> {
+			AvailableViewUpdate update = tableManagerSupport.tryRunWithTableNonExclusiveLock(callback, parentContext, (ProgressCallback innerCallback) -> {
 				List<String> schemaIds = schema.stream().map(ColumnModel::getId).collect(Collectors.toList());
 				long version = indexManager.getVersionFromIndexDependencies(currentIndex);
 				boolean isSearchEnabled = tableManagerSupport.isTableSearchEnabled(idAndVersion);
 				
 				// Before rebuilding the view, we check if any dependency was updated
 				if (tableManagerSupport.isIndexSynchronized(idAndVersion, schemaIds, version, isSearchEnabled)) {
-					return true;
+					return AvailableViewUpdate.UP_TO_DATE;
+				}
+				
+				if (isIncrementalUpdateSupported && !isSearchEnabled) {
+					long viewVersion = indexManager.getCurrentVersionOfIndex(idAndVersion);
+					// Only the rows of the source can be applied to the view, the schema of the view must not have changed
+					if (tableManagerSupport.isIndexSynchronized(idAndVersion, schemaIds, viewVersion, isSearchEnabled)
+							&& indexManager.isRowSourceIdIncluded(idAndVersion)) {
+						updateViewIncrementallyHoldingAllDependentReadLocks(idAndVersion, currentIndex.getDependencies(), definingSql, schema, viewVersion);
+						return AvailableViewUpdate.INCREMENTAL;
+					}
 				}
 				
 				createOrRebuildViewHoldingWriteLockAndAllDependentReadLocks(sqlQuery, schema, isSearchEnabled);
 
-				return false;
+				return AvailableViewUpdate.REBUILT;
 			}, dependentArray);
 			
-			if (isUpToDate) {
+			if (AvailableViewUpdate.UP_TO_DATE == update) {
 				LOG.info("Will skip rebuilding AVAILABLE materialized view " + idAndVersion + ". The index is up to date.");
 				return;
 			}
 			
+			if (AvailableViewUpdate.INCREMENTAL == update) {
+				LOG.info("Materialized view " + idAndVersion + " updated incrementally.");
+				tableManagerSupport.updateChangedOnIfAvailable(idAndVersion);
+				return;
+			}
+			
 			// If the table is not available anymore there is no need to switch since another process triggered a processing of the table
 			if (TableState.AVAILABLE != tableManagerSupport.getTableStatusState(idAndVersion).orElse(null)) {
 				LOG.info("Will skip swapping materialized view " + idAndVersion + " index from temporary index " + temporaryId + ". The view is NOT AVAILABLE anymore.");
@@ -357,6 +395,82 @@ public class MaterializedViewManagerImpl implements MaterializedViewManager {
 		LOG.info("Materialized view " + idAndVersion + " set to AVAILABLE");
 	}
 	
+	/**
+	 * Apply the rows of the single source table of the view that changed after the
+	 * given version directly to the index of the view. The caller must hold a read
+	 * lock on the source table.
+	 * 
+	 * @param idAndVersion
+	 * @param dependencies
+	 * @param definingSql
+	 * @param schema
+	 * @param viewVersion  The version of the source that was last applied to the view
+	 */
+	void updateViewIncrementallyHoldingAllDependentReadLocks(IdAndVersion idAndVersion, List<IndexDescription> dependencies,
+			String definingSql, List<ColumnModel> schema, long viewVersion) {
+		TableIndexManager indexManager = connectionFactory.connectToTableIndex(idAndVersion);
+		
+		QueryTranslator changedRowsQuery = QueryTranslator.builder()
+			.sql(createChangedRowsSql(definingSql, viewVersion))
+			.schemaProvider(tableManagerSupport)
+			.sqlContext(SqlContext.build)
+			.indexDescription(new MaterializedViewIndexDescription(idAndVersion, dependencies, true))
+		.build();
+		
+		LOG.info("Applying changes since version " + viewVersion + " to materialized view index " + idAndVersion);
+		
+		Long newVersion = indexManager.updateMaterializedViewFromDefiningSql(schema, changedRowsQuery, viewVersion);
+		
+		indexManager.setIndexVersion(idAndVersion, newVersion);
+	}
+	
+	/**
+	 * A view can be updated incrementally when each row of the view is produced by
+	 * a single row of a single table, i.e. the defining SQL is a projection with an
+	 * optional filter over one table without aggregation, pagination, joins,
+	 * unions or common table expressions. Any other view is rebuilt from scratch.
+	 * 
+	 * @param definingSql
+	 * @param dependencies
+	 * @return
+	 */
+	static boolean isIncrementalUpdateSupported(String definingSql, List<IndexDescription> dependencies) {
+		if (!MaterializedViewIndexDescription.isSourceRowIdSupported(dependencies)) {
+			return false;
+		}
+		QueryExpression query = TableModelUtils.getQuerySpecification(definingSql);
+		if (query.getWithListElements().isPresent()) {
+			return false;
+		}
+		List<QuerySpecification> specifications = query.stream(QuerySpecification.class).collect(Collectors.toList());
+		if (specifications.size() != 1 || TableModelUtils.getSourceTableIds(query).size() != 1) {
+			return false;
+		}
+		TableExpression tableExpression = specifications.get(0).getTableExpression();
+		return !query.hasAnyAggregateElements() && tableExpression.getPagination() == null
+				&& tableExpression.getDefiningClause() == null;
+	}
+	
+	/**
+	 * Restrict the given defining SQL to the rows of the source that changed after
+	 * the given version.
+	 * 
+	 * @param definingSql
+	 * @param version
+	 * @return
+	 */
+	static String createChangedRowsSql(String definingSql, long version) {
+		QueryExpression query = TableModelUtils.getQuerySpecification(definingSql);
+		TableExpression tableExpression = query.getFirstElementOfType(TableExpression.class);
+		try {
+			tableExpression.replaceWhere(new WhereClause(SQLTranslatorUtils.mergeSearchConditions(tableExpression.getWhereClause(),
+					new TableQueryParser(TableConstants.ROW_VERSION + " > " + version).searchCondition())));
+		} catch (ParseException e) {
+			throw new IllegalStateException(e);
+		}
+		return query.toSql();
+	}
+	
 	private IdAndVersion[] getAvailableDependentIds(QueryTranslator sqlQuery) {
 		// Check if each dependency is available. Note: Getting the status of a
 		// dependency can also trigger it to update.
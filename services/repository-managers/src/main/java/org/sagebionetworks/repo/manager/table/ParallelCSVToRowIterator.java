@@ -0,0 +1,213 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.sagebionetworks.repo.model.dbo.dao.table.CSVToRowIterator;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.CsvTableDescriptor;
+import org.sagebionetworks.repo.model.table.SparseRowDto;
+import org.sagebionetworks.table.cluster.utils.CSVRecordChunker;
+import org.sagebionetworks.table.cluster.utils.CSVUtils;
+import org.sagebionetworks.util.ValidateArgument;
+
+import au.com.bytecode.opencsv.CSVReader;
+
+/**
+ * Provides an Iterator<SparseRowDto> over a CSV where the rows are parsed in
+ * parallel.
+ * <p>
+ * The CSV is split into chunks of complete records by a
+ * {@link CSVRecordChunker} on the calling thread. Each chunk is then parsed
+ * and converted to rows by its own {@link CSVToRowIterator} on the provided
+ * executor. Up to maxChunksInFlight chunks are parsed ahead of the caller and
+ * the rows are returned in the same order as the CSV.
+ *
+ */
+public class ParallelCSVToRowIterator implements Iterator<SparseRowDto>, Closeable {
+
+	private final List<ColumnModel> resultSchema;
+	private final CsvTableDescriptor descriptor;
+	private final CSVRecordChunker chunker;
+	private final ExecutorService executor;
+	private final int chunkCharacters;
+	private final int maxChunksInFlight;
+	private final Consumer<ParallelCSVToRowIterator> chunkListener;
+	private final Map<Long, Integer> columnIdToCsvColumnIndexMap;
+	private final Deque<Future<List<SparseRowDto>>> pending;
+	private final AtomicLong rowsParsed;
+	private Iterator<SparseRowDto> current;
+	private boolean allChunksSubmitted;
+	private long rowsRead;
+
+	/**
+	 *
+	 * @param resultSchema      Each row returned will match this schema.
+	 * @param descriptor        Describes the format of the CSV.
+	 * @param chunker           Provides the CSV in chunks of complete records.
+	 *                          It is closed when this iterator is closed.
+	 * @param isFirstLineHeader
+	 * @param linesToSkip
+	 * @param executor          Used to parse the chunks.
+	 * @param chunkCharacters   The minimum number of characters in each chunk.
+	 * @param maxChunksInFlight The maximum number of chunks that are parsed
+	 *                          ahead of the caller.
+	 * @param chunkListener     Notified each time the rows of a chunk are
+	 *                          handed to the caller.
+	 * @throws IOException
+	 */
+	public ParallelCSVToRowIterator(List<ColumnModel> resultSchema, CsvTableDescriptor descriptor,
+			CSVRecordChunker chunker, boolean isFirstLineHeader, Long linesToSkip, ExecutorService executor,
+			int chunkCharacters, int maxChunksInFlight, Consumer<ParallelCSVToRowIterator> chunkListener)
+			throws IOException {
+		ValidateArgument.required(resultSchema, "resultSchema");
+		ValidateArgument.required(chunker, "chunker");
+		ValidateArgument.required(executor, "executor");
+		ValidateArgument.requirement(chunkCharacters > 0, "chunkCharacters must be greater than zero");
+		ValidateArgument.requirement(maxChunksInFlight > 0, "maxChunksInFlight must be greater than zero");
+		ValidateArgument.required(chunkListener, "chunkListener");
+		this.resultSchema = resultSchema;
+		this.descriptor = descriptor;
+		this.chunker = chunker;
+		this.executor = executor;
+		this.chunkCharacters = chunkCharacters;
+		this.maxChunksInFlight = maxChunksInFlight;
+		this.chunkListener = chunkListener;
+		this.pending = new ArrayDeque<>(maxChunksInFlight);
+		this.rowsParsed = new AtomicLong(0);
+		this.current = Collections.emptyIterator();
+		this.allChunksSubmitted = false;
+		this.rowsRead = 0;
+		/*
+		 * The first chunk includes the lines to skip, the header and the first row so
+		 * the CSVToRowIterator can map the CSV columns to the schema. The same mapping
+		 * is then used for every other chunk.
+		 */
+		int recordsToSkip = linesToSkip == null ? 0 : linesToSkip.intValue();
+		String firstChunk = chunker.nextChunk(chunkCharacters, recordsToSkip + 2);
+		if (firstChunk == null) {
+			firstChunk = "";
+			allChunksSubmitted = true;
+		}
+		CSVToRowIterator firstIterator = new CSVToRowIterator(resultSchema, createReader(firstChunk), isFirstLineHeader,
+				linesToSkip);
+		this.columnIdToCsvColumnIndexMap = firstIterator.getColumnIdToCsvColumnIndexMap();
+		pending.add(executor.submit(() -> readAll(firstIterator)));
+	}
+
+	CSVReader createReader(String chunk) {
+		return CSVUtils.createCSVReader(new StringReader(chunk), descriptor, null);
+	}
+
+	List<SparseRowDto> readAll(CSVToRowIterator iterator) {
+		List<SparseRowDto> rows = new ArrayList<>();
+		while (iterator.hasNext()) {
+			rows.add(iterator.next());
+		}
+		rowsParsed.addAndGet(rows.size());
+		return rows;
+	}
+
+	/**
+	 * Split the CSV into chunks until the maximum number of chunks are in flight.
+	 *
+	 * @throws IOException
+	 */
+	private void submitChunks() throws IOException {
+		while (!allChunksSubmitted && pending.size() < maxChunksInFlight) {
+			long linesBeforeChunk = chunker.getLinesRead();
+			String chunk = chunker.nextChunk(chunkCharacters, 1);
+			if (chunk == null) {
+				allChunksSubmitted = true;
+				break;
+			}
+			pending.add(executor.submit(() -> readAll(
+					new CSVToRowIterator(resultSchema, createReader(chunk), columnIdToCsvColumnIndexMap, linesBeforeChunk))));
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		try {
+			while (!current.hasNext()) {
+				submitChunks();
+				Future<List<SparseRowDto>> next = pending.poll();
+				if (next == null) {
+					return false;
+				}
+				current = getRows(next).iterator();
+				// start parsing the next chunk before the caller processes this one.
+				submitChunks();
+				chunkListener.accept(this);
+			}
+			return true;
+		} catch (IOException e) {
+			throw new RuntimeException("Line number " + chunker.getLinesRead() + ": " + e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public SparseRowDto next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		rowsRead++;
+		return current.next();
+	}
+
+	private static List<SparseRowDto> getRows(Future<List<SparseRowDto>> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	/**
+	 * The number of rows parsed so far, including rows that have not been read
+	 * yet.
+	 *
+	 * @return
+	 */
+	public long getRowsParsed() {
+		return rowsParsed.get();
+	}
+
+	/**
+	 * The number of rows read from this iterator.
+	 *
+	 * @return
+	 */
+	public long getRowsRead() {
+		return rowsRead;
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (Future<List<SparseRowDto>> future : pending) {
+			future.cancel(true);
+		}
+		pending.clear();
+		chunker.close();
+	}
+}
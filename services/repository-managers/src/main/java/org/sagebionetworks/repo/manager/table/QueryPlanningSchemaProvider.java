@@ -0,0 +1,39 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.util.List;
+
+import org.sagebionetworks.repo.model.dao.table.TableType;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.table.cluster.SchemaProvider;
+import org.sagebionetworks.util.ValidateArgument;
+
+/**
+ * {@link SchemaProvider} used to translate a query that reads the type and the
+ * schema of each table from its cached {@link QueryPlanningSnapshot}.
+ */
+public class QueryPlanningSchemaProvider implements SchemaProvider {
+
+	private final TableManagerSupport tableManagerSupport;
+
+	public QueryPlanningSchemaProvider(TableManagerSupport tableManagerSupport) {
+		ValidateArgument.required(tableManagerSupport, "The tableManagerSupport");
+		this.tableManagerSupport = tableManagerSupport;
+	}
+
+	@Override
+	public TableType getTableType(IdAndVersion tableId) {
+		return tableManagerSupport.getQueryPlanningSnapshot(tableId).getIndexDescription().getTableType();
+	}
+
+	@Override
+	public List<ColumnModel> getTableSchema(IdAndVersion tableId) {
+		return tableManagerSupport.getQueryPlanningSnapshot(tableId).getSchema();
+	}
+
+	@Override
+	public ColumnModel getColumnModel(String id) {
+		return tableManagerSupport.getColumnModel(id);
+	}
+
+}
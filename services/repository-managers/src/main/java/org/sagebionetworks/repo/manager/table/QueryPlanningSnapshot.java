@@ -0,0 +1,112 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.TableState;
+import org.sagebionetworks.table.cluster.description.IndexDescription;
+import org.sagebionetworks.util.ValidateArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Immutable snapshot of the table metadata that is needed to plan a query
+ * against a table or view: the {@link IndexDescription} (including the
+ * dependencies of materialized views and virtual tables), the schema, the full
+ * text search flag and the state of the table.
+ */
+public class QueryPlanningSnapshot {
+
+	private final IndexDescription indexDescription;
+	private final List<ColumnModel> schema;
+	private final boolean searchEnabled;
+	private final TableState state;
+	private final Set<IdAndVersion> tableIds;
+
+	public QueryPlanningSnapshot(IndexDescription indexDescription, List<ColumnModel> schema, boolean searchEnabled, TableState state) {
+		ValidateArgument.required(indexDescription, "The indexDescription");
+		ValidateArgument.required(schema, "The schema");
+		this.indexDescription = indexDescription;
+		this.schema = ImmutableList.copyOf(schema);
+		this.searchEnabled = searchEnabled;
+		this.state = state;
+		Set<IdAndVersion> ids = new LinkedHashSet<>();
+		collectTableIds(indexDescription, ids);
+		this.tableIds = ImmutableSet.copyOf(ids);
+	}
+
+	private static void collectTableIds(IndexDescription description, Set<IdAndVersion> ids) {
+		ids.add(description.getIdAndVersion());
+		for (IndexDescription dependency : description.getDependencies()) {
+			collectTableIds(dependency, ids);
+		}
+	}
+
+	public IdAndVersion getIdAndVersion() {
+		return indexDescription.getIdAndVersion();
+	}
+
+	public IndexDescription getIndexDescription() {
+		return indexDescription;
+	}
+
+	/**
+	 * @return An unmodifiable list of the columns of the table
+	 */
+	public List<ColumnModel> getSchema() {
+		return schema;
+	}
+
+	public boolean isSearchEnabled() {
+		return searchEnabled;
+	}
+
+	/**
+	 * @return The state of the table when the snapshot was taken,
+	 *         {@link Optional#empty()} if the table has no status (e.g. a virtual
+	 *         table)
+	 */
+	public Optional<TableState> getState() {
+		return Optional.ofNullable(state);
+	}
+
+	/**
+	 * @return The id of the table and the ids of all of its (transitive)
+	 *         dependencies, the snapshot is only valid as long as none of them
+	 *         changed
+	 */
+	public Set<IdAndVersion> getTableIds() {
+		return tableIds;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(indexDescription, schema, searchEnabled, state);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof QueryPlanningSnapshot)) {
+			return false;
+		}
+		QueryPlanningSnapshot other = (QueryPlanningSnapshot) obj;
+		return Objects.equals(indexDescription, other.indexDescription) && Objects.equals(schema, other.schema)
+				&& searchEnabled == other.searchEnabled && state == other.state;
+	}
+
+	@Override
+	public String toString() {
+		return "QueryPlanningSnapshot [indexDescription=" + indexDescription + ", schema=" + schema + ", searchEnabled="
+				+ searchEnabled + ", state=" + state + "]";
+	}
+
+}
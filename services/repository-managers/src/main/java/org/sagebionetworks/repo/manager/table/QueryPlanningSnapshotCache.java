@@ -0,0 +1,43 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.util.function.Function;
+
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+
+/**
+ * Caches the {@link QueryPlanningSnapshot} of each table so that the metadata
+ * needed to plan a query does not need to be reloaded for every page of every
+ * query.
+ */
+public interface QueryPlanningSnapshotCache {
+
+	/**
+	 * Get the snapshot of the table with the given id. A cached snapshot is only
+	 * used if the etag and the status of the table and of all of its dependencies
+	 * did not change since it was taken, otherwise a new snapshot is taken with
+	 * the given loader.
+	 *
+	 * @param idAndVersion
+	 * @param loader
+	 * @return
+	 */
+	QueryPlanningSnapshot getSnapshot(IdAndVersion idAndVersion, Function<IdAndVersion, QueryPlanningSnapshot> loader);
+
+	/**
+	 * @return The number of requests served by a valid cached snapshot
+	 */
+	long getHitCount();
+
+	/**
+	 * @return The number of requests that had to load a new snapshot, including
+	 *         the requests for which the cached snapshot was no longer valid
+	 */
+	long getMissCount();
+
+	/**
+	 * @return The number of requests for which the cached snapshot was no longer
+	 *         valid
+	 */
+	long getInvalidationCount();
+
+}
@@ -0,0 +1,161 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.dao.table.TableStatusDAO;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.TableStatus;
+import org.sagebionetworks.repo.web.NotFoundException;
+import org.sagebionetworks.util.ValidateArgument;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
+@Service
+public class QueryPlanningSnapshotCacheImpl implements QueryPlanningSnapshotCache {
+
+	/**
+	 * The maximum number of tables with a cached snapshot.
+	 */
+	static final long MAX_CACHED_SNAPSHOTS = 10_000;
+
+	/**
+	 * The number of times a snapshot is loaded on a miss before giving up on
+	 * caching it, the dependencies of a materialized view are only known once it
+	 * has been loaded a first time.
+	 */
+	static final int MAX_LOAD_ATTEMPTS = 2;
+
+	private static final Duration CACHE_EXPIRATION = Duration.ofMinutes(10);
+
+	private NodeDAO nodeDao;
+
+	private TableStatusDAO tableStatusDao;
+
+	private Cache<IdAndVersion, CacheEntry> cache;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder invalidationCount = new LongAdder();
+
+	@Autowired
+	public QueryPlanningSnapshotCacheImpl(NodeDAO nodeDao, TableStatusDAO tableStatusDao) {
+		this.nodeDao = nodeDao;
+		this.tableStatusDao = tableStatusDao;
+	}
+
+	@PostConstruct
+	public void configure() {
+		this.cache = CacheBuilder.newBuilder()
+			.maximumSize(MAX_CACHED_SNAPSHOTS)
+			.expireAfterAccess(CACHE_EXPIRATION)
+			.build();
+	}
+
+	@Override
+	public QueryPlanningSnapshot getSnapshot(IdAndVersion idAndVersion, Function<IdAndVersion, QueryPlanningSnapshot> loader) {
+		ValidateArgument.required(idAndVersion, "The idAndVersion");
+		ValidateArgument.required(loader, "The loader");
+
+		CacheEntry entry = cache.getIfPresent(idAndVersion);
+
+		Map<IdAndVersion, String> tokens;
+
+		if (entry == null) {
+			tokens = getValidationTokens(Collections.singleton(idAndVersion));
+		} else {
+			tokens = getValidationTokens(entry.tokens.keySet());
+			if (tokens.equals(entry.tokens)) {
+				hitCount.increment();
+				return entry.snapshot;
+			}
+			invalidationCount.increment();
+		}
+
+		missCount.increment();
+
+		// The tokens are always read before loading the snapshot, a change made in between is detected on the next call
+		for (int attempt = 1;; attempt++) {
+			QueryPlanningSnapshot snapshot = loader.apply(idAndVersion);
+			if (tokens.keySet().equals(snapshot.getTableIds())) {
+				cache.put(idAndVersion, new CacheEntry(tokens, snapshot));
+				return snapshot;
+			}
+			if (attempt >= MAX_LOAD_ATTEMPTS) {
+				// The dependencies keep changing, the snapshot cannot be validated
+				cache.invalidate(idAndVersion);
+				return snapshot;
+			}
+			tokens = getValidationTokens(snapshot.getTableIds());
+		}
+	}
+
+	/**
+	 * The validation token of a table changes whenever its entity is updated
+	 * (e.g. schema, defining SQL or search flag) or its status changes (e.g. new
+	 * changes are applied to the table or the view is updated).
+	 *
+	 * @param tableIds
+	 * @return
+	 */
+	Map<IdAndVersion, String> getValidationTokens(Set<IdAndVersion> tableIds) {
+		Map<IdAndVersion, String> tokens = new LinkedHashMap<>(tableIds.size());
+		for (IdAndVersion tableId : tableIds) {
+			tokens.put(tableId, getValidationToken(tableId));
+		}
+		return ImmutableMap.copyOf(tokens);
+	}
+
+	String getValidationToken(IdAndVersion idAndVersion) {
+		String etag = nodeDao.peekCurrentEtag(idAndVersion.getId().toString());
+		TableStatus status;
+		try {
+			status = tableStatusDao.getTableStatus(idAndVersion);
+		} catch (NotFoundException e) {
+			// Tables without a status (e.g. a virtual table) only depend on the entity
+			return etag;
+		}
+		return String.join("-", etag, String.valueOf(status.getState()), status.getResetToken(),
+				String.valueOf(status.getChangedOn() == null ? null : status.getChangedOn().getTime()),
+				String.valueOf(status.getLastTableChangeEtag()));
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	@Override
+	public long getInvalidationCount() {
+		return invalidationCount.sum();
+	}
+
+	private static final class CacheEntry {
+
+		private final Map<IdAndVersion, String> tokens;
+		private final QueryPlanningSnapshot snapshot;
+
+		CacheEntry(Map<IdAndVersion, String> tokens, QueryPlanningSnapshot snapshot) {
+			this.tokens = tokens;
+			this.snapshot = snapshot;
+		}
+	}
+
+}
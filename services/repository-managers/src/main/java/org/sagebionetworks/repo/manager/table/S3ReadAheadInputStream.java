@@ -0,0 +1,181 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.IOUtils;
+import org.sagebionetworks.aws.SynapseS3Client;
+import org.sagebionetworks.util.ValidateArgument;
+
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+
+/**
+ * An InputStream over an S3 object that downloads the object as a sequence of
+ * byte range requests. Up to maxRangesAhead ranges are downloaded in the
+ * background ahead of the reader.
+ * <p>
+ * Each range is downloaded with its own short request, so a slow reader never
+ * holds an S3 connection open while it processes the data (see PLFM-4975), and
+ * at most (maxRangesAhead + 1) * rangeSize bytes are held in memory.
+ *
+ */
+public class S3ReadAheadInputStream extends InputStream {
+
+	private final SynapseS3Client s3Client;
+	private final String bucketName;
+	private final String key;
+	private final long contentSize;
+	private final int rangeSize;
+	private final int maxRangesAhead;
+	private final ExecutorService executor;
+	private final Deque<Future<byte[]>> pending;
+	private final AtomicLong bytesDownloaded;
+	private long nextRangeStart;
+	private byte[] current;
+	private int position;
+	private boolean closed;
+
+	/**
+	 *
+	 * @param s3Client
+	 * @param bucketName
+	 * @param key
+	 * @param contentSize    The size of the object in bytes.
+	 * @param rangeSize      The number of bytes downloaded by each request.
+	 * @param maxRangesAhead The maximum number of ranges that are downloaded
+	 *                       ahead of the reader.
+	 * @param executor       Used to download the ranges.
+	 */
+	public S3ReadAheadInputStream(SynapseS3Client s3Client, String bucketName, String key, long contentSize,
+			int rangeSize, int maxRangesAhead, ExecutorService executor) {
+		ValidateArgument.required(s3Client, "s3Client");
+		ValidateArgument.required(bucketName, "bucketName");
+		ValidateArgument.required(key, "key");
+		ValidateArgument.requirement(contentSize >= 0, "contentSize cannot be negative");
+		ValidateArgument.requirement(rangeSize > 0, "rangeSize must be greater than zero");
+		ValidateArgument.requirement(maxRangesAhead > 0, "maxRangesAhead must be greater than zero");
+		ValidateArgument.required(executor, "executor");
+		this.s3Client = s3Client;
+		this.bucketName = bucketName;
+		this.key = key;
+		this.contentSize = contentSize;
+		this.rangeSize = rangeSize;
+		this.maxRangesAhead = maxRangesAhead;
+		this.executor = executor;
+		this.pending = new ArrayDeque<>(maxRangesAhead);
+		this.bytesDownloaded = new AtomicLong(0);
+		this.nextRangeStart = 0;
+		this.current = new byte[0];
+		this.position = 0;
+		this.closed = false;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		return current[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int count = Math.min(len, current.length - position);
+		System.arraycopy(current, position, b, off, count);
+		position += count;
+		return count;
+	}
+
+	/**
+	 * Ensure the current range has unread bytes.
+	 *
+	 * @return False if the end of the object has been reached.
+	 * @throws IOException
+	 */
+	private boolean fill() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		while (position >= current.length) {
+			requestRangesAhead();
+			Future<byte[]> next = pending.poll();
+			if (next == null) {
+				return false;
+			}
+			current = getRange(next);
+			position = 0;
+		}
+		// keep the read-ahead full while the current range is consumed.
+		requestRangesAhead();
+		return true;
+	}
+
+	private void requestRangesAhead() {
+		while (pending.size() < maxRangesAhead && nextRangeStart < contentSize) {
+			long start = nextRangeStart;
+			long end = Math.min(contentSize, start + rangeSize) - 1;
+			pending.add(executor.submit(() -> downloadRange(start, end)));
+			nextRangeStart = end + 1;
+		}
+	}
+
+	byte[] downloadRange(long start, long end) throws IOException {
+		S3Object object = s3Client.getObject(new GetObjectRequest(bucketName, key).withRange(start, end));
+		try (InputStream in = object.getObjectContent()) {
+			byte[] bytes = IOUtils.toByteArray(in);
+			bytesDownloaded.addAndGet(bytes.length);
+			return bytes;
+		}
+	}
+
+	private static byte[] getRange(Future<byte[]> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * The number of bytes downloaded from S3 so far, including bytes that have
+	 * not been read yet.
+	 *
+	 * @return
+	 */
+	public long getBytesDownloaded() {
+		return bytesDownloaded.get();
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		for (Future<byte[]> future : pending) {
+			future.cancel(true);
+		}
+		pending.clear();
+		current = new byte[0];
+		position = 0;
+	}
+}
@@ -442,19 +442,11 @@ public class TableEntityManagerImpl implements TableEntityManager {
 		}
 		final Set<Long> deltaRowIds = rowIdToRowVersionNumberFromUpdate.keySet();
 		if(!deltaRowIds.isEmpty()){
-			// Need to check all changes that have been applied since the version of the delta?
-			List<TableRowChange> rowChanges = tableRowTruthDao.listRowSetsKeysForTableGreaterThanVersion(tableIdString, versionOfDelta);
-			// scan all changes greater than this row.
-			for (final TableRowChange rowChange : rowChanges) {
-				if(TableChangeType.ROW.equals(rowChange.getChangeType())){
-					SparseChangeSetDto change = tableRowTruthDao.getRowSet(rowChange);
-					for(SparseRowDto row: change.getRows()){
-						if (deltaRowIds.contains(row.getRowId())) {
-							throw new ConflictingUpdateException("Row id: " + row.getRowId()
-									+ " has been changed since last read.  Please get the latest value for this row and then attempt to update it again.");
-						}			
-					}
-				}
+			// Need to check all changes that have been applied since the version of the delta.
+			Optional<Long> conflictingRowId = tableRowTruthDao.getRowIdChangedSinceVersion(tableIdString, versionOfDelta, deltaRowIds);
+			if (conflictingRowId.isPresent()) {
+				throw new ConflictingUpdateException("Row id: " + conflictingRowId.get()
+						+ " has been changed since last read.  Please get the latest value for this row and then attempt to update it again.");
 			}
 		}
 	}
@@ -277,6 +277,28 @@ public interface TableIndexManager {
 	 * @return
 	 */
 	Long populateMaterializedViewFromDefiningSql(List<ColumnModel> viewSchema, QueryTranslator definingSql);
+	
+	/**
+	 * Incrementally update the index of a materialized view that records the
+	 * ROW_SOURCE_ID of each row. Within a single transaction, the rows produced by
+	 * source rows that were deleted or changed after the given version are removed
+	 * and the rows produced by the changed source rows are inserted.
+	 * 
+	 * @param viewSchema
+	 * @param changedRowsSql The defining SQL of the view restricted to the source
+	 *                       rows changed after the given version.
+	 * @param fromVersion    The last version of the source already applied to the
+	 *                       view.
+	 * @return The version of the dependencies after the update
+	 */
+	Long updateMaterializedViewFromDefiningSql(List<ColumnModel> viewSchema, QueryTranslator changedRowsSql, long fromVersion);
+	
+	/**
+	 * @param tableId
+	 * @return True if the index of the given table includes the ROW_SOURCE_ID
+	 *         column.
+	 */
+	boolean isRowSourceIdIncluded(IdAndVersion tableId);
 
 	/**
 	 * Reset the state of the table index described by the given {@link IndexDescription}
@@ -44,6 +44,7 @@ import org.sagebionetworks.table.cluster.QueryTranslator;
 import org.sagebionetworks.table.cluster.SQLTranslatorUtils;
 import org.sagebionetworks.table.cluster.SQLUtils;
 import org.sagebionetworks.table.cluster.TableIndexDAO;
+import org.sagebionetworks.table.cluster.description.BenefactorDescription;
 import org.sagebionetworks.table.cluster.description.IndexDescription;
 import org.sagebionetworks.table.cluster.description.TableIndexDescription;
 import org.sagebionetworks.table.cluster.metadata.ObjectFieldModelResolver;
@@ -76,6 +77,13 @@ import com.google.common.collect.Iterators;
 @Service
 public class TableIndexManagerImpl implements TableIndexManager {
 	public static final int BATCH_SIZE = 10_000;
+	
+	public static final String SOURCE_FROM_VERSION_PARAMETER = "sourceFromVersion";
+	
+	/**
+	 * The benefactor columns of an entity or submission view.
+	 */
+	static final List<String> VIEW_BENEFACTOR_COLUMNS = Collections.singletonList(TableConstants.ROW_BENEFACTOR);
 
 	static private Logger log = LogManager.getLogger(TableIndexManagerImpl.class);
 
@@ -383,9 +391,15 @@ public class TableIndexManagerImpl implements TableIndexManager {
 			// if the copy failed. Attempt to determine the cause.
 			determineCauseOfReplicationFailure(e, currentSchema, provider, scopeType.getTypeMask(), filter);
 		}
+		
+		IdAndVersion idAndVersion = IdAndVersion.newBuilder().setId(viewId).build();
+		
+		// Track the distinct benefactors of the view so that queries do not need to compute them
+		tableIndexDao.createBenefactorTableIfDoesNotExist(idAndVersion);
+		tableIndexDao.refreshBenefactorSet(idAndVersion, VIEW_BENEFACTOR_COLUMNS);
 
 		// Returns the next version of the view
-		return getNextVersionForView(IdAndVersion.newBuilder().setId(viewId).build());
+		return getNextVersionForView(idAndVersion);
 	}
 	
 	long getNextVersionForView(IdAndVersion viewId) {
@@ -746,6 +760,9 @@ public class TableIndexManagerImpl implements TableIndexManager {
 		IdAndVersion viewId = index.getIdAndVersion();
 		boolean isSearchEnabled = tableIndexDao.isSearchEnabled(viewId);
 		List<ColumnModel> searchSchema = getSchemaForSearchIndex(currentSchema);
+		List<String> benefactorColumns = getBenefactorColumnNames(index);
+		// The DDL cannot be executed within the transaction
+		tableIndexDao.createBenefactorTableIfDoesNotExist(viewId);
 		// all calls are in a single transaction.
 		tableIndexDao.executeInWriteTransaction((TransactionStatus status) -> {
 			Set<Long> rowIdsSet = filter.getLimitObjectIds().get();
@@ -756,6 +773,9 @@ public class TableIndexManagerImpl implements TableIndexManager {
 				// Apply any updates to the view for the given Ids
 				tableIndexDao.copyObjectReplicationToView(viewId.getId(), filter, currentSchema, provider);
 				
+				// The benefactors of the deleted rows are kept since a superset is still a valid filter
+				tableIndexDao.addBenefactorsOfRowsToSet(viewId, benefactorColumns, rowIdsSet);
+				
 				if (isSearchEnabled & !searchSchema.isEmpty()) {
 					List<TableRowData> rowsData = tableIndexDao.getTableDataForRowIds(viewId, searchSchema, rowIdsSet);
 					updateSearchIndex(index, rowsData.iterator());
@@ -825,7 +845,16 @@ public class TableIndexManagerImpl implements TableIndexManager {
 	public Optional<Long> refreshViewBenefactors(final IdAndVersion viewId) {
 		ValidateArgument.required(viewId, "viewId");
 		ViewScopeType scopeType = tableManagerSupport.getViewScopeType(viewId);
-		if (tableIndexDao.refreshViewBenefactors(viewId, scopeType.getObjectType().getMainType())) {
+		tableIndexDao.createBenefactorTableIfDoesNotExist(viewId);
+		boolean updated = tableIndexDao.executeInWriteTransaction((TransactionStatus status) -> {
+			if (tableIndexDao.refreshViewBenefactors(viewId, scopeType.getObjectType().getMainType())) {
+				// The benefactor set is updated with the rows so that readers never see a row with an untracked benefactor
+				tableIndexDao.refreshBenefactorSet(viewId, VIEW_BENEFACTOR_COLUMNS);
+				return true;
+			}
+			return false;
+		});
+		if (updated) {
 			return Optional.of(getNextVersionForView(viewId));
 		}
 		return Optional.empty();
@@ -1083,13 +1112,43 @@ public class TableIndexManagerImpl implements TableIndexManager {
 	public Long populateMaterializedViewFromDefiningSql(List<ColumnModel> viewSchema, QueryTranslator definingSql) {
 		IndexDescription indexDescription = definingSql.getIndexDescription();
 		
+		tableIndexDao.createBenefactorTableIfDoesNotExist(indexDescription.getIdAndVersion());
+		
 		return tableIndexDao.executeInWriteTransaction((TransactionStatus status) -> {
 			String insertSql = SQLTranslatorUtils.createMaterializedViewInsertSql(viewSchema, definingSql.getOutputSQL(), indexDescription);
 			tableIndexDao.update(insertSql, definingSql.getParameters());
+			tableIndexDao.refreshBenefactorSet(indexDescription.getIdAndVersion(), getBenefactorColumnNames(indexDescription));
+			return getVersionFromIndexDependencies(indexDescription);
+		});
+	}
+	
+	@Override
+	public Long updateMaterializedViewFromDefiningSql(List<ColumnModel> viewSchema, QueryTranslator changedRowsSql, long fromVersion) {
+		IndexDescription indexDescription = changedRowsSql.getIndexDescription();
+		
+		tableIndexDao.createBenefactorTableIfDoesNotExist(indexDescription.getIdAndVersion());
+		
+		return tableIndexDao.executeInWriteTransaction((TransactionStatus status) -> {
+			String deleteSql = SQLTranslatorUtils.createMaterializedViewDeleteChangedRowsSql(indexDescription, SOURCE_FROM_VERSION_PARAMETER);
+			tableIndexDao.update(deleteSql, Collections.singletonMap(SOURCE_FROM_VERSION_PARAMETER, fromVersion));
+			String insertSql = SQLTranslatorUtils.createMaterializedViewInsertSql(viewSchema, changedRowsSql.getOutputSQL(), indexDescription);
+			tableIndexDao.update(insertSql, changedRowsSql.getParameters());
+			tableIndexDao.refreshBenefactorSet(indexDescription.getIdAndVersion(), getBenefactorColumnNames(indexDescription));
 			return getVersionFromIndexDependencies(indexDescription);
 		});
 	}
 	
+	static List<String> getBenefactorColumnNames(IndexDescription index) {
+		return index.getBenefactors().stream().map(BenefactorDescription::getBenefactorColumnName).collect(Collectors.toList());
+	}
+	
+	@Override
+	public boolean isRowSourceIdIncluded(IdAndVersion tableId) {
+		boolean isTemporaryTable = false;
+		return tableIndexDao.getDatabaseInfo(tableId, isTemporaryTable).stream()
+			.anyMatch(info -> TableConstants.ROW_SOURCE_ID.equals(info.getColumnName()));
+	}
+	
 	@Override
 	public long getVersionFromIndexDependencies(IndexDescription index) {
 		return index.getDependencies().stream()
@@ -413,6 +413,16 @@ public interface TableManagerSupport extends SchemaProvider, IndexDescriptionLoo
 	 * @return True if full text search is enabled for the table with the given version
 	 */
 	boolean isTableSearchEnabled(IdAndVersion idAndVersion);
+	
+	/**
+	 * Get the metadata needed to plan a query against the table with the given
+	 * id. The snapshot is cached and only reloaded when the table or any of its
+	 * dependencies changed.
+	 * 
+	 * @param idAndVersion
+	 * @return
+	 */
+	QueryPlanningSnapshot getQueryPlanningSnapshot(IdAndVersion idAndVersion);
 
 	/**
 	 * Stream the data from the given table to the given bucket and key in S3
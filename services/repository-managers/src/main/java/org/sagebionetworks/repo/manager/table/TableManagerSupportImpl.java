@@ -114,6 +114,8 @@ public class TableManagerSupportImpl implements TableManagerSupport {
 	private final Clock clock;
 	private final Logger log;
 	private final TableExceptionTranslator tableExceptionTranslator;
+	private final AccessibleBenefactorsCache accessibleBenefactorsCache;
+	private final QueryPlanningSnapshotCache queryPlanningSnapshotCache;
 	
 	@Autowired
 	public TableManagerSupportImpl(TableStatusDAO tableStatusDAO, TimeoutUtils timeoutUtils,
@@ -123,7 +125,8 @@ public class TableManagerSupportImpl implements TableManagerSupport {
 			AuthorizationManager authorizationManager, TableSnapshotDao tableSnapshotDao,
 			MetadataIndexProviderFactory metadataIndexProviderFactory, DefaultColumnModelMapper defaultColumnMapper,
 			MaterializedViewDao materializedViewDao, FileProvider fileProvider, SynapseS3Client s3Client, Clock clock, LoggerProvider loggerProvider
-			, TableExceptionTranslator tableExceptionTranslator) {
+			, TableExceptionTranslator tableExceptionTranslator, AccessibleBenefactorsCache accessibleBenefactorsCache,
+			QueryPlanningSnapshotCache queryPlanningSnapshotCache) {
 		super();
 		this.tableStatusDAO = tableStatusDAO;
 		this.timeoutUtils = timeoutUtils;
@@ -144,6 +147,8 @@ public class TableManagerSupportImpl implements TableManagerSupport {
 		this.clock = clock;
 		this.log = loggerProvider.getLogger(TableManagerSupportImpl.class.getName());
 		this.tableExceptionTranslator = tableExceptionTranslator;
+		this.accessibleBenefactorsCache = accessibleBenefactorsCache;
+		this.queryPlanningSnapshotCache = queryPlanningSnapshotCache;
 	}
 
 	/*
@@ -541,7 +546,7 @@ public class TableManagerSupportImpl implements TableManagerSupport {
 
 	@Override
 	public Set<Long> getAccessibleBenefactors(UserInfo user, ObjectType benefactorType, Set<Long> benefactorIds) {
-		return authorizationManager.getAccessibleBenefactors(user, benefactorType, benefactorIds);
+		return accessibleBenefactorsCache.getAccessibleBenefactors(user, benefactorType, benefactorIds);
 	}
 
 	@Override
@@ -678,6 +683,20 @@ public class TableManagerSupportImpl implements TableManagerSupport {
 		return nodeDao.isSearchEnabled(idAndVersion.getId(), idAndVersion.getVersion().orElse(null));
 	}
 	
+	@Override
+	public QueryPlanningSnapshot getQueryPlanningSnapshot(IdAndVersion idAndVersion) {
+		ValidateArgument.required(idAndVersion, "idAndVersion");
+		return queryPlanningSnapshotCache.getSnapshot(idAndVersion, this::createQueryPlanningSnapshot);
+	}
+	
+	QueryPlanningSnapshot createQueryPlanningSnapshot(IdAndVersion idAndVersion) {
+		IndexDescription indexDescription = getIndexDescription(idAndVersion);
+		List<ColumnModel> schema = getTableSchema(idAndVersion);
+		boolean isSearchEnabled = isTableSearchEnabled(idAndVersion);
+		TableState state = getTableStatusState(idAndVersion).orElse(null);
+		return new QueryPlanningSnapshot(indexDescription, schema, isSearchEnabled, state);
+	}
+	
 	@Override
 	public List<String> streamTableIndexToS3(IdAndVersion idAndVersion, String bucket, String key) {
 		File tempFile = null;
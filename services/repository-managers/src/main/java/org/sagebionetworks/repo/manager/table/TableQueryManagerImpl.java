@@ -57,6 +57,7 @@ import org.sagebionetworks.table.cluster.CachedQueryRequest;
 import org.sagebionetworks.table.cluster.CombinedQuery;
 import org.sagebionetworks.table.cluster.ConnectionFactory;
 import org.sagebionetworks.table.cluster.QueryTranslator;
+import org.sagebionetworks.table.cluster.QueryTranslatorCache;
 import org.sagebionetworks.table.cluster.TableIndexDAO;
 import org.sagebionetworks.table.cluster.description.BenefactorDescription;
 import org.sagebionetworks.table.cluster.description.IndexDescription;
@@ -86,14 +87,16 @@ public class TableQueryManagerImpl implements TableQueryManager {
 	private EntityAuthorizationManager entityAuthorizationManager;
 	private ExecutorService threadPool;
 	private QueryCacheManager queryCacheManager;
+	private QueryTranslatorCache queryTranslatorCache;
 
 	@Autowired
-	public TableQueryManagerImpl(TableManagerSupport tableManagerSupport, ConnectionFactory tableConnectionFactory, EntityAuthorizationManager entityAuthorizationManager, ExecutorService cachedThreadPool, QueryCacheManager queryCacheManager) {
+	public TableQueryManagerImpl(TableManagerSupport tableManagerSupport, ConnectionFactory tableConnectionFactory, EntityAuthorizationManager entityAuthorizationManager, ExecutorService cachedThreadPool, QueryCacheManager queryCacheManager, QueryTranslatorCache queryTranslatorCache) {
 		this.tableManagerSupport = tableManagerSupport;
 		this.tableConnectionFactory = tableConnectionFactory;
 		this.entityAuthorizationManager = entityAuthorizationManager;
 		this.threadPool = cachedThreadPool;
 		this.queryCacheManager = queryCacheManager;
+		this.queryTranslatorCache = queryTranslatorCache;
 	}
 	
 	/**
@@ -216,13 +219,14 @@ public class TableQueryManagerImpl implements TableQueryManager {
 		// We now have the table's ID.
 		String tableId = model.getSingleTableName().orElseThrow(TableConstants.JOIN_NOT_SUPPORTED_IN_THIS_CONTEXT);
 		IdAndVersion idAndVersion = IdAndVersion.parse(tableId);
-		IndexDescription indexDescription = tableManagerSupport.getIndexDescription(idAndVersion);
+		// The snapshot is cached and only reloaded when the table or any of its dependencies changed
+		QueryPlanningSnapshot snapshot = tableManagerSupport.getQueryPlanningSnapshot(idAndVersion);
+		IndexDescription indexDescription = snapshot.getIndexDescription();
 		// 2. Validate the user has read access on this table
 		tableManagerSupport.validateTableReadAccess(user, indexDescription);
 
-		// 3. Get the table's schema count
-		long count = tableManagerSupport.getTableSchemaCount(idAndVersion);
-		if (count < 1L) {
+		// 3. Check the table's schema
+		if (snapshot.getSchema().isEmpty()) {
 			throw new EmptyResultException("Table schema is empty for: " + tableId, tableId);
 		}
 		String preprocessedSql = indexDescription.preprocessQuery(query.getSql());
@@ -236,7 +240,7 @@ public class TableQueryManagerImpl implements TableQueryManager {
 		QueryContext expansion = QueryContext.builder()
 			.setStartingSql(preprocessedModel.toSql())
 			.setUserId(user.getId())
-			.setSchemaProvider(tableManagerSupport)
+			.setSchemaProvider(new QueryPlanningSchemaProvider(tableManagerSupport))
 			.setIndexDescription(indexDescription)
 			.setMaxBytesPerPage(maxBytesPerPage)
 			.setMaxRowsPerCall(MAX_ROWS_PER_CALL)
@@ -247,6 +251,7 @@ public class TableQueryManagerImpl implements TableQueryManager {
 			.setOffset(query.getOffset())
 			.setSort(query.getSort())
 			.setIncludeEntityEtag(query.getIncludeEntityEtag())
+			.setQueryTranslatorCache(queryTranslatorCache)
 		.build();
 
 		return new QueryTranslations(expansion, options);
@@ -578,7 +583,7 @@ public class TableQueryManagerImpl implements TableQueryManager {
 			CachedQueryRequest cacheRequest = new CachedQueryRequest()
 				.setOutputSQL(countSqlQuery.getSql())
 				.setParameters(countSqlQuery.getParameters())
-				.setSelectColumns(List.of(new SelectColumn().setColumnType(ColumnType.INTEGER)))
+				.setSelectColumns(List.of(new SelectColumn().setColumnType(ColumnType.INTEGER)))
 				.setIncludesRowIdAndVersion(false)
 				.setIncludesRowIdAndVersion(false)
 				.setSingleTableId(query.getSingleTableId())
@@ -769,7 +774,7 @@ public class TableQueryManagerImpl implements TableQueryManager {
 			throws NotFoundException, TableUnavailableException, TableFailedException {
 		String tableId = query.getSingleTableName().orElseThrow(TableConstants.JOIN_NOT_SUPPORTED_IN_THIS_CONTEXT);
 		IdAndVersion idAndVersion = IdAndVersion.parse(tableId);
-		IndexDescription indexDescription = tableManagerSupport.getIndexDescription(idAndVersion);
+		IndexDescription indexDescription = tableManagerSupport.getQueryPlanningSnapshot(idAndVersion).getIndexDescription();
 		if(indexDescription.getBenefactors().isEmpty()) {
 			// with no benefactors nothing is needed.
 			return;
@@ -777,12 +782,14 @@ public class TableQueryManagerImpl implements TableQueryManager {
 		TableIndexDAO indexDao = tableConnectionFactory.getConnection(idAndVersion);
 		QuerySpecification resultQuery = query;
 		for(BenefactorDescription dependencyDesc: indexDescription.getBenefactors()) {
-			// lookup the distinct benefactor IDs applied to the table.
-			Set<Long> tableBenefactors = null;
-			try {
-				tableBenefactors = indexDao.getDistinctLongValues(idAndVersion, dependencyDesc.getBenefactorColumnName());
-			} catch (BadSqlGrammarException e) { // table has not been created yet
-				tableBenefactors = Collections.emptySet();
+			// lookup the distinct benefactor IDs applied to the table, the set maintained with the index avoids scanning the table.
+			Set<Long> tableBenefactors = indexDao.getBenefactorSet(idAndVersion, dependencyDesc.getBenefactorColumnName()).orElse(null);
+			if (tableBenefactors == null) {
+				try {
+					tableBenefactors = indexDao.getDistinctLongValues(idAndVersion, dependencyDesc.getBenefactorColumnName());
+				} catch (BadSqlGrammarException e) { // table has not been created yet
+					tableBenefactors = Collections.emptySet();
+				}
 			}
 
 			Set<Long> accessibleBenefactors = tableManagerSupport.getAccessibleBenefactors(user, dependencyDesc.getBenefactorType(), tableBenefactors);
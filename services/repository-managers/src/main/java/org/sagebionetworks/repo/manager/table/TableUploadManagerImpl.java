@@ -1,32 +1,46 @@
 package org.sagebionetworks.repo.manager.table;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.sagebionetworks.aws.SynapseS3Client;
 import org.sagebionetworks.common.util.progress.ProgressCallback;
 import org.sagebionetworks.repo.manager.file.FileHandleManager;
 import org.sagebionetworks.repo.model.UserInfo;
-import org.sagebionetworks.repo.model.dbo.dao.table.CSVToRowIterator;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
 import org.sagebionetworks.repo.model.entity.IdAndVersion;
 import org.sagebionetworks.repo.model.file.FileConstants;
 import org.sagebionetworks.repo.model.file.S3FileHandle;
 import org.sagebionetworks.repo.model.table.ColumnModel;
 import org.sagebionetworks.repo.model.table.TableUpdateResponse;
 import org.sagebionetworks.repo.model.table.UploadToTableRequest;
+import org.sagebionetworks.table.cluster.utils.CSVRecordChunker;
 import org.sagebionetworks.table.cluster.utils.CSVUtils;
-import org.sagebionetworks.util.FileProvider;
+import org.sagebionetworks.util.Clock;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import com.amazonaws.services.s3.model.GetObjectRequest;
-
-import au.com.bytecode.opencsv.CSVReader;
-
 public class TableUploadManagerImpl implements TableUploadManager {
 	
+	/**
+	 * The number of bytes downloaded from S3 with each range request.
+	 */
+	public static final int S3_RANGE_SIZE_BYTES = 8 * 1024 * 1024;
+	/**
+	 * The number of ranges downloaded ahead of the CSV parser.
+	 */
+	public static final int S3_MAX_RANGES_AHEAD = 2;
+	/**
+	 * The minimum number of characters of the CSV parsed by each parser task.
+	 */
+	public static final int CSV_CHUNK_CHARACTERS = 1024 * 1024;
+	/**
+	 * The number of CSV chunks that are parsed ahead of the row processor.
+	 */
+	public static final int CSV_MAX_CHUNKS_IN_FLIGHT = 4;
+	
 	@Autowired
 	private TableManagerSupport tableManagerSupport;
 	@Autowired
@@ -34,56 +48,90 @@ public class TableUploadManagerImpl implements TableUploadManager {
 	@Autowired
 	private SynapseS3Client s3Client;
 	@Autowired
-	private FileProvider fileProvider;
+	private ExecutorService cachedThreadPool;
+	@Autowired
+	private Clock clock;
 
 	@Override
 	public TableUpdateResponse uploadCSV(ProgressCallback progressCallback, UserInfo user, UploadToTableRequest request, UploadRowProcessor rowProcessor) {
-		CSVReader reader = null;
-		File tempFile = null;
-		try{
-			// Get the filehandle
-			S3FileHandle fileHandle = (S3FileHandle) fileHandleManager.getRawFileHandle(user, request.getUploadFileHandleId());
-			if(fileHandle.getContentSize() == null) {
-				throw new IllegalArgumentException("File content size cannot be null.");
-			}
-			if(fileHandle.getContentSize() > FileConstants.BULK_FILE_DOWNLOAD_MAX_SIZE_BYTES) {
-				throw new IllegalArgumentException("The provided CSV file exceeds the maximum size of "+FileConstants.MAX_FILE_SIZE_GB+" GB.");
-			}
-			IdAndVersion idAndVersion = IdAndVersion.parse(request.getTableId());
-			// Get the schema for the table
-			List<ColumnModel> tableSchema = tableManagerSupport.getTableSchema(idAndVersion);
-			// download the CSV to a temp file (see PLFM-4975).
-			tempFile = fileProvider.createTempFile("TableUploadManagerImpl", ".csv");
-			s3Client.getObject(new GetObjectRequest(fileHandle.getBucketName(), fileHandle.getKey()), tempFile);
-			// Create a reader from the passed parameters
-			// Note: The CSVToRowIterator handles linesToSkip so we pass null linesToSkip for the reader.
-			reader = CSVUtils.createCSVReader(new InputStreamReader(fileProvider.createFileInputStream(tempFile), "UTF-8"), request.getCsvTableDescriptor(), null);
-			
-			if(request.getColumnIds() != null && !request.getColumnIds().isEmpty()){
-				throw new IllegalArgumentException("Unsupported columnIds");
-			}
-			
-			// Create the iterator
-			boolean isFirstLineHeader = CSVUtils.isFirstRowHeader(request.getCsvTableDescriptor());
-			CSVToRowIterator iterator = new CSVToRowIterator(tableSchema, reader, isFirstLineHeader, request.getLinesToSkip());
+		// Get the filehandle
+		S3FileHandle fileHandle = (S3FileHandle) fileHandleManager.getRawFileHandle(user, request.getUploadFileHandleId());
+		if(fileHandle.getContentSize() == null) {
+			throw new IllegalArgumentException("File content size cannot be null.");
+		}
+		if(fileHandle.getContentSize() > FileConstants.BULK_FILE_DOWNLOAD_MAX_SIZE_BYTES) {
+			throw new IllegalArgumentException("The provided CSV file exceeds the maximum size of "+FileConstants.MAX_FILE_SIZE_GB+" GB.");
+		}
+		if(request.getColumnIds() != null && !request.getColumnIds().isEmpty()){
+			throw new IllegalArgumentException("Unsupported columnIds");
+		}
+		IdAndVersion idAndVersion = IdAndVersion.parse(request.getTableId());
+		// Get the schema for the table
+		List<ColumnModel> tableSchema = tableManagerSupport.getTableSchema(idAndVersion);
+		/*
+		 * The CSV is streamed from S3 with short range requests that are downloaded
+		 * ahead of the parser, so a slow row processor never holds an S3 connection
+		 * open (see PLFM-4975).
+		 */
+		S3ReadAheadInputStream s3Stream = new S3ReadAheadInputStream(s3Client, fileHandle.getBucketName(),
+				fileHandle.getKey(), fileHandle.getContentSize(), S3_RANGE_SIZE_BYTES, S3_MAX_RANGES_AHEAD, cachedThreadPool);
+		CSVRecordChunker chunker = CSVUtils.createCSVRecordChunker(new InputStreamReader(s3Stream, StandardCharsets.UTF_8), request.getCsvTableDescriptor());
+		long startMS = clock.currentTimeMillis();
+		// Note: The first chunk includes the linesToSkip which are skipped by the iterator.
+		boolean isFirstLineHeader = CSVUtils.isFirstRowHeader(request.getCsvTableDescriptor());
+		try (ParallelCSVToRowIterator iterator = new ParallelCSVToRowIterator(tableSchema, request.getCsvTableDescriptor(),
+				chunker, isFirstLineHeader, request.getLinesToSkip(), cachedThreadPool, CSV_CHUNK_CHARACTERS,
+				CSV_MAX_CHUNKS_IN_FLIGHT, (it) -> {
+					reportProgress(progressCallback, s3Stream.getBytesDownloaded(), fileHandle.getContentSize(),
+							it.getRowsParsed(), it.getRowsRead(), clock.currentTimeMillis() - startMS);
+				})) {
 			// Append the data to the table
 			return rowProcessor.processRows(user, request.getTableId(),
 					tableSchema, iterator, request.getUpdateEtag(), progressCallback);
-		} catch (UnsupportedEncodingException e) {
-			throw new RuntimeException(e);
 		} catch (IOException e) {
 			throw new RuntimeException(e);
-		}finally{
-			if(reader != null){
-				try {
-					// Unconditionally close the stream to the S3 file.
-					reader.close();
-				} catch (IOException e) {}
-			}
-			if(tempFile != null) {
-				tempFile.delete();
-			}
+		} finally {
+			// Unconditionally close the stream to the S3 file.
+			s3Stream.close();
+		}
+	}
+	
+	/**
+	 * Report the throughput of each stage of the upload when the job progress can
+	 * be updated.
+	 * 
+	 * @param progressCallback
+	 * @param bytesDownloaded
+	 * @param totalBytes
+	 * @param rowsParsed
+	 * @param rowsProcessed
+	 * @param elapsedMS
+	 */
+	static void reportProgress(ProgressCallback progressCallback, long bytesDownloaded, long totalBytes, long rowsParsed,
+			long rowsProcessed, long elapsedMS) {
+		if (!(progressCallback instanceof AsyncJobProgressCallback)) {
+			return;
 		}
+		((AsyncJobProgressCallback) progressCallback).updateProgress(
+				createProgressMessage(bytesDownloaded, totalBytes, rowsParsed, rowsProcessed, elapsedMS), bytesDownloaded,
+				totalBytes);
+	}
+	
+	/**
+	 * 
+	 * @param bytesDownloaded
+	 * @param totalBytes
+	 * @param rowsParsed
+	 * @param rowsProcessed
+	 * @param elapsedMS
+	 * @return
+	 */
+	static String createProgressMessage(long bytesDownloaded, long totalBytes, long rowsParsed, long rowsProcessed,
+			long elapsedMS) {
+		double seconds = Math.max(elapsedMS, 1L) / 1000.0;
+		return String.format("Downloaded %d of %d bytes (%.1f MB/s), parsed %d rows (%.0f rows/s), processed %d rows (%.0f rows/s)",
+				bytesDownloaded, totalBytes, bytesDownloaded / seconds / (1024 * 1024), rowsParsed, rowsParsed / seconds,
+				rowsProcessed, rowsProcessed / seconds);
 	}
 
 }
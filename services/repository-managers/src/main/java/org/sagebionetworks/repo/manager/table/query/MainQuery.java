@@ -17,10 +17,16 @@ public class MainQuery {
 				.setOverrideLimit(expansion.getLimit()).setSelectedFacets(expansion.getSelectedFacets())
 				.setSortList(expansion.getSort()).setAdditionalFilters(expansion.getAdditionalFilters()).build();
 
-		sqlQuery = QueryTranslator.builder(combined.getCombinedSql(), expansion.getUserId())
-				.schemaProvider(expansion.getSchemaProvider()).indexDescription(expansion.getIndexDescription())
-				.maxBytesPerPage(expansion.getMaxBytesPerPage()).includeEntityEtag(expansion.getIncludeEntityEtag())
-				.build();
+		if (expansion.getQueryTranslatorCache() != null) {
+			sqlQuery = expansion.getQueryTranslatorCache().getTranslator(combined, expansion.getSchemaProvider(),
+					expansion.getIndexDescription(), expansion.getUserId(), expansion.getMaxBytesPerPage(),
+					expansion.getIncludeEntityEtag());
+		} else {
+			sqlQuery = QueryTranslator.builder(combined.getCombinedSql(), expansion.getUserId())
+					.schemaProvider(expansion.getSchemaProvider()).indexDescription(expansion.getIndexDescription())
+					.maxBytesPerPage(expansion.getMaxBytesPerPage()).includeEntityEtag(expansion.getIncludeEntityEtag())
+					.build();
+		}
 	}
 
 	public QueryTranslator getTranslator() {
@@ -5,6 +5,7 @@ import java.util.List;
 import org.sagebionetworks.repo.model.table.FacetColumnRequest;
 import org.sagebionetworks.repo.model.table.QueryFilter;
 import org.sagebionetworks.repo.model.table.SortItem;
+import org.sagebionetworks.table.cluster.QueryTranslatorCache;
 import org.sagebionetworks.table.cluster.SchemaProvider;
 import org.sagebionetworks.table.cluster.description.IndexDescription;
 import org.sagebionetworks.util.ValidateArgument;
@@ -31,11 +32,12 @@ public class QueryContext {
 	private final Long offset;
 	private final Long limit;
 	private final List<SortItem> sort;
+	private final QueryTranslatorCache queryTranslatorCache;
 
 	public QueryContext(String startingSql, SchemaProvider schemaProvider, IndexDescription indexDescription,
 			Long userId, Long maxBytesPerPage, Long maxRowsPerCall, List<QueryFilter> additionalFilters,
 			List<FacetColumnRequest> selectedFacets, Long selectFileColumn, Boolean includeEntityEtag, Long offset,
-			Long limit, List<SortItem> sort) {
+			Long limit, List<SortItem> sort, QueryTranslatorCache queryTranslatorCache) {
 
 		ValidateArgument.required(startingSql, "startingSql");
 		ValidateArgument.required(schemaProvider, "schemaProvider");
@@ -54,6 +56,7 @@ public class QueryContext {
 		this.offset = offset;
 		this.limit = limit;
 		this.sort = sort;
+		this.queryTranslatorCache = queryTranslatorCache;
 	}
 
 	/**
@@ -144,6 +147,14 @@ public class QueryContext {
 		return sort;
 	}
 
+	/**
+	 * @return The cache used to translate the main query, null if the main query
+	 *         should always be translated
+	 */
+	public QueryTranslatorCache getQueryTranslatorCache() {
+		return queryTranslatorCache;
+	}
+
 	public static Builder builder() {
 		return new Builder();
 	}
@@ -163,6 +174,7 @@ public class QueryContext {
 		private Long offset;
 		private Long limit;
 		private List<SortItem> sort;
+		private QueryTranslatorCache queryTranslatorCache;
 
 		/**
 		 * @param startingSql the startingSql to set
@@ -269,10 +281,18 @@ public class QueryContext {
 			return this;
 		}
 
+		/**
+		 * @param queryTranslatorCache the queryTranslatorCache to set
+		 */
+		public Builder setQueryTranslatorCache(QueryTranslatorCache queryTranslatorCache) {
+			this.queryTranslatorCache = queryTranslatorCache;
+			return this;
+		}
+
 		public QueryContext build() {
 			return new QueryContext(startingSql, schemaProvider, indexDescription, userId, maxBytesPerPage,
 					maxRowsPerCall, additionalFilters, selectedFacets, selectFileColumn, includeEntityEtag, offset,
-					limit, sort);
+					limit, sort, queryTranslatorCache);
 		}
 
 	}
@@ -6,6 +6,9 @@ import org.sagebionetworks.repo.model.DatastoreException;
 import org.sagebionetworks.repo.model.TrashedEntity;
 import org.sagebionetworks.repo.model.UnauthorizedException;
 import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
+import org.sagebionetworks.repo.model.trash.TrashPurgeRequest;
+import org.sagebionetworks.repo.model.trash.TrashPurgeResponse;
 import org.sagebionetworks.repo.web.NotFoundException;
 
 /**
@@ -76,4 +79,19 @@ public interface TrashManager {
 	 */
 	void purgeTrash(UserInfo user, List<Long> trashIDs);
 	
+	/**
+	 * Permanently deletes an entity in the trash can along with all of its descendants. The hierarchy is deleted
+	 * starting from the leaves in batches of at most {@link TrashManagerImpl#PURGE_BATCH_SIZE} entities, each
+	 * committed in its own transaction. The entity stays in the trash can until its whole hierarchy is deleted, so a
+	 * purge that fails can be started again and will resume from the remaining hierarchy. The purge stops if the
+	 * entity is restored before it completes.
+	 * 
+	 * @param user               Must be an administrator or the user that moved the entity to the trash can.
+	 * @param request
+	 * @param progressCallback   Updated after each batch
+	 * @return
+	 * @throws NotFoundException If the entity is not in the trash can
+	 */
+	TrashPurgeResponse purgeTrashedEntity(UserInfo user, TrashPurgeRequest request, AsyncJobProgressCallback progressCallback) throws NotFoundException;
+	
 }
@@ -2,10 +2,8 @@ package org.sagebionetworks.repo.manager.trash;
 
 import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import org.sagebionetworks.repo.manager.AuthorizationManager;
 import org.sagebionetworks.repo.manager.ProjectSettingsManager;
@@ -14,13 +12,13 @@ import org.sagebionetworks.repo.model.AccessControlList;
 import org.sagebionetworks.repo.model.AccessControlListDAO;
 import org.sagebionetworks.repo.model.DatastoreException;
 import org.sagebionetworks.repo.model.EntityType;
-import org.sagebionetworks.repo.model.LimitExceededException;
 import org.sagebionetworks.repo.model.Node;
 import org.sagebionetworks.repo.model.NodeDAO;
 import org.sagebionetworks.repo.model.ObjectType;
 import org.sagebionetworks.repo.model.TrashedEntity;
 import org.sagebionetworks.repo.model.UnauthorizedException;
 import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
 import org.sagebionetworks.repo.model.dbo.dao.NodeUtils;
 import org.sagebionetworks.repo.model.dbo.trash.TrashCanDao;
 import org.sagebionetworks.repo.model.jdo.KeyFactory;
@@ -28,6 +26,8 @@ import org.sagebionetworks.repo.model.message.ChangeType;
 import org.sagebionetworks.repo.model.message.TransactionalMessenger;
 import org.sagebionetworks.repo.model.project.ProjectSettingsType;
 import org.sagebionetworks.repo.model.project.UploadDestinationListSetting;
+import org.sagebionetworks.repo.model.trash.TrashPurgeRequest;
+import org.sagebionetworks.repo.model.trash.TrashPurgeResponse;
 import org.sagebionetworks.repo.model.util.AccessControlListUtil;
 import org.sagebionetworks.repo.transactions.WriteTransaction;
 import org.sagebionetworks.repo.web.NotFoundException;
@@ -39,11 +39,14 @@ import org.springframework.stereotype.Service;
 public class TrashManagerImpl implements TrashManager {
 	
 	/**
-	 * The maximum number of sub-folder IDs that can be loaded into memory.
+	 * The maximum number of sub-folder IDs that are loaded into memory at once.
 	 */
 	public static final int MAX_IDS_TO_LOAD = 10*1000;
-
-	private static final String UNABLE_TO_DELETE_TOO_MANY_SUB_FOLDERS = "Unable to delete a project/folder with more than "+MAX_IDS_TO_LOAD+" sub-folders. Please delete the sub-folders first.";
+	
+	/**
+	 * The maximum number of entities deleted in a single transaction when purging a trashed entity.
+	 */
+	public static final int PURGE_BATCH_SIZE = 1000;
 
 	@Autowired
 	private AuthorizationManager authorizationManager;
@@ -110,17 +113,19 @@ public class TrashManagerImpl implements TrashManager {
 		// If this node has an ACL then delete it.
 		aclDAO.delete(nodeId, ObjectType.ENTITY);
 		
-		// Delete all ACLs within the hierarchy
-		// Get the list of all parentIds for this hierarchy.
-		Set<Long> allParentIds;
-		try {
-			allParentIds = nodeDao.getAllContainerIds(nodeId, MAX_IDS_TO_LOAD);
-		} catch (LimitExceededException e) {
-			throw new IllegalArgumentException(UNABLE_TO_DELETE_TOO_MANY_SUB_FOLDERS);
-		}
-		// Lookup all children with ACLs for the given parents.
-		List<Long> childrenWithAcls = aclDAO.getChildrenEntitiesWithAcls(new LinkedList<Long>(allParentIds));
-		aclDAO.delete(childrenWithAcls, ObjectType.ENTITY);
+		// Delete all ACLs within the hierarchy, one page of parentIds at a time.
+		long afterId = -1L;
+		List<Long> parentIds;
+		do {
+			parentIds = nodeDao.getContainerIdsPage(nodeId, afterId, MAX_IDS_TO_LOAD);
+			if (parentIds.isEmpty()) {
+				break;
+			}
+			// Lookup all children with ACLs for the given parents.
+			List<Long> childrenWithAcls = aclDAO.getChildrenEntitiesWithAcls(parentIds);
+			aclDAO.delete(childrenWithAcls, ObjectType.ENTITY);
+			afterId = parentIds.get(parentIds.size() - 1);
+		} while (parentIds.size() == MAX_IDS_TO_LOAD);
 	}
 
 	/**
@@ -271,6 +276,47 @@ public class TrashManagerImpl implements TrashManager {
 		trashCanDao.delete(trashIDs);
 	}
 	
+	@Override
+	public TrashPurgeResponse purgeTrashedEntity(UserInfo user, TrashPurgeRequest request, AsyncJobProgressCallback progressCallback) throws NotFoundException {
+		ValidateArgument.required(user, "The user");
+		ValidateArgument.required(request, "The request");
+		ValidateArgument.requiredNotBlank(request.getEntityId(), "The entityId");
+		ValidateArgument.required(progressCallback, "The progressCallback");
+		
+		String entityId = request.getEntityId();
+		
+		TrashedEntity trash = getTrashedEntityOrThrow(entityId);
+		
+		String userId = user.getId().toString();
+		
+		if (!user.isAdmin() && !userId.equals(trash.getDeletedByPrincipalId())) {
+			throw new UnauthorizedException("User " + userId + " not allowed to purge " + entityId + ". The node was deleted by a different user.");
+		}
+		
+		Long rootId = KeyFactory.stringToKey(entityId);
+		// The sub-tree and the root
+		long totalCount = nodeDao.getSubTreeNodeCount(rootId) + 1;
+		long purgedCount = 0;
+		boolean rootDeleted = false;
+		
+		while (!rootDeleted) {
+			// Each batch is committed on its own, the batch checks that the entity is still in the trash can
+			List<Long> deleted = nodeDao.deleteTreeBatch(entityId, PURGE_BATCH_SIZE);
+			purgedCount += deleted.size();
+			rootDeleted = deleted.contains(rootId);
+			progressCallback.updateProgress("Purged " + purgedCount + " entities", purgedCount, Math.max(totalCount, purgedCount));
+		}
+		
+		aclDAO.delete(entityId, ObjectType.ENTITY);
+		trashCanDao.delete(Collections.singletonList(rootId));
+		
+		return new TrashPurgeResponse().setEntityId(entityId).setNumberOfEntitiesPurged(purgedCount);
+	}
+	
+	private TrashedEntity getTrashedEntityOrThrow(String entityId) {
+		return trashCanDao.getTrashedEntity(entityId).orElseThrow(() -> new NotFoundException("The node " + entityId + " is not in the trash can."));
+	}
+	
 	@Override
 	public List<Long> getTrashLeavesBefore(long numDays, long maxTrashItems) throws DatastoreException{
 		return trashCanDao.getTrashLeavesIds(numDays, maxTrashItems);
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -13,6 +14,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +44,7 @@ import org.sagebionetworks.repo.model.asynch.AsynchronousJobStatus;
 import org.sagebionetworks.repo.model.asynch.AsynchronousRequestBody;
 import org.sagebionetworks.repo.model.asynch.ReadOnlyRequestBody;
 import org.sagebionetworks.repo.model.auth.CallersContext;
+import org.sagebionetworks.repo.model.dao.asynch.AsynchJobProgress;
 import org.sagebionetworks.repo.model.dao.asynch.AsynchronousJobStatusDAO;
 import org.sagebionetworks.repo.model.dbo.asynch.AsynchJobType;
 import org.sagebionetworks.repo.model.file.BulkFileDownloadRequest;
@@ -51,6 +54,7 @@ import org.sagebionetworks.repo.model.table.DownloadFromTableResult;
 import org.sagebionetworks.repo.model.table.UploadToTableRequest;
 import org.sagebionetworks.repo.model.table.UploadToTableResult;
 import org.sagebionetworks.repo.web.NotFoundException;
+import org.sagebionetworks.util.Clock;
 
 import com.amazonaws.services.cloudwatch.model.StandardUnit;
 
@@ -75,6 +79,8 @@ public class AsynchJobStatusManagerImplTest {
 	StackConfiguration mockStackConfig;
 	@Mock
 	Consumer mockConsumer;
+	@Mock
+	Clock mockClock;
 	@Captor
 	ArgumentCaptor<ProfileData> profileCaptor;
 	
@@ -334,8 +340,114 @@ public class AsynchJobStatusManagerImplTest {
 	@Test
 	public void testUpdateProgressHappy() throws DatastoreException, NotFoundException{
 		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE);
+		when(mockClock.currentTimeMillis()).thenReturn(1L);
 		String jobId = "123";
 		manager.updateJobProgress(jobId, 0L, 100L, "testing");
+		// progress is buffered until flushed.
+		verify(mockAsynchJobStatusDao, never()).updateJobProgress(any(List.class));
+		manager.flushJobProgress();
+		verify(mockAsynchJobStatusDao).updateJobProgress(Arrays.asList(new AsynchJobProgress(jobId, 0L, 100L, "testing", 1L)));
+	}
+	
+	@Test
+	public void testUpdateProgressNullJobId(){
+		assertThrows(IllegalArgumentException.class, ()->{
+			manager.updateJobProgress(null, 0L, 100L, "testing");
+		});
+	}
+	
+	@Test
+	public void testFlushJobProgressKeepsLatestPerJob(){
+		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE);
+		when(mockClock.currentTimeMillis()).thenReturn(1L);
+		manager.updateJobProgress("123", 0L, 100L, "one");
+		manager.updateJobProgress("456", 0L, 10L, "two");
+		manager.updateJobProgress("123", 50L, 100L, "three");
+		// call under test
+		manager.flushJobProgress();
+		ArgumentCaptor<List<AsynchJobProgress>> captor = ArgumentCaptor.forClass(List.class);
+		verify(mockAsynchJobStatusDao).updateJobProgress(captor.capture());
+		List<AsynchJobProgress> batch = captor.getValue();
+		assertEquals(2, batch.size());
+		assertTrue(batch.contains(new AsynchJobProgress("123", 50L, 100L, "three", 1L)));
+		assertTrue(batch.contains(new AsynchJobProgress("456", 0L, 10L, "two", 1L)));
+		// the stack status is only read once within the cache period.
+		verify(mockStackStatusDao).getCurrentStatus();
+		// nothing left to flush
+		manager.flushJobProgress();
+		verify(mockAsynchJobStatusDao).updateJobProgress(any(List.class));
+	}
+	
+	@Test
+	public void testFlushJobProgressNothingPending(){
+		// call under test
+		manager.flushJobProgress();
+		verify(mockAsynchJobStatusDao, never()).updateJobProgress(any(List.class));
+		verify(mockStackStatusDao, never()).getCurrentStatus();
+	}
+	
+	@Test
+	public void testFlushJobProgressReadOnly(){
+		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE, StatusEnum.READ_ONLY);
+		when(mockClock.currentTimeMillis()).thenReturn(1L, 2L, 1L + AsynchJobStatusManagerImpl.STACK_STATUS_CACHE_MS);
+		manager.updateJobProgress("123", 0L, 100L, "testing");
+		// call under test
+		manager.flushJobProgress();
+		// the progress is dropped since the job will be aborted.
+		verify(mockAsynchJobStatusDao, never()).updateJobProgress(any(List.class));
+		verify(mockStackStatusDao, times(2)).getCurrentStatus();
+	}
+	
+	@Test
+	public void testGetCachedStackStatusExpires(){
+		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE, StatusEnum.READ_ONLY);
+		when(mockClock.currentTimeMillis()).thenReturn(0L, AsynchJobStatusManagerImpl.STACK_STATUS_CACHE_MS - 1, AsynchJobStatusManagerImpl.STACK_STATUS_CACHE_MS);
+		// call under test
+		assertEquals(StatusEnum.READ_WRITE, manager.getCachedStackStatus());
+		assertEquals(StatusEnum.READ_WRITE, manager.getCachedStackStatus());
+		assertEquals(StatusEnum.READ_ONLY, manager.getCachedStackStatus());
+		verify(mockStackStatusDao, times(2)).getCurrentStatus();
+	}
+	
+	@Test
+	public void testSetFailedFlushesProgress(){
+		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE);
+		when(mockClock.currentTimeMillis()).thenReturn(1L);
+		manager.updateJobProgress("123", 5L, 100L, "testing");
+		manager.updateJobProgress("456", 6L, 100L, "other");
+		Throwable exception = new Throwable("Failed");
+		// call under test
+		manager.setJobFailed("123", exception);
+		verify(mockAsynchJobStatusDao).updateJobProgress(Collections.singletonList(new AsynchJobProgress("123", 5L, 100L, "testing", 1L)));
+		verify(mockAsynchJobStatusDao).setJobFailed("123", exception);
+		// the other job is still pending.
+		manager.flushJobProgress();
+		verify(mockAsynchJobStatusDao).updateJobProgress(Collections.singletonList(new AsynchJobProgress("456", 6L, 100L, "other", 1L)));
+	}
+	
+	@Test
+	public void testSetJobCancelingFlushesProgress(){
+		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE);
+		when(mockClock.currentTimeMillis()).thenReturn(1L);
+		manager.updateJobProgress("123", 5L, 100L, "testing");
+		// call under test
+		manager.setJobCanceling("123");
+		verify(mockAsynchJobStatusDao).updateJobProgress(Collections.singletonList(new AsynchJobProgress("123", 5L, 100L, "testing", 1L)));
+		verify(mockAsynchJobStatusDao).setJobCanceling("123");
+	}
+	
+	@Test
+	public void testSetCompleteFlushesProgress() throws Exception{
+		when(mockStackStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE);
+		when(mockClock.currentTimeMillis()).thenReturn(1L);
+		when(mockAsynchJobStatusDao.getJobStatus(anyString())).thenReturn(status);
+		when(mockStackConfig.getStackInstance()).thenReturn(instance);
+		manager.updateJobProgress("456", 100L, 100L, "done");
+		UploadToTableResult body = new UploadToTableResult();
+		// call under test
+		manager.setComplete("456", body);
+		verify(mockAsynchJobStatusDao).updateJobProgress(Collections.singletonList(new AsynchJobProgress("456", 100L, 100L, "done", 1L)));
+		verify(mockAsynchJobStatusDao).setComplete("456", body, null);
 	}
 
 	@Test 
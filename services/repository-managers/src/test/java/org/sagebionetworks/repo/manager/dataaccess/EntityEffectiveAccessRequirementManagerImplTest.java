@@ -0,0 +1,133 @@
+package org.sagebionetworks.repo.manager.dataaccess;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOEntityEffectiveAccessRequirementChange;
+
+import com.google.common.collect.Sets;
+
+@ExtendWith(MockitoExtension.class)
+public class EntityEffectiveAccessRequirementManagerImplTest {
+
+	@Mock
+	private EntityEffectiveAccessRequirementDao mockDao;
+
+	@InjectMocks
+	private EntityEffectiveAccessRequirementManagerImpl manager;
+
+	static DBOEntityEffectiveAccessRequirementChange change(Long id, Long rootId) {
+		DBOEntityEffectiveAccessRequirementChange change = new DBOEntityEffectiveAccessRequirementChange();
+		change.setId(id);
+		change.setRootId(rootId);
+		return change;
+	}
+
+	@Test
+	public void testProcessChanges() {
+		when(mockDao.getPendingChanges(anyLong()))
+				.thenReturn(Arrays.asList(change(1L, 123L), change(2L, 456L), change(3L, 123L)));
+		// call under test
+		int count = manager.processChanges(10);
+		assertEquals(3, count);
+		InOrder inOrder = Mockito.inOrder(mockDao);
+		inOrder.verify(mockDao).getPendingChanges(10L);
+		// each sub-tree is only rebuilt once.
+		inOrder.verify(mockDao).rebuildSubtree(123L);
+		inOrder.verify(mockDao).rebuildSubtree(456L);
+		inOrder.verify(mockDao).completeChanges(Arrays.asList(1L, 2L, 3L));
+		verifyNoMoreInteractions(mockDao);
+	}
+
+	@Test
+	public void testProcessChangesWithRoot() {
+		Long rootId = EntityEffectiveAccessRequirementManagerImpl.ROOT_ID;
+		when(mockDao.getPendingChanges(anyLong())).thenReturn(Arrays.asList(change(1L, rootId)));
+		when(mockDao.getChildIds(any())).thenReturn(Arrays.asList(11L, 22L));
+		// call under test
+		int count = manager.processChanges(10);
+		assertEquals(1, count);
+		verify(mockDao).rebuildEntities(Collections.singletonList(rootId));
+		verify(mockDao).getChildIds(rootId);
+		verify(mockDao).markSubtreeChanged(11L);
+		verify(mockDao).markSubtreeChanged(22L);
+		verify(mockDao, never()).rebuildSubtree(any());
+		verify(mockDao).completeChanges(Arrays.asList(1L));
+	}
+
+	@Test
+	public void testProcessChangesWithNoChanges() {
+		when(mockDao.getPendingChanges(anyLong())).thenReturn(Collections.emptyList());
+		// call under test
+		int count = manager.processChanges(10);
+		assertEquals(0, count);
+		verify(mockDao, never()).completeChanges(any());
+	}
+
+	@Test
+	public void testProcessChangesWithZeroLimit() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			manager.processChanges(0);
+		});
+	}
+
+	@Test
+	public void testReconcile() {
+		when(mockDao.isClosureCurrent()).thenReturn(true);
+		when(mockDao.getEntityIdsAfter(any(), anyLong())).thenReturn(Arrays.asList(1L, 2L, 3L),
+				Arrays.asList(4L), Collections.emptyList(), Arrays.asList(1L));
+		when(mockDao.getInconsistentEntityIds(any())).thenReturn(Sets.newHashSet(2L), Collections.emptySet());
+		// call under test
+		Set<Long> inconsistent = manager.reconcile(3);
+		assertEquals(Sets.newHashSet(2L), inconsistent);
+		verify(mockDao).getEntityIdsAfter(0L, 3L);
+		verify(mockDao).getInconsistentEntityIds(Arrays.asList(1L, 2L, 3L));
+		verify(mockDao).markSubtreeChanged(2L);
+		// the next page starts after the last entity checked.
+		assertTrue(manager.reconcile(3).isEmpty());
+		verify(mockDao).getEntityIdsAfter(3L, 3L);
+		// at the end it starts over.
+		assertTrue(manager.reconcile(3).isEmpty());
+		verify(mockDao).getEntityIdsAfter(4L, 3L);
+		manager.reconcile(3);
+		verify(mockDao, Mockito.times(2)).getEntityIdsAfter(0L, 3L);
+	}
+
+	@Test
+	public void testReconcileWithPendingChanges() {
+		when(mockDao.isClosureCurrent()).thenReturn(false);
+		// call under test
+		Set<Long> inconsistent = manager.reconcile(3);
+		assertTrue(inconsistent.isEmpty());
+		verify(mockDao, never()).getEntityIdsAfter(any(), anyLong());
+		verify(mockDao, never()).getInconsistentEntityIds(any());
+	}
+
+	@Test
+	public void testReconcileWithZeroPageSize() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			manager.reconcile(0);
+		});
+	}
+}
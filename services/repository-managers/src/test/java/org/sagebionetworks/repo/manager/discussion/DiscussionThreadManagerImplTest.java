@@ -11,12 +11,14 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.sagebionetworks.repo.manager.discussion.DiscussionThreadManagerImpl.MAX_LIMIT;
 import static org.sagebionetworks.repo.manager.discussion.DiscussionThreadManagerImpl.MAX_TITLE_LENGTH;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -47,11 +49,14 @@ import org.sagebionetworks.repo.model.auth.AuthorizationStatus;
 import org.sagebionetworks.repo.model.dao.subscription.SubscriptionDAO;
 import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionReplyDAO;
 import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionThreadDAO;
+import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionThreadPageToken;
 import org.sagebionetworks.repo.model.dbo.dao.discussion.ForumDAO;
 import org.sagebionetworks.repo.model.discussion.CreateDiscussionThread;
 import org.sagebionetworks.repo.model.discussion.DiscussionFilter;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadEntityReference;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListRequest;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
 import org.sagebionetworks.repo.model.discussion.EntityThreadCounts;
 import org.sagebionetworks.repo.model.discussion.Forum;
@@ -91,6 +96,8 @@ public class DiscussionThreadManagerImplTest {
 	private List<String> mockList;
 	@Mock
 	private GroupMembersDAO mockGroupMembersDao;
+	@Mock
+	private DiscussionThreadViewBuffer mockThreadViewBuffer;
 
 	@InjectMocks
 	private DiscussionThreadManagerImpl threadManager;
@@ -268,15 +275,9 @@ public class DiscussionThreadManagerImplTest {
 		when(mockAuthorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.READ))
 				.thenReturn(AuthorizationStatus.authorized());
 		assertEquals(dto, threadManager.getThread(userInfo, threadId.toString()));
-		verify(mockThreadDao).updateThreadView(Mockito.anyLong(), Mockito.anyLong());
-		
-		MessageToSend expectedMessage = new MessageToSend()
-				.withUserId(userInfo.getId())
-				.withObjectType(ObjectType.THREAD_VIEW)
-				.withObjectId(threadId.toString())
-				.withChangeType(ChangeType.UPDATE);
-		
-		verify(mockTransactionalMessenger).sendMessageAfterCommit(expectedMessage);
+		verify(mockThreadViewBuffer).recordView(threadId, userInfo.getId());
+		verify(mockThreadDao, Mockito.never()).updateThreadView(Mockito.anyLong(), Mockito.anyLong());
+		verifyZeroInteractions(mockTransactionalMessenger);
 	}
 
 	@Test
@@ -286,7 +287,7 @@ public class DiscussionThreadManagerImplTest {
 		when(mockAuthorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.MODERATE))
 				.thenReturn(AuthorizationStatus.authorized());
 		assertEquals(dto, threadManager.getThread(userInfo, threadId.toString()));
-		verify(mockThreadDao).updateThreadView(Mockito.anyLong(), Mockito.anyLong());
+		verify(mockThreadViewBuffer).recordView(Mockito.anyLong(), Mockito.anyLong());
 	}
 
 	@Test
@@ -332,7 +333,7 @@ public class DiscussionThreadManagerImplTest {
 		when(mockAuthorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.READ))
 				.thenReturn(AuthorizationStatus.authorized());
 		threadManager.checkPermission(userInfo, threadId.toString(), ACCESS_TYPE.READ);
-		verify(mockThreadDao, Mockito.never()).updateThreadView(Mockito.anyLong(), Mockito.anyLong());
+		verify(mockThreadViewBuffer, Mockito.never()).recordView(Mockito.anyLong(), Mockito.anyLong());
 	}
 
 	@Test
@@ -616,6 +617,99 @@ public class DiscussionThreadManagerImplTest {
 		verify(mockThreadDao).getThreadsForForum(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyLong(), (DiscussionThreadOrder) Mockito.any(), Mockito.anyBoolean(), Mockito.any(DiscussionFilter.class));
 	}
 
+	private DiscussionThreadBundle createBundle(long id) {
+		DiscussionThreadBundle bundle = new DiscussionThreadBundle();
+		bundle.setId(Long.toString(id));
+		bundle.setIsPinned(false);
+		bundle.setLastActivity(new Date(id * 1000L));
+		return bundle;
+	}
+
+	@Test
+	public void testGetThreadPageForForum() {
+		when(mockForumDao.getForum(forumId)).thenReturn(forum);
+		when(mockAuthorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.READ))
+				.thenReturn(AuthorizationStatus.authorized());
+		DiscussionThreadBundle first = createBundle(1L);
+		DiscussionThreadBundle second = createBundle(2L);
+		when(mockThreadDao.getThreadPageForForum(forumId, DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, false,
+				DiscussionFilter.EXCLUDE_DELETED, null, 2L)).thenReturn(new ArrayList<DiscussionThreadBundle>(Arrays.asList(first, second)));
+		DiscussionThreadListRequest request = new DiscussionThreadListRequest();
+		request.setLimit(1L);
+
+		// call under test
+		DiscussionThreadListResponse response = threadManager.getThreadPageForForum(userInfo, forumId.toString(), request);
+
+		assertEquals(Arrays.asList(first), response.getPage());
+		assertEquals(DiscussionThreadPageToken.after(DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, false, first).toToken(),
+				response.getNextPageToken());
+	}
+
+	@Test
+	public void testGetThreadPageForForumWithNextPageToken() {
+		when(mockForumDao.getForum(forumId)).thenReturn(forum);
+		when(mockAuthorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.MODERATE))
+				.thenReturn(AuthorizationStatus.authorized());
+		DiscussionThreadBundle second = createBundle(2L);
+		DiscussionThreadPageToken after = DiscussionThreadPageToken.after(DiscussionThreadOrder.NUMBER_OF_VIEWS, true, createBundle(1L));
+		when(mockThreadDao.getThreadPageForForum(forumId, DiscussionThreadOrder.NUMBER_OF_VIEWS, true,
+				DiscussionFilter.NO_FILTER, after, MAX_LIMIT + 1)).thenReturn(new ArrayList<DiscussionThreadBundle>(Arrays.asList(second)));
+		DiscussionThreadListRequest request = new DiscussionThreadListRequest();
+		request.setSort(DiscussionThreadOrder.NUMBER_OF_VIEWS);
+		request.setAscending(true);
+		request.setFilter(DiscussionFilter.NO_FILTER);
+		request.setNextPageToken(after.toToken());
+
+		// call under test
+		DiscussionThreadListResponse response = threadManager.getThreadPageForForum(userInfo, forumId.toString(), request);
+
+		assertEquals(Arrays.asList(second), response.getPage());
+		assertEquals(null, response.getNextPageToken());
+	}
+
+	@Test
+	public void testGetThreadPageForForumUnauthorized() {
+		when(mockForumDao.getForum(forumId)).thenReturn(forum);
+		when(mockAuthorizationManager.canAccess(userInfo, projectId, ObjectType.ENTITY, ACCESS_TYPE.READ))
+				.thenReturn(AuthorizationStatus.accessDenied(""));
+		assertThrows(UnauthorizedException.class, () -> {
+			// call under test
+			threadManager.getThreadPageForForum(userInfo, forumId.toString(), new DiscussionThreadListRequest());
+		});
+		verifyZeroInteractions(mockThreadDao);
+	}
+
+	@Test
+	public void testGetThreadPageForForumExceedLimit() {
+		DiscussionThreadListRequest request = new DiscussionThreadListRequest();
+		request.setLimit(MAX_LIMIT + 1);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			threadManager.getThreadPageForForum(userInfo, forumId.toString(), request);
+		});
+	}
+
+	@Test
+	public void testGetThreadPageForForumWithZeroLimit() {
+		DiscussionThreadListRequest request = new DiscussionThreadListRequest();
+		request.setLimit(0L);
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			threadManager.getThreadPageForForum(userInfo, forumId.toString(), request);
+		}).getMessage();
+		assertEquals("Limit must be greater than 0, and limit must be smaller than or equal to " + MAX_LIMIT, message);
+	}
+
+	@Test
+	public void testGetThreadPageForForumWithInvalidToken() {
+		DiscussionThreadListRequest request = new DiscussionThreadListRequest();
+		request.setNextPageToken("invalid");
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			threadManager.getThreadPageForForum(userInfo, forumId.toString(), request);
+		});
+	}
+
 	@Test
 	public void testGetThreadURLUnauthorized() {
 		when(mockThreadDao.getProjectId(threadId.toString())).thenReturn(projectId);
@@ -635,7 +729,7 @@ public class DiscussionThreadManagerImplTest {
 		MessageURL url = threadManager.getMessageUrl(userInfo, messageKey);
 		assertNotNull(url);
 		assertNotNull(url.getMessageUrl());
-		verify(mockThreadDao).updateThreadView(threadId, userId);
+		verify(mockThreadViewBuffer).recordView(threadId, userId);
 	}
 
 	@Test
@@ -775,6 +869,37 @@ public class DiscussionThreadManagerImplTest {
 		});
 	}
 
+	@Test
+	public void testGetThreadPageForEntity() {
+		Set<Long> projectIds = new HashSet<Long>(Arrays.asList(1L, 2L));
+		Set<Long> projectIdsCanRead = new HashSet<Long>(Arrays.asList(1L));
+		List<Long> entityIds = Arrays.asList(3L);
+		when(mockThreadDao.getDistinctProjectIdsOfThreadsReferencesEntityIds(entityIds)).thenReturn(projectIds);
+		when(mockAclDao.getAccessibleBenefactors(any(), eq(projectIds), eq(ObjectType.ENTITY), eq(ACCESS_TYPE.READ)))
+				.thenReturn(projectIdsCanRead);
+		DiscussionThreadBundle first = createBundle(1L);
+		when(mockThreadDao.getThreadPageForEntity(3L, DiscussionThreadOrder.PINNED_AND_LAST_ACTIVITY, false,
+				DiscussionFilter.EXCLUDE_DELETED, projectIdsCanRead, null, MAX_LIMIT + 1))
+				.thenReturn(new ArrayList<DiscussionThreadBundle>(Arrays.asList(first)));
+
+		// call under test
+		DiscussionThreadListResponse response = threadManager.getThreadPageForEntity(userInfo, "syn3", new DiscussionThreadListRequest());
+
+		assertEquals(Arrays.asList(first), response.getPage());
+		assertEquals(null, response.getNextPageToken());
+	}
+
+	@Test
+	public void testGetThreadPageForEntityWithDeletedFilter() {
+		DiscussionThreadListRequest request = new DiscussionThreadListRequest();
+		request.setFilter(DiscussionFilter.DELETED_ONLY);
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			threadManager.getThreadPageForEntity(userInfo, "syn3", request);
+		});
+		verifyZeroInteractions(mockThreadDao);
+	}
+
 	@Test
 	public void testGetThreadsForEntityWithoutReferences(){
 		HashSet<Long> projectIds = new HashSet<Long>();
@@ -0,0 +1,94 @@
+package org.sagebionetworks.repo.manager.discussion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.model.dbo.dao.discussion.DiscussionThreadDAO;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+@ExtendWith(MockitoExtension.class)
+public class DiscussionThreadViewBufferImplTest {
+
+	@Mock
+	private DiscussionThreadDAO mockThreadDao;
+
+	@InjectMocks
+	private DiscussionThreadViewBufferImpl buffer;
+
+	@Test
+	public void testFlush() {
+		buffer.recordView(1L, 10L);
+		buffer.recordView(1L, 10L);
+		buffer.recordView(1L, 11L);
+		buffer.recordView(2L, 10L);
+		assertEquals(2, buffer.getBufferedThreadCount());
+
+		// call under test
+		buffer.flush();
+
+		verify(mockThreadDao).addThreadViews(Map.of(1L, Set.of(10L, 11L), 2L, Set.of(10L)));
+		assertEquals(0, buffer.getBufferedThreadCount());
+	}
+
+	@Test
+	public void testFlushEmpty() {
+		// call under test
+		buffer.flush();
+
+		verifyZeroInteractions(mockThreadDao);
+	}
+
+	@Test
+	public void testFlushOnlyOnce() {
+		buffer.recordView(1L, 10L);
+		buffer.flush();
+
+		// call under test
+		buffer.flush();
+
+		verify(mockThreadDao).addThreadViews(any());
+	}
+
+	@Test
+	public void testFlushFailure() {
+		buffer.recordView(1L, 10L);
+		doThrow(new TransientDataAccessResourceException("failed")).when(mockThreadDao).addThreadViews(any());
+
+		// call under test
+		buffer.flush();
+
+		assertEquals(0, buffer.getBufferedThreadCount());
+	}
+
+	@Test
+	public void testRecordViewConcurrently() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (long userId = 0; userId < 100; userId++) {
+			long user = userId;
+			executor.submit(() -> buffer.recordView(1L, user));
+		}
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+
+		// call under test
+		buffer.flush();
+
+		verify(mockThreadDao).addThreadViews(Map.of(1L, LongStream.range(0, 100).boxed().collect(Collectors.toSet())));
+	}
+}
@@ -65,6 +65,7 @@ import org.sagebionetworks.repo.model.EntityRef;
 import org.sagebionetworks.repo.model.EntityType;
 import org.sagebionetworks.repo.model.NextPageToken;
 import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.ObjectType;
 import org.sagebionetworks.repo.model.UnauthorizedException;
 import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.auth.AuthorizationStatus;
@@ -107,6 +108,8 @@ import org.sagebionetworks.repo.model.file.FileHandleAssociation;
 import org.sagebionetworks.repo.model.file.S3FileHandle;
 import org.sagebionetworks.repo.model.file.ZipFileFormat;
 import org.sagebionetworks.repo.model.jdo.NameValidation;
+import org.sagebionetworks.repo.model.message.ChangeMessage;
+import org.sagebionetworks.repo.model.message.ChangeType;
 import org.sagebionetworks.repo.model.table.ColumnSingleValueQueryFilter;
 import org.sagebionetworks.repo.model.table.ColumnType;
 import org.sagebionetworks.repo.model.table.CsvTableDescriptor;
@@ -514,7 +517,7 @@ public class DownloadListManagerImplTest {
 		assertEquals(resultPage, response.getPage());
 		assertNull(response.getNextPageToken());
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
 				eq(availableRequest.getSort()), eq(51L), eq(0L));
 	}
 
@@ -533,7 +536,7 @@ public class DownloadListManagerImplTest {
 		assertEquals(resultPage, response.getPage());
 		assertNull(response.getNextPageToken());
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
 				eq(availableRequest.getSort()), eq(51L), eq(0L));
 	}
 
@@ -552,7 +555,7 @@ public class DownloadListManagerImplTest {
 		assertEquals(resultPage, response.getPage());
 		assertNull(response.getNextPageToken());
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()),
 				eq(AvailableFilter.eligibleForPackaging), eq(availableRequest.getSort()), eq(51L), eq(0L));
 	}
 
@@ -574,7 +577,7 @@ public class DownloadListManagerImplTest {
 		assertEquals(resultPage, response.getPage());
 		assertNull(response.getNextPageToken());
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
 				eq(expectedSort), eq(51L), eq(0L));
 	}
 
@@ -596,7 +599,7 @@ public class DownloadListManagerImplTest {
 		assertEquals(resultPage, response.getPage());
 		assertNull(response.getNextPageToken());
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
 				eq(expectedSort), eq(51L), eq(0L));
 	}
 
@@ -618,7 +621,7 @@ public class DownloadListManagerImplTest {
 		assertEquals(resultPage, response.getPage());
 		assertNull(response.getNextPageToken());
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
 				eq(expectedSort), eq(51L), eq(0L));
 	}
 
@@ -647,7 +650,7 @@ public class DownloadListManagerImplTest {
 		verify(mockEntityAuthorizationManager).batchHasAccess(userOne, ids, ACCESS_TYPE.DOWNLOAD);
 		long expectedLimit = 3L;
 		long expectedOffest = 0L;
-		verify(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
+		verify(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), eq(userOne.getId()), eq(null),
 				eq(availableRequest.getSort()), eq(expectedLimit), eq(expectedOffest));
 	}
 
@@ -832,7 +835,7 @@ public class DownloadListManagerImplTest {
 
 	/**
 	 * Helper to setup both the return of
-	 * getFilesAvailableToDownloadFromDownloadList() and ensure that the callback is
+	 * getMaterializedFilesAvailableToDownloadFromDownloadList() and ensure that the callback is
 	 * called with the provided forwardToCallback
 	 * 
 	 * @param results
@@ -843,7 +846,7 @@ public class DownloadListManagerImplTest {
 			EntityAccessCallback accessCallback = invocation.getArgument(0);
 			accessCallback.filter(forwardToCallback);
 			return results;
-		}).when(mockDownloadListDao).getFilesAvailableToDownloadFromDownloadList(any(), any(), any(), any(), any(),
+		}).when(mockDownloadListDao).getMaterializedFilesAvailableToDownloadFromDownloadList(any(), any(), any(), any(),
 				any());
 	}
 
@@ -2380,6 +2383,52 @@ public class DownloadListManagerImplTest {
 				"2-9", "2-10", "2-11", null, "four", "three" });
 	}
 	
+	@Test
+	public void testInvalidateAvailability() {
+		List<ChangeMessage> messages = Arrays.asList(
+				new ChangeMessage().setObjectType(ObjectType.ENTITY).setObjectId("syn1").setChangeType(ChangeType.UPDATE),
+				new ChangeMessage().setObjectType(ObjectType.ENTITY).setObjectId("2").setChangeType(ChangeType.DELETE),
+				new ChangeMessage().setObjectType(ObjectType.ENTITY_CONTAINER).setObjectId("3").setChangeType(ChangeType.UPDATE),
+				new ChangeMessage().setObjectType(ObjectType.ACCESS_CONTROL_LIST).setObjectId("4").setChangeType(ChangeType.CREATE),
+				new ChangeMessage().setObjectType(ObjectType.ACCESS_APPROVAL).setObjectId("5").setChangeType(ChangeType.UPDATE),
+				new ChangeMessage().setObjectType(ObjectType.TEAM).setObjectId("6").setChangeType(ChangeType.UPDATE),
+				new ChangeMessage().setObjectId("7"),
+				new ChangeMessage().setObjectType(ObjectType.ACCESS_REQUIREMENT).setObjectId("8").setChangeType(ChangeType.UPDATE));
+		
+		// call under test
+		manager.invalidateAvailability(messages);
+		
+		verify(mockDownloadListDao).invalidateAvailabilityOfEntities(Sets.newHashSet(1L, 2L));
+		verify(mockDownloadListDao).invalidateAvailabilityOfContainers(Sets.newHashSet(3L));
+		verify(mockDownloadListDao).invalidateAvailabilityOfAcls(Sets.newHashSet(4L));
+		verify(mockDownloadListDao).invalidateAvailabilityOfAccessApprovals(Sets.newHashSet(5L));
+		verify(mockDownloadListDao).invalidateAvailabilityOfAccessRequirements(Sets.newHashSet(8L));
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityWithNoMatchingMessages() {
+		List<ChangeMessage> messages = Arrays.asList(
+				new ChangeMessage().setObjectType(ObjectType.TEAM).setObjectId("6").setChangeType(ChangeType.UPDATE));
+		
+		// call under test
+		manager.invalidateAvailability(messages);
+		
+		verify(mockDownloadListDao).invalidateAvailabilityOfEntities(Collections.emptySet());
+		verify(mockDownloadListDao).invalidateAvailabilityOfContainers(Collections.emptySet());
+		verify(mockDownloadListDao).invalidateAvailabilityOfAcls(Collections.emptySet());
+		verify(mockDownloadListDao).invalidateAvailabilityOfAccessApprovals(Collections.emptySet());
+		verify(mockDownloadListDao).invalidateAvailabilityOfAccessRequirements(Collections.emptySet());
+	}
+	
+	@Test
+	public void testInvalidateAvailabilityWithNullMessages() {
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			manager.invalidateAvailability(null);
+		}).getMessage();
+		assertEquals("messages is required.", message);
+	}
+	
 	/**
 	 * Create a test JSONObject populated from the manifest.
 	 * 
@@ -59,7 +59,7 @@ import org.sagebionetworks.aws.SynapseS3Client;
 import org.sagebionetworks.cloudwatch.Consumer;
 import org.sagebionetworks.cloudwatch.ProfileData;
 import org.sagebionetworks.googlecloud.SynapseGoogleCloudStorageClient;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.manager.AuthorizationManager;
 import org.sagebionetworks.repo.manager.ProjectSettingsManager;
@@ -186,7 +186,7 @@ public class FileHandleManagerImplTest {
 	@Mock
 	StorageLocationDAO mockStorageLocationDao;
 	@Mock
-	IdGenerator mockIdGenerator;
+	IdBlockAllocator mockIdBlockAllocator;
 	@Mock
 	ProjectSettingsManager mockProjectSettingsManager;
 	
@@ -2733,7 +2733,7 @@ public class FileHandleManagerImplTest {
 		fileHandles.put("2", fileHandle);
 		when(mockFileHandleDao.getAllFileHandlesBatch(any())).thenReturn(fileHandles);
 		Long newId = 789L;
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(newId );
+		when(mockIdBlockAllocator.nextIds(IdType.FILE_IDS, 1)).thenReturn(Collections.singletonList(newId));
 
 		Thread.sleep(1000);
 
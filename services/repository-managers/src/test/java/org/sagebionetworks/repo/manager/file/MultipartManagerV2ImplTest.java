@@ -36,7 +36,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.manager.feature.FeatureManager;
 import org.sagebionetworks.repo.manager.file.multipart.FileHandleCreateRequest;
@@ -88,7 +88,7 @@ public class MultipartManagerV2ImplTest {
 	private StorageLocationDAO mockStorageLocationDao;
 
 	@Mock
-	private IdGenerator mockIdGenerator;
+	private IdBlockAllocator mockIdBlockAllocator;
 
 	@Mock
 	private CloudServiceMultipartUploadDAOProvider mockCloudDaoProvider;
@@ -1191,7 +1191,7 @@ public class MultipartManagerV2ImplTest {
 		when(mockCompositeStatus.getBucket()).thenReturn(bucket);
 		when(mockCompositeStatus.getKey()).thenReturn(key);
 		when(mockCompositeStatus.getUploadType()).thenReturn(UploadType.S3);
-		when(mockIdGenerator.generateNewId(any())).thenReturn(fileHandleId);
+		when(mockIdBlockAllocator.nextId(any())).thenReturn(fileHandleId);
 		when(mockFileHandleDao.createFile(any())).thenReturn(mockFileHandle);
 
 		// Call under test
@@ -1201,7 +1201,7 @@ public class MultipartManagerV2ImplTest {
 
 		ArgumentCaptor<S3FileHandle> capture = ArgumentCaptor.forClass(S3FileHandle.class);
 
-		verify(mockIdGenerator).generateNewId(IdType.FILE_IDS);
+		verify(mockIdBlockAllocator).nextId(IdType.FILE_IDS);
 		verify(mockFileHandleDao).createFile(capture.capture());
 
 		S3FileHandle capturedFileHandle = capture.getValue();
@@ -1234,7 +1234,7 @@ public class MultipartManagerV2ImplTest {
 		when(mockCompositeStatus.getBucket()).thenReturn(bucket);
 		when(mockCompositeStatus.getKey()).thenReturn(key);
 		when(mockCompositeStatus.getUploadType()).thenReturn(UploadType.S3);
-		when(mockIdGenerator.generateNewId(any())).thenReturn(fileHandleId);
+		when(mockIdBlockAllocator.nextId(any())).thenReturn(fileHandleId);
 		when(mockFileHandleDao.createFile(any())).thenReturn(mockFileHandle);
 
 		// Call under test
@@ -1264,7 +1264,7 @@ public class MultipartManagerV2ImplTest {
 		when(mockCompositeStatus.getBucket()).thenReturn(bucket);
 		when(mockCompositeStatus.getKey()).thenReturn(key);
 		when(mockCompositeStatus.getUploadType()).thenReturn(UploadType.S3);
-		when(mockIdGenerator.generateNewId(any())).thenReturn(fileHandleId);
+		when(mockIdBlockAllocator.nextId(any())).thenReturn(fileHandleId);
 		when(mockFileHandleDao.createFile(any())).thenReturn(mockFileHandle);
 
 		// Call under test
@@ -1293,7 +1293,7 @@ public class MultipartManagerV2ImplTest {
 		when(mockCompositeStatus.getBucket()).thenReturn(bucket);
 		when(mockCompositeStatus.getKey()).thenReturn(key);
 		when(mockCompositeStatus.getUploadType()).thenReturn(UploadType.GOOGLECLOUDSTORAGE);
-		when(mockIdGenerator.generateNewId(any())).thenReturn(fileHandleId);
+		when(mockIdBlockAllocator.nextId(any())).thenReturn(fileHandleId);
 		when(mockFileHandleDao.createFile(any())).thenReturn(mockFileHandle);
 
 		// Call under test
@@ -1303,7 +1303,7 @@ public class MultipartManagerV2ImplTest {
 
 		ArgumentCaptor<GoogleCloudFileHandle> capture = ArgumentCaptor.forClass(GoogleCloudFileHandle.class);
 
-		verify(mockIdGenerator).generateNewId(IdType.FILE_IDS);
+		verify(mockIdBlockAllocator).nextId(IdType.FILE_IDS);
 		verify(mockFileHandleDao).createFile(capture.capture());
 
 		GoogleCloudFileHandle capturedFileHandle = capture.getValue();
@@ -1339,7 +1339,7 @@ public class MultipartManagerV2ImplTest {
 
 		assertEquals("Cannot create a FileHandle from a multipart upload with upload type HTTPS", errorMessage);
 
-		verifyZeroInteractions(mockIdGenerator);
+		verifyZeroInteractions(mockIdBlockAllocator);
 		verifyZeroInteractions(mockFileHandleDao);
 
 	}
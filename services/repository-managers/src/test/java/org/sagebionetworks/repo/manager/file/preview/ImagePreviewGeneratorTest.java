@@ -5,7 +5,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -15,6 +19,7 @@ import java.io.InputStream;
 import javax.imageio.ImageIO;
 
 import org.junit.Test;
+import org.sagebionetworks.StackConfigurationSingleton;
 
 public class ImagePreviewGeneratorTest {
 	
@@ -57,6 +62,97 @@ public class ImagePreviewGeneratorTest {
 	}
 	
 
+	/**
+	 * Create a PNG image of the given size.
+	 */
+	byte[] createImage(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.BLUE);
+		graphics.fillRect(0, 0, width / 2, height);
+		graphics.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+	
+	@Test
+	public void testLoadSubsampledImage() throws IOException {
+		byte[] bytes = createImage(4000, 3000);
+		// call under test
+		BufferedImage image = ImagePreviewGenerator.loadSubsampledImage(new ByteArrayInputStream(bytes),
+				ImagePreviewGenerator.MAX_SOURCE_IMAGE_SIZE, 1024, 768);
+		assertNotNull(image);
+		// every third row and column is read.
+		assertEquals(1334, image.getWidth());
+		assertEquals(1000, image.getHeight());
+	}
+	
+	@Test
+	public void testLoadSubsampledImageSmallerThanPreview() throws IOException {
+		byte[] bytes = createImage(500, 200);
+		// call under test
+		BufferedImage image = ImagePreviewGenerator.loadSubsampledImage(new ByteArrayInputStream(bytes),
+				ImagePreviewGenerator.MAX_SOURCE_IMAGE_SIZE, 1024, 768);
+		assertNotNull(image);
+		assertEquals(500, image.getWidth());
+		assertEquals(200, image.getHeight());
+	}
+	
+	@Test
+	public void testLoadSubsampledImageOverLimit() throws IOException {
+		byte[] bytes = createImage(2000, 1000);
+		try {
+			// call under test
+			ImagePreviewGenerator.loadSubsampledImage(new ByteArrayInputStream(bytes), 1000 * 1000, 1024, 768);
+			fail();
+		} catch (PreviewGenerationNotSupportedException e) {
+			assertEquals(ImagePreviewGenerator.IMAGE_EXCEEDS_THE_MAXIMUM_SIZE, e.getMessage());
+		}
+	}
+	
+	@Test
+	public void testCalculateSubsampling() {
+		assertEquals(1, ImagePreviewGenerator.calculateSubsampling(1000, 700, 1024, 768));
+		assertEquals(1, ImagePreviewGenerator.calculateSubsampling(2047, 700, 1024, 768));
+		assertEquals(2, ImagePreviewGenerator.calculateSubsampling(2048, 700, 1024, 768));
+		// the tallest dimension controls the subsampling
+		assertEquals(10, ImagePreviewGenerator.calculateSubsampling(2048, 7680, 1024, 768));
+		assertEquals(1, ImagePreviewGenerator.calculateSubsampling(5000, 5000, Integer.MAX_VALUE, Integer.MAX_VALUE));
+	}
+	
+	@Test
+	public void testCalculateNeededMemoryBytesForPreview() {
+		ImagePreviewGenerator generator = new ImagePreviewGenerator();
+		long maxMemory = ImagePreviewGenerator.calculateMaxSubsampledMemoryBytes(
+				StackConfigurationSingleton.singleton().getMaximumPreviewWidthPixels(),
+				StackConfigurationSingleton.singleton().getMaximumPreviewHeightPixels());
+		// small images are still a function of the content size.
+		assertEquals(55536L, generator.calculateNeededMemoryBytesForPreview(ImagePreviewGenerator.IMAGE_PNG, 1000));
+		// large images are bound by the preview size.
+		assertEquals(maxMemory, generator.calculateNeededMemoryBytesForPreview(ImagePreviewGenerator.IMAGE_PNG, 100_000_000L));
+	}
+	
+	@Test
+	public void testCalculateMaxSubsampledMemoryBytes() {
+		assertEquals((long) Math.ceil(1024L * 768 * 4 * 12 * 1.2f), ImagePreviewGenerator.calculateMaxSubsampledMemoryBytes(1024, 768));
+	}
+	
+	@Test
+	public void testGeneratePreviewOverFullResolutionLimit() throws IOException {
+		byte[] bytes = createImage(4000, 3000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImagePreviewGenerator genertor = new ImagePreviewGenerator();
+		// call under test
+		PreviewOutputMetadata meta = genertor.generatePreview(new ByteArrayInputStream(bytes), out);
+		assertNotNull(meta);
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+		assertNotNull(image);
+		assertTrue(image.getWidth() <= StackConfigurationSingleton.singleton().getMaximumPreviewWidthPixels());
+		assertTrue(image.getHeight() <= StackConfigurationSingleton.singleton().getMaximumPreviewHeightPixels());
+		assertTrue(image.getWidth() > 700);
+	}
+
 	@Test
 	public void testGeneratePreview() throws IOException {
 		File temp = File.createTempFile("ImagePreviewGeneratorTest", ".png");
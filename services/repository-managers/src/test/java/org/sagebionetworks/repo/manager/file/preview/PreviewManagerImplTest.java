@@ -29,7 +29,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.sagebionetworks.aws.SynapseS3Client;
 import org.sagebionetworks.googlecloud.SynapseGoogleCloudStorageClient;
-import org.sagebionetworks.ids.IdGenerator;
+import org.sagebionetworks.ids.IdBlockAllocator;
 import org.sagebionetworks.ids.IdType;
 import org.sagebionetworks.repo.model.StorageLocationDAO;
 import org.sagebionetworks.repo.model.dbo.dao.TestUtils;
@@ -83,7 +83,7 @@ public class PreviewManagerImplTest {
 	@Mock
 	private S3ObjectInputStream mockS3ObjectInputStream;
 	@Mock
-	private IdGenerator mockIdGenerator;
+	private IdBlockAllocator mockIdBlockAllocator;
 	@Mock
 	private StorageLocationDAO mockStorageLocationDao;
 	@Mock
@@ -106,7 +106,7 @@ public class PreviewManagerImplTest {
 		
 		List<PreviewGenerator> genList = Collections.singletonList(mockPreviewGenerator);
 		
-		previewManager = new PreviewManagerImpl(stubFileMetadataDao, mockS3Client, mockGoogleCloudClient, mockFileProvider, mockIdGenerator, mockStorageLocationDao, genList, maxPreviewSize);
+		previewManager = new PreviewManagerImpl(stubFileMetadataDao, mockS3Client, mockGoogleCloudClient, mockFileProvider, mockIdBlockAllocator, mockStorageLocationDao, genList, maxPreviewSize);
 
 		// This is a test file metadata
 		testMetadata = TestUtils.createS3FileHandle("createdBy", null);
@@ -186,7 +186,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.calculateNeededMemoryBytesForPreview(any(), anyLong())).thenReturn(maxPreviewSize);
 		when(mockPreviewGenerator.generatePreview(mockS3ObjectInputStream, mockOutputStream)).thenReturn(previewContentType);
 		when(mockUploadFile.length()).thenReturn(resultPreviewSize);
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);
 		when(mockS3Client.initiateMultipartUpload(any())).thenReturn(mockMultipartResult);
 		when(mockS3Client.uploadPart(any())).thenReturn(mockUploadPartResult);
 		
@@ -283,7 +283,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.calculateNeededMemoryBytesForPreview(any(), anyLong())).thenReturn(maxPreviewSize);
 		when(mockPreviewGenerator.generatePreview(mockS3ObjectInputStream, mockOutputStream)).thenReturn(previewContentType);
 		when(mockUploadFile.length()).thenReturn(resultPreviewSize);
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);
 		when(mockMultipartResult.getUploadId()).thenReturn(uploadId);
 		when(mockS3Client.initiateMultipartUpload(any())).thenReturn(mockMultipartResult);
 		when(mockS3Client.uploadPart(any())).thenReturn(mockUploadPartResult);
@@ -345,7 +345,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.calculateNeededMemoryBytesForPreview(any(), anyLong())).thenReturn(maxPreviewSize);
 		when(mockPreviewGenerator.generatePreview(mockS3ObjectInputStream, mockOutputStream)).thenReturn(previewContentType);
 		when(mockUploadFile.length()).thenReturn(contentLength);
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);
 		when(mockMultipartResult.getUploadId()).thenReturn(uploadId);
 		when(mockS3Client.initiateMultipartUpload(any())).thenReturn(mockMultipartResult);
 		when(mockS3Client.uploadPart(any())).thenReturn(mockUploadPartResult);
@@ -420,7 +420,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.calculateNeededMemoryBytesForPreview(any(), anyLong())).thenReturn(maxPreviewSize);
 		when(mockPreviewGenerator.generatePreview(mockS3ObjectInputStream, mockOutputStream)).thenReturn(previewContentType);
 		when(mockUploadFile.length()).thenReturn(resultPreviewSize);
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);
 		when(mockStorageLocationDao.get(any())).thenReturn(new S3StorageLocationSetting().setBaseKey("testBaseKey"));
 		when(mockS3Client.initiateMultipartUpload(any())).thenReturn(mockMultipartResult);
 		when(mockS3Client.uploadPart(any())).thenReturn(mockUploadPartResult);
@@ -451,7 +451,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.calculateNeededMemoryBytesForPreview(any(), anyLong())).thenReturn(maxPreviewSize);
 		when(mockPreviewGenerator.generatePreview(mockS3ObjectInputStream, mockOutputStream)).thenReturn(previewContentType);
 		when(mockUploadFile.length()).thenReturn(resultPreviewSize);
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);
 		when(mockStorageLocationDao.get(any())).thenReturn(new S3StorageLocationSetting().setBaseKey("testBaseKey"));
 		when(mockS3Client.initiateMultipartUpload(any())).thenReturn(mockMultipartResult);
 		when(mockS3Client.uploadPart(any())).thenReturn(mockUploadPartResult);
@@ -474,7 +474,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.calculateNeededMemoryBytesForPreview(any(), anyLong())).thenReturn(maxPreviewSize);
 		when(mockPreviewGenerator.generatePreview(any(InputStream.class), eq(mockOutputStream))).thenReturn(previewContentType);		
 		when(mockUploadFile.length()).thenReturn(resultPreviewSize);
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);
 		
 
 		CloudProviderFileHandleInterface pfm = previewManager.generatePreview(testGoogleCloudMetadata);
@@ -504,7 +504,7 @@ public class PreviewManagerImplTest {
 		when(mockPreviewGenerator.generatePreview(any(InputStream.class), eq(mockOutputStream))).thenReturn(previewContentType);		
 		when(mockUploadFile.length()).thenReturn(resultPreviewSize);
 		when(mockStorageLocationDao.get(any())).thenReturn(new ExternalGoogleCloudStorageLocationSetting().setBaseKey("testBaseKey"));
-		when(mockIdGenerator.generateNewId(IdType.FILE_IDS)).thenReturn(789L);		
+		when(mockIdBlockAllocator.nextId(IdType.FILE_IDS)).thenReturn(789L);		
 
 		CloudProviderFileHandleInterface pfm = previewManager.generatePreview(testGoogleCloudMetadata);
 		
@@ -80,6 +80,7 @@ public class TableFileHandleScannerTest {
 		Set<Long> fileHandles = ImmutableSet.of(1L, 2L);
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenReturn(mockChangeSet);
 		when(mockChangeSet.getFileHandleIdsInSparseChangeSet()).thenReturn(fileHandles);
 		when(mockTableManager.newTableRowChangeWithFileRefsIterator(any())).thenReturn(Arrays.asList(mockRowChange).iterator());
@@ -112,6 +113,7 @@ public class TableFileHandleScannerTest {
 		Set<Long> fileHandles = ImmutableSet.of(1L, 2L);
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenReturn(mockChangeSet);
 		when(mockChangeSet.getFileHandleIdsInSparseChangeSet()).thenReturn(fileHandles);
 		
@@ -125,12 +127,30 @@ public class TableFileHandleScannerTest {
 		verify(mockTableManager).getSparseChangeSet(mockRowChange);
 	}
 	
+	@Test
+	public void testMapRowChangeWithRecordedFileHandleIds() throws Exception {
+		
+		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(Arrays.asList(1L, 2L));
+		
+		ScannedFileHandleAssociation expected = new ScannedFileHandleAssociation(tableId).withFileHandleIds(ImmutableSet.of(1L, 2L));
+		
+		// Call under test
+		ScannedFileHandleAssociation association = scanner.mapTableRowChange(mockRowChange);
+		
+		assertEquals(expected, association);
+		
+		// The change set is not loaded
+		verifyNoMoreInteractions(mockTableManager);
+	}
+	
 	@Test
 	public void testMapRowChangeWithIOException() throws Exception {
 		
 		IOException ex = new IOException("failed");
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenThrow(ex);
 		
 		IllegalStateException result = assertThrows(IllegalStateException.class, () -> {			
@@ -149,6 +169,7 @@ public class TableFileHandleScannerTest {
 		NotFoundException ex = new NotFoundException("failed");
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenThrow(ex);
 		
 		ScannedFileHandleAssociation expected = new ScannedFileHandleAssociation(tableId);
@@ -168,6 +189,7 @@ public class TableFileHandleScannerTest {
 		ex.setStatusCode(HttpStatus.SC_NOT_FOUND);
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenThrow(ex);
 		
 		ScannedFileHandleAssociation expected = new ScannedFileHandleAssociation(tableId);
@@ -186,6 +208,7 @@ public class TableFileHandleScannerTest {
 		AmazonS3Exception ex = new AmazonS3Exception("failed");
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenThrow(ex);
 		
 		AmazonS3Exception result = assertThrows(AmazonS3Exception.class, () -> {			
@@ -205,6 +228,7 @@ public class TableFileHandleScannerTest {
 		ex.setErrorType(ErrorType.Service);
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenThrow(ex);
 		
 		RecoverableMessageException result = assertThrows(RecoverableMessageException.class, () -> {			
@@ -224,6 +248,7 @@ public class TableFileHandleScannerTest {
 		ex.setErrorType(ErrorType.Client);
 		
 		when(mockRowChange.getTableId()).thenReturn(tableId.toString());
+		when(mockRowChange.getFileHandleIds()).thenReturn(null);
 		when(mockTableManager.getSparseChangeSet(any())).thenThrow(ex);
 		
 		AmazonServiceException result = assertThrows(AmazonServiceException.class, () -> {			
@@ -0,0 +1,135 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DeflaterOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sagebionetworks.repo.model.UnmodifiableXStream;
+import org.sagebionetworks.repo.model.dbo.MigratableDatabaseObject;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOAccessApproval;
+import org.sagebionetworks.repo.model.dbo.persistence.DBONode;
+import org.sagebionetworks.repo.model.dbo.persistence.DBORevision;
+
+/**
+ * Compares the time to encode and decode a batch of backup objects of real
+ * database object types with XStream XML and with the
+ * {@link BinaryBackupCodec}. The raw and deflated size of each encoding is
+ * printed during the setup of each type.
+ *
+ * <pre>
+ * mvn -pl services/repository-managers test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.sagebionetworks.repo.manager.migration.BackupEncodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BackupEncodingBenchmark {
+
+	private static final int ROW_COUNT = 10_000;
+
+	@Param({ "NODE", "NODE_REVISION", "ACCESS_APPROVAL" })
+	private String type;
+
+	private Class<?> backupClass;
+	private List<?> rows;
+	private UnmodifiableXStream xStream;
+	private byte[] xml;
+	private byte[] binary;
+
+	@Setup
+	public void setup() throws IOException {
+		MigratableDatabaseObject<?, ?> dbo = createObjectForType(type);
+		backupClass = dbo.getBackupClass();
+		rows = BinaryBackupTestUtils.createSampleBackupObjects(backupClass, ROW_COUNT);
+		xStream = UnmodifiableXStream.builder()
+				.allowTypeHierarchy(MigratableDatabaseObject.class)
+				.alias(dbo.getMigratableTableType().name(), backupClass)
+				.build();
+		xml = encodeXml();
+		binary = encodeBinary();
+		System.out.println(String.format("%s %d rows: XML %d bytes (%d deflated), binary %d bytes (%d deflated)", type,
+				ROW_COUNT, xml.length, deflatedSize(xml), binary.length, deflatedSize(binary)));
+	}
+
+	@Benchmark
+	public byte[] encodeXml() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		xStream.toXML(rows, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public Object decodeXml() {
+		return xStream.fromXML(new ByteArrayInputStream(xml));
+	}
+
+	@Benchmark
+	public byte[] encodeBinary() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryBackupCodec.writeRows(backupClass, rows, out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public void decodeBinary(Blackhole blackhole) throws IOException {
+		Iterator<?> iterator = BinaryBackupCodec.readRows(backupClass, new ByteArrayInputStream(binary));
+		while (iterator.hasNext()) {
+			blackhole.consume(iterator.next());
+		}
+	}
+
+	static MigratableDatabaseObject<?, ?> createObjectForType(String type) {
+		switch (type) {
+		case "NODE":
+			return new DBONode();
+		case "NODE_REVISION":
+			return new DBORevision();
+		case "ACCESS_APPROVAL":
+			return new DBOAccessApproval();
+		default:
+			throw new IllegalArgumentException("Unknown type: " + type);
+		}
+	}
+
+	static int deflatedSize(byte[] bytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+			deflater.write(bytes);
+		}
+		return out.size();
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(BackupEncodingBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
@@ -1,16 +1,29 @@
 package org.sagebionetworks.repo.manager.migration;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.sagebionetworks.repo.model.daemon.BackupAliasType;
 import org.sagebionetworks.repo.model.dbo.MigratableDatabaseObject;
+import org.sagebionetworks.repo.model.dbo.dao.dataaccess.DBOSubmissionSubmitter;
+import org.sagebionetworks.repo.model.migration.MigrationType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -50,6 +63,71 @@ public class BackupFileStreamImplAutowiredTest {
 		}
 	}
 	
+	/**
+	 * Each registered type that can be written as binary must read back to the
+	 * same values.
+	 */
+	@Test
+	public void testAllBinaryRoundTrip() throws IOException {
+		int count = 0;
+		for (MigratableDatabaseObject dbo : backupFileStream.typeProvider.getDatabaseObjectRegister()) {
+			Class<?> backupClass = dbo.getBackupClass();
+			if (!BinaryBackupCodec.isSupported(backupClass)) {
+				continue;
+			}
+			List<?> samples = BinaryBackupTestUtils.createSampleBackupObjects(backupClass, 2);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			BinaryBackupCodec.writeRows(backupClass, samples, out);
+			Iterator<?> read = BinaryBackupCodec.readRows(backupClass, new ByteArrayInputStream(out.toByteArray()));
+			for (Object sample : samples) {
+				assertTrue(read.hasNext());
+				Object result = read.next();
+				assertNotSame(sample, result);
+				assertEquals(Collections.emptyList(), BinaryBackupTestUtils.getFieldsWithDifferentValues(backupClass, sample, result),
+						dbo.getMigratableTableType().name());
+			}
+			assertFalse(read.hasNext());
+			count++;
+		}
+		assertTrue(count > 0);
+	}
+
+	/**
+	 * Backups written as XML before the binary encoding existed must still be
+	 * read when the binary type is selected.
+	 */
+	@Test
+	public void testReadExistingXMLBackup() throws IOException {
+		String xml = "<linked-list>\n"
+				+ "  <DATA__ACCESS__SUBMISSION__SUBMITTER>\n"
+				+ "    <currentSubmissionId>4</currentSubmissionId>\n"
+				+ "    <accessRequirementId>2</accessRequirementId>\n"
+				+ "    <submitterId>3</submitterId>\n"
+				+ "    <id>1</id>\n"
+				+ "    <etag>etag</etag>\n"
+				+ "  </DATA__ACCESS__SUBMISSION__SUBMITTER>\n"
+				+ "</linked-list>";
+		ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zipOut = new ZipOutputStream(zipBytes)) {
+			zipOut.putNextEntry(new ZipEntry(BackupFileStreamImpl.createFileName(MigrationType.DATA_ACCESS_SUBMISSION_SUBMITTER, 0)));
+			zipOut.write(xml.getBytes(StandardCharsets.UTF_8));
+			zipOut.closeEntry();
+		}
+		DBOSubmissionSubmitter expected = new DBOSubmissionSubmitter();
+		expected.setId(1L);
+		expected.setAccessRequirementId(2L);
+		expected.setSubmitterId(3L);
+		expected.setCurrentSubmissionId(4L);
+		expected.setEtag("etag");
+
+		for (BackupAliasType aliasType : new BackupAliasType[] { BackupAliasType.MIGRATION_TYPE_NAME, BackupAliasType.BINARY }) {
+			List<MigratableDatabaseObject<?, ?>> results = new ArrayList<>();
+			// call under test
+			backupFileStream.readBackupFile(new ByteArrayInputStream(zipBytes.toByteArray()), aliasType).forEach(results::add);
+			assertEquals(Collections.singletonList(expected), results, aliasType.name());
+		}
+	}
+	
 	public static void main(String[] args) {
 		System.out.println(new String(Base64.getDecoder().decode("VGVhbSBDaGFsbGVuZ2UgU3VibWlzc2lvbg==")));
 	}
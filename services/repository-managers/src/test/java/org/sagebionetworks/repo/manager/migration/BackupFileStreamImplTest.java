@@ -1,6 +1,7 @@
 package org.sagebionetworks.repo.manager.migration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -233,6 +234,16 @@ public class BackupFileStreamImplTest {
 		BackupFileStreamImpl.createFileName(null, 3);
 	}
 	
+	@Test
+	public void testCreateBinaryFileName() {
+		// call under test
+		String name = BackupFileStreamImpl.createBinaryFileName(MigrationType.ACCESS_REQUIREMENT, 3);
+		assertEquals("ACCESS_REQUIREMENT.3.bin", name);
+		assertTrue(BackupFileStreamImpl.isBinaryFileName(name));
+		assertFalse(BackupFileStreamImpl.isBinaryFileName(BackupFileStreamImpl.createFileName(MigrationType.ACCESS_REQUIREMENT, 3)));
+		assertEquals(MigrationType.ACCESS_REQUIREMENT, BackupFileStreamImpl.getTypeFromFileName(name));
+	}
+	
 	@Test
 	public void testGetTypeFromFileName() {
 		MigrationType type = MigrationType.ACL;
@@ -405,6 +416,82 @@ public class BackupFileStreamImplTest {
 		assertEquals(rowsToWrite, allResults);
 	}
 	
+	@Test
+	public void testWriteBackupFileBinary() throws IOException {
+		int maximumRowsPerFile = 100;
+		backupAliasType = BackupAliasType.BINARY;
+		// call under test
+		backupFileStream.writeBackupFile(byteArrayOutputStream, rowsToWrite, backupAliasType, maximumRowsPerFile);
+		// Read the results
+		ZipInputStream zipIn = new ZipInputStream(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()));
+		ZipEntry entry = zipIn.getNextEntry();
+		assertNotNull(entry);
+		assertEquals("NODE.0.bin", entry.getName());
+		entry = zipIn.getNextEntry();
+		assertNotNull(entry);
+		assertEquals("NODE_REVISION.1.bin", entry.getName());
+		// no more files
+		entry = zipIn.getNextEntry();
+		assertEquals(null, entry);
+	}
+	
+	@Test
+	public void testWriteThenReadBinarySmallMax() throws IOException {
+		backupAliasType = BackupAliasType.BINARY;
+		int maximumRowsPerFile = 1;
+		// call under test
+		backupFileStream.writeBackupFile(byteArrayOutputStream, rowsToWrite, backupAliasType, maximumRowsPerFile);
+		ByteArrayInputStream input = new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
+		// call under test
+		Iterable<MigratableDatabaseObject<?, ?>> resultIterator = backupFileStream.readBackupFile(input, backupAliasType);
+		List<MigratableDatabaseObject<?, ?>> allResults = new LinkedList<>();
+		for(MigratableDatabaseObject<?, ?> row: resultIterator) {
+			allResults.add(row);
+		}
+		assertEquals(rowsToWrite, allResults);
+	}
+	
+	@Test
+	public void testWriteThenReadBinaryLargeMax() throws IOException {
+		backupAliasType = BackupAliasType.BINARY;
+		dboNodeOne.setName("name");
+		dboNodeOne.setDescription(new byte[] { 1, 2, 3 });
+		dboRevisionOne.setUserAnnotationsJSON("{}");
+		// call under test
+		backupFileStream.writeBackupFile(byteArrayOutputStream, rowsToWrite, backupAliasType, maximumRowsPerFile);
+		ByteArrayInputStream input = new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
+		// call under test
+		Iterable<MigratableDatabaseObject<?, ?>> resultIterator = backupFileStream.readBackupFile(input, backupAliasType);
+		List<MigratableDatabaseObject<?, ?>> allResults = new LinkedList<>();
+		for(MigratableDatabaseObject<?, ?> row: resultIterator) {
+			allResults.add(row);
+		}
+		assertEquals(rowsToWrite, allResults);
+	}
+	
+	/**
+	 * XML files written with the migration type name alias can be read when the binary type is selected.
+	 */
+	@Test
+	public void testWriteXMLThenReadBinary() throws IOException {
+		backupFileStream.writeBackupFile(byteArrayOutputStream, rowsToWrite, BackupAliasType.MIGRATION_TYPE_NAME, maximumRowsPerFile);
+		ByteArrayInputStream input = new ByteArrayInputStream(byteArrayOutputStream.toByteArray());
+		// call under test
+		Iterable<MigratableDatabaseObject<?, ?>> resultIterator = backupFileStream.readBackupFile(input, BackupAliasType.BINARY);
+		List<MigratableDatabaseObject<?, ?>> allResults = new LinkedList<>();
+		for(MigratableDatabaseObject<?, ?> row: resultIterator) {
+			allResults.add(row);
+		}
+		assertEquals(rowsToWrite, allResults);
+	}
+	
+	@Test
+	public void testGetXmlAliasType() {
+		assertEquals(BackupAliasType.MIGRATION_TYPE_NAME, BackupFileStreamImpl.getXmlAliasType(BackupAliasType.BINARY));
+		assertEquals(BackupAliasType.TABLE_NAME, BackupFileStreamImpl.getXmlAliasType(BackupAliasType.TABLE_NAME));
+		assertEquals(BackupAliasType.MIGRATION_TYPE_NAME, BackupFileStreamImpl.getXmlAliasType(BackupAliasType.MIGRATION_TYPE_NAME));
+	}
+	
 	@Test (expected=IllegalStateException.class)
 	public void testNextBeforeHasNext() throws IOException {
 		backupFileStream.writeBackupFile(byteArrayOutputStream, rowsToWrite, backupAliasType, maximumRowsPerFile);
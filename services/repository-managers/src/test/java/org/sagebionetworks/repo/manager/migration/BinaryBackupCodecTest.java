@@ -0,0 +1,229 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BinaryBackupCodecTest {
+
+	enum Color {
+		RED, BLUE
+	}
+
+	static class Parent {
+		Long id;
+	}
+
+	static class Example extends Parent {
+		static String ignoredStatic = "static";
+		transient String ignoredTransient;
+		long count;
+		Integer size;
+		boolean active;
+		Boolean deleted;
+		Double score;
+		String name;
+		byte[] blob;
+		Date modifiedOn;
+		Timestamp createdOn;
+		Color color;
+		String removedLater;
+	}
+
+	/**
+	 * A newer version of Example with one field removed and one field added.
+	 */
+	static class ExampleV2 extends Parent {
+		long count;
+		Integer size;
+		boolean active;
+		Boolean deleted;
+		Double score;
+		String name;
+		byte[] blob;
+		Date modifiedOn;
+		Timestamp createdOn;
+		Color color;
+		String addedLater = "default";
+	}
+
+	static class ExampleWithList {
+		List<Long> ids;
+	}
+
+	static class ExampleWithChangedType {
+		Integer count;
+	}
+
+	Example one;
+	Example two;
+
+	@BeforeEach
+	public void before() {
+		one = new Example();
+		one.id = 123L;
+		one.count = 4L;
+		one.size = 5;
+		one.active = true;
+		one.deleted = false;
+		one.score = 1.5;
+		one.name = "\u00fcn\u00efc\u00f6d\u00e9 name";
+		one.blob = new byte[] { 1, 2, 3 };
+		one.modifiedOn = new Date(1000L);
+		one.createdOn = new Timestamp(2000L);
+		one.createdOn.setNanos(123456789);
+		one.color = Color.BLUE;
+		one.removedLater = "removed";
+		one.ignoredTransient = "transient";
+		// all other fields are null.
+		two = new Example();
+		two.id = 456L;
+	}
+
+	byte[] write(List<?> rows) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryBackupCodec.writeRows(Example.class, rows, out);
+		return out.toByteArray();
+	}
+
+	<B> List<B> read(Class<B> clazz, byte[] bytes) throws IOException {
+		List<B> results = new ArrayList<>();
+		BinaryBackupCodec.readRows(clazz, new ByteArrayInputStream(bytes)).forEachRemaining(results::add);
+		return results;
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		byte[] bytes = write(Arrays.asList(one, two));
+		// call under test
+		List<Example> results = read(Example.class, bytes);
+		assertEquals(2, results.size());
+		Example result = results.get(0);
+		assertEquals(one.id, result.id);
+		assertEquals(one.count, result.count);
+		assertEquals(one.size, result.size);
+		assertEquals(one.active, result.active);
+		assertEquals(one.deleted, result.deleted);
+		assertEquals(one.score, result.score);
+		assertEquals(one.name, result.name);
+		assertArrayEquals(one.blob, result.blob);
+		assertEquals(one.modifiedOn, result.modifiedOn);
+		assertEquals(one.createdOn, result.createdOn);
+		assertEquals(one.color, result.color);
+		assertEquals(one.removedLater, result.removedLater);
+		assertNull(result.ignoredTransient);
+
+		result = results.get(1);
+		assertEquals(two.id, result.id);
+		assertEquals(0L, result.count);
+		assertNull(result.size);
+		assertFalse(result.active);
+		assertNull(result.name);
+		assertNull(result.blob);
+		assertNull(result.createdOn);
+		assertNull(result.color);
+	}
+
+	@Test
+	public void testRoundTripWithNoRows() throws IOException {
+		byte[] bytes = write(Collections.emptyList());
+		// call under test
+		Iterator<Example> iterator = BinaryBackupCodec.readRows(Example.class, new ByteArrayInputStream(bytes));
+		assertFalse(iterator.hasNext());
+		assertThrows(NoSuchElementException.class, () -> {
+			iterator.next();
+		});
+	}
+
+	@Test
+	public void testReadWithChangedClass() throws IOException {
+		byte[] bytes = write(Arrays.asList(one));
+		// call under test
+		List<ExampleV2> results = read(ExampleV2.class, bytes);
+		assertEquals(1, results.size());
+		ExampleV2 result = results.get(0);
+		assertEquals(one.id, result.id);
+		assertEquals(one.name, result.name);
+		assertEquals(one.createdOn, result.createdOn);
+		// the new field keeps its default.
+		assertEquals("default", result.addedLater);
+	}
+
+	@Test
+	public void testReadWithChangedFieldType() throws IOException {
+		byte[] bytes = write(Arrays.asList(one));
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			read(ExampleWithChangedType.class, bytes);
+		}).getMessage();
+		assertTrue(message.contains("'count'"));
+	}
+
+	@Test
+	public void testReadNotBinary() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			read(Example.class, "<list></list>".getBytes("UTF-8"));
+		});
+	}
+
+	@Test
+	public void testReadUnknownVersion() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dataOut = new DataOutputStream(out);
+		dataOut.writeInt(BinaryBackupCodec.MAGIC);
+		dataOut.writeShort(BinaryBackupCodec.VERSION + 1);
+		dataOut.flush();
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			read(Example.class, out.toByteArray());
+		}).getMessage();
+		assertEquals("Unsupported binary backup version: 2", message);
+	}
+
+	@Test
+	public void testIsSupported() {
+		// call under test
+		assertTrue(BinaryBackupCodec.isSupported(Example.class));
+		assertFalse(BinaryBackupCodec.isSupported(ExampleWithList.class));
+	}
+
+	@Test
+	public void testWriteUnsupported() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			BinaryBackupCodec.writeRows(ExampleWithList.class, Collections.emptyList(), new ByteArrayOutputStream());
+		});
+	}
+
+	@Test
+	public void testSchemaFields() {
+		// call under test
+		List<String> names = BinaryBackupCodec.getSchema(Example.class).get().getFields().stream()
+				.map(f -> f.getName()).collect(Collectors.toList());
+		// static and transient fields are excluded, super class fields are last.
+		assertEquals(Arrays.asList("active", "blob", "color", "count", "createdOn", "deleted", "modifiedOn", "name",
+				"removedLater", "score", "size", "id"), names);
+	}
+
+}
@@ -0,0 +1,105 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+
+import org.sagebionetworks.repo.manager.migration.BinaryBackupCodec.ClassSchema;
+import org.sagebionetworks.repo.manager.migration.BinaryBackupCodec.FieldCodec;
+
+/**
+ * Creates backup objects with a representative value in each field that the
+ * {@link BinaryBackupCodec} encodes.
+ *
+ */
+public class BinaryBackupTestUtils {
+
+	/**
+	 * Create an instance of the given backup class with a non-null value in each
+	 * encoded field.
+	 *
+	 * @param backupClass Must be supported by the {@link BinaryBackupCodec}.
+	 * @param seed        Objects created with different seeds have different
+	 *                    values.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public static <B> B createSampleBackupObject(Class<B> backupClass, int seed) {
+		ClassSchema schema = getSchema(backupClass);
+		B sample = (B) schema.newInstance();
+		int index = 0;
+		for (FieldCodec field : schema.getFields()) {
+			field.set(sample, createSampleValue(field, seed, index++));
+		}
+		return sample;
+	}
+
+	/**
+	 * @param backupClass
+	 * @param count
+	 * @return The given number of sample objects of the given class.
+	 */
+	public static <B> List<B> createSampleBackupObjects(Class<B> backupClass, int count) {
+		List<B> samples = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			samples.add(createSampleBackupObject(backupClass, i));
+		}
+		return samples;
+	}
+
+	/**
+	 * @param backupClass
+	 * @param expected
+	 * @param actual
+	 * @return The names of the encoded fields with different values in the two
+	 *         objects.
+	 */
+	public static List<String> getFieldsWithDifferentValues(Class<?> backupClass, Object expected, Object actual) {
+		List<String> different = new ArrayList<>();
+		for (FieldCodec field : getSchema(backupClass).getFields()) {
+			if (!Objects.deepEquals(field.get(expected), field.get(actual))) {
+				different.add(field.getName());
+			}
+		}
+		return different;
+	}
+
+	static ClassSchema getSchema(Class<?> backupClass) {
+		return BinaryBackupCodec.getSchema(backupClass).orElseThrow(
+				() -> new IllegalArgumentException("Binary backup is not supported for: " + backupClass.getName()));
+	}
+
+	static Object createSampleValue(FieldCodec field, int seed, int index) {
+		long number = seed * 1000L + index + 1;
+		switch (field.getType()) {
+		case LONG:
+			return number;
+		case INTEGER:
+			return (int) number;
+		case BOOLEAN:
+			// false is the default value of a primitive field.
+			return Boolean.TRUE;
+		case DOUBLE:
+			return number + 0.5;
+		case STRING:
+			return field.getName() + "-" + seed;
+		case BYTES:
+			return (field.getName() + "-" + seed).getBytes(StandardCharsets.UTF_8);
+		case DATE:
+			return new Date(1600000000000L + number);
+		case TIMESTAMP:
+			Timestamp timestamp = new Timestamp(1600000000000L + number * 1000L);
+			timestamp.setNanos(123456789);
+			return timestamp;
+		case ENUM:
+			Object[] constants = field.getFieldType().getEnumConstants();
+			return constants[(int) (number % constants.length)];
+		default:
+			throw new IllegalArgumentException("Unknown type: " + field.getType());
+		}
+	}
+
+}
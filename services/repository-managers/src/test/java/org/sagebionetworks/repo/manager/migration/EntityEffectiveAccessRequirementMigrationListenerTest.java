@@ -0,0 +1,127 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.model.RestrictableObjectType;
+import org.sagebionetworks.repo.model.ar.EntityEffectiveAccessRequirementDao;
+import org.sagebionetworks.repo.model.dbo.DatabaseObject;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOAccessRequirement;
+import org.sagebionetworks.repo.model.dbo.persistence.DBONode;
+import org.sagebionetworks.repo.model.dbo.persistence.DBOSubjectAccessRequirement;
+import org.sagebionetworks.repo.model.migration.MigrationType;
+
+@ExtendWith(MockitoExtension.class)
+public class EntityEffectiveAccessRequirementMigrationListenerTest {
+
+	@Mock
+	private EntityEffectiveAccessRequirementDao mockDao;
+
+	@InjectMocks
+	private EntityEffectiveAccessRequirementMigrationListener listener;
+
+	DBONode createNode(Long id, Long parentId) {
+		DBONode node = new DBONode();
+		node.setId(id);
+		node.setParentId(parentId);
+		return node;
+	}
+
+	DBOSubjectAccessRequirement createBinding(Long subjectId, RestrictableObjectType type) {
+		DBOSubjectAccessRequirement binding = new DBOSubjectAccessRequirement();
+		binding.setSubjectId(subjectId);
+		binding.setSubjectType(type.name());
+		binding.setAccessRequirementId(99L);
+		return binding;
+	}
+
+	@Test
+	public void testSupports() {
+		assertTrue(listener.supports(MigrationType.NODE));
+		assertTrue(listener.supports(MigrationType.NODE_ACCESS_REQUIRMENT));
+		assertTrue(listener.supports(MigrationType.ACCESS_REQUIREMENT));
+		assertFalse(listener.supports(MigrationType.NODE_REVISION));
+		assertFalse(listener.supports(MigrationType.ACCESS_APPROVAL));
+	}
+
+	@Test
+	public void testAfterCreateOrUpdateWithNodes() {
+		// 2 is a child of 1, and 4 is a child of 3 which is not in the batch.
+		List<DatabaseObject<?>> batch = Arrays.asList(createNode(2L, 1L), createNode(1L, 0L), createNode(4L, 3L));
+		// call under test
+		listener.afterCreateOrUpdate(batch);
+		verify(mockDao).markSubtreesChanged(Arrays.asList(1L, 4L));
+	}
+
+	@Test
+	public void testAfterCreateOrUpdateWithNodeWithoutParent() {
+		List<DatabaseObject<?>> batch = Collections.singletonList(createNode(1L, null));
+		// call under test
+		listener.afterCreateOrUpdate(batch);
+		verify(mockDao).markSubtreesChanged(Collections.singletonList(1L));
+	}
+
+	@Test
+	public void testAfterCreateOrUpdateWithBindings() {
+		List<DatabaseObject<?>> batch = Arrays.asList(createBinding(5L, RestrictableObjectType.ENTITY),
+				createBinding(6L, RestrictableObjectType.TEAM), createBinding(5L, RestrictableObjectType.ENTITY),
+				createBinding(7L, RestrictableObjectType.ENTITY));
+		// call under test
+		listener.afterCreateOrUpdate(batch);
+		verify(mockDao).markSubtreesChanged(Arrays.asList(5L, 7L));
+	}
+
+	@Test
+	public void testAfterCreateOrUpdateWithRequirements() {
+		List<DatabaseObject<?>> batch = Collections.singletonList(new DBOAccessRequirement());
+		// call under test
+		listener.afterCreateOrUpdate(batch);
+		verifyZeroInteractions(mockDao);
+	}
+
+	@Test
+	public void testAfterCreateOrUpdateWithEmptyBatch() {
+		// call under test
+		listener.afterCreateOrUpdate(Collections.emptyList());
+		verifyZeroInteractions(mockDao);
+	}
+
+	@Test
+	public void testBeforeCreateOrUpdate() {
+		// call under test
+		listener.beforeCreateOrUpdate(Collections.singletonList(new DBONode()));
+		verifyZeroInteractions(mockDao);
+	}
+
+	@Test
+	public void testBeforeDeleteByRangeWithBindings() {
+		// call under test
+		listener.beforeDeleteByRange(MigrationType.NODE_ACCESS_REQUIRMENT, 3L, 45L);
+		verify(mockDao).markRequirementRangeSubjectsChanged(3L, 45L);
+	}
+
+	@Test
+	public void testBeforeDeleteByRangeWithRequirements() {
+		// call under test
+		listener.beforeDeleteByRange(MigrationType.ACCESS_REQUIREMENT, 3L, 45L);
+		verify(mockDao).markRequirementRangeSubjectsChanged(3L, 45L);
+	}
+
+	@Test
+	public void testBeforeDeleteByRangeWithNodes() {
+		// call under test
+		listener.beforeDeleteByRange(MigrationType.NODE, 3L, 45L);
+		verifyZeroInteractions(mockDao);
+	}
+}
@@ -2,6 +2,7 @@ package org.sagebionetworks.repo.manager.migration;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -33,6 +34,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +49,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.sagebionetworks.aws.SynapseS3Client;
+import org.sagebionetworks.repo.manager.migration.MigrationManagerImpl.RestoreBatch;
 import org.sagebionetworks.repo.model.AuthorizationConstants;
 import org.sagebionetworks.repo.model.StackStatusDao;
 import org.sagebionetworks.repo.model.UnauthorizedException;
@@ -82,7 +87,9 @@ import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
 
 /**
@@ -112,6 +119,8 @@ public class MigrationManagerImplTest {
 	FileInputStream mockFileInputStream;
 	@Mock
 	UserInfo mockUser;
+	@Mock
+	ExecutorService mockThreadPool;
 	@Captor
 	ArgumentCaptor<Iterable<MigratableDatabaseObject<?, ?>>> iterableCator;
 	@Mock
@@ -227,6 +236,16 @@ public class MigrationManagerImplTest {
 				.setMaximumId(100L).setMinimumId(10L).setSecondaryTypes(Arrays.asList(revisionTypeData));
 	}
 	
+	/**
+	 * Run each task submitted to the thread pool on the calling thread.
+	 */
+	void setupThreadPool() {
+		when(mockThreadPool.submit(any(Callable.class))).thenAnswer((invocation) -> {
+			Callable<?> callable = invocation.getArgument(0);
+			return CompletableFuture.completedFuture(callable.call());
+		});
+	}
+	
 	@Test
 	public void testgetMigrationChecksumForTypeReadWriteMode() throws Exception {
 		when(mockStatusDao.getCurrentStatus()).thenReturn(StatusEnum.READ_WRITE);
@@ -555,6 +574,7 @@ public class MigrationManagerImplTest {
 	@Test
 	public void testRestoreStreamBatchByType() {
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(true);
 		
@@ -586,6 +606,7 @@ public class MigrationManagerImplTest {
 	@Test
 	public void testRestoreStreamBatchBySize() throws IOException {
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(true);
 		
@@ -612,6 +633,7 @@ public class MigrationManagerImplTest {
 	@Test
 	public void testRestoreStreamWithNullMaxid() {
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(true);
 		
@@ -635,6 +657,7 @@ public class MigrationManagerImplTest {
 	@Test
 	public void testRestoreStreamWithNullMinId() {
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(true);
 		
@@ -672,6 +695,7 @@ public class MigrationManagerImplTest {
 	@Test
 	public void testRestoreStreamSecondaryNotRegistered() throws IOException {
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
 		// secondary not registered.
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(false);
@@ -690,6 +714,53 @@ public class MigrationManagerImplTest {
 		verify(mockDao).createOrUpdate(MigrationType.NODE, Lists.newArrayList(nodeOne, nodeTwo));
 	}
 	
+	@Test
+	public void testRestoreStreamWithReadFailure() {
+		IllegalStateException error = new IllegalStateException("corrupt");
+		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(() -> {
+			throw error;
+		});
+		setupThreadPool();
+		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
+
+		IllegalStateException result = assertThrows(IllegalStateException.class, () -> {
+			// call under test
+			manager.restoreStream(mockInputStream, manifest);
+		});
+		assertEquals(error, result);
+		verify(mockDao, never()).createOrUpdate(any(MigrationType.class), anyList());
+	}
+	
+	@Test
+	public void testReadNextBatch() {
+		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
+		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(false);
+		PeekingIterator<MigratableDatabaseObject<?, ?>> rows = Iterators
+				.peekingIterator(Lists.<MigratableDatabaseObject<?, ?>>newArrayList(nodeOne, revOne, nodeTwo, revTwo).iterator());
+		// call under test
+		RestoreBatch batch = manager.readNextBatch(rows, 10L);
+		assertEquals(MigrationType.NODE, batch.getType());
+		// the unregistered revisions are skipped.
+		assertEquals(Lists.newArrayList(nodeOne, nodeTwo), batch.getRows());
+		assertFalse(rows.hasNext());
+		// call under test
+		batch = manager.readNextBatch(rows, 10L);
+		assertTrue(batch.getRows().isEmpty());
+	}
+	
+	@Test
+	public void testReadNextBatchStopsAtTypeSwitch() {
+		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
+		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(true);
+		PeekingIterator<MigratableDatabaseObject<?, ?>> rows = Iterators.peekingIterator(allObjects.iterator());
+		// call under test
+		RestoreBatch batch = manager.readNextBatch(rows, 10L);
+		assertEquals(MigrationType.NODE, batch.getType());
+		assertEquals(Lists.newArrayList(nodeOne, nodeTwo), batch.getRows());
+		// the first revision remains in the stream.
+		assertEquals(revOne, rows.peek());
+	}
+	
 	@Test
 	public void testCreateManifestKey() {
 		String manifestKey = MigrationManagerImpl.createManifestKey("some/base/key");
@@ -749,6 +820,7 @@ public class MigrationManagerImplTest {
 		when(mockFileProvider.createFileInputStream(any())).thenReturn(mockFileInputStream);
 		when(mockUser.isAdmin()).thenReturn(true);
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.getObjectForType(any())).thenReturn(new DBONode());
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE)).thenReturn(true);
 		when(mockDao.isMigrationTypeRegistered(MigrationType.NODE_REVISION)).thenReturn(true);
@@ -782,6 +854,7 @@ public class MigrationManagerImplTest {
 		when(mockFileProvider.createFileInputStream(any())).thenReturn(mockFileInputStream);
 		when(mockUser.isAdmin()).thenReturn(true);
 		when(mockBackupFileStream.readBackupFile(any(), any())).thenReturn(allObjects);
+		setupThreadPool();
 		when(mockDao.getObjectForType(any())).thenReturn(new DBONode());
 		when(mockDao.isMigrationTypeRegistered(any())).thenReturn(true);
 		when(mockDao.getTypeData(MigrationType.NODE)).thenReturn(nodeTypeData);
@@ -912,6 +985,26 @@ public class MigrationManagerImplTest {
 		verify(mockDao).isMigrationTypeRegistered(MigrationType.NODE_REVISION);
 	}
 	
+	@Test
+	public void testDeleteByRangeWithListener() throws IOException {
+		when(mockDao.isMigrationTypeRegistered(any())).thenReturn(true);
+		when(mockMigrationListener.supports(any())).thenReturn(true);
+		
+		long minimumId = 3L;
+		long maximumId = 45L;
+		manifest.setMinimumId(minimumId);
+		manifest.setMaximumId(maximumId);
+		
+		// call under test
+		manager.deleteByRange(manifest);
+		// each listener is called before the rows of the type are deleted.
+		InOrder inOrder = inOrder(mockMigrationListener, mockDao);
+		inOrder.verify(mockMigrationListener).beforeDeleteByRange(MigrationType.NODE_REVISION, minimumId, maximumId);
+		inOrder.verify(mockDao).deleteByRange(revisionTypeData, minimumId, maximumId);
+		inOrder.verify(mockMigrationListener).beforeDeleteByRange(MigrationType.NODE, minimumId, maximumId);
+		inOrder.verify(mockDao).deleteByRange(nodeTypeData, minimumId, maximumId);
+	}
+	
 	@Test
 	public void testDeleteByRangeWitNullMax() throws IOException {
 		Long minimumId = 3L;
@@ -0,0 +1,150 @@
+package org.sagebionetworks.repo.manager.migration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.manager.table.TableEntityManager;
+import org.sagebionetworks.repo.model.UnauthorizedException;
+import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dbo.dao.table.TableRowTruthDAO;
+import org.sagebionetworks.repo.model.migration.TableRowChangeFileHandleIdsBackfillResponse;
+import org.sagebionetworks.repo.model.table.TableRowChange;
+import org.sagebionetworks.repo.web.NotFoundException;
+import org.sagebionetworks.table.model.SparseChangeSet;
+
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.google.common.collect.ImmutableSet;
+
+@ExtendWith(MockitoExtension.class)
+public class TableRowChangeFileHandleIdsBackfillTest {
+
+	@Mock
+	private TableRowTruthDAO mockTableRowTruthDao;
+
+	@Mock
+	private TableEntityManager mockTableEntityManager;
+
+	@InjectMocks
+	private TableRowChangeFileHandleIdsBackfill backfill;
+
+	@Mock
+	private SparseChangeSet mockChangeSet;
+
+	private UserInfo admin;
+	private Set<Long> fileHandleIds;
+
+	@BeforeEach
+	public void before() {
+		admin = new UserInfo(true, 1L);
+		fileHandleIds = ImmutableSet.of(1L, 2L);
+	}
+
+	TableRowChange createChange(long id) {
+		return new TableRowChange().setId(id).setTableId("syn123").setRowVersion(id);
+	}
+
+	@Test
+	public void testBackfillFileHandleIds() throws Exception {
+		List<TableRowChange> firstPage = new ArrayList<>();
+		for (long i = 0; i < TableRowChangeFileHandleIdsBackfill.PAGE_SIZE_LIMIT; i++) {
+			firstPage.add(createChange(i));
+		}
+		List<TableRowChange> secondPage = Collections.singletonList(createChange(1000L));
+
+		when(mockTableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(anyLong(), anyLong())).thenReturn(firstPage, secondPage);
+		when(mockTableEntityManager.getSparseChangeSet(any())).thenReturn(mockChangeSet);
+		when(mockChangeSet.getFileHandleIdsInSparseChangeSet()).thenReturn(fileHandleIds);
+
+		// Call under test
+		TableRowChangeFileHandleIdsBackfillResponse response = backfill.backfillFileHandleIds(admin);
+
+		assertEquals(Long.valueOf(TableRowChangeFileHandleIdsBackfill.PAGE_SIZE_LIMIT + 1), response.getCount());
+
+		// The pages are fetched after the last change of the previous page
+		verify(mockTableRowTruthDao).getTableRowChangeWithFileRefsMissingFileHandleIdsPage(-1L, TableRowChangeFileHandleIdsBackfill.PAGE_SIZE_LIMIT);
+		verify(mockTableRowTruthDao).getTableRowChangeWithFileRefsMissingFileHandleIdsPage(TableRowChangeFileHandleIdsBackfill.PAGE_SIZE_LIMIT - 1, TableRowChangeFileHandleIdsBackfill.PAGE_SIZE_LIMIT);
+		verify(mockTableRowTruthDao).setFileHandleIds(0L, fileHandleIds);
+		verify(mockTableRowTruthDao).setFileHandleIds(1000L, fileHandleIds);
+	}
+
+	@Test
+	public void testBackfillFileHandleIdsWithNotFound() throws Exception {
+		TableRowChange missing = createChange(1L);
+		TableRowChange found = createChange(2L);
+
+		when(mockTableRowTruthDao.getTableRowChangeWithFileRefsMissingFileHandleIdsPage(anyLong(), anyLong())).thenReturn(List.of(missing, found));
+		when(mockTableEntityManager.getSparseChangeSet(missing)).thenThrow(new NotFoundException("missing"));
+		when(mockTableEntityManager.getSparseChangeSet(found)).thenReturn(mockChangeSet);
+		when(mockChangeSet.getFileHandleIdsInSparseChangeSet()).thenReturn(fileHandleIds);
+
+		// Call under test
+		TableRowChangeFileHandleIdsBackfillResponse response = backfill.backfillFileHandleIds(admin);
+
+		assertEquals(Long.valueOf(1L), response.getCount());
+
+		verify(mockTableRowTruthDao, never()).setFileHandleIds(1L, fileHandleIds);
+		verify(mockTableRowTruthDao).setFileHandleIds(2L, fileHandleIds);
+	}
+
+	@Test
+	public void testBackfillChangeWithS3NotFound() throws Exception {
+		AmazonS3Exception ex = new AmazonS3Exception("not found");
+		ex.setStatusCode(HttpStatus.SC_NOT_FOUND);
+		TableRowChange change = createChange(1L);
+
+		when(mockTableEntityManager.getSparseChangeSet(change)).thenThrow(ex);
+
+		// Call under test
+		assertFalse(backfill.backfillChange(change));
+
+		verifyZeroInteractions(mockTableRowTruthDao);
+	}
+
+	@Test
+	public void testBackfillChangeWithOtherS3Exception() throws Exception {
+		AmazonS3Exception ex = new AmazonS3Exception("failed");
+		ex.setStatusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR);
+		TableRowChange change = createChange(1L);
+
+		when(mockTableEntityManager.getSparseChangeSet(change)).thenThrow(ex);
+
+		AmazonS3Exception result = assertThrows(AmazonS3Exception.class, () -> {
+			// Call under test
+			backfill.backfillChange(change);
+		});
+
+		assertEquals(ex, result);
+		verifyZeroInteractions(mockTableRowTruthDao);
+	}
+
+	@Test
+	public void testBackfillFileHandleIdsWithNonAdmin() throws Exception {
+		UserInfo user = new UserInfo(false, 2L);
+
+		assertThrows(UnauthorizedException.class, () -> {
+			// Call under test
+			backfill.backfillFileHandleIds(user);
+		});
+
+		verifyZeroInteractions(mockTableRowTruthDao);
+	}
+}
@@ -0,0 +1,72 @@
+package org.sagebionetworks.repo.manager.monitoring;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.sagebionetworks.cloudwatch.ProfileData;
+import org.sagebionetworks.repo.manager.table.QueryPlanningSnapshotCache;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryPlanningSnapshotCacheMonitorTest {
+
+	@Mock
+	private Consumer mockConsumer;
+
+	@Mock
+	private StackConfiguration mockConfig;
+
+	@Mock
+	private QueryPlanningSnapshotCache mockCache;
+
+	private QueryPlanningSnapshotCacheMonitor monitor;
+
+	@BeforeEach
+	public void before() {
+		when(mockConfig.getStackInstance()).thenReturn("test");
+		when(mockCache.getHitCount()).thenReturn(10L);
+		when(mockCache.getMissCount()).thenReturn(10L);
+		when(mockCache.getInvalidationCount()).thenReturn(5L);
+		monitor = new QueryPlanningSnapshotCacheMonitor(mockCache, mockConsumer, mockConfig);
+	}
+
+	@Test
+	public void testCollectMetrics() {
+		// 3 hits and 1 miss since the last collection.
+		when(mockCache.getHitCount()).thenReturn(13L);
+		when(mockCache.getMissCount()).thenReturn(11L);
+		when(mockCache.getInvalidationCount()).thenReturn(6L);
+
+		// call under test
+		monitor.collectMetrics();
+
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Workers-QueryPlanningSnapshotCache-test")
+				.setName("hitRate").setValue(0.75).setUnit(StandardUnit.None.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Workers-QueryPlanningSnapshotCache-test")
+				.setName("requestCount").setValue(4.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Workers-QueryPlanningSnapshotCache-test")
+				.setName("missCount").setValue(1.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Workers-QueryPlanningSnapshotCache-test")
+				.setName("invalidationCount").setValue(1.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer, times(4)).addProfileData(any(ProfileData.class));
+	}
+
+	@Test
+	public void testCollectMetricsWithNoRequests() {
+		// call under test
+		monitor.collectMetrics();
+
+		verifyZeroInteractions(mockConsumer);
+	}
+}
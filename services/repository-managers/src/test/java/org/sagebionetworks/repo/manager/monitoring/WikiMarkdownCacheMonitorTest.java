@@ -0,0 +1,75 @@
+package org.sagebionetworks.repo.manager.monitoring;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.StackConfiguration;
+import org.sagebionetworks.cloudwatch.Consumer;
+import org.sagebionetworks.cloudwatch.ProfileData;
+import org.sagebionetworks.repo.model.dbo.wikiV2.WikiMarkdownCache;
+
+import com.amazonaws.services.cloudwatch.model.StandardUnit;
+import com.google.common.cache.CacheStats;
+
+@ExtendWith(MockitoExtension.class)
+public class WikiMarkdownCacheMonitorTest {
+
+	@Mock
+	private Consumer mockConsumer;
+
+	@Mock
+	private StackConfiguration mockConfig;
+
+	@Mock
+	private WikiMarkdownCache mockCache;
+
+	private WikiMarkdownCacheMonitor monitor;
+
+	@BeforeEach
+	public void before() {
+		when(mockConfig.getStackInstance()).thenReturn("test");
+		when(mockCache.getStats()).thenReturn(new CacheStats(10, 10, 10, 0, 0, 0));
+		when(mockCache.getDiskHitCount()).thenReturn(5L);
+		when(mockCache.getSourceLoadCount()).thenReturn(5L);
+		monitor = new WikiMarkdownCacheMonitor(mockCache, mockConsumer, mockConfig);
+	}
+
+	@Test
+	public void testCollectMetrics() {
+		// 3 hits and 1 miss since the last collection.
+		when(mockCache.getStats()).thenReturn(new CacheStats(13, 11, 11, 0, 0, 2));
+		when(mockCache.getDiskHitCount()).thenReturn(5L);
+		when(mockCache.getSourceLoadCount()).thenReturn(6L);
+
+		// call under test
+		monitor.collectMetrics();
+
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Repository-WikiMarkdownCache-test")
+				.setName("memoryHitRate").setValue(0.75).setUnit(StandardUnit.None.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Repository-WikiMarkdownCache-test")
+				.setName("requestCount").setValue(4.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Repository-WikiMarkdownCache-test")
+				.setName("diskHitCount").setValue(0.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Repository-WikiMarkdownCache-test")
+				.setName("sourceLoadCount").setValue(1.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer).addProfileData(new ProfileData().setNamespace("Repository-WikiMarkdownCache-test")
+				.setName("evictionCount").setValue(2.0).setUnit(StandardUnit.Count.name()));
+		verify(mockConsumer, times(5)).addProfileData(any(ProfileData.class));
+	}
+
+	@Test
+	public void testCollectMetricsWithNoRequests() {
+		// call under test
+		monitor.collectMetrics();
+
+		verifyZeroInteractions(mockConsumer);
+	}
+}
@@ -1,18 +1,24 @@
 package org.sagebionetworks.repo.manager.search;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.sagebionetworks.repo.model.ObjectType;
 import org.sagebionetworks.repo.model.dao.WikiPageKey;
@@ -53,7 +59,6 @@ public class ChangeMessageToSearchDocumentTranslatorTest{
 	private Document docOne;
 	private long changeNumber;
 	private String synapseId;
-	private String etag;
 	String wikiId;
 	WikiPageKey wikiKey;
 
@@ -61,7 +66,6 @@ public class ChangeMessageToSearchDocumentTranslatorTest{
 	public void setUp(){
 		changeNumber = 111L;
 		synapseId = "112233";
-		etag = "etag1";
 
 
 		//documentChangeMessage() test setup
@@ -74,90 +78,99 @@ public class ChangeMessageToSearchDocumentTranslatorTest{
 
 		docOne = new Document();
 		docOne.setId(synapseId);
-		when(mockSearchDocumentDriver.formulateSearchDocument(synapseId)).thenReturn(docOne);
-		
-		when(mockSearchDocumentDriver.doesEntityExistInRepository(synapseId)).thenReturn(true);
-		when(mockSearchDao.doesDocumentExistInSearchIndex(synapseId, etag)).thenReturn(false);
 		
 		wikiId = "987";
 		wikiKey = WikiPageKeyHelper.createWikiPageKey(synapseId, ObjectType.ENTITY, wikiId);
-		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenReturn(wikiKey);
 		when(mockRecordLogger.startRecordForChangeMessage(any(ChangeMessage.class))).thenReturn(mocKRecord);
 	}
 	
 	@Test
-	public void testEntityChange() {
+	public void testGenerateSearchDocumentsIfNecessaryEntity() {
+		when(mockSearchDocumentDriver.formulateSearchDocuments(any())).thenReturn(Collections.singletonMap(synapseId, docOne));
 		// call under test
-		Document doc = translator.entityChange(synapseId, mocKRecord);
-		assertEquals(docOne, doc);
+		List<Document> docs = translator.generateSearchDocumentsIfNecessary(Collections.singletonList(message));
+		assertEquals(Collections.singletonList(docOne), docs);
+		verify(mockRecordLogger).startRecordForChangeMessage(message);
+		verify(mockSearchDocumentDriver).formulateSearchDocuments(Collections.singleton(synapseId));
 		verify(mocKRecord).withAction(DocumentAction.CREATE_OR_UPDATE);
-		verify(mockSearchDocumentDriver).formulateSearchDocument(synapseId);
+		verify(mockWikiPageDao, never()).lookupWikiKey(anyString());
 	}
 	
 	@Test
-	public void testEntityChangeEntityDoesNotExist() {
-		// documents that do not exist do not have an etag.
-		when(mockSearchDocumentDriver.doesEntityExistInRepository(synapseId)).thenReturn(false);
+	public void testGenerateSearchDocumentsIfNecessaryEntityDoesNotExist() {
+		// entities that do not exist are not formulated.
+		when(mockSearchDocumentDriver.formulateSearchDocuments(any())).thenReturn(Collections.emptyMap());
 		// call under test
-		Document doc = translator.entityChange(synapseId, mocKRecord);
+		List<Document> docs = translator.generateSearchDocumentsIfNecessary(Collections.singletonList(message));
 		Document expectedDocument = new Document();
 		expectedDocument.setId(message.getObjectId());
 		expectedDocument.setType(DocumentTypeNames.delete);
-		assertEquals(expectedDocument, doc);
+		assertEquals(Collections.singletonList(expectedDocument), docs);
 		verify(mocKRecord).withAction(DocumentAction.DELETE);
-		verify(mockSearchDocumentDriver, never()).formulateSearchDocument(anyString());
 	}
 	
 	@Test
-	public void testWikiChange() {
-		//when a wiki is updated, the entity to which it is associated may still have the same etag
-		when(mockSearchDao.doesDocumentExistInSearchIndex(synapseId, etag)).thenReturn(true);
-
-		String wikiId = "987";
-		WikiPageKey key = WikiPageKeyHelper.createWikiPageKey(synapseId, ObjectType.ENTITY, wikiId);
-		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenReturn(key);
-		
+	public void testGenerateSearchDocumentsIfNecessaryWiki() {
+		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenReturn(wikiKey);
+		when(mockSearchDocumentDriver.formulateSearchDocuments(any())).thenReturn(Collections.singletonMap(synapseId, docOne));
+		message.setObjectId(wikiId);
+		message.setObjectType(ObjectType.WIKI);
 		// call under test
-		Document doc = translator.wikiChange(wikiId, mocKRecord);
-		assertEquals(docOne, doc);
+		List<Document> docs = translator.generateSearchDocumentsIfNecessary(Collections.singletonList(message));
+		assertEquals(Collections.singletonList(docOne), docs);
+		verify(mockRecordLogger).startRecordForChangeMessage(message);
 		verify(mockWikiPageDao).lookupWikiKey(wikiId);
-		verify(mocKRecord).withAction(DocumentAction.CREATE_OR_UPDATE);
 		verify(mocKRecord).withWikiOwner(synapseId);
-		verify(mockSearchDocumentDriver).formulateSearchDocument(synapseId);
+		verify(mocKRecord).withAction(DocumentAction.CREATE_OR_UPDATE);
+		verify(mockSearchDocumentDriver).formulateSearchDocuments(Collections.singleton(synapseId));
 	}
-
+	
 	@Test
-	public void testWikiChangeWikiNotFound() {
-		String wikiId = "987";
-		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenThrow(new NotFoundException(""));
-
+	public void testGenerateSearchDocumentsIfNecessary() {
+		// a wiki change for the same entity
+		ChangeMessage wikiMessage = new ChangeMessage();
+		wikiMessage.setObjectId(wikiId);
+		wikiMessage.setObjectType(ObjectType.WIKI);
+		// an entity that is no longer available
+		ChangeMessage deletedMessage = new ChangeMessage();
+		deletedMessage.setObjectId("445566");
+		deletedMessage.setObjectType(ObjectType.ENTITY);
+		CloudSearchDocumentLogRecord mockDeletedRecord = Mockito.mock(CloudSearchDocumentLogRecord.class);
+		when(mockRecordLogger.startRecordForChangeMessage(deletedMessage)).thenReturn(mockDeletedRecord);
+		when(mockSearchDocumentDriver.formulateSearchDocuments(any())).thenReturn(Collections.singletonMap(synapseId, docOne));
+		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenReturn(wikiKey);
+		
 		// call under test
-		Document doc = translator.wikiChange(wikiId, mocKRecord);
-		assertNull(doc);
-		verify(mocKRecord).withAction(DocumentAction.IGNORE);
+		List<Document> docs = translator.generateSearchDocumentsIfNecessary(Arrays.asList(message, wikiMessage, deletedMessage));
+		Document expectedDelete = new Document();
+		expectedDelete.setId("445566");
+		expectedDelete.setType(DocumentTypeNames.delete);
+		assertEquals(Arrays.asList(docOne, expectedDelete), docs);
+		// all of the entities are formulated together.
+		verify(mockSearchDocumentDriver).formulateSearchDocuments(new LinkedHashSet<>(Arrays.asList(synapseId, "445566")));
 		verify(mockSearchDocumentDriver, never()).formulateSearchDocument(anyString());
+		verify(mocKRecord).withWikiOwner(synapseId);
+		verify(mocKRecord, times(2)).withAction(DocumentAction.CREATE_OR_UPDATE);
+		verify(mockDeletedRecord).withAction(DocumentAction.DELETE);
 	}
 	
 	@Test
-	public void testGenerateSearchDocumentIfNecessaryEntity() {
+	public void testGenerateSearchDocumentsIfNecessaryWikiNotFound() {
+		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenThrow(new NotFoundException(""));
+		message.setObjectId(wikiId);
+		message.setObjectType(ObjectType.WIKI);
+		
 		// call under test
-		Document doc = translator.generateSearchDocumentIfNecessary(message);
-		assertEquals(docOne, doc);
-		verify(mockRecordLogger).startRecordForChangeMessage(message);
-		verify(mockWikiPageDao, never()).lockForUpdate(anyString());
+		List<Document> docs = translator.generateSearchDocumentsIfNecessary(Collections.singletonList(message));
+		assertEquals(Collections.emptyList(), docs);
+		verify(mocKRecord).withAction(DocumentAction.IGNORE);
+		verify(mockSearchDocumentDriver, never()).formulateSearchDocuments(any());
 	}
 	
-	@Test
-	public void testGenerateSearchDocumentIfNecessaryWiki() {
-		String wikiId = "987";
-		WikiPageKey key = WikiPageKeyHelper.createWikiPageKey(synapseId, ObjectType.ENTITY, wikiId);
-		when(mockWikiPageDao.lookupWikiKey(wikiId)).thenReturn(key);
-		message.setObjectId(wikiId);
-		message.setObjectType(ObjectType.WIKI);
+	@Test(expected = IllegalArgumentException.class)
+	public void testGenerateSearchDocumentsIfNecessaryUnknownType() {
+		message.setObjectType(ObjectType.ACTIVITY);
 		// call under test
-		Document doc = translator.generateSearchDocumentIfNecessary(message);
-		assertEquals(docOne, doc);
-		verify(mockRecordLogger).startRecordForChangeMessage(message);
-		verify(mockWikiPageDao).lookupWikiKey(wikiId);
+		translator.generateSearchDocumentsIfNecessary(Collections.singletonList(message));
 	}
 }
@@ -8,32 +8,54 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.sagebionetworks.search.SearchConstants.FIELD_CONSORTIUM;
 import static org.sagebionetworks.search.SearchConstants.FIELD_DIAGNOSIS;
 import static org.sagebionetworks.search.SearchConstants.FIELD_ORGAN;
 import static org.sagebionetworks.search.SearchConstants.FIELD_TISSUE;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.sagebionetworks.repo.model.ACCESS_TYPE;
 import org.sagebionetworks.repo.model.AccessControlList;
+import org.sagebionetworks.repo.model.AccessControlListDAO;
 import org.sagebionetworks.repo.model.EntityType;
 import org.sagebionetworks.repo.model.Node;
+import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.ObjectType;
 import org.sagebionetworks.repo.model.annotation.v2.Annotations;
 import org.sagebionetworks.repo.model.annotation.v2.AnnotationsV2TestUtils;
+import org.sagebionetworks.repo.model.annotation.v2.AnnotationsV2Utils;
 import org.sagebionetworks.repo.model.annotation.v2.AnnotationsValueType;
 import org.sagebionetworks.repo.model.search.Document;
+import org.sagebionetworks.repo.model.dao.WikiPageKeyHelper;
 import org.sagebionetworks.repo.model.search.DocumentFields;
+import org.sagebionetworks.repo.model.v2.dao.V2WikiPageDao;
+import org.sagebionetworks.repo.model.v2.wiki.V2WikiHeader;
+import org.sagebionetworks.repo.web.NotFoundException;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SearchDocumentDriverImplTest {
@@ -44,6 +66,18 @@ public class SearchDocumentDriverImplTest {
 
 	private SearchDocumentDriverImpl spySearchDocumentDriver;
 
+	@Mock
+	private NodeDAO mockNodeDao;
+
+	@Mock
+	private AccessControlListDAO mockAclDao;
+
+	@Mock
+	private V2WikiPageDao mockWikiPageDao;
+
+	@InjectMocks
+	private SearchDocumentDriverImpl searchDocumentDriver;
+
 	private Annotations annotationsV2;
 
 	@Mock
@@ -89,6 +123,12 @@ public class SearchDocumentDriverImplTest {
 		node.setModifiedByPrincipalId(123L);
 		node.setModifiedOn(new Date());
 
+		searchDocumentDriver.cachedThreadPool = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void after() {
+		searchDocumentDriver.cachedThreadPool.shutdownNow();
 	}
 
 
@@ -192,4 +232,82 @@ public class SearchDocumentDriverImplTest {
 		assertEquals(sanitizedString, result.getFields().getDescription());
 	}
 
+	@Test
+	public void testFormulateSearchDocuments() throws Exception {
+		Node nodeTwo = new Node();
+		nodeTwo.setId("syn2");
+		nodeTwo.setNodeType(EntityType.folder);
+		nodeTwo.setCreatedByPrincipalId(123L);
+		nodeTwo.setCreatedOn(new Date());
+		nodeTwo.setModifiedByPrincipalId(123L);
+		nodeTwo.setModifiedOn(new Date());
+		// syn3 is not available
+		when(mockNodeDao.getAvailableNodes(any())).thenReturn(Sets.newHashSet(123L, 2L));
+		when(mockNodeDao.getNodes(any())).thenReturn(Arrays.asList(node, nodeTwo));
+		when(mockNodeDao.getUserAnnotationsForCurrentVersions(any())).thenReturn(ImmutableMap.of(123L, AnnotationsV2Utils.emptyAnnotations(), 2L, AnnotationsV2Utils.emptyAnnotations()));
+		when(mockNodeDao.getBenefactors(any())).thenReturn(ImmutableMap.of(123L, 1L, 2L, 1L));
+		when(mockAclDao.getPrincipalIdsMap(Collections.singleton("1"), ObjectType.ENTITY, ACCESS_TYPE.READ))
+				.thenReturn(Collections.singletonMap("1", Sets.newHashSet("5", "4")));
+		when(mockAclDao.getPrincipalIdsMap(Collections.singleton("1"), ObjectType.ENTITY, ACCESS_TYPE.UPDATE))
+				.thenReturn(Collections.singletonMap("1", Collections.singleton("4")));
+		V2WikiHeader header = new V2WikiHeader();
+		header.setId("10");
+		header.setTitle("title");
+		when(mockWikiPageDao.getHeaderTree("syn123", ObjectType.ENTITY, 100L, 0L)).thenReturn(Collections.singletonList(header));
+		when(mockWikiPageDao.getMarkdown(WikiPageKeyHelper.createWikiPageKey("syn123", ObjectType.ENTITY, "10"), null)).thenReturn("markdown");
+		when(mockWikiPageDao.getHeaderTree("syn2", ObjectType.ENTITY, 100L, 0L)).thenThrow(new NotFoundException(""));
+
+		//method under test
+		Map<String, Document> results = searchDocumentDriver.formulateSearchDocuments(Arrays.asList("syn123", "2", "3"));
+
+		assertEquals(Arrays.asList("syn123", "2"), new ArrayList<>(results.keySet()));
+		Document one = results.get("syn123");
+		assertEquals("syn123", one.getId());
+		assertEquals("\ntitle\nmarkdown", one.getFields().getDescription());
+		assertEquals(Arrays.asList("4", "5"), one.getFields().getAcl());
+		assertEquals(Arrays.asList("4"), one.getFields().getUpdate_acl());
+		Document two = results.get("2");
+		assertEquals("syn2", two.getId());
+		assertEquals("", two.getFields().getDescription());
+		assertEquals(Arrays.asList("4", "5"), two.getFields().getAcl());
+		// each benefactor ACL is only read once for the batch.
+		verify(mockAclDao, times(2)).getPrincipalIdsMap(any(), any(), any());
+		verify(mockNodeDao).getNodes(Arrays.asList(123L, 2L));
+		// the title comes from the header
+		verify(mockWikiPageDao, never()).get(any(), any());
+	}
+
+	@Test
+	public void testFormulateSearchDocumentsNoneAvailable() {
+		when(mockNodeDao.getAvailableNodes(any())).thenReturn(Collections.emptySet());
+
+		//method under test
+		Map<String, Document> results = searchDocumentDriver.formulateSearchDocuments(Arrays.asList("syn123"));
+
+		assertTrue(results.isEmpty());
+		verify(mockNodeDao, never()).getNodes(any());
+	}
+
+	@Test
+	public void testAddAclsToSearchDocumentOverLimit() {
+		List<Long> principalIds = new ArrayList<>();
+		for (long i = 0; i < SearchDocumentDriverImpl.FIELD_VALUE_SIZE_LIMIT + 1; i++) {
+			principalIds.add(i);
+		}
+
+		//method under test
+		searchDocumentDriver.addAclsToSearchDocument("syn123", documentFields, principalIds, Collections.singletonList(1L));
+
+		assertEquals(SearchDocumentDriverImpl.FIELD_VALUE_SIZE_LIMIT, documentFields.getAcl().size());
+		assertEquals(Arrays.asList("1"), documentFields.getUpdate_acl());
+	}
+
+	@Test
+	public void testGetSortedPrincipalIds() {
+		Set<String> principalIds = Sets.newHashSet("20", "3", "100");
+		//method under test
+		assertEquals(Arrays.asList(3L, 20L, 100L), SearchDocumentDriverImpl.getSortedPrincipalIds(principalIds));
+		assertEquals(Collections.emptyList(), SearchDocumentDriverImpl.getSortedPrincipalIds(null));
+	}
+
 }
@@ -13,10 +13,14 @@ import static org.mockito.Mockito.when;
 
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -49,6 +53,9 @@ public class StatisticsMonthlyManagerImplTest {
 	@Mock
 	private StatisticsMonthlyProcessor mockProcessor;
 
+	@Mock
+	private StatisticsMonthlyProcessor mockOtherProcessor;
+
 	@Mock
 	private StatisticsMonthlyProcessorNotifier mockNotifier;
 
@@ -61,13 +68,22 @@ public class StatisticsMonthlyManagerImplTest {
 	@Mock
 	private StatisticsMonthlyStatus mockStatus;
 
+	private ExecutorService threadPool;
+
 	private StatisticsMonthlyManagerImpl manager;
 
 	@BeforeEach
 	public void before() {
 		when(mockConfig.getMaximumMonthsForMonthlyStatistics()).thenReturn(MAX_MONTHS_TO_PROCESS);
 
-		manager = new StatisticsMonthlyManagerImpl(mockDao, mockProcessorProvider, mockNotifier, mockConfig);
+		threadPool = Executors.newCachedThreadPool();
+
+		manager = new StatisticsMonthlyManagerImpl(mockDao, mockProcessorProvider, mockNotifier, mockConfig, threadPool);
+	}
+
+	@AfterEach
+	public void after() {
+		threadPool.shutdownNow();
 	}
 
 	@Test
@@ -204,6 +220,72 @@ public class StatisticsMonthlyManagerImplTest {
 		verify(mockCallback).removeProgressListener(any(ProgressListener.class));
 	}
 
+	@Test
+	public void testProcessMonthWithMultipleProcessors() {
+
+		YearMonth month = YearMonth.of(2019, 8);
+
+		when(mockProcessor.getName()).thenReturn("processor");
+		when(mockOtherProcessor.getName()).thenReturn("otherProcessor");
+		when(mockDao.getCompletedProcessors(OBJECT_TYPE, month)).thenReturn(Collections.emptySet());
+		when(mockProcessorProvider.getProcessors(OBJECT_TYPE)).thenReturn(Arrays.asList(mockProcessor, mockOtherProcessor));
+
+		// Call under test
+		manager.processMonth(OBJECT_TYPE, month, mockCallback);
+
+		verify(mockProcessor).processMonth(month);
+		verify(mockOtherProcessor).processMonth(month);
+		verify(mockDao).setProcessorCompleted(OBJECT_TYPE, month, "processor");
+		verify(mockDao).setProcessorCompleted(OBJECT_TYPE, month, "otherProcessor");
+		verify(mockDao).setAvailable(OBJECT_TYPE, month);
+	}
+
+	@Test
+	public void testProcessMonthWithCompletedProcessor() {
+
+		YearMonth month = YearMonth.of(2019, 8);
+
+		when(mockProcessor.getName()).thenReturn("processor");
+		when(mockOtherProcessor.getName()).thenReturn("otherProcessor");
+		when(mockDao.getCompletedProcessors(OBJECT_TYPE, month)).thenReturn(Collections.singleton("processor"));
+		when(mockProcessorProvider.getProcessors(OBJECT_TYPE)).thenReturn(Arrays.asList(mockProcessor, mockOtherProcessor));
+
+		// Call under test
+		manager.processMonth(OBJECT_TYPE, month, mockCallback);
+
+		verify(mockProcessor, never()).processMonth(any());
+		verify(mockOtherProcessor).processMonth(month);
+		verify(mockDao, never()).setProcessorCompleted(OBJECT_TYPE, month, "processor");
+		verify(mockDao).setProcessorCompleted(OBJECT_TYPE, month, "otherProcessor");
+		verify(mockDao).setAvailable(OBJECT_TYPE, month);
+	}
+
+	@Test
+	public void testProcessMonthWithOneProcessorFailed() {
+
+		YearMonth month = YearMonth.of(2019, 8);
+
+		Exception ex = new IllegalStateException("Some error");
+
+		when(mockProcessor.getName()).thenReturn("processor");
+		when(mockOtherProcessor.getName()).thenReturn("otherProcessor");
+		doThrow(ex).when(mockProcessor).processMonth(any());
+		when(mockDao.getCompletedProcessors(OBJECT_TYPE, month)).thenReturn(Collections.emptySet());
+		when(mockProcessorProvider.getProcessors(OBJECT_TYPE)).thenReturn(Arrays.asList(mockProcessor, mockOtherProcessor));
+
+		Assertions.assertThrows(StatisticsProcessingException.class, () -> {
+			// Call under test
+			manager.processMonth(OBJECT_TYPE, month, mockCallback);
+		});
+
+		// The processor that did not fail is still recorded as completed so that it is not executed again on retry
+		verify(mockOtherProcessor).processMonth(month);
+		verify(mockDao, never()).setProcessorCompleted(OBJECT_TYPE, month, "processor");
+		verify(mockDao).setProcessorCompleted(OBJECT_TYPE, month, "otherProcessor");
+		verify(mockDao, never()).setAvailable(OBJECT_TYPE, month);
+		verify(mockDao).setProcessingFailed(eq(OBJECT_TYPE), eq(month), eq(ex.getMessage()), any(String.class));
+	}
+
 	@Test
 	public void testStartProcessingMonthWhenAbsent() {
 		YearMonth month = YearMonth.of(2019, 8);
@@ -0,0 +1,160 @@
+package org.sagebionetworks.repo.manager.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.manager.AuthorizationManager;
+import org.sagebionetworks.repo.model.AccessControlListDAO;
+import org.sagebionetworks.repo.model.ObjectType;
+import org.sagebionetworks.repo.model.UserInfo;
+
+import com.google.common.collect.Sets;
+
+@ExtendWith(MockitoExtension.class)
+public class AccessibleBenefactorsCacheImplTest {
+
+	@Mock
+	private AuthorizationManager mockAuthorizationManager;
+
+	@Mock
+	private AccessControlListDAO mockAclDao;
+
+	@InjectMocks
+	private AccessibleBenefactorsCacheImpl cache;
+
+	private UserInfo user;
+	private Set<Long> benefactorIds;
+	private Set<Long> accessible;
+
+	@BeforeEach
+	public void before() {
+		// This is invoked by spring after bean construction
+		cache.configure();
+		user = new UserInfo(false, 123L);
+		user.setGroups(Sets.newHashSet(123L, 456L));
+		benefactorIds = LongStream.range(0, AccessibleBenefactorsCacheImpl.MIN_BENEFACTORS_TO_CACHE).boxed().collect(Collectors.toSet());
+		accessible = Sets.newHashSet(1L, 2L);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactors() {
+		when(mockAclDao.getAclChecksum(any(), any())).thenReturn("checksum");
+		when(mockAuthorizationManager.getAccessibleBenefactors(any(), any(), any())).thenAnswer(invocation -> new HashSet<>(accessible));
+
+		// call under test
+		Set<Long> first = cache.getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+		Set<Long> second = cache.getAccessibleBenefactors(user, ObjectType.ENTITY, new HashSet<>(benefactorIds));
+
+		assertEquals(accessible, first);
+		assertEquals(accessible, second);
+		assertNotSame(first, second);
+		// the cached result must be mutable
+		second.add(-1L);
+
+		verify(mockAclDao, times(2)).getAclChecksum(benefactorIds, ObjectType.ENTITY);
+		verify(mockAuthorizationManager).getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactorsWithAclChange() {
+		when(mockAclDao.getAclChecksum(any(), any())).thenReturn("checksum", "changed");
+		when(mockAuthorizationManager.getAccessibleBenefactors(any(), any(), any())).thenReturn(accessible, Sets.newHashSet(1L));
+
+		// call under test
+		Set<Long> first = cache.getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+		Set<Long> second = cache.getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+
+		assertEquals(accessible, first);
+		assertEquals(Sets.newHashSet(1L), second);
+
+		verify(mockAuthorizationManager, times(2)).getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactorsWithDifferentGroups() {
+		UserInfo otherUser = new UserInfo(false, 789L);
+		otherUser.setGroups(Sets.newHashSet(789L));
+
+		when(mockAclDao.getAclChecksum(any(), any())).thenReturn("checksum");
+		when(mockAuthorizationManager.getAccessibleBenefactors(any(), any(), any())).thenReturn(accessible, Sets.newHashSet(3L));
+
+		// call under test
+		Set<Long> first = cache.getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+		Set<Long> second = cache.getAccessibleBenefactors(otherUser, ObjectType.ENTITY, benefactorIds);
+
+		assertEquals(accessible, first);
+		assertEquals(Sets.newHashSet(3L), second);
+
+		verify(mockAuthorizationManager).getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+		verify(mockAuthorizationManager).getAccessibleBenefactors(otherUser, ObjectType.ENTITY, benefactorIds);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactorsWithDifferentType() {
+		when(mockAclDao.getAclChecksum(any(), any())).thenReturn("checksum");
+		when(mockAuthorizationManager.getAccessibleBenefactors(any(), any(), any())).thenReturn(accessible, Sets.newHashSet(3L));
+
+		// call under test
+		Set<Long> first = cache.getAccessibleBenefactors(user, ObjectType.ENTITY, benefactorIds);
+		Set<Long> second = cache.getAccessibleBenefactors(user, ObjectType.EVALUATION, benefactorIds);
+
+		assertEquals(accessible, first);
+		assertEquals(Sets.newHashSet(3L), second);
+
+		verify(mockAclDao).getAclChecksum(benefactorIds, ObjectType.ENTITY);
+		verify(mockAclDao).getAclChecksum(benefactorIds, ObjectType.EVALUATION);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactorsWithSmallSet() {
+		Set<Long> small = Sets.newHashSet(1L, 2L, 3L);
+		when(mockAuthorizationManager.getAccessibleBenefactors(any(), any(), any())).thenReturn(accessible);
+
+		// call under test
+		cache.getAccessibleBenefactors(user, ObjectType.ENTITY, small);
+		cache.getAccessibleBenefactors(user, ObjectType.ENTITY, small);
+
+		verify(mockAuthorizationManager, times(2)).getAccessibleBenefactors(user, ObjectType.ENTITY, small);
+		verifyZeroInteractions(mockAclDao);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactorsWithAdmin() {
+		UserInfo admin = new UserInfo(true, 1L);
+		when(mockAuthorizationManager.getAccessibleBenefactors(any(), any(), any())).thenReturn(benefactorIds);
+
+		// call under test
+		Set<Long> result = cache.getAccessibleBenefactors(admin, ObjectType.ENTITY, benefactorIds);
+
+		assertEquals(benefactorIds, result);
+
+		verifyZeroInteractions(mockAclDao);
+	}
+
+	@Test
+	public void testGetAccessibleBenefactorsWithNullUser() {
+		String message = assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			cache.getAccessibleBenefactors(null, ObjectType.ENTITY, benefactorIds);
+		}).getMessage();
+
+		assertEquals("The user is required.", message);
+	}
+}
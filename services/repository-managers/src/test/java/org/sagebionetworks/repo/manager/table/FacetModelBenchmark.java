@@ -0,0 +1,156 @@
+package org.sagebionetworks.repo.manager.table;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.sagebionetworks.repo.model.dao.table.TableType;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.ColumnType;
+import org.sagebionetworks.repo.model.table.FacetColumnRangeRequest;
+import org.sagebionetworks.repo.model.table.FacetColumnRequest;
+import org.sagebionetworks.repo.model.table.FacetColumnValuesRequest;
+import org.sagebionetworks.repo.model.table.FacetType;
+import org.sagebionetworks.table.cluster.SchemaProvider;
+import org.sagebionetworks.table.cluster.TranslationDependencies;
+import org.sagebionetworks.table.cluster.description.TableIndexDescription;
+import org.sagebionetworks.table.query.ParseException;
+import org.sagebionetworks.table.query.TableQueryParser;
+import org.sagebionetworks.table.query.model.QueryExpression;
+
+/**
+ * Measures the cost of generating the facet statistics queries of a query
+ * with the {@link FacetModel}: one {@link FacetTransformerValueCounts} for each
+ * enumeration facet and one {@link FacetTransformerRange} for each range facet,
+ * each translated into the SQL that runs against the index. The table and its
+ * facet selections match the FACETS query of the lib-table-benchmark corpus.
+ *
+ * <pre>
+ * mvn -pl services/repository-managers test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.sagebionetworks.repo.manager.table.FacetModelBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FacetModelBenchmark {
+
+	private static final IdAndVersion TABLE_ID = IdAndVersion.parse("syn1");
+
+	/**
+	 * When true the facets have selected values, which adds the search condition
+	 * of the other facets to each statistics query.
+	 */
+	@Param({ "false", "true" })
+	private boolean selectFacets;
+
+	private TranslationDependencies dependencies;
+	private QueryExpression originalQuery;
+	private List<FacetColumnRequest> selectedFacets;
+
+	@Setup
+	public void setup() throws ParseException {
+		SchemaProvider schemaProvider = new SingleTableSchemaProvider(List.of(
+			createColumn(1L, "id", ColumnType.INTEGER, null),
+			createColumn(2L, "foo", ColumnType.STRING, FacetType.enumeration),
+			createColumn(3L, "bar", ColumnType.INTEGER, FacetType.range),
+			createColumn(4L, "aDate", ColumnType.DATE, FacetType.range),
+			createColumn(6L, "aBool", ColumnType.BOOLEAN, FacetType.enumeration),
+			createColumn(7L, "aList", ColumnType.STRING_LIST, FacetType.enumeration)
+		));
+		dependencies = TranslationDependencies.builder()
+			.setSchemaProvider(schemaProvider)
+			.setIndexDescription(new TableIndexDescription(TABLE_ID))
+			.setUserId(123L)
+			.build();
+		originalQuery = new TableQueryParser("select * from syn1 where aBool is true").queryExpression();
+		selectedFacets = selectFacets ? List.of(
+			new FacetColumnValuesRequest().setColumnName("foo").setFacetValues(IntStream.range(0, 10).mapToObj(i -> "value" + i).collect(Collectors.toSet())),
+			new FacetColumnRangeRequest().setColumnName("bar").setMin("10").setMax("1000"),
+			new FacetColumnValuesRequest().setColumnName("aList").setFacetValues(IntStream.range(0, 5).mapToObj(i -> "item" + i).collect(Collectors.toSet()))
+		) : null;
+	}
+
+	@Benchmark
+	public void generateFacetQueries(Blackhole blackhole) {
+		FacetModel model = new FacetModel(selectedFacets, originalQuery, dependencies, true);
+		for (FacetTransformer transformer : model.getFacetInformationQueries()) {
+			blackhole.consume(transformer.getFacetSqlQuery().getOutputSQL());
+		}
+	}
+
+	static ColumnModel createColumn(Long id, String name, ColumnType type, FacetType facetType) {
+		ColumnModel column = new ColumnModel().setId(id.toString()).setName(name).setColumnType(type).setFacetType(facetType);
+		if (type == ColumnType.STRING || type == ColumnType.STRING_LIST) {
+			column.setMaximumSize(50L);
+		}
+		if (type == ColumnType.STRING_LIST) {
+			column.setMaximumListLength(24L);
+		}
+		return column;
+	}
+
+	/**
+	 * Plain {@link SchemaProvider} of the benchmark table, a mock would record each
+	 * invocation made by the measured code.
+	 */
+	static class SingleTableSchemaProvider implements SchemaProvider {
+
+		private final List<ColumnModel> schema;
+
+		SingleTableSchemaProvider(List<ColumnModel> schema) {
+			this.schema = schema;
+		}
+
+		@Override
+		public TableType getTableType(IdAndVersion tableId) {
+			return TableType.table;
+		}
+
+		@Override
+		public List<ColumnModel> getTableSchema(IdAndVersion tableId) {
+			if (!TABLE_ID.equals(tableId)) {
+				throw new IllegalArgumentException("Unknown table: " + tableId);
+			}
+			return schema;
+		}
+
+		@Override
+		public ColumnModel getColumnModel(String id) {
+			return schema.stream().filter(column -> column.getId().equals(id)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown column: " + id));
+		}
+
+	}
+
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(FacetModelBenchmark.class.getSimpleName())
+			.addProfiler(GCProfiler.class)
+			.build()).run();
+	}
+
+}
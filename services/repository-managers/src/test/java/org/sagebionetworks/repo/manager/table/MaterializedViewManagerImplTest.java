@@ -1,6 +1,7 @@
 package org.sagebionetworks.repo.manager.table;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -1110,6 +1111,182 @@ public class MaterializedViewManagerImplTest {
 		verifyNoMoreInteractions(mockTableIndexManager);
 	}
 		
+	@Test
+	public void testRebuildAvailableViewHoldingTemporaryExclusiveLockWithIncrementalUpdate() throws Exception {
+		doAnswer(invocation -> {
+			ProgressCallback callback = (ProgressCallback) invocation.getArguments()[0];
+			ProgressingCallable runner = (ProgressingCallable) invocation.getArguments()[2];
+			return runner.call(callback);
+		}).when(mockTableManagerSupport).tryRunWithTableNonExclusiveLock(any(), any(), any(), any(IdAndVersion.class));
+		
+		List<IndexDescription> dependencies = List.of(new TableIndexDescription(IdAndVersion.parse("syn456")));
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(idAndVersion, dependencies);
+		
+		when(mockTableManagerSupport.getIndexDescription(any())).thenReturn(indexDescription);
+		when(mockNodeDAO.getDefiningSql(any())).thenReturn(Optional.of("select * from syn456 where foo > 1"));
+		when(mockTableManagerSupport.getTableSchema(any())).thenReturn(syn123Schema);
+		when(mockColumnModelManager.createColumnModel(any())).thenReturn(syn123Schema.get(0), syn123Schema.get(1));
+		when(mockTableManagerSupport.getTableStatusOrCreateIfNotExists(any())).thenReturn(new TableStatus().setState(TableState.AVAILABLE));
+		when(mockConnectionFactory.connectToTableIndex(any())).thenReturn(mockTableIndexManager);
+		when(mockTableIndexManager.getVersionFromIndexDependencies(any())).thenReturn(10L);
+		when(mockTableIndexManager.getCurrentVersionOfIndex(any())).thenReturn(8L);
+		when(mockTableManagerSupport.isTableSearchEnabled(any())).thenReturn(false);
+		when(mockTableManagerSupport.isIndexSynchronized(any(), any(), eq(10L), anyBoolean())).thenReturn(false);
+		when(mockTableManagerSupport.isIndexSynchronized(any(), any(), eq(8L), anyBoolean())).thenReturn(true);
+		when(mockTableIndexManager.isRowSourceIdIncluded(any())).thenReturn(true);
+		doNothing().when(managerSpy).updateViewIncrementallyHoldingAllDependentReadLocks(any(), any(), any(), any(), anyLong());
+		
+		// call under test
+		managerSpy.rebuildAvailableViewHoldingTemporaryExclusiveLock(mockProgressCallback, expectedLockContext, idAndVersion, temporaryId);
+		
+		verify(mockTableManagerSupport).tryRunWithTableNonExclusiveLock(eq(mockProgressCallback), eq(expectedLockContext), any(), eq(IdAndVersion.parse("syn456")));
+		verify(mockTableManagerSupport).isIndexSynchronized(idAndVersion, List.of("111", "222"), 10, false);
+		verify(mockTableIndexManager).getCurrentVersionOfIndex(idAndVersion);
+		verify(mockTableManagerSupport).isIndexSynchronized(idAndVersion, List.of("111", "222"), 8, false);
+		verify(mockTableIndexManager).isRowSourceIdIncluded(idAndVersion);
+		verify(managerSpy).updateViewIncrementallyHoldingAllDependentReadLocks(idAndVersion, dependencies, "select * from syn456 where foo > 1", syn123Schema, 8L);
+		verify(mockTableManagerSupport).updateChangedOnIfAvailable(idAndVersion);
+		verify(managerSpy, never()).createOrRebuildViewHoldingWriteLockAndAllDependentReadLocks(any(), any(), anyBoolean());
+		verify(mockTableIndexManager, never()).swapTableIndex(any(), any());
+		verify(mockTableManagerSupport, never()).tryRunWithTableExclusiveLock(any(), any(), any(IdAndVersion.class), any());
+	}
+	
+	@Test
+	public void testRebuildAvailableViewHoldingTemporaryExclusiveLockWithIncrementalUpdateAndNoRowSourceId() throws Exception {
+		doAnswer(invocation -> {
+			ProgressCallback callback = (ProgressCallback) invocation.getArguments()[0];
+			ProgressingCallable runner = (ProgressingCallable) invocation.getArguments()[2];
+			return runner.call(callback);
+		}).when(mockTableManagerSupport).tryRunWithTableNonExclusiveLock(any(), any(), any(), any(IdAndVersion.class));
+		
+		doAnswer(invocation -> {
+			ProgressCallback callback = (ProgressCallback) invocation.getArguments()[0];
+			ProgressingCallable runner = (ProgressingCallable) invocation.getArguments()[3];
+			return runner.call(callback);
+		}).when(mockTableManagerSupport).tryRunWithTableExclusiveLock(any(), any(), any(IdAndVersion.class), any());
+		
+		List<IndexDescription> dependencies = List.of(new TableIndexDescription(IdAndVersion.parse("syn456")));
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(idAndVersion, dependencies);
+		// The view is rebuilt including the source row id
+		IndexDescription temporaryIndex = new MaterializedViewIndexDescription(temporaryId, dependencies, true);
+		
+		when(mockTableManagerSupport.getIndexDescription(any())).thenReturn(indexDescription);
+		when(mockNodeDAO.getDefiningSql(any())).thenReturn(Optional.of("select * from syn456"));
+		when(mockTableManagerSupport.getTableSchema(any())).thenReturn(syn123Schema);
+		when(mockColumnModelManager.createColumnModel(any())).thenReturn(syn123Schema.get(0), syn123Schema.get(1));
+		when(mockTableManagerSupport.getTableStatusOrCreateIfNotExists(any())).thenReturn(new TableStatus().setState(TableState.AVAILABLE));
+		when(mockConnectionFactory.connectToTableIndex(any())).thenReturn(mockTableIndexManager);
+		when(mockTableIndexManager.getVersionFromIndexDependencies(any())).thenReturn(10L);
+		when(mockTableIndexManager.getCurrentVersionOfIndex(any())).thenReturn(8L);
+		when(mockTableManagerSupport.isTableSearchEnabled(any())).thenReturn(false);
+		when(mockTableManagerSupport.isIndexSynchronized(any(), any(), eq(10L), anyBoolean())).thenReturn(false);
+		when(mockTableManagerSupport.isIndexSynchronized(any(), any(), eq(8L), anyBoolean())).thenReturn(true);
+		when(mockTableIndexManager.isRowSourceIdIncluded(any())).thenReturn(false);
+		doNothing().when(managerSpy).createOrRebuildViewHoldingWriteLockAndAllDependentReadLocks(any(), any(), anyBoolean());
+		when(mockTableManagerSupport.getTableStatusState(any())).thenReturn(Optional.of(TableState.AVAILABLE));
+		when(mockColumnModelManager.bindColumnsToVersionOfObject(any(), any())).thenReturn(syn123Schema);
+		
+		// call under test
+		managerSpy.rebuildAvailableViewHoldingTemporaryExclusiveLock(mockProgressCallback, expectedLockContext, idAndVersion, temporaryId);
+		
+		verify(mockTableIndexManager).isRowSourceIdIncluded(idAndVersion);
+		verify(managerSpy, never()).updateViewIncrementallyHoldingAllDependentReadLocks(any(), any(), any(), any(), anyLong());
+		verify(managerSpy).createOrRebuildViewHoldingWriteLockAndAllDependentReadLocks(queryCaptor.capture(), eq(syn123Schema), eq(false));
+		assertEquals(temporaryIndex, queryCaptor.getValue().getIndexDescription());
+		verify(mockTableIndexManager).swapTableIndex(temporaryIndex, indexDescription);
+		verify(mockTableManagerSupport).updateChangedOnIfAvailable(idAndVersion);
+	}
+	
+	@Test
+	public void testRebuildAvailableViewHoldingTemporaryExclusiveLockWithIncrementalUpdateAndSchemaChange() throws Exception {
+		doAnswer(invocation -> {
+			ProgressCallback callback = (ProgressCallback) invocation.getArguments()[0];
+			ProgressingCallable runner = (ProgressingCallable) invocation.getArguments()[2];
+			return runner.call(callback);
+		}).when(mockTableManagerSupport).tryRunWithTableNonExclusiveLock(any(), any(), any(), any(IdAndVersion.class));
+		
+		List<IndexDescription> dependencies = List.of(new TableIndexDescription(IdAndVersion.parse("syn456")));
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(idAndVersion, dependencies);
+		
+		when(mockTableManagerSupport.getIndexDescription(any())).thenReturn(indexDescription);
+		when(mockNodeDAO.getDefiningSql(any())).thenReturn(Optional.of("select * from syn456"));
+		when(mockTableManagerSupport.getTableSchema(any())).thenReturn(syn123Schema);
+		when(mockColumnModelManager.createColumnModel(any())).thenReturn(syn123Schema.get(0), syn123Schema.get(1));
+		when(mockTableManagerSupport.getTableStatusOrCreateIfNotExists(any())).thenReturn(new TableStatus().setState(TableState.AVAILABLE));
+		when(mockConnectionFactory.connectToTableIndex(any())).thenReturn(mockTableIndexManager);
+		when(mockTableIndexManager.getVersionFromIndexDependencies(any())).thenReturn(10L);
+		when(mockTableIndexManager.getCurrentVersionOfIndex(any())).thenReturn(8L);
+		when(mockTableManagerSupport.isTableSearchEnabled(any())).thenReturn(false);
+		when(mockTableManagerSupport.isIndexSynchronized(any(), any(), anyLong(), anyBoolean())).thenReturn(false);
+		doNothing().when(managerSpy).createOrRebuildViewHoldingWriteLockAndAllDependentReadLocks(any(), any(), anyBoolean());
+		when(mockTableManagerSupport.getTableStatusState(any())).thenReturn(Optional.of(TableState.PROCESSING));
+		
+		// call under test
+		managerSpy.rebuildAvailableViewHoldingTemporaryExclusiveLock(mockProgressCallback, expectedLockContext, idAndVersion, temporaryId);
+		
+		verify(mockTableManagerSupport).isIndexSynchronized(idAndVersion, List.of("111", "222"), 8, false);
+		verify(mockTableIndexManager, never()).isRowSourceIdIncluded(any());
+		verify(managerSpy, never()).updateViewIncrementallyHoldingAllDependentReadLocks(any(), any(), any(), any(), anyLong());
+		verify(managerSpy).createOrRebuildViewHoldingWriteLockAndAllDependentReadLocks(any(), eq(syn123Schema), eq(false));
+	}
+	
+	@Test
+	public void testUpdateViewIncrementallyHoldingAllDependentReadLocks() {
+		List<IndexDescription> dependencies = List.of(new TableIndexDescription(IdAndVersion.parse("syn456")));
+		
+		when(mockTableManagerSupport.getTableSchema(any())).thenReturn(syn123Schema);
+		when(mockConnectionFactory.connectToTableIndex(any())).thenReturn(mockTableIndexManager);
+		when(mockTableIndexManager.updateMaterializedViewFromDefiningSql(any(), any(), anyLong())).thenReturn(12L);
+		
+		// call under test
+		manager.updateViewIncrementallyHoldingAllDependentReadLocks(idAndVersion, dependencies, "select * from syn456", syn123Schema, 8L);
+		
+		verify(mockTableIndexManager).updateMaterializedViewFromDefiningSql(eq(syn123Schema), queryCaptor.capture(), eq(8L));
+		verify(mockTableIndexManager).setIndexVersion(idAndVersion, 12L);
+		
+		QueryTranslator query = queryCaptor.getValue();
+		assertEquals("SELECT * FROM syn456 WHERE ROW_VERSION > 8", query.getInputSql());
+		assertEquals(new MaterializedViewIndexDescription(idAndVersion, dependencies, true), query.getIndexDescription());
+	}
+	
+	@Test
+	public void testIsIncrementalUpdateSupported() {
+		List<IndexDescription> dependencies = List.of(new TableIndexDescription(IdAndVersion.parse("syn456")));
+		
+		assertTrue(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select * from syn456", dependencies));
+		assertTrue(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select foo, bar as b from syn456 where foo > 1 order by bar", dependencies));
+		
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select count(*) from syn456", dependencies));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select foo from syn456 group by foo", dependencies));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select distinct foo from syn456", dependencies));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select * from syn456 limit 10", dependencies));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select * from syn456 a join syn456 b on (a.foo = b.foo)", dependencies));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select foo from syn456 union select foo from syn456", dependencies));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("with syn1 as (select foo from syn456) select * from syn1", dependencies));
+	}
+	
+	@Test
+	public void testIsIncrementalUpdateSupportedWithUnsupportedDependencies() {
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select * from syn456",
+				List.of(new ViewIndexDescription(IdAndVersion.parse("syn456"), TableType.entityview, -1L))));
+		assertFalse(MaterializedViewManagerImpl.isIncrementalUpdateSupported("select * from syn456 join syn789",
+				List.of(new TableIndexDescription(IdAndVersion.parse("syn456")), new TableIndexDescription(IdAndVersion.parse("syn789")))));
+	}
+	
+	@Test
+	public void testCreateChangedRowsSql() {
+		// call under test
+		assertEquals("SELECT * FROM syn456 WHERE ROW_VERSION > 8",
+				MaterializedViewManagerImpl.createChangedRowsSql("select * from syn456", 8L));
+	}
+	
+	@Test
+	public void testCreateChangedRowsSqlWithWhere() {
+		// call under test
+		assertEquals("SELECT foo FROM syn456 WHERE ( foo > 1 OR bar = 'a' ) AND ( ROW_VERSION > 8 ) ORDER BY foo",
+				MaterializedViewManagerImpl.createChangedRowsSql("select foo from syn456 where foo > 1 or bar = 'a' order by foo", 8L));
+	}
+	
 	@Test
 	public void testCreateOrRebuildViewHoldingWriteLockAndAllDependentReadLocks() {
 		idAndVersion = IdAndVersion.parse("syn123");
@@ -0,0 +1,142 @@
+package org.sagebionetworks.repo.manager.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sagebionetworks.repo.model.dbo.dao.table.TableModelTestUtils;
+import org.sagebionetworks.repo.model.table.ColumnModel;
+import org.sagebionetworks.repo.model.table.SparseRowDto;
+import org.sagebionetworks.table.cluster.utils.CSVUtils;
+
+public class ParallelCSVToRowIteratorTest {
+
+	private ExecutorService executor;
+	private List<ColumnModel> schema;
+	private AtomicInteger chunkCount;
+
+	@BeforeEach
+	public void before() {
+		executor = Executors.newFixedThreadPool(3);
+		schema = TableModelTestUtils.createColumsWithNames("a", "b");
+		chunkCount = new AtomicInteger(0);
+	}
+
+	@AfterEach
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	ParallelCSVToRowIterator createIterator(String csv, boolean isFirstLineHeader, Long linesToSkip,
+			int chunkCharacters) throws IOException {
+		return new ParallelCSVToRowIterator(schema, null, CSVUtils.createCSVRecordChunker(new StringReader(csv), null),
+				isFirstLineHeader, linesToSkip, executor, chunkCharacters, 2, (it) -> chunkCount.incrementAndGet());
+	}
+
+	List<SparseRowDto> readAll(ParallelCSVToRowIterator iterator) {
+		List<SparseRowDto> rows = new ArrayList<>();
+		while (iterator.hasNext()) {
+			rows.add(iterator.next());
+		}
+		return rows;
+	}
+
+	@Test
+	public void testIterateManyChunks() throws IOException {
+		StringBuilder csv = new StringBuilder("b,a\n");
+		for (int i = 0; i < 1000; i++) {
+			csv.append(i).append(",\"value\n").append(i).append("\"\n");
+		}
+		List<SparseRowDto> rows;
+		try (ParallelCSVToRowIterator iterator = createIterator(csv.toString(), true, null, 100)) {
+			// call under test
+			rows = readAll(iterator);
+			assertEquals(1000L, iterator.getRowsRead());
+			assertEquals(1000L, iterator.getRowsParsed());
+		}
+		assertEquals(1000, rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			assertEquals("value\n" + i, rows.get(i).getValues().get(schema.get(0).getId()));
+			assertEquals("" + i, rows.get(i).getValues().get(schema.get(1).getId()));
+		}
+		assertTrue(chunkCount.get() > 1);
+	}
+
+	@Test
+	public void testIterateWithLinesToSkip() throws IOException {
+		String csv = "ignore,me\nalso,ignored\n1,2\n3,4\n";
+		try (ParallelCSVToRowIterator iterator = createIterator(csv, false, 2L, 1)) {
+			// call under test
+			List<SparseRowDto> rows = readAll(iterator);
+			assertEquals(2, rows.size());
+			assertEquals("1", rows.get(0).getValues().get(schema.get(0).getId()));
+			assertEquals("4", rows.get(1).getValues().get(schema.get(1).getId()));
+		}
+	}
+
+	@Test
+	public void testIterateHeaderOnly() throws IOException {
+		try (ParallelCSVToRowIterator iterator = createIterator("a,b\n", true, null, 100)) {
+			// call under test
+			assertFalse(iterator.hasNext());
+			assertThrows(NoSuchElementException.class, () -> {
+				iterator.next();
+			});
+		}
+	}
+
+	@Test
+	public void testIterateEmptyWithHeader() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			createIterator("", true, null, 100);
+		});
+	}
+
+	@Test
+	public void testIterateEmptyWithoutHeader() throws IOException {
+		try (ParallelCSVToRowIterator iterator = createIterator("", false, null, 100)) {
+			// call under test
+			assertFalse(iterator.hasNext());
+		}
+	}
+
+	@Test
+	public void testIterateParseFailure() throws IOException {
+		schema = TableModelTestUtils.createColumsWithNames("a");
+		String csv = "ROW_ID,ROW_VERSION,a\n1,1,x\nnotANumber,1,y\n";
+		try (ParallelCSVToRowIterator iterator = createIterator(csv, true, null, 1)) {
+			SparseRowDto first = iterator.next();
+			assertEquals(new Long(1), first.getRowId());
+			assertThrows(NumberFormatException.class, () -> {
+				// call under test
+				iterator.next();
+			});
+		}
+	}
+
+	@Test
+	public void testIterateDeletedRow() throws IOException {
+		String csv = "ROW_ID,ROW_VERSION,a,b\n1,2\n";
+		try (ParallelCSVToRowIterator iterator = createIterator(csv, true, null, 100)) {
+			// call under test
+			SparseRowDto row = iterator.next();
+			assertEquals(new Long(1), row.getRowId());
+			assertNull(row.getValues());
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package org.sagebionetworks.repo.manager.table;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.model.NodeDAO;
+import org.sagebionetworks.repo.model.dao.table.TableStatusDAO;
+import org.sagebionetworks.repo.model.entity.IdAndVersion;
+import org.sagebionetworks.repo.model.table.TableState;
+import org.sagebionetworks.repo.model.table.TableStatus;
+import org.sagebionetworks.repo.web.NotFoundException;
+import org.sagebionetworks.table.cluster.description.MaterializedViewIndexDescription;
+import org.sagebionetworks.table.cluster.description.TableIndexDescription;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryPlanningSnapshotCacheImplTest {
+
+	@Mock
+	private NodeDAO mockNodeDao;
+
+	@Mock
+	private TableStatusDAO mockTableStatusDao;
+
+	@Mock
+	private Function<IdAndVersion, QueryPlanningSnapshot> mockLoader;
+
+	@InjectMocks
+	private QueryPlanningSnapshotCacheImpl cache;
+
+	private IdAndVersion tableId;
+	private IdAndVersion dependencyId;
+	private TableStatus status;
+	private QueryPlanningSnapshot snapshot;
+	private QueryPlanningSnapshot viewSnapshot;
+
+	@BeforeEach
+	public void before() {
+		// This is invoked by spring after bean construction
+		cache.configure();
+		tableId = IdAndVersion.parse("syn123");
+		dependencyId = IdAndVersion.parse("syn456");
+		status = new TableStatus()
+			.setState(TableState.AVAILABLE)
+			.setResetToken("resetToken")
+			.setChangedOn(new Date(123))
+			.setLastTableChangeEtag("changeEtag");
+		snapshot = new QueryPlanningSnapshot(new TableIndexDescription(tableId, 1L), Collections.emptyList(), false, TableState.AVAILABLE);
+		viewSnapshot = new QueryPlanningSnapshot(new MaterializedViewIndexDescription(tableId,
+				Collections.singletonList(new TableIndexDescription(dependencyId, 1L))), Collections.emptyList(), false, TableState.AVAILABLE);
+	}
+
+	@Test
+	public void testGetSnapshot() {
+		when(mockNodeDao.peekCurrentEtag(anyString())).thenReturn("etag");
+		when(mockTableStatusDao.getTableStatus(any())).thenReturn(status);
+		when(mockLoader.apply(any())).thenReturn(snapshot);
+
+		// call under test
+		QueryPlanningSnapshot first = cache.getSnapshot(tableId, mockLoader);
+		QueryPlanningSnapshot second = cache.getSnapshot(tableId, mockLoader);
+
+		assertSame(snapshot, first);
+		assertSame(snapshot, second);
+
+		verify(mockLoader).apply(tableId);
+		verify(mockNodeDao, times(2)).peekCurrentEtag("123");
+		verify(mockTableStatusDao, times(2)).getTableStatus(tableId);
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+		assertEquals(0L, cache.getInvalidationCount());
+	}
+
+	@Test
+	public void testGetSnapshotWithEtagChange() {
+		when(mockNodeDao.peekCurrentEtag(anyString())).thenReturn("etag", "changed");
+		when(mockTableStatusDao.getTableStatus(any())).thenReturn(status);
+		when(mockLoader.apply(any())).thenReturn(snapshot);
+
+		// call under test
+		cache.getSnapshot(tableId, mockLoader);
+		cache.getSnapshot(tableId, mockLoader);
+
+		verify(mockLoader, times(2)).apply(tableId);
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(1L, cache.getInvalidationCount());
+	}
+
+	@Test
+	public void testGetSnapshotWithStatusChange() {
+		TableStatus changed = new TableStatus()
+			.setState(TableState.AVAILABLE)
+			.setResetToken("resetToken")
+			.setChangedOn(new Date(456))
+			.setLastTableChangeEtag("changeEtag");
+		when(mockNodeDao.peekCurrentEtag(anyString())).thenReturn("etag");
+		when(mockTableStatusDao.getTableStatus(any())).thenReturn(status, changed, changed);
+		when(mockLoader.apply(any())).thenReturn(snapshot);
+
+		// call under test
+		cache.getSnapshot(tableId, mockLoader);
+		cache.getSnapshot(tableId, mockLoader);
+		cache.getSnapshot(tableId, mockLoader);
+
+		verify(mockLoader, times(2)).apply(tableId);
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(1L, cache.getInvalidationCount());
+	}
+
+	@Test
+	public void testGetSnapshotWithNoStatus() {
+		when(mockNodeDao.peekCurrentEtag(anyString())).thenReturn("etag");
+		when(mockTableStatusDao.getTableStatus(any())).thenThrow(new NotFoundException("no status"));
+		when(mockLoader.apply(any())).thenReturn(snapshot);
+
+		// call under test
+		cache.getSnapshot(tableId, mockLoader);
+		cache.getSnapshot(tableId, mockLoader);
+
+		verify(mockLoader).apply(tableId);
+		assertEquals(1L, cache.getHitCount());
+	}
+
+	@Test
+	public void testGetSnapshotWithDependencies() {
+		when(mockNodeDao.peekCurrentEtag(anyString())).thenReturn("etag");
+		when(mockTableStatusDao.getTableStatus(any())).thenReturn(status);
+		when(mockLoader.apply(any())).thenReturn(viewSnapshot);
+
+		// call under test
+		QueryPlanningSnapshot first = cache.getSnapshot(tableId, mockLoader);
+		QueryPlanningSnapshot second = cache.getSnapshot(tableId, mockLoader);
+
+		assertSame(viewSnapshot, first);
+		assertSame(viewSnapshot, second);
+
+		// The dependencies are only known after the first load
+		verify(mockLoader, times(2)).apply(tableId);
+		// Read before each load and once more to validate
+		verify(mockNodeDao, times(3)).peekCurrentEtag("123");
+		verify(mockNodeDao, times(2)).peekCurrentEtag("456");
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+	}
+
+	@Test
+	public void testGetSnapshotWithDependencyChange() {
+		when(mockNodeDao.peekCurrentEtag("123")).thenReturn("etag");
+		when(mockNodeDao.peekCurrentEtag("456")).thenReturn("etag", "changed");
+		when(mockTableStatusDao.getTableStatus(any())).thenReturn(status);
+		when(mockLoader.apply(any())).thenReturn(viewSnapshot);
+
+		cache.getSnapshot(tableId, mockLoader);
+
+		// call under test
+		cache.getSnapshot(tableId, mockLoader);
+
+		// The tokens read for the validation are reused to load the snapshot again
+		verify(mockLoader, times(3)).apply(tableId);
+		verify(mockNodeDao, times(2)).peekCurrentEtag("456");
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+		assertEquals(1L, cache.getInvalidationCount());
+	}
+
+	@Test
+	public void testGetSnapshotWithChangingDependencies() {
+		when(mockNodeDao.peekCurrentEtag(anyString())).thenReturn("etag");
+		when(mockTableStatusDao.getTableStatus(any())).thenReturn(status);
+		QueryPlanningSnapshot otherSnapshot = new QueryPlanningSnapshot(new MaterializedViewIndexDescription(tableId,
+				Collections.singletonList(new TableIndexDescription(IdAndVersion.parse("syn789"), 1L))), Collections.emptyList(), false, TableState.AVAILABLE);
+		when(mockLoader.apply(any())).thenReturn(viewSnapshot, otherSnapshot, otherSnapshot, otherSnapshot);
+
+		// call under test
+		QueryPlanningSnapshot first = cache.getSnapshot(tableId, mockLoader);
+		QueryPlanningSnapshot second = cache.getSnapshot(tableId, mockLoader);
+
+		assertSame(otherSnapshot, first);
+		assertSame(otherSnapshot, second);
+
+		// The first snapshot cannot be validated and is not cached
+		verify(mockLoader, times(4)).apply(tableId);
+		assertEquals(0L, cache.getHitCount());
+		assertEquals(2L, cache.getMissCount());
+	}
+
+}
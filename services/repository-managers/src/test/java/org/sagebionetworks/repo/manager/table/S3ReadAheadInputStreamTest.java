@@ -0,0 +1,157 @@
+package org.sagebionetworks.repo.manager.table;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.aws.SynapseS3Client;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+
+@ExtendWith(MockitoExtension.class)
+public class S3ReadAheadInputStreamTest {
+
+	@Mock
+	private SynapseS3Client mockS3Client;
+
+	private ExecutorService executor;
+	private byte[] content;
+
+	@BeforeEach
+	public void before() {
+		executor = Executors.newFixedThreadPool(2);
+		content = new byte[1000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+	}
+
+	@AfterEach
+	public void after() {
+		executor.shutdownNow();
+	}
+
+	void setupRanges() {
+		when(mockS3Client.getObject(any(GetObjectRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
+			GetObjectRequest request = invocation.getArgument(0);
+			int start = (int) request.getRange()[0];
+			int end = (int) request.getRange()[1];
+			S3Object object = new S3Object();
+			object.setObjectContent(new ByteArrayInputStream(Arrays.copyOfRange(content, start, end + 1)));
+			return object;
+		});
+	}
+
+	S3ReadAheadInputStream createStream(long contentSize, int rangeSize) {
+		return new S3ReadAheadInputStream(mockS3Client, "bucket", "key", contentSize, rangeSize, 2, executor);
+	}
+
+	@Test
+	public void testRead() throws IOException {
+		setupRanges();
+		try (S3ReadAheadInputStream stream = createStream(content.length, 300)) {
+			// call under test
+			byte[] results = IOUtils.toByteArray(stream);
+			assertArrayEquals(content, results);
+			assertEquals(content.length, stream.getBytesDownloaded());
+		}
+		ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+		verify(mockS3Client, times(4)).getObject(captor.capture());
+		List<GetObjectRequest> requests = captor.getAllValues();
+		assertEquals("bucket", requests.get(0).getBucketName());
+		assertEquals("key", requests.get(0).getKey());
+		assertArrayEquals(new long[] { 0, 299 }, requests.get(0).getRange());
+		assertArrayEquals(new long[] { 300, 599 }, requests.get(1).getRange());
+		assertArrayEquals(new long[] { 600, 899 }, requests.get(2).getRange());
+		assertArrayEquals(new long[] { 900, 999 }, requests.get(3).getRange());
+	}
+
+	@Test
+	public void testReadSingleBytes() throws IOException {
+		setupRanges();
+		try (S3ReadAheadInputStream stream = createStream(5, 2)) {
+			// call under test
+			assertEquals(0, stream.read());
+			assertEquals(1, stream.read());
+			assertEquals(2, stream.read());
+			assertEquals(3, stream.read());
+			assertEquals(4, stream.read());
+			assertEquals(-1, stream.read());
+		}
+	}
+
+	@Test
+	public void testReadUnsignedBytes() throws IOException {
+		content[0] = (byte) 0xFF;
+		setupRanges();
+		try (S3ReadAheadInputStream stream = createStream(1, 10)) {
+			// call under test
+			assertEquals(255, stream.read());
+		}
+	}
+
+	@Test
+	public void testReadEmpty() throws IOException {
+		try (S3ReadAheadInputStream stream = createStream(0, 10)) {
+			// call under test
+			assertEquals(-1, stream.read());
+			assertEquals(-1, stream.read(new byte[10], 0, 10));
+		}
+		verifyZeroInteractions(mockS3Client);
+	}
+
+	@Test
+	public void testReadFailure() {
+		AmazonServiceException exception = new AmazonServiceException("Something went wrong");
+		when(mockS3Client.getObject(any(GetObjectRequest.class))).thenThrow(exception);
+		S3ReadAheadInputStream stream = createStream(content.length, 300);
+		AmazonServiceException result = assertThrows(AmazonServiceException.class, () -> {
+			// call under test
+			stream.read();
+		});
+		assertSame(exception, result);
+		stream.close();
+	}
+
+	@Test
+	public void testReadAfterClose() {
+		S3ReadAheadInputStream stream = createStream(content.length, 300);
+		stream.close();
+		assertThrows(IOException.class, () -> {
+			// call under test
+			stream.read();
+		});
+	}
+
+	@Test
+	public void testNegativeContentSize() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// call under test
+			createStream(-1, 300);
+		});
+	}
+}
@@ -435,7 +435,7 @@ public class TableEntityManagerTest {
 		assertEquals(rowCount, fileHandes.size());
 		verify(mockTruthDao).reserveIdsInRange(tableId, new Long(rowCount-1));
 		// row level conflict test
-		verify(mockTruthDao).listRowSetsKeysForTableGreaterThanVersion(tableId, 0L);
+		verify(mockTruthDao).getRowIdChangedSinceVersion(tableId, 0L, Sets.newHashSet(1L));
 		// save the row set
 		verify(mockTruthDao).appendRowSetToTable(""+user.getId(), tableId, range.getEtag(), range.getVersionNumber(), models, sparseChangeSet.writeToDto(), transactionId, /* hasFileRefs */ true);
 		verify(messenger, times(rowCount)).publishMessageAfterCommit(fileEventCaptor.capture());
@@ -1555,15 +1555,7 @@ public class TableEntityManagerTest {
 		String etag = "anEtag";
 		Long etagVersion = 25L;
 		when(mockTruthDao.getVersionForEtag(tableId, etag)).thenReturn(25L);
-		TableRowChange change = new TableRowChange();
-		change.setKeyNew("someKey");
-		change.setChangeType(TableChangeType.ROW);
-		when(mockTruthDao.listRowSetsKeysForTableGreaterThanVersion(tableId, etagVersion)).thenReturn(Lists.newArrayList(change));
-		SparseChangeSetDto conflictUpdate = new SparseChangeSetDto();
-		SparseRowDto conflictRow = new SparseRowDto();
-		conflictRow.setRowId(0L);
-		conflictUpdate.setRows(Lists.newArrayList(conflictRow));
-		when(mockTruthDao.getRowSet(change)).thenReturn(conflictUpdate);
+		when(mockTruthDao.getRowIdChangedSinceVersion(tableId, etagVersion, Sets.newHashSet(0L, 1L))).thenReturn(Optional.of(0L));
 		
 		List<ColumnModel> columns = TableModelTestUtils.createOneOfEachType();
 		SparseChangeSet changeSet = new SparseChangeSet(tableId, columns);
@@ -1584,10 +1576,10 @@ public class TableEntityManagerTest {
 			manager.checkForRowLevelConflict(tableId, changeSet);
 			fail("Should have failed.");
 		} catch (ConflictingUpdateException e) {
-			assertTrue(e.getMessage().startsWith(""));
+			assertTrue(e.getMessage().startsWith("Row id: 0 has been changed since last read."));
 		}
-		// The etag version should be used to list the values
-		verify(mockTruthDao).listRowSetsKeysForTableGreaterThanVersion(tableId, etagVersion);
+		// The etag version should be used to find the conflicts
+		verify(mockTruthDao).getRowIdChangedSinceVersion(tableId, etagVersion, Sets.newHashSet(0L, 1L));
 	}
 	
 	
@@ -1610,7 +1602,7 @@ public class TableEntityManagerTest {
 		
 		manager.checkForRowLevelConflict(tableId, changeSet);
 		// All versions greater than two should be scanned
-		verify(mockTruthDao).listRowSetsKeysForTableGreaterThanVersion(tableId, 2L);
+		verify(mockTruthDao).getRowIdChangedSinceVersion(tableId, 2L, Sets.newHashSet(0L, 1L));
 	}
 	
 	@Test
@@ -1634,8 +1626,8 @@ public class TableEntityManagerTest {
 		row.setCellValue("1", "2.1");
 		
 		manager.checkForRowLevelConflict(tableId, changeSet);
-		// The etag version should be used to list the values
-		verify(mockTruthDao).listRowSetsKeysForTableGreaterThanVersion(tableId, etagVersion);
+		// The etag version should be used to find the conflicts
+		verify(mockTruthDao).getRowIdChangedSinceVersion(tableId, etagVersion, Sets.newHashSet(0L, 1L));
 	}
 	
 	@Test
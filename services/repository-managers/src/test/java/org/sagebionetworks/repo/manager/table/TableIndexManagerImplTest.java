@@ -41,6 +41,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -635,7 +636,10 @@ public class TableIndexManagerImplTest {
 		// call under test
 		Long version = managerSpy.populateViewFromEntityReplication(tableId.getId(), scopeType, schema);
 		assertEquals(1L, version);
-		verify(mockIndexDao).copyObjectReplicationToView(tableId.getId(), mockFilter, schema, mockMetadataProvider);
+		InOrder inOrder = Mockito.inOrder(mockIndexDao);
+		inOrder.verify(mockIndexDao).copyObjectReplicationToView(tableId.getId(), mockFilter, schema, mockMetadataProvider);
+		inOrder.verify(mockIndexDao).createBenefactorTableIfDoesNotExist(tableId);
+		inOrder.verify(mockIndexDao).refreshBenefactorSet(tableId, List.of(TableConstants.ROW_BENEFACTOR));
 		verify(mockIndexDao).getMaxCurrentCompleteVersionForTable(tableId);
 	}
 
@@ -1540,9 +1544,12 @@ public class TableIndexManagerImplTest {
 		
 		assertEquals(4, newVersion);
 
-		verify(mockIndexDao).executeInWriteTransaction(any());
-		verify(mockIndexDao).deleteRowsFromViewBatch(tableId, rowsIdsArray);
-		verify(mockIndexDao).copyObjectReplicationToView(tableId.getId(), mockFilter, schema, mockMetadataProvider);
+		InOrder inOrder = Mockito.inOrder(mockIndexDao);
+		inOrder.verify(mockIndexDao).createBenefactorTableIfDoesNotExist(tableId);
+		inOrder.verify(mockIndexDao).executeInWriteTransaction(any());
+		inOrder.verify(mockIndexDao).deleteRowsFromViewBatch(tableId, rowsIdsArray);
+		inOrder.verify(mockIndexDao).copyObjectReplicationToView(tableId.getId(), mockFilter, schema, mockMetadataProvider);
+		inOrder.verify(mockIndexDao).addBenefactorsOfRowsToSet(tableId, List.of(TableConstants.ROW_BENEFACTOR), rowsIdsWithChanges);
 		verify(mockIndexDao).isSearchEnabled(tableId);
 		verify(managerSpy, never()).updateSearchIndex(any(), any());
 	}
@@ -1820,6 +1827,7 @@ public class TableIndexManagerImplTest {
 		when(mockManagerSupport.getViewScopeType(any())).thenReturn(scopeType);
 		when(mockIndexDao.refreshViewBenefactors(any(), any())).thenReturn(true);
 		when(mockIndexDao.getMaxCurrentCompleteVersionForTable(any())).thenReturn(100L);
+		setupExecuteInWriteTransaction();
 		
 		// call under test
 		Optional<Long> result = manager.refreshViewBenefactors(viewId);
@@ -1827,7 +1835,11 @@ public class TableIndexManagerImplTest {
 		assertEquals(Optional.of(101L), result);
 		
 		verify(mockManagerSupport).getViewScopeType(viewId);
-		verify(mockIndexDao).refreshViewBenefactors(viewId, scopeType.getObjectType().getMainType());
+		InOrder inOrder = Mockito.inOrder(mockIndexDao);
+		inOrder.verify(mockIndexDao).createBenefactorTableIfDoesNotExist(viewId);
+		inOrder.verify(mockIndexDao).executeInWriteTransaction(any());
+		inOrder.verify(mockIndexDao).refreshViewBenefactors(viewId, scopeType.getObjectType().getMainType());
+		inOrder.verify(mockIndexDao).refreshBenefactorSet(viewId, List.of(TableConstants.ROW_BENEFACTOR));
 	}
 	
 	@Test
@@ -1835,6 +1847,7 @@ public class TableIndexManagerImplTest {
 		IdAndVersion viewId = IdAndVersion.parse("syn123");
 		when(mockManagerSupport.getViewScopeType(any())).thenReturn(scopeType);
 		when(mockIndexDao.refreshViewBenefactors(any(), any())).thenReturn(false);
+		setupExecuteInWriteTransaction();
 		
 		// call under test
 		Optional<Long> result = manager.refreshViewBenefactors(viewId);
@@ -1843,6 +1856,7 @@ public class TableIndexManagerImplTest {
 		
 		verify(mockManagerSupport).getViewScopeType(viewId);
 		verify(mockIndexDao).refreshViewBenefactors(viewId, scopeType.getObjectType().getMainType());
+		verify(mockIndexDao, never()).refreshBenefactorSet(any(), any());
 	}
 
 	@Test
@@ -2866,10 +2880,65 @@ public class TableIndexManagerImplTest {
 		assertEquals(22, result);
 		
 		verify(mockIndexDao).update("INSERT INTO T123 (_C99_,_C101_,ROW_BENEFACTOR_T789) SELECT _A0._C99_, _A1._C101_, IFNULL(_A1.ROW_BENEFACTOR,-1) FROM T456 _A0 JOIN T789 _A1", Collections.emptyMap());
+		verify(mockIndexDao).createBenefactorTableIfDoesNotExist(tableId);
+		verify(mockIndexDao).refreshBenefactorSet(tableId, List.of("ROW_BENEFACTOR_T789"));
 		verify(mockIndexDao).getMaxCurrentCompleteVersionForTable(IdAndVersion.parse("456"));
 		verify(mockIndexDao).getMaxCurrentCompleteVersionForTable(IdAndVersion.parse("789"));
 	}
 	
+	@Test
+	public void testUpdateMaterializedViewFromDefiningSql() {
+		
+		setupExecuteInWriteTransaction();
+		
+		IndexDescription index = new MaterializedViewIndexDescription(tableId, List.of(
+			new TableIndexDescription(IdAndVersion.parse("456"))
+		), true);
+		
+		schema = List.of(TableModelTestUtils.createColumn(99L, "aString", ColumnType.STRING));
+		
+		QueryTranslator mockQuery = Mockito.mock(QueryTranslator.class);
+		when(mockQuery.getIndexDescription()).thenReturn(index);
+		when(mockQuery.getOutputSQL()).thenReturn("SELECT _C99_, ROW_ID FROM T456 WHERE ROW_VERSION > :b0");
+		when(mockQuery.getParameters()).thenReturn(Collections.singletonMap("b0", 10L));
+		when(mockIndexDao.getMaxCurrentCompleteVersionForTable(any())).thenReturn(12L);
+		
+		// Call under test
+		long result = manager.updateMaterializedViewFromDefiningSql(schema, mockQuery, 10L);
+		
+		assertEquals(12L, result);
+		
+		InOrder inOrder = Mockito.inOrder(mockIndexDao);
+		inOrder.verify(mockIndexDao).update("DELETE V FROM T123 V LEFT JOIN T456 S ON (V.ROW_SOURCE_ID = S.ROW_ID)"
+				+ " WHERE S.ROW_ID IS NULL OR S.ROW_VERSION > :sourceFromVersion", Collections.singletonMap("sourceFromVersion", 10L));
+		inOrder.verify(mockIndexDao).update("INSERT INTO T123 (_C99_,ROW_SOURCE_ID) SELECT _C99_, ROW_ID FROM T456 WHERE ROW_VERSION > :b0",
+				Collections.singletonMap("b0", 10L));
+		inOrder.verify(mockIndexDao).refreshBenefactorSet(tableId, Collections.emptyList());
+		inOrder.verify(mockIndexDao).getMaxCurrentCompleteVersionForTable(IdAndVersion.parse("456"));
+	}
+	
+	@Test
+	public void testIsRowSourceIdIncluded() {
+		when(mockIndexDao.getDatabaseInfo(any(), any(Boolean.class))).thenReturn(List.of(
+				new DatabaseColumnInfo().setColumnName("ROW_ID"), new DatabaseColumnInfo().setColumnName("ROW_SOURCE_ID")));
+		
+		// call under test
+		assertTrue(manager.isRowSourceIdIncluded(tableId));
+		
+		verify(mockIndexDao).getDatabaseInfo(tableId, false);
+	}
+	
+	@Test
+	public void testIsRowSourceIdIncludedWithMissingColumn() {
+		when(mockIndexDao.getDatabaseInfo(any(), any(Boolean.class))).thenReturn(List.of(
+				new DatabaseColumnInfo().setColumnName("ROW_ID"), new DatabaseColumnInfo().setColumnName("_C99_")));
+		
+		// call under test
+		assertFalse(manager.isRowSourceIdIncluded(tableId));
+		
+		verify(mockIndexDao).getDatabaseInfo(tableId, false);
+	}
+	
 	@Test
 	public void testGetDatabaseInfo() {
 		List<DatabaseColumnInfo> info = List.of(new DatabaseColumnInfo().setColumnName("foo"));
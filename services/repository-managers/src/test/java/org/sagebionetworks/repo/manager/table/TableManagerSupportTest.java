@@ -30,10 +30,12 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -174,6 +176,10 @@ public class TableManagerSupportTest {
 	private JdbcTemplate mockJdbcTemplate;
 	@Mock
 	private TableExceptionTranslator mockTableExceptionTranslator;
+	@Mock
+	private AccessibleBenefactorsCache mockAccessibleBenefactorsCache;
+	@Mock
+	private QueryPlanningSnapshotCache mockQueryPlanningSnapshotCache;
 	
 	private TableManagerSupportImpl manager;
 	private TableManagerSupportImpl managerSpy;
@@ -221,7 +227,8 @@ public class TableManagerSupportTest {
 		manager = new TableManagerSupportImpl(mockTableStatusDAO, mockTimeoutUtils, mockTransactionalMessenger,
 				mockTableConnectionFactory, mockColumnModelManager, mockNodeDao, mockTableTruthDao, mockViewScopeDao,
 				mockWriteReadSemaphore, mockAuthorizationManager, mockViewSnapshotDao, mockMetadataIndexProviderFactory,
-				mockDefaultColumnModelMapper, mockMaterializedViewDao, mockFileProvider, mockS3Client, mockClock, mockLoggerProvider, mockTableExceptionTranslator);
+				mockDefaultColumnModelMapper, mockMaterializedViewDao, mockFileProvider, mockS3Client, mockClock, mockLoggerProvider, mockTableExceptionTranslator,
+				mockAccessibleBenefactorsCache, mockQueryPlanningSnapshotCache);
 		managerSpy = Mockito.spy(manager);
 			
 		userInfo = new UserInfo(false, 8L);
@@ -1792,4 +1799,67 @@ public class TableManagerSupportTest {
 		assertTrue(stackCaptor.getValue().startsWith("java.lang.IllegalArgumentException: translated"));
 	}
 	
+	@Test
+	public void testGetAccessibleBenefactors() {
+		Set<Long> benefactorIds = Sets.newHashSet(1L, 2L);
+		Set<Long> accessible = Sets.newHashSet(1L);
+		when(mockAccessibleBenefactorsCache.getAccessibleBenefactors(any(), any(), any())).thenReturn(accessible);
+		// call under test
+		Set<Long> result = manager.getAccessibleBenefactors(userInfo, ObjectType.ENTITY, benefactorIds);
+		
+		assertEquals(accessible, result);
+		
+		verify(mockAccessibleBenefactorsCache).getAccessibleBenefactors(userInfo, ObjectType.ENTITY, benefactorIds);
+		verifyZeroInteractions(mockAuthorizationManager);
+	}
+	
+	@Test
+	public void testGetQueryPlanningSnapshot() {
+		QueryPlanningSnapshot snapshot = new QueryPlanningSnapshot(new TableIndexDescription(idAndVersion, 14L), columns, true, TableState.AVAILABLE);
+		doReturn(snapshot).when(managerSpy).createQueryPlanningSnapshot(any());
+		when(mockQueryPlanningSnapshotCache.getSnapshot(any(), any())).thenAnswer(invocation -> {
+			Function<IdAndVersion, QueryPlanningSnapshot> loader = invocation.getArgument(1);
+			return loader.apply(invocation.getArgument(0));
+		});
+		// call under test
+		QueryPlanningSnapshot result = managerSpy.getQueryPlanningSnapshot(idAndVersion);
+		
+		assertEquals(snapshot, result);
+		
+		verify(mockQueryPlanningSnapshotCache).getSnapshot(eq(idAndVersion), any());
+		verify(managerSpy).createQueryPlanningSnapshot(idAndVersion);
+	}
+	
+	@Test
+	public void testCreateQueryPlanningSnapshot() {
+		IndexDescription indexDescription = new TableIndexDescription(idAndVersion, 14L);
+		doReturn(indexDescription).when(managerSpy).getIndexDescription(any());
+		when(mockColumnModelManager.getTableSchema(any())).thenReturn(columns);
+		when(mockNodeDao.isSearchEnabled(any(), any())).thenReturn(true);
+		when(mockTableStatusDAO.getTableStatusState(any())).thenReturn(Optional.of(TableState.AVAILABLE));
+		// call under test
+		QueryPlanningSnapshot result = managerSpy.createQueryPlanningSnapshot(idAndVersion);
+		
+		assertEquals(new QueryPlanningSnapshot(indexDescription, columns, true, TableState.AVAILABLE), result);
+		assertEquals(Collections.singleton(idAndVersion), result.getTableIds());
+		
+		verify(mockColumnModelManager).getTableSchema(idAndVersion);
+		verify(mockNodeDao).isSearchEnabled(idAndVersion.getId(), null);
+		verify(mockTableStatusDAO).getTableStatusState(idAndVersion);
+	}
+	
+	@Test
+	public void testCreateQueryPlanningSnapshotWithMaterializedView() {
+		IdAndVersion dependencyId = IdAndVersion.parse("syn456");
+		IndexDescription indexDescription = new MaterializedViewIndexDescription(idAndVersion,
+				Collections.singletonList(new TableIndexDescription(dependencyId, 3L)));
+		doReturn(indexDescription).when(managerSpy).getIndexDescription(any());
+		when(mockColumnModelManager.getTableSchema(any())).thenReturn(columns);
+		// call under test
+		QueryPlanningSnapshot result = managerSpy.createQueryPlanningSnapshot(idAndVersion);
+		
+		assertEquals(Optional.empty(), result.getState());
+		assertEquals(Sets.newHashSet(idAndVersion, dependencyId), result.getTableIds());
+	}
+	
 }
@@ -9,21 +9,29 @@ import static org.mockito.ArgumentMatchers.anyListOf;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_ID;
 import static org.sagebionetworks.repo.model.table.TableConstants.ROW_VERSION;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
@@ -34,6 +42,7 @@ import org.sagebionetworks.common.util.progress.ProgressCallback;
 import org.sagebionetworks.repo.manager.file.FileHandleManager;
 import org.sagebionetworks.repo.model.DatastoreException;
 import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
 import org.sagebionetworks.repo.model.dbo.dao.table.TableModelTestUtils;
 import org.sagebionetworks.repo.model.entity.IdAndVersion;
 import org.sagebionetworks.repo.model.file.FileConstants;
@@ -45,10 +54,12 @@ import org.sagebionetworks.repo.model.table.TableUpdateResponse;
 import org.sagebionetworks.repo.model.table.UploadToTableRequest;
 import org.sagebionetworks.repo.model.table.UploadToTableResult;
 import org.sagebionetworks.repo.web.NotFoundException;
-import org.sagebionetworks.util.FileProvider;
+import org.sagebionetworks.util.Clock;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import com.amazonaws.services.s3.model.GetObjectRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.util.StringInputStream;
+import com.amazonaws.services.s3.model.S3Object;
 
 /**
  * Unit test for the TableCSVAppenderWorker.
@@ -70,12 +81,13 @@ public class TableUploadManagerTest {
 	@Mock
 	UploadRowProcessor rowProcessor;
 	@Mock
-	FileProvider mockFileProvider;
+	Clock mockClock;
 	@Mock
-	File mockFile;
+	AsyncJobProgressCallback mockJobProgressCallback;
 	
 	@InjectMocks
 	TableUploadManagerImpl manager;
+	ExecutorService executor;
 	S3FileHandle fileHandle;
 	UserInfo user;
 	UploadToTableRequest uploadRequest;
@@ -113,12 +125,20 @@ public class TableUploadManagerTest {
 		input.add(new String[] { "a", "b", "c" });
 		input.add(new String[] { "CCC", null, "false" });
 		input.add(new String[] { "FFF", "4", "true" });
-		csvString = TableModelTestUtils.createCSVString(input);
-		StringInputStream csvStream = new StringInputStream(csvString);
+		setCSV(TableModelTestUtils.createCSVString(input));
 		
-		when(mockFileProvider.createTempFile(anyString(), anyString())).thenReturn(mockFile);
-		when(mockFileProvider.createFileInputStream(any(File.class))).thenReturn(csvStream);
+		executor = Executors.newFixedThreadPool(2);
+		ReflectionTestUtils.setField(manager, "cachedThreadPool", executor);
 
+		when(mockS3Client.getObject(any(GetObjectRequest.class))).thenAnswer((InvocationOnMock invocation) -> {
+			GetObjectRequest request = invocation.getArgument(0);
+			byte[] bytes = csvString.getBytes(StandardCharsets.UTF_8);
+			int start = (int) request.getRange()[0];
+			int end = (int) Math.min(request.getRange()[1], bytes.length - 1);
+			S3Object object = new S3Object();
+			object.setObjectContent(new ByteArrayInputStream(Arrays.copyOfRange(bytes, start, end + 1)));
+			return object;
+		});
 		when(mockFileHandleManger.getRawFileHandle(user, uploadRequest.getUploadFileHandleId())).thenReturn(fileHandle);
 		when(mockS3Client.getObjectMetadata(fileHandle.getBucketName(), fileHandle.getKey())).thenReturn(fileMetadata);
 		when(mockTableManagerSupport.getTableSchema(idAndVersion)).thenReturn(tableSchema);
@@ -139,6 +159,20 @@ public class TableUploadManagerTest {
 			}}).when(rowProcessor).processRows(eq(user), eq(uploadRequest.getTableId()), anyListOf(ColumnModel.class), any(Iterator.class), anyString(), eq(mockProgressCallback));
 	}
 	
+	@After
+	public void after() {
+		executor.shutdownNow();
+	}
+	
+	/**
+	 * Use the given CSV as the content of the uploaded file.
+	 * @param csv
+	 */
+	void setCSV(String csv) {
+		csvString = csv;
+		fileHandle.setContentSize((long) csvString.getBytes(StandardCharsets.UTF_8).length);
+	}
+	
 	@Test
 	public void testHappyCase() throws IOException{
 		// call under test;
@@ -150,7 +184,74 @@ public class TableUploadManagerTest {
 		assertEquals(new Long(2), uploadResult.getRowsProcessed());
 		assertEquals(2, rowsRead.size());
 		verify(rowProcessor).processRows(eq(user), eq(uploadRequest.getTableId()), eq(tableSchema), any(Iterator.class), eq(uploadRequest.getUpdateEtag()), eq(mockProgressCallback));
-		verify(mockFile).delete();
+		// the file is downloaded with a single range request.
+		ArgumentCaptor<GetObjectRequest> requestCaptor = ArgumentCaptor.forClass(GetObjectRequest.class);
+		verify(mockS3Client).getObject(requestCaptor.capture());
+		assertEquals(fileHandle.getBucketName(), requestCaptor.getValue().getBucketName());
+		assertEquals(fileHandle.getKey(), requestCaptor.getValue().getKey());
+		assertEquals(0L, requestCaptor.getValue().getRange()[0]);
+		assertEquals(fileHandle.getContentSize() - 1, requestCaptor.getValue().getRange()[1]);
+	}
+	
+	@Test
+	public void testUploadMultipleChunks() throws IOException{
+		int rowCount = 100_000;
+		List<String[]> input = new ArrayList<String[]>(rowCount + 1);
+		input.add(new String[] { "a", "b", "c" });
+		for (int i = 0; i < rowCount; i++) {
+			input.add(new String[] { "row \"" + i + "\"", "multi\nline", "" + i });
+		}
+		setCSV(TableModelTestUtils.createCSVString(input));
+		// call under test;
+		TableUpdateResponse results = manager.uploadCSV(mockProgressCallback, user, uploadRequest, rowProcessor);
+		assertEquals(new Long(rowCount), ((UploadToTableResult)results).getRowsProcessed());
+		assertEquals(rowCount, rowsRead.size());
+		String firstColumnId = tableSchema.get(0).getId();
+		String secondColumnId = tableSchema.get(1).getId();
+		String thirdColumnId = tableSchema.get(2).getId();
+		// The rows must be in the same order as the CSV.
+		int i = 0;
+		for (SparseRowDto row : rowsRead) {
+			assertEquals("row \"" + i + "\"", row.getValues().get(firstColumnId));
+			assertEquals("multi\nline", row.getValues().get(secondColumnId));
+			assertEquals("" + i, row.getValues().get(thirdColumnId));
+			i++;
+		}
+		// the file is larger than a single chunk and smaller than a single range.
+		assertTrue(fileHandle.getContentSize() > TableUploadManagerImpl.CSV_CHUNK_CHARACTERS);
+		verify(mockS3Client, times(1)).getObject(any(GetObjectRequest.class));
+	}
+	
+	@Test
+	public void testUploadReportsProgress() throws IOException{
+		when(rowProcessor.processRows(eq(user), eq(uploadRequest.getTableId()), anyListOf(ColumnModel.class), any(Iterator.class), anyString(), eq(mockJobProgressCallback))).thenAnswer((InvocationOnMock invocation) -> {
+			Iterator<SparseRowDto> it = invocation.getArgument(3);
+			while(it.hasNext()){
+				rowsRead.add(it.next());
+			}
+			return new UploadToTableResult();
+		});
+		when(mockClock.currentTimeMillis()).thenReturn(1000L, 3000L);
+		// call under test;
+		manager.uploadCSV(mockJobProgressCallback, user, uploadRequest, rowProcessor);
+		assertEquals(2, rowsRead.size());
+		long size = fileHandle.getContentSize();
+		verify(mockJobProgressCallback).updateProgress(
+				TableUploadManagerImpl.createProgressMessage(size, size, 2L, 0L, 2000L), size, size);
+	}
+	
+	@Test
+	public void testCreateProgressMessage() {
+		// call under test
+		String message = TableUploadManagerImpl.createProgressMessage(10L * 1024 * 1024, 20L * 1024 * 1024, 3000L, 1000L, 2000L);
+		assertEquals(String.format("Downloaded 10485760 of 20971520 bytes (%.1f MB/s), parsed 3000 rows (1500 rows/s), processed 1000 rows (500 rows/s)", 5.0), message);
+	}
+	
+	@Test
+	public void testReportProgressNotJobCallback() {
+		// call under test
+		TableUploadManagerImpl.reportProgress(mockProgressCallback, 1L, 2L, 3L, 4L, 5L);
+		verifyZeroInteractions(mockProgressCallback);
 	}
 	
 	@Test
@@ -167,7 +268,7 @@ public class TableUploadManagerTest {
 	}
 	
 	@Test
-	public void testTempDeletedOnFailure() throws DatastoreException, NotFoundException, IOException {
+	public void testStreamClosedOnFailure() throws DatastoreException, NotFoundException, IOException {
 		// setup a failure
 		IllegalArgumentException wentWrong = new IllegalArgumentException("Something went wrong");
 		when(rowProcessor.processRows(eq(user), eq(uploadRequest.getTableId()), anyListOf(ColumnModel.class), any(Iterator.class), anyString(), eq(mockProgressCallback))).thenThrow(wentWrong);
@@ -178,8 +279,8 @@ public class TableUploadManagerTest {
 		} catch (IllegalArgumentException e) {
 			// expected
 		}
-		// the temp file should still be deleted.
-		verify(mockFile).delete();
+		// the processor failed after reading the file.
+		verify(mockS3Client).getObject(any(GetObjectRequest.class));
 	}
 	
 	@Test (expected=IllegalArgumentException.class)
@@ -210,11 +311,7 @@ public class TableUploadManagerTest {
 		input.add(new String[] { ROW_ID, ROW_VERSION, "bar" });
 		input.add(new String[] { "1", "10", "a" });
 		input.add(new String[] { "2", "10", "b" });
-		csvString = TableModelTestUtils.createCSVString(input);
-		StringInputStream csvStream = new StringInputStream(csvString);
-		
-		when(mockFileProvider.createTempFile(anyString(), anyString())).thenReturn(mockFile);
-		when(mockFileProvider.createFileInputStream(any(File.class))).thenReturn(csvStream);
+		setCSV(TableModelTestUtils.createCSVString(input));
 		
 		CsvTableDescriptor descriptor = new CsvTableDescriptor();
 		descriptor.setIsFirstLineHeader(false);
@@ -26,6 +26,7 @@ import org.sagebionetworks.repo.model.table.FacetColumnValuesRequest;
 import org.sagebionetworks.repo.model.table.FacetType;
 import org.sagebionetworks.repo.model.table.SortDirection;
 import org.sagebionetworks.repo.model.table.SortItem;
+import org.sagebionetworks.table.cluster.QueryTranslatorCacheImpl;
 import org.sagebionetworks.table.cluster.SchemaProvider;
 import org.sagebionetworks.table.cluster.description.IndexDescription;
 import org.sagebionetworks.table.cluster.description.ViewIndexDescription;
@@ -160,6 +161,41 @@ public class MainQueryTest {
 		assertEquals(expectedParmeters, main.getTranslator().getParameters());
 	}
 
+	@Test
+	public void testMainQueryWithQueryTranslatorCache() {
+		QueryTranslatorCacheImpl cache = new QueryTranslatorCacheImpl();
+		cache.configure();
+		builder.setQueryTranslatorCache(cache);
+		builder.setLimit(12L);
+		builder.setOffset(3L);
+
+		MainQuery first = new MainQuery(builder.build());
+
+		builder.setOffset(15L);
+
+		// call under test
+		MainQuery second = new MainQuery(builder.build());
+
+		assertEquals("SELECT _C1_, _C2_, _C3_, ROW_ID, ROW_VERSION FROM T123_4 WHERE"
+				+ " ROW_BENEFACTOR IN ( :b0, :b1 ) LIMIT :b2 OFFSET :b3", second.getTranslator().getOutputSQL());
+		assertEquals(first.getTranslator().getOutputSQL(), second.getTranslator().getOutputSQL());
+		assertEquals(first.getTranslator().getSelectColumns(), second.getTranslator().getSelectColumns());
+
+		Map<String, Object> expectedParmeters = new HashMap<>();
+		expectedParmeters.put("b0", 11L);
+		expectedParmeters.put("b1", 22L);
+		expectedParmeters.put("b2", 12L);
+		expectedParmeters.put("b3", 15L);
+		assertEquals(expectedParmeters, second.getTranslator().getParameters());
+
+		// The first page is not changed by the second
+		expectedParmeters.put("b3", 3L);
+		assertEquals(expectedParmeters, first.getTranslator().getParameters());
+
+		assertEquals(1L, cache.getHitCount());
+		assertEquals(1L, cache.getMissCount());
+	}
+
 	@Test
 	public void testCountQueryWithNullExpansion() {
 		String message = assertThrows(IllegalArgumentException.class, () -> {
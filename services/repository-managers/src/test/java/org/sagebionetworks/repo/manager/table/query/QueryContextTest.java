@@ -21,6 +21,7 @@ import org.sagebionetworks.repo.model.table.FacetColumnValuesRequest;
 import org.sagebionetworks.repo.model.table.QueryFilter;
 import org.sagebionetworks.repo.model.table.SortDirection;
 import org.sagebionetworks.repo.model.table.SortItem;
+import org.sagebionetworks.table.cluster.QueryTranslatorCache;
 import org.sagebionetworks.table.cluster.SchemaProvider;
 import org.sagebionetworks.table.cluster.description.IndexDescription;
 
@@ -31,6 +32,8 @@ public class QueryContextTest {
 	private SchemaProvider mockSchemaProvider;
 	@Mock
 	private IndexDescription mockIndexDescription;
+	@Mock
+	private QueryTranslatorCache mockQueryTranslatorCache;
 
 	private IdAndVersion tableId;
 	private Long userId;
@@ -74,7 +77,8 @@ public class QueryContextTest {
 				.setUserId(userId).setMaxBytesPerPage(maxBytesPerPage).setStartingSql(startingSql)
 				.setMaxRowsPerCall(maxRowsPerCall).setAdditionalFilters(additionalFilters)
 				.setSelectedFacets(selectedFacets).setSelectFileColumn(selectFileColumn)
-				.setIncludeEntityEtag(includeEntityEtag).setLimit(limit).setOffset(offset).setSort(sort);
+				.setIncludeEntityEtag(includeEntityEtag).setLimit(limit).setOffset(offset).setSort(sort)
+				.setQueryTranslatorCache(mockQueryTranslatorCache);
 	}
 
 	@Test
@@ -97,6 +101,7 @@ public class QueryContextTest {
 		assertEquals(limit, expansion.getLimit());
 		assertEquals(offset, expansion.getOffset());
 		assertEquals(sort, expansion.getSort());
+		assertEquals(mockQueryTranslatorCache, expansion.getQueryTranslatorCache());
 
 		assertNotNull(expansion);
 	}
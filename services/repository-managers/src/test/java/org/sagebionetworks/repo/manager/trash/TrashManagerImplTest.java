@@ -6,11 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -23,10 +22,8 @@ import java.sql.Date;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,7 +41,6 @@ import org.sagebionetworks.repo.model.ACCESS_TYPE;
 import org.sagebionetworks.repo.model.AccessControlList;
 import org.sagebionetworks.repo.model.AccessControlListDAO;
 import org.sagebionetworks.repo.model.EntityType;
-import org.sagebionetworks.repo.model.LimitExceededException;
 import org.sagebionetworks.repo.model.Node;
 import org.sagebionetworks.repo.model.NodeDAO;
 import org.sagebionetworks.repo.model.ObjectType;
@@ -52,6 +48,7 @@ import org.sagebionetworks.repo.model.TrashedEntity;
 import org.sagebionetworks.repo.model.UnauthorizedException;
 import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.auth.AuthorizationStatus;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
 import org.sagebionetworks.repo.model.dbo.dao.NodeUtils;
 import org.sagebionetworks.repo.model.dbo.trash.TrashCanDao;
 import org.sagebionetworks.repo.model.jdo.KeyFactory;
@@ -59,6 +56,8 @@ import org.sagebionetworks.repo.model.message.ChangeType;
 import org.sagebionetworks.repo.model.message.TransactionalMessenger;
 import org.sagebionetworks.repo.model.project.ProjectSettingsType;
 import org.sagebionetworks.repo.model.project.UploadDestinationListSetting;
+import org.sagebionetworks.repo.model.trash.TrashPurgeRequest;
+import org.sagebionetworks.repo.model.trash.TrashPurgeResponse;
 import org.sagebionetworks.repo.web.NotFoundException;
 
 import com.google.common.collect.Lists;
@@ -91,6 +90,9 @@ public class TrashManagerImplTest {
 	@Mock
 	private StackConfiguration stackConfig;
 
+	@Mock
+	private AsyncJobProgressCallback mockProgressCallback;
+
 	@InjectMocks
 	private TrashManagerImpl trashManager;
 
@@ -187,30 +189,48 @@ public class TrashManagerImplTest {
 	}
 
 	@Test
-	public void testDeleteAllAclsInHierarchy() throws LimitExceededException {
-		List<Long> parentIdsList = Lists.newArrayList(123L, 456L);
-		Set<Long> parentIds = new LinkedHashSet<Long>(parentIdsList);
-		when(mockNodeDAO.getAllContainerIds(nodeID, TrashManagerImpl.MAX_IDS_TO_LOAD)).thenReturn(parentIds);
+	public void testDeleteAllAclsInHierarchy() {
+		List<Long> parentIds = Lists.newArrayList(123L, 456L);
+		when(mockNodeDAO.getContainerIdsPage(nodeID, -1L, MAX_IDS_TO_LOAD)).thenReturn(parentIds);
 		List<Long> childernWithAcls = Lists.newArrayList(456L, 444L);
-		when(mockAclDAO.getChildrenEntitiesWithAcls(parentIdsList)).thenReturn(childernWithAcls);
+		when(mockAclDAO.getChildrenEntitiesWithAcls(parentIds)).thenReturn(childernWithAcls);
 		// call under test
 		trashManager.deleteAllAclsInHierarchy(nodeID);
 		// delete the acl of the node
 		verify(mockAclDAO).delete(nodeID, ObjectType.ENTITY);
 		// delete all acls for the hierarchy.
 		verify(mockAclDAO).delete(childernWithAcls, ObjectType.ENTITY);
+		verify(mockNodeDAO).getContainerIdsPage(anyString(), anyLong(), anyLong());
 	}
-
+	
 	@Test
-	public void testDeleteAllAclsInHierarchyOverLimit() throws LimitExceededException {
-		// setup limit exceeded.
-		LimitExceededException exception = new LimitExceededException("too many");
-
-		doThrow(exception).when(mockNodeDAO).getAllContainerIds(anyString(), anyInt());
+	public void testDeleteAllAclsInHierarchyOverLimit() {
+		List<Long> firstPage = new ArrayList<>(MAX_IDS_TO_LOAD);
+		for (long i = 0; i < MAX_IDS_TO_LOAD; i++) {
+			firstPage.add(i + 1);
+		}
+		List<Long> secondPage = Lists.newArrayList(MAX_IDS_TO_LOAD + 1L);
+		when(mockNodeDAO.getContainerIdsPage(nodeID, -1L, MAX_IDS_TO_LOAD)).thenReturn(firstPage);
+		when(mockNodeDAO.getContainerIdsPage(nodeID, (long) MAX_IDS_TO_LOAD, MAX_IDS_TO_LOAD)).thenReturn(secondPage);
+		List<Long> firstChildrenWithAcls = Lists.newArrayList(1L);
+		List<Long> secondChildrenWithAcls = Lists.newArrayList(MAX_IDS_TO_LOAD + 2L);
+		when(mockAclDAO.getChildrenEntitiesWithAcls(firstPage)).thenReturn(firstChildrenWithAcls);
+		when(mockAclDAO.getChildrenEntitiesWithAcls(secondPage)).thenReturn(secondChildrenWithAcls);
 		// call under test
-		Assertions.assertThrows(IllegalArgumentException.class, () -> {
-			trashManager.deleteAllAclsInHierarchy(nodeID);
-		});
+		trashManager.deleteAllAclsInHierarchy(nodeID);
+		verify(mockAclDAO).delete(nodeID, ObjectType.ENTITY);
+		verify(mockAclDAO).delete(firstChildrenWithAcls, ObjectType.ENTITY);
+		verify(mockAclDAO).delete(secondChildrenWithAcls, ObjectType.ENTITY);
+		verify(mockNodeDAO, times(2)).getContainerIdsPage(anyString(), anyLong(), anyLong());
+	}
+	
+	@Test
+	public void testDeleteAllAclsInHierarchyWithNoContainers() {
+		when(mockNodeDAO.getContainerIdsPage(nodeID, -1L, MAX_IDS_TO_LOAD)).thenReturn(Collections.emptyList());
+		// call under test
+		trashManager.deleteAllAclsInHierarchy(nodeID);
+		verify(mockAclDAO).delete(nodeID, ObjectType.ENTITY);
+		verify(mockAclDAO, never()).getChildrenEntitiesWithAcls(anyList());
 	}
 	
 	@Test
@@ -251,6 +271,7 @@ public class TrashManagerImplTest {
 		newEtag = "newEtag";
 		when(mockNodeDAO.touch(any(Long.class), anyString(), any(ChangeType.class))).thenReturn(newEtag);
 		when(mockNodeDAO.isNodeAvailable(anyString())).thenReturn(true);
+		when(mockNodeDAO.getContainerIdsPage(nodeID, -1L, MAX_IDS_TO_LOAD)).thenReturn(Lists.newArrayList(123L));
 
 		boolean priorityPurge = false;
 
@@ -620,6 +641,112 @@ public class TrashManagerImplTest {
 		verify(mockTrashCanDao, times(1)).delete(trashIDList);
 	}
 
+	@Test
+	public void testPurgeTrashedEntity() {
+		Long rootId = KeyFactory.stringToKey(nodeID);
+		when(mockTrashCanDao.getTrashedEntity(nodeID)).thenReturn(Optional.of(nodeTrashedEntity));
+		when(mockNodeDAO.getSubTreeNodeCount(rootId)).thenReturn(3L);
+		when(mockNodeDAO.deleteTreeBatch(nodeID, TrashManagerImpl.PURGE_BATCH_SIZE)).thenReturn(Lists.newArrayList(1L, 2L), Lists.newArrayList(3L, rootId));
+		
+		TrashPurgeResponse expected = new TrashPurgeResponse().setEntityId(nodeID).setNumberOfEntitiesPurged(4L);
+		
+		// Call under test
+		TrashPurgeResponse response = trashManager.purgeTrashedEntity(userInfo, new TrashPurgeRequest().setEntityId(nodeID), mockProgressCallback);
+		
+		assertEquals(expected, response);
+		
+		verify(mockTrashCanDao).getTrashedEntity(nodeID);
+		verify(mockNodeDAO).getSubTreeNodeCount(rootId);
+		verify(mockNodeDAO, times(2)).deleteTreeBatch(nodeID, TrashManagerImpl.PURGE_BATCH_SIZE);
+		verify(mockProgressCallback).updateProgress("Purged 2 entities", 2L, 4L);
+		verify(mockProgressCallback).updateProgress("Purged 4 entities", 4L, 4L);
+		verify(mockAclDAO).delete(nodeID, ObjectType.ENTITY);
+		verify(mockTrashCanDao).delete(Collections.singletonList(rootId));
+	}
+	
+	@Test
+	public void testPurgeTrashedEntityAsAdmin() {
+		Long rootId = KeyFactory.stringToKey(nodeID);
+		when(mockTrashCanDao.getTrashedEntity(nodeID)).thenReturn(Optional.of(nodeTrashedEntity));
+		when(mockNodeDAO.deleteTreeBatch(nodeID, TrashManagerImpl.PURGE_BATCH_SIZE)).thenReturn(Lists.newArrayList(rootId));
+		
+		TrashPurgeResponse expected = new TrashPurgeResponse().setEntityId(nodeID).setNumberOfEntitiesPurged(1L);
+		
+		// Call under test
+		TrashPurgeResponse response = trashManager.purgeTrashedEntity(adminUserInfo, new TrashPurgeRequest().setEntityId(nodeID), mockProgressCallback);
+		
+		assertEquals(expected, response);
+		
+		verify(mockTrashCanDao).getTrashedEntity(nodeID);
+		verify(mockTrashCanDao).delete(Collections.singletonList(rootId));
+	}
+	
+	@Test
+	public void testPurgeTrashedEntityNotInTrash() {
+		when(mockTrashCanDao.getTrashedEntity(nodeID)).thenReturn(Optional.empty());
+		
+		assertThrows(NotFoundException.class, () -> {
+			// Call under test
+			trashManager.purgeTrashedEntity(userInfo, new TrashPurgeRequest().setEntityId(nodeID), mockProgressCallback);
+		});
+		
+		verifyNoMoreInteractions(mockNodeDAO);
+	}
+	
+	@Test
+	public void testPurgeTrashedEntityUnauthorized() {
+		when(mockTrashCanDao.getTrashedEntity(nodeID)).thenReturn(Optional.of(nodeTrashedEntity));
+		
+		UserInfo otherUser = new UserInfo(false);
+		otherUser.setId(123L);
+		
+		assertThrows(UnauthorizedException.class, () -> {
+			// Call under test
+			trashManager.purgeTrashedEntity(otherUser, new TrashPurgeRequest().setEntityId(nodeID), mockProgressCallback);
+		});
+		
+		verifyNoMoreInteractions(mockNodeDAO);
+	}
+	
+	@Test
+	public void testPurgeTrashedEntityWithSubTreeGrowingDuringPurge() {
+		Long rootId = KeyFactory.stringToKey(nodeID);
+		when(mockTrashCanDao.getTrashedEntity(nodeID)).thenReturn(Optional.of(nodeTrashedEntity));
+		when(mockNodeDAO.getSubTreeNodeCount(rootId)).thenReturn(0L);
+		when(mockNodeDAO.deleteTreeBatch(nodeID, TrashManagerImpl.PURGE_BATCH_SIZE)).thenReturn(Lists.newArrayList(1L, rootId));
+		
+		// Call under test
+		trashManager.purgeTrashedEntity(userInfo, new TrashPurgeRequest().setEntityId(nodeID), mockProgressCallback);
+		
+		// The total is never less than the purged count
+		verify(mockProgressCallback).updateProgress("Purged 2 entities", 2L, 2L);
+	}
+	
+	@Test
+	public void testPurgeTrashedEntityRestoredDuringPurge() {
+		Long rootId = KeyFactory.stringToKey(nodeID);
+		when(mockTrashCanDao.getTrashedEntity(nodeID)).thenReturn(Optional.of(nodeTrashedEntity));
+		when(mockNodeDAO.getSubTreeNodeCount(rootId)).thenReturn(3L);
+		when(mockNodeDAO.deleteTreeBatch(nodeID, TrashManagerImpl.PURGE_BATCH_SIZE)).thenReturn(Lists.newArrayList(1L, 2L))
+			.thenThrow(new NotFoundException("The node " + nodeID + " is not in the trash can."));
+		
+		assertThrows(NotFoundException.class, () -> {
+			// Call under test
+			trashManager.purgeTrashedEntity(userInfo, new TrashPurgeRequest().setEntityId(nodeID), mockProgressCallback);
+		});
+		
+		verify(mockNodeDAO, times(2)).deleteTreeBatch(nodeID, TrashManagerImpl.PURGE_BATCH_SIZE);
+		verify(mockTrashCanDao, never()).delete(anyList());
+	}
+	
+	@Test
+	public void testPurgeTrashedEntityWithNoEntityId() {
+		assertThrows(IllegalArgumentException.class, () -> {
+			// Call under test
+			trashManager.purgeTrashedEntity(userInfo, new TrashPurgeRequest(), mockProgressCallback);
+		});
+	}
+
 	@Test
 	public void testGetTrashLeavesBefore() {
 		final long daysBefore = 1;
@@ -517,6 +517,12 @@ public class UrlHelpers {
 	 * Views the current trash can.
 	 */
 	public static final String TRASHCAN_PURGE_ENTITY = TRASHCAN_PURGE + ID;
+
+	/**
+	 * Asynchronous purge of an entity in the trash can.
+	 */
+	public static final String TRASHCAN_PURGE_START_ASYNCH = TRASHCAN_PURGE + ASYNC_START_REQUEST;
+	public static final String TRASHCAN_PURGE_GET_ASYNCH = TRASHCAN_PURGE + ASYNC_GET_REQUEST;
 	
 	/**
 	 * URL path for query controller
@@ -1083,6 +1089,8 @@ public class UrlHelpers {
 	public static final String MODERATORS = "/moderators";
 	public static final String FORUM_FORUM_ID_MODERATORS = FORUM+FORUM_ID+MODERATORS;
 	public static final String FORUM_SEARCH = FORUM_FORUM_ID + "/search";
+	public static final String FORUM_FORUM_ID_THREADS_LIST = FORUM_FORUM_ID_THREADS + "/list";
+	public static final String ENTITY_ID_THREADS_LIST = ENTITY_ID_THREADS + "/list";
 
 	// Subscription Services
 	public static final String SUBSCRIPTION = "/subscription";
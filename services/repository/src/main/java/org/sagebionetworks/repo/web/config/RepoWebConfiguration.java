@@ -8,8 +8,11 @@ import org.sagebionetworks.StackConfiguration;
 import org.sagebionetworks.cloudwatch.Consumer;
 import org.sagebionetworks.repo.manager.audit.AccessRecorder;
 import org.sagebionetworks.repo.manager.config.SimpleTriggerBuilder;
+import org.sagebionetworks.repo.manager.discussion.DiscussionThreadViewBuffer;
 import org.sagebionetworks.repo.manager.monitoring.DataSourcePoolMonitor;
 import org.sagebionetworks.repo.manager.monitoring.DataSourcePoolMonitor.ApplicationType;
+import org.sagebionetworks.repo.manager.monitoring.WikiMarkdownCacheMonitor;
+import org.sagebionetworks.repo.model.dbo.wikiV2.WikiMarkdownCache;
 import org.sagebionetworks.repo.web.controller.ObjectTypeSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,6 +27,10 @@ public class RepoWebConfiguration implements WebMvcConfigurer {
 	
 	private static final long DB_MONITOR_INTERVAL = 10_000;
 	
+	private static final long WIKI_CACHE_MONITOR_INTERVAL = 60_000;
+	
+	private static final long THREAD_VIEW_FLUSH_INTERVAL = 10_000;
+	
 	private ObjectTypeSerializer exceptionSerializer;
 	private Consumer consumer;
 	private StackConfiguration config;
@@ -56,6 +63,16 @@ public class RepoWebConfiguration implements WebMvcConfigurer {
 			.build();
 	}
 	
+	@Bean
+	public SimpleTriggerFactoryBean wikiMarkdownCacheMonitorTrigger(WikiMarkdownCache wikiMarkdownCache) {
+		return new SimpleTriggerBuilder()
+			.withTargetObject(new WikiMarkdownCacheMonitor(wikiMarkdownCache, consumer, config))
+			.withTargetMethod("collectMetrics")
+			.withRepeatInterval(WIKI_CACHE_MONITOR_INTERVAL)
+			.withStartDelay(WIKI_CACHE_MONITOR_INTERVAL)
+			.build();
+	}
+	
 	@Bean
 	public SimpleTriggerFactoryBean accessRecorderTrigger(AccessRecorder accessRecorder) {
 		return new SimpleTriggerBuilder()
@@ -66,6 +83,16 @@ public class RepoWebConfiguration implements WebMvcConfigurer {
 				.build();
 	}
 	
+	@Bean
+	public SimpleTriggerFactoryBean discussionThreadViewBufferTrigger(DiscussionThreadViewBuffer threadViewBuffer) {
+		return new SimpleTriggerBuilder()
+				.withTargetObject(threadViewBuffer)
+				.withTargetMethod("flush")
+				.withRepeatInterval(THREAD_VIEW_FLUSH_INTERVAL)
+				.withStartDelay(THREAD_VIEW_FLUSH_INTERVAL)
+				.build();
+	}
+	
 	// The following beans are not exposed as they are used in place here
 	
 	private ContentNegotiationManager exceptionContentNegotiationManager() {
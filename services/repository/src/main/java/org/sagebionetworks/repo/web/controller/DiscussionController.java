@@ -21,6 +21,8 @@ import org.sagebionetworks.repo.model.discussion.DiscussionReplyOrder;
 import org.sagebionetworks.repo.model.discussion.DiscussionSearchRequest;
 import org.sagebionetworks.repo.model.discussion.DiscussionSearchResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListRequest;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
 import org.sagebionetworks.repo.model.discussion.EntityThreadCounts;
 import org.sagebionetworks.repo.model.discussion.Forum;
@@ -135,6 +137,30 @@ public class DiscussionController {
 		return serviceProvider.getDiscussionService().getThreadsForForum(userId, forumId, limit, offset, sort, ascending, filter);
 	}
 
+	/**
+	 * This API is used to get a page of threads for a given forum ID. Unlike
+	 * <a href="${GET.forum.forumId.threads}">GET /forum/{forumId}/threads</a>,
+	 * the next page is requested with the nextPageToken of the previous response,
+	 * so paging through the threads is not affected by threads that are added or
+	 * move while paging and a deep page is as cheap as the first one.
+	 * <br/>
+	 * Target users: anyone who has READ permission to the project.
+	 * 
+	 * @param userId - The ID of the user who is making the request
+	 * @param forumId - The forum ID to which the returning threads belong
+	 * @param request - The sort, filter, page size and an optional page token
+	 * @return
+	 */
+	@RequiredScope({view})
+	@ResponseStatus(HttpStatus.OK)
+	@RequestMapping(value = UrlHelpers.FORUM_FORUM_ID_THREADS_LIST, method = RequestMethod.POST)
+	public @ResponseBody DiscussionThreadListResponse getThreadPageForForum(
+			@RequestParam(value = AuthorizationConstants.USER_ID_PARAM) Long userId,
+			@PathVariable String forumId,
+			@RequestBody DiscussionThreadListRequest request) {
+		return serviceProvider.getDiscussionService().getThreadPageForForum(userId, forumId, request);
+	}
+
 	/**
 	 * This API is used to create a new thread in a forum.
 	 * <br/>
@@ -495,6 +521,28 @@ public class DiscussionController {
 		return serviceProvider.getDiscussionService().getThreadsForEntity(userId, id, limit, offset, sort, ascending);
 	}
 
+	/**
+	 * This API is used to get a page of threads that belongs to projects user
+	 * can view and references the given entity. The next page is requested with
+	 * the nextPageToken of the previous response.
+	 * <br/>
+	 * Target users: anyone who has READ permission to the entity.
+	 * 
+	 * @param userId - The ID of the user who is making the request
+	 * @param id - The request entityId
+	 * @param request - The sort, page size and an optional page token
+	 * @return the threads that user has read permission to.
+	 */
+	@RequiredScope({view})
+	@ResponseStatus(HttpStatus.OK)
+	@RequestMapping(value = UrlHelpers.ENTITY_ID_THREADS_LIST, method = RequestMethod.POST)
+	public @ResponseBody DiscussionThreadListResponse getThreadPageForEntity(
+			@RequestParam(value = AuthorizationConstants.USER_ID_PARAM) Long userId,
+			@PathVariable String id,
+			@RequestBody DiscussionThreadListRequest request) {
+		return serviceProvider.getDiscussionService().getThreadPageForEntity(userId, id, request);
+	}
+
 	/**
 	 * This API is used to get list of entity and count pairs, with count is the
 	 * number of threads that belong to projects user can view and references
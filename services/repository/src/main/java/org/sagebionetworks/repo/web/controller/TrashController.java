@@ -11,6 +11,10 @@ import org.sagebionetworks.repo.model.DatastoreException;
 import org.sagebionetworks.repo.model.ServiceConstants;
 import org.sagebionetworks.repo.model.TrashedEntity;
 import org.sagebionetworks.repo.model.UnauthorizedException;
+import org.sagebionetworks.repo.model.asynch.AsyncJobId;
+import org.sagebionetworks.repo.model.asynch.AsynchronousJobStatus;
+import org.sagebionetworks.repo.model.trash.TrashPurgeRequest;
+import org.sagebionetworks.repo.model.trash.TrashPurgeResponse;
 import org.sagebionetworks.repo.web.NotFoundException;
 import org.sagebionetworks.repo.web.RequiredScope;
 import org.sagebionetworks.repo.web.UrlHelpers;
@@ -20,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -135,4 +140,56 @@ public class TrashController {
 		this.serviceProvider.getTrashService().flagForPurge(userId, id);
 	}
 
+	/**
+	 * Starts an asynchronous job to permanently delete an entity in the trash can along with all of its descendants.
+	 * Unlike <a href="${PUT.trashcan.purge.id}">PUT /trashcan/purge/{id}</a> the entity is deleted right away and
+	 * there is no limit on the size of its hierarchy. The hierarchy is deleted in batches starting from its leaves,
+	 * the progress of the job reports the number of entities deleted so far.
+	 * <p>
+	 * The entity stays in the trash can until the purge completes. If the job fails it can be started again and it
+	 * will resume from the remaining hierarchy. Only the user that moved the entity to the trash can may purge it.
+	 * </p>
+	 * <p>
+	 * Use <a href="${GET.trashcan.purge.async.get.asyncToken}">GET /trashcan/purge/async/get/{asyncToken}</a> to get
+	 * both the job status and job results.
+	 * </p>
+	 * 
+	 * @param userId
+	 * @param request
+	 * @return
+	 */
+	@RequiredScope({modify})
+	@ResponseStatus(HttpStatus.CREATED)
+	@RequestMapping(value = UrlHelpers.TRASHCAN_PURGE_START_ASYNCH, method = RequestMethod.POST)
+	public @ResponseBody AsyncJobId startPurgeTrashedEntity(@RequestParam(value = AuthorizationConstants.USER_ID_PARAM) Long userId,
+			@RequestBody TrashPurgeRequest request) throws DatastoreException, NotFoundException {
+		AsynchronousJobStatus job = serviceProvider.getAsynchronousJobServices().startJob(userId, request);
+		return new AsyncJobId().setToken(job.getJobId());
+	}
+
+	/**
+	 * Get the results of an asynchronous job to purge an entity from the trash can started with:
+	 * <a href="${POST.trashcan.purge.async.start}">POST /trashcan/purge/async/start</a>.
+	 * 
+	 * <p>
+	 * Note: When the result is not ready yet, this method will return a status code
+	 * of 202 (ACCEPTED) and the response body will be a
+	 * <a href="${org.sagebionetworks.repo.model.asynch.AsynchronousJobStatus}"
+	 * >AsynchronousJobStatus</a> object.
+	 * </p>
+	 * 
+	 * @param userId
+	 * @param asyncToken
+	 * @return
+	 * @throws Throwable
+	 */
+	@RequiredScope({view})
+	@ResponseStatus(HttpStatus.OK)
+	@RequestMapping(value = UrlHelpers.TRASHCAN_PURGE_GET_ASYNCH, method = RequestMethod.GET)
+	public @ResponseBody TrashPurgeResponse getPurgeTrashedEntityResult(@RequestParam(value = AuthorizationConstants.USER_ID_PARAM) Long userId,
+			@PathVariable String asyncToken) throws Throwable {
+		AsynchronousJobStatus jobStatus = serviceProvider.getAsynchronousJobServices().getJobStatusAndThrow(userId, asyncToken);
+		return (TrashPurgeResponse) jobStatus.getResponseBody();
+	}
+
 }
@@ -13,6 +13,8 @@ import org.sagebionetworks.repo.model.discussion.DiscussionReplyOrder;
 import org.sagebionetworks.repo.model.discussion.DiscussionSearchRequest;
 import org.sagebionetworks.repo.model.discussion.DiscussionSearchResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListRequest;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
 import org.sagebionetworks.repo.model.discussion.EntityThreadCounts;
 import org.sagebionetworks.repo.model.discussion.Forum;
@@ -107,6 +109,16 @@ public interface DiscussionService {
 			String forumId, Long limit, Long offset, DiscussionThreadOrder order,
 			Boolean ascending, DiscussionFilter filter);
 
+	/**
+	 * Get a page of threads for a given forum
+	 * 
+	 * @param userId
+	 * @param forumId
+	 * @param request
+	 * @return
+	 */
+	public DiscussionThreadListResponse getThreadPageForForum(Long userId, String forumId, DiscussionThreadListRequest request);
+
 	/**
 	 * Create a new reply
 	 * 
@@ -228,6 +240,16 @@ public interface DiscussionService {
 	public PaginatedResults<DiscussionThreadBundle> getThreadsForEntity(Long userId, String entityId, Long limit,
 			Long offset, DiscussionThreadOrder order, Boolean ascending);
 
+	/**
+	 * Get a page of threads for a given entityId
+	 * 
+	 * @param userId
+	 * @param entityId
+	 * @param request
+	 * @return
+	 */
+	public DiscussionThreadListResponse getThreadPageForEntity(Long userId, String entityId, DiscussionThreadListRequest request);
+
 	/**
 	 * Get EntityThreadCounts for a list of entityIds.
 	 * 
@@ -19,6 +19,8 @@ import org.sagebionetworks.repo.model.discussion.DiscussionReplyOrder;
 import org.sagebionetworks.repo.model.discussion.DiscussionSearchRequest;
 import org.sagebionetworks.repo.model.discussion.DiscussionSearchResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadBundle;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListRequest;
+import org.sagebionetworks.repo.model.discussion.DiscussionThreadListResponse;
 import org.sagebionetworks.repo.model.discussion.DiscussionThreadOrder;
 import org.sagebionetworks.repo.model.discussion.EntityThreadCounts;
 import org.sagebionetworks.repo.model.discussion.Forum;
@@ -114,6 +116,12 @@ public class DiscussionServiceImpl implements DiscussionService{
 		return threadManager.getThreadsForForum(user, forumId, limit, offset, order, ascending, filter);
 	}
 
+	@Override
+	public DiscussionThreadListResponse getThreadPageForForum(Long userId, String forumId, DiscussionThreadListRequest request) {
+		UserInfo user = userManager.getUserInfo(userId);
+		return threadManager.getThreadPageForForum(user, forumId, request);
+	}
+
 	@Override
 	public DiscussionReplyBundle createReply(Long userId, CreateDiscussionReply toCreate) throws IOException {
 		UserInfo user = userManager.getUserInfo(userId);
@@ -189,6 +197,12 @@ public class DiscussionServiceImpl implements DiscussionService{
 		return threadManager.getThreadsForEntity(user, entityId, limit, offset, order, ascending);
 	}
 
+	@Override
+	public DiscussionThreadListResponse getThreadPageForEntity(Long userId, String entityId, DiscussionThreadListRequest request) {
+		UserInfo user = userManager.getUserInfo(userId);
+		return threadManager.getThreadPageForEntity(user, entityId, request);
+	}
+
 	@Override
 	public EntityThreadCounts getThreadCounts(Long userId, EntityIdList entityIds) {
 		UserInfo user = userManager.getUserInfo(userId);
@@ -88,6 +88,7 @@ public class BeanTest implements ApplicationContextAware {
 			"checkIsLockedOut",
 			"getTableIdWithLock",
 			"getFilesAvailableToDownloadFromDownloadList",
+			"getMaterializedFilesAvailableToDownloadFromDownloadList",
 			"getActionsRequiredFromDownloadList",
 			"getListStatistics",
 			"getAvailableFilesFromDownloadList",
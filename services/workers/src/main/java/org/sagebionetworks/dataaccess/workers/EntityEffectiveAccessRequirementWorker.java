@@ -0,0 +1,59 @@
+package org.sagebionetworks.dataaccess.workers;
+
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sagebionetworks.common.util.progress.ProgressCallback;
+import org.sagebionetworks.common.util.progress.ProgressingRunner;
+import org.sagebionetworks.repo.manager.dataaccess.EntityEffectiveAccessRequirementManager;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A worker that rebuilds the effective access requirements of the entity
+ * sub-trees with pending changes, and then checks the next page of entities
+ * for consistency with the hierarchy.
+ */
+public class EntityEffectiveAccessRequirementWorker implements ProgressingRunner {
+
+	private static final Logger LOG = LogManager.getLogger(EntityEffectiveAccessRequirementWorker.class);
+
+	protected static final long CHANGE_BATCH_SIZE = 100;
+
+	protected static final int MAX_CHANGE_BATCHES_PER_RUN = 10;
+
+	protected static final long RECONCILE_PAGE_SIZE = 1000;
+
+	private EntityEffectiveAccessRequirementManager manager;
+
+	@Autowired
+	public EntityEffectiveAccessRequirementWorker(final EntityEffectiveAccessRequirementManager manager) {
+		this.manager = manager;
+	}
+
+	@Override
+	public void run(ProgressCallback progressCallback) throws Exception {
+		try {
+			long startTime = System.currentTimeMillis();
+			int processedCount = 0;
+			for (int i = 0; i < MAX_CHANGE_BATCHES_PER_RUN; i++) {
+				int count = manager.processChanges(CHANGE_BATCH_SIZE);
+				processedCount += count;
+				if (count < CHANGE_BATCH_SIZE) {
+					break;
+				}
+			}
+			if (processedCount > 0) {
+				LOG.info("Processed {} effective access requirement changes (Time: {} ms).", processedCount,
+						System.currentTimeMillis() - startTime);
+			}
+			Set<Long> inconsistent = manager.reconcile(RECONCILE_PAGE_SIZE);
+			if (!inconsistent.isEmpty()) {
+				LOG.warn("Found {} entities with inconsistent effective access requirements.", inconsistent.size());
+			}
+		} catch (Throwable e) {
+			LOG.error(e.getMessage(), e);
+		}
+	}
+
+}
@@ -37,7 +37,7 @@ public class DiscussionThreadStatsWorker implements ChangeMessageDrivenRunner{
 		stat.setLastActivity(replyStat.getLastActivity());
 		stat.setNumberOfReplies(replyStat.getNumberOfReplies());
 
-		stat.setNumberOfViews(threadDao.countThreadView(threadId));
+		// The number of views is not recounted, it is incremented when the views are written
 		try {
 			threadDao.updateThreadStats(Arrays.asList(stat));
 		} catch (DataIntegrityViolationException e) {
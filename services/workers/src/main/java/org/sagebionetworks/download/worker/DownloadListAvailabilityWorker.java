@@ -0,0 +1,33 @@
+package org.sagebionetworks.download.worker;
+
+import java.util.List;
+
+import org.sagebionetworks.asynchronous.workers.changes.BatchChangeMessageDrivenRunner;
+import org.sagebionetworks.common.util.progress.ProgressCallback;
+import org.sagebionetworks.repo.manager.download.DownloadListManager;
+import org.sagebionetworks.repo.model.message.ChangeMessage;
+import org.sagebionetworks.workers.util.aws.message.RecoverableMessageException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Invalidates the stored availability of the files on the users' download lists
+ * when the permissions or the restrictions of the files change.
+ */
+@Service
+public class DownloadListAvailabilityWorker implements BatchChangeMessageDrivenRunner {
+
+	private DownloadListManager downloadListManager;
+
+	@Autowired
+	public DownloadListAvailabilityWorker(DownloadListManager downloadListManager) {
+		this.downloadListManager = downloadListManager;
+	}
+
+	@Override
+	public void run(ProgressCallback progressCallback, List<ChangeMessage> messages)
+			throws RecoverableMessageException, Exception {
+		downloadListManager.invalidateAvailability(messages);
+	}
+
+}
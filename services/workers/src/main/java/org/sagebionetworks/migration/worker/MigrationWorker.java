@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import org.sagebionetworks.repo.manager.migration.DatasetChecksumBackfill;
 import org.sagebionetworks.repo.manager.migration.MigrationManager;
+import org.sagebionetworks.repo.manager.migration.TableRowChangeFileHandleIdsBackfill;
 import org.sagebionetworks.repo.model.DatastoreException;
 import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
@@ -20,6 +21,7 @@ import org.sagebionetworks.repo.model.migration.BatchChecksumRequest;
 import org.sagebionetworks.repo.model.migration.CalculateOptimalRangeRequest;
 import org.sagebionetworks.repo.model.migration.DatasetBackfillRequest;
 import org.sagebionetworks.repo.model.migration.RestoreTypeRequest;
+import org.sagebionetworks.repo.model.migration.TableRowChangeFileHandleIdsBackfillRequest;
 import org.sagebionetworks.repo.web.NotFoundException;
 import org.sagebionetworks.worker.AsyncJobRunner;
 import org.sagebionetworks.workers.util.aws.message.RecoverableMessageException;
@@ -32,11 +34,14 @@ public class MigrationWorker implements AsyncJobRunner<AsyncMigrationRequest, As
 	private MigrationManager migrationManager;
 	
 	private DatasetChecksumBackfill datasetBackFill;
+	
+	private TableRowChangeFileHandleIdsBackfill tableRowChangeFileHandleIdsBackfill;
 
 	@Autowired
-	public MigrationWorker(MigrationManager migrationManager, DatasetChecksumBackfill datasetBackFill) {
+	public MigrationWorker(MigrationManager migrationManager, DatasetChecksumBackfill datasetBackFill, TableRowChangeFileHandleIdsBackfill tableRowChangeFileHandleIdsBackfill) {
 		this.migrationManager = migrationManager;
 		this.datasetBackFill = datasetBackFill;
+		this.tableRowChangeFileHandleIdsBackfill = tableRowChangeFileHandleIdsBackfill;
 	}
 	
 	@Override
@@ -79,6 +84,8 @@ public class MigrationWorker implements AsyncJobRunner<AsyncMigrationRequest, As
 			return migrationManager.calculateBatchChecksums(user, (BatchChecksumRequest)req);
 		} else if (req instanceof DatasetBackfillRequest) {
 			return datasetBackFill.backfillChecksum(user);
+		} else if (req instanceof TableRowChangeFileHandleIdsBackfillRequest) {
+			return tableRowChangeFileHandleIdsBackfill.backfillFileHandleIds(user);
 		} else {
 			throw new IllegalArgumentException("AsyncMigrationRequest not supported.");
 		}
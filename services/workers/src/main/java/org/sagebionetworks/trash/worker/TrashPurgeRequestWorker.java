@@ -0,0 +1,41 @@
+package org.sagebionetworks.trash.worker;
+
+import org.sagebionetworks.repo.manager.trash.TrashManager;
+import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
+import org.sagebionetworks.repo.model.trash.TrashPurgeRequest;
+import org.sagebionetworks.repo.model.trash.TrashPurgeResponse;
+import org.sagebionetworks.worker.AsyncJobRunner;
+import org.sagebionetworks.workers.util.aws.message.RecoverableMessageException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Worker that purges an entity in the trash can along with its whole hierarchy
+ */
+@Service
+public class TrashPurgeRequestWorker implements AsyncJobRunner<TrashPurgeRequest, TrashPurgeResponse> {
+
+	private TrashManager trashManager;
+	
+	@Autowired
+	public TrashPurgeRequestWorker(TrashManager trashManager) {
+		this.trashManager = trashManager;
+	}
+	
+	@Override
+	public Class<TrashPurgeRequest> getRequestType() {
+		return TrashPurgeRequest.class;
+	}
+	
+	@Override
+	public Class<TrashPurgeResponse> getResponseType() {
+		return TrashPurgeResponse.class;
+	}
+	
+	@Override
+	public TrashPurgeResponse run(String jobId, UserInfo user, TrashPurgeRequest request, AsyncJobProgressCallback jobProgressCallback) throws RecoverableMessageException, Exception {
+		return trashManager.purgeTrashedEntity(user, request, jobProgressCallback);
+	}
+
+}
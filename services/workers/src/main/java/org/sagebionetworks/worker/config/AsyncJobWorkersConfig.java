@@ -25,6 +25,7 @@ import org.sagebionetworks.table.worker.TableQueryNextPageWorker;
 import org.sagebionetworks.table.worker.TableQueryWorker;
 import org.sagebionetworks.table.worker.TableUpdateRequestWorker;
 import org.sagebionetworks.table.worker.ViewColumnModelRequestWorker;
+import org.sagebionetworks.trash.worker.TrashPurgeRequestWorker;
 import org.sagebionetworks.worker.AsyncJobRunner;
 import org.sagebionetworks.worker.AsyncJobRunnerAdapter;
 import org.sagebionetworks.worker.utils.StackStatusGate;
@@ -274,6 +275,30 @@ public class AsyncJobWorkersConfig {
 			.build();
 	}
 	
+	@Bean
+	public SimpleTriggerFactoryBean trashPurgeRequestWorkerTrigger(TrashPurgeRequestWorker trashPurgeRequestWorker) {
+		
+		String queueName = stackConfig.getQueueName("TRASH_PURGE_REQUEST");
+		MessageDrivenRunner worker = new AsyncJobRunnerAdapter<>(jobStatusManager, userManager, trashPurgeRequestWorker);
+		
+		MessageDrivenWorkerStackConfiguration config = new MessageDrivenWorkerStackConfiguration();
+		
+		config.setGate(stackStatusGate);
+		config.setQueueName(queueName);
+		config.setRunner(worker);
+		config.setSemaphoreLockAndMessageVisibilityTimeoutSec(120);
+		config.setSemaphoreMaxLockCount(2);
+		config.setSemaphoreLockKey("trashPurgeRequestWorker");
+		
+		MessageDrivenWorkerStack stack = new MessageDrivenWorkerStack(countingSemaphore, amazonSQSClient, config);
+		
+		return new WorkerTriggerBuilder()
+			.withStack(stack)
+			.withRepeatInterval(2017)
+			.withStartDelay(631)
+			.build();
+	}
+	
 	@Bean
 	public SimpleTriggerFactoryBean fileHandleArchivalRequestWorkerTrigger(FileHandleArchivalRequestWorker fileHandleArchivalRequestWorker) {
 		
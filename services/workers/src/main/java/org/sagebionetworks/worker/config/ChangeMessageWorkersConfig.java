@@ -10,6 +10,7 @@ import org.sagebionetworks.asynchronous.workers.changes.ChangeMessageBatchProces
 import org.sagebionetworks.asynchronous.workers.concurrent.ConcurrentManager;
 import org.sagebionetworks.asynchronous.workers.concurrent.ConcurrentWorkerStack;
 import org.sagebionetworks.database.semaphore.CountingSemaphore;
+import org.sagebionetworks.download.worker.DownloadListAvailabilityWorker;
 import org.sagebionetworks.file.worker.FileHandleStreamWorker;
 import org.sagebionetworks.replication.workers.ObjectReplicationReconciliationWorker;
 import org.sagebionetworks.replication.workers.ObjectReplicationWorker;
@@ -164,6 +165,29 @@ public class ChangeMessageWorkersConfig {
 			.build();
 	}
 	
+	@Bean
+	public SimpleTriggerFactoryBean downloadListAvailabilityWorkerTrigger(DownloadListAvailabilityWorker downloadListAvailabilityWorker) {
+		
+		String queueName = stackConfig.getQueueName("DOWNLOAD_LIST_AVAILABILITY");
+		MessageDrivenRunner worker = new ChangeMessageBatchProcessor(amazonSQSClient, queueName, downloadListAvailabilityWorker);
+		
+		return new WorkerTriggerBuilder()
+			.withStack(ConcurrentWorkerStack.builder()
+				.withSemaphoreLockKey("downloadListAvailabilityWorker")
+				.withSemaphoreMaxLockCount(5)
+				.withSemaphoreLockAndMessageVisibilityTimeoutSec(60)
+				.withMaxThreadsPerMachine(2)
+				.withSingleton(concurrentStackManager)
+				.withCanRunInReadOnly(false)
+				.withQueueName(queueName)
+				.withWorker(worker)
+				.build()
+			)
+			.withRepeatInterval(1031)
+			.withStartDelay(259)
+			.build();
+	}
+	
 	@Bean
 	public SimpleTriggerFactoryBean fileHandleStreamWorkerTrigger(StackStatusGate stackStatusGate, FileHandleStreamWorker fileHandleStreamWorker) {
 		
@@ -3,6 +3,7 @@ package org.sagebionetworks.worker.config;
 import org.sagebionetworks.asynchronous.workers.concurrent.ConcurrentWorkerStack;
 import org.sagebionetworks.repo.manager.config.SimpleTriggerBuilder;
 import org.sagebionetworks.repo.manager.monitoring.DataSourcePoolMonitor;
+import org.sagebionetworks.repo.manager.monitoring.QueryPlanningSnapshotCacheMonitor;
 import org.sagebionetworks.workers.util.aws.message.MessageDrivenWorkerStack;
 import org.sagebionetworks.workers.util.semaphore.SemaphoreGatedWorkerStack;
 import org.springframework.scheduling.quartz.SimpleTriggerFactoryBean;
@@ -46,6 +47,12 @@ class WorkerTriggerBuilder {
 		return this;
 	}
 	
+	public WorkerTriggerBuilder withQueryPlanningSnapshotCacheMonitor(QueryPlanningSnapshotCacheMonitor cacheMonitor) {
+		builder.withTargetObject(cacheMonitor);
+		builder.withTargetMethod("collectMetrics");
+		return this;
+	}
+	
 	public SimpleTriggerFactoryBean build() {
 		return builder.build();
 	}
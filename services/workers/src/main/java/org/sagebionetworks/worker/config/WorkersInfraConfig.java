@@ -10,6 +10,8 @@ import org.sagebionetworks.cloudwatch.Consumer;
 import org.sagebionetworks.database.semaphore.CountingSemaphore;
 import org.sagebionetworks.repo.manager.monitoring.DataSourcePoolMonitor;
 import org.sagebionetworks.repo.manager.monitoring.DataSourcePoolMonitor.ApplicationType;
+import org.sagebionetworks.repo.manager.monitoring.QueryPlanningSnapshotCacheMonitor;
+import org.sagebionetworks.repo.manager.table.QueryPlanningSnapshotCache;
 import org.sagebionetworks.repo.model.StackStatusDao;
 import org.sagebionetworks.worker.utils.StackStatusGate;
 import org.springframework.context.annotation.Bean;
@@ -23,6 +25,8 @@ public class WorkersInfraConfig {
 	
 	private static final long DB_MONITOR_INTERVAL = 10_000;
 	
+	private static final long QUERY_PLANNING_CACHE_MONITOR_INTERVAL = 60_000;
+	
 	private StackConfiguration config;
 	private Consumer consumer;
 	
@@ -49,5 +53,14 @@ public class WorkersInfraConfig {
 			.withStartDelay(DB_MONITOR_INTERVAL)
 			.build();
 	}
+	
+	@Bean
+	public SimpleTriggerFactoryBean queryPlanningSnapshotCacheMonitorTrigger(QueryPlanningSnapshotCache queryPlanningSnapshotCache) {
+		return new WorkerTriggerBuilder()
+			.withQueryPlanningSnapshotCacheMonitor(new QueryPlanningSnapshotCacheMonitor(queryPlanningSnapshotCache, consumer, config))
+			.withRepeatInterval(QUERY_PLANNING_CACHE_MONITOR_INTERVAL)
+			.withStartDelay(QUERY_PLANNING_CACHE_MONITOR_INTERVAL)
+			.build();
+	}
 
 }
@@ -0,0 +1,60 @@
+package org.sagebionetworks.dataaccess.workers;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.common.util.progress.ProgressCallback;
+import org.sagebionetworks.repo.manager.dataaccess.EntityEffectiveAccessRequirementManager;
+
+@ExtendWith(MockitoExtension.class)
+public class EntityEffectiveAccessRequirementWorkerUnitTest {
+
+	@Mock
+	private EntityEffectiveAccessRequirementManager mockManager;
+
+	@InjectMocks
+	private EntityEffectiveAccessRequirementWorker worker;
+
+	@Mock
+	private ProgressCallback mockCallback;
+
+	@Test
+	public void testRun() throws Exception {
+		int fullBatch = (int) EntityEffectiveAccessRequirementWorker.CHANGE_BATCH_SIZE;
+		when(mockManager.processChanges(anyLong())).thenReturn(fullBatch, 3);
+		when(mockManager.reconcile(anyLong())).thenReturn(Collections.singleton(123L));
+		// call under test
+		worker.run(mockCallback);
+		verify(mockManager, times(2)).processChanges(EntityEffectiveAccessRequirementWorker.CHANGE_BATCH_SIZE);
+		verify(mockManager).reconcile(EntityEffectiveAccessRequirementWorker.RECONCILE_PAGE_SIZE);
+	}
+
+	@Test
+	public void testRunWithMaxBatches() throws Exception {
+		int fullBatch = (int) EntityEffectiveAccessRequirementWorker.CHANGE_BATCH_SIZE;
+		when(mockManager.processChanges(anyLong())).thenReturn(fullBatch);
+		when(mockManager.reconcile(anyLong())).thenReturn(Collections.emptySet());
+		// call under test
+		worker.run(mockCallback);
+		verify(mockManager, times(EntityEffectiveAccessRequirementWorker.MAX_CHANGE_BATCHES_PER_RUN))
+				.processChanges(EntityEffectiveAccessRequirementWorker.CHANGE_BATCH_SIZE);
+		verify(mockManager).reconcile(EntityEffectiveAccessRequirementWorker.RECONCILE_PAGE_SIZE);
+	}
+
+	@Test
+	public void testRunWithException() throws Exception {
+		when(mockManager.processChanges(anyLong())).thenThrow(new IllegalStateException("nope"));
+		// call under test, the exception is logged.
+		worker.run(mockCallback);
+		verify(mockManager, times(0)).reconcile(anyLong());
+	}
+}
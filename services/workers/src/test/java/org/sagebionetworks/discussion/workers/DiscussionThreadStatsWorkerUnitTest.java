@@ -56,7 +56,6 @@ public class DiscussionThreadStatsWorkerUnitTest {
 		when(mockMessage.getObjectId()).thenReturn(threadId.toString());
 		when(mockMessage.getChangeType()).thenReturn(ChangeType.UPDATE);
 		when(mockReplyDao.getThreadReplyStat(threadId)).thenReturn(replyStat);
-		when(mockThreadDao.countThreadView(threadId)).thenReturn(3L);
 		when(mockReplyDao.getActiveAuthors(threadId)).thenReturn(null);
 		worker.run(mockCallback, mockMessage);
 		ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
@@ -68,7 +67,8 @@ public class DiscussionThreadStatsWorkerUnitTest {
 		assertEquals(threadId, stat.getThreadId());
 		assertEquals((Long)2L, stat.getNumberOfReplies());
 		assertEquals(lastActivity, stat.getLastActivity());
-		assertEquals((Long)3L, stat.getNumberOfViews());
+		// the number of views is maintained as the views are written
+		assertNull(stat.getNumberOfViews());
 		assertNull(stat.getActiveAuthors());
 	}
 }
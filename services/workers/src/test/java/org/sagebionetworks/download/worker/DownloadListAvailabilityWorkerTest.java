@@ -0,0 +1,40 @@
+package org.sagebionetworks.download.worker;
+
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.common.util.progress.ProgressCallback;
+import org.sagebionetworks.repo.manager.download.DownloadListManager;
+import org.sagebionetworks.repo.model.ObjectType;
+import org.sagebionetworks.repo.model.message.ChangeMessage;
+import org.sagebionetworks.repo.model.message.ChangeType;
+import org.sagebionetworks.workers.util.aws.message.RecoverableMessageException;
+
+@ExtendWith(MockitoExtension.class)
+public class DownloadListAvailabilityWorkerTest {
+
+	@Mock
+	private DownloadListManager mockDownloadListManager;
+
+	@Mock
+	private ProgressCallback mockProgressCallback;
+
+	@InjectMocks
+	private DownloadListAvailabilityWorker worker;
+
+	@Test
+	public void testRun() throws RecoverableMessageException, Exception {
+		List<ChangeMessage> messages = List.of(
+				new ChangeMessage().setObjectType(ObjectType.ENTITY).setObjectId("1").setChangeType(ChangeType.UPDATE),
+				new ChangeMessage().setObjectType(ObjectType.ACCESS_CONTROL_LIST).setObjectId("2").setChangeType(ChangeType.CREATE));
+		// call under test
+		worker.run(mockProgressCallback, messages);
+		verify(mockDownloadListManager).invalidateAvailability(messages);
+	}
+}
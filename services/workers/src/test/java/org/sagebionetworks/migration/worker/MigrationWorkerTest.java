@@ -16,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.sagebionetworks.repo.manager.migration.MigrationManager;
+import org.sagebionetworks.repo.manager.migration.TableRowChangeFileHandleIdsBackfill;
 import org.sagebionetworks.repo.model.UserInfo;
 import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
 import org.sagebionetworks.repo.model.migration.AdminRequest;
@@ -36,12 +37,16 @@ import org.sagebionetworks.repo.model.migration.MigrationType;
 import org.sagebionetworks.repo.model.migration.MigrationTypeChecksum;
 import org.sagebionetworks.repo.model.migration.MigrationTypeCount;
 import org.sagebionetworks.repo.model.migration.MigrationTypeCounts;
+import org.sagebionetworks.repo.model.migration.TableRowChangeFileHandleIdsBackfillRequest;
+import org.sagebionetworks.repo.model.migration.TableRowChangeFileHandleIdsBackfillResponse;
 
 @ExtendWith(MockitoExtension.class)
 public class MigrationWorkerTest {
 	
 	@Mock
 	private MigrationManager mockMigrationManager;
+	@Mock
+	private TableRowChangeFileHandleIdsBackfill mockFileHandleIdsBackfill;
 	@InjectMocks
 	private MigrationWorker migrationWorker;
 	@Mock
@@ -149,6 +154,21 @@ public class MigrationWorkerTest {
 		});
 	}
 
+	@Test
+	public void testRunWithTableRowChangeFileHandleIdsBackfillRequest() throws Exception {
+		TableRowChangeFileHandleIdsBackfillRequest request = new TableRowChangeFileHandleIdsBackfillRequest();
+		TableRowChangeFileHandleIdsBackfillResponse response = new TableRowChangeFileHandleIdsBackfillResponse().setCount(3L);
+		
+		when(mockRequest.getAdminRequest()).thenReturn(request);
+		when(mockFileHandleIdsBackfill.backfillFileHandleIds(any())).thenReturn(response);
+		
+		// Call under test
+		AsyncMigrationResponse result = migrationWorker.run(jobId, user, mockRequest, mockJobCallback);
+		
+		assertEquals(response, result.getAdminResponse());
+		verify(mockFileHandleIdsBackfill).backfillFileHandleIds(user);
+	}
+
 	@Test
 	public void testRunWithRequestBackupRange() throws Exception {
 		String jobId = "123";
@@ -0,0 +1,63 @@
+package org.sagebionetworks.trash.worker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.sagebionetworks.repo.manager.trash.TrashManager;
+import org.sagebionetworks.repo.model.UserInfo;
+import org.sagebionetworks.repo.model.dao.asynch.AsyncJobProgressCallback;
+import org.sagebionetworks.repo.model.trash.TrashPurgeRequest;
+import org.sagebionetworks.repo.model.trash.TrashPurgeResponse;
+
+@ExtendWith(MockitoExtension.class)
+public class TrashPurgeRequestWorkerTest {
+
+	@Mock
+	private TrashManager mockManager;
+	
+	@InjectMocks
+	private TrashPurgeRequestWorker worker;
+	
+	@Mock
+	private AsyncJobProgressCallback mockJobCallback;
+	
+	@Mock
+	private UserInfo mockUser;
+	
+	@Mock
+	private TrashPurgeRequest mockRequest;
+	
+	@Mock
+	private TrashPurgeResponse mockResponse;
+	
+	private String jobId = "jobId";
+	
+	@Test
+	public void testRun() throws Exception {
+		
+		when(mockManager.purgeTrashedEntity(mockUser, mockRequest, mockJobCallback)).thenReturn(mockResponse);
+		
+		// Call under test
+		TrashPurgeResponse result = worker.run(jobId, mockUser, mockRequest, mockJobCallback);
+		
+		assertEquals(mockResponse, result);
+		
+		verify(mockManager).purgeTrashedEntity(mockUser, mockRequest, mockJobCallback);
+	}
+	
+	@Test
+	public void testGetRequestType() {
+		assertEquals(TrashPurgeRequest.class, worker.getRequestType());
+	}
+	
+	@Test
+	public void testGetResponseType() {
+		assertEquals(TrashPurgeResponse.class, worker.getResponseType());
+	}
+}